@@ -0,0 +1,368 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fp;
+
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Adds, multiplies and divides floating point numbers of the same format 
+ * rounding toward negative infinity or toward positive infinity. Java offers 
+ * no way to change the rounding mode of the hardware, so for the formats no 
+ * wider than double precision the operation is done in <code>double</code> 
+ * with the default rounding, and an error-free transformation tells which 
+ * side of the exact result the rounded result fell on. If it fell on the 
+ * wrong side, the result is moved by one unit in the last place of the 
+ * destination format. Only when the rounding error can't be recovered that 
+ * way, because of overflow or underflow, is the operation done exactly with 
+ * {@link ExactBinary}. The wider formats always go through {@code 
+ * ExactBinary}.
+ * @author Alonso del Arte
+ */
+final class DirectedRounding {
+    
+    /**
+     * The smallest magnitude for which the error-free transformations of 
+     * multiplication and division can be trusted. Below this, the rounding 
+     * error of a product or the remainder of a quotient might be too small to 
+     * be represented even as a subnormal number.
+     */
+    private static final double TRANSFORMATION_THRESHOLD = 0x1p-969;
+    
+    private static boolean isWide(Precision precision) {
+        return precision.getByteCount() > Long.BYTES;
+    }
+    
+    private static BigInteger infinityBits(Precision precision) {
+        return BigInteger.ONE.shiftLeft(precision.getExponentBitCount()) 
+                .subtract(BigInteger.ONE) 
+                .shiftLeft(precision.getMantissaBitCount());
+    }
+    
+    private static BigInteger magnitudeBits(FloatingPointNumber number) {
+        return new BigInteger(1, number.componentBytes) 
+                .clearBit(number.getPrecision().getBitCount() - 1);
+    }
+    
+    /**
+     * Determines whether a number is a NaN. This works from the bit pattern, 
+     * so that it also works for formats whose classes don't yet classify 
+     * their numbers.
+     * @param number The number to check. For example, a quiet NaN.
+     * @return True if the number is a NaN, false otherwise.
+     */
+    static boolean isNaN(FloatingPointNumber number) {
+        Precision precision = number.getPrecision();
+        if (!isWide(precision)) {
+            return Double.isNaN(number.to64BitPrimitive());
+        }
+        return magnitudeBits(number).compareTo(infinityBits(precision)) > 0;
+    }
+    
+    /**
+     * Determines whether a number is an infinity, from its bit pattern.
+     * @param number The number to check. For example, negative infinity.
+     * @return True if the number is an infinity of either sign, false 
+     * otherwise.
+     */
+    static boolean isInfinite(FloatingPointNumber number) {
+        Precision precision = number.getPrecision();
+        if (!isWide(precision)) {
+            return Double.isInfinite(number.to64BitPrimitive());
+        }
+        return magnitudeBits(number).equals(infinityBits(precision));
+    }
+    
+    /**
+     * Gives the sign of a number that is not a NaN.
+     * @param number The number. For example, &minus;0.0.
+     * @return &minus;1 if the number is less than 0, 0 if it's &plusmn;0.0, 
+     * 1 if it's more than 0. For example, 0.
+     */
+    static int signum(FloatingPointNumber number) {
+        if (!isWide(number.getPrecision())) {
+            return (int) Math.signum(number.to64BitPrimitive());
+        }
+        if (magnitudeBits(number).signum() == 0) {
+            return 0;
+        }
+        return (number.componentBytes[0] < 0) ? -1 : 1;
+    }
+    
+    /**
+     * Compares two numbers of the same format arithmetically. Neither should 
+     * be a NaN.
+     * @param a The first number. For example, &minus;0.0.
+     * @param b The second number. For example, 0.0.
+     * @return A negative number if {@code a} is less than {@code b}, 0 if 
+     * they're arithmetically equal, a positive number if {@code a} is more 
+     * than {@code b}. For example, 0.
+     */
+    static int compare(FloatingPointNumber a, FloatingPointNumber b) {
+        if (!isWide(a.getPrecision())) {
+            double x = a.to64BitPrimitive();
+            double y = b.to64BitPrimitive();
+            return (x < y) ? -1 : ((x > y) ? 1 : 0);
+        }
+        int signA = signum(a);
+        int signB = signum(b);
+        if (signA != signB) {
+            return Integer.compare(signA, signB);
+        }
+        int comparison = magnitudeBits(a).compareTo(magnitudeBits(b));
+        return (signA < 0) ? -comparison : comparison;
+    }
+    
+    /**
+     * Gives an infinity of a given format.
+     * @param precision The format. For example, {@link Precision#HALF}.
+     * @param negative Whether to give negative infinity rather than positive 
+     * infinity.
+     * @return The infinity. For example, positive infinity in half precision.
+     */
+    static FloatingPointNumber infinity(Precision precision, 
+            boolean negative) {
+        BigInteger bits = infinityBits(precision);
+        if (negative) {
+            bits = bits.setBit(precision.getBitCount() - 1);
+        }
+        int count = precision.getByteCount();
+        byte[] raw = bits.toByteArray();
+        byte[] bytes = new byte[count];
+        int copied = Math.min(raw.length, count);
+        System.arraycopy(raw, raw.length - copied, bytes, count - copied, 
+                copied);
+        return FloatingPointNumber.apply(bytes);
+    }
+    
+    /**
+     * Adds two numbers of the same format, rounding in a given direction.
+     * @param a The first addend. Should not be a NaN.
+     * @param b The second addend. Should not be a NaN, nor an infinity of 
+     * the opposite sign of {@code a}.
+     * @param mode Either {@link RoundingMode#FLOOR} or {@link 
+     * RoundingMode#CEILING}.
+     * @return The sum, rounded in the direction given by {@code mode}.
+     */
+    static FloatingPointNumber sum(FloatingPointNumber a, 
+            FloatingPointNumber b, RoundingMode mode) {
+        Precision precision = a.getPrecision();
+        if (isWide(precision)) {
+            if (isInfinite(a)) {
+                return a;
+            }
+            if (isInfinite(b)) {
+                return b;
+            }
+            ExactBinary exact = decode(a).plus(decode(b), 
+                    precision.getMantissaBitCount() + 1);
+            return FloatingPointNumber.apply(exact.round(precision, mode));
+        }
+        double x = a.to64BitPrimitive();
+        double y = b.to64BitPrimitive();
+        double s = x + y;
+        double error = 0.0;
+        if (Double.isFinite(s)) {
+            double z = s - x;
+            error = (x - (s - z)) + (y - z);
+        } else if (Double.isFinite(x) && Double.isFinite(y)) {
+            ExactBinary exact = exact(x).plus(exact(y), 
+                    precision.getMantissaBitCount() + 1);
+            return FloatingPointNumber.apply(exact.round(precision, mode));
+        }
+        return roundDirected(precision, s, error, mode);
+    }
+    
+    /**
+     * Multiplies two numbers of the same format, rounding in a given 
+     * direction.
+     * @param a The multiplier. Should not be a NaN.
+     * @param b The multiplicand. Should not be a NaN, nor 0 if {@code a} is 
+     * infinite or vice versa.
+     * @param mode Either {@link RoundingMode#FLOOR} or {@link 
+     * RoundingMode#CEILING}.
+     * @return The product, rounded in the direction given by {@code mode}.
+     */
+    static FloatingPointNumber product(FloatingPointNumber a, 
+            FloatingPointNumber b, RoundingMode mode) {
+        Precision precision = a.getPrecision();
+        if (isWide(precision)) {
+            if (isInfinite(a) || isInfinite(b)) {
+                return infinity(precision, signum(a) * signum(b) < 0);
+            }
+            ExactBinary exact = decode(a).times(decode(b));
+            return FloatingPointNumber.apply(exact.round(precision, mode));
+        }
+        double x = a.to64BitPrimitive();
+        double y = b.to64BitPrimitive();
+        double p = x * y;
+        double error = 0.0;
+        if (Double.isFinite(x) && Double.isFinite(y) && x != 0.0 
+                && y != 0.0) {
+            if (Double.isFinite(p) 
+                    && Math.abs(p) >= TRANSFORMATION_THRESHOLD) {
+                error = Math.fma(x, y, -p);
+            } else {
+                ExactBinary exact = exact(x).times(exact(y));
+                return FloatingPointNumber.apply(exact.round(precision, 
+                        mode));
+            }
+        }
+        return roundDirected(precision, p, error, mode);
+    }
+    
+    /**
+     * Divides a number by another of the same format, rounding in a given 
+     * direction.
+     * @param a The dividend. Should not be a NaN.
+     * @param b The divisor. Should not be a NaN, nor 0, nor infinite if 
+     * {@code a} is infinite.
+     * @param mode Either {@link RoundingMode#FLOOR} or {@link 
+     * RoundingMode#CEILING}.
+     * @return The quotient, rounded in the direction given by {@code mode}.
+     */
+    static FloatingPointNumber quotient(FloatingPointNumber a, 
+            FloatingPointNumber b, RoundingMode mode) {
+        Precision precision = a.getPrecision();
+        if (isWide(precision)) {
+            boolean negative = signum(a) * signum(b) < 0;
+            if (isInfinite(a)) {
+                return infinity(precision, negative);
+            }
+            if (isInfinite(b) || signum(a) == 0) {
+                byte[] zero = new byte[precision.getByteCount()];
+                if (negative) {
+                    zero[0] = Byte.MIN_VALUE;
+                }
+                return FloatingPointNumber.apply(zero);
+            }
+            ExactBinary exact = decode(a).divides(decode(b), 
+                    precision.getMantissaBitCount() + 1);
+            return FloatingPointNumber.apply(exact.round(precision, mode));
+        }
+        double x = a.to64BitPrimitive();
+        double y = b.to64BitPrimitive();
+        double q = x / y;
+        double error = 0.0;
+        if (Double.isFinite(x) && Double.isFinite(y) && x != 0.0) {
+            if (Double.isFinite(q) && Math.abs(q) >= TRANSFORMATION_THRESHOLD 
+                    && Math.abs(x) >= TRANSFORMATION_THRESHOLD) {
+                double remainder = Math.fma(-q, y, x);
+                error = (y > 0.0) ? remainder : -remainder;
+            } else {
+                ExactBinary exact = exact(x).divides(exact(y), 
+                        precision.getMantissaBitCount() + 1);
+                return FloatingPointNumber.apply(exact.round(precision, 
+                        mode));
+            }
+        }
+        return roundDirected(precision, q, error, mode);
+    }
+    
+    /**
+     * Rounds the result of a <code>double</code> operation in a given 
+     * direction to a format no wider than double precision.
+     * @param precision The format to round to.
+     * @param d The result of the operation, rounded to the nearest 
+     * <code>double</code>.
+     * @param error The rounding error of {@code d}, or at least a number of 
+     * the same sign as the exact result minus {@code d}.
+     * @param mode Either {@link RoundingMode#FLOOR} or {@link 
+     * RoundingMode#CEILING}.
+     * @return The exact result rounded in the direction given by {@code 
+     * mode}. Since the destination format has no more significant bits than 
+     * <code>double</code>, rounding {@code d} to the nearest number in the 
+     * destination format and then stepping by one unit in the last place if 
+     * needed gives the same number as rounding the exact result directly.
+     */
+    private static FloatingPointNumber roundDirected(Precision precision, 
+            double d, double error, RoundingMode mode) {
+        boolean upward = mode == RoundingMode.CEILING;
+        if (precision == Precision.DOUBLE) {
+            double result = d;
+            if (upward && error > 0.0) {
+                result = Math.nextUp(d);
+            } else if (!upward && error < 0.0) {
+                result = Math.nextDown(d);
+            }
+            return new DoublePrecisionNumber(Double 
+                    .doubleToRawLongBits(result));
+        }
+        long bits = precision.roundFromDoubleBits(Double 
+                .doubleToRawLongBits(d));
+        FloatingPointNumber nearest = fromBits(precision, bits);
+        double value = nearest.to64BitPrimitive();
+        boolean step = upward 
+                ? (value < d || (value == d && error > 0.0)) 
+                : (value > d || (value == d && error < 0.0));
+        if (!step) {
+            return nearest;
+        }
+        return fromBits(precision, stepBits(precision, bits, upward));
+    }
+    
+    /**
+     * Gives the bit pattern of the next number up or down in a format no 
+     * wider than double precision. Since the bit patterns of floating point 
+     * numbers of the same sign are in the same order as the numbers 
+     * themselves, this is just a matter of adding or subtracting 1, except 
+     * around 0.
+     * @param precision The format.
+     * @param bits The bit pattern, in the lowest bits. Should not be a NaN, 
+     * nor positive infinity if {@code upward} is true, nor negative infinity 
+     * if {@code upward} is false.
+     * @param upward Whether to give the next number up rather than the next 
+     * number down.
+     * @return The bit pattern of the next number.
+     */
+    private static long stepBits(Precision precision, long bits, 
+            boolean upward) {
+        long signBit = 1L << (precision.getBitCount() - 1);
+        boolean negative = (bits & signBit) != 0;
+        if ((bits & (signBit - 1)) == 0L) {
+            return upward ? 1L : (signBit | 1L);
+        }
+        return (upward != negative) ? bits + 1 : bits - 1;
+    }
+    
+    private static FloatingPointNumber fromBits(Precision precision, 
+            long bits) {
+        return switch (precision) {
+            case QUARTER -> new QuarterPrecisionNumber((byte) bits);
+            case HALF -> new HalfPrecisionNumber((short) bits);
+            case SINGLE -> new SinglePrecisionNumber((int) bits);
+            default -> new DoublePrecisionNumber(bits);
+        };
+    }
+    
+    private static ExactBinary decode(FloatingPointNumber number) {
+        return ExactBinary.decode(number.getPrecision(), 
+                number.componentBytes);
+    }
+    
+    private static ExactBinary exact(double d) {
+        long bits = Double.doubleToRawLongBits(d);
+        int biased = (int) ((bits >>> 52) & 2047);
+        long significand = bits & 0xFFFFFFFFFFFFFL;
+        if (biased != 0) {
+            significand |= 1L << 52;
+        }
+        return new ExactBinary(bits < 0L, BigInteger.valueOf(significand), 
+                Math.max(biased, 1) - 1075);
+    }
+    
+}
@@ -0,0 +1,418 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fp;
+
+/**
+ * Represents a number as the unevaluated sum of two <code>double</code> 
+ * values, a high part and a low part, for about 106 significant bits. This is 
+ * not as precise as {@link QuadruplePrecisionNumber}, which has 113 
+ * significant bits, but it is much faster, since the arithmetic is done with 
+ * a handful of hardware operations on <code>double</code> values rather than 
+ * on exact values. The operations rely on error-free transformations: the 
+ * rounding error of a sum is recovered with Knuth's TwoSum, and the rounding 
+ * error of a product with a fused multiply-add.
+ * <p>The high part is always the sum of both parts rounded to the nearest 
+ * <code>double</code>, so the low part is at most half a unit in the last 
+ * place of the high part. Unlike the IEEE-754 formats, the results of the 
+ * operations are not necessarily correctly rounded, just within a few units 
+ * in the 106th bit. Nor is there a definite exponent range for the low part, 
+ * which vanishes as the high part gets close to the subnormal range.</p>
+ * @author Alonso del Arte
+ */
+public class DoubleDouble implements Comparable<DoubleDouble> {
+    
+    /**
+     * The number 0.0 as a double-double.
+     */
+    public static final DoubleDouble ZERO = ofNormalized(0.0, 0.0);
+    
+    /**
+     * The number 1.0 as a double-double.
+     */
+    public static final DoubleDouble ONE = ofNormalized(1.0, 0.0);
+    
+    private final double high;
+    
+    private final double low;
+    
+    /**
+     * Gives the high part of this number.
+     * @return The high part, which is the nearest <code>double</code> to this 
+     * number. For example, for the double-double nearest to 1/3, 
+     * 0.3333333333333333.
+     */
+    public double getHigh() {
+        return this.high;
+    }
+    
+    /**
+     * Gives the low part of this number.
+     * @return The low part. For example, for the double-double nearest to 
+     * 1/3, 1.850371707708594E&minus;17.
+     */
+    public double getLow() {
+        return this.low;
+    }
+    
+    /**
+     * Determines whether this number is finite.
+     * @return True if the high part is neither infinite nor NaN, false 
+     * otherwise.
+     */
+    public boolean isFinite() {
+        return Double.isFinite(this.high);
+    }
+    
+    /**
+     * Determines whether this number is an infinity.
+     * @return True if the high part is an infinity, false otherwise.
+     */
+    public boolean isInfinite() {
+        return Double.isInfinite(this.high);
+    }
+    
+    /**
+     * Determines whether this number is a NaN.
+     * @return True if the high part is a NaN, false otherwise.
+     */
+    public boolean isNaN() {
+        return Double.isNaN(this.high);
+    }
+    
+    /**
+     * Gives the double-double for parts that are already normalized, as the 
+     * results of TwoSum and FastTwoSum are, so that they don't go through 
+     * TwoSum a second time in the public constructor.
+     * @param high The high part, the nearest <code>double</code> to the sum 
+     * of both parts.
+     * @param low The low part.
+     * @return The double-double with those parts.
+     */
+    private static DoubleDouble ofNormalized(double high, double low) {
+        return new DoubleDouble(Double.doubleToRawLongBits(high), 
+                Double.doubleToRawLongBits(low));
+    }
+    
+    /**
+     * Gives the sum of two <code>double</code> values as a double-double. 
+     * This is Knuth's TwoSum, which needs no assumption on the relative sizes 
+     * of the addends.
+     * @param a The first addend. For example, 1.0.
+     * @param b The second addend. For example, 2<sup>&minus;60</sup>.
+     * @return The exact sum, unless it overflows. For example, 1.0 + 
+     * 2<sup>&minus;60</sup>, with high part 1.0 and low part 
+     * 2<sup>&minus;60</sup>.
+     */
+    private static DoubleDouble twoSum(double a, double b) {
+        double s = a + b;
+        if (!Double.isFinite(s)) {
+            return ofNormalized(s, 0.0);
+        }
+        double v = s - a;
+        double e = (a - (s - v)) + (b - v);
+        return ofNormalized(s, e);
+    }
+    
+    /**
+     * Gives the sum of two <code>double</code> values as a double-double, 
+     * assuming the first is at least as large as the second in absolute 
+     * value, or is 0. This is Dekker's FastTwoSum, which takes three 
+     * operations instead of six.
+     * @param a The larger addend.
+     * @param b The smaller addend.
+     * @return The exact sum, unless it overflows.
+     */
+    private static DoubleDouble quickTwoSum(double a, double b) {
+        double s = a + b;
+        if (!Double.isFinite(s)) {
+            return ofNormalized(s, 0.0);
+        }
+        return ofNormalized(s, b - (s - a));
+    }
+    
+    /**
+     * Adds a double-double to this one.
+     * @param addend The number to add. For example, the double-double 
+     * nearest to 2/3.
+     * @return The sum, within a few units in the 106th bit, provided there is 
+     * no overflow. For example, 1.0 if this is the double-double nearest to 
+     * 1/3.
+     */
+    public DoubleDouble plus(DoubleDouble addend) {
+        DoubleDouble highs = twoSum(this.high, addend.high);
+        if (!highs.isFinite()) {
+            return highs;
+        }
+        DoubleDouble lows = twoSum(this.low, addend.low);
+        DoubleDouble partial = quickTwoSum(highs.high, highs.low + lows.high);
+        return quickTwoSum(partial.high, partial.low + lows.low);
+    }
+    
+    /**
+     * Negates this number. Both parts are negated, no rounding is involved.
+     * @return This number times &minus;1.
+     */
+    public DoubleDouble negate() {
+        return ofNormalized(-this.high, -this.low);
+    }
+    
+    /**
+     * Subtracts a double-double from this one.
+     * @param subtrahend The number to subtract.
+     * @return The difference, within a few units in the 106th bit.
+     */
+    public DoubleDouble minus(DoubleDouble subtrahend) {
+        return this.plus(subtrahend.negate());
+    }
+    
+    /**
+     * Multiplies this number by a double-double. The product of the high 
+     * parts is computed exactly with a fused multiply-add. The product of 
+     * the low parts is too small to matter.
+     * @param multiplicand The number to multiply by.
+     * @return The product, within a few units in the 106th bit, provided 
+     * there is no overflow or underflow.
+     */
+    public DoubleDouble times(DoubleDouble multiplicand) {
+        double p = this.high * multiplicand.high;
+        if (!Double.isFinite(p)) {
+            return ofNormalized(p, 0.0);
+        }
+        double e = Math.fma(this.high, multiplicand.high, -p);
+        e += this.high * multiplicand.low + this.low * multiplicand.high;
+        return quickTwoSum(p, e);
+    }
+    
+    /**
+     * Divides this number by a double-double. Three quotient digits are 
+     * worked out, each one the quotient of the high part of the running 
+     * remainder by the high part of the divisor.
+     * @param divisor The number to divide by. For example, 3.0.
+     * @return The quotient, within a few units in the 106th bit, provided 
+     * there is no overflow or underflow. For example, 0.3333333333333333 + 
+     * 1.850371707708594E&minus;17 if this number is 1.0. Division by 0 gives 
+     * an infinity or NaN, as with <code>double</code>.
+     */
+    public DoubleDouble divides(DoubleDouble divisor) {
+        double q1 = this.high / divisor.high;
+        if (!Double.isFinite(q1) || q1 == 0.0) {
+            return ofNormalized(q1, 0.0);
+        }
+        DoubleDouble remainder = this.minus(divisor.times(q1));
+        double q2 = remainder.high / divisor.high;
+        remainder = remainder.minus(divisor.times(q2));
+        double q3 = remainder.high / divisor.high;
+        DoubleDouble quotient = quickTwoSum(q1, q2);
+        return quotient.plus(ofNormalized(q3, 0.0));
+    }
+    
+    /**
+     * Multiplies this number by a <code>double</code>.
+     */
+    private DoubleDouble times(double multiplier) {
+        double p = this.high * multiplier;
+        if (!Double.isFinite(p)) {
+            return ofNormalized(p, 0.0);
+        }
+        double e = Math.fma(this.high, multiplier, -p);
+        e += this.low * multiplier;
+        return quickTwoSum(p, e);
+    }
+    
+    /**
+     * Divides 1 by this number.
+     * @return The reciprocal, within a few units in the 106th bit. For 
+     * example, 0.3333333333333333 + 1.850371707708594E&minus;17 if this 
+     * number is 3.0.
+     */
+    public DoubleDouble reciprocal() {
+        return ONE.divides(this);
+    }
+    
+    /**
+     * Takes the square root of this number. This is one Newton step from the 
+     * hardware square root of the high part, which about doubles the number 
+     * of correct bits.
+     * @return The square root, within a few units in the 106th bit. For 
+     * example, 1.4142135623730951 &minus; 9.667293313452912E&minus;17 if this 
+     * number is 2.0. Special cases: NaN for numbers less than 0, and for 0, 
+     * infinity and NaN, the square root of the high part.
+     */
+    public DoubleDouble sqrt() {
+        double root = Math.sqrt(this.high);
+        if (!Double.isFinite(root) || root == 0.0) {
+            return ofNormalized(root, 0.0);
+        }
+        double square = root * root;
+        double squareError = Math.fma(root, root, -square);
+        double residual = ((this.high - square) - squareError) + this.low;
+        return quickTwoSum(root, residual / (2.0 * root));
+    }
+    
+    /**
+     * Gives the <code>double</code> nearest to this number.
+     * @return The high part of this number.
+     */
+    public double to64BitPrimitive() {
+        return this.high;
+    }
+    
+    /**
+     * Converts this number to quadruple precision. Since quadruple precision 
+     * has more significant bits than double-double, this is usually exact.
+     * @return The quadruple precision number nearest to the sum of both 
+     * parts. For example, 0.3333333333333333333333333333333323 for the 
+     * double-double nearest to 1/3, which falls short of 1/3 by about 
+     * 10<sup>&minus;33</sup>.
+     */
+    public QuadruplePrecisionNumber toQuadruplePrecision() {
+        return QuadruplePrecisionNumber.fromPrimitive(this.high) 
+                .plus(QuadruplePrecisionNumber.fromPrimitive(this.low));
+    }
+    
+    /**
+     * Gives the double-double nearest to a <code>double</code>.
+     * @param number The number. For example, 0.1.
+     * @return A double-double with {@code number} as the high part and 0.0 
+     * as the low part.
+     */
+    public static DoubleDouble fromPrimitive(double number) {
+        return ofNormalized(number, 0.0);
+    }
+    
+    /**
+     * Converts a quadruple precision number to a double-double. The high 
+     * part is the <code>double</code> nearest to the number, and the low part 
+     * is the <code>double</code> nearest to the difference between the number 
+     * and the high part, which in quadruple precision is exact.
+     * @param number The number to convert. For example, the quadruple 
+     * precision number nearest to 1/3.
+     * @return The double-double nearest to {@code number}, give or take the 
+     * last of the 106 bits. For example, 0.3333333333333333 + 
+     * 1.850371707708594E&minus;17. Special cases: infinities and NaNs give a 
+     * double-double with the corresponding <code>double</code> as the high 
+     * part and 0.0 as the low part, as do quadruple precision numbers beyond 
+     * the range of <code>double</code>.
+     */
+    public static DoubleDouble fromQuadruplePrecision( 
+            QuadruplePrecisionNumber number) {
+        double hi = number.to64BitPrimitive();
+        if (!Double.isFinite(hi)) {
+            return ofNormalized(hi, 0.0);
+        }
+        double lo = number.minus(QuadruplePrecisionNumber.fromPrimitive(hi)) 
+                .to64BitPrimitive();
+        return new DoubleDouble(hi, lo);
+    }
+    
+    /**
+     * Compares this number to another double-double. Since the high part is 
+     * always the nearest <code>double</code> to the number, comparing the 
+     * high parts first and then the low parts gives the right order.
+     * @param other The number to compare to.
+     * @return A negative number if this number is less than {@code other}, 0 
+     * if they're equal, a positive number if this number is more than {@code 
+     * other}. The order of the parts is that of {@link 
+     * Double#compare(double, double)}, so &minus;0.0 comes before 0.0 and 
+     * NaNs come after positive infinity.
+     */
+    @Override
+    public int compareTo(DoubleDouble other) {
+        int comparison = Double.compare(this.high, other.high);
+        if (comparison != 0) {
+            return comparison;
+        }
+        return Double.compare(this.low, other.low);
+    }
+    
+    /**
+     * Determines whether this double-double is equal to another object.
+     * @param obj The object to compare to.
+     * @return True if {@code obj} is a {@code DoubleDouble} with the same high 
+     * and low parts as this one, as compared by {@link 
+     * Double#equals(java.lang.Object)}, false otherwise.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (!this.getClass().equals(obj.getClass())) {
+            return false;
+        }
+        DoubleDouble other = (DoubleDouble) obj;
+        return Double.compare(this.high, other.high) == 0 
+                && Double.compare(this.low, other.low) == 0;
+    }
+    
+    @Override
+    public int hashCode() {
+        return 31 * Double.hashCode(this.high) + Double.hashCode(this.low);
+    }
+    
+    /**
+     * Gives a textual representation of this number in base 10.
+     * @return The textual representation of the quadruple precision number 
+     * nearest to this number. For example, 
+     * "0.3333333333333333333333333333333323" for the double-double nearest 
+     * to 1/3.
+     */
+    @Override
+    public String toString() {
+        return this.toQuadruplePrecision().toString();
+    }
+    
+    /**
+     * Constructs a double-double from the bit patterns of its parts, as they 
+     * are. Only {@link #ofNormalized(double, double)} uses this.
+     * @param highBits The bit pattern of the high part. For example, 
+     * 0x3FF0000000000000L, for 1.0.
+     * @param lowBits The bit pattern of the low part. For example, 
+     * 0x3C30000000000000L, for 2<sup>&minus;60</sup>.
+     */
+    private DoubleDouble(long highBits, long lowBits) {
+        this.high = Double.longBitsToDouble(highBits);
+        this.low = Double.longBitsToDouble(lowBits);
+    }
+    
+    /**
+     * Constructs a double-double from two <code>double</code> values. The 
+     * parts are renormalized so that the high part is the nearest 
+     * <code>double</code> to their sum.
+     * @param high The high part. For example, 1.0.
+     * @param low The low part. For example, 2<sup>&minus;60</sup>.
+     */
+    public DoubleDouble(double high, double low) {
+        if (low == 0.0) {
+            this.high = high;
+            this.low = 0.0;
+            return;
+        }
+        double s = high + low;
+        if (Double.isFinite(s)) {
+            double v = s - high;
+            this.low = (high - (s - v)) + (low - v);
+        } else {
+            this.low = 0.0;
+        }
+        this.high = s;
+    }
+    
+}
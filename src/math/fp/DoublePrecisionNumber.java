@@ -16,199 +16,392 @@
  */
 package math.fp;
 
+import java.math.RoundingMode;
+
+import math.integer.LongProcessor;
+
 /**
- *64-bit
+ * Represents a 64-bit or "double precision" floating point number. The 
+ * arithmetic is done with <code>double</code> primitives, and so in hardware 
+ * whenever the JVM can, except when one of the operands is a signaling NaN. 
+ * The processor would quiet such a NaN, so in that case the signaling NaN is 
+ * given as the result instead.
  * @author Alonso del Arte
  */
 public class DoublePrecisionNumber extends FloatingPointNumber {
-
-    private static final byte ZERO_BYTE = 0;
     
-    private static final byte[] ONE_ZERO = {ZERO_BYTE}; // quarter
-
-    private static final byte[] TWO_ZEROS = {ZERO_BYTE, ZERO_BYTE}; // half
-
-    private static final byte[] FOUR_ZEROS = {ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE}; // float
-
-    private static final byte[] EIGHT_ZEROS = {ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE}; // double
-
-    private static final byte[] SIXTEEN_ZEROS = {ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE}; // quadruple
-
-    private static final byte[] THIRTY_TWO_ZEROS = {ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE,
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE}; 
-// octuple
-
-    // TODO: Write tests for this
+    private static final char MINUS_SIGN = '\u2212';
+    
+    private static final long EXPONENT_MASK = 0x7FF0000000000000L;
+    
+    private static final long MANTISSA_MASK = 0x000FFFFFFFFFFFFFL;
+    
+    private static final long QUIET_BIT = 0x0008000000000000L;
+    
+    private static final int EXPONENT_BIAS = 1023;
+    
+    private final long heldLong;
+    
+    /**
+     * Gives the number's unbiased exponent. Will never be negative.
+     * @return The number's unbiased exponent. 0 for subnormal numbers, 2047 
+     * for infinities and NaNs, and numbers in between for the other numbers.
+     */
     @Override
     public int getUnbiasedExponent() {
-        return Integer.MIN_VALUE;
+        return (int) ((this.heldLong & EXPONENT_MASK) >>> 52);
     }
     
-    // TODO: Write tests for this
+    /**
+     * Gives the number's biased exponent. May be negative.
+     * @return The number's biased exponent: &minus;1022 for subnormal numbers 
+     * and normal numbers close to subnormal, 1023 for finite numbers with the 
+     * largest absolute values, and 1024 for infinities and NaN values.
+     */
     @Override
     public int getBiasedExponent() {
-        return Integer.MAX_VALUE;
+        int unbiased = this.getUnbiasedExponent();
+        if (unbiased == 0) {
+            return 1 - EXPONENT_BIAS;
+        }
+        return unbiased - EXPONENT_BIAS;
     }
     
-    // TODO: Write tests for this
+    /**
+     * Tells whether this number is a finite normal number.
+     * @return True if this number's absolute value is at least 
+     * 2<sup>&minus;1022</sup> and finite, false in all other cases.
+     */
     @Override
     public boolean isNormal() {
-        return false;
+        long exponentBits = this.heldLong & EXPONENT_MASK;
+        return exponentBits != 0L && exponentBits != EXPONENT_MASK;
     }
     
-    // TODO: Write tests for this
+    /**
+     * Tells whether this number is a subnormal number. As with the other 
+     * formats, zero is counted as subnormal.
+     * @return True if this number's exponent bits are all 0, false otherwise.
+     */
     @Override
     public boolean isSubnormal() {
-        return false;
+        return (this.heldLong & EXPONENT_MASK) == 0L;
+    }
+    
+    @Override
+    public boolean isZero() {
+        return (this.heldLong & Long.MAX_VALUE) == 0L;
     }
     
-    // TODO: Write tests for this
+    /**
+     * Determines whether this floating point number represents an integer or 
+     * not. Infinities and NaN values are never considered integers.
+     * @return True if this number is finite and has no fractional part, false 
+     * otherwise. Examples: true for &minus;0.0 and 9007199254740992.0, false 
+     * for 0.5 and for positive infinity.
+     */
     @Override
     public boolean isInteger() {
-        return true;
+        if (!this.isFinite()) {
+            return false;
+        }
+        double d = Double.longBitsToDouble(this.heldLong);
+        return Math.rint(d) == d;
     }
     
-    // TODO: Write tests for this
     @Override
     public boolean isFinite() {
-        return false;
+        return (this.heldLong & EXPONENT_MASK) != EXPONENT_MASK;
     }
     
-    // TODO: Write tests for this
     @Override
     public boolean isInfinite() {
-        return false;
+        return (this.heldLong & Long.MAX_VALUE) == EXPONENT_MASK;
     }
     
-    // TODO: Write tests for this
     @Override
     public boolean isNaN() {
-        return false;
+        return (this.heldLong & Long.MAX_VALUE) > EXPONENT_MASK;
     }
     
-    // TODO: Write tests for this
     @Override
     public boolean isQuietNaN() {
-        return false;
+        return (this.heldLong & Long.MAX_VALUE) >= (EXPONENT_MASK | QUIET_BIT);
     }
-
-    // TODO: Write tests for this
+    
     @Override
     public boolean isSignalingNaN() {
-        return false;
+        long masked = this.heldLong & Long.MAX_VALUE;
+        return masked > EXPONENT_MASK && masked < (EXPONENT_MASK | QUIET_BIT);
     }
-
-    // TODO: Write tests for this
+    
+    /**
+     * Gives a 32-bit primitive floating point number corresponding to this 
+     * one, rounding to nearest, ties to even.
+     * @return A 32-bit floating point number primitive. For NaNs, the 
+     * canonical NaN 32-bit primitive may be given instead.
+     */
     @Override
     public float to32BitPrimitive() {
-        return -0.0f;
+        return (float) Double.longBitsToDouble(this.heldLong);
     }
-
-    // TODO: Write tests for this
+    
+    /**
+     * Gives the 64-bit primitive with the same bit pattern as this number. 
+     * Note that the processor may quiet a signaling NaN in the course of 
+     * further arithmetic with the primitive.
+     * @return A 64-bit floating point number primitive.
+     */
     @Override
     public double to64BitPrimitive() {
-        return 0.0;
+        return Double.longBitsToDouble(this.heldLong);
     }
-
-    // TODO: Write tests for this
+    
+    /**
+     * Converts this number to quarter precision, rounding to nearest, ties to 
+     * even.
+     * @return The nearest quarter precision number. Numbers with absolute 
+     * value of 248.0 or more become infinities.
+     */
     @Override
     public QuarterPrecisionNumber toQuarterPrecision() {
-        return new QuarterPrecisionNumber((byte) 0);
+        long bits = Precision.QUARTER.roundFromDoubleBits(this.heldLong);
+        return new QuarterPrecisionNumber((byte) bits);
     }
-
-    // TODO: Write tests for this
+    
+    /**
+     * Converts this number to half precision, rounding to nearest, ties to 
+     * even.
+     * @return The nearest half precision number. Numbers with absolute value 
+     * of 65520.0 or more become infinities.
+     */
     @Override
     public HalfPrecisionNumber toHalfPrecision() {
-        return new HalfPrecisionNumber(TWO_ZEROS);
+        long bits = Precision.HALF.roundFromDoubleBits(this.heldLong);
+        return new HalfPrecisionNumber((short) bits);
     }
-
-    // TODO: Write tests for this
+    
+    /**
+     * Converts this number to single precision, rounding to nearest, ties to 
+     * even. NaNs keep their sign, as many of the highest payload bits as fit, 
+     * and whether they're quiet or signaling.
+     * @return The nearest single precision number.
+     */
     @Override
     public SinglePrecisionNumber toSinglePrecision() {
-        return new SinglePrecisionNumber(FOUR_ZEROS);
+        if (this.isNaN()) {
+            long bits = Precision.SINGLE.roundFromDoubleBits(this.heldLong);
+            return new SinglePrecisionNumber((int) bits);
+        }
+        return SinglePrecisionNumber.fromPrimitive(this.to32BitPrimitive());
     }
-
-    // TODO: Write tests for this
+    
     @Override
     public DoublePrecisionNumber toDoublePrecision() {
-        return new DoublePrecisionNumber(EIGHT_ZEROS);
+        return this;
     }
-
-    // TODO: Write tests for this
+    
+    /**
+     * Converts this number to quadruple precision. This conversion is always 
+     * exact.
+     * @return The quadruple precision number with the same value. NaNs keep 
+     * their sign and payload, and so whether they're quiet or signaling.
+     */
     @Override
     public QuadruplePrecisionNumber toQuadruplePrecision() {
-        return new QuadruplePrecisionNumber(SIXTEEN_ZEROS);
+        byte[] bits = ExactBinary.convert(Precision.DOUBLE, this.componentBytes, 
+                Precision.QUADRUPLE, RoundingMode.HALF_EVEN);
+        return new QuadruplePrecisionNumber(bits);
     }
-
-    // TODO: Write tests for this
+    
+    /**
+     * Converts this number to octuple precision. This conversion is always 
+     * exact.
+     * @return The octuple precision number with the same value. NaNs are 
+     * converted as in {@link #toQuadruplePrecision()}.
+     */
     @Override
     public OctuplePrecisionNumber toOctuplePrecision() {
-        return new OctuplePrecisionNumber(THIRTY_TWO_ZEROS);
+        byte[] bits = ExactBinary.convert(Precision.DOUBLE, this.componentBytes, 
+                Precision.OCTUPLE, RoundingMode.HALF_EVEN);
+        return new OctuplePrecisionNumber(bits);
     }
     
-    // TODO: Write tests for this
+    /**
+     * Chooses the signaling NaN to give as the result of an operation. Only 
+     * to be called when at least one of the operands is a signaling NaN.
+     * @param other The other operand.
+     * @return This number if it is a signaling NaN, otherwise {@code other}.
+     */
+    private DoublePrecisionNumber signalingOperand(DoublePrecisionNumber other) {
+        return this.isSignalingNaN() ? this : other;
+    }
+    
+    /**
+     * Adds a floating point number to this one. If the addend is of a 
+     * different format, it is first converted to double precision.
+     * @param addend The number to add. For example, 0.25.
+     * @return This number plus the addend, as computed by the processor. If 
+     * either operand is a signaling NaN, that signaling NaN is given as the 
+     * result, this number first if both are signaling NaNs.
+     */
     @Override
-    public FloatingPointNumber plus(FloatingPointNumber addend) {
-        return this;
+    public DoublePrecisionNumber plus(FloatingPointNumber addend) {
+        DoublePrecisionNumber other = addend.toDoublePrecision();
+        if (this.isSignalingNaN() || other.isSignalingNaN()) {
+            return this.signalingOperand(other);
+        }
+        return fromPrimitive(this.to64BitPrimitive() 
+                + other.to64BitPrimitive());
     }
     
+    /**
+     * Negates this number. Signaling NaNs are negated like any other number.
+     * @return This number with the sign bit toggled.
+     */
     @Override
-    public FloatingPointNumber negate() {
-        return this;
+    public DoublePrecisionNumber negate() {
+        return new DoublePrecisionNumber(this.heldLong ^ Long.MIN_VALUE);
     }
     
-    // TODO: Write tests for this
+    /**
+     * Subtracts a floating point number from this one. If the subtrahend is 
+     * of a different format, it is first converted to double precision.
+     * @param subtrahend The number to subtract. For example, 0.25.
+     * @return This number minus the subtrahend. Signaling NaNs are handled as 
+     * in {@link #plus(FloatingPointNumber) plus()}.
+     */
     @Override
-    public FloatingPointNumber minus(FloatingPointNumber subtrahend) {
-        return this;
+    public DoublePrecisionNumber minus(FloatingPointNumber subtrahend) {
+        DoublePrecisionNumber other = subtrahend.toDoublePrecision();
+        if (this.isSignalingNaN() || other.isSignalingNaN()) {
+            return this.signalingOperand(other);
+        }
+        return fromPrimitive(this.to64BitPrimitive() 
+                - other.to64BitPrimitive());
     }
     
-    // TODO: Write tests for this
+    /**
+     * Multiplies this number by another. If the multiplicand is of a 
+     * different format, it is first converted to double precision.
+     * @param multiplicand The number to multiply by. For example, 0.25.
+     * @return The product. Signaling NaNs are handled as in {@link 
+     * #plus(FloatingPointNumber) plus()}.
+     */
     @Override
-    public FloatingPointNumber times(FloatingPointNumber multiplicand) {
-        return this;
+    public DoublePrecisionNumber times(FloatingPointNumber multiplicand) {
+        DoublePrecisionNumber other = multiplicand.toDoublePrecision();
+        if (this.isSignalingNaN() || other.isSignalingNaN()) {
+            return this.signalingOperand(other);
+        }
+        return fromPrimitive(this.to64BitPrimitive() 
+                * other.to64BitPrimitive());
     }
     
+    /**
+     * Gives the reciprocal of this number.
+     * @return 1 divided by this number. For example, for 0.25, 4.0. For 
+     * &plusmn;0.0, &plusmn;&infin;. A signaling NaN is its own reciprocal.
+     */
     @Override
-    public FloatingPointNumber reciprocal() {
-        return this;
+    public DoublePrecisionNumber reciprocal() {
+        if (this.isSignalingNaN()) {
+            return this;
+        }
+        return fromPrimitive(1.0 / this.to64BitPrimitive());
     }
     
-    // TODO: Write tests for this
+    /**
+     * Divides this number by another. If the divisor is of a different 
+     * format, it is first converted to double precision.
+     * @param divisor The number to divide by. For example, 0.25.
+     * @return The quotient. Signaling NaNs are handled as in {@link 
+     * #plus(FloatingPointNumber) plus()}.
+     */
     @Override
-    public FloatingPointNumber divides(FloatingPointNumber divisor) {
-        return this;
+    public DoublePrecisionNumber divides(FloatingPointNumber divisor) {
+        DoublePrecisionNumber other = divisor.toDoublePrecision();
+        if (this.isSignalingNaN() || other.isSignalingNaN()) {
+            return this.signalingOperand(other);
+        }
+        return fromPrimitive(this.to64BitPrimitive() 
+                / other.to64BitPrimitive());
     }
     
-    // TODO: Write tests for this
+    /**
+     * Determines whether or not this number is arithmetically equal to 
+     * another according to the IEEE-754 standard. No narrowing conversion is 
+     * done, so a quadruple precision number that would round to this number 
+     * is not considered equal to it.
+     * @param other The number to compare against.
+     * @return True if {@code other} has the same value as this number, false 
+     * otherwise. Note that &minus;0.0 is arithmetically equal to 0.0 and that 
+     * NaN is never arithmetically equal to anything, not even itself.
+     */
     @Override
     public boolean arithmeticallyEqual(FloatingPointNumber other) {
-        return true;
+        if (other.getPrecision().getByteCount() <= Double.BYTES) {
+            return this.to64BitPrimitive() == other.to64BitPrimitive();
+        }
+        return other.arithmeticallyEqual(this);
+    }
+    
+    /**
+     * Gives a textual representation of this number. For negative numbers, 
+     * including negative zero, the "&minus;" character is used.
+     * @return A textual representation in base 10, as given by {@link 
+     * Double#toString(double)} but with "&minus;" for the minus sign. For 
+     * example, "&minus;1.5". Special cases: "NaN" for all NaN values 
+     * regardless of bit pattern, "&minus;Infinity" and "Infinity" for 
+     * negative and positive infinity respectively.
+     */
+    @Override
+    public String toString() {
+        if (this.isNaN()) {
+            return "NaN";
+        }
+        String intermediate = Double.toString(Double 
+                .longBitsToDouble(this.heldLong & Long.MAX_VALUE));
+        return (this.heldLong < 0L) ? MINUS_SIGN + intermediate : intermediate;
     }
-            
-    // TODO: Write tests for this
+    
+    /**
+     * Gives the bit pattern of this number as the textual representation of 
+     * an unsigned hexadecimal number. Will be zero-padded on the left as 
+     * needed.
+     * @return A sequence of sixteen hexadecimal digit characters. For example, 
+     * for 1.5, "3ff8000000000000".
+     */
     @Override
     public String bitPatternHexadecimal() {
-        return "SORRY, NOT IMPLEMENTED YET";
+        String intermediate = Long.toHexString(this.heldLong);
+        return "0000000000000000".substring(intermediate.length()) 
+                + intermediate;
     }
     
-    // TODO: Write tests for this
+    /**
+     * Wraps a 64-bit primitive. The bit pattern is kept as is, even for NaNs.
+     * @param number The number to wrap. For example, 1.5.
+     * @return A double precision number with the same bit pattern. For 
+     * example, the number with bit pattern 3FF8000000000000.
+     */
     public static DoublePrecisionNumber fromPrimitive(double number) {
-        return new DoublePrecisionNumber(EIGHT_ZEROS);
+        return new DoublePrecisionNumber(Double.doubleToRawLongBits(number));
     }
     
     DoublePrecisionNumber(byte[] bytes) {
         super(bytes);
+        this.heldLong = LongProcessor.fromBytes(bytes);
     }
     
+    /**
+     * Primary constructor.
+     * @param bits The bit pattern of the number. For example, 
+     * 4609434218613702656, which is 3FF8000000000000 in hexadecimal, for 1.5.
+     */
+    public DoublePrecisionNumber(long bits) {
+        super(LongProcessor.toBytes(bits));
+        this.heldLong = bits;
+    }
     
 }
@@ -0,0 +1,475 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fp;
+
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * The exact value of a finite binary floating point number, as a sign, an 
+ * arbitrarily large significand and a power of two. This is what the formats 
+ * wider than double precision use to do their arithmetic, rounding only once 
+ * at the end, as IEEE-754 requires. It can also hold values that are not 
+ * exactly representable in any of the formats, such as the exact product of 
+ * two quadruple precision numbers.
+ * @author Alonso del Arte
+ */
+final class ExactBinary {
+    
+    static final ExactBinary ZERO = new ExactBinary(false, BigInteger.ZERO, 0);
+    
+    static final ExactBinary ONE = new ExactBinary(false, BigInteger.ONE, 0);
+    
+    final boolean negative;
+    
+    final BigInteger significand;
+    
+    final int exponent;
+    
+    boolean isZero() {
+        return this.significand.signum() == 0;
+    }
+    
+    /**
+     * Gives the power of two of the highest set bit of the significand. For 
+     * example, 0 for any number from 1.0 up to but not including 2.0, 
+     * &minus;1 for any number from 0.5 up to but not including 1.0.
+     * @return The exponent of the leading bit. Should not be called on zero.
+     */
+    int leadingExponent() {
+        return this.exponent + this.significand.bitLength() - 1;
+    }
+    
+    ExactBinary negate() {
+        return new ExactBinary(!this.negative, this.significand, this.exponent);
+    }
+    
+    ExactBinary abs() {
+        return this.negative ? this.negate() : this;
+    }
+    
+    /**
+     * Gives the significand as a signed number.
+     * @return The significand, negated if this number is negative.
+     */
+    BigInteger signedSignificand() {
+        return this.negative ? this.significand.negate() : this.significand;
+    }
+    
+    /**
+     * Gives the value of this number as a fixed point number with a given 
+     * number of fraction bits, truncating towards zero if necessary.
+     * @param fractionBits How many bits after the binary point. For example, 
+     * 8.
+     * @return The signed value multiplied by 2<sup>{@code fractionBits}</sup> 
+     * and truncated. For example, for &minus;1.5 with 8 fraction bits, 
+     * &minus;384.
+     */
+    BigInteger toFixedPoint(int fractionBits) {
+        int shift = this.exponent + fractionBits;
+        BigInteger magnitude = (shift >= 0) ? this.significand.shiftLeft(shift) 
+                : this.significand.shiftRight(-shift);
+        return this.negative ? magnitude.negate() : magnitude;
+    }
+    
+    /**
+     * Gives the nearest <code>double</code> to this number. Only meant for 
+     * rough estimates, such as for argument reduction.
+     * @return The nearest <code>double</code>, or an infinity if this 
+     * number's absolute value is too large.
+     */
+    double toDouble() {
+        byte[] bits = this.round(Precision.DOUBLE, RoundingMode.HALF_EVEN);
+        long held = 0L;
+        for (byte b : bits) {
+            held = (held << 8) | (b & 255);
+        }
+        return Double.longBitsToDouble(held);
+    }
+    
+    /**
+     * Adds two exact numbers. The result is also exact, except when the 
+     * smaller addend is so small that it could only affect the rounding. Then 
+     * the smaller addend is replaced by a tiny number of the same sign, which 
+     * rounds the same way in all rounding modes as long as the result is 
+     * rounded to at most {@code precisionBits} bits. This way, adding 
+     * 2<sup>&minus;16000</sup> to 1 doesn't require a sixteen thousand bit 
+     * significand.
+     * @param addend The number to add.
+     * @param precisionBits The largest number of bits the result will be 
+     * rounded to. For example, 113 for quadruple precision.
+     * @return The sum, or a number that rounds the same as the sum.
+     */
+    ExactBinary plus(ExactBinary addend, int precisionBits) {
+        if (this.isZero()) {
+            return addend.isZero() ? this.bothZeroesSum(addend) : addend;
+        }
+        if (addend.isZero()) {
+            return this;
+        }
+        ExactBinary larger = this;
+        ExactBinary smaller = addend;
+        if (addend.leadingExponent() > this.leadingExponent()) {
+            larger = addend;
+            smaller = this;
+        }
+        int target = Math.min(larger.exponent, 
+                larger.leadingExponent() - precisionBits - 3);
+        if (smaller.leadingExponent() < target - 1) {
+            BigInteger widened = larger.significand 
+                    .shiftLeft(larger.exponent - target + 1);
+            BigInteger adjusted = (larger.negative == smaller.negative) 
+                    ? widened.add(BigInteger.ONE) 
+                    : widened.subtract(BigInteger.ONE);
+            return new ExactBinary(larger.negative, adjusted, target - 1);
+        }
+        int exp = Math.min(this.exponent, addend.exponent);
+        BigInteger sum = this.signedSignificand() 
+                .shiftLeft(this.exponent - exp) 
+                .add(addend.signedSignificand().shiftLeft(addend.exponent 
+                        - exp));
+        if (sum.signum() == 0) {
+            return ZERO;
+        }
+        return fromSigned(sum, exp);
+    }
+    
+    private ExactBinary bothZeroesSum(ExactBinary addend) {
+        return (this.negative && addend.negative) ? this : ZERO;
+    }
+    
+    ExactBinary times(ExactBinary multiplicand) {
+        return new ExactBinary(this.negative ^ multiplicand.negative, 
+                this.significand.multiply(multiplicand.significand), 
+                this.exponent + multiplicand.exponent);
+    }
+    
+    /**
+     * Divides this number by another. Unless the division happens to be 
+     * exact, the quotient is given with enough bits that rounding it to 
+     * {@code precisionBits} bits gives the correctly rounded quotient in any 
+     * rounding mode.
+     * @param divisor The number to divide by. Should not be zero.
+     * @param precisionBits The largest number of bits the result will be 
+     * rounded to. For example, 113 for quadruple precision.
+     * @return The quotient, with a lowest bit set if the division was not 
+     * exact.
+     */
+    ExactBinary divides(ExactBinary divisor, int precisionBits) {
+        int shift = Math.max(0, precisionBits + 2 
+                + divisor.significand.bitLength() 
+                - this.significand.bitLength());
+        BigInteger[] qr = this.significand.shiftLeft(shift) 
+                .divideAndRemainder(divisor.significand);
+        BigInteger q = qr[0].shiftLeft(1);
+        if (qr[1].signum() != 0) {
+            q = q.setBit(0);
+        }
+        return new ExactBinary(this.negative ^ divisor.negative, q, 
+                this.exponent - shift - divisor.exponent - 1);
+    }
+    
+    /**
+     * Takes the square root of this number. Unless the square root happens to 
+     * be exact, it is given with enough bits that rounding it to {@code 
+     * precisionBits} bits gives the correctly rounded square root in any 
+     * rounding mode.
+     * @param precisionBits The largest number of bits the result will be 
+     * rounded to. For example, 113 for quadruple precision.
+     * @return The square root, with a lowest bit set if it was not exact. 
+     * Should not be called on negative numbers other than &minus;0.0.
+     */
+    ExactBinary sqrt(int precisionBits) {
+        if (this.isZero()) {
+            return this;
+        }
+        int shift = Math.max(0, 2 * (precisionBits + 2) 
+                - this.significand.bitLength());
+        if (((this.exponent - shift) & 1) != 0) {
+            shift++;
+        }
+        BigInteger radicand = this.significand.shiftLeft(shift);
+        BigInteger[] sr = radicand.sqrtAndRemainder();
+        BigInteger root = sr[0].shiftLeft(1);
+        if (sr[1].signum() != 0) {
+            root = root.setBit(0);
+        }
+        return new ExactBinary(false, root, (this.exponent - shift) / 2 - 1);
+    }
+    
+    int compareMagnitude(ExactBinary other) {
+        if (this.isZero() || other.isZero()) {
+            return this.significand.signum() - other.significand.signum();
+        }
+        int leadComparison = Integer.compare(this.leadingExponent(), 
+                other.leadingExponent());
+        if (leadComparison != 0) {
+            return leadComparison;
+        }
+        int exp = Math.min(this.exponent, other.exponent);
+        return this.significand.shiftLeft(this.exponent - exp) 
+                .compareTo(other.significand.shiftLeft(other.exponent - exp));
+    }
+    
+    /**
+     * Rounds this number to a given format.
+     * @param precision The format to round to. For example, {@link 
+     * Precision#QUADRUPLE}.
+     * @param mode How to round. {@link RoundingMode#HALF_EVEN} is the IEEE-754 
+     * default, {@link RoundingMode#FLOOR} and {@link RoundingMode#CEILING} 
+     * round towards negative and positive infinity.
+     * @return The bit pattern of the rounded number, most significant byte 
+     * first. Numbers too large in absolute value give an infinity or the 
+     * largest finite number, depending on the rounding mode.
+     * @throws ArithmeticException If {@code mode} is {@link 
+     * RoundingMode#UNNECESSARY} but this number can't be represented exactly 
+     * in the given format.
+     */
+    byte[] round(Precision precision, RoundingMode mode) {
+        int mantissaBits = precision.getMantissaBitCount();
+        int bias = precision.getExponentBias();
+        BigInteger sign = this.negative 
+                ? BigInteger.ONE.shiftLeft(precision.getBitCount() - 1) 
+                : BigInteger.ZERO;
+        if (this.isZero()) {
+            return toBytes(sign, precision);
+        }
+        int quantum = Math.max(this.leadingExponent(), 1 - bias) 
+                - mantissaBits;
+        BigInteger mantissa;
+        if (this.exponent >= quantum) {
+            mantissa = this.significand.shiftLeft(this.exponent - quantum);
+        } else {
+            int shift = quantum - this.exponent;
+            mantissa = this.significand.shiftRight(shift);
+            if (this.roundsAwayFromZero(shift, mantissa.testBit(0), mode)) {
+                mantissa = mantissa.add(BigInteger.ONE);
+                if (mantissa.bitLength() > mantissaBits + 1) {
+                    mantissa = mantissa.shiftRight(1);
+                    quantum++;
+                }
+            }
+        }
+        long biased = (mantissa.bitLength() > mantissaBits) 
+                ? (long) quantum + mantissaBits + bias : 0L;
+        long maxBiased = (1L << precision.getExponentBitCount()) - 1;
+        if (biased >= maxBiased) {
+            return toBytes(sign.or(this.overflowBits(precision, mode)), 
+                    precision);
+        }
+        BigInteger bits = sign.or(BigInteger.valueOf(biased) 
+                .shiftLeft(mantissaBits)) 
+                .or(mantissa.clearBit(mantissaBits));
+        return toBytes(bits, precision);
+    }
+    
+    private boolean roundsAwayFromZero(int shift, boolean odd, 
+            RoundingMode mode) {
+        int lowest = this.significand.getLowestSetBit();
+        if (lowest >= shift) {
+            return false;
+        }
+        boolean aboveHalf = lowest < shift - 1;
+        boolean atLeastHalf = this.significand.testBit(shift - 1);
+        return switch (mode) {
+            case UP -> true;
+            case DOWN -> false;
+            case CEILING -> !this.negative;
+            case FLOOR -> this.negative;
+            case HALF_UP -> atLeastHalf;
+            case HALF_DOWN -> atLeastHalf && aboveHalf;
+            case HALF_EVEN -> atLeastHalf && (aboveHalf || odd);
+            case UNNECESSARY -> {
+                String excMsg = "Rounding needed to represent " + this 
+                        + " exactly";
+                throw new ArithmeticException(excMsg);
+            }
+        };
+    }
+    
+    private BigInteger overflowBits(Precision precision, RoundingMode mode) {
+        int mantissaBits = precision.getMantissaBitCount();
+        BigInteger infinity = BigInteger.ONE 
+                .shiftLeft(precision.getExponentBitCount()).subtract(BigInteger 
+                        .ONE).shiftLeft(mantissaBits);
+        boolean toInfinity = switch (mode) {
+            case DOWN -> false;
+            case CEILING -> !this.negative;
+            case FLOOR -> this.negative;
+            case UNNECESSARY -> {
+                String excMsg = this + " is too large to be represented";
+                throw new ArithmeticException(excMsg);
+            }
+            default -> true;
+        };
+        return toInfinity ? infinity : infinity.subtract(BigInteger.ONE);
+    }
+    
+    private static byte[] toBytes(BigInteger bits, Precision precision) {
+        int count = precision.getByteCount();
+        byte[] bytes = new byte[count];
+        byte[] raw = bits.toByteArray();
+        int copied = Math.min(raw.length, count);
+        System.arraycopy(raw, raw.length - copied, bytes, count - copied, 
+                copied);
+        return bytes;
+    }
+    
+    /**
+     * Gives the exact value of a finite floating point number.
+     * @param precision The format of the number. For example, {@link 
+     * Precision#QUADRUPLE}.
+     * @param bits The bit pattern of the number, most significant byte first. 
+     * Should not be an infinity or NaN.
+     * @return The exact value. For example, for the quadruple precision 
+     * number 1.5, which has bit pattern 3FFF8000...0000, the significand is 
+     * 3 and the exponent is &minus;1.
+     */
+    static ExactBinary decode(Precision precision, byte[] bits) {
+        boolean negative = bits[0] < 0;
+        BigInteger pattern = new BigInteger(1, bits);
+        int mantissaBits = precision.getMantissaBitCount();
+        int biased = pattern.shiftRight(mantissaBits).clearBit(precision 
+                .getExponentBitCount()).intValue();
+        BigInteger fraction = pattern.subtract(pattern.shiftRight(mantissaBits) 
+                .shiftLeft(mantissaBits));
+        int bias = precision.getExponentBias();
+        if (biased == 0) {
+            return trimmed(negative, fraction, 1 - bias - mantissaBits);
+        }
+        return trimmed(negative, fraction.setBit(mantissaBits), 
+                biased - bias - mantissaBits);
+    }
+    
+    /**
+     * Converts a bit pattern from one format to another. NaNs keep their sign, 
+     * as many of the highest payload bits as fit in the new format, and 
+     * whether they're quiet or signaling.
+     * @param from The format of the bit pattern. For example, {@link 
+     * Precision#DOUBLE}.
+     * @param bits The bit pattern, most significant byte first.
+     * @param to The format to convert to. For example, {@link 
+     * Precision#QUADRUPLE}.
+     * @param mode How to round if the number can't be represented exactly in 
+     * the new format.
+     * @return The bit pattern in the new format, most significant byte first.
+     */
+    static byte[] convert(Precision from, byte[] bits, Precision to, 
+            RoundingMode mode) {
+        BigInteger pattern = new BigInteger(1, bits);
+        int fromMantissa = from.getMantissaBitCount();
+        int toMantissa = to.getMantissaBitCount();
+        BigInteger fromInfinity = BigInteger.ONE.shiftLeft(from 
+                .getExponentBitCount()).subtract(BigInteger.ONE);
+        BigInteger exponentBits = pattern.shiftRight(fromMantissa) 
+                .clearBit(from.getExponentBitCount());
+        if (!exponentBits.equals(fromInfinity)) {
+            return decode(from, bits).round(to, mode);
+        }
+        BigInteger fraction = pattern.subtract(pattern.shiftRight(fromMantissa) 
+                .shiftLeft(fromMantissa));
+        BigInteger payload = (toMantissa >= fromMantissa) 
+                ? fraction.shiftLeft(toMantissa - fromMantissa) 
+                : fraction.shiftRight(fromMantissa - toMantissa);
+        if (fraction.signum() != 0 && payload.signum() == 0) {
+            payload = BigInteger.ONE;
+        }
+        BigInteger result = BigInteger.ONE.shiftLeft(to.getExponentBitCount()) 
+                .subtract(BigInteger.ONE).shiftLeft(toMantissa).or(payload);
+        if (bits[0] < 0) {
+            result = result.setBit(to.getBitCount() - 1);
+        }
+        return toBytes(result, to);
+    }
+    
+    private static ExactBinary trimmed(boolean negative, 
+            BigInteger significand, int exponent) {
+        if (significand.signum() == 0) {
+            return new ExactBinary(negative, significand, 0);
+        }
+        int zeros = significand.getLowestSetBit();
+        return new ExactBinary(negative, significand.shiftRight(zeros), 
+                exponent + zeros);
+    }
+    
+    /**
+     * Gives a stand-in for a rational number that rounds to any given format 
+     * exactly like the rational number itself would, in every rounding mode. 
+     * The significand is the quotient of the numerator divided by the 
+     * denominator, scaled so as to have at least two more bits than the format 
+     * can hold, even for subnormal numbers, and truncated. If the truncation 
+     * discards anything, the lowest bit of the significand is set, which is 
+     * below the rounding position and so tells {@link #round(Precision, 
+     * RoundingMode) round()} that the value is not exactly halfway.
+     * @param numer The numerator. May be negative. For example, 1.
+     * @param denom The denominator. Should be positive. For example, 3.
+     * @param precision The format the stand-in will be rounded to. For 
+     * example, {@link Precision#HALF}.
+     * @return The stand-in. For example, 5461 &times; 2<sup>&minus;14</sup>, 
+     * or 0.01010101010101 in binary, with the last 1 being the sticky bit.
+     */
+    static ExactBinary approximate(BigInteger numer, BigInteger denom, 
+            Precision precision) {
+        if (numer.signum() == 0) {
+            return ZERO;
+        }
+        BigInteger absNumer = numer.abs();
+        int mantissaBits = precision.getMantissaBitCount();
+        int minQuantum = 1 - precision.getExponentBias() - mantissaBits;
+        int leading = absNumer.bitLength() - denom.bitLength();
+        int exponent = Math.max(leading - mantissaBits - 3, minQuantum - 2);
+        BigInteger scaledNumer = absNumer;
+        BigInteger scaledDenom = denom;
+        if (exponent < 0) {
+            scaledNumer = scaledNumer.shiftLeft(-exponent);
+        } else {
+            scaledDenom = scaledDenom.shiftLeft(exponent);
+        }
+        BigInteger[] quotientAndRemainder 
+                = scaledNumer.divideAndRemainder(scaledDenom);
+        BigInteger significand = quotientAndRemainder[0];
+        if (quotientAndRemainder[1].signum() != 0) {
+            significand = significand.setBit(0);
+        }
+        return new ExactBinary(numer.signum() < 0, significand, exponent);
+    }
+    
+    /**
+     * Makes an exact number from a signed significand.
+     * @param significand The significand, which may be negative.
+     * @param exponent The power of two to multiply the significand by.
+     * @return The number, which is negative if and only if {@code 
+     * significand} is.
+     */
+    static ExactBinary fromSigned(BigInteger significand, int exponent) {
+        return new ExactBinary(significand.signum() < 0, significand.abs(), 
+                exponent);
+    }
+    
+    @Override
+    public String toString() {
+        return (this.negative ? "\u2212" : "") + this.significand + " \u00D7 2^" 
+                + this.exponent;
+    }
+    
+    ExactBinary(boolean negative, BigInteger significand, int exponent) {
+        this.negative = negative;
+        this.significand = significand;
+        this.exponent = exponent;
+    }
+    
+}
@@ -0,0 +1,469 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fp;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Generates pseudorandom floating point numbers of one format, as objects or 
+ * in bulk as packed bit patterns, in the same array layout as {@link 
+ * math.fp.io.PackedNumberWriter}. The numbers are drawn from one of the 
+ * distributions of {@link SampleDistribution}. Generation is built on {@link 
+ * SplittableRandom}, so a generator is not safe for use by multiple threads, 
+ * but it can be split into independent generators, one for each thread, 
+ * without any contention between them. The streams given by {@link 
+ * #stream(long)} split the generator the same way when run in parallel.
+ * <p>Every format is handled the same way, one <code>long</code> at a time: 
+ * formats of up to 64 bits fit in the low bits of one <code>long</code>, and 
+ * the quadruple and octuple precision formats take up two and four 
+ * <code>long</code>s, with the sign, the exponent and the highest mantissa 
+ * bits in the first. So generating a number takes one or a few calls to the 
+ * underlying generator, and no allocation.</p>
+ * @author Alonso del Arte
+ */
+public class FloatingPointGenerator {
+    
+    /**
+     * The kinds of mantissa the bit patterns can be put together with: 
+     * random bits, all bits 0, only the lowest bit 1, only the highest bit 1 
+     * or all bits 1.
+     */
+    private static final int MANTISSA_RANDOM = 0, MANTISSA_ZERO = 1, 
+            MANTISSA_LOWEST = 2, MANTISSA_HIGHEST = 3, MANTISSA_ALL_ONES = 4;
+    
+    /**
+     * How many kinds of special values {@link 
+     * SampleDistribution#SPECIAL_BIASED} chooses from, not counting the sign.
+     */
+    private static final int SPECIAL_KIND_COUNT = 9;
+    
+    private final Precision precision;
+    
+    private final SampleDistribution distribution;
+    
+    private final SplittableRandom random;
+    
+    /**
+     * How many <code>long</code>s a number takes up, how many bits of the 
+     * first <code>long</code> are used and how many of those are mantissa 
+     * bits.
+     */
+    private final int limbCount, topBitCount, topMantissaBitCount;
+    
+    /**
+     * The exponent field of infinities and NaNs, all bits 1.
+     */
+    private final long maxExponent;
+    
+    private final int exponentBias;
+    
+    /**
+     * Tells which format this generator generates numbers in.
+     * @return The format. For example, {@link Precision#HALF}.
+     */
+    public Precision getPrecision() {
+        return this.precision;
+    }
+    
+    /**
+     * Tells which distribution this generator draws numbers from.
+     * @return The distribution. For example, {@link 
+     * SampleDistribution#SPECIAL_BIASED}.
+     */
+    public SampleDistribution getDistribution() {
+        return this.distribution;
+    }
+    
+    private long topMantissa(int kind) {
+        long mask = (1L << this.topMantissaBitCount) - 1;
+        return switch (kind) {
+            case MANTISSA_RANDOM -> this.random.nextLong() & mask;
+            case MANTISSA_LOWEST -> this.limbCount == 1 ? 1L : 0L;
+            case MANTISSA_HIGHEST -> 1L << (this.topMantissaBitCount - 1);
+            case MANTISSA_ALL_ONES -> mask;
+            default -> 0L;
+        };
+    }
+    
+    private long lowerMantissa(int kind, boolean last) {
+        return switch (kind) {
+            case MANTISSA_RANDOM -> this.random.nextLong();
+            case MANTISSA_LOWEST -> last ? 1L : 0L;
+            case MANTISSA_ALL_ONES -> -1L;
+            default -> 0L;
+        };
+    }
+    
+    /**
+     * Puts together a bit pattern.
+     * @param sign 0 for positive, 1 for negative.
+     * @param exponent The exponent field.
+     * @param kind The kind of mantissa.
+     * @param lower Where to put the <code>long</code>s after the first, for 
+     * quadruple and octuple precision. May be null for the other formats.
+     * @param index Where in <code>lower</code> the number starts.
+     * @return The first <code>long</code> of the bit pattern.
+     */
+    private long assemble(long sign, long exponent, int kind, long[] lower, 
+            int index) {
+        for (int i = 1; i < this.limbCount; i++) {
+            lower[index + i] = this.lowerMantissa(kind, 
+                    i == this.limbCount - 1);
+        }
+        return (sign << (this.topBitCount - 1)) 
+                | (exponent << this.topMantissaBitCount) 
+                | this.topMantissa(kind);
+    }
+    
+    private long nextFinite(long[] lower, int index) {
+        return this.assemble(this.random.nextInt(2), 
+                this.random.nextLong(this.maxExponent), MANTISSA_RANDOM, lower, 
+                index);
+    }
+    
+    /**
+     * Draws the exponent field of a number uniformly distributed from 0 to 1. 
+     * The number is in the binade from 2<sup>&minus;<i>k</i></sup> to 
+     * 2<sup>&minus;<i>k</i> + 1</sup> with probability 
+     * 2<sup>&minus;<i>k</i></sup>, so <i>k</i> is one more than the number of 
+     * leading zeros of a stream of random bits. Below the smallest normal 
+     * number, which is reached with the same probability as its value, the 
+     * subnormal numbers are equally likely.
+     */
+    private long unitIntervalExponent() {
+        long exponent = this.exponentBias - 1;
+        long bits;
+        while ((bits = this.random.nextLong()) == 0L) {
+            exponent -= Long.SIZE;
+            if (exponent <= 0L) {
+                return 0L;
+            }
+        }
+        exponent -= Long.numberOfLeadingZeros(bits);
+        return Math.max(exponent, 0L);
+    }
+    
+    private long nextSpecial(long[] lower, int index) {
+        long sign = this.random.nextInt(2);
+        long max = this.maxExponent;
+        return switch (this.random.nextInt(SPECIAL_KIND_COUNT)) {
+            case 0 -> this.assemble(sign, 0L, MANTISSA_ZERO, lower, index);
+            case 1 -> this.assemble(sign, 0L, MANTISSA_LOWEST, lower, index);
+            case 2 -> this.assemble(sign, 0L, MANTISSA_ALL_ONES, lower, index);
+            case 3 -> this.assemble(sign, 1L, MANTISSA_ZERO, lower, index);
+            case 4 -> this.assemble(sign, this.exponentBias, MANTISSA_ZERO, 
+                    lower, index);
+            case 5 -> this.assemble(sign, max - 1L, MANTISSA_ALL_ONES, lower, 
+                    index);
+            case 6 -> this.assemble(sign, max, MANTISSA_ZERO, lower, index);
+            case 7 -> this.assemble(sign, max, MANTISSA_HIGHEST, lower, index);
+            default -> this.assemble(sign, max, MANTISSA_LOWEST, lower, index);
+        };
+    }
+    
+    /**
+     * Draws the bit pattern of one number.
+     * @param lower Where to put the <code>long</code>s after the first, for 
+     * quadruple and octuple precision. May be null for the other formats.
+     * @param index Where in <code>lower</code> the number starts.
+     * @return The first <code>long</code> of the bit pattern, which for 
+     * formats of up to 64 bits is the whole bit pattern, in the lowest bits.
+     */
+    private long nextPattern(long[] lower, int index) {
+        return switch (this.distribution) {
+            case BIT_PATTERNS -> {
+                for (int i = 1; i < this.limbCount; i++) {
+                    lower[index + i] = this.random.nextLong();
+                }
+                long bits = this.random.nextLong();
+                yield this.topBitCount == Long.SIZE ? bits 
+                        : bits & ((1L << this.topBitCount) - 1);
+            }
+            case FINITE -> this.nextFinite(lower, index);
+            case UNIT_INTERVAL -> this.assemble(0L, 
+                    this.unitIntervalExponent(), MANTISSA_RANDOM, lower, 
+                    index);
+            case SPECIAL_BIASED -> this.random.nextBoolean() 
+                    ? this.nextSpecial(lower, index) 
+                    : this.nextFinite(lower, index);
+        };
+    }
+    
+    /**
+     * Generates a number.
+     * @return A number in the format of this generator. For example, for 
+     * {@link SampleDistribution#UNIT_INTERVAL} in half precision, 0.3642578.
+     */
+    public FloatingPointNumber next() {
+        int byteCount = this.precision.getByteCount();
+        byte[] bytes = new byte[byteCount];
+        if (this.limbCount == 1) {
+            long bits = this.nextPattern(null, 0);
+            for (int i = byteCount - 1; i >= 0; i--) {
+                bytes[i] = (byte) bits;
+                bits >>>= Byte.SIZE;
+            }
+        } else {
+            long[] limbs = new long[this.limbCount];
+            limbs[0] = this.nextPattern(limbs, 0);
+            for (int i = 0; i < byteCount; i++) {
+                bytes[i] = (byte) (limbs[i / Long.BYTES] 
+                        >>> (Byte.SIZE * (Long.BYTES - 1 - i % Long.BYTES)));
+            }
+        }
+        return FloatingPointNumber.apply(bytes);
+    }
+    
+    private void ensurePrecision(Precision expected) {
+        if (this.precision != expected) {
+            String excMsg = "Generator is for " + this.precision 
+                    + " numbers, not " + expected + " numbers";
+            throw new IllegalStateException(excMsg);
+        }
+    }
+    
+    /**
+     * Generates quarter precision bit patterns in bulk.
+     * @param bitPatterns The array to put the bit patterns in, one byte per 
+     * number.
+     * @param offset The index of the first bit pattern to generate.
+     * @param length How many bit patterns to generate.
+     * @throws IllegalStateException If this generator is not for quarter 
+     * precision numbers.
+     * @throws IndexOutOfBoundsException If <code>offset</code> and 
+     * <code>length</code> don't fit in <code>bitPatterns</code>.
+     */
+    public void nextBytes(byte[] bitPatterns, int offset, int length) {
+        this.ensurePrecision(Precision.QUARTER);
+        Objects.checkFromIndexSize(offset, length, bitPatterns.length);
+        for (int i = offset; i < offset + length; i++) {
+            bitPatterns[i] = (byte) this.nextPattern(null, 0);
+        }
+    }
+    
+    /**
+     * Generates half precision bit patterns in bulk.
+     * @param bitPatterns The array to put the bit patterns in, one 
+     * <code>short</code> per number.
+     * @param offset The index of the first bit pattern to generate.
+     * @param length How many bit patterns to generate.
+     * @throws IllegalStateException If this generator is not for half 
+     * precision numbers.
+     * @throws IndexOutOfBoundsException If <code>offset</code> and 
+     * <code>length</code> don't fit in <code>bitPatterns</code>.
+     */
+    public void nextShorts(short[] bitPatterns, int offset, int length) {
+        this.ensurePrecision(Precision.HALF);
+        Objects.checkFromIndexSize(offset, length, bitPatterns.length);
+        for (int i = offset; i < offset + length; i++) {
+            bitPatterns[i] = (short) this.nextPattern(null, 0);
+        }
+    }
+    
+    /**
+     * Generates single precision bit patterns in bulk.
+     * @param bitPatterns The array to put the bit patterns in, one 
+     * <code>int</code> per number, as for {@link 
+     * Float#intBitsToFloat(int)}.
+     * @param offset The index of the first bit pattern to generate.
+     * @param length How many bit patterns to generate.
+     * @throws IllegalStateException If this generator is not for single 
+     * precision numbers.
+     * @throws IndexOutOfBoundsException If <code>offset</code> and 
+     * <code>length</code> don't fit in <code>bitPatterns</code>.
+     */
+    public void nextInts(int[] bitPatterns, int offset, int length) {
+        this.ensurePrecision(Precision.SINGLE);
+        Objects.checkFromIndexSize(offset, length, bitPatterns.length);
+        for (int i = offset; i < offset + length; i++) {
+            bitPatterns[i] = (int) this.nextPattern(null, 0);
+        }
+    }
+    
+    /**
+     * Generates double, quadruple or octuple precision bit patterns in bulk. 
+     * A double precision number takes up one <code>long</code>, a quadruple 
+     * precision number two and an octuple precision number four. In the case 
+     * of quadruple and octuple precision, the most significant 
+     * <code>long</code> comes first.
+     * @param bitPatterns The array to put the bit patterns in.
+     * @param offset The index of the first <code>long</code> to generate.
+     * @param length How many <code>long</code>s to generate. Must be a 
+     * multiple of the number of <code>long</code>s per number.
+     * @throws IllegalStateException If this generator is not for double, 
+     * quadruple or octuple precision numbers.
+     * @throws IllegalArgumentException If <code>length</code> is not a 
+     * multiple of the number of <code>long</code>s per number.
+     * @throws IndexOutOfBoundsException If <code>offset</code> and 
+     * <code>length</code> don't fit in <code>bitPatterns</code>.
+     */
+    public void nextLongs(long[] bitPatterns, int offset, int length) {
+        if (this.precision.getByteCount() < Long.BYTES) {
+            String excMsg = "Generator is for " + this.precision 
+                    + " numbers, which do not take up whole longs";
+            throw new IllegalStateException(excMsg);
+        }
+        Objects.checkFromIndexSize(offset, length, bitPatterns.length);
+        if (length % this.limbCount != 0) {
+            String excMsg = "Length " + length + " is not a multiple of " 
+                    + this.limbCount;
+            throw new IllegalArgumentException(excMsg);
+        }
+        for (int i = offset; i < offset + length; i += this.limbCount) {
+            bitPatterns[i] = this.nextPattern(bitPatterns, i);
+        }
+    }
+    
+    /**
+     * Splits off a new generator for the same format and distribution. The 
+     * two generators give statistically independent numbers, and can be used 
+     * by different threads at the same time.
+     * @return A new generator. This generator keeps going on its own.
+     */
+    public FloatingPointGenerator split() {
+        return new FloatingPointGenerator(this.precision, this.distribution, 
+                this.random.split());
+    }
+    
+    /**
+     * Gives a stream of numbers from this generator. Like the streams of 
+     * {@link SplittableRandom}, the stream can be run in parallel, in which 
+     * case each part of it gets a generator split off from this one.
+     * @param size How many numbers the stream should have. For example, 
+     * 1000000.
+     * @return A stream of <code>size</code> numbers.
+     * @throws IllegalArgumentException If <code>size</code> is negative.
+     */
+    public Stream<FloatingPointNumber> stream(long size) {
+        if (size < 0L) {
+            String excMsg = "Stream size " + size + " should not be negative";
+            throw new IllegalArgumentException(excMsg);
+        }
+        return StreamSupport.stream(new NumberSpliterator(this, 0L, size), 
+                false);
+    }
+    
+    /**
+     * Goes through a range of the numbers of a stream, generating each one 
+     * as it's asked for. Splitting gives the first half of the range to a 
+     * split off generator.
+     */
+    private static final class NumberSpliterator 
+            implements Spliterator<FloatingPointNumber> {
+
+        private final FloatingPointGenerator generator;
+
+        private long index;
+
+        private final long fence;
+
+        @Override
+        public boolean tryAdvance(Consumer<? super FloatingPointNumber> 
+                action) {
+            if (this.index < this.fence) {
+                action.accept(this.generator.next());
+                this.index++;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<FloatingPointNumber> trySplit() {
+            long middle = (this.index + this.fence) >>> 1;
+            if (middle <= this.index) {
+                return null;
+            }
+            NumberSpliterator prefix = new NumberSpliterator( 
+                    this.generator.split(), this.index, middle);
+            this.index = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.fence - this.index;
+        }
+
+        @Override
+        public int characteristics() {
+            return SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+
+        NumberSpliterator(FloatingPointGenerator generator, long origin, 
+                long fence) {
+            this.generator = generator;
+            this.index = origin;
+            this.fence = fence;
+        }
+
+    }
+    
+    private FloatingPointGenerator(Precision precision, 
+            SampleDistribution distribution, SplittableRandom random) {
+        if (precision == null || distribution == null) {
+            String excMsg = "Precision and distribution should not be null";
+            throw new NullPointerException(excMsg);
+        }
+        this.precision = precision;
+        this.distribution = distribution;
+        this.random = random;
+        int bitCount = precision.getBitCount();
+        this.limbCount = Math.max(bitCount / Long.SIZE, 1);
+        this.topBitCount = Math.min(bitCount, Long.SIZE);
+        this.topMantissaBitCount = this.topBitCount - 1 
+                - precision.getExponentBitCount();
+        this.maxExponent = (1L << precision.getExponentBitCount()) - 1;
+        this.exponentBias = precision.getExponentBias();
+    }
+    
+    /**
+     * Constructor with a random seed.
+     * @param precision The format to generate numbers in. For example, {@link 
+     * Precision#HALF}.
+     * @param distribution The distribution to draw numbers from. For example, 
+     * {@link SampleDistribution#FINITE}.
+     * @throws NullPointerException If <code>precision</code> or 
+     * <code>distribution</code> is null.
+     */
+    public FloatingPointGenerator(Precision precision, 
+            SampleDistribution distribution) {
+        this(precision, distribution, new SplittableRandom());
+    }
+    
+    /**
+     * Constructor with a given seed, so that the same numbers can be generated 
+     * again, for example to reproduce a failing test.
+     * @param precision The format to generate numbers in. For example, {@link 
+     * Precision#HALF}.
+     * @param distribution The distribution to draw numbers from. For example, 
+     * {@link SampleDistribution#FINITE}.
+     * @param seed The seed. For example, 20260101.
+     * @throws NullPointerException If <code>precision</code> or 
+     * <code>distribution</code> is null.
+     */
+    public FloatingPointGenerator(Precision precision, 
+            SampleDistribution distribution, long seed) {
+        this(precision, distribution, new SplittableRandom(seed));
+    }
+    
+}
@@ -16,8 +16,14 @@
  */
 package math.fp;
 
+import java.math.BigInteger;
+import java.math.RoundingMode;
 import java.util.Arrays;
 
+import math.fractions.BigFraction;
+import math.fractions.Fraction;
+import math.fractions.RationalAccumulator;
+
 /**
  * Represents a floating point number.
  * @author Alonso del Arte
@@ -189,25 +195,229 @@ public abstract class FloatingPointNumber
         return builder.toString();
     }
     
-    // TODO: Write tests for this
     /**
-     * WORK IN PROGRESS...
+     * Tells which of the formats provided by this library this number is in. 
+     * This is determined by the number of component bytes.
+     * @return The format. For example, {@link Precision#HALF} for a number 
+     * made up of two bytes.
+     * @throws IllegalArgumentException If the number of component bytes does 
+     * not correspond to any supported format. This can only happen with 
+     * subclasses other than the ones provided by this library.
+     */
+    public Precision getPrecision() {
+        return Precision.forByteCount(this.componentBytes.length);
+    }
+    
+    /**
      * Converts an array of bytes to a floating point number of the appropriate 
-     * type... or will do so once all of the various types are thoroughly 
-     * tested...
+     * type. The bytes are taken to be in big endian order, that is, the first 
+     * byte holds the sign bit and the most significant exponent bits.
      * @param bytes The bytes. For example, {0x42, 0x48}.
      * @return The floating point number. For example, &pi; in half-precision.
      * @throws IllegalArgumentException If {@code bytes} consists of three, 
-     * five, seven or any greater odd number of bytes.
+     * five, six, seven or any other number of bytes besides 1, 2, 4, 8, 16 and 
+     * 32.
      */
     public static FloatingPointNumber apply(byte[] bytes) {
         int len = bytes.length;
-        if (len > 2 && len % 2 == 1) {
-            String excMsg = "Array length " + len 
-                    + " is not valid, should be even or just 1";
-            throw new IllegalArgumentException(excMsg);
+        return switch (len) {
+            case 1 -> new QuarterPrecisionNumber(bytes[0]);
+            case 2 -> new HalfPrecisionNumber(bytes.clone());
+            case 4 -> new SinglePrecisionNumber(bytes.clone());
+            case 8 -> new DoublePrecisionNumber(bytes.clone());
+            case 16 -> new QuadruplePrecisionNumber(bytes.clone());
+            case 32 -> new OctuplePrecisionNumber(bytes.clone());
+            default -> {
+                String excMsg = "Array length " + len 
+                        + " is not valid, should be 1, 2, 4, 8, 16 or 32";
+                throw new IllegalArgumentException(excMsg);
+            }
+        };
+    }
+    
+    /**
+     * Gives the exact value of this number as a fraction. Since this is a 
+     * binary format, the denominator is always a power of two, and the 
+     * fraction is obtained with shifts alone.
+     * @return The exact value. For example, for 0.1 in half precision, 
+     * <sup>819</sup>&frasl;<sub>8192</sub>. Both zeroes give 0.
+     * @throws ArithmeticException If this number is an infinity or a NaN.
+     */
+    public BigFraction toBigFraction() {
+        if (!this.isFinite()) {
+            String excMsg = "Infinities and NaNs have no rational value";
+            throw new ArithmeticException(excMsg);
+        }
+        ExactBinary exact = ExactBinary.decode(this.getPrecision(), 
+                this.componentBytes);
+        BigInteger significand = exact.negative 
+                ? exact.significand.negate() : exact.significand;
+        return BigFraction.valueOf(significand, exact.exponent);
+    }
+    
+    /**
+     * Gives the exact value of this number as a fraction. Since this is a 
+     * binary format, the denominator is always a power of two, and the 
+     * fraction is obtained with shifts alone. For the formats no wider than 
+     * double precision, this is done directly on the bit pattern, without any 
+     * <code>BigInteger</code> arithmetic.
+     * @return The exact value. For example, for 0.1 in half precision, 
+     * <sup>819</sup>&frasl;<sub>8192</sub>. Both zeroes give 0. If the 
+     * numerator or the denominator is outside the range of <code>long</code>, 
+     * as is the case for most double precision subnormal numbers, the fraction 
+     * is backed by a {@link BigFraction}.
+     * @throws ArithmeticException If this number is an infinity or a NaN.
+     */
+    public Fraction toFraction() {
+        Precision precision = this.getPrecision();
+        if (precision.getByteCount() > Long.BYTES) {
+            return this.toBigFraction().toFraction();
+        }
+        if (!this.isFinite()) {
+            String excMsg = "Infinities and NaNs have no rational value";
+            throw new ArithmeticException(excMsg);
+        }
+        long bits = this.packedBits();
+        return Fraction.valueOf(this.smallSignificand(bits, precision), 
+                smallExponent(bits, precision));
+    }
+    
+    /**
+     * Finds the fraction nearest to this number among the fractions with 
+     * denominators no larger than a given limit. For the formats no wider 
+     * than double precision, the exact value is read directly from the bit 
+     * pattern, and the search is done in <code>long</code> arithmetic.
+     * @param maxDenominator The largest denominator allowed. For example, 10.
+     * For the example, let's say this number is 0.333251953125 in half 
+     * precision.
+     * @return The nearest fraction, or the one with the smaller denominator in 
+     * case of a tie. For example, <sup>1</sup>&frasl;<sub>3</sub>.
+     * @throws ArithmeticException If this number is an infinity or a NaN.
+     * @throws IllegalArgumentException If <code>maxDenominator</code> is 0 or 
+     * negative.
+     */
+    public Fraction bestApproximation(long maxDenominator) {
+        return this.toFraction().bestApproximation(maxDenominator);
+    }
+    
+    /**
+     * Adds the exact value of this number to a running total. For the formats 
+     * no wider than double precision, this is done directly on the bit 
+     * pattern, without making any objects, unless the running total has to 
+     * spill over to <code>BigInteger</code> terms.
+     * @param accumulator The running total to add to. For example, one with 
+     * running total <sup>1</sup>&frasl;<sub>3</sub>. For the example, let's 
+     * say this number is 0.1 in half precision.
+     * @throws ArithmeticException If this number is an infinity or a NaN. The 
+     * running total is then unchanged.
+     */
+    public void addTo(RationalAccumulator accumulator) {
+        Precision precision = this.getPrecision();
+        if (precision.getByteCount() > Long.BYTES) {
+            accumulator.add(this.toBigFraction());
+            return;
         }
-        return new QuarterPrecisionNumber(bytes[0]);
+        if (!this.isFinite()) {
+            String excMsg = "Infinities and NaNs have no rational value";
+            throw new ArithmeticException(excMsg);
+        }
+        long bits = this.packedBits();
+        accumulator.addDyadic(this.smallSignificand(bits, precision), 
+                smallExponent(bits, precision));
+    }
+    
+    /**
+     * Packs the bytes of a number no wider than double precision into a 
+     * <code>long</code>, with the sign bit of the format as the highest bit 
+     * used.
+     */
+    private long packedBits() {
+        long bits = 0L;
+        for (byte b : this.componentBytes) {
+            bits = (bits << Byte.SIZE) | (b & 0xFF);
+        }
+        return bits;
+    }
+    
+    /**
+     * Gives the signed integer significand of a finite number no wider than 
+     * double precision, such that the number is the significand times two to 
+     * the power given by {@link #smallExponent(long, Precision)}.
+     */
+    private long smallSignificand(long bits, Precision precision) {
+        int mantissaBits = precision.getMantissaBitCount();
+        long mantissaMask = (1L << mantissaBits) - 1;
+        long significand = (biasedExponent(bits, precision) == 0) 
+                ? bits & mantissaMask 
+                : (bits & mantissaMask) | (mantissaMask + 1);
+        return this.componentBytes[0] < 0 ? -significand : significand;
+    }
+    
+    private static int smallExponent(long bits, Precision precision) {
+        return Math.max(biasedExponent(bits, precision), 1) 
+                - precision.getExponentBias() - precision.getMantissaBitCount();
+    }
+    
+    private static int biasedExponent(long bits, Precision precision) {
+        return (int) ((bits >>> precision.getMantissaBitCount()) 
+                & ((1L << precision.getExponentBitCount()) - 1));
+    }
+    
+    /**
+     * Gives the number of a given format nearest to a fraction, with ties 
+     * going to the number whose last mantissa bit is 0. The rounding is done 
+     * once, from the exact value of the fraction, regardless of how large the 
+     * numerator and denominator are.
+     * @param value The fraction. For example, <sup>1</sup>&frasl;<sub>3</sub>.
+     * @param precision The format. For example, {@link Precision#HALF}.
+     * @return The nearest number. For example, 0.333251953125 in half 
+     * precision. Fractions too large in absolute value for the format give 
+     * infinities of the same sign, and 0 gives positive zero.
+     */
+    public static FloatingPointNumber fromBigFraction(BigFraction value, 
+            Precision precision) {
+        return fromBigFraction(value, precision, RoundingMode.HALF_EVEN);
+    }
+    
+    /**
+     * Rounds a fraction to a number of a given format. The rounding is done 
+     * once, from the exact value of the fraction, regardless of how large the 
+     * numerator and denominator are.
+     * @param value The fraction. For example, <sup>1</sup>&frasl;<sub>3</sub>.
+     * @param precision The format. For example, {@link Precision#HALF}.
+     * @param mode How to round. For example, {@link RoundingMode#CEILING}.
+     * @return The rounded number. For example, 0.33349609375 in half 
+     * precision. Fractions too large in absolute value for the format give 
+     * infinities or the largest finite numbers of the same sign, depending on 
+     * the rounding mode, and 0 gives positive zero.
+     * @throws ArithmeticException If <code>mode</code> is {@link 
+     * RoundingMode#UNNECESSARY} but the fraction can't be represented exactly 
+     * in the given format.
+     */
+    public static FloatingPointNumber fromBigFraction(BigFraction value, 
+            Precision precision, RoundingMode mode) {
+        ExactBinary approximant = ExactBinary.approximate(value.getNumerator(), 
+                value.getDenominator(), precision);
+        return apply(approximant.round(precision, mode));
+    }
+    
+    /**
+     * Rounds a fraction to a number of a given format. The rounding is done 
+     * once, from the exact value of the fraction.
+     * @param value The fraction. For example, <sup>1</sup>&frasl;<sub>3</sub>.
+     * @param precision The format. For example, {@link Precision#HALF}.
+     * @param mode How to round. For example, {@link RoundingMode#FLOOR}.
+     * @return The rounded number. For example, 0.333251953125 in half 
+     * precision. Fractions too large in absolute value for the format give 
+     * infinities or the largest finite numbers of the same sign, depending on 
+     * the rounding mode, and 0 gives positive zero.
+     * @throws ArithmeticException If <code>mode</code> is {@link 
+     * RoundingMode#UNNECESSARY} but the fraction can't be represented exactly 
+     * in the given format.
+     */
+    public static FloatingPointNumber fromFraction(Fraction value, 
+            Precision precision, RoundingMode mode) {
+        return fromBigFraction(value.toBigFraction(), precision, mode);
     }
     
     /**
@@ -17,6 +17,7 @@
 package math.fp;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 
 import math.integer.ShortProcessor;
 
@@ -38,27 +39,6 @@ public class HalfPrecisionNumber extends FloatingPointNumber {
     private static final BigDecimal RECIPROCAL_OF_TWO_TO_THE_24TH 
             = BigDecimal.ONE.divide(TWO_TO_THE_24TH);
     
-    private static final byte ZERO_BYTE = 0;
-    
-    private static final byte[] FOUR_ZEROS = {ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE}; // float
-
-    private static final byte[] EIGHT_ZEROS = {ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE}; // double
-
-    private static final byte[] SIXTEEN_ZEROS = {ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE}; // quadruple
-
-    private static final byte[] THIRTY_TWO_ZEROS = {ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE,
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE}; 
-// octuple
-    
     private final short heldShort;
 
     @Override
@@ -131,16 +111,41 @@ public class HalfPrecisionNumber extends FloatingPointNumber {
         return masked != 31744;
     }
 
-    // TODO: Write tests for this
+    /**
+     * Gives a 32-bit primitive floating point number corresponding to this one. 
+     * Since half precision numbers have less precision than single precision 
+     * numbers, there is a precise correspondence between all possible finite 
+     * half precision values and the returned primitives, as well as for 
+     * &plusmn;&infin;. However, for all NaN bit patterns, this function simply 
+     * returns a NaN 32-bit primitive.
+     * @return A 32-bit floating point number primitive. For example, for the 
+     * bit pattern 196C, 0.00264739990234375.
+     */
     @Override
     public float to32BitPrimitive() {
-        return -0.0f;
+        return (float) this.to64BitPrimitive();
     }
 
-    // TODO: Write tests for this
+    /**
+     * Gives a 64-bit primitive floating point number corresponding to this one. 
+     * Since half precision numbers have less precision than double precision 
+     * numbers, there is a precise correspondence between all possible finite 
+     * half precision values and the returned primitives, as well as for 
+     * &plusmn;&infin;. However, for all NaN bit patterns, this function simply 
+     * returns a NaN 64-bit primitive.
+     * @return A 64-bit floating point number primitive. For example, for the 
+     * bit pattern 196C, 0.00264739990234375.
+     */
     @Override
     public double to64BitPrimitive() {
-        return 0.0;
+        int exponent = (this.heldShort & 31744) >> 10;
+        int mantissa = this.heldShort & 1023;
+        double magnitude = switch (exponent) {
+            case 0 -> Math.scalb((double) mantissa, -24);
+            case 31 -> (mantissa == 0) ? Double.POSITIVE_INFINITY : Double.NaN;
+            default -> Math.scalb((double) (1024 + mantissa), exponent - 25);
+        };
+        return (this.heldShort < 0) ? -magnitude : magnitude;
     }
 
     @Override
@@ -182,28 +187,67 @@ public class HalfPrecisionNumber extends FloatingPointNumber {
         return this;
     }
 
-    // TODO: Write tests for this
+    /**
+     * Converts this number to single precision. This is a widening conversion, 
+     * so no precision is lost. NaNs keep their sign, their payload and whether 
+     * they're quiet or signaling.
+     * @return A single precision number of the same value. For example, for 
+     * the bit pattern 3E00, corresponding to 1.5, the single precision number 
+     * with bit pattern 3FC00000.
+     */
     @Override
     public SinglePrecisionNumber toSinglePrecision() {
-        return new SinglePrecisionNumber(FOUR_ZEROS);
+        if (this.isNaN()) {
+            int sign = (this.heldShort < 0) ? Integer.MIN_VALUE : 0;
+            int payload = (this.heldShort & 1023) << 13;
+            return new SinglePrecisionNumber(sign | 0x7F800000 | payload);
+        }
+        return SinglePrecisionNumber.fromPrimitive(this.to32BitPrimitive());
     }
 
-    // TODO: Write tests for this
+    /**
+     * Converts this number to double precision. This is a widening conversion, 
+     * so no precision is lost. NaNs keep their sign, their payload and whether 
+     * they're quiet or signaling.
+     * @return A double precision number of the same value. For example, for 
+     * the bit pattern 3E00, corresponding to 1.5, the double precision number 
+     * with bit pattern 3FF8000000000000.
+     */
     @Override
     public DoublePrecisionNumber toDoublePrecision() {
-        return new DoublePrecisionNumber(EIGHT_ZEROS);
+        if (this.isNaN()) {
+            long sign = (this.heldShort < 0) ? Long.MIN_VALUE : 0L;
+            long payload = (long) (this.heldShort & 1023) << 42;
+            return new DoublePrecisionNumber(sign | 0x7FF0000000000000L 
+                    | payload);
+        }
+        return DoublePrecisionNumber.fromPrimitive(this.to64BitPrimitive());
     }
 
-    // TODO: Write tests for this
+    /**
+     * Converts this number to quadruple precision. This conversion is always 
+     * exact.
+     * @return The quadruple precision number with the same value. NaNs keep 
+     * their sign and payload, and so whether they're quiet or signaling.
+     */
     @Override
     public QuadruplePrecisionNumber toQuadruplePrecision() {
-        return new QuadruplePrecisionNumber(SIXTEEN_ZEROS);
+        byte[] bits = ExactBinary.convert(Precision.HALF, this.componentBytes, 
+                Precision.QUADRUPLE, RoundingMode.HALF_EVEN);
+        return new QuadruplePrecisionNumber(bits);
     }
 
-    // TODO: Write tests for this
+    /**
+     * Converts this number to octuple precision. This conversion is always 
+     * exact.
+     * @return The octuple precision number with the same value. NaNs are 
+     * converted as in {@link #toQuadruplePrecision()}.
+     */
     @Override
     public OctuplePrecisionNumber toOctuplePrecision() {
-        return new OctuplePrecisionNumber(THIRTY_TWO_ZEROS);
+        byte[] bits = ExactBinary.convert(Precision.HALF, this.componentBytes, 
+                Precision.OCTUPLE, RoundingMode.HALF_EVEN);
+        return new OctuplePrecisionNumber(bits);
     }
     
     // TODO: Write tests for this
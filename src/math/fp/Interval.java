@@ -0,0 +1,359 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fp;
+
+import java.math.RoundingMode;
+
+/**
+ * Represents a closed interval of real numbers whose endpoints are floating 
+ * point numbers of the same format. The arithmetic operations round outward:
+ * the lower endpoint of a result is rounded toward negative infinity and the 
+ * upper endpoint toward positive infinity, so that the result interval is 
+ * guaranteed to contain every result of the operation on numbers from the 
+ * operand intervals. The endpoints may be of any format, including quarter 
+ * and half precision, which makes for cheap storage of bounds.
+ * <p>The endpoints are never NaNs. Infinite endpoints stand for unbounded 
+ * intervals, so the lower endpoint can be negative infinity and the upper 
+ * endpoint can be positive infinity, but not the other way around. In 
+ * keeping with this, 0 times an infinite endpoint is taken to be 0.</p>
+ * @author Alonso del Arte
+ */
+public class Interval {
+    
+    private final FloatingPointNumber lowerBound;
+    
+    private final FloatingPointNumber upperBound;
+    
+    /**
+     * Gives the lower endpoint of this interval.
+     * @return The lower endpoint. For example, 1.0 for [1.0, 1.5].
+     */
+    public FloatingPointNumber getLowerBound() {
+        return this.lowerBound;
+    }
+    
+    /**
+     * Gives the upper endpoint of this interval.
+     * @return The upper endpoint. For example, 1.5 for [1.0, 1.5].
+     */
+    public FloatingPointNumber getUpperBound() {
+        return this.upperBound;
+    }
+    
+    /**
+     * Tells which format the endpoints of this interval are in.
+     * @return The format. For example, {@link Precision#HALF}.
+     */
+    public Precision getPrecision() {
+        return this.lowerBound.getPrecision();
+    }
+    
+    /**
+     * Determines whether a number lies in this interval, endpoints included.
+     * @param number The number to check. Should be of the same format as the 
+     * endpoints of this interval. For example, 1.25 in half precision.
+     * @return True if the number is at least the lower endpoint and at most 
+     * the upper endpoint, false otherwise, and always false for NaNs. For 
+     * example, true for [1.0, 1.5].
+     * @throws IllegalArgumentException If {@code number} is not of the same 
+     * format as the endpoints of this interval.
+     */
+    public boolean contains(FloatingPointNumber number) {
+        this.checkPrecision(number.getPrecision());
+        if (DirectedRounding.isNaN(number)) {
+            return false;
+        }
+        return DirectedRounding.compare(this.lowerBound, number) <= 0 
+                && DirectedRounding.compare(number, this.upperBound) <= 0;
+    }
+    
+    /**
+     * Determines whether another interval lies entirely in this interval.
+     * @param other The interval to check. Should have endpoints of the same 
+     * format as this interval. For example, [1.125, 1.25].
+     * @return True if {@code other} is a subset of this interval, false 
+     * otherwise. For example, true for [1.0, 1.5].
+     * @throws IllegalArgumentException If {@code other} has endpoints of a 
+     * different format.
+     */
+    public boolean contains(Interval other) {
+        return this.contains(other.lowerBound) 
+                && this.contains(other.upperBound);
+    }
+    
+    /**
+     * Gives an upper bound on the width of this interval.
+     * @return The upper endpoint minus the lower endpoint, rounded toward 
+     * positive infinity. For example, 0.5 for [1.0, 1.5].
+     */
+    public FloatingPointNumber width() {
+        return DirectedRounding.sum(this.upperBound, 
+                this.lowerBound.negate(), RoundingMode.CEILING);
+    }
+    
+    /**
+     * Adds an interval to this one.
+     * @param addend The interval to add. Should have endpoints of the same 
+     * format as this interval. For example, [0.25, 0.5].
+     * @return An interval containing every sum of a number in this interval 
+     * and a number in {@code addend}. For example, [1.25, 2.0] if this 
+     * interval is [1.0, 1.5].
+     * @throws IllegalArgumentException If {@code addend} has endpoints of a 
+     * different format.
+     */
+    public Interval plus(Interval addend) {
+        this.checkPrecision(addend.getPrecision());
+        return new Interval(DirectedRounding.sum(this.lowerBound, 
+                addend.lowerBound, RoundingMode.FLOOR), 
+                DirectedRounding.sum(this.upperBound, addend.upperBound, 
+                        RoundingMode.CEILING));
+    }
+    
+    /**
+     * Negates this interval. No rounding is needed for this.
+     * @return The interval with the negated upper endpoint as the lower 
+     * endpoint and the negated lower endpoint as the upper endpoint. For 
+     * example, [&minus;1.5, &minus;1.0] if this interval is [1.0, 1.5].
+     */
+    public Interval negate() {
+        return new Interval(this.upperBound.negate(), 
+                this.lowerBound.negate());
+    }
+    
+    /**
+     * Subtracts an interval from this one.
+     * @param subtrahend The interval to subtract. Should have endpoints of 
+     * the same format as this interval. For example, [0.25, 0.5].
+     * @return An interval containing every difference of a number in this 
+     * interval and a number in {@code subtrahend}. For example, [0.5, 1.25] 
+     * if this interval is [1.0, 1.5].
+     * @throws IllegalArgumentException If {@code subtrahend} has endpoints of 
+     * a different format.
+     */
+    public Interval minus(Interval subtrahend) {
+        return this.plus(subtrahend.negate());
+    }
+    
+    private static FloatingPointNumber endpointProduct(FloatingPointNumber a, 
+            FloatingPointNumber b, RoundingMode mode) {
+        if (DirectedRounding.signum(a) == 0) {
+            return a;
+        }
+        if (DirectedRounding.signum(b) == 0) {
+            return b;
+        }
+        return DirectedRounding.product(a, b, mode);
+    }
+    
+    /**
+     * Multiplies this interval by another.
+     * @param multiplicand The interval to multiply by. Should have endpoints 
+     * of the same format as this interval. For example, [&minus;2.0, 0.5].
+     * @return An interval containing every product of a number in this 
+     * interval and a number in {@code multiplicand}. For example, [&minus;3.0, 
+     * 0.75] if this interval is [1.0, 1.5].
+     * @throws IllegalArgumentException If {@code multiplicand} has endpoints 
+     * of a different format.
+     */
+    public Interval times(Interval multiplicand) {
+        this.checkPrecision(multiplicand.getPrecision());
+        FloatingPointNumber[] factors = {this.lowerBound, this.upperBound};
+        FloatingPointNumber[] others = {multiplicand.lowerBound, 
+            multiplicand.upperBound};
+        FloatingPointNumber lower = null;
+        FloatingPointNumber upper = null;
+        for (FloatingPointNumber a : factors) {
+            for (FloatingPointNumber b : others) {
+                FloatingPointNumber down = endpointProduct(a, b, 
+                        RoundingMode.FLOOR);
+                FloatingPointNumber up = endpointProduct(a, b, 
+                        RoundingMode.CEILING);
+                if (lower == null 
+                        || DirectedRounding.compare(down, lower) < 0) {
+                    lower = down;
+                }
+                if (upper == null 
+                        || DirectedRounding.compare(up, upper) > 0) {
+                    upper = up;
+                }
+            }
+        }
+        return new Interval(lower, upper);
+    }
+    
+    /**
+     * Divides 1 by this interval.
+     * @return An interval containing the reciprocal of every number in this 
+     * interval. For example, [0.6665, 1.0] if this interval is [1.0, 1.5] in 
+     * half precision, since the half precision number nearest to 2/3 is a 
+     * little more than 2/3. If this interval contains 0, the result is the 
+     * whole real line, from negative infinity to positive infinity.
+     */
+    public Interval reciprocal() {
+        FloatingPointNumber one = FloatingPointNumber.apply(ExactBinary.ONE 
+                .round(this.getPrecision(), RoundingMode.UNNECESSARY));
+        return new Interval(one).divides(this);
+    }
+    
+    /**
+     * Divides this interval by another.
+     * @param divisor The interval to divide by. Should have endpoints of the 
+     * same format as this interval. For example, [2.0, 4.0].
+     * @return An interval containing every quotient of a number in this 
+     * interval and a number in {@code divisor}. For example, [0.25, 0.75] if 
+     * this interval is [1.0, 1.5]. If {@code divisor} contains 0, the result 
+     * is the whole real line, from negative infinity to positive infinity.
+     * @throws IllegalArgumentException If {@code divisor} has endpoints of a 
+     * different format.
+     */
+    public Interval divides(Interval divisor) {
+        Precision precision = this.getPrecision();
+        this.checkPrecision(divisor.getPrecision());
+        if (DirectedRounding.signum(divisor.lowerBound) <= 0 
+                && DirectedRounding.signum(divisor.upperBound) >= 0) {
+            return new Interval(DirectedRounding.infinity(precision, true), 
+                    DirectedRounding.infinity(precision, false));
+        }
+        FloatingPointNumber[] dividends = {this.lowerBound, this.upperBound};
+        FloatingPointNumber[] divisors = {divisor.lowerBound, 
+            divisor.upperBound};
+        FloatingPointNumber lower = null;
+        FloatingPointNumber upper = null;
+        for (FloatingPointNumber a : dividends) {
+            for (FloatingPointNumber b : divisors) {
+                if (DirectedRounding.isInfinite(a) 
+                        && DirectedRounding.isInfinite(b)) {
+                    continue;
+                }
+                FloatingPointNumber down = DirectedRounding.quotient(a, b, 
+                        RoundingMode.FLOOR);
+                FloatingPointNumber up = DirectedRounding.quotient(a, b, 
+                        RoundingMode.CEILING);
+                if (lower == null 
+                        || DirectedRounding.compare(down, lower) < 0) {
+                    lower = down;
+                }
+                if (upper == null 
+                        || DirectedRounding.compare(up, upper) > 0) {
+                    upper = up;
+                }
+            }
+        }
+        return new Interval(lower, upper);
+    }
+    
+    private void checkPrecision(Precision precision) {
+        Precision expected = this.getPrecision();
+        if (precision != expected) {
+            String excMsg = "Number of " + precision 
+                    + " precision is not valid for interval of " + expected 
+                    + " precision endpoints";
+            throw new IllegalArgumentException(excMsg);
+        }
+    }
+    
+    /**
+     * Determines whether this interval is equal to another object.
+     * @param obj The object to compare to.
+     * @return True if {@code obj} is an {@code Interval} with endpoints that 
+     * are equal to the endpoints of this interval according to {@link 
+     * FloatingPointNumber#equals(java.lang.Object)}, false otherwise. Thus 
+     * [&minus;0.0, 1.0] is not equal to [0.0, 1.0].
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (!this.getClass().equals(obj.getClass())) {
+            return false;
+        }
+        Interval other = (Interval) obj;
+        return this.lowerBound.equals(other.lowerBound) 
+                && this.upperBound.equals(other.upperBound);
+    }
+    
+    @Override
+    public int hashCode() {
+        return 31 * this.lowerBound.hashCode() + this.upperBound.hashCode();
+    }
+    
+    /**
+     * Gives a textual representation of this interval.
+     * @return The endpoints in square brackets, separated by a comma and a 
+     * space. For example, "[1.0, 1.5]".
+     */
+    @Override
+    public String toString() {
+        return "[" + this.lowerBound + ", " + this.upperBound + "]";
+    }
+    
+    /**
+     * Constructs an interval consisting of a single number.
+     * @param number The number. For example, 1.0. Should not be a NaN nor an 
+     * infinity.
+     * @throws IllegalArgumentException If {@code number} is a NaN or an 
+     * infinity.
+     */
+    public Interval(FloatingPointNumber number) {
+        this(number, number);
+    }
+    
+    /**
+     * Constructs an interval.
+     * @param lower The lower endpoint. For example, 1.0. Should not be a NaN 
+     * nor positive infinity.
+     * @param upper The upper endpoint. For example, 1.5. Should be of the 
+     * same format as {@code lower} and at least as large. Should not be a NaN 
+     * nor negative infinity.
+     * @throws IllegalArgumentException If either endpoint is a NaN, if the 
+     * endpoints are of different formats, or if {@code lower} is more than 
+     * {@code upper}, or if {@code lower} is positive infinity or {@code 
+     * upper} is negative infinity.
+     */
+    public Interval(FloatingPointNumber lower, FloatingPointNumber upper) {
+        Precision precision = lower.getPrecision();
+        if (upper.getPrecision() != precision) {
+            String excMsg = "Endpoints " + lower.bitPatternHexadecimal() 
+                    + " and " + upper.bitPatternHexadecimal() 
+                    + " should be of the same format";
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (DirectedRounding.isNaN(lower) || DirectedRounding.isNaN(upper)) {
+            String excMsg = "Endpoints " + lower.bitPatternHexadecimal() 
+                    + " and " + upper.bitPatternHexadecimal() 
+                    + " should not be NaNs";
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (DirectedRounding.compare(lower, upper) > 0 
+                || (DirectedRounding.isInfinite(lower) 
+                && DirectedRounding.signum(lower) > 0) 
+                || (DirectedRounding.isInfinite(upper) 
+                && DirectedRounding.signum(upper) < 0)) {
+            String excMsg = "Endpoints " + lower.bitPatternHexadecimal() 
+                    + " and " + upper.bitPatternHexadecimal() 
+                    + " do not make a valid interval";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.lowerBound = lower;
+        this.upperBound = upper;
+    }
+    
+}
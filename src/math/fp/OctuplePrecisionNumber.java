@@ -163,7 +163,9 @@ public class OctuplePrecisionNumber extends FloatingPointNumber {
     
     @Override
     public FloatingPointNumber negate() {
-        return this;
+        byte[] bytes = this.getBytes();
+        bytes[0] ^= Byte.MIN_VALUE;
+        return new OctuplePrecisionNumber(bytes);
     }
     
     // TODO: Write tests for this
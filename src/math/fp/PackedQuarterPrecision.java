@@ -0,0 +1,237 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fp;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * Static class to process quarter precision numbers packed eight to a 
+ * <code>long</code>. The bit pattern of lane <i>i</i> takes up bits 8<i>i</i> 
+ * to 8<i>i</i> + 7, so that lane 0 is the least significant byte, which is 
+ * the order of the bytes in an array read as a little endian 
+ * <code>long</code>. All eight lanes are processed at once with ordinary 
+ * <code>long</code> arithmetic, with no carries between lanes, so scans of 
+ * large arrays of quarter precision bit patterns go about as fast as the 
+ * array can be read.
+ * <p>The classification functions mirror the predicates of {@link 
+ * QuarterPrecisionNumber} of the same names. They give masks with all eight 
+ * bits of a lane set if the number in that lane has the property and all 
+ * eight bits clear if it doesn't, so that masks can be combined with each 
+ * other and with the packed numbers by bitwise operations. The trick behind 
+ * them is that once the sign bits are cleared, adding 127 &minus; <i>c</i> to 
+ * a lane sets the lane's high bit exactly when the lane is greater than 
+ * <i>c</i>, without a carry into the next lane.</p>
+ * @author Alonso del Arte
+ */
+public class PackedQuarterPrecision {
+    
+    /**
+     * The sign bit of each lane.
+     */
+    private static final long SIGN_BITS = 0x8080808080808080L;
+    
+    /**
+     * Every bit of each lane other than the sign bit.
+     */
+    private static final long MAGNITUDE_BITS = 0x7F7F7F7F7F7F7F7FL;
+    
+    /**
+     * The least significant bit of each lane. Multiplying a number from 0 to 
+     * 255 by this repeats it in every lane.
+     */
+    private static final long LOW_BITS = 0x0101010101010101L;
+    
+    private static final long INFINITY_LANES = 120 * LOW_BITS;
+    
+    private static final VarHandle LANE_VIEW 
+            = MethodHandles.byteArrayViewVarHandle(long[].class, 
+                    ByteOrder.LITTLE_ENDIAN);
+    
+    /**
+     * Sets the sign bit of each lane whose magnitude is greater than a given 
+     * threshold.
+     * @param magnitudes The packed numbers with their sign bits cleared.
+     * @param threshold A number from 0 to 127.
+     */
+    private static long greaterThan(long magnitudes, int threshold) {
+        return (magnitudes + (127 - threshold) * LOW_BITS) & SIGN_BITS;
+    }
+    
+    /**
+     * Spreads the sign bit of each lane to the whole lane.
+     * @param signBits A number with no bits set other than sign bits.
+     */
+    private static long spread(long signBits) {
+        return (signBits >>> 7) * 0xFF;
+    }
+    
+    /**
+     * Negates eight packed quarter precision numbers, as {@link 
+     * QuarterPrecisionNumber#negate()} would negate each of them.
+     * @param packed The packed numbers. For example, 0x807F78433C080100, with 
+     * &minus;0.0, NaN, +&infin;, 2.75, 1.5, 0.015625, 0.001953125 and 0.0 
+     * from lane 7 down to lane 0.
+     * @return The packed numbers with their sign bits toggled. For example, 
+     * 0x00FFF8C3BC888180.
+     */
+    public static long negate(long packed) {
+        return packed ^ SIGN_BITS;
+    }
+    
+    /**
+     * Gives the absolute values of eight packed quarter precision numbers. 
+     * NaNs keep their payloads but lose their signs.
+     * @param packed The packed numbers. For example, 0x00FFF8C3BC888180.
+     * @return The packed numbers with their sign bits cleared. For example, 
+     * 0x007F78433C080100.
+     */
+    public static long abs(long packed) {
+        return packed & MAGNITUDE_BITS;
+    }
+    
+    /**
+     * Finds which of eight packed quarter precision numbers are NaN values, 
+     * quiet or signaling.
+     * @param packed The packed numbers. For example, 0x807F78433C080100.
+     * @return A mask with 0xFF in the lanes holding NaN values and 0 in the 
+     * other lanes. For example, 0x00FF000000000000.
+     */
+    public static long isNaN(long packed) {
+        return spread(greaterThan(packed & MAGNITUDE_BITS, 120));
+    }
+    
+    /**
+     * Finds which of eight packed quarter precision numbers are infinities.
+     * @param packed The packed numbers. For example, 0x807F78433C080100.
+     * @return A mask with 0xFF in the lanes holding &plusmn;&infin; and 0 in 
+     * the other lanes. For example, 0x0000FF0000000000.
+     */
+    public static long isInfinite(long packed) {
+        long differences = (packed & MAGNITUDE_BITS) ^ INFINITY_LANES;
+        return spread(~greaterThan(differences, 0) & SIGN_BITS);
+    }
+    
+    /**
+     * Finds which of eight packed quarter precision numbers are zeroes, 
+     * positive or negative.
+     * @param packed The packed numbers. For example, 0x807F78433C080100.
+     * @return A mask with 0xFF in the lanes holding &plusmn;0.0 and 0 in the 
+     * other lanes. For example, 0xFF000000000000FF.
+     */
+    public static long isZero(long packed) {
+        return spread(~greaterThan(packed & MAGNITUDE_BITS, 0) & SIGN_BITS);
+    }
+    
+    /**
+     * Finds which of eight packed quarter precision numbers are subnormal. As 
+     * in {@link QuarterPrecisionNumber#isSubnormal()}, the zeroes count as 
+     * subnormal.
+     * @param packed The packed numbers. For example, 0x807F78433C080100.
+     * @return A mask with 0xFF in the lanes holding numbers from 
+     * &minus;0.013671875 to 0.013671875 and 0 in the other lanes. For 
+     * example, 0xFF0000000000FFFF.
+     */
+    public static long isSubnormal(long packed) {
+        return spread(~greaterThan(packed & MAGNITUDE_BITS, 7) & SIGN_BITS);
+    }
+    
+    /**
+     * Counts the NaN values among eight packed quarter precision numbers.
+     * @param packed The packed numbers. For example, 0x807F78433C080100.
+     * @return How many lanes hold NaN values, from 0 to 8. For example, 1.
+     */
+    public static int countNaNs(long packed) {
+        return Long.bitCount(greaterThan(packed & MAGNITUDE_BITS, 120));
+    }
+    
+    /**
+     * Counts the packed quarter precision numbers with the sign bit set. This 
+     * includes negative zero and NaN values with the sign bit set.
+     * @param packed The packed numbers. For example, 0x807F78433C080100.
+     * @return How many lanes have the sign bit set, from 0 to 8. For example, 
+     * 1.
+     */
+    public static int countNegatives(long packed) {
+        return Long.bitCount(packed & SIGN_BITS);
+    }
+    
+    /**
+     * Packs the bytes left over after the last full group of eight into the 
+     * low lanes of a <code>long</code>. The high lanes are filled with 
+     * positive zeroes, which are neither NaN values nor negative.
+     */
+    private static long packTail(byte[] source, int from, int to) {
+        long packed = 0L;
+        for (int i = to - 1; i >= from; i--) {
+            packed = (packed << 8) | (source[i] & 0xFF);
+        }
+        return packed;
+    }
+    
+    /**
+     * Counts the NaN values in an array of quarter precision bit patterns, 
+     * eight at a time.
+     * @param bitPatterns The bit patterns. For example, an array with the 
+     * bytes 0, 1, 8, 60, 67, 120, 127 and &minus;128.
+     * @param offset The index of the first bit pattern to look at. For 
+     * example, 0.
+     * @param length How many bit patterns to look at. For example, 8.
+     * @return How many of the bit patterns are NaN values. For example, 1.
+     * @throws IndexOutOfBoundsException If <code>offset</code> and 
+     * <code>length</code> don't fit in the array.
+     */
+    public static long countNaNs(byte[] bitPatterns, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, bitPatterns.length);
+        int end = offset + length;
+        int wordsEnd = end - (length & 7);
+        long count = 0L;
+        for (int i = offset; i < wordsEnd; i += Long.BYTES) {
+            count += countNaNs((long) LANE_VIEW.get(bitPatterns, i));
+        }
+        return count + countNaNs(packTail(bitPatterns, wordsEnd, end));
+    }
+    
+    /**
+     * Counts the bit patterns with the sign bit set in an array of quarter 
+     * precision bit patterns, eight at a time.
+     * @param bitPatterns The bit patterns. For example, an array with the 
+     * bytes 0, &minus;127, 8, &minus;68, 67, &minus;8, &minus;1 and 
+     * &minus;128.
+     * @param offset The index of the first bit pattern to look at. For 
+     * example, 0.
+     * @param length How many bit patterns to look at. For example, 8.
+     * @return How many of the bit patterns have the sign bit set. For 
+     * example, 5.
+     * @throws IndexOutOfBoundsException If <code>offset</code> and 
+     * <code>length</code> don't fit in the array.
+     */
+    public static long countNegatives(byte[] bitPatterns, int offset, 
+            int length) {
+        Objects.checkFromIndexSize(offset, length, bitPatterns.length);
+        int end = offset + length;
+        int wordsEnd = end - (length & 7);
+        long count = 0L;
+        for (int i = offset; i < wordsEnd; i += Long.BYTES) {
+            count += countNegatives((long) LANE_VIEW.get(bitPatterns, i));
+        }
+        return count + countNegatives(packTail(bitPatterns, wordsEnd, end));
+    }
+    
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fp;
+
+/**
+ * Enumerates the floating point formats provided by this library. Each format 
+ * has one sign bit, a fixed number of exponent bits and a fixed number of 
+ * explicit mantissa bits.
+ * @author Alonso del Arte
+ */
+public enum Precision {
+    
+    /**
+     * 8-bit, with 4 exponent bits and 3 explicit mantissa bits.
+     */
+    QUARTER(1, 4, 3),
+    
+    /**
+     * 16-bit, with 5 exponent bits and 10 explicit mantissa bits.
+     */
+    HALF(2, 5, 10),
+    
+    /**
+     * 32-bit, with 8 exponent bits and 23 explicit mantissa bits. Equivalent to 
+     * <code>float</code>.
+     */
+    SINGLE(4, 8, 23),
+    
+    /**
+     * 64-bit, with 11 exponent bits and 52 explicit mantissa bits. Equivalent 
+     * to <code>double</code>.
+     */
+    DOUBLE(8, 11, 52),
+    
+    /**
+     * 128-bit, with 15 exponent bits and 112 explicit mantissa bits.
+     */
+    QUADRUPLE(16, 15, 112),
+    
+    /**
+     * 256-bit, with 19 exponent bits and 236 explicit mantissa bits.
+     */
+    OCTUPLE(32, 19, 236);
+    
+    private final int byteCount;
+    
+    private final int exponentBitCount;
+    
+    private final int mantissaBitCount;
+    
+    /**
+     * Gives the number of bytes used to represent a number in this format.
+     * @return The number of bytes. For example, 2 for half precision.
+     */
+    public int getByteCount() {
+        return this.byteCount;
+    }
+    
+    /**
+     * Gives the number of bits used to represent a number in this format.
+     * @return The number of bits. For example, 16 for half precision.
+     */
+    public int getBitCount() {
+        return Byte.SIZE * this.byteCount;
+    }
+    
+    /**
+     * Gives the number of exponent bits in this format.
+     * @return The number of exponent bits. For example, 5 for half precision.
+     */
+    public int getExponentBitCount() {
+        return this.exponentBitCount;
+    }
+    
+    /**
+     * Gives the number of explicit mantissa bits in this format. The tacit 1 of 
+     * normal numbers is not counted.
+     * @return The number of explicit mantissa bits. For example, 10 for half 
+     * precision.
+     */
+    public int getMantissaBitCount() {
+        return this.mantissaBitCount;
+    }
+    
+    /**
+     * Gives the exponent bias of this format. The bias is subtracted from the 
+     * exponent bits of a normal number to get the power of two the mantissa is 
+     * multiplied by.
+     * @return The exponent bias, 2<sup><i>w</i> &minus; 1</sup> &minus; 1, 
+     * where <i>w</i> is the number of exponent bits. For example, 15 for half 
+     * precision.
+     */
+    public int getExponentBias() {
+        return (1 << (this.exponentBitCount - 1)) - 1;
+    }
+    
+    /**
+     * Rounds a 64-bit floating point number to the nearest number of this 
+     * format, with ties going to the number whose last mantissa bit is 0. This 
+     * is only meant for the formats no wider than double precision. Since the 
+     * rounding is done in a single step from the exact value, there are no 
+     * double rounding errors.
+     * @param bits The bit pattern of the 64-bit number. For example, 
+     * 0x3FF0020000000000, for 1.00048828125.
+     * @return The bit pattern of the rounded number, in the lowest bits of the 
+     * returned value, with the sign bit of this format as the highest of them. 
+     * For example, for half precision, 0x3C00, for 1.0, as 1.00048828125 is 
+     * exactly halfway between 1.0 and 1.0009765625. Numbers too large in 
+     * absolute value for this format become infinities of the same sign. For 
+     * NaNs, the sign bit and as many of the highest mantissa bits as fit are 
+     * kept, so that a quiet NaN stays quiet and a signaling NaN stays 
+     * signaling.
+     */
+    long roundFromDoubleBits(long bits) {
+        int width = this.getBitCount();
+        long sign = (bits >>> 63) << (width - 1);
+        long infinity = ((1L << this.exponentBitCount) - 1) 
+                << this.mantissaBitCount;
+        double d = Double.longBitsToDouble(bits);
+        if (Double.isNaN(d)) {
+            long payload = (bits & 0xFFFFFFFFFFFFFL) 
+                    >>> (52 - this.mantissaBitCount);
+            return sign | infinity | Math.max(payload, 1L);
+        }
+        double abs = Math.abs(d);
+        if (abs == 0.0) {
+            return sign;
+        }
+        if (Double.isInfinite(abs)) {
+            return sign | infinity;
+        }
+        int minExponent = 1 - this.getExponentBias();
+        int quantumExponent = Math.max(Math.getExponent(abs), minExponent) 
+                - this.mantissaBitCount;
+        long mantissa = (long) Math.rint(Math.scalb(abs, -quantumExponent));
+        long implicitBit = 1L << this.mantissaBitCount;
+        if (mantissa == implicitBit << 1) {
+            mantissa >>= 1;
+            quantumExponent++;
+        }
+        if (mantissa < implicitBit) {
+            return sign | mantissa;
+        }
+        long biased = quantumExponent + this.mantissaBitCount 
+                + this.getExponentBias();
+        if (biased >= (1L << this.exponentBitCount) - 1) {
+            return sign | infinity;
+        }
+        return sign | (biased << this.mantissaBitCount) 
+                | (mantissa - implicitBit);
+    }
+    
+    /**
+     * Determines which format corresponds to a given number of bytes.
+     * @param byteCount The number of bytes. For example, 16.
+     * @return The format with that number of bytes. For example, {@link 
+     * #QUADRUPLE}.
+     * @throws IllegalArgumentException If {@code byteCount} is not 1, 2, 4, 8, 
+     * 16 or 32.
+     */
+    public static Precision forByteCount(int byteCount) {
+        return switch (byteCount) {
+            case 1 -> QUARTER;
+            case 2 -> HALF;
+            case 4 -> SINGLE;
+            case 8 -> DOUBLE;
+            case 16 -> QUADRUPLE;
+            case 32 -> OCTUPLE;
+            default -> {
+                String excMsg = "Byte count " + byteCount 
+                        + " does not correspond to any supported format";
+                throw new IllegalArgumentException(excMsg);
+            }
+        };
+    }
+    
+    Precision(int bytes, int exponentBits, int mantissaBits) {
+        this.byteCount = bytes;
+        this.exponentBitCount = exponentBits;
+        this.mantissaBitCount = mantissaBits;
+    }
+    
+}
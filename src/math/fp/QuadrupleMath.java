@@ -0,0 +1,1156 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fp;
+
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Correctly rounded elementary functions for quadruple precision numbers. 
+ * Every result is the exact mathematical value rounded to nearest, ties to 
+ * even, just as IEEE-754 requires of the basic arithmetic operations but 
+ * doesn't require of these functions. The special cases follow those of the 
+ * functions of the same names in {@link Math}.
+ * <p>The functions are evaluated on fixed point <code>BigInteger</code> 
+ * values with a few hundred bits, using table-driven argument reduction so 
+ * that the series involved only need a few terms. The constants and tables 
+ * are computed the first time they're needed and then cached for the 
+ * highest precision asked for so far. If an approximation is too close to 
+ * the midpoint between two quadruple precision numbers to tell which way it 
+ * should round, the approximation is computed again with twice as many 
+ * bits, until the rounding is unambiguous. Few arguments need even one 
+ * retry.</p>
+ * @author Alonso del Arte
+ */
+public class QuadrupleMath {
+    
+    private static final int INITIAL_WORKING_BITS = 192;
+    
+    private static final int MAXIMUM_WORKING_BITS = 1 << 13;
+    
+    private static final int MINIMUM_TABLE_BITS = 256;
+    
+    private static final int GUARD_BITS = 32;
+    
+    /**
+     * A bound on the error of the kernels, in units of the last place of the 
+     * working precision. The actual errors are much smaller, only a few 
+     * units plus one unit per series term.
+     */
+    private static final BigInteger KERNEL_ERROR = BigInteger.ONE.shiftLeft(24);
+    
+    /**
+     * Arguments with an exponent less than this are so close to 0 that sine, 
+     * arctangent and hyperbolic sine and tangent give the argument itself, 
+     * and cosine and hyperbolic cosine give 1.
+     */
+    private static final int NEGLIGIBLE_EXPONENT = -60;
+    
+    /**
+     * Arguments with an exponent less than this are so close to 0 that the 
+     * exponential function gives 1.
+     */
+    private static final int EXP_NEGLIGIBLE_EXPONENT = -115;
+    
+    /**
+     * Arguments with an absolute value greater than this make the exponential 
+     * function and the hyperbolic sine and cosine overflow or underflow.
+     */
+    private static final ExactBinary EXP_LIMIT 
+            = new ExactBinary(false, BigInteger.valueOf(11500), 0);
+    
+    /**
+     * Arguments with an absolute value of at least this make the hyperbolic 
+     * tangent round to &plusmn;1.
+     */
+    private static final ExactBinary TANH_SATURATION 
+            = new ExactBinary(false, BigInteger.valueOf(40), 0);
+    
+    /**
+     * Estimates of the base 2 logarithm of the result of {@link 
+     * #pow(QuadruplePrecisionNumber, QuadruplePrecisionNumber) pow()} beyond 
+     * these are sure to overflow or underflow.
+     */
+    private static final double POW_OVERFLOW_ESTIMATE = 16400.0;
+    
+    private static final double POW_UNDERFLOW_ESTIMATE = -16600.0;
+    
+    private static final int EXP_TABLE_OFFSET = 90;
+    
+    private static final int LOG_TABLE_OFFSET = 38;
+    
+    private static final int LOG_TABLE_LENGTH = 93;
+    
+    private static final int SINE_TABLE_LENGTH = 52;
+    
+    private static final int ARCTANGENT_TABLE_LENGTH = 65;
+    
+    private static final QuadruplePrecisionNumber ONE 
+            = new QuadruplePrecisionNumber(0x3FFF000000000000L, 0L);
+    
+    private static final QuadruplePrecisionNumber NEGATIVE_ONE = ONE.negate();
+    
+    private static volatile FixedPointConstant ln2Cache = null;
+    
+    private static volatile FixedPointConstant piCache = null;
+    
+    private static volatile FixedPointTable expTableCache = null;
+    
+    private static volatile FixedPointTable logTableCache = null;
+    
+    private static volatile FixedPointTable sineTableCache = null;
+    
+    private static volatile FixedPointTable arctangentTableCache = null;
+    
+    /**
+     * A mathematical constant to a given number of bits after the binary 
+     * point. Immutable, so that it can be cached without synchronization.
+     */
+    private static final class FixedPointConstant {
+
+        final int bits;
+
+        final BigInteger value;
+
+        BigInteger at(int requestedBits) {
+            return this.value.shiftRight(this.bits - requestedBits);
+        }
+
+        FixedPointConstant(int bits, BigInteger value) {
+            this.bits = bits;
+            this.value = value;
+        }
+
+    }
+    
+    /**
+     * A table of function values, each to a given number of bits after the 
+     * binary point. Immutable, so that it can be cached without 
+     * synchronization.
+     */
+    private static final class FixedPointTable {
+
+        final int bits;
+
+        private final BigInteger[] values;
+
+        BigInteger entry(int index, int requestedBits) {
+            return this.values[index].shiftRight(this.bits - requestedBits);
+        }
+
+        FixedPointTable(int bits, BigInteger[] values) {
+            this.bits = bits;
+            this.values = values;
+        }
+
+    }
+    
+    /**
+     * An approximation to the exact value of a function, with a bound on its 
+     * error. The value is {@code value} &times; 2<sup>{@code 
+     * scale}</sup>, give or take {@code error} &times; 2<sup>{@code 
+     * scale}</sup>.
+     */
+    private static final class Approximation {
+
+        final BigInteger value;
+
+        final int scale;
+
+        final BigInteger error;
+
+        /**
+         * Rounds the approximation, if the error bound allows.
+         * @return The bit pattern of the rounded number, or null if the 
+         * lowest and highest values the exact value could have round to 
+         * different quadruple precision numbers.
+         */
+        byte[] roundIfDecided() {
+            byte[] lower = ExactBinary.fromSigned(this.value 
+                    .subtract(this.error), this.scale) 
+                    .round(Precision.QUADRUPLE, RoundingMode.HALF_EVEN);
+            byte[] upper = ExactBinary.fromSigned(this.value.add(this.error), 
+                    this.scale) 
+                    .round(Precision.QUADRUPLE, RoundingMode.HALF_EVEN);
+            return Arrays.equals(lower, upper) ? lower : null;
+        }
+
+        byte[] round() {
+            return ExactBinary.fromSigned(this.value, this.scale) 
+                    .round(Precision.QUADRUPLE, RoundingMode.HALF_EVEN);
+        }
+
+        Approximation(BigInteger value, int scale, BigInteger error) {
+            this.value = value;
+            this.scale = scale;
+            this.error = error;
+        }
+
+    }
+    
+    /**
+     * Evaluates a kernel with more and more bits until its approximation 
+     * rounds unambiguously.
+     * @param kernel Gives the approximation for a given number of working 
+     * bits.
+     * @param extraBits How many bits to add to the initial working precision, 
+     * such as when the result is known to be much smaller than the values the 
+     * kernel works with.
+     * @return The correctly rounded result. Should the maximum working 
+     * precision be reached without an unambiguous rounding, the rounding of 
+     * the last approximation.
+     */
+    private static QuadruplePrecisionNumber correctlyRounded( 
+            IntFunction<Approximation> kernel, int extraBits) {
+        int bits = INITIAL_WORKING_BITS + extraBits;
+        while (true) {
+            Approximation approximation = kernel.apply(bits);
+            byte[] rounded = approximation.roundIfDecided();
+            if (rounded != null) {
+                return new QuadruplePrecisionNumber(rounded);
+            }
+            if (bits >= MAXIMUM_WORKING_BITS) {
+                return new QuadruplePrecisionNumber(approximation.round());
+            }
+            bits *= 2;
+        }
+    }
+    
+    /**
+     * Multiplies two fixed point numbers, truncating towards zero.
+     * @param a The first number.
+     * @param b The second number.
+     * @param bits How many bits after the binary point both numbers and the 
+     * product have.
+     * @return The product.
+     */
+    private static BigInteger scaledProduct(BigInteger a, BigInteger b, 
+            int bits) {
+        BigInteger product = a.multiply(b);
+        if (product.signum() < 0) {
+            return product.negate().shiftRight(bits).negate();
+        }
+        return product.shiftRight(bits);
+    }
+    
+    private static BigInteger scaledQuotient(BigInteger a, BigInteger b, 
+            int bits) {
+        return a.shiftLeft(bits).divide(b);
+    }
+    
+    private static BigInteger floorDivide(BigInteger a, BigInteger b) {
+        BigInteger[] qr = a.divideAndRemainder(b);
+        if (qr[1].signum() < 0) {
+            return qr[0].subtract(BigInteger.ONE);
+        }
+        return qr[0];
+    }
+    
+    /**
+     * Gives the number of bits to build a table or constant with. Rounding up 
+     * to a power of two keeps a slowly growing precision from rebuilding the 
+     * table over and over.
+     * @param bits The number of bits asked for.
+     * @return A power of two at least as large as {@code bits}.
+     */
+    private static int tableBits(int bits) {
+        if (bits <= MINIMUM_TABLE_BITS) {
+            return MINIMUM_TABLE_BITS;
+        }
+        return Integer.highestOneBit(bits - 1) << 1;
+    }
+    
+    /**
+     * Sums the series for the arctangent or the hyperbolic arctangent of a 
+     * fraction, 
+     * <i>x</i> &mp; <i>x</i><sup>3</sup>/3 + <i>x</i><sup>5</sup>/5 
+     * &mp; &hellip;
+     * @param numerator The numerator of the fraction. For example, 1.
+     * @param denominator The denominator of the fraction. Should be larger 
+     * than the numerator, preferably much larger. For example, 3.
+     * @param bits How many bits after the binary point.
+     * @param hyperbolic Whether to give the hyperbolic arctangent, in which 
+     * case all the terms are added, or the arctangent, in which case the 
+     * terms alternate in sign.
+     * @return The series sum, with an error of at most two units in the last 
+     * place per term. For example, for 1/3, hyperbolic, about 0.34657, which 
+     * is half of log 2.
+     */
+    private static BigInteger arctangentSeries(long numerator, 
+            long denominator, int bits, boolean hyperbolic) {
+        BigInteger squaredNumerator = BigInteger.valueOf(numerator * numerator);
+        BigInteger squaredDenominator 
+                = BigInteger.valueOf(denominator * denominator);
+        BigInteger power = BigInteger.valueOf(numerator).shiftLeft(bits) 
+                .divide(BigInteger.valueOf(denominator));
+        BigInteger sum = power;
+        long n = 1;
+        boolean subtract = !hyperbolic;
+        while (power.signum() != 0) {
+            power = power.multiply(squaredNumerator).divide(squaredDenominator);
+            n += 2;
+            BigInteger term = power.divide(BigInteger.valueOf(n));
+            sum = subtract ? sum.subtract(term) : sum.add(term);
+            subtract ^= !hyperbolic;
+        }
+        return sum;
+    }
+    
+    /**
+     * Gives the natural logarithm of 2 as a fixed point number.
+     * @param bits How many bits after the binary point.
+     * @return log 2 times 2<sup>{@code bits}</sup>, with an error of at most 
+     * one unit.
+     */
+    static BigInteger ln2(int bits) {
+        FixedPointConstant cached = ln2Cache;
+        if (cached == null || cached.bits < bits) {
+            int buildBits = tableBits(bits);
+            BigInteger value = arctangentSeries(1, 3, buildBits + GUARD_BITS, 
+                    true).shiftLeft(1).shiftRight(GUARD_BITS);
+            cached = new FixedPointConstant(buildBits, value);
+            ln2Cache = cached;
+        }
+        return cached.at(bits);
+    }
+    
+    /**
+     * Gives &pi; as a fixed point number, by way of Machin's formula, &pi; = 
+     * 16 arctan 1/5 &minus; 4 arctan 1/239.
+     * @param bits How many bits after the binary point.
+     * @return &pi; times 2<sup>{@code bits}</sup>, with an error of at most 
+     * one unit.
+     */
+    static BigInteger pi(int bits) {
+        FixedPointConstant cached = piCache;
+        if (cached == null || cached.bits < bits) {
+            int buildBits = tableBits(bits);
+            int internalBits = buildBits + GUARD_BITS;
+            BigInteger value = arctangentSeries(1, 5, internalBits, false) 
+                    .shiftLeft(4).subtract(arctangentSeries(1, 239, 
+                            internalBits, false).shiftLeft(2)) 
+                    .shiftRight(GUARD_BITS);
+            cached = new FixedPointConstant(buildBits, value);
+            piCache = cached;
+        }
+        return cached.at(bits);
+    }
+    
+    private static BigInteger halfPi(int bits) {
+        return pi(bits).shiftRight(1);
+    }
+    
+    /**
+     * Sums the Taylor series for the exponential function of a small fixed 
+     * point number.
+     * @param t The number. Should be less than 1/256 in absolute value for 
+     * the series to converge quickly.
+     * @param bits How many bits after the binary point.
+     * @return <i>e</i><sup><i>t</i></sup> as a fixed point number.
+     */
+    private static BigInteger expSeries(BigInteger t, int bits) {
+        BigInteger sum = BigInteger.ONE.shiftLeft(bits);
+        BigInteger term = sum;
+        long n = 1;
+        while (term.signum() != 0) {
+            term = scaledProduct(term, t, bits).divide(BigInteger.valueOf(n));
+            sum = sum.add(term);
+            n++;
+        }
+        return sum;
+    }
+    
+    /**
+     * Sums the Taylor series for the sine and cosine of a small fixed point 
+     * number.
+     * @param t The number. Should be less than 1/128 in absolute value for 
+     * the series to converge quickly.
+     * @param bits How many bits after the binary point.
+     * @return An array with sin <i>t</i> and cos <i>t</i>, in that order.
+     */
+    private static BigInteger[] sineCosineSeries(BigInteger t, int bits) {
+        BigInteger squared = scaledProduct(t, t, bits);
+        BigInteger sine = t;
+        BigInteger sineTerm = t;
+        BigInteger cosine = BigInteger.ONE.shiftLeft(bits);
+        BigInteger cosineTerm = cosine;
+        long n = 1;
+        while (sineTerm.signum() != 0 || cosineTerm.signum() != 0) {
+            cosineTerm = scaledProduct(cosineTerm, squared, bits) 
+                    .divide(BigInteger.valueOf(n * (n + 1))).negate();
+            sineTerm = scaledProduct(sineTerm, squared, bits) 
+                    .divide(BigInteger.valueOf((n + 1) * (n + 2))).negate();
+            cosine = cosine.add(cosineTerm);
+            sine = sine.add(sineTerm);
+            n += 2;
+        }
+        return new BigInteger[]{sine, cosine};
+    }
+    
+    /**
+     * Gives a table of <i>e</i><sup><i>j</i>/256</sup> for <i>j</i> from 
+     * &minus;90 to 89, built by repeated multiplication.
+     */
+    private static FixedPointTable expTable(int bits) {
+        FixedPointTable cached = expTableCache;
+        if (cached == null || cached.bits < bits) {
+            int buildBits = tableBits(bits);
+            int internalBits = buildBits + GUARD_BITS;
+            BigInteger step = BigInteger.ONE.shiftLeft(internalBits - 8);
+            BigInteger up = expSeries(step, internalBits);
+            BigInteger down = expSeries(step.negate(), internalBits);
+            BigInteger[] values = new BigInteger[2 * EXP_TABLE_OFFSET];
+            BigInteger[] internal = new BigInteger[values.length];
+            internal[EXP_TABLE_OFFSET] = BigInteger.ONE.shiftLeft(internalBits);
+            for (int i = EXP_TABLE_OFFSET + 1; i < values.length; i++) {
+                internal[i] = scaledProduct(internal[i - 1], up, internalBits);
+            }
+            for (int i = EXP_TABLE_OFFSET - 1; i >= 0; i--) {
+                internal[i] = scaledProduct(internal[i + 1], down, 
+                        internalBits);
+            }
+            for (int i = 0; i < values.length; i++) {
+                values[i] = internal[i].shiftRight(GUARD_BITS);
+            }
+            cached = new FixedPointTable(buildBits, values);
+            expTableCache = cached;
+        }
+        return cached;
+    }
+    
+    /**
+     * Gives a table of log(1 + <i>j</i>/128) for <i>j</i> from &minus;38 to 
+     * 54. Consecutive entries differ by log((<i>a</i> + 1)/<i>a</i>) = 2 
+     * artanh 1/(2<i>a</i> + 1), a series which converges quickly.
+     */
+    private static FixedPointTable logTable(int bits) {
+        FixedPointTable cached = logTableCache;
+        if (cached == null || cached.bits < bits) {
+            int buildBits = tableBits(bits);
+            int internalBits = buildBits + GUARD_BITS;
+            BigInteger[] internal = new BigInteger[LOG_TABLE_LENGTH];
+            internal[LOG_TABLE_OFFSET] = BigInteger.ZERO;
+            for (int i = LOG_TABLE_OFFSET + 1; i < LOG_TABLE_LENGTH; i++) {
+                long a = 128 + i - LOG_TABLE_OFFSET - 1;
+                internal[i] = internal[i - 1].add(arctangentSeries(1, 
+                        2 * a + 1, internalBits, true).shiftLeft(1));
+            }
+            for (int i = LOG_TABLE_OFFSET - 1; i >= 0; i--) {
+                long a = 128 + i - LOG_TABLE_OFFSET;
+                internal[i] = internal[i + 1].subtract(arctangentSeries(1, 
+                        2 * a + 1, internalBits, true).shiftLeft(1));
+            }
+            BigInteger[] values = new BigInteger[LOG_TABLE_LENGTH];
+            for (int i = 0; i < LOG_TABLE_LENGTH; i++) {
+                values[i] = internal[i].shiftRight(GUARD_BITS);
+            }
+            cached = new FixedPointTable(buildBits, values);
+            logTableCache = cached;
+        }
+        return cached;
+    }
+    
+    /**
+     * Gives a table of sin <i>j</i>/64 for <i>j</i> from 0 to 51 followed by 
+     * cos <i>j</i>/64 for the same <i>j</i>, built by the angle addition 
+     * formulas.
+     */
+    private static FixedPointTable sineTable(int bits) {
+        FixedPointTable cached = sineTableCache;
+        if (cached == null || cached.bits < bits) {
+            int buildBits = tableBits(bits);
+            int internalBits = buildBits + GUARD_BITS;
+            BigInteger[] step = sineCosineSeries(BigInteger.ONE 
+                    .shiftLeft(internalBits - 6), internalBits);
+            BigInteger sine = BigInteger.ZERO;
+            BigInteger cosine = BigInteger.ONE.shiftLeft(internalBits);
+            BigInteger[] values = new BigInteger[2 * SINE_TABLE_LENGTH];
+            for (int j = 0; j < SINE_TABLE_LENGTH; j++) {
+                values[j] = sine.shiftRight(GUARD_BITS);
+                values[SINE_TABLE_LENGTH + j] = cosine.shiftRight(GUARD_BITS);
+                BigInteger nextSine = scaledProduct(sine, step[1], internalBits) 
+                        .add(scaledProduct(cosine, step[0], internalBits));
+                cosine = scaledProduct(cosine, step[1], internalBits) 
+                        .subtract(scaledProduct(sine, step[0], internalBits));
+                sine = nextSine;
+            }
+            cached = new FixedPointTable(buildBits, values);
+            sineTableCache = cached;
+        }
+        return cached;
+    }
+    
+    /**
+     * Gives a table of arctan <i>j</i>/64 for <i>j</i> from 0 to 64. 
+     * Consecutive entries differ by arctan 64/(4096 + <i>j</i>(<i>j</i> 
+     * &minus; 1)), a series which converges quickly.
+     */
+    private static FixedPointTable arctangentTable(int bits) {
+        FixedPointTable cached = arctangentTableCache;
+        if (cached == null || cached.bits < bits) {
+            int buildBits = tableBits(bits);
+            int internalBits = buildBits + GUARD_BITS;
+            BigInteger[] values = new BigInteger[ARCTANGENT_TABLE_LENGTH];
+            BigInteger sum = BigInteger.ZERO;
+            values[0] = sum;
+            for (int j = 1; j < ARCTANGENT_TABLE_LENGTH; j++) {
+                sum = sum.add(arctangentSeries(64, 4096 + j * (j - 1), 
+                        internalBits, false));
+                values[j] = sum.shiftRight(GUARD_BITS);
+            }
+            cached = new FixedPointTable(buildBits, values);
+            arctangentTableCache = cached;
+        }
+        return cached;
+    }
+    
+    /**
+     * Approximates the exponential function of a fixed point number. The 
+     * argument is reduced to <i>r</i> = <i>x</i> &minus; <i>k</i> log 2, then 
+     * to <i>t</i> = <i>r</i> &minus; <i>j</i>/256, so that 
+     * <i>e</i><sup><i>x</i></sup> = 2<sup><i>k</i></sup> 
+     * <i>e</i><sup><i>j</i>/256</sup> <i>e</i><sup><i>t</i></sup>.
+     * @param x The argument, with {@code bits} bits after the binary point. 
+     * Should be less than 12000 in absolute value.
+     * @param bits How many bits after the binary point.
+     * @return The approximation, with a value between about 0.7 and 1.42 
+     * times 2<sup>{@code bits}</sup> and a scale of <i>k</i> &minus; {@code 
+     * bits}, where <i>k</i> is never negative if <i>x</i> isn't.
+     */
+    private static Approximation expKernel(BigInteger x, int bits) {
+        BigInteger log2 = ln2(bits + 16);
+        BigInteger k = floorDivide(x.shiftLeft(16).add(log2.shiftRight(1)), 
+                log2);
+        BigInteger r = x.subtract(k.multiply(log2).shiftRight(16));
+        int j = r.shiftRight(bits - 8).intValue();
+        BigInteger t = r.subtract(BigInteger.valueOf(j).shiftLeft(bits - 8));
+        BigInteger value = scaledProduct(expTable(bits) 
+                .entry(j + EXP_TABLE_OFFSET, bits), expSeries(t, bits), bits);
+        return new Approximation(value, k.intValueExact() - bits, 
+                KERNEL_ERROR);
+    }
+    
+    /**
+     * Approximates the natural logarithm of a positive number. The argument 
+     * is split into 2<sup><i>e</i></sup> <i>m</i>, with <i>m</i> between 
+     * &radic;&frac12; and &radic;2, and then <i>c</i> = 1 + <i>j</i>/128 is 
+     * chosen close to <i>m</i>, so that log <i>x</i> = <i>e</i> log 2 + log 
+     * <i>c</i> + 2 artanh ((<i>m</i> &minus; <i>c</i>)/(<i>m</i> + 
+     * <i>c</i>)).
+     * @param x The argument. Should be positive and finite.
+     * @param bits How many bits after the binary point.
+     * @return The approximation, with a scale of &minus;{@code bits}.
+     */
+    private static Approximation logKernel(ExactBinary x, int bits) {
+        int e = x.leadingExponent();
+        BigInteger m = new ExactBinary(false, x.significand, x.exponent - e) 
+                .toFixedPoint(bits);
+        if (m.multiply(m).bitLength() > 2 * bits + 1) {
+            m = m.shiftRight(1);
+            e++;
+        }
+        BigInteger unity = BigInteger.ONE.shiftLeft(bits);
+        int j = m.subtract(unity).add(BigInteger.ONE.shiftLeft(bits - 8)) 
+                .shiftRight(bits - 7).intValue();
+        BigInteger c = unity.add(BigInteger.valueOf(j).shiftLeft(bits - 7));
+        BigInteger s = scaledQuotient(m.subtract(c), m.add(c), bits);
+        BigInteger squared = scaledProduct(s, s, bits);
+        BigInteger sum = s;
+        BigInteger power = s;
+        long n = 1;
+        while (power.signum() != 0) {
+            power = scaledProduct(power, squared, bits);
+            n += 2;
+            sum = sum.add(power.divide(BigInteger.valueOf(n)));
+        }
+        BigInteger value = BigInteger.valueOf(e).multiply(ln2(bits + 16)) 
+                .shiftRight(16).add(logTable(bits) 
+                        .entry(j + LOG_TABLE_OFFSET, bits)) 
+                .add(sum.shiftLeft(1));
+        return new Approximation(value, -bits, KERNEL_ERROR);
+    }
+    
+    /**
+     * Reduces an argument for the trigonometric functions to <i>r</i> = 
+     * <i>x</i> &minus; <i>k</i>&pi;/2, with enough bits of &pi; that 
+     * <i>r</i> is accurate to the last bit even when <i>x</i> is huge.
+     * @param x The argument. Should be finite.
+     * @param bits How many bits after the binary point.
+     * @return An array with <i>r</i>, which is at most about &pi;/4 in 
+     * absolute value, and <i>k</i>.
+     */
+    private static BigInteger[] reduceByHalfPi(ExactBinary x, int bits) {
+        int reductionBits = bits + Math.max(0, x.leadingExponent() + 2);
+        BigInteger halfPi = halfPi(reductionBits);
+        BigInteger fixed = x.toFixedPoint(reductionBits);
+        BigInteger k = floorDivide(fixed.add(halfPi.shiftRight(1)), halfPi);
+        BigInteger r = fixed.subtract(k.multiply(halfPi)) 
+                .shiftRight(reductionBits - bits);
+        return new BigInteger[]{r, k};
+    }
+    
+    /**
+     * Approximates the sine and cosine of a reduced argument. With <i>a</i> = 
+     * <i>j</i>/64 chosen close to <i>r</i> and <i>t</i> = <i>r</i> &minus; 
+     * <i>a</i>, the angle addition formulas give the sine and cosine from the 
+     * table entries for <i>a</i> and the series for <i>t</i>.
+     * @param r The reduced argument. Should be at most about &pi;/4 in 
+     * absolute value.
+     * @param bits How many bits after the binary point.
+     * @return An array with sin <i>r</i> and cos <i>r</i>, in that order.
+     */
+    private static BigInteger[] sineCosineKernel(BigInteger r, int bits) {
+        int j = r.add(BigInteger.ONE.shiftLeft(bits - 7)) 
+                .shiftRight(bits - 6).intValue();
+        BigInteger t = r.subtract(BigInteger.valueOf(j).shiftLeft(bits - 6));
+        BigInteger[] series = sineCosineSeries(t, bits);
+        FixedPointTable table = sineTable(bits);
+        int index = Math.abs(j);
+        BigInteger sineA = table.entry(index, bits);
+        if (j < 0) {
+            sineA = sineA.negate();
+        }
+        BigInteger cosineA = table.entry(SINE_TABLE_LENGTH + index, bits);
+        BigInteger sine = scaledProduct(sineA, series[1], bits) 
+                .add(scaledProduct(cosineA, series[0], bits));
+        BigInteger cosine = scaledProduct(cosineA, series[1], bits) 
+                .subtract(scaledProduct(sineA, series[0], bits));
+        return new BigInteger[]{sine, cosine};
+    }
+    
+    /**
+     * Approximates the sine or cosine of an argument.
+     * @param x The argument. Should be finite.
+     * @param bits How many bits after the binary point.
+     * @param quadrantOffset 0 for the sine, 1 for the cosine, since cos 
+     * <i>x</i> = sin (<i>x</i> + &pi;/2).
+     * @return The approximation, with a scale of &minus;{@code bits}.
+     */
+    private static Approximation sineKernel(ExactBinary x, int bits, 
+            int quadrantOffset) {
+        BigInteger[] reduced = reduceByHalfPi(x, bits);
+        BigInteger[] sineCosine = sineCosineKernel(reduced[0], bits);
+        int quadrant = (reduced[1].intValue() + quadrantOffset) & 3;
+        BigInteger value = switch (quadrant) {
+            case 0 -> sineCosine[0];
+            case 1 -> sineCosine[1];
+            case 2 -> sineCosine[0].negate();
+            default -> sineCosine[1].negate();
+        };
+        return new Approximation(value, -bits, KERNEL_ERROR);
+    }
+    
+    /**
+     * Approximates the arctangent of an argument. Arguments greater than 1 in 
+     * absolute value are first reduced by arctan <i>x</i> = &pi;/2 &minus; 
+     * arctan 1/<i>x</i>. Then with <i>c</i> = <i>j</i>/64 close to 
+     * <i>y</i>, arctan <i>y</i> = arctan <i>c</i> + arctan ((<i>y</i> 
+     * &minus; <i>c</i>)/(1 + <i>yc</i>)).
+     * @param x The argument. Should be finite.
+     * @param bits How many bits after the binary point.
+     * @return The approximation, with a scale of &minus;{@code bits}.
+     */
+    private static Approximation arctangentKernel(ExactBinary x, int bits) {
+        ExactBinary a = x.abs();
+        boolean inverted = a.compareMagnitude(ExactBinary.ONE) > 0;
+        BigInteger fixed = a.toFixedPoint(bits);
+        BigInteger y = inverted 
+                ? BigInteger.ONE.shiftLeft(2 * bits).divide(fixed) : fixed;
+        int j = y.add(BigInteger.ONE.shiftLeft(bits - 7)) 
+                .shiftRight(bits - 6).intValue();
+        BigInteger c = BigInteger.valueOf(j).shiftLeft(bits - 6);
+        BigInteger u = scaledQuotient(y.subtract(c), BigInteger.ONE 
+                .shiftLeft(bits).add(scaledProduct(y, c, bits)), bits);
+        BigInteger squared = scaledProduct(u, u, bits);
+        BigInteger sum = u;
+        BigInteger power = u;
+        long n = 1;
+        while (power.signum() != 0) {
+            power = scaledProduct(power, squared, bits).negate();
+            n += 2;
+            sum = sum.add(power.divide(BigInteger.valueOf(n)));
+        }
+        BigInteger value = arctangentTable(bits).entry(j, bits).add(sum);
+        if (inverted) {
+            value = halfPi(bits).subtract(value);
+        }
+        if (x.negative) {
+            value = value.negate();
+        }
+        return new Approximation(value, -bits, KERNEL_ERROR);
+    }
+    
+    /**
+     * Approximates <i>e</i><sup><i>a</i></sup> and 
+     * <i>e</i><sup>&minus;<i>a</i></sup> to the same scale, for the 
+     * hyperbolic functions.
+     * @param a The argument. Should be positive and less than 12000.
+     * @param bits How many bits after the binary point.
+     * @return An array with <i>e</i><sup><i>a</i></sup> and 
+     * <i>e</i><sup>&minus;<i>a</i></sup> times 2<sup>{@code bits} &minus; 
+     * <i>k</i></sup>, in that order, followed by <i>k</i>. Each has an error 
+     * of at most three times {@link #KERNEL_ERROR}.
+     */
+    private static BigInteger[] exponentialPair(ExactBinary a, int bits) {
+        Approximation growing = expKernel(a.toFixedPoint(bits), bits);
+        int k = growing.scale + bits;
+        BigInteger decaying = BigInteger.ONE.shiftLeft(2 * bits) 
+                .divide(growing.value).shiftRight(2 * k);
+        return new BigInteger[]{growing.value, decaying, 
+            BigInteger.valueOf(k)};
+    }
+    
+    private static boolean isNegligible(ExactBinary x, int threshold) {
+        return x.isZero() || x.leadingExponent() < threshold;
+    }
+    
+    /**
+     * Gives the number of bits needed in addition to the usual working 
+     * precision for a function whose result is about as large as its 
+     * argument when the argument is small.
+     * @param x The argument. Should not be zero.
+     * @return The number of leading fraction zeros of {@code x}, or 0 if 
+     * {@code x} is at least &frac12; in absolute value.
+     */
+    private static int extraBitsFor(ExactBinary x) {
+        return Math.max(0, -x.leadingExponent());
+    }
+    
+    /**
+     * Gives the correctly rounded square root of a number.
+     * @param x The number. For example, 2.0.
+     * @return The square root of {@code x}, correctly rounded. For example, 
+     * 1.41421356237309504880168872420969808. Special cases: &minus;0.0 for 
+     * &minus;0.0, the canonical NaN for numbers less than 0, positive 
+     * infinity for positive infinity, and NaNs are given back as is.
+     */
+    public static QuadruplePrecisionNumber sqrt(QuadruplePrecisionNumber x) {
+        if (x.isNaN() || x.isZero()) {
+            return x;
+        }
+        if (x.isNegative()) {
+            return QuadruplePrecisionNumber.canonicalNaN();
+        }
+        if (x.isInfinite()) {
+            return x;
+        }
+        return QuadruplePrecisionNumber.fromExact(x.toExact() 
+                .sqrt(QuadruplePrecisionNumber.SIGNIFICAND_BITS), 
+                RoundingMode.HALF_EVEN);
+    }
+    
+    /**
+     * Gives the correctly rounded exponential function of a number, 
+     * <i>e</i><sup><i>x</i></sup>.
+     * @param x The exponent. For example, 1.0.
+     * @return <i>e</i> to the power {@code x}, correctly rounded. For 
+     * example, 2.71828182845904523536028747135266250. Special cases: positive 
+     * infinity for positive infinity, +0.0 for negative infinity, and NaNs 
+     * are given back as is. Results too large or too small for quadruple 
+     * precision overflow to positive infinity or underflow to +0.0.
+     */
+    public static QuadruplePrecisionNumber exp(QuadruplePrecisionNumber x) {
+        if (x.isNaN()) {
+            return x;
+        }
+        if (x.isInfinite()) {
+            return x.isNegative() ? QuadruplePrecisionNumber.zero(false) : x;
+        }
+        ExactBinary exact = x.toExact();
+        if (isNegligible(exact, EXP_NEGLIGIBLE_EXPONENT)) {
+            return ONE;
+        }
+        if (exact.compareMagnitude(EXP_LIMIT) > 0) {
+            return exact.negative ? QuadruplePrecisionNumber.zero(false) 
+                    : QuadruplePrecisionNumber.infinity(false);
+        }
+        return correctlyRounded(bits -> expKernel(exact.toFixedPoint(bits), 
+                bits), 0);
+    }
+    
+    /**
+     * Gives the correctly rounded natural logarithm of a number.
+     * @param x The number. For example, 10.0.
+     * @return The natural logarithm of {@code x}, correctly rounded. For 
+     * example, 2.30258509299404568401799145468436421. Special cases: +0.0 for 
+     * 1.0, negative infinity for &plusmn;0.0, positive infinity for positive 
+     * infinity, the canonical NaN for numbers less than 0, and NaNs are given 
+     * back as is.
+     */
+    public static QuadruplePrecisionNumber log(QuadruplePrecisionNumber x) {
+        if (x.isNaN()) {
+            return x;
+        }
+        if (x.isZero()) {
+            return QuadruplePrecisionNumber.infinity(true);
+        }
+        if (x.isNegative()) {
+            return QuadruplePrecisionNumber.canonicalNaN();
+        }
+        if (x.isInfinite()) {
+            return x;
+        }
+        if (x.equals(ONE)) {
+            return QuadruplePrecisionNumber.zero(false);
+        }
+        ExactBinary exact = x.toExact();
+        int extra = 0;
+        int lead = exact.leadingExponent();
+        if (lead == 0 || lead == -1) {
+            extra = extraBitsFor(exact.plus(ExactBinary.ONE.negate(), 
+                    2 * QuadruplePrecisionNumber.SIGNIFICAND_BITS));
+        }
+        return correctlyRounded(bits -> logKernel(exact, bits), extra);
+    }
+    
+    private static boolean isOddInteger(QuadruplePrecisionNumber x) {
+        return x.isFinite() && !x.isZero() && x.toExact().exponent == 0;
+    }
+    
+    /**
+     * Estimates the base 2 logarithm of <i>x</i><sup><i>y</i></sup>.
+     * @param base The base, positive, finite and not 1.
+     * @param power The exponent, finite and not 0.
+     * @return An estimate of <i>y</i> log<sub>2</sub> <i>x</i>, good to about 
+     * 15 significant digits. May be infinite.
+     */
+    private static double estimateLog2OfPower(ExactBinary base, 
+            ExactBinary power) {
+        int lead = base.leadingExponent();
+        double mantissa = new ExactBinary(false, base.significand, 
+                base.exponent - lead).toDouble();
+        double log2 = lead + Math.log(mantissa) / Math.log(2.0);
+        return log2 * power.toDouble();
+    }
+    
+    /**
+     * Computes <i>x</i><sup><i>y</i></sup> exactly, if that might be 
+     * representable in quadruple precision or be exactly halfway between two 
+     * quadruple precision numbers. Such results would keep the approximation 
+     * from ever rounding unambiguously. For <i>x</i> = 2<sup><i>t</i></sup> 
+     * <i>u</i> with <i>u</i> odd and <i>y</i> = 
+     * <i>n</i>/2<sup><i>s</i></sup>, this can only happen if <i>u</i> = 1 
+     * and <i>ty</i> is an integer, or if <i>n</i> is positive and 
+     * <i>x</i> is a perfect 2<sup><i>s</i></sup>th power whose root raised 
+     * to the <i>n</i>th power has no more than about 113 significant bits.
+     * @param base The base, positive, finite and not 1.
+     * @param power The exponent, finite and not 0.
+     * @return The exact power, or null if it is sure to be neither 
+     * representable nor a tie.
+     */
+    private static ExactBinary exactPower(ExactBinary base, 
+            ExactBinary power) {
+        int rootIndex = Math.max(0, -power.exponent);
+        BigInteger numerator = power.signedSignificand() 
+                .shiftLeft(Math.max(0, power.exponent));
+        if (base.significand.equals(BigInteger.ONE)) {
+            BigInteger scaled = numerator.multiply(BigInteger 
+                    .valueOf(base.exponent));
+            if (scaled.getLowestSetBit() < rootIndex) {
+                return null;
+            }
+            return new ExactBinary(false, BigInteger.ONE, 
+                    scaled.shiftRight(rootIndex).intValueExact());
+        }
+        if (numerator.signum() < 0 || rootIndex > 6 
+                || numerator.bitLength() > 8 
+                || base.exponent % (1 << rootIndex) != 0) {
+            return null;
+        }
+        BigInteger root = base.significand;
+        for (int i = 0; i < rootIndex; i++) {
+            BigInteger[] sr = root.sqrtAndRemainder();
+            if (sr[1].signum() != 0) {
+                return null;
+            }
+            root = sr[0];
+        }
+        int count = numerator.intValue();
+        if (count * (root.bitLength() - 1) 
+                > QuadruplePrecisionNumber.SIGNIFICAND_BITS + 8) {
+            return null;
+        }
+        return new ExactBinary(false, root.pow(count), 
+                (base.exponent >> rootIndex) * count);
+    }
+    
+    /**
+     * Approximates <i>x</i><sup><i>y</i></sup> as <i>e</i><sup><i>y</i> log 
+     * <i>x</i></sup>. The logarithm is computed with as many more bits as 
+     * <i>y</i> has integer bits, so that the product is as accurate as the 
+     * exponential function needs.
+     * @param base The base, positive, finite and not 1.
+     * @param power The exponent, finite and not 0.
+     * @param bits How many bits after the binary point.
+     * @return The approximation.
+     */
+    private static Approximation powerKernel(ExactBinary base, 
+            ExactBinary power, int bits) {
+        int logBits = bits + Math.max(0, power.leadingExponent() + 1) + 16;
+        BigInteger log = logKernel(base, logBits).value;
+        BigInteger product = power.signedSignificand().multiply(log);
+        int shift = power.exponent + bits - logBits;
+        BigInteger z = (shift >= 0) ? product.shiftLeft(shift) 
+                : product.shiftRight(-shift);
+        Approximation result = expKernel(z, bits);
+        return new Approximation(result.value, result.scale, 
+                KERNEL_ERROR.shiftLeft(2));
+    }
+    
+    /**
+     * Gives a number raised to a power, correctly rounded. The special cases 
+     * are the same as for {@link Math#pow(double, double)}.
+     * @param x The base. For example, 2.0.
+     * @param y The exponent. For example, 0.5.
+     * @return {@code x} to the power {@code y}, correctly rounded. For 
+     * example, 1.41421356237309504880168872420969808. Powers that can be 
+     * represented exactly, such as 3.0 to the power 40.0, are given exactly. 
+     * Some of the special cases: 1.0 if {@code y} is &plusmn;0.0, even if 
+     * {@code x} is NaN; {@code x} itself if {@code y} is 1.0; NaN if either 
+     * {@code x} or {@code y} is NaN otherwise; the canonical NaN if {@code x} 
+     * is negative and finite and {@code y} is finite but not an integer.
+     */
+    public static QuadruplePrecisionNumber pow(QuadruplePrecisionNumber x, 
+            QuadruplePrecisionNumber y) {
+        if (y.isZero()) {
+            return ONE;
+        }
+        if (y.equals(ONE)) {
+            return x;
+        }
+        if (y.isNaN()) {
+            return y;
+        }
+        if (x.isNaN()) {
+            return x;
+        }
+        if (y.isInfinite()) {
+            int comparison = x.isInfinite() ? 1 
+                    : x.toExact().compareMagnitude(ExactBinary.ONE);
+            if (comparison == 0) {
+                return QuadruplePrecisionNumber.canonicalNaN();
+            }
+            boolean grows = (comparison > 0) != y.isNegative();
+            return grows ? QuadruplePrecisionNumber.infinity(false) 
+                    : QuadruplePrecisionNumber.zero(false);
+        }
+        boolean oddInteger = isOddInteger(y);
+        if (x.isZero() || x.isInfinite()) {
+            boolean negative = x.isNegative() && oddInteger;
+            return (x.isInfinite() != y.isNegative()) 
+                    ? QuadruplePrecisionNumber.infinity(negative) 
+                    : QuadruplePrecisionNumber.zero(negative);
+        }
+        boolean negative = false;
+        if (x.isNegative()) {
+            if (!y.isInteger()) {
+                return QuadruplePrecisionNumber.canonicalNaN();
+            }
+            negative = oddInteger;
+        }
+        ExactBinary base = x.toExact().abs();
+        if (base.compareMagnitude(ExactBinary.ONE) == 0) {
+            return negative ? NEGATIVE_ONE : ONE;
+        }
+        ExactBinary power = y.toExact();
+        double estimate = estimateLog2OfPower(base, power);
+        if (estimate > POW_OVERFLOW_ESTIMATE) {
+            return QuadruplePrecisionNumber.infinity(negative);
+        }
+        if (estimate < POW_UNDERFLOW_ESTIMATE) {
+            return QuadruplePrecisionNumber.zero(negative);
+        }
+        ExactBinary exact = exactPower(base, power);
+        QuadruplePrecisionNumber result = (exact == null) 
+                ? correctlyRounded(bits -> powerKernel(base, power, bits), 0) 
+                : QuadruplePrecisionNumber.fromExact(exact, 
+                        RoundingMode.HALF_EVEN);
+        return negative ? result.negate() : result;
+    }
+    
+    /**
+     * Gives the correctly rounded sine of an angle. Arguments of any size 
+     * are reduced exactly, not just modulo some approximation of &pi;.
+     * @param x The angle in radians. For example, 1.0.
+     * @return The sine of {@code x}, correctly rounded. For example, 
+     * 0.841470984807896506652502321630298999. Special cases: the canonical 
+     * NaN for infinities, and NaNs, &minus;0.0 and 0.0 are given back as 
+     * is.
+     */
+    public static QuadruplePrecisionNumber sin(QuadruplePrecisionNumber x) {
+        if (x.isNaN()) {
+            return x;
+        }
+        if (x.isInfinite()) {
+            return QuadruplePrecisionNumber.canonicalNaN();
+        }
+        ExactBinary exact = x.toExact();
+        if (isNegligible(exact, NEGLIGIBLE_EXPONENT)) {
+            return x;
+        }
+        return correctlyRounded(bits -> sineKernel(exact, bits, 0), 
+                extraBitsFor(exact));
+    }
+    
+    /**
+     * Gives the correctly rounded cosine of an angle. Arguments of any size 
+     * are reduced exactly.
+     * @param x The angle in radians. For example, 1.0.
+     * @return The cosine of {@code x}, correctly rounded. For example, 
+     * 0.540302305868139717400936607442976604. Special cases: the canonical 
+     * NaN for infinities, NaNs are given back as is.
+     */
+    public static QuadruplePrecisionNumber cos(QuadruplePrecisionNumber x) {
+        if (x.isNaN()) {
+            return x;
+        }
+        if (x.isInfinite()) {
+            return QuadruplePrecisionNumber.canonicalNaN();
+        }
+        ExactBinary exact = x.toExact();
+        if (isNegligible(exact, NEGLIGIBLE_EXPONENT)) {
+            return ONE;
+        }
+        return correctlyRounded(bits -> sineKernel(exact, bits, 1), 0);
+    }
+    
+    /**
+     * Gives the correctly rounded arctangent of a number.
+     * @param x The number. For example, 1.0.
+     * @return The arctangent of {@code x} in radians, between &minus;&pi;/2 
+     * and &pi;/2, correctly rounded. For example, 
+     * 0.785398163397448309615660845819875721. Special cases: &plusmn;&pi;/2, 
+     * correctly rounded, for &plusmn;&infin;, and NaNs, &minus;0.0 and 0.0 
+     * are given back as is.
+     */
+    public static QuadruplePrecisionNumber atan(QuadruplePrecisionNumber x) {
+        if (x.isNaN()) {
+            return x;
+        }
+        if (x.isInfinite()) {
+            boolean negative = x.isNegative();
+            return correctlyRounded(bits -> {
+                BigInteger value = halfPi(bits);
+                return new Approximation(negative ? value.negate() : value, 
+                        -bits, BigInteger.TWO);
+            }, 0);
+        }
+        ExactBinary exact = x.toExact();
+        if (isNegligible(exact, NEGLIGIBLE_EXPONENT)) {
+            return x;
+        }
+        return correctlyRounded(bits -> arctangentKernel(exact, bits), 
+                extraBitsFor(exact));
+    }
+    
+    /**
+     * Gives the correctly rounded hyperbolic sine of a number, 
+     * (<i>e</i><sup><i>x</i></sup> &minus; 
+     * <i>e</i><sup>&minus;<i>x</i></sup>)/2.
+     * @param x The number. For example, 1.0.
+     * @return The hyperbolic sine of {@code x}, correctly rounded. For 
+     * example, 1.17520119364380145688238185059560082. Special cases:
+     * infinities, NaNs, &minus;0.0 and 0.0 are given back as is. Results too 
+     * large for quadruple precision overflow to an infinity of the same sign.
+     */
+    public static QuadruplePrecisionNumber sinh(QuadruplePrecisionNumber x) {
+        if (x.isNaN() || x.isInfinite()) {
+            return x;
+        }
+        ExactBinary exact = x.toExact();
+        if (isNegligible(exact, NEGLIGIBLE_EXPONENT)) {
+            return x;
+        }
+        if (exact.compareMagnitude(EXP_LIMIT) > 0) {
+            return QuadruplePrecisionNumber.infinity(exact.negative);
+        }
+        ExactBinary a = exact.abs();
+        return correctlyRounded(bits -> {
+            BigInteger[] pair = exponentialPair(a, bits);
+            BigInteger value = pair[0].subtract(pair[1]);
+            return new Approximation(exact.negative ? value.negate() : value, 
+                    pair[2].intValue() - bits - 1, KERNEL_ERROR.shiftLeft(2));
+        }, extraBitsFor(exact));
+    }
+    
+    /**
+     * Gives the correctly rounded hyperbolic cosine of a number, 
+     * (<i>e</i><sup><i>x</i></sup> + <i>e</i><sup>&minus;<i>x</i></sup>)/2.
+     * @param x The number. For example, 1.0.
+     * @return The hyperbolic cosine of {@code x}, correctly rounded. For 
+     * example, 1.54308063481524377847790562075706168. Special cases: positive 
+     * infinity for either infinity, and NaNs are given back as is. Results too 
+     * large for quadruple precision overflow to positive infinity.
+     */
+    public static QuadruplePrecisionNumber cosh(QuadruplePrecisionNumber x) {
+        if (x.isNaN()) {
+            return x;
+        }
+        if (x.isInfinite()) {
+            return QuadruplePrecisionNumber.infinity(false);
+        }
+        ExactBinary exact = x.toExact();
+        if (isNegligible(exact, NEGLIGIBLE_EXPONENT)) {
+            return ONE;
+        }
+        if (exact.compareMagnitude(EXP_LIMIT) > 0) {
+            return QuadruplePrecisionNumber.infinity(false);
+        }
+        ExactBinary a = exact.abs();
+        return correctlyRounded(bits -> {
+            BigInteger[] pair = exponentialPair(a, bits);
+            return new Approximation(pair[0].add(pair[1]), 
+                    pair[2].intValue() - bits - 1, KERNEL_ERROR.shiftLeft(2));
+        }, 0);
+    }
+    
+    /**
+     * Gives the correctly rounded hyperbolic tangent of a number, sinh 
+     * <i>x</i>/cosh <i>x</i>.
+     * @param x The number. For example, 1.0.
+     * @return The hyperbolic tangent of {@code x}, correctly rounded. For 
+     * example, 0.761594155955764888119458282604793657. Special cases:
+     * &plusmn;1.0 for &plusmn;&infin;, and NaNs, &minus;0.0 and 0.0 are given 
+     * back as is.
+     */
+    public static QuadruplePrecisionNumber tanh(QuadruplePrecisionNumber x) {
+        if (x.isNaN()) {
+            return x;
+        }
+        if (x.isInfinite()) {
+            return x.isNegative() ? NEGATIVE_ONE : ONE;
+        }
+        ExactBinary exact = x.toExact();
+        if (isNegligible(exact, NEGLIGIBLE_EXPONENT)) {
+            return x;
+        }
+        if (exact.compareMagnitude(TANH_SATURATION) >= 0) {
+            return exact.negative ? NEGATIVE_ONE : ONE;
+        }
+        ExactBinary a = exact.abs();
+        return correctlyRounded(bits -> {
+            BigInteger[] pair = exponentialPair(a, bits);
+            BigInteger value = scaledQuotient(pair[0].subtract(pair[1]), 
+                    pair[0].add(pair[1]), bits);
+            return new Approximation(exact.negative ? value.negate() : value, 
+                    -bits, KERNEL_ERROR.shiftLeft(4));
+        }, extraBitsFor(exact));
+    }
+    
+}
@@ -16,193 +16,626 @@
  */
 package math.fp;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.ByteOrder;
+
+import math.integer.IntProcessor;
+import math.integer.LongProcessor;
+
 /**
- * Represents 256-bit floating point numbers.
+ * Represents a 128-bit or "quadruple precision" floating point number. There 
+ * is no hardware support for this format on most processors, so the 
+ * arithmetic is done on the exact values of the operands, rounding only once 
+ * at the end, to nearest, ties to even. The results are thus the same as 
+ * IEEE-754 requires, just not as fast as with <code>double</code>. For 
+ * square roots, exponentials, logarithms and trigonometric functions, see 
+ * {@link QuadrupleMath}.
  * @author Alonso del Arte
  */
 public class QuadruplePrecisionNumber extends FloatingPointNumber {
-
-    private static final byte ZERO_BYTE = 0;
     
-    private static final byte[] ONE_ZERO = {ZERO_BYTE}; // quarter
-
-    private static final byte[] TWO_ZEROS = {ZERO_BYTE, ZERO_BYTE}; // half
-
-    private static final byte[] FOUR_ZEROS = {ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE}; // float
-
-    private static final byte[] EIGHT_ZEROS = {ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE}; // double
-
-    private static final byte[] SIXTEEN_ZEROS = {ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE}; // quadruple
-
-    private static final byte[] THIRTY_TWO_ZEROS = {ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE,
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE}; 
-// octuple
-
-    // TODO: Write tests for this
+    private static final char MINUS_SIGN = '\u2212';
+    
+    private static final long EXPONENT_MASK = 0x7FFF000000000000L;
+    
+    private static final long MANTISSA_MASK = 0x0000FFFFFFFFFFFFL;
+    
+    private static final long QUIET_BIT = 0x0000800000000000L;
+    
+    private static final int EXPONENT_BIAS = 16383;
+    
+    /**
+     * The number of significant bits, counting the tacit 1 of normal numbers.
+     */
+    static final int SIGNIFICAND_BITS = 113;
+    
+    /**
+     * The most significant digits ever needed to tell apart two quadruple 
+     * precision numbers in base 10.
+     */
+    private static final int MAXIMUM_DECIMAL_DIGITS = 36;
+    
+    /**
+     * Decimal numbers with an exponent beyond these are sure to overflow to 
+     * an infinity or underflow to zero. The largest finite quadruple 
+     * precision number is about 1.19 &times; 10<sup>4932</sup>, the smallest 
+     * positive subnormal number is about 6.48 &times; 
+     * 10<sup>&minus;4966</sup>.
+     */
+    private static final int MAXIMUM_DECIMAL_EXPONENT = 4933;
+    
+    private static final int MINIMUM_DECIMAL_EXPONENT = -4967;
+    
+    private static final BigDecimal PLAIN_LOWER_BOUND = new BigDecimal("0.001");
+    
+    private static final BigDecimal PLAIN_UPPER_BOUND = new BigDecimal(10000000);
+    
+    private final long high;
+    
+    private final long low;
+    
+    /**
+     * Gives the number's unbiased exponent. Will never be negative.
+     * @return The number's unbiased exponent. 0 for subnormal numbers, 32767 
+     * for infinities and NaNs, and numbers in between for the other numbers.
+     */
     @Override
     public int getUnbiasedExponent() {
-        return Integer.MIN_VALUE;
+        return (int) ((this.high & EXPONENT_MASK) >>> 48);
     }
     
-    // TODO: Write tests for this
+    /**
+     * Gives the number's biased exponent. May be negative.
+     * @return The number's biased exponent: &minus;16382 for subnormal numbers 
+     * and normal numbers close to subnormal, 16383 for finite numbers with the 
+     * largest absolute values, and 16384 for infinities and NaN values.
+     */
     @Override
     public int getBiasedExponent() {
-        return Integer.MAX_VALUE;
+        int unbiased = this.getUnbiasedExponent();
+        if (unbiased == 0) {
+            return 1 - EXPONENT_BIAS;
+        }
+        return unbiased - EXPONENT_BIAS;
     }
     
-    // TODO: Write tests for this
+    /**
+     * Tells whether this number is a finite normal number.
+     * @return True if this number's absolute value is at least 
+     * 2<sup>&minus;16382</sup> and finite, false in all other cases.
+     */
     @Override
     public boolean isNormal() {
-        return false;
+        long exponentBits = this.high & EXPONENT_MASK;
+        return exponentBits != 0L && exponentBits != EXPONENT_MASK;
     }
     
-    // TODO: Write tests for this
+    /**
+     * Tells whether this number is a subnormal number. As with the other 
+     * formats, zero is counted as subnormal.
+     * @return True if this number's exponent bits are all 0, false otherwise.
+     */
     @Override
     public boolean isSubnormal() {
-        return false;
+        return (this.high & EXPONENT_MASK) == 0L;
     }
     
-    // TODO: Write tests for this
+    @Override
+    public boolean isZero() {
+        return (this.high & Long.MAX_VALUE) == 0L && this.low == 0L;
+    }
+    
+    /**
+     * Determines whether this floating point number represents an integer or 
+     * not. Infinities and NaN values are never considered integers.
+     * @return True if this number is finite and has no fractional part, false 
+     * otherwise. Examples: true for &minus;0.0 and 2<sup>112</sup>, false for 
+     * 0.5 and for positive infinity.
+     */
     @Override
     public boolean isInteger() {
-        return true;
+        if (!this.isFinite()) {
+            return false;
+        }
+        ExactBinary exact = this.toExact();
+        return exact.isZero() || exact.exponent >= 0;
     }
     
-    // TODO: Write tests for this
     @Override
     public boolean isFinite() {
-        return false;
+        return (this.high & EXPONENT_MASK) != EXPONENT_MASK;
     }
     
-    // TODO: Write tests for this
     @Override
     public boolean isInfinite() {
-        return false;
+        return (this.high & Long.MAX_VALUE) == EXPONENT_MASK 
+                && this.low == 0L;
     }
     
-    // TODO: Write tests for this
     @Override
     public boolean isNaN() {
-        return false;
+        return (this.high & EXPONENT_MASK) == EXPONENT_MASK 
+                && ((this.high & MANTISSA_MASK) != 0L || this.low != 0L);
     }
     
-    // TODO: Write tests for this
     @Override
     public boolean isQuietNaN() {
-        return false;
+        return (this.high & EXPONENT_MASK) == EXPONENT_MASK 
+                && (this.high & QUIET_BIT) != 0L;
     }
-
-    // TODO: Write tests for this
+    
     @Override
     public boolean isSignalingNaN() {
-        return false;
+        return this.isNaN() && (this.high & QUIET_BIT) == 0L;
     }
-
-    // TODO: Write tests for this
+    
+    /**
+     * Converts this number to another format, rounding to nearest, ties to 
+     * even.
+     * @param precision The format to convert to.
+     * @return The bit pattern in that format, most significant byte first.
+     */
+    private byte[] convertTo(Precision precision) {
+        return ExactBinary.convert(Precision.QUADRUPLE, this.componentBytes, 
+                precision, RoundingMode.HALF_EVEN);
+    }
+    
+    /**
+     * Gives the nearest 32-bit primitive to this number. The rounding is done 
+     * in a single step, so there are no double rounding errors.
+     * @return A 32-bit floating point number primitive. For NaNs, the 
+     * canonical NaN 32-bit primitive may be given instead.
+     */
     @Override
     public float to32BitPrimitive() {
-        return -0.0f;
+        byte[] bits = this.convertTo(Precision.SINGLE);
+        return Float.intBitsToFloat(IntProcessor.fromBytes(bits));
     }
-
-    // TODO: Write tests for this
+    
+    /**
+     * Gives the nearest 64-bit primitive to this number.
+     * @return A 64-bit floating point number primitive. For NaNs, the 
+     * canonical NaN 64-bit primitive may be given instead.
+     */
     @Override
     public double to64BitPrimitive() {
-        return 0.0;
+        byte[] bits = this.convertTo(Precision.DOUBLE);
+        return Double.longBitsToDouble(LongProcessor.fromBytes(bits));
     }
-
-    // TODO: Write tests for this
+    
+    /**
+     * Converts this number to quarter precision, rounding to nearest, ties to 
+     * even.
+     * @return The nearest quarter precision number. Numbers with absolute 
+     * value of 248.0 or more become infinities.
+     */
     @Override
     public QuarterPrecisionNumber toQuarterPrecision() {
-        return new QuarterPrecisionNumber((byte) 0);
+        return new QuarterPrecisionNumber(this.convertTo(Precision.QUARTER)[0]);
     }
-
-    // TODO: Write tests for this
+    
+    /**
+     * Converts this number to half precision, rounding to nearest, ties to 
+     * even.
+     * @return The nearest half precision number. Numbers with absolute value 
+     * of 65520.0 or more become infinities.
+     */
     @Override
     public HalfPrecisionNumber toHalfPrecision() {
-        return new HalfPrecisionNumber(TWO_ZEROS);
+        return new HalfPrecisionNumber(this.convertTo(Precision.HALF));
     }
-
-    // TODO: Write tests for this
+    
+    /**
+     * Converts this number to single precision, rounding to nearest, ties to 
+     * even. NaNs keep their sign, as many of the highest payload bits as fit, 
+     * and whether they're quiet or signaling.
+     * @return The nearest single precision number.
+     */
     @Override
     public SinglePrecisionNumber toSinglePrecision() {
-        return new SinglePrecisionNumber(FOUR_ZEROS);
+        return new SinglePrecisionNumber(this.convertTo(Precision.SINGLE));
     }
-
-    // TODO: Write tests for this
+    
+    /**
+     * Converts this number to double precision, rounding to nearest, ties to 
+     * even. NaNs are converted as in {@link #toSinglePrecision()}.
+     * @return The nearest double precision number.
+     */
     @Override
     public DoublePrecisionNumber toDoublePrecision() {
-        return new DoublePrecisionNumber(EIGHT_ZEROS);
+        return new DoublePrecisionNumber(this.convertTo(Precision.DOUBLE));
     }
-
-    // TODO: Write tests for this
+    
     @Override
     public QuadruplePrecisionNumber toQuadruplePrecision() {
-        return new QuadruplePrecisionNumber(SIXTEEN_ZEROS);
+        return this;
     }
-
-    // TODO: Write tests for this
+    
+    /**
+     * Converts this number to octuple precision. This conversion is always 
+     * exact.
+     * @return The octuple precision number with the same value. NaNs keep 
+     * their sign and payload.
+     */
     @Override
     public OctuplePrecisionNumber toOctuplePrecision() {
-        return new OctuplePrecisionNumber(THIRTY_TWO_ZEROS);
+        return new OctuplePrecisionNumber(this.convertTo(Precision.OCTUPLE));
     }
     
-    // TODO: Write tests for this
-    @Override
-    public FloatingPointNumber plus(FloatingPointNumber addend) {
+    /**
+     * Gives the exact value of this number. Only to be called on finite 
+     * numbers.
+     * @return The exact value.
+     */
+    ExactBinary toExact() {
+        return ExactBinary.decode(Precision.QUADRUPLE, this.componentBytes);
+    }
+    
+    /**
+     * Rounds an exact value to quadruple precision.
+     * @param exact The value to round.
+     * @param mode How to round. For example, {@link RoundingMode#HALF_EVEN}.
+     * @return The rounded number.
+     */
+    static QuadruplePrecisionNumber fromExact(ExactBinary exact, 
+            RoundingMode mode) {
+        return new QuadruplePrecisionNumber(exact.round(Precision.QUADRUPLE, 
+                mode));
+    }
+    
+    static QuadruplePrecisionNumber canonicalNaN() {
+        return new QuadruplePrecisionNumber(EXPONENT_MASK | QUIET_BIT, 0L);
+    }
+    
+    static QuadruplePrecisionNumber infinity(boolean negative) {
+        return new QuadruplePrecisionNumber(negative 
+                ? (EXPONENT_MASK | Long.MIN_VALUE) : EXPONENT_MASK, 0L);
+    }
+    
+    static QuadruplePrecisionNumber zero(boolean negative) {
+        return new QuadruplePrecisionNumber(negative ? Long.MIN_VALUE : 0L, 
+                0L);
+    }
+    
+    boolean isNegative() {
+        return this.high < 0L;
+    }
+    
+    /**
+     * Chooses the NaN to give as the result of an operation. Only to be 
+     * called when at least one of the operands is a NaN.
+     * @param other The other operand.
+     * @return This number if it is a signaling NaN, otherwise {@code other} if 
+     * it is a signaling NaN, otherwise whichever operand is a NaN, this 
+     * number first.
+     */
+    private QuadruplePrecisionNumber nanOperand(QuadruplePrecisionNumber other) {
+        if (this.isSignalingNaN()) {
+            return this;
+        }
+        if (other.isSignalingNaN() || !this.isNaN()) {
+            return other;
+        }
         return this;
     }
     
+    /**
+     * Adds a floating point number to this one. If the addend is of a 
+     * different format, it is first converted to quadruple precision.
+     * @param addend The number to add. For example, 0.25.
+     * @return The correctly rounded sum. If either operand is a NaN, that NaN 
+     * is given as the result, signaling NaNs before quiet NaNs and this 
+     * number before the addend. The sum of infinities of opposite signs is 
+     * the canonical NaN.
+     */
     @Override
-    public FloatingPointNumber negate() {
-        return this;
+    public QuadruplePrecisionNumber plus(FloatingPointNumber addend) {
+        QuadruplePrecisionNumber other = addend.toQuadruplePrecision();
+        if (this.isNaN() || other.isNaN()) {
+            return this.nanOperand(other);
+        }
+        if (this.isInfinite()) {
+            if (other.isInfinite() && this.high != other.high) {
+                return canonicalNaN();
+            }
+            return this;
+        }
+        if (other.isInfinite()) {
+            return other;
+        }
+        return fromExact(this.toExact().plus(other.toExact(), 
+                SIGNIFICAND_BITS), RoundingMode.HALF_EVEN);
     }
     
-    // TODO: Write tests for this
+    /**
+     * Negates this number. Signaling NaNs are negated like any other number.
+     * @return This number with the sign bit toggled.
+     */
     @Override
-    public FloatingPointNumber minus(FloatingPointNumber subtrahend) {
-        return this;
+    public QuadruplePrecisionNumber negate() {
+        return new QuadruplePrecisionNumber(this.high ^ Long.MIN_VALUE, 
+                this.low);
     }
     
-    // TODO: Write tests for this
+    /**
+     * Subtracts a floating point number from this one. If the subtrahend is 
+     * of a different format, it is first converted to quadruple precision.
+     * @param subtrahend The number to subtract. For example, 0.25.
+     * @return The correctly rounded difference. NaNs are handled as in {@link 
+     * #plus(FloatingPointNumber) plus()}.
+     */
     @Override
-    public FloatingPointNumber times(FloatingPointNumber multiplicand) {
-        return this;
+    public QuadruplePrecisionNumber minus(FloatingPointNumber subtrahend) {
+        QuadruplePrecisionNumber other = subtrahend.toQuadruplePrecision();
+        if (other.isNaN()) {
+            return this.nanOperand(other);
+        }
+        return this.plus(other.negate());
     }
     
+    /**
+     * Multiplies this number by another. If the multiplicand is of a 
+     * different format, it is first converted to quadruple precision.
+     * @param multiplicand The number to multiply by. For example, 0.25.
+     * @return The correctly rounded product. NaNs are handled as in {@link 
+     * #plus(FloatingPointNumber) plus()}. Zero times infinity is the 
+     * canonical NaN.
+     */
     @Override
-    public FloatingPointNumber reciprocal() {
-        return this;
+    public QuadruplePrecisionNumber times(FloatingPointNumber multiplicand) {
+        QuadruplePrecisionNumber other = multiplicand.toQuadruplePrecision();
+        if (this.isNaN() || other.isNaN()) {
+            return this.nanOperand(other);
+        }
+        boolean negative = this.isNegative() ^ other.isNegative();
+        if (this.isInfinite() || other.isInfinite()) {
+            if (this.isZero() || other.isZero()) {
+                return canonicalNaN();
+            }
+            return infinity(negative);
+        }
+        return fromExact(this.toExact().times(other.toExact()), 
+                RoundingMode.HALF_EVEN);
     }
     
-    // TODO: Write tests for this
+    /**
+     * Gives the reciprocal of this number.
+     * @return 1 divided by this number, correctly rounded. For example, for 
+     * 0.25, 4.0. For &plusmn;0.0, &plusmn;&infin;. A signaling NaN is its own 
+     * reciprocal.
+     */
     @Override
-    public FloatingPointNumber divides(FloatingPointNumber divisor) {
-        return this;
+    public QuadruplePrecisionNumber reciprocal() {
+        if (this.isNaN()) {
+            return this;
+        }
+        return fromExact(ExactBinary.ONE, RoundingMode.UNNECESSARY) 
+                .divides(this);
     }
     
-    // TODO: Write tests for this
+    /**
+     * Divides this number by another. If the divisor is of a different 
+     * format, it is first converted to quadruple precision.
+     * @param divisor The number to divide by. For example, 0.25.
+     * @return The correctly rounded quotient. NaNs are handled as in {@link 
+     * #plus(FloatingPointNumber) plus()}. Zero divided by zero and infinity 
+     * divided by infinity are the canonical NaN.
+     */
+    @Override
+    public QuadruplePrecisionNumber divides(FloatingPointNumber divisor) {
+        QuadruplePrecisionNumber other = divisor.toQuadruplePrecision();
+        if (this.isNaN() || other.isNaN()) {
+            return this.nanOperand(other);
+        }
+        boolean negative = this.isNegative() ^ other.isNegative();
+        if (this.isInfinite()) {
+            return other.isInfinite() ? canonicalNaN() : infinity(negative);
+        }
+        if (other.isInfinite()) {
+            return zero(negative);
+        }
+        if (other.isZero()) {
+            return this.isZero() ? canonicalNaN() : infinity(negative);
+        }
+        return fromExact(this.toExact().divides(other.toExact(), 
+                SIGNIFICAND_BITS), RoundingMode.HALF_EVEN);
+    }
+    
+    /**
+     * Determines whether or not this number is arithmetically equal to 
+     * another according to the IEEE-754 standard. Numbers of narrower formats 
+     * are widened first, which is always exact.
+     * @param other The number to compare against.
+     * @return True if {@code other} has the same value as this number, false 
+     * otherwise. Note that &minus;0.0 is arithmetically equal to 0.0 and that 
+     * NaN is never arithmetically equal to anything, not even itself.
+     */
     @Override
     public boolean arithmeticallyEqual(FloatingPointNumber other) {
-        return true;
+        if (other.getPrecision().getByteCount() > Precision.QUADRUPLE 
+                .getByteCount()) {
+            return other.arithmeticallyEqual(this);
+        }
+        QuadruplePrecisionNumber number = other.toQuadruplePrecision();
+        if (this.isNaN() || number.isNaN()) {
+            return false;
+        }
+        if (this.isZero() && number.isZero()) {
+            return true;
+        }
+        return this.high == number.high && this.low == number.low;
+    }
+    
+    /**
+     * Gives the exact value of this finite number in base 10. Every binary 
+     * fraction has a terminating decimal expansion, though it may be quite 
+     * long for numbers of small absolute value.
+     * @return The exact value. For example, for the quadruple precision 
+     * number nearest to 0.1, a number with over a hundred significant digits, 
+     * starting 0.1000000000000000000000000000000000048.
+     */
+    private BigDecimal toBigDecimal() {
+        ExactBinary exact = this.toExact();
+        BigInteger signed = exact.signedSignificand();
+        if (exact.exponent >= 0) {
+            return new BigDecimal(signed.shiftLeft(exact.exponent));
+        }
+        return new BigDecimal(signed.multiply(BigInteger.valueOf(5) 
+                .pow(-exact.exponent)), -exact.exponent);
     }
-            
-    // TODO: Write tests for this
+    
+    /**
+     * Gives the quadruple precision number nearest to a decimal number, with 
+     * ties going to the number whose last mantissa bit is 0.
+     * @param number The number to convert. For example, 0.1.
+     * @return The nearest quadruple precision number. For example, the number 
+     * with bit pattern 3FFB999999999999999999999999999A. Numbers of too large 
+     * an absolute value become infinities, numbers of too small an absolute 
+     * value become +0.0 or &minus;0.0, depending on their sign.
+     */
+    public static QuadruplePrecisionNumber fromBigDecimal(BigDecimal number) {
+        BigInteger unscaled = number.unscaledValue();
+        if (unscaled.signum() == 0) {
+            return zero(false);
+        }
+        int scale = number.scale();
+        long decimalExponent = (long) number.precision() - scale - 1;
+        if (decimalExponent > MAXIMUM_DECIMAL_EXPONENT) {
+            return infinity(unscaled.signum() < 0);
+        }
+        if (decimalExponent < MINIMUM_DECIMAL_EXPONENT) {
+            return zero(unscaled.signum() < 0);
+        }
+        ExactBinary exact;
+        if (scale <= 0) {
+            exact = ExactBinary.fromSigned(unscaled.multiply(BigInteger.TEN 
+                    .pow(-scale)), 0);
+        } else {
+            ExactBinary divisor = new ExactBinary(false, 
+                    BigInteger.valueOf(5).pow(scale), 0);
+            exact = ExactBinary.fromSigned(unscaled, -scale) 
+                    .divides(divisor, SIGNIFICAND_BITS);
+        }
+        return fromExact(exact, RoundingMode.HALF_EVEN);
+    }
+    
+    /**
+     * Gives a textual representation of this number. The format is the same 
+     * as that of {@link Double#toString(double)}, with as many digits as are 
+     * needed to tell this number apart from every other quadruple precision 
+     * number, but with "&minus;" for the minus sign.
+     * @return A textual representation in base 10. For example, "0.1" for the 
+     * quadruple precision number nearest to 0.1, or "&minus;1.0E&minus;4932" 
+     * for the negative quadruple precision number nearest to 
+     * &minus;10<sup>&minus;4932</sup>. Special cases: "NaN" for all NaN values 
+     * regardless of bit pattern, "&minus;Infinity" and "Infinity" for 
+     * negative and positive infinity respectively, "&minus;0.0" and "0.0" for 
+     * the zeroes.
+     */
+    @Override
+    public String toString() {
+        if (this.isNaN()) {
+            return "NaN";
+        }
+        String intermediate;
+        if (this.isInfinite()) {
+            intermediate = "Infinity";
+        } else if (this.isZero()) {
+            intermediate = "0.0";
+        } else {
+            intermediate = format(this.abs().shortestDecimal());
+        }
+        return this.isNegative() ? MINUS_SIGN + intermediate : intermediate;
+    }
+    
+    private QuadruplePrecisionNumber abs() {
+        return this.isNegative() ? this.negate() : this;
+    }
+    
+    private BigDecimal shortestDecimal() {
+        BigDecimal exact = this.toBigDecimal();
+        for (int digits = 1; digits < MAXIMUM_DECIMAL_DIGITS; digits++) {
+            BigDecimal rounded = exact.round(new MathContext(digits, 
+                    RoundingMode.HALF_EVEN));
+            if (fromBigDecimal(rounded).equals(this)) {
+                return rounded.stripTrailingZeros();
+            }
+        }
+        return exact.round(new MathContext(MAXIMUM_DECIMAL_DIGITS, 
+                RoundingMode.HALF_EVEN)).stripTrailingZeros();
+    }
+    
+    private static String format(BigDecimal number) {
+        if (number.compareTo(PLAIN_LOWER_BOUND) >= 0 
+                && number.compareTo(PLAIN_UPPER_BOUND) < 0) {
+            String plain = number.toPlainString();
+            return plain.contains(".") ? plain : plain + ".0";
+        }
+        String digits = number.unscaledValue().toString();
+        int exponent = digits.length() - number.scale() - 1;
+        String fraction = (digits.length() == 1) ? "0" : digits.substring(1);
+        return digits.charAt(0) + "." + fraction + "E" + exponent;
+    }
+    
+    /**
+     * Gives the bit pattern of this number as the textual representation of 
+     * an unsigned hexadecimal number. Will be zero-padded on the left as 
+     * needed.
+     * @return A sequence of thirty-two hexadecimal digit characters. For 
+     * example, for 1.5, "3fff8000000000000000000000000000".
+     */
     @Override
     public String bitPatternHexadecimal() {
-        return "SORRY, NOT IMPLEMENTED YET";
+        String highPart = Long.toHexString(this.high);
+        String lowPart = Long.toHexString(this.low);
+        return "0000000000000000".substring(highPart.length()) + highPart 
+                + "0000000000000000".substring(lowPart.length()) + lowPart;
+    }
+    
+    /**
+     * Gives the quadruple precision number with the same value as a 64-bit 
+     * primitive. This conversion is always exact.
+     * @param number The number to convert. For example, 1.5.
+     * @return A quadruple precision number with the same value. For example, 
+     * the number with bit pattern 3FFF8000000000000000000000000000. NaNs keep 
+     * their sign and payload, but the processor might have already quieted a 
+     * signaling NaN.
+     */
+    public static QuadruplePrecisionNumber fromPrimitive(double number) {
+        return DoublePrecisionNumber.fromPrimitive(number) 
+                .toQuadruplePrecision();
+    }
+    
+    private static byte[] toBytes(long high, long low) {
+        byte[] bytes = new byte[2 * Long.BYTES];
+        LongProcessor.toBytes(high, bytes, 0, ByteOrder.BIG_ENDIAN);
+        LongProcessor.toBytes(low, bytes, Long.BYTES, ByteOrder.BIG_ENDIAN);
+        return bytes;
     }
     
     QuadruplePrecisionNumber(byte[] bytes) {
         super(bytes);
+        this.high = LongProcessor.fromBytes(bytes, 0, ByteOrder.BIG_ENDIAN);
+        this.low = LongProcessor.fromBytes(bytes, Long.BYTES, 
+                ByteOrder.BIG_ENDIAN);
+    }
+    
+    /**
+     * Primary constructor.
+     * @param high The most significant 64 bits of the bit pattern, which 
+     * hold the sign bit, the 15 exponent bits and the 48 most significant 
+     * mantissa bits. For example, 0x3FFF800000000000L.
+     * @param low The least significant 64 bits of the bit pattern, which are 
+     * all mantissa bits. For example, 0L. Together with the previous example, 
+     * this gives 1.5.
+     */
+    public QuadruplePrecisionNumber(long high, long low) {
+        super(toBytes(high, low));
+        this.high = high;
+        this.low = low;
     }
     
 }
@@ -16,6 +16,8 @@
  */
 package math.fp;
 
+import java.math.RoundingMode;
+
 import math.fractions.Fraction;
 
 /**
@@ -27,37 +29,12 @@ public class QuarterPrecisionNumber extends FloatingPointNumber {
     
     private static final char MINUS_SIGN = '\u2212';
     
-    private static final Fraction ONE = new Fraction(1, 1);
-    
-    private static final Fraction ONE_EIGHTH = ONE.divides(8);
-    
     /**
      * Bit mask for the exponent bits. Also happens to be the byte for positive 
      * infinity.
      */
     private static final byte EXPONENT_MASK = 120;
 
-    private static final byte ZERO_BYTE = 0;
-    
-    private static final byte[] FOUR_ZEROS = {ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE}; // float
-
-    private static final byte[] EIGHT_ZEROS = {ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE}; // double
-
-    private static final byte[] SIXTEEN_ZEROS = {ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE}; // quadruple
-
-    private static final byte[] THIRTY_TWO_ZEROS = {ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE,
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE}; 
-// octuple
-    
     private final byte heldByte;
 
     /**
@@ -206,18 +183,9 @@ public class QuarterPrecisionNumber extends FloatingPointNumber {
     }
 
     private Fraction toNonNegativeFractionNormal() {
-        int mantissaBitPattern = this.heldByte & 7;
-        Fraction fraction = ONE.plus(ONE_EIGHTH.times(mantissaBitPattern));
-        int exponent = ((this.heldByte & EXPONENT_MASK) >> 3) - 7;
-        while (exponent < 0) {
-            fraction = fraction.divides(2);
-            exponent++;
-        }
-        while (exponent > 0) {
-            fraction = fraction.times(2);
-            exponent--;
-        }
-        return fraction;
+        int significand = 8 | (this.heldByte & 7);
+        int exponent = ((this.heldByte & EXPONENT_MASK) >> 3) - 10;
+        return Fraction.valueOf(significand, exponent);
     }
     
     private double toDoubleNormal() {
@@ -345,28 +313,68 @@ public class QuarterPrecisionNumber extends FloatingPointNumber {
         return new HalfPrecisionNumber(sh);
     }
 
-    // TODO: Write tests for this
+    /**
+     * Converts this number to single precision. This is a widening conversion, 
+     * so no precision is lost. NaNs keep their sign, their payload and whether 
+     * they're quiet or signaling.
+     * @return A single precision number of the same value. For example, for 
+     * the quarter precision number with bit pattern 3C, corresponding to 1.5, 
+     * the single precision number with bit pattern 3FC00000.
+     */
     @Override
     public SinglePrecisionNumber toSinglePrecision() {
-        return new SinglePrecisionNumber(FOUR_ZEROS);
+        if (this.isNaN()) {
+            int sign = (this.heldByte < 0) ? Integer.MIN_VALUE : 0;
+            int payload = (this.heldByte & 7) << 20;
+            return new SinglePrecisionNumber(sign | 0x7F800000 | payload);
+        }
+        return SinglePrecisionNumber.fromPrimitive(this.to32BitPrimitive());
     }
 
-    // TODO: Write tests for this
+    /**
+     * Converts this number to double precision. This is a widening conversion, 
+     * so no precision is lost. NaNs keep their sign, their payload and whether 
+     * they're quiet or signaling.
+     * @return A double precision number of the same value. For example, for 
+     * the quarter precision number with bit pattern 3C, corresponding to 1.5, 
+     * the double precision number with bit pattern 3FF8000000000000.
+     */
     @Override
     public DoublePrecisionNumber toDoublePrecision() {
-        return new DoublePrecisionNumber(EIGHT_ZEROS);
+        if (this.isNaN()) {
+            long sign = (this.heldByte < 0) ? Long.MIN_VALUE : 0L;
+            long payload = (long) (this.heldByte & 7) << 49;
+            return new DoublePrecisionNumber(sign | 0x7FF0000000000000L 
+                    | payload);
+        }
+        return DoublePrecisionNumber.fromPrimitive(this.to64BitPrimitive());
     }
 
-    // TODO: Write tests for this
+    /**
+     * Converts this number to quadruple precision. This conversion is always 
+     * exact.
+     * @return The quadruple precision number with the same value. NaNs keep 
+     * their sign and payload, and so whether they're quiet or signaling.
+     */
     @Override
     public QuadruplePrecisionNumber toQuadruplePrecision() {
-        return new QuadruplePrecisionNumber(SIXTEEN_ZEROS);
+        byte[] bits = ExactBinary.convert(Precision.QUARTER, 
+                this.componentBytes, Precision.QUADRUPLE, 
+                RoundingMode.HALF_EVEN);
+        return new QuadruplePrecisionNumber(bits);
     }
 
-    // TODO: Write tests for this
+    /**
+     * Converts this number to octuple precision. This conversion is always 
+     * exact.
+     * @return The octuple precision number with the same value. NaNs are 
+     * converted as in {@link #toQuadruplePrecision()}.
+     */
     @Override
     public OctuplePrecisionNumber toOctuplePrecision() {
-        return new OctuplePrecisionNumber(THIRTY_TWO_ZEROS);
+        byte[] bits = ExactBinary.convert(Precision.QUARTER, 
+                this.componentBytes, Precision.OCTUPLE, RoundingMode.HALF_EVEN);
+        return new OctuplePrecisionNumber(bits);
     }
     
     // TODO: Refactor once all the plus and minus test cases are written
@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fp;
+
+/**
+ * Enumerates the distributions {@link FloatingPointGenerator} can draw 
+ * numbers from. The same distribution applies to every format, scaled to the 
+ * format's exponent range and mantissa width.
+ * @author Alonso del Arte
+ */
+public enum SampleDistribution {
+    
+    /**
+     * Every bit pattern of the format equally likely, including the bit 
+     * patterns of infinities and NaNs.
+     */
+    BIT_PATTERNS,
+    
+    /**
+     * Every bit pattern of a finite number equally likely, zeroes and 
+     * subnormal numbers included. So each binade is equally likely, as is 
+     * each sign.
+     */
+    FINITE,
+    
+    /**
+     * Real numbers uniformly distributed from 0 up to but not including 1, 
+     * rounded down to the format. Each representable number in that range is 
+     * as likely as the width of the gap to the next one, so there are about 
+     * as many numbers from 0.5 to 1 as from 0 to 0.5, down to the subnormal 
+     * numbers.
+     */
+    UNIT_INTERVAL,
+    
+    /**
+     * Half the time, one of the special values of the format: a zero, the 
+     * smallest or largest subnormal number, the smallest normal number, 1, 
+     * the largest finite number, an infinity, a quiet NaN or a signaling NaN, 
+     * all equally likely and with either sign. The other half of the time, a 
+     * finite number as with {@link #FINITE}.
+     */
+    SPECIAL_BIASED
+    
+}
@@ -16,213 +16,404 @@
  */
 package math.fp;
 
+import java.math.RoundingMode;
+
+import math.integer.IntProcessor;
+
 /**
- *32-bit
+ * Represents a 32-bit or "single precision" floating point number. The 
+ * arithmetic is done with <code>float</code> primitives, and so in hardware 
+ * whenever the JVM can, except when one of the operands is a signaling NaN. 
+ * The processor would quiet such a NaN, so in that case the signaling NaN is 
+ * given as the result instead.
  * @author Alonso del Arte
  */
 public class SinglePrecisionNumber extends FloatingPointNumber {
     
+    private static final char MINUS_SIGN = '\u2212';
+    
+    private static final int EXPONENT_MASK = 0x7F800000;
+    
+    private static final int MANTISSA_MASK = 0x007FFFFF;
+    
+    private static final int QUIET_BIT = 0x00400000;
+    
+    private static final int EXPONENT_BIAS = 127;
+    
     private final int heldInt;
-
-    private static final byte ZERO_BYTE = 0;
     
-    private static final byte[] ONE_ZERO = {ZERO_BYTE}; // quarter
-
-    private static final byte[] TWO_ZEROS = {ZERO_BYTE, ZERO_BYTE}; // half
-
-    private static final byte[] FOUR_ZEROS = {ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE}; // float
-
-    private static final byte[] EIGHT_ZEROS = {ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE}; // double
-
-    private static final byte[] SIXTEEN_ZEROS = {ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE}; // quadruple
-
-    private static final byte[] THIRTY_TWO_ZEROS = {ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE,
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, 
-        ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE, ZERO_BYTE}; 
-// octuple
-
-    // TODO: Write tests for this
+    /**
+     * Gives the number's unbiased exponent. Will never be negative.
+     * @return The number's unbiased exponent. 0 for subnormal numbers, 255 
+     * for infinities and NaNs, and numbers in between for the other numbers.
+     */
     @Override
     public int getUnbiasedExponent() {
-        return Integer.MIN_VALUE;
+        return (this.heldInt & EXPONENT_MASK) >>> 23;
     }
     
-    // TODO: Write tests for this
+    /**
+     * Gives the number's biased exponent. May be negative.
+     * @return The number's biased exponent: &minus;126 for subnormal numbers 
+     * and normal numbers close to subnormal, 127 for finite numbers with the 
+     * largest absolute values, and 128 for infinities and NaN values.
+     */
     @Override
     public int getBiasedExponent() {
-        return Integer.MAX_VALUE;
+        int unbiased = this.getUnbiasedExponent();
+        if (unbiased == 0) {
+            return 1 - EXPONENT_BIAS;
+        }
+        return unbiased - EXPONENT_BIAS;
     }
     
-    // TODO: Write tests for this
+    /**
+     * Tells whether this number is a finite normal number.
+     * @return True if this number's absolute value is at least 
+     * 2<sup>&minus;126</sup> and finite, false in all other cases.
+     */
     @Override
     public boolean isNormal() {
-        return false;
+        int exponentBits = this.heldInt & EXPONENT_MASK;
+        return exponentBits != 0 && exponentBits != EXPONENT_MASK;
     }
     
-    // TODO: Write tests for this
+    /**
+     * Tells whether this number is a subnormal number. As with the other 
+     * formats, zero is counted as subnormal.
+     * @return True if this number's exponent bits are all 0, false otherwise.
+     */
     @Override
     public boolean isSubnormal() {
-        return false;
+        return (this.heldInt & EXPONENT_MASK) == 0;
     }
     
-    // TODO: Write tests for this
+    @Override
+    public boolean isZero() {
+        return (this.heldInt & Integer.MAX_VALUE) == 0;
+    }
+    
+    /**
+     * Determines whether this floating point number represents an integer or 
+     * not. Infinities and NaN values are never considered integers.
+     * @return True if this number is finite and has no fractional part, false 
+     * otherwise. Examples: true for &minus;0.0 and 16777216.0, false for 0.5 
+     * and for positive infinity.
+     */
     @Override
     public boolean isInteger() {
-        return true;
+        if (!this.isFinite()) {
+            return false;
+        }
+        float f = Float.intBitsToFloat(this.heldInt);
+        return Math.rint(f) == f;
     }
     
-    // TODO: Write tests for this
     @Override
     public boolean isFinite() {
-        return false;
+        return (this.heldInt & EXPONENT_MASK) != EXPONENT_MASK;
     }
     
-    // TODO: Write tests for this
     @Override
     public boolean isInfinite() {
-        return false;
+        return (this.heldInt & Integer.MAX_VALUE) == EXPONENT_MASK;
     }
     
-    // TODO: Write tests for this
     @Override
     public boolean isNaN() {
-        return false;
+        return (this.heldInt & Integer.MAX_VALUE) > EXPONENT_MASK;
     }
     
-    // TODO: Write tests for this
     @Override
     public boolean isQuietNaN() {
-        return false;
+        return (this.heldInt & Integer.MAX_VALUE) >= (EXPONENT_MASK | QUIET_BIT);
     }
-
-    // TODO: Write tests for this
+    
     @Override
     public boolean isSignalingNaN() {
-        return false;
+        int masked = this.heldInt & Integer.MAX_VALUE;
+        return masked > EXPONENT_MASK && masked < (EXPONENT_MASK | QUIET_BIT);
     }
-
-    // TODO: Write tests for this
+    
+    /**
+     * Gives the 32-bit primitive with the same bit pattern as this number. 
+     * Note that the processor may quiet a signaling NaN in the course of 
+     * further arithmetic with the primitive.
+     * @return A 32-bit floating point number primitive.
+     */
     @Override
     public float to32BitPrimitive() {
-        return -0.0f;
+        return Float.intBitsToFloat(this.heldInt);
     }
-
-    // TODO: Write tests for this
+    
+    /**
+     * Gives a 64-bit primitive floating point number corresponding to this 
+     * one. Every finite single precision number can be represented exactly in 
+     * double precision.
+     * @return A 64-bit floating point number primitive. For NaNs, the 
+     * canonical NaN 64-bit primitive may be given instead.
+     */
     @Override
     public double to64BitPrimitive() {
-        return 0.0;
+        return Float.intBitsToFloat(this.heldInt);
     }
-
-    // TODO: Write tests for this
+    
+    /**
+     * Gives the bit pattern of the double precision number this number widens 
+     * to. Unlike a cast to <code>double</code>, this keeps signaling NaNs 
+     * signaling, and keeps the NaN payload.
+     */
+    long toDoubleBits() {
+        if (this.isNaN()) {
+            long sign = (long) (this.heldInt >>> 31) << 63;
+            long payload = (long) (this.heldInt & MANTISSA_MASK) << 29;
+            return sign | 0x7FF0000000000000L | payload;
+        }
+        return Double.doubleToRawLongBits(this.to64BitPrimitive());
+    }
+    
+    /**
+     * Converts this number to quarter precision, rounding to nearest, ties to 
+     * even.
+     * @return The nearest quarter precision number. Numbers with absolute 
+     * value of 248.0 or more become infinities.
+     */
     @Override
     public QuarterPrecisionNumber toQuarterPrecision() {
-        return new QuarterPrecisionNumber((byte) 0);
+        long bits = Precision.QUARTER.roundFromDoubleBits(this.toDoubleBits());
+        return new QuarterPrecisionNumber((byte) bits);
     }
-
-    // TODO: Write tests for this
+    
+    /**
+     * Converts this number to half precision, rounding to nearest, ties to 
+     * even.
+     * @return The nearest half precision number. Numbers with absolute value 
+     * of 65520.0 or more become infinities.
+     */
     @Override
     public HalfPrecisionNumber toHalfPrecision() {
-        return new HalfPrecisionNumber(TWO_ZEROS);
+        long bits = Precision.HALF.roundFromDoubleBits(this.toDoubleBits());
+        return new HalfPrecisionNumber((short) bits);
     }
-
-    // TODO: Write tests for this
+    
     @Override
     public SinglePrecisionNumber toSinglePrecision() {
-        return new SinglePrecisionNumber(FOUR_ZEROS);
+        return this;
     }
-
-    // TODO: Write tests for this
+    
+    /**
+     * Converts this number to double precision. This is a widening 
+     * conversion, so no precision is lost. NaNs keep their sign, their payload 
+     * and whether they're quiet or signaling.
+     * @return A double precision number of the same value.
+     */
     @Override
     public DoublePrecisionNumber toDoublePrecision() {
-        return new DoublePrecisionNumber(EIGHT_ZEROS);
+        return new DoublePrecisionNumber(this.toDoubleBits());
     }
-
-    // TODO: Write tests for this
+    
+    /**
+     * Converts this number to quadruple precision. This conversion is always 
+     * exact.
+     * @return The quadruple precision number with the same value. NaNs keep 
+     * their sign and payload, and so whether they're quiet or signaling.
+     */
     @Override
     public QuadruplePrecisionNumber toQuadruplePrecision() {
-        return new QuadruplePrecisionNumber(SIXTEEN_ZEROS);
+        byte[] bits = ExactBinary.convert(Precision.SINGLE, this.componentBytes, 
+                Precision.QUADRUPLE, RoundingMode.HALF_EVEN);
+        return new QuadruplePrecisionNumber(bits);
     }
-
-    // TODO: Write tests for this
+    
+    /**
+     * Converts this number to octuple precision. This conversion is always 
+     * exact.
+     * @return The octuple precision number with the same value. NaNs are 
+     * converted as in {@link #toQuadruplePrecision()}.
+     */
     @Override
     public OctuplePrecisionNumber toOctuplePrecision() {
-        return new OctuplePrecisionNumber(THIRTY_TWO_ZEROS);
+        byte[] bits = ExactBinary.convert(Precision.SINGLE, this.componentBytes, 
+                Precision.OCTUPLE, RoundingMode.HALF_EVEN);
+        return new OctuplePrecisionNumber(bits);
+    }
+    
+    /**
+     * Chooses the signaling NaN to give as the result of an operation. Only 
+     * to be called when at least one of the operands is a signaling NaN.
+     * @param other The other operand.
+     * @return This number if it is a signaling NaN, otherwise {@code other}.
+     */
+    private SinglePrecisionNumber signalingOperand(SinglePrecisionNumber other) {
+        return this.isSignalingNaN() ? this : other;
     }
     
-    // TODO: Write tests for this
+    /**
+     * Adds a floating point number to this one. If the addend is of a 
+     * different format, it is first converted to single precision.
+     * @param addend The number to add. For example, 0.25.
+     * @return This number plus the addend, as computed by the processor. If 
+     * either operand is a signaling NaN, that signaling NaN is given as the 
+     * result, this number first if both are signaling NaNs.
+     */
     @Override
-    public FloatingPointNumber plus(FloatingPointNumber addend) {
-        return this;
+    public SinglePrecisionNumber plus(FloatingPointNumber addend) {
+        SinglePrecisionNumber other = addend.toSinglePrecision();
+        if (this.isSignalingNaN() || other.isSignalingNaN()) {
+            return this.signalingOperand(other);
+        }
+        return fromPrimitive(this.to32BitPrimitive() 
+                + other.to32BitPrimitive());
     }
     
+    /**
+     * Negates this number. Signaling NaNs are negated like any other number.
+     * @return This number with the sign bit toggled.
+     */
     @Override
-    public FloatingPointNumber negate() {
-        return this;
+    public SinglePrecisionNumber negate() {
+        return new SinglePrecisionNumber(this.heldInt ^ Integer.MIN_VALUE);
     }
     
-    // TODO: Write tests for this
+    /**
+     * Subtracts a floating point number from this one. If the subtrahend is 
+     * of a different format, it is first converted to single precision.
+     * @param subtrahend The number to subtract. For example, 0.25.
+     * @return This number minus the subtrahend. Signaling NaNs are handled as 
+     * in {@link #plus(FloatingPointNumber) plus()}.
+     */
     @Override
-    public FloatingPointNumber minus(FloatingPointNumber subtrahend) {
-        return this;
+    public SinglePrecisionNumber minus(FloatingPointNumber subtrahend) {
+        SinglePrecisionNumber other = subtrahend.toSinglePrecision();
+        if (this.isSignalingNaN() || other.isSignalingNaN()) {
+            return this.signalingOperand(other);
+        }
+        return fromPrimitive(this.to32BitPrimitive() 
+                - other.to32BitPrimitive());
     }
     
-    // TODO: Write tests for this
+    /**
+     * Multiplies this number by another. If the multiplicand is of a 
+     * different format, it is first converted to single precision.
+     * @param multiplicand The number to multiply by. For example, 0.25.
+     * @return The product. Signaling NaNs are handled as in {@link 
+     * #plus(FloatingPointNumber) plus()}.
+     */
     @Override
-    public FloatingPointNumber times(FloatingPointNumber multiplicand) {
-        return this;
+    public SinglePrecisionNumber times(FloatingPointNumber multiplicand) {
+        SinglePrecisionNumber other = multiplicand.toSinglePrecision();
+        if (this.isSignalingNaN() || other.isSignalingNaN()) {
+            return this.signalingOperand(other);
+        }
+        return fromPrimitive(this.to32BitPrimitive() 
+                * other.to32BitPrimitive());
     }
     
+    /**
+     * Gives the reciprocal of this number.
+     * @return 1 divided by this number. For example, for 0.25, 4.0. For 
+     * &plusmn;0.0, &plusmn;&infin;. A signaling NaN is its own reciprocal.
+     */
     @Override
-    public FloatingPointNumber reciprocal() {
-        return this;
+    public SinglePrecisionNumber reciprocal() {
+        if (this.isSignalingNaN()) {
+            return this;
+        }
+        return fromPrimitive(1.0f / this.to32BitPrimitive());
     }
     
-    // TODO: Write tests for this
+    /**
+     * Divides this number by another. If the divisor is of a different 
+     * format, it is first converted to single precision.
+     * @param divisor The number to divide by. For example, 0.25.
+     * @return The quotient. Signaling NaNs are handled as in {@link 
+     * #plus(FloatingPointNumber) plus()}.
+     */
     @Override
-    public FloatingPointNumber divides(FloatingPointNumber divisor) {
-        return this;
+    public SinglePrecisionNumber divides(FloatingPointNumber divisor) {
+        SinglePrecisionNumber other = divisor.toSinglePrecision();
+        if (this.isSignalingNaN() || other.isSignalingNaN()) {
+            return this.signalingOperand(other);
+        }
+        return fromPrimitive(this.to32BitPrimitive() 
+                / other.to32BitPrimitive());
     }
     
-    // TODO: Write tests for this
+    /**
+     * Determines whether or not this number is arithmetically equal to 
+     * another according to the IEEE-754 standard. No narrowing conversion is 
+     * done, so a double precision number that would round to this number is 
+     * not considered equal to it.
+     * @param other The number to compare against.
+     * @return True if {@code other} has the same value as this number, false 
+     * otherwise. Note that &minus;0.0 is arithmetically equal to 0.0 and that 
+     * NaN is never arithmetically equal to anything, not even itself.
+     */
     @Override
     public boolean arithmeticallyEqual(FloatingPointNumber other) {
-        return true;
+        if (other instanceof SinglePrecisionNumber spn) {
+            return this.to32BitPrimitive() == spn.to32BitPrimitive();
+        }
+        if (other.getPrecision().getByteCount() <= Double.BYTES) {
+            return this.to64BitPrimitive() == other.to64BitPrimitive();
+        }
+        return other.arithmeticallyEqual(this);
     }
     
+    /**
+     * Gives a textual representation of this number. For negative numbers, 
+     * including negative zero, the "&minus;" character is used.
+     * @return A textual representation in base 10, as given by {@link 
+     * Float#toString(float)} but with "&minus;" for the minus sign. For 
+     * example, "&minus;1.5". Special cases: "NaN" for all NaN values 
+     * regardless of bit pattern, "&minus;Infinity" and "Infinity" for 
+     * negative and positive infinity respectively.
+     */
     @Override
     public String toString() {
-        if (this.heldInt > 0) {
-            return "Infinity";
+        if (this.isNaN()) {
+            return "NaN";
         }
-        return "\u2212Infinity";
+        String intermediate = Float.toString(Float.intBitsToFloat(this.heldInt 
+                & Integer.MAX_VALUE));
+        return (this.heldInt < 0) ? MINUS_SIGN + intermediate : intermediate;
     }
-            
-    // TODO: Write tests for this
+    
+    /**
+     * Gives the bit pattern of this number as the textual representation of 
+     * an unsigned hexadecimal number. Will be zero-padded on the left as 
+     * needed.
+     * @return A sequence of eight hexadecimal digit characters. For example, 
+     * for 1.5, "3fc00000".
+     */
     @Override
     public String bitPatternHexadecimal() {
-        return "SORRY, NOT IMPLEMENTED YET";
+        String intermediate = Integer.toHexString(this.heldInt);
+        return "00000000".substring(intermediate.length()) + intermediate;
     }
     
-    // TODO: Write tests for this
+    /**
+     * Wraps a 32-bit primitive. The bit pattern is kept as is, even for NaNs.
+     * @param number The number to wrap. For example, 1.5.
+     * @return A single precision number with the same bit pattern. For 
+     * example, the number with bit pattern 3FC00000.
+     */
     public static SinglePrecisionNumber fromPrimitive(float number) {
-        return new SinglePrecisionNumber(FOUR_ZEROS);
+        return new SinglePrecisionNumber(Float.floatToRawIntBits(number));
     }
     
     SinglePrecisionNumber(byte[] bytes) {
         super(bytes);
-        this.heldInt = 0;
+        this.heldInt = IntProcessor.fromBytes(bytes);
     }
     
+    /**
+     * Primary constructor.
+     * @param i The bit pattern of the number. For example, 1069547520, which 
+     * is 3FC00000 in hexadecimal, for 1.5.
+     */
     public SinglePrecisionNumber(int i) {
-        super(FOUR_ZEROS);
+        super(IntProcessor.toBytes(i));
         this.heldInt = i;
     }
     
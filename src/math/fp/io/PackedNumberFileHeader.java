@@ -0,0 +1,246 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fp.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+import math.fp.Precision;
+
+/**
+ * The header of a packed number file. The header takes up the first 32 bytes 
+ * of the file and is always written in big endian order, regardless of the 
+ * byte order of the numbers in the file. The layout is as follows:
+ * <ul>
+ * <li>Bytes 0 to 3: the ASCII characters "FPNA".</li>
+ * <li>Byte 4: the version of the file format, currently 1.</li>
+ * <li>Byte 5: the format identifier, which is the number of bytes per number:
+ * 1 for quarter precision, 2 for half precision, 4, 8, 16 or 32 for the other 
+ * formats.</li>
+ * <li>Byte 6: the byte order of the numbers, 0 for big endian, 1 for little 
+ * endian.</li>
+ * <li>Byte 7: flags. Bit 0 is set if each chunk is preceded by its minimum 
+ * and maximum.</li>
+ * <li>Bytes 8 to 11: the number of numbers per chunk. The last chunk may hold 
+ * fewer.</li>
+ * <li>Bytes 12 to 15: reserved, should be 0.</li>
+ * <li>Bytes 16 to 23: the number of numbers in the file.</li>
+ * <li>Bytes 24 to 31: reserved, should be 0.</li>
+ * </ul>
+ * <p>The chunks follow the header, one right after the other. If the file has 
+ * chunk statistics, each chunk starts with the minimum and the maximum of the 
+ * chunk's numbers, according to the IEEE-754 total order and leaving NaNs out 
+ * of consideration, and then come the numbers themselves. Since every chunk 
+ * but the last has the same length, the position of any chunk can be 
+ * calculated without having to read the chunks that come before it.</p>
+ * @author Alonso del Arte
+ */
+final class PackedNumberFileHeader {
+    
+    static final int LENGTH = 32;
+    
+    static final byte VERSION = 1;
+    
+    private static final byte[] MAGIC = {'F', 'P', 'N', 'A'};
+    
+    private static final int STATISTICS_FLAG = 1;
+    
+    final Precision precision;
+    
+    final ByteOrder byteOrder;
+    
+    final int chunkLength;
+    
+    final boolean hasStatistics;
+    
+    final long count;
+    
+    /**
+     * Gives the number of bytes each chunk of full length takes up, including 
+     * the minimum and maximum if the file has chunk statistics.
+     * @return The number of bytes per chunk.
+     */
+    long chunkStride() {
+        int width = this.precision.getByteCount();
+        long stride = (long) this.chunkLength * width;
+        if (this.hasStatistics) {
+            stride += 2 * width;
+        }
+        return stride;
+    }
+    
+    int chunkCount() {
+        return (int) ((this.count + this.chunkLength - 1) / this.chunkLength);
+    }
+    
+    /**
+     * Gives the position in the file of a given chunk. If the file has chunk 
+     * statistics, this is the position of the chunk's minimum.
+     * @param chunkIndex The index of the chunk, starting from 0.
+     * @return The position of the chunk in the file.
+     */
+    long chunkPosition(int chunkIndex) {
+        return LENGTH + chunkIndex * this.chunkStride();
+    }
+    
+    /**
+     * Gives the number of numbers in a given chunk.
+     * @param chunkIndex The index of the chunk, starting from 0.
+     * @return The chunk length for every chunk but possibly the last, which 
+     * may have fewer numbers.
+     */
+    int chunkSize(int chunkIndex) {
+        long start = (long) chunkIndex * this.chunkLength;
+        return (int) Math.min(this.chunkLength, this.count - start);
+    }
+    
+    ByteBuffer toBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH);
+        buffer.put(MAGIC);
+        buffer.put(VERSION);
+        buffer.put((byte) this.precision.getByteCount());
+        buffer.put((byte) (this.byteOrder == ByteOrder.BIG_ENDIAN ? 0 : 1));
+        buffer.put((byte) (this.hasStatistics ? STATISTICS_FLAG : 0));
+        buffer.putInt(this.chunkLength);
+        buffer.putInt(0);
+        buffer.putLong(this.count);
+        buffer.putLong(0L);
+        buffer.flip();
+        return buffer;
+    }
+    
+    void writeTo(FileChannel channel) throws IOException {
+        ByteBuffer buffer = this.toBuffer();
+        long position = 0L;
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+    
+    static PackedNumberFileHeader readFrom(FileChannel channel) 
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH);
+        long position = 0L;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                String excMsg = "File is too short to hold a header, only " 
+                        + position + " bytes";
+                throw new IOException(excMsg);
+            }
+            position += read;
+        }
+        buffer.flip();
+        byte[] magic = new byte[MAGIC.length];
+        buffer.get(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            String excMsg = "File does not start with the packed number magic";
+            throw new IOException(excMsg);
+        }
+        byte version = buffer.get();
+        if (version != VERSION) {
+            String excMsg = "File format version " + version 
+                    + " is not supported";
+            throw new IOException(excMsg);
+        }
+        Precision precision;
+        try {
+            precision = Precision.forByteCount(buffer.get());
+        } catch (IllegalArgumentException iae) {
+            throw new IOException(iae.getMessage(), iae);
+        }
+        ByteOrder order = switch (buffer.get()) {
+            case 0 -> ByteOrder.BIG_ENDIAN;
+            case 1 -> ByteOrder.LITTLE_ENDIAN;
+            default -> throw new IOException("Byte order marker not valid");
+        };
+        boolean statistics = (buffer.get() & STATISTICS_FLAG) != 0;
+        int chunkLength = buffer.getInt();
+        buffer.getInt();
+        long count = buffer.getLong();
+        if (chunkLength < 1 || count < 0L) {
+            String excMsg = "Chunk length " + chunkLength + " and count " 
+                    + count + " are not valid";
+            throw new IOException(excMsg);
+        }
+        return new PackedNumberFileHeader(precision, order, chunkLength, 
+                statistics, count);
+    }
+    
+    /**
+     * Determines whether a bit pattern of a given format is a NaN.
+     * @param precision The format.
+     * @param bits The bit pattern in big endian order.
+     * @return True if the exponent bits are all 1s and at least one of the 
+     * mantissa bits is 1, false otherwise.
+     */
+    static boolean isNaN(Precision precision, byte[] bits) {
+        int exponentBits = precision.getExponentBitCount();
+        int bitIndex = 1;
+        for (int i = 0; i < exponentBits; i++) {
+            if (!bitAt(bits, bitIndex)) {
+                return false;
+            }
+            bitIndex++;
+        }
+        int total = precision.getBitCount();
+        while (bitIndex < total) {
+            if (bitAt(bits, bitIndex)) {
+                return true;
+            }
+            bitIndex++;
+        }
+        return false;
+    }
+    
+    private static boolean bitAt(byte[] bits, int index) {
+        return (bits[index / Byte.SIZE] & (128 >> (index % Byte.SIZE))) != 0;
+    }
+    
+    /**
+     * Compares two bit patterns of the same format according to the IEEE-754 
+     * total order. In this order, &minus;0.0 comes before +0.0, and NaNs come 
+     * at either end depending on their sign bit.
+     * @param a The first bit pattern, in big endian order.
+     * @param b The second bit pattern, in big endian order. Should be of the 
+     * same length as {@code a}.
+     * @return A negative number if {@code a} comes before {@code b}, 0 if 
+     * they're the same, a positive number if {@code a} comes after {@code b}.
+     */
+    static int compareTotalOrder(byte[] a, byte[] b) {
+        boolean negativeA = a[0] < 0;
+        boolean negativeB = b[0] < 0;
+        if (negativeA != negativeB) {
+            return negativeA ? -1 : 1;
+        }
+        int magnitudeComparison = Arrays.compareUnsigned(a, b);
+        return negativeA ? -magnitudeComparison : magnitudeComparison;
+    }
+    
+    PackedNumberFileHeader(Precision precision, ByteOrder order, 
+            int chunkLength, boolean statistics, long count) {
+        this.precision = precision;
+        this.byteOrder = order;
+        this.chunkLength = chunkLength;
+        this.hasStatistics = statistics;
+        this.count = count;
+    }
+    
+}
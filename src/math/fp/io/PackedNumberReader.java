@@ -0,0 +1,387 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fp.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import math.fp.FloatingPointNumber;
+import math.fp.Precision;
+
+/**
+ * Reads a packed number file written by {@link PackedNumberWriter}. Chunks are 
+ * memory-mapped the first time they're needed, so that loading a chunk into an 
+ * array of bit patterns is a bulk copy out of the page cache rather than a 
+ * parse. This class is not safe for use by multiple threads.
+ * @author Alonso del Arte
+ */
+public class PackedNumberReader implements Closeable {
+    
+    private final FileChannel channel;
+    
+    private final PackedNumberFileHeader header;
+    
+    private final MappedByteBuffer[] mappedChunks;
+    
+    private final int width;
+    
+    private void checkChunkIndex(int chunkIndex) {
+        if (chunkIndex < 0 || chunkIndex >= this.mappedChunks.length) {
+            String excMsg = "Chunk index " + chunkIndex 
+                    + " is not valid, should be at least 0 and less than " 
+                    + this.mappedChunks.length;
+            throw new IndexOutOfBoundsException(excMsg);
+        }
+    }
+    
+    private void ensurePrecision(Precision expected) {
+        if (this.header.precision != expected) {
+            String excMsg = "File holds " + this.header.precision 
+                    + " numbers, not " + expected + " numbers";
+            throw new IllegalStateException(excMsg);
+        }
+    }
+    
+    /**
+     * Maps a chunk into memory, including the chunk statistics, if any.
+     * @param chunkIndex The index of the chunk.
+     * @return The mapped chunk, positioned at 0.
+     * @throws IOException If the chunk can't be mapped.
+     */
+    private MappedByteBuffer mapWholeChunk(int chunkIndex) throws IOException {
+        this.checkChunkIndex(chunkIndex);
+        MappedByteBuffer mapped = this.mappedChunks[chunkIndex];
+        if (mapped == null) {
+            long position = this.header.chunkPosition(chunkIndex);
+            long size = (long) this.header.chunkSize(chunkIndex) * this.width;
+            if (this.header.hasStatistics) {
+                size += 2 * this.width;
+            }
+            mapped = this.channel.map(FileChannel.MapMode.READ_ONLY, position, 
+                    size);
+            mapped.order(this.header.byteOrder);
+            this.mappedChunks[chunkIndex] = mapped;
+        }
+        return mapped;
+    }
+    
+    private static void reverse(byte[] bytes) {
+        for (int i = 0, j = bytes.length - 1; i < j; i++, j--) {
+            byte temp = bytes[i];
+            bytes[i] = bytes[j];
+            bytes[j] = temp;
+        }
+    }
+    
+    private FloatingPointNumber numberAt(ByteBuffer buffer, int position) {
+        byte[] bits = new byte[this.width];
+        buffer.get(position, bits);
+        if (this.header.byteOrder == ByteOrder.LITTLE_ENDIAN) {
+            reverse(bits);
+        }
+        return FloatingPointNumber.apply(bits);
+    }
+    
+    /**
+     * Gives the format of the numbers in the file.
+     * @return The format. For example, {@link Precision#QUARTER}.
+     */
+    public Precision getPrecision() {
+        return this.header.precision;
+    }
+    
+    /**
+     * Gives the byte order of the numbers in the file.
+     * @return The byte order. For example, {@code ByteOrder.LITTLE_ENDIAN}.
+     */
+    public ByteOrder getByteOrder() {
+        return this.header.byteOrder;
+    }
+    
+    /**
+     * Gives how many numbers the file holds.
+     * @return The number of numbers. For example, 1000000.
+     */
+    public long size() {
+        return this.header.count;
+    }
+    
+    /**
+     * Gives how many numbers each chunk holds. The last chunk might hold 
+     * fewer.
+     * @return The chunk length. For example, 65536.
+     */
+    public int getChunkLength() {
+        return this.header.chunkLength;
+    }
+    
+    /**
+     * Gives how many chunks the file is divided into.
+     * @return The number of chunks. For example, 16.
+     */
+    public int getChunkCount() {
+        return this.mappedChunks.length;
+    }
+    
+    /**
+     * Gives how many numbers a given chunk holds.
+     * @param chunkIndex The index of the chunk. For example, 15.
+     * @return The number of numbers in the chunk. This is the chunk length 
+     * for every chunk but possibly the last. For example, 16960.
+     * @throws IndexOutOfBoundsException If {@code chunkIndex} is negative or 
+     * not less than the number of chunks.
+     */
+    public int getChunkSize(int chunkIndex) {
+        this.checkChunkIndex(chunkIndex);
+        return this.header.chunkSize(chunkIndex);
+    }
+    
+    /**
+     * Tells whether or not each chunk is preceded by its minimum and maximum.
+     * @return True if the file has chunk statistics, false otherwise.
+     */
+    public boolean hasChunkStatistics() {
+        return this.header.hasStatistics;
+    }
+    
+    /**
+     * Gives a read-only view of the bit patterns of a chunk. No bytes are 
+     * copied. The view is set to the byte order of the file.
+     * @param chunkIndex The index of the chunk. For example, 0.
+     * @return A read-only view of the chunk's bit patterns, positioned at 0 
+     * and with the chunk's bit patterns in between position and limit.
+     * @throws IOException If the chunk can't be mapped into memory.
+     * @throws IndexOutOfBoundsException If {@code chunkIndex} is negative or 
+     * not less than the number of chunks.
+     */
+    public ByteBuffer mapChunk(int chunkIndex) throws IOException {
+        ByteBuffer whole = this.mapWholeChunk(chunkIndex).duplicate();
+        if (this.header.hasStatistics) {
+            whole.position(2 * this.width);
+        }
+        return whole.slice().asReadOnlyBuffer() 
+                .order(this.header.byteOrder);
+    }
+    
+    /**
+     * Reads a single number. Loading a whole chunk at once with one of the 
+     * bulk read functions is more efficient for large amounts of numbers.
+     * @param index The index of the number, counting from 0 at the start of 
+     * the file. For example, 70000.
+     * @return The number. For example, 1.5 in half precision.
+     * @throws IOException If the chunk holding the number can't be mapped 
+     * into memory.
+     * @throws IndexOutOfBoundsException If {@code index} is negative or not 
+     * less than the number of numbers in the file.
+     */
+    public FloatingPointNumber get(long index) throws IOException {
+        if (index < 0L || index >= this.header.count) {
+            String excMsg = "Index " + index + " is not valid for file of " 
+                    + this.header.count + " numbers";
+            throw new IndexOutOfBoundsException(excMsg);
+        }
+        int chunkIndex = (int) (index / this.header.chunkLength);
+        int indexInChunk = (int) (index % this.header.chunkLength);
+        return this.numberAt(this.mapChunk(chunkIndex), 
+                indexInChunk * this.width);
+    }
+    
+    /**
+     * Gives the minimum of a chunk, according to the IEEE-754 total order and 
+     * leaving NaNs out of consideration. If the chunk holds only NaNs, the 
+     * minimum is the chunk's first NaN.
+     * @param chunkIndex The index of the chunk. For example, 3.
+     * @return The minimum. For example, &minus;240.0 in quarter precision.
+     * @throws IOException If the chunk can't be mapped into memory.
+     * @throws IllegalStateException If the file doesn't have chunk 
+     * statistics.
+     * @throws IndexOutOfBoundsException If {@code chunkIndex} is negative or 
+     * not less than the number of chunks.
+     */
+    public FloatingPointNumber getChunkMinimum(int chunkIndex) 
+            throws IOException {
+        if (!this.header.hasStatistics) {
+            throw new IllegalStateException("File has no chunk statistics");
+        }
+        return this.numberAt(this.mapWholeChunk(chunkIndex), 0);
+    }
+    
+    /**
+     * Gives the maximum of a chunk, according to the IEEE-754 total order and 
+     * leaving NaNs out of consideration. If the chunk holds only NaNs, the 
+     * maximum is the chunk's first NaN.
+     * @param chunkIndex The index of the chunk. For example, 3.
+     * @return The maximum. For example, 240.0 in quarter precision.
+     * @throws IOException If the chunk can't be mapped into memory.
+     * @throws IllegalStateException If the file doesn't have chunk 
+     * statistics.
+     * @throws IndexOutOfBoundsException If {@code chunkIndex} is negative or 
+     * not less than the number of chunks.
+     */
+    public FloatingPointNumber getChunkMaximum(int chunkIndex) 
+            throws IOException {
+        if (!this.header.hasStatistics) {
+            throw new IllegalStateException("File has no chunk statistics");
+        }
+        return this.numberAt(this.mapWholeChunk(chunkIndex), this.width);
+    }
+    
+    /**
+     * Loads the quarter precision bit patterns of a chunk into an array.
+     * @param chunkIndex The index of the chunk. For example, 0.
+     * @return An array with one byte per number.
+     * @throws IOException If the chunk can't be mapped into memory.
+     * @throws IllegalStateException If the file doesn't hold quarter 
+     * precision numbers.
+     * @throws IndexOutOfBoundsException If {@code chunkIndex} is negative or 
+     * not less than the number of chunks.
+     */
+    public byte[] readBytes(int chunkIndex) throws IOException {
+        this.ensurePrecision(Precision.QUARTER);
+        ByteBuffer buffer = this.mapChunk(chunkIndex);
+        byte[] bitPatterns = new byte[buffer.remaining()];
+        buffer.get(bitPatterns);
+        return bitPatterns;
+    }
+    
+    /**
+     * Loads the half precision bit patterns of a chunk into an array.
+     * @param chunkIndex The index of the chunk. For example, 0.
+     * @return An array with one <code>short</code> per number.
+     * @throws IOException If the chunk can't be mapped into memory.
+     * @throws IllegalStateException If the file doesn't hold half precision 
+     * numbers.
+     * @throws IndexOutOfBoundsException If {@code chunkIndex} is negative or 
+     * not less than the number of chunks.
+     */
+    public short[] readShorts(int chunkIndex) throws IOException {
+        this.ensurePrecision(Precision.HALF);
+        ByteBuffer buffer = this.mapChunk(chunkIndex);
+        short[] bitPatterns = new short[buffer.remaining() / Short.BYTES];
+        buffer.asShortBuffer().get(bitPatterns);
+        return bitPatterns;
+    }
+    
+    /**
+     * Loads the single precision bit patterns of a chunk into an array.
+     * @param chunkIndex The index of the chunk. For example, 0.
+     * @return An array with one <code>int</code> per number.
+     * @throws IOException If the chunk can't be mapped into memory.
+     * @throws IllegalStateException If the file doesn't hold single precision 
+     * numbers.
+     * @throws IndexOutOfBoundsException If {@code chunkIndex} is negative or 
+     * not less than the number of chunks.
+     */
+    public int[] readInts(int chunkIndex) throws IOException {
+        this.ensurePrecision(Precision.SINGLE);
+        ByteBuffer buffer = this.mapChunk(chunkIndex);
+        int[] bitPatterns = new int[buffer.remaining() / Integer.BYTES];
+        buffer.asIntBuffer().get(bitPatterns);
+        return bitPatterns;
+    }
+    
+    /**
+     * Loads the double, quadruple or octuple precision bit patterns of a chunk 
+     * into an array. A double precision number takes up one <code>long</code>, 
+     * a quadruple precision number two and an octuple precision number four. 
+     * In the case of quadruple and octuple precision, the most significant 
+     * <code>long</code> comes first, regardless of the byte order of the file.
+     * @param chunkIndex The index of the chunk. For example, 0.
+     * @return An array with one, two or four <code>long</code>s per number.
+     * @throws IOException If the chunk can't be mapped into memory.
+     * @throws IllegalStateException If the file doesn't hold double, 
+     * quadruple or octuple precision numbers.
+     * @throws IndexOutOfBoundsException If {@code chunkIndex} is negative or 
+     * not less than the number of chunks.
+     */
+    public long[] readLongs(int chunkIndex) throws IOException {
+        if (this.width < Long.BYTES) {
+            String excMsg = "File holds " + this.header.precision 
+                    + " numbers, which do not take up whole longs";
+            throw new IllegalStateException(excMsg);
+        }
+        ByteBuffer buffer = this.mapChunk(chunkIndex);
+        LongBuffer view = buffer.asLongBuffer();
+        long[] bitPatterns = new long[view.remaining()];
+        view.get(bitPatterns);
+        int limbs = this.width / Long.BYTES;
+        if (limbs > 1 && this.header.byteOrder == ByteOrder.LITTLE_ENDIAN) {
+            for (int index = 0; index < bitPatterns.length; index += limbs) {
+                for (int i = index, j = index + limbs - 1; i < j; i++, j--) {
+                    long temp = bitPatterns[i];
+                    bitPatterns[i] = bitPatterns[j];
+                    bitPatterns[j] = temp;
+                }
+            }
+        }
+        return bitPatterns;
+    }
+    
+    /**
+     * Closes the file. Chunks that have already been mapped remain valid until 
+     * they're garbage collected.
+     * @throws IOException If the file can't be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+    
+    /**
+     * Sole constructor. Only the header is read at this point, the chunks are 
+     * mapped into memory as they're needed.
+     * @param path The path of the file to read.
+     * @throws IOException If the file can't be opened, if the file doesn't 
+     * start with a valid header or if the file is shorter than the header 
+     * says it should be.
+     */
+    public PackedNumberReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            this.header = PackedNumberFileHeader.readFrom(this.channel);
+            this.width = this.header.precision.getByteCount();
+            int chunkCount = this.header.chunkCount();
+            long expectedSize = PackedNumberFileHeader.LENGTH;
+            if (chunkCount > 0) {
+                int last = chunkCount - 1;
+                expectedSize = this.header.chunkPosition(last) 
+                        + (long) this.header.chunkSize(last) * this.width;
+                if (this.header.hasStatistics) {
+                    expectedSize += 2 * this.width;
+                }
+            }
+            long actualSize = this.channel.size();
+            if (actualSize < expectedSize) {
+                String excMsg = "File has " + actualSize 
+                        + " bytes but header calls for " + expectedSize;
+                throw new IOException(excMsg);
+            }
+            this.mappedChunks = new MappedByteBuffer[chunkCount];
+        } catch (IOException ioe) {
+            this.channel.close();
+            throw ioe;
+        }
+    }
+    
+}
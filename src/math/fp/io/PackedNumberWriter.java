@@ -0,0 +1,467 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fp.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+import math.fp.FloatingPointNumber;
+import math.fp.Precision;
+
+import static math.fp.io.PackedNumberFileHeader.compareTotalOrder;
+
+/**
+ * Writes floating point numbers of a single format to a packed number file. 
+ * The numbers are stored as raw bit patterns, a chunk at a time, so that they 
+ * can later be loaded by {@link PackedNumberReader} without any parsing. See 
+ * {@link PackedNumberFileHeader} for the layout of the file. Numbers are 
+ * buffered until a chunk is full, and the header is only finalized when the 
+ * writer is closed. This class is not safe for use by multiple threads.
+ * @author Alonso del Arte
+ */
+public class PackedNumberWriter implements Closeable {
+    
+    /**
+     * The number of numbers per chunk if no other chunk length is specified.
+     */
+    public static final int DEFAULT_CHUNK_LENGTH = 1 << 16;
+    
+    private final FileChannel channel;
+    
+    private final Precision precision;
+    
+    private final ByteOrder byteOrder;
+    
+    private final int chunkLength;
+    
+    private final boolean recordsStatistics;
+    
+    private final int width;
+    
+    private final ByteBuffer chunk;
+    
+    private final ByteBuffer statistics;
+    
+    private long count = 0L;
+    
+    private boolean closed = false;
+    
+    private void ensureOpen() throws IOException {
+        if (this.closed) {
+            throw new IOException("Writer has already been closed");
+        }
+    }
+    
+    private void ensurePrecision(Precision expected) {
+        if (this.precision != expected) {
+            String excMsg = "Writer is for " + this.precision + " numbers, not " 
+                    + expected + " numbers";
+            throw new IllegalStateException(excMsg);
+        }
+    }
+    
+    private void afterPut() throws IOException {
+        this.count++;
+        if (!this.chunk.hasRemaining()) {
+            this.flushChunk();
+        }
+    }
+    
+    private long readBitsAt(int index) {
+        int position = index * this.width;
+        return switch (this.width) {
+            case 1 -> this.chunk.get(position);
+            case 2 -> this.chunk.getShort(position);
+            case 4 -> this.chunk.getInt(position);
+            default -> this.chunk.getLong(position);
+        };
+    }
+    
+    private void putBits(long bits) {
+        switch (this.width) {
+            case 1 -> this.statistics.put((byte) bits);
+            case 2 -> this.statistics.putShort((short) bits);
+            case 4 -> this.statistics.putInt((int) bits);
+            default -> this.statistics.putLong(bits);
+        }
+    }
+    
+    private void recordPrimitiveStatistics(int size) {
+        int bitCount = this.precision.getBitCount();
+        long magnitudeMask = (bitCount == Long.SIZE) ? Long.MAX_VALUE 
+                : (1L << (bitCount - 1)) - 1;
+        long infinityBits = (1L << (bitCount - 1)) 
+                - (1L << this.precision.getMantissaBitCount());
+        long min = this.readBitsAt(0);
+        long max = min;
+        long minKey = Long.MAX_VALUE;
+        long maxKey = Long.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            long bits = this.readBitsAt(i);
+            if ((bits & magnitudeMask) > infinityBits) {
+                continue;
+            }
+            long key = bits ^ ((bits >> 63) >>> 1);
+            if (key <= minKey) {
+                minKey = key;
+                min = bits;
+            }
+            if (key >= maxKey) {
+                maxKey = key;
+                max = bits;
+            }
+        }
+        this.putBits(min);
+        this.putBits(max);
+    }
+    
+    private byte[] readBigEndianAt(int index) {
+        byte[] bits = new byte[this.width];
+        this.chunk.get(index * this.width, bits);
+        if (this.byteOrder == ByteOrder.LITTLE_ENDIAN) {
+            reverse(bits);
+        }
+        return bits;
+    }
+    
+    private void putBigEndian(ByteBuffer buffer, byte[] bits) {
+        if (this.byteOrder == ByteOrder.LITTLE_ENDIAN) {
+            byte[] copy = bits.clone();
+            reverse(copy);
+            buffer.put(copy);
+        } else {
+            buffer.put(bits);
+        }
+    }
+    
+    private void recordWideStatistics(int size) {
+        byte[] min = this.readBigEndianAt(0);
+        byte[] max = min;
+        boolean foundNumber = false;
+        for (int i = 0; i < size; i++) {
+            byte[] bits = this.readBigEndianAt(i);
+            if (PackedNumberFileHeader.isNaN(this.precision, bits)) {
+                continue;
+            }
+            if (!foundNumber) {
+                min = bits;
+                max = bits;
+                foundNumber = true;
+            } else if (compareTotalOrder(bits, min) < 0) {
+                min = bits;
+            } else if (compareTotalOrder(bits, max) > 0) {
+                max = bits;
+            }
+        }
+        this.putBigEndian(this.statistics, min);
+        this.putBigEndian(this.statistics, max);
+    }
+    
+    private void flushChunk() throws IOException {
+        int size = this.chunk.position() / this.width;
+        if (size == 0) {
+            return;
+        }
+        this.chunk.flip();
+        if (this.recordsStatistics) {
+            this.statistics.clear();
+            if (this.width <= Long.BYTES) {
+                this.recordPrimitiveStatistics(size);
+            } else {
+                this.recordWideStatistics(size);
+            }
+            this.statistics.flip();
+            ByteBuffer[] buffers = {this.statistics, this.chunk};
+            while (this.chunk.hasRemaining()) {
+                this.channel.write(buffers);
+            }
+        } else {
+            while (this.chunk.hasRemaining()) {
+                this.channel.write(this.chunk);
+            }
+        }
+        this.chunk.clear();
+    }
+    
+    private static void reverse(byte[] bytes) {
+        for (int i = 0, j = bytes.length - 1; i < j; i++, j--) {
+            byte temp = bytes[i];
+            bytes[i] = bytes[j];
+            bytes[j] = temp;
+        }
+    }
+    
+    /**
+     * Gives the format of the numbers this writer writes.
+     * @return The format. For example, {@link Precision#HALF}.
+     */
+    public Precision getPrecision() {
+        return this.precision;
+    }
+    
+    /**
+     * Gives how many numbers have been written so far.
+     * @return The number of numbers written so far. For example, 1000.
+     */
+    public long getCount() {
+        return this.count;
+    }
+    
+    /**
+     * Writes a single floating point number. The bulk write functions are 
+     * more efficient for large amounts of numbers.
+     * @param number The number to write. For example, 1.5 in half precision.
+     * @throws IOException If the writer has been closed or the chunk could 
+     * not be written to the file.
+     * @throws IllegalArgumentException If {@code number} is not of the format 
+     * this writer was created for.
+     */
+    public void write(FloatingPointNumber number) throws IOException {
+        this.ensureOpen();
+        byte[] bits = number.getBytes();
+        if (bits.length != this.width) {
+            String excMsg = "Number " + number.toString() + " is not a " 
+                    + this.precision + " number";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.putBigEndian(this.chunk, bits);
+        this.afterPut();
+    }
+    
+    /**
+     * Writes quarter precision bit patterns in bulk.
+     * @param bitPatterns The array holding the bit patterns, one byte per 
+     * number.
+     * @param offset The index of the first bit pattern to write.
+     * @param length How many bit patterns to write.
+     * @throws IOException If the writer has been closed or a chunk could not 
+     * be written to the file.
+     * @throws IllegalStateException If this writer is not for quarter 
+     * precision numbers.
+     */
+    public void writeBytes(byte[] bitPatterns, int offset, int length) 
+            throws IOException {
+        this.ensureOpen();
+        this.ensurePrecision(Precision.QUARTER);
+        Objects.checkFromIndexSize(offset, length, bitPatterns.length);
+        int index = offset;
+        int end = offset + length;
+        while (index < end) {
+            int amount = Math.min(end - index, this.chunk.remaining());
+            this.chunk.put(bitPatterns, index, amount);
+            index += amount;
+            this.count += amount;
+            if (!this.chunk.hasRemaining()) {
+                this.flushChunk();
+            }
+        }
+    }
+    
+    /**
+     * Writes half precision bit patterns in bulk.
+     * @param bitPatterns The array holding the bit patterns, one 
+     * <code>short</code> per number.
+     * @param offset The index of the first bit pattern to write.
+     * @param length How many bit patterns to write.
+     * @throws IOException If the writer has been closed or a chunk could not 
+     * be written to the file.
+     * @throws IllegalStateException If this writer is not for half precision 
+     * numbers.
+     */
+    public void writeShorts(short[] bitPatterns, int offset, int length) 
+            throws IOException {
+        this.ensureOpen();
+        this.ensurePrecision(Precision.HALF);
+        Objects.checkFromIndexSize(offset, length, bitPatterns.length);
+        int index = offset;
+        int end = offset + length;
+        while (index < end) {
+            int amount = Math.min(end - index, 
+                    this.chunk.remaining() / Short.BYTES);
+            int position = this.chunk.position();
+            this.chunk.asShortBuffer().put(bitPatterns, index, amount);
+            this.chunk.position(position + amount * Short.BYTES);
+            index += amount;
+            this.count += amount;
+            if (!this.chunk.hasRemaining()) {
+                this.flushChunk();
+            }
+        }
+    }
+    
+    /**
+     * Writes single precision bit patterns in bulk.
+     * @param bitPatterns The array holding the bit patterns, one 
+     * <code>int</code> per number, as given by {@link 
+     * Float#floatToRawIntBits(float)}.
+     * @param offset The index of the first bit pattern to write.
+     * @param length How many bit patterns to write.
+     * @throws IOException If the writer has been closed or a chunk could not 
+     * be written to the file.
+     * @throws IllegalStateException If this writer is not for single 
+     * precision numbers.
+     */
+    public void writeInts(int[] bitPatterns, int offset, int length) 
+            throws IOException {
+        this.ensureOpen();
+        this.ensurePrecision(Precision.SINGLE);
+        Objects.checkFromIndexSize(offset, length, bitPatterns.length);
+        int index = offset;
+        int end = offset + length;
+        while (index < end) {
+            int amount = Math.min(end - index, 
+                    this.chunk.remaining() / Integer.BYTES);
+            int position = this.chunk.position();
+            this.chunk.asIntBuffer().put(bitPatterns, index, amount);
+            this.chunk.position(position + amount * Integer.BYTES);
+            index += amount;
+            this.count += amount;
+            if (!this.chunk.hasRemaining()) {
+                this.flushChunk();
+            }
+        }
+    }
+    
+    /**
+     * Writes double, quadruple or octuple precision bit patterns in bulk. A 
+     * double precision number takes up one <code>long</code>, a quadruple 
+     * precision number two and an octuple precision number four. In the case 
+     * of quadruple and octuple precision, the most significant 
+     * <code>long</code> comes first.
+     * @param bitPatterns The array holding the bit patterns.
+     * @param offset The index of the first <code>long</code> to write.
+     * @param length How many <code>long</code>s to write. Must be a multiple 
+     * of the number of <code>long</code>s per number.
+     * @throws IOException If the writer has been closed or a chunk could not 
+     * be written to the file.
+     * @throws IllegalStateException If this writer is not for double, 
+     * quadruple or octuple precision numbers.
+     * @throws IllegalArgumentException If {@code length} is not a multiple of 
+     * the number of <code>long</code>s per number.
+     */
+    public void writeLongs(long[] bitPatterns, int offset, int length) 
+            throws IOException {
+        this.ensureOpen();
+        if (this.width < Long.BYTES) {
+            String excMsg = "Writer is for " + this.precision 
+                    + " numbers, which do not take up whole longs";
+            throw new IllegalStateException(excMsg);
+        }
+        Objects.checkFromIndexSize(offset, length, bitPatterns.length);
+        int limbs = this.width / Long.BYTES;
+        if (length % limbs != 0) {
+            String excMsg = "Length " + length + " is not a multiple of " 
+                    + limbs;
+            throw new IllegalArgumentException(excMsg);
+        }
+        boolean reversed = limbs > 1 
+                && this.byteOrder == ByteOrder.LITTLE_ENDIAN;
+        for (int index = offset; index < offset + length; index += limbs) {
+            for (int limb = 0; limb < limbs; limb++) {
+                int source = reversed ? index + limbs - 1 - limb : index + limb;
+                this.chunk.putLong(bitPatterns[source]);
+            }
+            this.afterPut();
+        }
+    }
+    
+    /**
+     * Writes any numbers still buffered, finalizes the header and closes the 
+     * file. Calling this function more than once has no further effect.
+     * @throws IOException If the numbers or the header could not be written.
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        try (this.channel) {
+            this.flushChunk();
+            PackedNumberFileHeader header 
+                    = new PackedNumberFileHeader(this.precision, 
+                            this.byteOrder, this.chunkLength, 
+                            this.recordsStatistics, this.count);
+            header.writeTo(this.channel);
+        }
+    }
+    
+    /**
+     * Auxiliary constructor. The numbers are written in big endian order, in 
+     * chunks of {@link #DEFAULT_CHUNK_LENGTH} numbers, each chunk preceded by 
+     * its minimum and maximum.
+     * @param path The path of the file to write. If the file already exists, 
+     * it will be overwritten.
+     * @param precision The format of the numbers to write. For example, 
+     * {@link Precision#HALF}.
+     * @throws IOException If the file can't be opened for writing.
+     */
+    public PackedNumberWriter(Path path, Precision precision) 
+            throws IOException {
+        this(path, precision, ByteOrder.BIG_ENDIAN, DEFAULT_CHUNK_LENGTH, 
+                true);
+    }
+    
+    /**
+     * Primary constructor.
+     * @param path The path of the file to write. If the file already exists, 
+     * it will be overwritten.
+     * @param precision The format of the numbers to write. For example, 
+     * {@link Precision#QUADRUPLE}.
+     * @param order The byte order to write the numbers in. Choosing the 
+     * native order of the machine that will read the file lets the reader 
+     * use the numbers without swapping bytes.
+     * @param chunkLength How many numbers to put in each chunk. For example, 
+     * 4096.
+     * @param recordStatistics Whether or not to precede each chunk with its 
+     * minimum and maximum.
+     * @throws IOException If the file can't be opened for writing.
+     * @throws IllegalArgumentException If {@code chunkLength} is not 
+     * positive or so large that a chunk would take up more than 2 gigabytes.
+     */
+    public PackedNumberWriter(Path path, Precision precision, ByteOrder order, 
+            int chunkLength, boolean recordStatistics) throws IOException {
+        int bytesPerNumber = precision.getByteCount();
+        int maxChunkLength = Integer.MAX_VALUE / bytesPerNumber;
+        if (chunkLength < 1 || chunkLength > maxChunkLength) {
+            String excMsg = "Chunk length " + chunkLength + " is not valid";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.precision = precision;
+        this.byteOrder = order;
+        this.chunkLength = chunkLength;
+        this.recordsStatistics = recordStatistics;
+        this.width = bytesPerNumber;
+        this.chunk = ByteBuffer.allocateDirect(chunkLength * bytesPerNumber) 
+                .order(order);
+        this.statistics = ByteBuffer.allocate(2 * bytesPerNumber).order(order);
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, 
+                StandardOpenOption.WRITE, 
+                StandardOpenOption.TRUNCATE_EXISTING);
+        PackedNumberFileHeader header = new PackedNumberFileHeader(precision, 
+                order, chunkLength, recordStatistics, 0L);
+        header.writeTo(this.channel);
+        this.channel.position(PackedNumberFileHeader.LENGTH);
+    }
+    
+}
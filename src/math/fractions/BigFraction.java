@@ -18,11 +18,539 @@ package math.fractions;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.math.MathContext;
+
+import static math.integer.Calculator.gcd;
+import static math.integer.Calculator.binaryGCD;
 
 /**
- *
+ * Represents a rational number symbolically, with numerator and denominator of 
+ * arbitrary size. Unlike {@link Fraction}, this class is not limited to the 
+ * range of <code>long</code>.
+ * <p>Putting a large fraction in lowest terms takes a greatest common divisor 
+ * calculation that can cost more than the arithmetic that produced it. So 
+ * results whose numerators or denominators are outside the range of 
+ * <code>long</code> are not reduced right away. They're reduced the first time 
+ * lowest terms matter, namely when the numerator or denominator is queried, or 
+ * the fraction is compared, hashed or converted to a <code>String</code>, and 
+ * also after a few operations in a row without reduction, so that the terms 
+ * don't keep growing unchecked. Either way, the reduced terms are kept. Results 
+ * whose terms fit in a <code>long</code> are computed with <code>long</code> 
+ * arithmetic and always kept in lowest terms, since for those the reduction is 
+ * cheap.</p>
  * @author Alonso del Arte
  */
-public class BigFraction {
+public class BigFraction implements Comparable<BigFraction> {
+    
+    private static final int DOUBLE_SIGNIFICAND_BITS = 53;
+    
+    private static final int DOUBLE_MIN_QUANTUM_EXPONENT = -1074;
+    
+    private static final int GUARD_BITS = 2;
+    
+    /**
+     * How many operations in a row may give results that are not reduced to 
+     * lowest terms. The result of the next operation is reduced right away.
+     */
+    private static final int MAX_DEFERRED_REDUCTIONS = 8;
+    
+    /**
+     * The numerator and the denominator, not necessarily in lowest terms. The 
+     * denominator is always positive.
+     */
+    private final BigInteger numerator, denominator;
+    
+    /**
+     * How many operations this fraction is removed from a fraction known to be 
+     * in lowest terms. 0 if this fraction is known to be in lowest terms.
+     */
+    private final int deferredReductions;
+    
+    /**
+     * This fraction in lowest terms, if already worked out. A race between 
+     * threads at worst leads to the reduction being done more than once.
+     */
+    private BigFraction lowestTerms;
+    
+    private BigFraction lowestTerms() {
+        BigFraction reduced = this.lowestTerms;
+        if (reduced == null) {
+            BigInteger adjust = gcd(this.numerator, this.denominator);
+            reduced = new BigFraction(this.numerator.divide(adjust), 
+                    this.denominator.divide(adjust), 0);
+            this.lowestTerms = reduced;
+        }
+        return reduced;
+    }
+    
+    /**
+     * Gives the numerator of this fraction in lowest terms.
+     * @return The numerator. For example, for 
+     * <sup>22</sup>&frasl;<sub>7</sub>, 22.
+     */
+    public BigInteger getNumerator() {
+        return this.lowestTerms().numerator;
+    }
+    
+    /**
+     * Gives the denominator of this fraction in lowest terms. It's always 
+     * positive.
+     * @return The denominator. For example, for 
+     * <sup>22</sup>&frasl;<sub>7</sub>, 7.
+     */
+    public BigInteger getDenominator() {
+        return this.lowestTerms().denominator;
+    }
+    
+    /**
+     * Tells whether this fraction is an integer or not.
+     * @return True if this fraction is an integer, false otherwise. For 
+     * example, true for 22, false for <sup>22</sup>&frasl;<sub>7</sub>.
+     */
+    public boolean isInteger() {
+        return this.lowestTerms().denominator.equals(BigInteger.ONE);
+    }
+    
+    private static boolean fitsInLong(BigInteger number) {
+        return number.bitLength() < Long.SIZE;
+    }
+    
+    /**
+     * Tells whether this fraction and another have terms small enough for the 
+     * <code>long</code> fast paths. Terms that small are always in lowest 
+     * terms, as the constructor reduces them right away.
+     */
+    private boolean longTerms(BigFraction other) {
+        return fitsInLong(this.numerator) && fitsInLong(this.denominator) 
+                && fitsInLong(other.numerator) && fitsInLong(other.denominator);
+    }
+    
+    private int deferredReductions(BigFraction other) {
+        return Math.max(this.deferredReductions, other.deferredReductions) + 1;
+    }
+    
+    /**
+     * Tells whether both the numerator and the denominator of this fraction are 
+     * in the range of <code>long</code>.
+     * @return True if this fraction could be represented by a {@link Fraction} 
+     * without loss, false otherwise. For example, true for 
+     * <sup>22</sup>&frasl;<sub>7</sub>, false for 
+     * <sup>1</sup>&frasl;<sub>9223372036854775808</sub>.
+     */
+    public boolean fitsInLong() {
+        BigFraction reduced = this.lowestTerms();
+        return fitsInLong(reduced.numerator) && fitsInLong(reduced.denominator);
+    }
+    
+    /**
+     * Adds a fraction to this one. For the example, let's say this fraction is 
+     * <sup>1</sup>&frasl;<sub>2</sub>.
+     * @param addend The fraction to add to this one. For example, 
+     * <sup>1</sup>&frasl;<sub>8</sub>.
+     * @return The sum of this fraction and <code>addend</code>. For example, 
+     * <sup>5</sup>&frasl;<sub>8</sub>.
+     */
+    public BigFraction plus(BigFraction addend) {
+        if (this.longTerms(addend)) {
+            try {
+                long numerA = this.numerator.longValue();
+                long denomA = this.denominator.longValue();
+                long numerB = addend.numerator.longValue();
+                long denomB = addend.denominator.longValue();
+                long denomGCD = binaryGCD(denomA, denomB);
+                long numer = Math.addExact(Math.multiplyExact(numerA, 
+                        denomB / denomGCD), Math.multiplyExact(numerB, 
+                                denomA / denomGCD));
+                long adjust = binaryGCD(numer, denomGCD);
+                long denom = Math.multiplyExact(denomA / denomGCD, 
+                        denomB / adjust);
+                return new BigFraction(BigInteger.valueOf(numer / adjust), 
+                        BigInteger.valueOf(denom), 0);
+            } catch (ArithmeticException ae) {
+                // Overflow, fall through to BigInteger arithmetic
+            }
+        }
+        BigInteger interNumerA = this.numerator.multiply(addend.denominator);
+        BigInteger interNumerB = addend.numerator.multiply(this.denominator);
+        BigInteger numer = interNumerA.add(interNumerB);
+        BigInteger denom = this.denominator.multiply(addend.denominator);
+        return new BigFraction(numer, denom, this.deferredReductions(addend));
+    }
+    
+    /**
+     * Adds an integer to this fraction. For the example, let's say this 
+     * fraction is <sup>25</sup>&frasl;<sub>68</sub>.
+     * @param addend The integer to add. For example, 18025.
+     * @return The sum. For example, <sup>1225725</sup>&frasl;<sub>68</sub>.
+     */
+    public BigFraction plus(long addend) {
+        BigInteger numer = this.numerator 
+                .add(this.denominator.multiply(BigInteger.valueOf(addend)));
+        return new BigFraction(numer, this.denominator, 
+                this.deferredReductions);
+    }
+    
+    /**
+     * Multiplies this fraction by &minus;1. For the example, let's say this 
+     * fraction is <sup>25</sup>&frasl;<sub>68</sub>.
+     * @return This fraction negated. For example, 
+     * &minus;<sup>25</sup>&frasl;<sub>68</sub>.
+     */
+    public BigFraction negate() {
+        return new BigFraction(this.numerator.negate(), this.denominator, 
+                this.deferredReductions);
+    }
+    
+    /**
+     * Subtracts a fraction from this one. For the example, let's say this 
+     * fraction is <sup>1</sup>&frasl;<sub>2</sub>.
+     * @param subtrahend The fraction to subtract from this one. For example, 
+     * <sup>1</sup>&frasl;<sub>8</sub>.
+     * @return This fraction minus <code>subtrahend</code>. For example, 
+     * <sup>3</sup>&frasl;<sub>8</sub>.
+     */
+    public BigFraction minus(BigFraction subtrahend) {
+        return this.plus(subtrahend.negate());
+    }
+    
+    /**
+     * Subtracts an integer from this fraction. For the example, let's say this 
+     * fraction is <sup>25</sup>&frasl;<sub>68</sub>.
+     * @param subtrahend The integer to subtract. For example, 18025.
+     * @return This fraction minus <code>subtrahend</code>. For example, 
+     * &minus;<sup>1225675</sup>&frasl;<sub>68</sub>.
+     */
+    public BigFraction minus(long subtrahend) {
+        BigInteger numer = this.numerator.subtract(this.denominator 
+                .multiply(BigInteger.valueOf(subtrahend)));
+        return new BigFraction(numer, this.denominator, 
+                this.deferredReductions);
+    }
+    
+    /**
+     * Multiplies this fraction by another. For the example, suppose this 
+     * fraction is <sup>2</sup>&frasl;<sub>3</sub>.
+     * @param multiplicand The fraction to multiply by. For example, 
+     * <sup>5</sup>&frasl;<sub>7</sub>.
+     * @return The product of this fraction and the multiplicand. In the 
+     * example, <sup>10</sup>&frasl;<sub>21</sub>.
+     */
+    public BigFraction times(BigFraction multiplicand) {
+        if (this.longTerms(multiplicand)) {
+            try {
+                long numerA = this.numerator.longValue();
+                long denomA = this.denominator.longValue();
+                long numerB = multiplicand.numerator.longValue();
+                long denomB = multiplicand.denominator.longValue();
+                long gcdA = binaryGCD(numerA, denomB);
+                long gcdB = binaryGCD(numerB, denomA);
+                long numer = Math.multiplyExact(numerA / gcdA, numerB / gcdB);
+                long denom = Math.multiplyExact(denomA / gcdB, denomB / gcdA);
+                return new BigFraction(BigInteger.valueOf(numer), 
+                        BigInteger.valueOf(denom), 0);
+            } catch (ArithmeticException ae) {
+                // Overflow, fall through to BigInteger arithmetic
+            }
+        }
+        BigInteger numer = this.numerator.multiply(multiplicand.numerator);
+        BigInteger denom = this.denominator.multiply(multiplicand.denominator);
+        return new BigFraction(numer, denom, 
+                this.deferredReductions(multiplicand));
+    }
+    
+    /**
+     * Multiplies this fraction by an integer. For the example, suppose this 
+     * fraction is <sup>2</sup>&frasl;<sub>3</sub>.
+     * @param multiplicand The integer to multiply by. For example, 7.
+     * @return The product of this fraction and the multiplicand. In the 
+     * example, <sup>14</sup>&frasl;<sub>3</sub>.
+     */
+    public BigFraction times(long multiplicand) {
+        BigInteger numer = this.numerator 
+                .multiply(BigInteger.valueOf(multiplicand));
+        return new BigFraction(numer, this.denominator, 
+                this.deferredReductions + 1);
+    }
+    
+    /**
+     * Takes the reciprocal of this fraction. For the example, suppose this 
+     * fraction is <sup>3</sup>&frasl;<sub>7</sub>.
+     * @return The reciprocal. For example, <sup>7</sup>&frasl;<sub>3</sub>.
+     * @throws ArithmeticException If this fraction is 0.
+     */
+    public BigFraction reciprocal() {
+        int signum = this.numerator.signum();
+        if (signum == 0) {
+            String excMsg = "Reciprocal of 0 is undefined";
+            throw new ArithmeticException(excMsg);
+        }
+        if (signum < 0) {
+            return new BigFraction(this.denominator.negate(), 
+                    this.numerator.negate(), this.deferredReductions);
+        }
+        return new BigFraction(this.denominator, this.numerator, 
+                this.deferredReductions);
+    }
+    
+    /**
+     * Divides this fraction by another. For the example, suppose this fraction 
+     * is <sup>2</sup>&frasl;<sub>3</sub>.
+     * @param divisor The fraction to divide this fraction by. For example, 
+     * <sup>5</sup>&frasl;<sub>7</sub>.
+     * @return This fraction divided by <code>divisor</code>. For example, 
+     * <sup>14</sup>&frasl;<sub>15</sub>.
+     * @throws ArithmeticException If <code>divisor</code> is 0.
+     */
+    public BigFraction divides(BigFraction divisor) {
+        return this.times(divisor.reciprocal());
+    }
+    
+    /**
+     * Divides this fraction by an integer. For the example, suppose this 
+     * fraction is <sup>2</sup>&frasl;<sub>3</sub>.
+     * @param divisor The integer to divide this fraction by. For example, 7.
+     * @return This fraction divided by <code>divisor</code>. For example, 
+     * <sup>2</sup>&frasl;<sub>21</sub>.
+     * @throws ArithmeticException If <code>divisor</code> is 0.
+     */
+    public BigFraction divides(long divisor) {
+        return this.divides(new BigFraction(divisor, 1L));
+    }
+    
+    /**
+     * Gives a numeric approximation of this fraction. The result is correctly 
+     * rounded, with ties going to the number whose last mantissa bit is 0, 
+     * even when the numerator and the denominator are both too large for 
+     * <code>double</code>. For the example, suppose this fraction is 
+     * <sup>355</sup>&frasl;<sub>113</sub>.
+     * @return A floating point number approximating this fraction. For example, 
+     * 3.1415929203539825. Fractions too large in absolute value become 
+     * infinities of the same sign.
+     */
+    public double numericApproximation() {
+        int signum = this.numerator.signum();
+        if (signum == 0) {
+            return 0.0;
+        }
+        BigInteger absNumer = this.numerator.abs();
+        int exponent = absNumer.bitLength() - this.denominator.bitLength();
+        int quantumExponent = Math.max(exponent - DOUBLE_SIGNIFICAND_BITS 
+                - GUARD_BITS, DOUBLE_MIN_QUANTUM_EXPONENT - GUARD_BITS);
+        BigInteger scaledNumer = absNumer;
+        BigInteger scaledDenom = this.denominator;
+        if (quantumExponent < 0) {
+            scaledNumer = scaledNumer.shiftLeft(-quantumExponent);
+        } else {
+            scaledDenom = scaledDenom.shiftLeft(quantumExponent);
+        }
+        BigInteger[] quotientAndRemainder 
+                = scaledNumer.divideAndRemainder(scaledDenom);
+        BigInteger quotient = quotientAndRemainder[0];
+        boolean sticky = quotientAndRemainder[1].signum() != 0;
+        int drop = Math.max(quotient.bitLength() - DOUBLE_SIGNIFICAND_BITS, 
+                DOUBLE_MIN_QUANTUM_EXPONENT - quantumExponent);
+        sticky |= quotient.getLowestSetBit() < drop - 1;
+        boolean roundBit = quotient.testBit(drop - 1);
+        quotient = quotient.shiftRight(drop);
+        if (roundBit && (sticky || quotient.testBit(0))) {
+            quotient = quotient.add(BigInteger.ONE);
+        }
+        double magnitude = Math.scalb(quotient.doubleValue(), 
+                quantumExponent + drop);
+        return signum < 0 ? -magnitude : magnitude;
+    }
+    
+    /**
+     * Gives this fraction as a {@link Fraction}.
+     * @return A <code>Fraction</code> of the same value. For example, for 
+     * <sup>22</sup>&frasl;<sub>7</sub>, <sup>22</sup>&frasl;<sub>7</sub>. If 
+     * the numerator or the denominator is outside the range of 
+     * <code>long</code>, the <code>Fraction</code> is backed by this 
+     * <code>BigFraction</code>.
+     */
+    public Fraction toFraction() {
+        return new Fraction(this);
+    }
+    
+    /**
+     * Gives a decimal approximation of this fraction.
+     * @param mc The precision and rounding mode to use. For example, 
+     * <code>MathContext.DECIMAL64</code>.
+     * @return The decimal approximation. For example, for 
+     * <sup>355</sup>&frasl;<sub>113</sub> with <code>DECIMAL64</code>, 
+     * 3.141592920353982.
+     */
+    public BigDecimal toBigDecimal(MathContext mc) {
+        BigDecimal numer = new BigDecimal(this.numerator);
+        return numer.divide(new BigDecimal(this.denominator), mc);
+    }
+    
+    /**
+     * Determines whether this fraction is equal to another object.
+     * @param obj The object to compare. For example, 
+     * <sup>22</sup>&frasl;<sub>7</sub>.
+     * @return True if <code>obj</code> is a <code>BigFraction</code> of the 
+     * same value, false otherwise.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (!this.getClass().equals(obj.getClass())) {
+            return false;
+        }
+        BigFraction reduced = this.lowestTerms();
+        BigFraction other = ((BigFraction) obj).lowestTerms();
+        if (!reduced.numerator.equals(other.numerator)) {
+            return false;
+        }
+        return reduced.denominator.equals(other.denominator);
+    }
+    
+    /**
+     * Gives a hash code for this fraction.
+     * @return A hash code. For fractions that fit in the range of 
+     * <code>long</code>, this is the same as the hash code of the {@link 
+     * Fraction} with the same value.
+     */
+    @Override
+    public int hashCode() {
+        BigFraction reduced = this.lowestTerms();
+        int hash = reduced.numerator.intValue();
+        hash += (int) (reduced.denominator.longValue() << 16);
+        return hash;
+    }
+    
+    /**
+     * Compares this fraction to another fraction.
+     * @param other The fraction to compare to. For example, 
+     * <sup>22</sup>&frasl;<sub>7</sub>.
+     * @return A negative number if this fraction is less than 
+     * <code>other</code>, 0 if they're equal, a positive number if this 
+     * fraction is greater.
+     */
+    @Override
+    public int compareTo(BigFraction other) {
+        BigFraction reduced = this.lowestTerms();
+        BigFraction otherReduced = other.lowestTerms();
+        BigInteger crossA = reduced.numerator 
+                .multiply(otherReduced.denominator);
+        BigInteger crossB = otherReduced.numerator 
+                .multiply(reduced.denominator);
+        return crossA.compareTo(crossB);
+    }
+    
+    @Override
+    public String toString() {
+        BigFraction reduced = this.lowestTerms();
+        String intermediate = reduced.numerator.abs() + "/" 
+                + reduced.denominator;
+        if (reduced.numerator.signum() < 0) {
+            intermediate = "\u2212" + intermediate;
+        }
+        if (this.isInteger()) {
+            intermediate = intermediate.replace("/1", "");
+        }
+        return intermediate;
+    }
+    
+    /**
+     * Auxiliary constructor. Constructor for a fraction that is arithmetically 
+     * equal to an integer. The denominator 1 is tacit.
+     * @param numer The fraction's numerator. For example, 
+     * 9223372036854775808.
+     */
+    public BigFraction(BigInteger numer) {
+        this(numer, BigInteger.ONE);
+    }
+    
+    /**
+     * Auxiliary constructor. Constructor for a fraction with numerator and 
+     * denominator in the range of <code>long</code>.
+     * @param numer The fraction's numerator. For example, 22.
+     * @param denom The fraction's denominator. For example, 7.
+     * @throws ArithmeticException If <code>denom</code> is 0.
+     */
+    public BigFraction(long numer, long denom) {
+        this(BigInteger.valueOf(numer), BigInteger.valueOf(denom));
+    }
+    
+    /**
+     * Gives the fraction equal to an integer times a power of two. The result 
+     * is put in lowest terms with shifts alone, without a greatest common 
+     * divisor calculation. This is how the exact values of binary floating 
+     * point numbers are best turned into fractions.
+     * @param significand The integer. For example, 3.
+     * @param binaryExponent The power of two to multiply the integer by. May be 
+     * negative. For example, &minus;4.
+     * @return The fraction. For example, <sup>3</sup>&frasl;<sub>16</sub>.
+     */
+    public static BigFraction valueOf(BigInteger significand, 
+            int binaryExponent) {
+        if (significand.signum() == 0) {
+            return new BigFraction(BigInteger.ZERO, BigInteger.ONE, 0);
+        }
+        if (binaryExponent >= 0) {
+            return new BigFraction(significand.shiftLeft(binaryExponent), 
+                    BigInteger.ONE, 0);
+        }
+        int shift = Math.min(significand.getLowestSetBit(), -binaryExponent);
+        BigInteger denom = BigInteger.ONE.shiftLeft(-binaryExponent - shift);
+        return new BigFraction(significand.shiftRight(shift), denom, 0);
+    }
+    
+    /**
+     * Primary constructor. The fraction is put in lowest terms, with a positive 
+     * denominator, right away if both terms are in the range of 
+     * <code>long</code>, but lazily otherwise. For the examples, consider the 
+     * fraction <sup>22</sup>&frasl;<sub>7</sub>.
+     * @param numer The fraction's numerator. For example, 22.
+     * @param denom The fraction's denominator. For example, 7.
+     * @throws ArithmeticException If <code>denom</code> is 0.
+     */
+    public BigFraction(BigInteger numer, BigInteger denom) {
+        this(checkedNumerator(numer, denom), denom.abs(), 1);
+    }
+    
+    private static BigInteger checkedNumerator(BigInteger numer, 
+            BigInteger denom) {
+        int signum = denom.signum();
+        if (signum == 0) {
+            String excMsg = "Denominator " + denom + " is not valid";
+            throw new ArithmeticException(excMsg);
+        }
+        return signum < 0 ? numer.negate() : numer;
+    }
+    
+    /**
+     * Constructor for the results of operations. Terms in the range of 
+     * <code>long</code> are reduced right away, as are the terms of a result 
+     * that has gone too many operations without reduction.
+     * @param numer The numerator. For example, 44.
+     * @param denom The denominator. Should be positive. For example, 14.
+     * @param deferred How many operations this fraction is removed from a 
+     * fraction known to be in lowest terms. Should be 0 if and only if 
+     * <code>numer</code> and <code>denom</code> are already in lowest terms. 
+     * For example, 1.
+     */
+    private BigFraction(BigInteger numer, BigInteger denom, int deferred) {
+        if (deferred > 0 && ((fitsInLong(numer) && fitsInLong(denom)) 
+                || deferred > MAX_DEFERRED_REDUCTIONS)) {
+            BigInteger adjust = gcd(numer, denom);
+            numer = numer.divide(adjust);
+            denom = denom.divide(adjust);
+            deferred = 0;
+        }
+        this.numerator = numer;
+        this.denominator = denom;
+        this.deferredReductions = deferred;
+        if (deferred == 0) {
+            this.lowestTerms = this;
+        }
+    }
     
 }
@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fractions;
+
+import java.math.BigInteger;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Goes through the convergents of the continued fraction expansion of a 
+ * fraction, one at a time. The partial quotients are worked out as needed, by 
+ * the Euclidean algorithm on the numerator and the denominator, so stopping 
+ * early costs nothing for the convergents not reached. The last convergent is 
+ * the fraction itself. For example, the convergents of 
+ * <sup>355</sup>&frasl;<sub>113</sub> = [3; 7, 16] are 3, 
+ * <sup>22</sup>&frasl;<sub>7</sub> and <sup>355</sup>&frasl;<sub>113</sub>.
+ * <p>The partial quotients are floors, so the first partial quotient of a 
+ * negative fraction is negative and the rest are positive. For fractions in 
+ * the range of <code>long</code>, all the work is done in <code>long</code> 
+ * arithmetic, which can't overflow, since the terms of the convergents are no 
+ * larger than the terms of the fraction. For fractions backed by a {@link 
+ * BigFraction}, the work is done in <code>BigInteger</code> arithmetic.</p>
+ * @author Alonso del Arte
+ */
+public class Convergents implements Iterator<Fraction> {
+    
+    /**
+     * The remaining numerator and denominator of the Euclidean algorithm, and 
+     * the last two convergents, for fractions in the range of 
+     * <code>long</code>. When the remaining denominator reaches 0, there are 
+     * no more convergents.
+     */
+    private long remNumer, remDenom, prevNumer, prevDenom, currNumer, currDenom;
+    
+    /**
+     * The same as the <code>long</code> fields, for fractions backed by a 
+     * <code>BigFraction</code>. Null otherwise.
+     */
+    private BigInteger bigRemNumer, bigRemDenom, bigPrevNumer, bigPrevDenom, 
+            bigCurrNumer, bigCurrDenom;
+    
+    private final long denominator;
+    
+    private final BigInteger bigDenominator;
+    
+    /**
+     * Tells whether there are more convergents to go through.
+     * @return True if the last convergent given was not yet the fraction 
+     * itself, false if it was.
+     */
+    @Override
+    public boolean hasNext() {
+        if (this.bigRemDenom == null) {
+            return this.remDenom != 0L;
+        }
+        return this.bigRemDenom.signum() != 0;
+    }
+    
+    private void advance(long quotient) {
+        long numer = this.prevNumer + quotient * this.currNumer;
+        long denom = this.prevDenom + quotient * this.currDenom;
+        this.prevNumer = this.currNumer;
+        this.prevDenom = this.currDenom;
+        this.currNumer = numer;
+        this.currDenom = denom;
+        long rem = this.remNumer - quotient * this.remDenom;
+        this.remNumer = this.remDenom;
+        this.remDenom = rem;
+    }
+    
+    private BigInteger bigQuotient() {
+        BigInteger[] quotAndRem = this.bigRemNumer 
+                .divideAndRemainder(this.bigRemDenom);
+        if (quotAndRem[1].signum() < 0) {
+            return quotAndRem[0].subtract(BigInteger.ONE);
+        }
+        return quotAndRem[0];
+    }
+    
+    private void advance(BigInteger quotient) {
+        BigInteger numer = this.bigPrevNumer 
+                .add(quotient.multiply(this.bigCurrNumer));
+        BigInteger denom = this.bigPrevDenom 
+                .add(quotient.multiply(this.bigCurrDenom));
+        this.bigPrevNumer = this.bigCurrNumer;
+        this.bigPrevDenom = this.bigCurrDenom;
+        this.bigCurrNumer = numer;
+        this.bigCurrDenom = denom;
+        BigInteger rem = this.bigRemNumer 
+                .subtract(quotient.multiply(this.bigRemDenom));
+        this.bigRemNumer = this.bigRemDenom;
+        this.bigRemDenom = rem;
+    }
+    
+    /**
+     * Gives the next convergent.
+     * @return The next convergent, in lowest terms. For example, if the 
+     * previous convergent of <sup>355</sup>&frasl;<sub>113</sub> was 3, 
+     * <sup>22</sup>&frasl;<sub>7</sub>.
+     * @throws NoSuchElementException If the last convergent given was already 
+     * the fraction itself.
+     */
+    @Override
+    public Fraction next() {
+        if (!this.hasNext()) {
+            String excMsg = "No convergents after the fraction itself";
+            throw new NoSuchElementException(excMsg);
+        }
+        if (this.bigRemDenom == null) {
+            this.advance(Math.floorDiv(this.remNumer, this.remDenom));
+            return new Fraction(this.currNumer, this.currDenom);
+        }
+        this.advance(this.bigQuotient());
+        return new BigFraction(this.bigCurrNumer, this.bigCurrDenom) 
+                .toFraction();
+    }
+    
+    /**
+     * Finds the fraction nearest to the fraction this iterator was made for 
+     * among the fractions with denominators no larger than a given limit. Uses 
+     * up this iterator. Following Python's 
+     * <code>Fraction.limit_denominator()</code>, the search goes through the 
+     * convergents until the next denominator would be over the limit, and 
+     * then picks the nearer of the last convergent and the semiconvergent 
+     * with the largest denominator within the limit. The fraction's 
+     * denominator is assumed to be over the limit.
+     */
+    Fraction bestApproximation(long maxDenominator) {
+        if (this.bigRemDenom == null) {
+            while (this.remDenom != 0L) {
+                long quotient = Math.floorDiv(this.remNumer, this.remDenom);
+                long nextDenom = this.prevDenom + quotient * this.currDenom;
+                if (nextDenom > maxDenominator) {
+                    break;
+                }
+                this.advance(quotient);
+            }
+            long multiple = (maxDenominator - this.prevDenom) / this.currDenom;
+            long boundDenom = this.prevDenom + multiple * this.currDenom;
+            if (Math.multiplyHigh(this.remDenom, boundDenom) == 0L 
+                    && Long.compareUnsigned(this.remDenom * boundDenom, 
+                            this.denominator >>> 1) <= 0) {
+                return new Fraction(this.currNumer, this.currDenom);
+            }
+            return new Fraction(this.prevNumer + multiple * this.currNumer, 
+                    boundDenom);
+        }
+        BigInteger max = BigInteger.valueOf(maxDenominator);
+        while (this.bigRemDenom.signum() != 0) {
+            BigInteger quotient = this.bigQuotient();
+            BigInteger nextDenom = this.bigPrevDenom 
+                    .add(quotient.multiply(this.bigCurrDenom));
+            if (nextDenom.compareTo(max) > 0) {
+                break;
+            }
+            this.advance(quotient);
+        }
+        BigInteger multiple = max.subtract(this.bigPrevDenom) 
+                .divide(this.bigCurrDenom);
+        BigInteger boundDenom = this.bigPrevDenom 
+                .add(multiple.multiply(this.bigCurrDenom));
+        if (this.bigRemDenom.multiply(boundDenom).shiftLeft(1) 
+                .compareTo(this.bigDenominator) <= 0) {
+            return new BigFraction(this.bigCurrNumer, this.bigCurrDenom) 
+                    .toFraction();
+        }
+        return new BigFraction(this.bigPrevNumer 
+                .add(multiple.multiply(this.bigCurrNumer)), boundDenom) 
+                .toFraction();
+    }
+    
+    /**
+     * Sole constructor. The first convergent is the floor of the fraction.
+     * @param value The fraction to expand. For example, 
+     * <sup>355</sup>&frasl;<sub>113</sub>.
+     */
+    public Convergents(Fraction value) {
+        if (value.isPromoted()) {
+            BigFraction big = value.toBigFraction();
+            this.bigRemNumer = big.getNumerator();
+            this.bigRemDenom = big.getDenominator();
+            this.bigPrevNumer = BigInteger.ZERO;
+            this.bigPrevDenom = BigInteger.ONE;
+            this.bigCurrNumer = BigInteger.ONE;
+            this.bigCurrDenom = BigInteger.ZERO;
+            this.bigDenominator = this.bigRemDenom;
+            this.denominator = 0L;
+        } else {
+            this.remNumer = value.getNumerator();
+            this.remDenom = value.getDenominator();
+            this.prevNumer = 0L;
+            this.prevDenom = 1L;
+            this.currNumer = 1L;
+            this.currDenom = 0L;
+            this.denominator = this.remDenom;
+            this.bigDenominator = null;
+        }
+    }
+    
+}
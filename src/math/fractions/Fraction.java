@@ -16,36 +16,143 @@
  */
 package math.fractions;
 
-import static math.integer.Calculator.euclideanGCD;
+import java.math.BigInteger;
+
+import static math.integer.Calculator.gcd;
 
 /**
- * Represents a rational number symbolically. This class is limited to fractions 
- * with numerators and denominators in the range of <code>long</code>.
+ * Represents a rational number symbolically. Arithmetic is done with 
+ * <code>long</code> primitives as long as the numerators and denominators stay 
+ * in that range. An operation that would overflow is detected and transparently 
+ * redone with a {@link BigFraction}, and the result is then backed by that 
+ * <code>BigFraction</code> until an operation brings it back into range.
  * @author Alonso del Arte
  */
 public class Fraction implements Comparable<Fraction> {
     
+    /**
+     * The largest integer such that it and every integer of smaller absolute 
+     * value are exactly representable as <code>double</code>. If the numerator 
+     * and the denominator are both within this limit, dividing one by the 
+     * other in <code>double</code> arithmetic is correctly rounded.
+     */
+    private static final long EXACT_LIMIT = 1L << 53;
+    
+    private static final int DOUBLE_MANTISSA_BITS = 52;
+    
+    /**
+     * How large in absolute value the numerator and the denominator of a 
+     * fraction in lowest terms can be for {@link #of(long, long)} to cache it.
+     */
+    private static final int SMALL_CACHE_LIMIT = 32;
+    
+    /**
+     * How large in absolute value the odd part of the significand and the 
+     * binary exponent can be for {@link #valueOf(long, int)} to cache the 
+     * fraction. This covers every finite quarter precision number.
+     */
+    private static final int DYADIC_CACHE_ODD_LIMIT = 15;
+    
+    private static final int DYADIC_CACHE_EXPONENT_LIMIT = 16;
+    
+    /**
+     * The cached fractions, filled in as they're asked for. Two threads may 
+     * race to fill in the same slot, but since all the fields of 
+     * <code>Fraction</code> are final, either thread's object is safe to give 
+     * out, and they're equal.
+     */
+    private static final Fraction[] SMALL_CACHE 
+            = new Fraction[(2 * SMALL_CACHE_LIMIT + 1) * SMALL_CACHE_LIMIT];
+    
+    private static final Fraction[] DYADIC_CACHE 
+            = new Fraction[(DYADIC_CACHE_ODD_LIMIT + 1) 
+            * (2 * DYADIC_CACHE_EXPONENT_LIMIT + 1)];
+    
     private final long numerator, denominator;
     
+    /**
+     * The value of this fraction if it's outside the range of 
+     * <code>long</code>, null otherwise.
+     */
+    private final BigFraction promoted;
+    
+    /**
+     * Gives the numerator of this fraction.
+     * @return The numerator. For example, for <sup>22</sup>&frasl;<sub>7</sub>, 
+     * 22.
+     * @throws ArithmeticException If the numerator or the denominator is 
+     * outside the range of <code>long</code>. Use {@link #toBigFraction()} to 
+     * get the numerator of such a fraction.
+     */
     public long getNumerator() {
+        this.checkLongRange();
         return this.numerator;
     }
     
+    /**
+     * Gives the denominator of this fraction.
+     * @return The denominator. For example, for 
+     * <sup>22</sup>&frasl;<sub>7</sub>, 7.
+     * @throws ArithmeticException If the numerator or the denominator is 
+     * outside the range of <code>long</code>. Use {@link #toBigFraction()} to 
+     * get the denominator of such a fraction.
+     */
     public long getDenominator() {
+        this.checkLongRange();
         return this.denominator;
     }
     
+    private void checkLongRange() {
+        if (this.promoted != null) {
+            String excMsg = "Fraction " + this.promoted.toString() 
+                    + " is outside the range of long";
+            throw new ArithmeticException(excMsg);
+        }
+    }
+    
+    /**
+     * Tells whether this fraction had to be promoted to a {@link BigFraction} 
+     * because its numerator or its denominator is outside the range of 
+     * <code>long</code>.
+     * @return True if this fraction is backed by a <code>BigFraction</code>, 
+     * false otherwise. For example, true for 
+     * <sup>1</sup>&frasl;<sub>9223372036854775808</sub>, false for 
+     * <sup>22</sup>&frasl;<sub>7</sub>.
+     */
+    public boolean isPromoted() {
+        return this.promoted != null;
+    }
+    
+    /**
+     * Gives this fraction as a {@link BigFraction}.
+     * @return A <code>BigFraction</code> of the same value. For example, for 
+     * <sup>22</sup>&frasl;<sub>7</sub>, <sup>22</sup>&frasl;<sub>7</sub>.
+     */
+    public BigFraction toBigFraction() {
+        if (this.promoted != null) {
+            return this.promoted;
+        }
+        return new BigFraction(this.numerator, this.denominator);
+    }
+    
     /**
      * Tells whether this fraction is an integer or not.
      * @return True if this fraction is an integer, false otherwise. For 
      * example, true for 22, false for <sup>22</sup>&frasl;<sub>7</sub>.
      */
     public boolean isInteger() {
+        if (this.promoted != null) {
+            return this.promoted.isInteger();
+        }
         return this.denominator == 1L;
     }
     
     /**
-     * Adds a fraction to this one. For the example, let's say this fraction is 
+     * Adds a fraction to this one. The greatest common divisor of the 
+     * denominators is divided out before cross multiplying, as in Knuth's 
+     * <i>Seminumerical Algorithms</i>, section 4.5.1, which keeps the 
+     * intermediate products small and leaves only a GCD with that divisor to 
+     * put the sum in lowest terms. For the example, let's say this fraction is 
      * <sup>1</sup>&frasl;<sub>2</sub>.
      * @param addend The fraction to add to this one. For example, 
      * <sup>1</sup>&frasl;<sub>8</sub>.
@@ -53,11 +160,30 @@ public class Fraction implements Comparable<Fraction> {
      * <sup>5</sup>&frasl;<sub>8</sub>.
      */
     public Fraction plus(Fraction addend) {
-        long interNumerA = this.numerator * addend.denominator;
-        long interNumerB = addend.numerator * this.denominator;
-        long numer = interNumerA + interNumerB;
-        long denom = this.denominator * addend.denominator;
-        return new Fraction(numer, denom);
+        if (this.promoted == null && addend.promoted == null) {
+            try {
+                long denomGCD = gcd(this.denominator, addend.denominator);
+                long reducedDenomA = this.denominator / denomGCD;
+                long reducedDenomB = addend.denominator / denomGCD;
+                long interNumerA = Math.multiplyExact(this.numerator, 
+                        reducedDenomB);
+                long interNumerB = Math.multiplyExact(addend.numerator, 
+                        reducedDenomA);
+                long numer = Math.addExact(interNumerA, interNumerB);
+                if (denomGCD == 1L) {
+                    long denom = Math.multiplyExact(this.denominator, 
+                            addend.denominator);
+                    return ofLowestTerms(numer, denom);
+                }
+                long adjust = gcd(numer, denomGCD);
+                long denom = Math.multiplyExact(reducedDenomA, 
+                        addend.denominator / adjust);
+                return ofLowestTerms(numer / adjust, denom);
+            } catch (ArithmeticException ae) {
+                // Overflow, fall through to BigFraction arithmetic
+            }
+        }
+        return new Fraction(this.toBigFraction().plus(addend.toBigFraction()));
     }
     
     /**
@@ -67,8 +193,16 @@ public class Fraction implements Comparable<Fraction> {
      * @return The sum. For example, <sup>1225725</sup>&frasl;<sub>68</sub>.
      */
     public Fraction plus(int addend) {
-        long numer = this.numerator + this.denominator * addend;
-        return new Fraction(numer, this.denominator);
+        if (this.promoted == null) {
+            try {
+                long numer = Math.addExact(this.numerator, 
+                        Math.multiplyExact(this.denominator, addend));
+                return ofLowestTerms(numer, this.denominator);
+            } catch (ArithmeticException ae) {
+                // Overflow, fall through to BigFraction arithmetic
+            }
+        }
+        return new Fraction(this.toBigFraction().plus(addend));
     }
     
     /**
@@ -80,7 +214,10 @@ public class Fraction implements Comparable<Fraction> {
      * object or a fresh instance.
      */
     public Fraction negate() {
-        return new Fraction(-this.numerator, this.denominator);
+        if (this.promoted == null && this.numerator != Long.MIN_VALUE) {
+            return ofLowestTerms(-this.numerator, this.denominator);
+        }
+        return new Fraction(this.toBigFraction().negate());
     }
     
     /**
@@ -103,11 +240,17 @@ public class Fraction implements Comparable<Fraction> {
      * &minus;<sup>1225675</sup>&frasl;<sub>68</sub>.
      */
     public Fraction minus(int subtrahend) {
+        if (subtrahend == Integer.MIN_VALUE) {
+            return new Fraction(this.toBigFraction().minus(subtrahend));
+        }
         return this.plus(-subtrahend);
     }
     
     /**
-     * Multiplies this fraction by another. For the example, suppose this 
+     * Multiplies this fraction by another. Each numerator is cancelled against 
+     * the other fraction's denominator before multiplying, so the product is 
+     * already in lowest terms and overflows only if the reduced result itself 
+     * is outside the range of <code>long</code>. For the example, suppose this 
      * fraction is <sup>2</sup>&frasl;<sub>3</sub>.
      * @param multiplicand The fraction to multiply by. For example, 
      * <sup>5</sup>&frasl;<sub>7</sub>.
@@ -115,9 +258,24 @@ public class Fraction implements Comparable<Fraction> {
      * example, <sup>10</sup>&frasl;<sub>21</sub>.
      */
     public Fraction times(Fraction multiplicand) {
-        long numer = this.numerator * multiplicand.numerator;
-        long denom = this.denominator * multiplicand.denominator;
-        return new Fraction(numer, denom);
+        if (this.promoted == null && multiplicand.promoted == null) {
+            try {
+                long gcdA = gcd(this.numerator, 
+                        multiplicand.denominator);
+                long gcdB = gcd(multiplicand.numerator, 
+                        this.denominator);
+                long numer = Math.multiplyExact(this.numerator / gcdA, 
+                        multiplicand.numerator / gcdB);
+                long denom = Math.multiplyExact(this.denominator / gcdB, 
+                        multiplicand.denominator / gcdA);
+                return ofLowestTerms(numer, denom);
+            } catch (ArithmeticException ae) {
+                // Overflow, fall through to BigFraction arithmetic
+            }
+        }
+        BigFraction product = this.toBigFraction() 
+                .times(multiplicand.toBigFraction());
+        return new Fraction(product);
     }
     
     /**
@@ -128,8 +286,17 @@ public class Fraction implements Comparable<Fraction> {
      * example, <sup>14</sup>&frasl;<sub>3</sub>.
      */
     public Fraction times(int multiplicand) {
-        long numer = this.numerator * multiplicand;
-        return new Fraction(numer, this.denominator);
+        if (this.promoted == null) {
+            try {
+                long cancel = gcd(multiplicand, this.denominator);
+                long numer = Math.multiplyExact(this.numerator, 
+                        multiplicand / cancel);
+                return ofLowestTerms(numer, this.denominator / cancel);
+            } catch (ArithmeticException ae) {
+                // Overflow, fall through to BigFraction arithmetic
+            }
+        }
+        return new Fraction(this.toBigFraction().times(multiplicand));
     }
     
     /**
@@ -140,7 +307,16 @@ public class Fraction implements Comparable<Fraction> {
      * @throws ArithmeticException If this fraction is 0.
      */
     public Fraction reciprocal() {
-        return new Fraction(this.denominator, this.numerator);
+        if (this.promoted == null && this.numerator != Long.MIN_VALUE) {
+            if (this.numerator > 0L) {
+                return ofLowestTerms(this.denominator, this.numerator);
+            }
+            if (this.numerator < 0L) {
+                return ofLowestTerms(-this.denominator, -this.numerator);
+            }
+            return new Fraction(this.denominator, this.numerator);
+        }
+        return new Fraction(this.toBigFraction().reciprocal());
     }
     
     /**
@@ -165,7 +341,19 @@ public class Fraction implements Comparable<Fraction> {
      * @throws ArithmeticException If <code>divisor</code> is 0.
      */
     public Fraction divides(int divisor) {
-        return new Fraction(this.numerator, this.denominator * divisor);
+        if (this.promoted == null && divisor != 0) {
+            try {
+                long cancel = gcd(this.numerator, divisor);
+                long denom = Math.multiplyExact(this.denominator, 
+                        divisor / cancel);
+                if (denom != Long.MIN_VALUE) {
+                    return new Fraction(this.numerator / cancel, denom);
+                }
+            } catch (ArithmeticException ae) {
+                // Overflow, fall through to BigFraction arithmetic
+            }
+        }
+        return new Fraction(this.toBigFraction().divides(divisor));
     }
     
     /**
@@ -175,13 +363,67 @@ public class Fraction implements Comparable<Fraction> {
      * 3.1415929203539825.
      */
     public double numericApproximation() {
+        if (this.promoted != null || Math.abs(this.numerator) > EXACT_LIMIT 
+                || this.denominator > EXACT_LIMIT) {
+            return this.toBigFraction().numericApproximation();
+        }
         return ((double) this.numerator) / this.denominator;
     }
     
     /**
-     * 
-     * @param obj
-     * @return 
+     * Gives an iterator over the convergents of the continued fraction 
+     * expansion of this fraction. For the example, suppose this fraction is 
+     * <sup>355</sup>&frasl;<sub>113</sub>.
+     * @return An iterator giving, for example, 3, 
+     * <sup>22</sup>&frasl;<sub>7</sub> and <sup>355</sup>&frasl;<sub>113</sub>, 
+     * in that order.
+     */
+    public Convergents convergents() {
+        return new Convergents(this);
+    }
+    
+    /**
+     * Finds the fraction nearest to this one among the fractions with 
+     * denominators no larger than a given limit. This is done with the 
+     * convergents and semiconvergents of the continued fraction expansion of 
+     * this fraction, which takes a number of steps proportional to the number 
+     * of digits of the denominator rather than to the limit. For the example, 
+     * suppose this fraction is <sup>3126535</sup>&frasl;<sub>995207</sub>.
+     * @param maxDenominator The largest denominator allowed. For example, 
+     * 1000.
+     * @return The nearest fraction, or the one with the smaller denominator in 
+     * case of a tie. For example, <sup>355</sup>&frasl;<sub>113</sub>. If this 
+     * fraction's denominator is within the limit, this fraction itself.
+     * @throws IllegalArgumentException If <code>maxDenominator</code> is 0 or 
+     * negative.
+     */
+    public Fraction bestApproximation(long maxDenominator) {
+        if (maxDenominator < 1L) {
+            String excMsg = "Maximum denominator " + maxDenominator 
+                    + " should be positive";
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (this.promoted == null ? this.denominator <= maxDenominator 
+                : this.promoted.getDenominator().bitLength() < Long.SIZE 
+                && this.promoted.getDenominator().longValue() 
+                <= maxDenominator) {
+            return this;
+        }
+        return new Convergents(this).bestApproximation(maxDenominator);
+    }
+    
+    /**
+     * Determines whether this fraction is equal to another object. Since 
+     * fractions are put in lowest terms on construction, this is the same as 
+     * being equal in value. For example, 
+     * <sup>2</sup>&frasl;<sub>4</sub> is equal to 
+     * <sup>1</sup>&frasl;<sub>2</sub>.
+     * @param obj The object to compare to. For example, 
+     * <sup>22</sup>&frasl;<sub>7</sub>.
+     * @return True if <code>obj</code> is a <code>Fraction</code> of the same 
+     * value, false otherwise. Fractions backed by a {@link BigFraction} are 
+     * compared by that value. A <code>Fraction</code> is never equal to a 
+     * <code>BigFraction</code>, even one of the same value.
      */
     @Override
     public boolean equals(Object obj) {
@@ -195,6 +437,9 @@ public class Fraction implements Comparable<Fraction> {
             return false;
         }
         Fraction other = (Fraction) obj;
+        if (this.promoted != null || other.promoted != null) {
+            return this.toBigFraction().equals(other.toBigFraction());
+        }
         if (this.numerator != other.numerator) {
             return false;
         }
@@ -202,24 +447,70 @@ public class Fraction implements Comparable<Fraction> {
     }
     
     /**
-     * 
-     * @return 
+     * Gives a hash code for this fraction.
+     * @return A hash code. This is the same as the hash code of the {@link 
+     * BigFraction} with the same value, whether or not this fraction is backed 
+     * by one. For example, for <sup>22</sup>&frasl;<sub>7</sub>, 458774.
      */
     @Override
     public int hashCode() {
+        if (this.promoted != null) {
+            return this.promoted.hashCode();
+        }
         int hash = (int) this.numerator;
         hash += (int) (this.denominator << 16);
         return hash;
     }
     
-    // TODO: Write tests for this
+    /**
+     * Compares this fraction to another fraction. Unless either fraction is 
+     * backed by a {@link BigFraction}, this doesn't allocate any objects.
+     * @param other The fraction to compare to. For example, 
+     * <sup>22</sup>&frasl;<sub>7</sub>.
+     * @return A negative number if this fraction is less than 
+     * <code>other</code>, 0 if they're equal, a positive number if this 
+     * fraction is greater. For example, a negative number if this fraction is 
+     * <sup>355</sup>&frasl;<sub>113</sub>.
+     */
     @Override
     public int compareTo(Fraction other) {
-        return 0;
+        if (this.promoted != null || other.promoted != null) {
+            return this.toBigFraction().compareTo(other.toBigFraction());
+        }
+        return compare(this.numerator, this.denominator, other.numerator, 
+                other.denominator);
+    }
+    
+    /**
+     * Compares two fractions given as numerator and denominator pairs. The 
+     * cross products are worked out to their full 128 bits with {@link 
+     * Math#multiplyHigh(long, long)}, so this never overflows, and it doesn't 
+     * allocate any objects. The fractions need not be in lowest terms.
+     * @param numerA The numerator of the first fraction. For example, 355.
+     * @param denomA The denominator of the first fraction. Should be 
+     * positive. For example, 113.
+     * @param numerB The numerator of the second fraction. For example, 22.
+     * @param denomB The denominator of the second fraction. Should be 
+     * positive. For example, 7.
+     * @return &minus;1 if the first fraction is less than the second, 0 if 
+     * they're equal, 1 if the first fraction is greater. For example, 
+     * &minus;1.
+     */
+    public static int compare(long numerA, long denomA, long numerB, 
+            long denomB) {
+        long crossHighA = Math.multiplyHigh(numerA, denomB);
+        long crossHighB = Math.multiplyHigh(numerB, denomA);
+        if (crossHighA != crossHighB) {
+            return (crossHighA < crossHighB) ? -1 : 1;
+        }
+        return Long.compareUnsigned(numerA * denomB, numerB * denomA);
     }
     
     @Override
     public String toString() {
+        if (this.promoted != null) {
+            return this.promoted.toString();
+        }
         String intermediate = Math.abs(this.numerator) + "/" + this.denominator;
         if (this.numerator < 0L) {
             intermediate = "\u2212" + intermediate;
@@ -230,6 +521,169 @@ public class Fraction implements Comparable<Fraction> {
         return intermediate;
     }
     
+    /**
+     * Gives the fraction equal to an integer times a power of two. The result 
+     * is put in lowest terms with shifts alone, without a greatest common 
+     * divisor calculation. This is how the exact values of binary floating 
+     * point numbers are best turned into fractions. Fractions with small 
+     * numerators and power of two denominators, such as the values of all the 
+     * finite quarter precision numbers, are cached, so that asking for the 
+     * same one again gives the same object.
+     * @param significand The integer. For example, 3.
+     * @param binaryExponent The power of two to multiply the integer by. May be 
+     * negative. For example, &minus;4.
+     * @return The fraction. For example, <sup>3</sup>&frasl;<sub>16</sub>. If 
+     * the numerator or the denominator is outside the range of 
+     * <code>long</code>, the fraction is backed by a {@link BigFraction}.
+     */
+    public static Fraction valueOf(long significand, int binaryExponent) {
+        if (significand == 0L) {
+            return of(0L, 1L);
+        }
+        int shift = Long.numberOfTrailingZeros(significand);
+        long oddPart = significand >> shift;
+        long exponent = (long) binaryExponent + shift;
+        if (Math.abs(oddPart) <= DYADIC_CACHE_ODD_LIMIT 
+                && Math.abs(exponent) <= DYADIC_CACHE_EXPONENT_LIMIT) {
+            int index = (int) ((oddPart + DYADIC_CACHE_ODD_LIMIT) / 2 
+                    * (2 * DYADIC_CACHE_EXPONENT_LIMIT + 1) 
+                    + exponent + DYADIC_CACHE_EXPONENT_LIMIT);
+            Fraction cached = DYADIC_CACHE[index];
+            if (cached == null) {
+                cached = dyadic(oddPart, (int) exponent);
+                DYADIC_CACHE[index] = cached;
+            }
+            return cached;
+        }
+        return dyadic(significand, binaryExponent);
+    }
+    
+    private static Fraction dyadic(long significand, int binaryExponent) {
+        if (binaryExponent >= 0) {
+            if (binaryExponent < Long.SIZE - 1 && (significand 
+                    << binaryExponent) >> binaryExponent == significand) {
+                return ofLowestTerms(significand << binaryExponent, 1L);
+            }
+        } else {
+            int shift = Math.min(Long.numberOfTrailingZeros(significand), 
+                    -binaryExponent);
+            int denomExponent = -binaryExponent - shift;
+            if (denomExponent < Long.SIZE - 1) {
+                return ofLowestTerms(significand >> shift, 
+                        1L << denomExponent);
+            }
+        }
+        return new Fraction(BigFraction.valueOf(BigInteger 
+                .valueOf(significand), binaryExponent));
+    }
+    
+    private static boolean isSmall(long n) {
+        return n >= -SMALL_CACHE_LIMIT && n <= SMALL_CACHE_LIMIT;
+    }
+    
+    /**
+     * Gives a fraction with a given numerator and denominator. This is 
+     * arithmetically the same as the {@link #Fraction(long, long) primary 
+     * constructor}, but fractions with small numerators and denominators are 
+     * cached, so that asking for the same one again gives the same object. 
+     * This is worth doing for fractions used over and over, like 
+     * <sup>1</sup>&frasl;<sub>2</sub>.
+     * @param numer The fraction's numerator. For example, 2.
+     * @param denom The fraction's denominator. For example, 4.
+     * @return The fraction, in lowest terms. For example, 
+     * <sup>1</sup>&frasl;<sub>2</sub>. If the numerator and the denominator 
+     * in lowest terms are both 32 or less in absolute value, this is always 
+     * the same object.
+     * @throws ArithmeticException If <code>denom</code> is either 0 or 
+     * &minus;9223372036854775808.
+     */
+    public static Fraction of(long numer, long denom) {
+        if (!isSmall(numer) || !isSmall(denom) || denom == 0L) {
+            Fraction fraction = new Fraction(numer, denom);
+            if (fraction.promoted != null || !isSmall(fraction.numerator) 
+                    || !isSmall(fraction.denominator)) {
+                return fraction;
+            }
+            numer = fraction.numerator;
+            denom = fraction.denominator;
+        }
+        long adjust = gcd(numer, denom) * Long.signum(denom);
+        numer /= adjust;
+        denom /= adjust;
+        int index = (int) ((denom - 1) * (2 * SMALL_CACHE_LIMIT + 1) + numer 
+                + SMALL_CACHE_LIMIT);
+        Fraction cached = SMALL_CACHE[index];
+        if (cached == null) {
+            cached = ofLowestTerms(numer, denom);
+            SMALL_CACHE[index] = cached;
+        }
+        return cached;
+    }
+    
+    /**
+     * Gives the fraction exactly equal to a <code>double</code>. Since 
+     * <code>double</code> is a binary format, the denominator is always a 
+     * power of two.
+     * @param value The number. For example, 0.1.
+     * @return The exact value. For example, 
+     * <sup>3602879701896397</sup>&frasl;<sub>36028797018963968</sub>. Both 
+     * zeroes give 0. If the numerator or the denominator is outside the range 
+     * of <code>long</code>, as is the case for most subnormal numbers, the 
+     * fraction is backed by a {@link BigFraction}.
+     * @throws ArithmeticException If <code>value</code> is an infinity or a 
+     * NaN.
+     */
+    public static Fraction valueOf(double value) {
+        if (!Double.isFinite(value)) {
+            String excMsg = "Infinities and NaNs have no rational value";
+            throw new ArithmeticException(excMsg);
+        }
+        long bits = Double.doubleToRawLongBits(value);
+        long mantissaMask = (1L << DOUBLE_MANTISSA_BITS) - 1;
+        int biased = (int) (bits >>> DOUBLE_MANTISSA_BITS) 
+                & (Double.MAX_EXPONENT * 2 + 1);
+        long significand = (biased == 0) ? bits & mantissaMask 
+                : (bits & mantissaMask) | (mantissaMask + 1);
+        int exponent = Math.max(biased, 1) - Double.MAX_EXPONENT 
+                - DOUBLE_MANTISSA_BITS;
+        return valueOf(bits < 0L ? -significand : significand, exponent);
+    }
+    
+    /**
+     * Finds the fraction nearest to a <code>double</code> among the fractions 
+     * with denominators no larger than a given limit. The exact value of the 
+     * <code>double</code> is used, not the shortest decimal that rounds to it.
+     * @param value The number. For example, 3.141592653589793.
+     * @param maxDenominator The largest denominator allowed. For example, 
+     * 1000.
+     * @return The nearest fraction, or the one with the smaller denominator in 
+     * case of a tie. For example, <sup>355</sup>&frasl;<sub>113</sub>.
+     * @throws ArithmeticException If <code>value</code> is an infinity or a 
+     * NaN.
+     * @throws IllegalArgumentException If <code>maxDenominator</code> is 0 or 
+     * negative.
+     */
+    public static Fraction bestApproximation(double value, 
+            long maxDenominator) {
+        return valueOf(value).bestApproximation(maxDenominator);
+    }
+    
+    /**
+     * Gives the fraction for the result of an operation that already put the 
+     * result in lowest terms, skipping the greatest common divisor the primary 
+     * constructor would work out. No validation is done other than an 
+     * assertion.
+     * @param numer The fraction's numerator. For example, 22.
+     * @param denom The fraction's denominator, which must be positive and 
+     * coprime to <code>numer</code>. For example, 7.
+     * @return The fraction. For example, <sup>22</sup>&frasl;<sub>7</sub>.
+     */
+    private static Fraction ofLowestTerms(long numer, long denom) {
+        assert denom > 0L && gcd(numer, denom) == 1L 
+                : numer + "/" + denom + " is not in lowest terms";
+        return new Fraction(numer, denom, null);
+    }
+    
     /**
      * Auxiliary constructor. Constructor for a fraction that is arithmetically 
      * equal to an integer. The denominator 1 is tacit. For the example, 
@@ -256,9 +710,51 @@ public class Fraction implements Comparable<Fraction> {
             throw new ArithmeticException(excMsg);
         }
         int sign = Long.signum(denom);
-        long adjust = euclideanGCD(numer, denom) * sign;
-        this.numerator = numer / adjust;
-        this.denominator = denom / adjust;
+        long adjust = gcd(numer, denom) * sign;
+        if (numer == Long.MIN_VALUE && adjust == -1L) {
+            this.promoted = new BigFraction(numer, denom);
+            this.numerator = 0L;
+            this.denominator = 1L;
+        } else {
+            this.promoted = null;
+            this.numerator = numer / adjust;
+            this.denominator = denom / adjust;
+        }
+    }
+    
+    /**
+     * Constructor that takes all the fields as they are, with no validation. 
+     * Only {@link #ofLowestTerms(long, long)} uses this.
+     * @param numer The fraction's numerator. For example, 22.
+     * @param denom The fraction's denominator. For example, 7.
+     * @param promoted The value if it's outside the range of 
+     * <code>long</code>, null otherwise. For example, null.
+     */
+    private Fraction(long numer, long denom, BigFraction promoted) {
+        this.promoted = promoted;
+        this.numerator = numer;
+        this.denominator = denom;
+    }
+    
+    /**
+     * Constructor for the result of an operation that had to be redone with 
+     * <code>BigFraction</code> arithmetic, or for a <code>BigFraction</code> 
+     * converted with {@link BigFraction#toFraction()}. If the value is in the 
+     * range of <code>long</code>, it's demoted back to <code>long</code> 
+     * primitives.
+     * @param value The value. For example, 
+     * <sup>1</sup>&frasl;<sub>9223372036854775808</sub>.
+     */
+    Fraction(BigFraction value) {
+        if (value.fitsInLong()) {
+            this.promoted = null;
+            this.numerator = value.getNumerator().longValue();
+            this.denominator = value.getDenominator().longValue();
+        } else {
+            this.promoted = value;
+            this.numerator = 0L;
+            this.denominator = 1L;
+        }
     }
     
 }
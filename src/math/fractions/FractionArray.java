@@ -0,0 +1,472 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fractions;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import static math.integer.Calculator.gcd;
+
+/**
+ * A fixed length array of fractions, stored as two parallel arrays of 
+ * <code>long</code>, one of numerators and one of denominators, rather than 
+ * as an array of {@link Fraction} objects. The bulk operations work on the 
+ * primitives directly, without making any objects.
+ * <p>The elements are not kept in lowest terms. The bulk operations leave 
+ * their results as they come out of the cross multiplications, and an element 
+ * is put in lowest terms only if an operation on it would otherwise overflow, 
+ * or when {@link #reduce()} is called. Since the range of <code>long</code> is 
+ * the limit here, an operation whose result is out of range even in lowest 
+ * terms causes an exception. The elements are put in lowest terms before 
+ * they're read with {@link #get(int)}, but the numerators and denominators 
+ * read with {@link #getNumerator(int)} and {@link #getDenominator(int)} are 
+ * as they are.</p>
+ * @author Alonso del Arte
+ */
+public class FractionArray {
+    
+    private final long[] numerators, denominators;
+    
+    /**
+     * Gives the number of fractions in this array.
+     * @return The number of fractions. For example, 3.
+     */
+    public int length() {
+        return this.numerators.length;
+    }
+    
+    /**
+     * Gives the numerator of one of the fractions, as it is stored.
+     * @param index The index of the fraction. For example, 0.
+     * @return The numerator, not necessarily in lowest terms. For example, if 
+     * the fraction is stored as <sup>2</sup>&frasl;<sub>4</sub>, 2.
+     * @throws ArrayIndexOutOfBoundsException If <code>index</code> is 
+     * negative or not less than the length.
+     */
+    public long getNumerator(int index) {
+        return this.numerators[index];
+    }
+    
+    /**
+     * Gives the denominator of one of the fractions, as it is stored.
+     * @param index The index of the fraction. For example, 0.
+     * @return The denominator, not necessarily in lowest terms, but always 
+     * positive. For example, if the fraction is stored as 
+     * <sup>2</sup>&frasl;<sub>4</sub>, 4.
+     * @throws ArrayIndexOutOfBoundsException If <code>index</code> is 
+     * negative or not less than the length.
+     */
+    public long getDenominator(int index) {
+        return this.denominators[index];
+    }
+    
+    /**
+     * Gives one of the fractions.
+     * @param index The index of the fraction. For example, 0.
+     * @return The fraction, in lowest terms. For example, 
+     * <sup>1</sup>&frasl;<sub>2</sub>.
+     * @throws ArrayIndexOutOfBoundsException If <code>index</code> is 
+     * negative or not less than the length.
+     */
+    public Fraction get(int index) {
+        return Fraction.of(this.numerators[index], this.denominators[index]);
+    }
+    
+    /**
+     * Sets one of the fractions.
+     * @param index The index of the fraction. For example, 0.
+     * @param numer The numerator. For example, 1.
+     * @param denom The denominator. For example, &minus;2.
+     * @throws ArithmeticException If <code>denom</code> is either 0 or 
+     * &minus;9223372036854775808, or if <code>denom</code> is negative and 
+     * <code>numer</code> is &minus;9223372036854775808.
+     * @throws ArrayIndexOutOfBoundsException If <code>index</code> is 
+     * negative or not less than the length.
+     */
+    public void set(int index, long numer, long denom) {
+        if (denom == 0L || denom == Long.MIN_VALUE 
+                || (denom < 0L && numer == Long.MIN_VALUE)) {
+            String excMsg = "Fraction " + numer + "/" + denom 
+                    + " can't be stored with a positive long denominator";
+            throw new ArithmeticException(excMsg);
+        }
+        if (denom < 0L) {
+            numer = -numer;
+            denom = -denom;
+        }
+        this.numerators[index] = numer;
+        this.denominators[index] = denom;
+    }
+    
+    /**
+     * Sets one of the fractions.
+     * @param index The index of the fraction. For example, 0.
+     * @param value The fraction. For example, <sup>1</sup>&frasl;<sub>2</sub>.
+     * @throws ArithmeticException If the numerator or the denominator of 
+     * <code>value</code> is outside the range of <code>long</code>.
+     * @throws ArrayIndexOutOfBoundsException If <code>index</code> is 
+     * negative or not less than the length.
+     */
+    public void set(int index, Fraction value) {
+        this.numerators[index] = value.getNumerator();
+        this.denominators[index] = value.getDenominator();
+    }
+    
+    private void checkLength(FractionArray other) {
+        if (this.numerators.length != other.numerators.length) {
+            String excMsg = "Array of length " + other.numerators.length 
+                    + " does not match array of length " 
+                    + this.numerators.length;
+            throw new IllegalArgumentException(excMsg);
+        }
+    }
+    
+    private static ArithmeticException overflow(String operation, 
+            long numerA, long denomA, long numerB, long denomB) {
+        String excMsg = operation + " of " + numerA + "/" + denomA + " and " 
+                + numerB + "/" + denomB + " is out of range";
+        return new ArithmeticException(excMsg);
+    }
+    
+    private void reduce(int index) {
+        long adjust = gcd(this.numerators[index], this.denominators[index]);
+        if (adjust > 1L) {
+            this.numerators[index] /= adjust;
+            this.denominators[index] /= adjust;
+        }
+    }
+    
+    /**
+     * Adds one pair of fractions in <code>long</code> arithmetic, dividing 
+     * out the greatest common divisor of the denominators first, and stores 
+     * the sum in place of the first fraction of the pair.
+     * @return True if the sum was stored, false if it would have overflowed.
+     */
+    private boolean tryAdd(int index, long numer, long denom) {
+        long thisDenom = this.denominators[index];
+        try {
+            if (thisDenom == denom) {
+                this.numerators[index] = Math.addExact(this.numerators[index], 
+                        numer);
+                return true;
+            }
+            long denomGCD = gcd(thisDenom, denom);
+            long scaleA = denom / denomGCD;
+            long scaleB = thisDenom / denomGCD;
+            long sum = Math.addExact(Math.multiplyExact(this.numerators[index], 
+                    scaleA), Math.multiplyExact(numer, scaleB));
+            this.denominators[index] = Math.multiplyExact(thisDenom, scaleA);
+            this.numerators[index] = sum;
+            return true;
+        } catch (ArithmeticException ae) {
+            return false;
+        }
+    }
+    
+    /**
+     * Adds one pair of fractions in lowest terms and stores the sum, in lowest 
+     * terms, in place of the first fraction of the pair. Following Knuth, if 
+     * <i>d</i> is the greatest common divisor of the denominators, the only 
+     * factors the numerator of the sum can share with its denominator are 
+     * factors of <i>d</i>. The numerator of the sum is worked out exactly in 
+     * <code>BigInteger</code> arithmetic, since it may only fit in a 
+     * <code>long</code> once those factors are divided out.
+     * @return True if the sum was stored, false if it's out of range even in 
+     * lowest terms.
+     */
+    private boolean tryAddReduced(int index, long numer, long denom) {
+        long thisDenom = this.denominators[index];
+        long denomGCD = gcd(thisDenom, denom);
+        long scaleA = denom / denomGCD;
+        long scaleB = thisDenom / denomGCD;
+        BigInteger sum = BigInteger.valueOf(this.numerators[index]) 
+                .multiply(BigInteger.valueOf(scaleA)) 
+                .add(BigInteger.valueOf(numer) 
+                        .multiply(BigInteger.valueOf(scaleB)));
+        BigInteger divisor = BigInteger.valueOf(denomGCD);
+        long adjust = gcd(sum.mod(divisor).longValue(), denomGCD);
+        BigInteger reducedSum = sum.divide(BigInteger.valueOf(adjust));
+        if (reducedSum.bitLength() >= Long.SIZE) {
+            return false;
+        }
+        try {
+            this.denominators[index] = Math.multiplyExact(scaleB, 
+                    denom / adjust);
+        } catch (ArithmeticException ae) {
+            return false;
+        }
+        this.numerators[index] = reducedSum.longValue();
+        return true;
+    }
+    
+    /**
+     * Adds the fractions of another array to the fractions of this one, 
+     * element by element, in place. The other array is not changed.
+     * @param addends The fractions to add. For example, {<sup>1</sup>&frasl; 
+     * <sub>2</sub>, <sup>1</sup>&frasl;<sub>3</sub>}. For the example, suppose 
+     * this array is {<sup>1</sup>&frasl;<sub>3</sub>, <sup>1</sup>&frasl; 
+     * <sub>6</sub>}.
+     * @throws ArithmeticException If any of the sums is out of the range of 
+     * <code>long</code> even in lowest terms. The elements before the one 
+     * that overflowed have been added to by then.
+     * @throws IllegalArgumentException If the arrays are not of the same 
+     * length.
+     */
+    public void add(FractionArray addends) {
+        this.checkLength(addends);
+        for (int i = 0; i < this.numerators.length; i++) {
+            long numer = addends.numerators[i];
+            long denom = addends.denominators[i];
+            if (!this.tryAdd(i, numer, denom)) {
+                this.reduce(i);
+                long adjust = gcd(numer, denom);
+                if (!this.tryAddReduced(i, numer / adjust, denom / adjust)) {
+                    throw overflow("Sum", this.numerators[i], 
+                            this.denominators[i], numer, denom);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Multiplies the fractions of this array by the fractions of another 
+     * array, element by element, in place. The other array is not changed.
+     * @param multiplicands The fractions to multiply by. For example, 
+     * {<sup>1</sup>&frasl;<sub>2</sub>, <sup>3</sup>&frasl;<sub>4</sub>}. For 
+     * the example, suppose this array is {<sup>2</sup>&frasl;<sub>3</sub>, 
+     * 4}. Afterwards, this array is {<sup>2</sup>&frasl;<sub>6</sub>, 
+     * <sup>12</sup>&frasl;<sub>4</sub>}, which is arithmetically equal to 
+     * {<sup>1</sup>&frasl;<sub>3</sub>, 3}.
+     * @throws ArithmeticException If any of the products is out of the range 
+     * of <code>long</code> even in lowest terms. The elements before the one 
+     * that overflowed have been multiplied by then.
+     * @throws IllegalArgumentException If the arrays are not of the same 
+     * length.
+     */
+    public void multiply(FractionArray multiplicands) {
+        this.checkLength(multiplicands);
+        for (int i = 0; i < this.numerators.length; i++) {
+            this.multiply(i, multiplicands.numerators[i], 
+                    multiplicands.denominators[i]);
+        }
+    }
+    
+    /**
+     * Multiplies all the fractions of this array by the same fraction, in 
+     * place.
+     * @param multiplicand The fraction to multiply by. For example, 
+     * <sup>1</sup>&frasl;<sub>2</sub>.
+     * @throws ArithmeticException If any of the products is out of the range 
+     * of <code>long</code> even in lowest terms, or if the numerator or the 
+     * denominator of <code>multiplicand</code> is.
+     */
+    public void multiply(Fraction multiplicand) {
+        long numer = multiplicand.getNumerator();
+        long denom = multiplicand.getDenominator();
+        for (int i = 0; i < this.numerators.length; i++) {
+            this.multiply(i, numer, denom);
+        }
+    }
+    
+    /**
+     * Multiplies one fraction of this array in place, trying the plain cross 
+     * multiplication first. If that overflows, both fractions are put in 
+     * lowest terms and the common factors across them are cancelled, which 
+     * leaves the product in lowest terms.
+     */
+    private void multiply(int index, long numerB, long denomB) {
+        long numerA = this.numerators[index];
+        long denomA = this.denominators[index];
+        try {
+            long numer = Math.multiplyExact(numerA, numerB);
+            this.denominators[index] = Math.multiplyExact(denomA, denomB);
+            this.numerators[index] = numer;
+        } catch (ArithmeticException ae) {
+            this.reduce(index);
+            numerA = this.numerators[index];
+            denomA = this.denominators[index];
+            long adjust = gcd(numerB, denomB);
+            numerB /= adjust;
+            denomB /= adjust;
+            long cancelA = gcd(numerA, denomB);
+            long cancelB = gcd(numerB, denomA);
+            try {
+                long numer = Math.multiplyExact(numerA / cancelA, 
+                        numerB / cancelB);
+                this.denominators[index] = Math.multiplyExact(denomA 
+                        / cancelB, denomB / cancelA);
+                this.numerators[index] = numer;
+                this.reduce(index);
+            } catch (ArithmeticException reducedAE) {
+                throw overflow("Product", numerA, denomA, numerB, denomB);
+            }
+        }
+    }
+    
+    /**
+     * Puts all the fractions of this array in lowest terms, in place.
+     */
+    public void reduce() {
+        for (int i = 0; i < this.numerators.length; i++) {
+            this.reduce(i);
+        }
+    }
+    
+    /**
+     * Sorts the fractions of this array in ascending order of value, in place. 
+     * Uses {@link FractionArrays#sort(long[], long[])}.
+     */
+    public void sort() {
+        FractionArrays.sort(this.numerators, this.denominators);
+    }
+    
+    /**
+     * Adds up the products of the fractions of this array and the fractions 
+     * of another array, element by element, with a {@link 
+     * RationalAccumulator}. Neither array is changed.
+     * @param other The other array. For example, {<sup>1</sup>&frasl; 
+     * <sub>2</sub>, <sup>1</sup>&frasl;<sub>3</sub>}. For the example, 
+     * suppose this array is {<sup>1</sup>&frasl;<sub>3</sub>, 3}.
+     * @return The sum of the products. For example, 
+     * <sup>7</sup>&frasl;<sub>6</sub>. Since it's computed with a 
+     * <code>RationalAccumulator</code>, the sum may be outside the range of 
+     * <code>long</code>, in which case it's backed by a {@link BigFraction}.
+     * @throws ArithmeticException If any of the products is out of the range 
+     * of <code>long</code> even in lowest terms.
+     * @throws IllegalArgumentException If the arrays are not of the same 
+     * length.
+     */
+    public Fraction dot(FractionArray other) {
+        this.checkLength(other);
+        RationalAccumulator accumulator = new RationalAccumulator();
+        for (int i = 0; i < this.numerators.length; i++) {
+            long adjustA = gcd(this.numerators[i], this.denominators[i]);
+            long numerA = this.numerators[i] / adjustA;
+            long denomA = this.denominators[i] / adjustA;
+            long adjustB = gcd(other.numerators[i], other.denominators[i]);
+            long numerB = other.numerators[i] / adjustB;
+            long denomB = other.denominators[i] / adjustB;
+            long cancelA = gcd(numerA, denomB);
+            long cancelB = gcd(numerB, denomA);
+            try {
+                accumulator.add(Math.multiplyExact(numerA / cancelA, 
+                        numerB / cancelB), Math.multiplyExact(denomA 
+                        / cancelB, denomB / cancelA));
+            } catch (ArithmeticException ae) {
+                throw overflow("Product", numerA, denomA, numerB, denomB);
+            }
+        }
+        return accumulator.toFraction();
+    }
+    
+    /**
+     * Makes a copy of this array of fractions, with the numerators and 
+     * denominators as they are stored.
+     * @return A new array of fractions, independent of this one.
+     */
+    public FractionArray copy() {
+        return new FractionArray(this.numerators.clone(), 
+                this.denominators.clone());
+    }
+    
+    /**
+     * Determines whether this array of fractions is equal to another object.
+     * @param obj The object to compare to.
+     * @return True if <code>obj</code> is a <code>FractionArray</code> of 
+     * the same length with fractions arithmetically equal to the fractions of 
+     * this array, element by element, even if stored with different terms; 
+     * false otherwise.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || this.getClass() != obj.getClass()) {
+            return false;
+        }
+        FractionArray other = (FractionArray) obj;
+        if (this.numerators.length != other.numerators.length) {
+            return false;
+        }
+        for (int i = 0; i < this.numerators.length; i++) {
+            if (Fraction.compare(this.numerators[i], this.denominators[i], 
+                    other.numerators[i], other.denominators[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int i = 0; i < this.numerators.length; i++) {
+            hash = 31 * hash + this.get(i).hashCode();
+        }
+        return hash;
+    }
+    
+    /**
+     * Gives a text representation of this array of fractions, with each 
+     * fraction in lowest terms.
+     * @return The fractions between square brackets. For example, 
+     * "[1/2, &minus;3, 5/4]".
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < this.numerators.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(this.get(i));
+        }
+        return builder.append(']').toString();
+    }
+    
+    private FractionArray(long[] numers, long[] denoms) {
+        this.numerators = numers;
+        this.denominators = denoms;
+    }
+    
+    /**
+     * Constructs an array of fractions all equal to 0.
+     * @param length The number of fractions. For example, 3.
+     * @throws NegativeArraySizeException If <code>length</code> is negative.
+     */
+    public FractionArray(int length) {
+        this(new long[length], new long[length]);
+        Arrays.fill(this.denominators, 1L);
+    }
+    
+    /**
+     * Constructs an array of fractions with the given values.
+     * @param fractions The fractions. For example, 
+     * <sup>1</sup>&frasl;<sub>2</sub>, &minus;3 and 
+     * <sup>5</sup>&frasl;<sub>4</sub>.
+     * @throws ArithmeticException If the numerator or the denominator of any 
+     * of the fractions is outside the range of <code>long</code>.
+     */
+    public FractionArray(Fraction... fractions) {
+        this(fractions.length);
+        for (int i = 0; i < fractions.length; i++) {
+            this.set(i, fractions[i]);
+        }
+    }
+    
+}
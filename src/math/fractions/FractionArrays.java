@@ -0,0 +1,250 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fractions;
+
+import java.util.Objects;
+
+/**
+ * Sorts and otherwise processes rational numbers stored as two parallel arrays 
+ * of <code>long</code>, one of numerators and one of denominators, without 
+ * making any {@link Fraction} objects. The fractions need not be in lowest 
+ * terms, but all the denominators should be positive. Comparisons are done 
+ * with {@link Fraction#compare(long, long, long, long)}, which never 
+ * overflows.
+ * @author Alonso del Arte
+ */
+public class FractionArrays {
+    
+    /**
+     * Subarrays this short or shorter are sorted by insertion.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+    
+    private static void checkArrays(long[] numerators, long[] denominators, 
+            int fromIndex, int toIndex) {
+        if (numerators.length != denominators.length) {
+            String excMsg = "Array of " + numerators.length 
+                    + " numerators does not match array of " 
+                    + denominators.length + " denominators";
+            throw new IllegalArgumentException(excMsg);
+        }
+        Objects.checkFromToIndex(fromIndex, toIndex, numerators.length);
+        for (int i = fromIndex; i < toIndex; i++) {
+            if (denominators[i] <= 0L) {
+                String excMsg = "Denominator " + denominators[i] 
+                        + " at index " + i + " should be positive";
+                throw new IllegalArgumentException(excMsg);
+            }
+        }
+    }
+    
+    private static int compareAt(long[] numerators, long[] denominators, 
+            int i, int j) {
+        return Fraction.compare(numerators[i], denominators[i], 
+                numerators[j], denominators[j]);
+    }
+    
+    private static void swap(long[] numerators, long[] denominators, int i, 
+            int j) {
+        long numer = numerators[i];
+        numerators[i] = numerators[j];
+        numerators[j] = numer;
+        long denom = denominators[i];
+        denominators[i] = denominators[j];
+        denominators[j] = denom;
+    }
+    
+    private static void insertionSort(long[] numerators, long[] denominators, 
+            int fromIndex, int toIndex) {
+        for (int i = fromIndex + 1; i < toIndex; i++) {
+            long numer = numerators[i];
+            long denom = denominators[i];
+            int j = i - 1;
+            while (j >= fromIndex && Fraction.compare(numerators[j], 
+                    denominators[j], numer, denom) > 0) {
+                numerators[j + 1] = numerators[j];
+                denominators[j + 1] = denominators[j];
+                j--;
+            }
+            numerators[j + 1] = numer;
+            denominators[j + 1] = denom;
+        }
+    }
+    
+    private static void siftDown(long[] numerators, long[] denominators, 
+            int offset, int root, int size) {
+        int child = 2 * root + 1;
+        while (child < size) {
+            if (child + 1 < size && compareAt(numerators, denominators, 
+                    offset + child, offset + child + 1) < 0) {
+                child++;
+            }
+            if (compareAt(numerators, denominators, offset + root, 
+                    offset + child) >= 0) {
+                return;
+            }
+            swap(numerators, denominators, offset + root, offset + child);
+            root = child;
+            child = 2 * root + 1;
+        }
+    }
+    
+    private static void heapSort(long[] numerators, long[] denominators, 
+            int fromIndex, int toIndex) {
+        int size = toIndex - fromIndex;
+        for (int root = size / 2 - 1; root >= 0; root--) {
+            siftDown(numerators, denominators, fromIndex, root, size);
+        }
+        for (int end = size - 1; end > 0; end--) {
+            swap(numerators, denominators, fromIndex, fromIndex + end);
+            siftDown(numerators, denominators, fromIndex, 0, end);
+        }
+    }
+    
+    /**
+     * Sorts by quicksort with median of three pivots, switching to heapsort 
+     * if the recursion gets too deep, which keeps the worst case at 
+     * <i>O</i>(<i>n</i> log <i>n</i>), and to insertion sort for short 
+     * subarrays.
+     */
+    private static void introSort(long[] numerators, long[] denominators, 
+            int fromIndex, int toIndex, int depthAllowance) {
+        while (toIndex - fromIndex > INSERTION_SORT_THRESHOLD) {
+            if (depthAllowance == 0) {
+                heapSort(numerators, denominators, fromIndex, toIndex);
+                return;
+            }
+            depthAllowance--;
+            int last = toIndex - 1;
+            int middle = (fromIndex + last) >>> 1;
+            if (compareAt(numerators, denominators, middle, fromIndex) < 0) {
+                swap(numerators, denominators, middle, fromIndex);
+            }
+            if (compareAt(numerators, denominators, last, fromIndex) < 0) {
+                swap(numerators, denominators, last, fromIndex);
+            }
+            if (compareAt(numerators, denominators, last, middle) < 0) {
+                swap(numerators, denominators, last, middle);
+            }
+            long pivotNumer = numerators[middle];
+            long pivotDenom = denominators[middle];
+            int i = fromIndex;
+            int j = last;
+            while (i <= j) {
+                while (Fraction.compare(numerators[i], denominators[i], 
+                        pivotNumer, pivotDenom) < 0) {
+                    i++;
+                }
+                while (Fraction.compare(numerators[j], denominators[j], 
+                        pivotNumer, pivotDenom) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(numerators, denominators, i, j);
+                    i++;
+                    j--;
+                }
+            }
+            if (j - fromIndex < toIndex - i) {
+                introSort(numerators, denominators, fromIndex, j + 1, 
+                        depthAllowance);
+                fromIndex = i;
+            } else {
+                introSort(numerators, denominators, i, toIndex, 
+                        depthAllowance);
+                toIndex = j + 1;
+            }
+        }
+        insertionSort(numerators, denominators, fromIndex, toIndex);
+    }
+    
+    /**
+     * Sorts fractions in ascending order of value. Each numerator stays with 
+     * its denominator. The sort is done in place and is not stable, so of 
+     * fractions of equal value but different terms, such as 
+     * <sup>1</sup>&frasl;<sub>2</sub> and <sup>2</sup>&frasl;<sub>4</sub>, 
+     * either may come first.
+     * @param numerators The numerators. For example, {22, 3, 355}.
+     * @param denominators The denominators. For example, {7, 1, 113}. 
+     * Afterwards, in the example, the numerators are {3, 355, 22} and the 
+     * denominators are {1, 113, 7}.
+     * @throws IllegalArgumentException If the arrays are not of the same 
+     * length, or if any of the denominators is 0 or negative.
+     */
+    public static void sort(long[] numerators, long[] denominators) {
+        sort(numerators, denominators, 0, numerators.length);
+    }
+    
+    /**
+     * Sorts a range of fractions in ascending order of value. Each numerator 
+     * stays with its denominator. The sort is done in place and is not 
+     * stable.
+     * @param numerators The numerators. For example, {22, 3, 355, 1}.
+     * @param denominators The denominators. For example, {7, 1, 113, 1}.
+     * @param fromIndex The index of the first fraction to sort. For example, 
+     * 0.
+     * @param toIndex The index after the last fraction to sort. For example, 
+     * 3. Afterwards, in the example, the numerators are {3, 355, 22, 1} and 
+     * the denominators are {1, 113, 7, 1}.
+     * @throws IllegalArgumentException If the arrays are not of the same 
+     * length, or if any of the denominators in the range is 0 or negative.
+     * @throws IndexOutOfBoundsException If {@code fromIndex} is negative, if 
+     * {@code toIndex} is greater than the length of the arrays, or if 
+     * {@code fromIndex} is greater than {@code toIndex}.
+     */
+    public static void sort(long[] numerators, long[] denominators, 
+            int fromIndex, int toIndex) {
+        checkArrays(numerators, denominators, fromIndex, toIndex);
+        int size = toIndex - fromIndex;
+        int depthAllowance = 2 * (Integer.SIZE 
+                - Integer.numberOfLeadingZeros(size));
+        introSort(numerators, denominators, fromIndex, toIndex, 
+                depthAllowance);
+    }
+    
+    /**
+     * Removes fractions of repeated value from sorted arrays of fractions. The 
+     * distinct fractions are moved to the front of the arrays, in the same 
+     * order. The rest of the arrays is left as is.
+     * @param numerators The numerators, sorted by {@link #sort(long[], 
+     * long[])} or otherwise in ascending order of value. For example, 
+     * {1, 2, 3, 3}.
+     * @param denominators The denominators. For example, {2, 4, 4, 1}.
+     * @return The number of distinct fractions. For example, 3, with the 
+     * numerators now starting {1, 3, 3} and the denominators now starting 
+     * {2, 4, 1}.
+     * @throws IllegalArgumentException If the arrays are not of the same 
+     * length, or if any of the denominators is 0 or negative.
+     */
+    public static int deduplicate(long[] numerators, long[] denominators) {
+        checkArrays(numerators, denominators, 0, numerators.length);
+        int length = numerators.length;
+        if (length == 0) {
+            return 0;
+        }
+        int distinct = 1;
+        for (int i = 1; i < length; i++) {
+            if (compareAt(numerators, denominators, i, distinct - 1) != 0) {
+                numerators[distinct] = numerators[i];
+                denominators[distinct] = denominators[i];
+                distinct++;
+            }
+        }
+        return distinct;
+    }
+    
+}
@@ -0,0 +1,362 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fractions;
+
+import java.math.BigInteger;
+
+import static math.integer.Calculator.gcd;
+
+/**
+ * Adds up rational numbers in place. Unlike adding with {@link 
+ * Fraction#plus(Fraction)}, which makes a new <code>Fraction</code> in lowest 
+ * terms for each addition, adding to an accumulator makes no objects as long 
+ * as the running total fits in <code>long</code> primitives. This class is 
+ * mutable and not thread-safe.
+ * <p>The running total is not kept in lowest terms. Since the denominators are 
+ * combined by least common multiple, the denominator of the running total 
+ * only grows when an addend brings in a new prime factor. The total is put in 
+ * lowest terms when a sum would overflow, and only if that doesn't make room 
+ * does the total spill over to <code>BigInteger</code> terms. After spilling 
+ * over, the total is put in lowest terms every few additions, and goes back 
+ * to <code>long</code> primitives once those are enough again.</p>
+ * @author Alonso del Arte
+ */
+public class RationalAccumulator {
+    
+    /**
+     * How many additions in a row the running total may get while spilled 
+     * over to <code>BigInteger</code> terms before it's put in lowest terms.
+     */
+    private static final int REDUCTION_INTERVAL = 16;
+    
+    /**
+     * The running total while it fits in <code>long</code> primitives. The 
+     * denominator is always positive. Meaningless while {@link #bigNumerator} 
+     * is not null.
+     */
+    private long numerator, denominator;
+    
+    /**
+     * The running total once it's spilled over, null otherwise. The 
+     * denominator is always positive.
+     */
+    private BigInteger bigNumerator, bigDenominator;
+    
+    private int additionsSinceReduction;
+    
+    /**
+     * Tells whether the running total has spilled over to 
+     * <code>BigInteger</code> terms.
+     * @return True if the running total is currently held in 
+     * <code>BigInteger</code> terms, false if it's held in <code>long</code> 
+     * primitives.
+     */
+    public boolean isSpilled() {
+        return this.bigNumerator != null;
+    }
+    
+    private void spill() {
+        this.bigNumerator = BigInteger.valueOf(this.numerator);
+        this.bigDenominator = BigInteger.valueOf(this.denominator);
+        this.additionsSinceReduction = 0;
+    }
+    
+    private boolean reduceLongTerms() {
+        long adjust = gcd(this.numerator, this.denominator);
+        if (adjust <= 1L) {
+            return false;
+        }
+        this.numerator /= adjust;
+        this.denominator /= adjust;
+        return true;
+    }
+    
+    private void reduceBigTerms() {
+        BigInteger adjust = gcd(this.bigNumerator, this.bigDenominator);
+        if (!adjust.equals(BigInteger.ONE)) {
+            this.bigNumerator = this.bigNumerator.divide(adjust);
+            this.bigDenominator = this.bigDenominator.divide(adjust);
+        }
+        this.additionsSinceReduction = 0;
+        if (this.bigNumerator.bitLength() < Long.SIZE 
+                && this.bigDenominator.bitLength() < Long.SIZE) {
+            this.numerator = this.bigNumerator.longValue();
+            this.denominator = this.bigDenominator.longValue();
+            this.bigNumerator = null;
+            this.bigDenominator = null;
+        }
+    }
+    
+    private void countBigAddition() {
+        if (++this.additionsSinceReduction >= REDUCTION_INTERVAL) {
+            this.reduceBigTerms();
+        }
+    }
+    
+    /**
+     * Adds a fraction to the running total in <code>long</code> arithmetic, 
+     * dividing out the greatest common divisor of the denominators first.
+     * @param numer The numerator of the addend.
+     * @param denom The denominator of the addend. Must be positive.
+     * @return True if the addition was done, false if it would have 
+     * overflowed, in which case the running total is unchanged.
+     */
+    private boolean tryLongAdd(long numer, long denom) {
+        try {
+            if (denom == this.denominator) {
+                this.numerator = Math.addExact(this.numerator, numer);
+                return true;
+            }
+            long denomGCD = gcd(this.denominator, denom);
+            long scaleA = denom / denomGCD;
+            long scaleB = this.denominator / denomGCD;
+            long sum = Math.addExact(Math.multiplyExact(this.numerator, 
+                    scaleA), Math.multiplyExact(numer, scaleB));
+            this.denominator = Math.multiplyExact(this.denominator, scaleA);
+            this.numerator = sum;
+            return true;
+        } catch (ArithmeticException ae) {
+            return false;
+        }
+    }
+    
+    private void bigAdd(long numer, long denom) {
+        if (denom == 1L) {
+            this.bigNumerator = this.bigNumerator.add(this.bigDenominator 
+                    .multiply(BigInteger.valueOf(numer)));
+        } else {
+            BigInteger addendDenom = BigInteger.valueOf(denom);
+            long denomGCD = gcd(this.bigDenominator.mod(addendDenom) 
+                    .longValue(), denom);
+            BigInteger scaleA = BigInteger.valueOf(denom / denomGCD);
+            BigInteger scaleB = denomGCD == 1L ? this.bigDenominator 
+                    : this.bigDenominator.divide(BigInteger.valueOf(denomGCD));
+            this.bigNumerator = this.bigNumerator.multiply(scaleA) 
+                    .add(scaleB.multiply(BigInteger.valueOf(numer)));
+            this.bigDenominator = this.bigDenominator.multiply(scaleA);
+        }
+        this.countBigAddition();
+    }
+    
+    private void bigAdd(BigInteger numer, BigInteger denom) {
+        BigInteger denomGCD = gcd(this.bigDenominator, denom);
+        BigInteger scaleA = denom.divide(denomGCD);
+        BigInteger scaleB = this.bigDenominator.divide(denomGCD);
+        this.bigNumerator = this.bigNumerator.multiply(scaleA) 
+                .add(numer.multiply(scaleB));
+        this.bigDenominator = this.bigDenominator.multiply(scaleA);
+        this.countBigAddition();
+    }
+    
+    /**
+     * Adds a fraction with a positive denominator to the running total.
+     */
+    private void addPositive(long numer, long denom) {
+        if (this.bigNumerator == null) {
+            if (this.tryLongAdd(numer, denom)) {
+                return;
+            }
+            if (this.reduceLongTerms() && this.tryLongAdd(numer, denom)) {
+                return;
+            }
+            this.spill();
+        }
+        this.bigAdd(numer, denom);
+    }
+    
+    /**
+     * Adds an integer to the running total.
+     * @param addend The integer to add. For example, 7.
+     * @return This accumulator, so that additions may be chained.
+     */
+    public RationalAccumulator add(long addend) {
+        this.addPositive(addend, 1L);
+        return this;
+    }
+    
+    /**
+     * Adds a fraction given as a numerator and a denominator to the running 
+     * total. The fraction need not be in lowest terms.
+     * @param numer The numerator. For example, 1.
+     * @param denom The denominator. For example, 3.
+     * @return This accumulator, so that additions may be chained.
+     * @throws ArithmeticException If <code>denom</code> is 0.
+     */
+    public RationalAccumulator add(long numer, long denom) {
+        if (denom == 0L) {
+            String excMsg = "Denominator 0 is not valid";
+            throw new ArithmeticException(excMsg);
+        }
+        if (denom > 0L) {
+            this.addPositive(numer, denom);
+        } else if (numer != Long.MIN_VALUE && denom != Long.MIN_VALUE) {
+            this.addPositive(-numer, -denom);
+        } else {
+            this.add(new BigFraction(numer, denom));
+        }
+        return this;
+    }
+    
+    /**
+     * Adds a fraction to the running total.
+     * @param addend The fraction to add. For example, 
+     * <sup>1</sup>&frasl;<sub>3</sub>.
+     * @return This accumulator, so that additions may be chained.
+     */
+    public RationalAccumulator add(Fraction addend) {
+        if (addend.isPromoted()) {
+            return this.add(addend.toBigFraction());
+        }
+        this.addPositive(addend.getNumerator(), addend.getDenominator());
+        return this;
+    }
+    
+    /**
+     * Adds a fraction to the running total. If the fraction's numerator and 
+     * denominator are outside the range of <code>long</code>, the running 
+     * total spills over to <code>BigInteger</code> terms.
+     * @param addend The fraction to add. For example, 
+     * <sup>1</sup>&frasl;<sub>9223372036854775808</sub>.
+     * @return This accumulator, so that additions may be chained.
+     */
+    public RationalAccumulator add(BigFraction addend) {
+        if (addend.fitsInLong()) {
+            this.addPositive(addend.getNumerator().longValue(), 
+                    addend.getDenominator().longValue());
+        } else {
+            if (this.bigNumerator == null) {
+                this.spill();
+            }
+            this.bigAdd(addend.getNumerator(), addend.getDenominator());
+        }
+        return this;
+    }
+    
+    /**
+     * Adds an integer times a power of two to the running total. This is how 
+     * the exact values of binary floating point numbers are best added, and 
+     * it's what {@link math.fp.FloatingPointNumber#addTo(RationalAccumulator)} 
+     * uses.
+     * @param significand The integer. For example, 3.
+     * @param binaryExponent The power of two to multiply the integer by. May 
+     * be negative. For example, &minus;4.
+     * @return This accumulator, so that additions may be chained. In the 
+     * example, <sup>3</sup>&frasl;<sub>16</sub> was added.
+     */
+    public RationalAccumulator addDyadic(long significand, 
+            int binaryExponent) {
+        if (significand == 0L) {
+            return this;
+        }
+        if (binaryExponent >= 0) {
+            if (binaryExponent < Long.SIZE - 1 && (significand 
+                    << binaryExponent) >> binaryExponent == significand) {
+                this.addPositive(significand << binaryExponent, 1L);
+                return this;
+            }
+        } else {
+            int shift = Math.min(Long.numberOfTrailingZeros(significand), 
+                    -binaryExponent);
+            int denomExponent = -binaryExponent - shift;
+            if (denomExponent < Long.SIZE - 1) {
+                this.addPositive(significand >> shift, 1L << denomExponent);
+                return this;
+            }
+        }
+        return this.add(BigFraction.valueOf(BigInteger.valueOf(significand), 
+                binaryExponent));
+    }
+    
+    /**
+     * Adds the running total of another accumulator to this one. The other 
+     * accumulator is not changed.
+     * @param other The accumulator whose running total to add. For example, 
+     * one with running total <sup>1</sup>&frasl;<sub>6</sub>.
+     * @return This accumulator, so that additions may be chained.
+     */
+    public RationalAccumulator add(RationalAccumulator other) {
+        if (other.bigNumerator == null) {
+            this.addPositive(other.numerator, other.denominator);
+        } else {
+            if (this.bigNumerator == null) {
+                this.spill();
+            }
+            this.bigAdd(other.bigNumerator, other.bigDenominator);
+        }
+        return this;
+    }
+    
+    /**
+     * Sets the running total back to 0, so that this accumulator may be reused 
+     * for another sum.
+     */
+    public void reset() {
+        this.numerator = 0L;
+        this.denominator = 1L;
+        this.bigNumerator = null;
+        this.bigDenominator = null;
+        this.additionsSinceReduction = 0;
+    }
+    
+    /**
+     * Gives the running total as a fraction in lowest terms.
+     * @return The running total. For example, after adding 
+     * <sup>1</sup>&frasl;<sub>2</sub> and <sup>1</sup>&frasl;<sub>3</sub>, 
+     * <sup>5</sup>&frasl;<sub>6</sub>. If the running total is outside the 
+     * range of <code>long</code>, the fraction is backed by a {@link 
+     * BigFraction}.
+     */
+    public Fraction toFraction() {
+        if (this.bigNumerator == null) {
+            return new Fraction(this.numerator, this.denominator);
+        }
+        return this.toBigFraction().toFraction();
+    }
+    
+    /**
+     * Gives the running total as a fraction of arbitrary size.
+     * @return The running total. For example, after adding 
+     * <sup>1</sup>&frasl;<sub>2</sub> and <sup>1</sup>&frasl;<sub>3</sub>, 
+     * <sup>5</sup>&frasl;<sub>6</sub>.
+     */
+    public BigFraction toBigFraction() {
+        if (this.bigNumerator == null) {
+            return new BigFraction(this.numerator, this.denominator);
+        }
+        return new BigFraction(this.bigNumerator, this.bigDenominator);
+    }
+    
+    /**
+     * Gives the running total as a <code>String</code>, in the same format as 
+     * {@link Fraction#toString()}.
+     * @return The running total in lowest terms. For example, after adding 
+     * <sup>1</sup>&frasl;<sub>2</sub> and <sup>1</sup>&frasl;<sub>3</sub>, 
+     * "5/6".
+     */
+    @Override
+    public String toString() {
+        return this.toFraction().toString();
+    }
+    
+    /**
+     * Constructs an accumulator with a running total of 0.
+     */
+    public RationalAccumulator() {
+        this.reset();
+    }
+    
+}
@@ -16,7 +16,9 @@
  */
 package math.integer;
 
+import java.math.BigInteger;
 import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  *
@@ -24,7 +26,39 @@ import java.util.Random;
  */
 public class Calculator {
     
-    private static final Random RANDOM = new Random(System.nanoTime());
+    /**
+     * The number of bits of the leading digits Lehmer's algorithm works with. 
+     * This leaves room for the cofactors to be added to the leading digits 
+     * without overflowing <code>long</code>.
+     */
+    private static final int LEHMER_DIGIT_BITS = 62;
+    
+    /**
+     * The operand size, in bits, from which Lehmer's algorithm is faster than 
+     * the <code>BigInteger</code> class's own <code>gcd()</code>. Measured with 
+     * <code>GCDBenchmark</code>, the crossover is between 256 and 512 bits.
+     */
+    private static final int LEHMER_CROSSOVER_BITS = 384;
+    
+    private static volatile GCDAlgorithm gcdAlgorithm = GCDAlgorithm.LEHMER;
+    
+    /**
+     * The primes tried as divisors before the Miller&ndash;Rabin test. Any 
+     * number with no divisors among these that's less than the square of the 
+     * next prime, 53, is prime.
+     */
+    private static final int[] TRIAL_DIVISORS = {2, 3, 5, 7, 11, 13, 17, 19, 
+        23, 29, 31, 37, 41, 43, 47};
+    
+    private static final long TRIAL_DIVISION_LIMIT = 53L * 53L;
+    
+    /**
+     * The Miller&ndash;Rabin bases found by Jim Sinclair, which together 
+     * correctly tell primes from composites for all numbers less than 
+     * 2<sup>64</sup>.
+     */
+    private static final long[] MILLER_RABIN_BASES = {2L, 325L, 9375L, 28178L, 
+        450775L, 9780504L, 1795265022L};
     
     /**
      * Calculates the greatest common divisor (GCD) of two integers using the 
@@ -52,22 +86,395 @@ public class Calculator {
         return Math.abs(a);
     }
     
+    /**
+     * Calculates the greatest common divisor (GCD) of two integers using the 
+     * binary GCD algorithm, also known as Stein's algorithm. Instead of 
+     * division, this only uses subtraction and shifts, with each run of 
+     * trailing zeros removed at once with {@link Long#numberOfTrailingZeros}.
+     * @param a The first number. Need not be greater or smaller than
+     * <code>b</code>. For example, &minus;42.
+     * @param b The second number. Need not be greater or smaller than
+     * <code>a</code>. For example, &minus;49.
+     * @return The GCD. For example, 7. Same as {@link #euclideanGCD(long, 
+     * long)} for the same arguments, including the special cases.
+     */
+    public static long binaryGCD(long a, long b) {
+        long u = a < 0L ? -a : a;
+        long v = b < 0L ? -b : b;
+        if (u == 0L) {
+            return v;
+        }
+        if (v == 0L) {
+            return u;
+        }
+        int shift = Long.numberOfTrailingZeros(u | v);
+        u >>>= Long.numberOfTrailingZeros(u);
+        do {
+            v >>>= Long.numberOfTrailingZeros(v);
+            if (Long.compareUnsigned(u, v) > 0) {
+                long temp = u;
+                u = v;
+                v = temp;
+            }
+            v -= u;
+        } while (v != 0L);
+        return u << shift;
+    }
+    
+    /**
+     * Calculates the greatest common divisor (GCD) of two integers using the 
+     * Euclidean algorithm. This is the arbitrary precision counterpart of 
+     * {@link #euclideanGCD(long, long)}.
+     * @param a The first number. For example, &minus;42.
+     * @param b The second number. For example, &minus;49.
+     * @return The GCD. For example, 7. Never negative. Note that gcd(0, 0) = 0.
+     */
+    public static BigInteger euclideanGCD(BigInteger a, BigInteger b) {
+        a = a.abs();
+        b = b.abs();
+        while (b.signum() != 0) {
+            BigInteger temp = b;
+            b = a.mod(b);
+            a = temp;
+        }
+        return a;
+    }
+    
+    /**
+     * Calculates the greatest common divisor (GCD) of two integers using 
+     * Lehmer's algorithm, as given by Knuth in <i>Seminumerical 
+     * Algorithms</i>, section 4.5.2, algorithm L. Most of the Euclidean 
+     * quotients are worked out from just the leading 62 bits of each number 
+     * with <code>long</code> arithmetic, and only the accumulated cofactors are 
+     * applied to the full numbers. Once both numbers fit in a 
+     * <code>long</code>, the calculation is finished with {@link 
+     * #binaryGCD(long, long)}.
+     * @param a The first number. For example, &minus;42.
+     * @param b The second number. For example, &minus;49.
+     * @return The GCD. For example, 7. Never negative. Note that gcd(0, 0) = 0.
+     */
+    public static BigInteger lehmerGCD(BigInteger a, BigInteger b) {
+        BigInteger u = a.abs();
+        BigInteger v = b.abs();
+        if (u.compareTo(v) < 0) {
+            BigInteger temp = u;
+            u = v;
+            v = temp;
+        }
+        while (v.bitLength() >= Long.SIZE) {
+            int shift = u.bitLength() - LEHMER_DIGIT_BITS;
+            long uHat = u.shiftRight(shift).longValue();
+            long vHat = v.shiftRight(shift).longValue();
+            long cofA = 1L, cofB = 0L, cofC = 0L, cofD = 1L;
+            while (vHat + cofC != 0L && vHat + cofD != 0L) {
+                long q = (uHat + cofA) / (vHat + cofC);
+                if (q != (uHat + cofB) / (vHat + cofD)) {
+                    break;
+                }
+                long temp = cofA - q * cofC;
+                cofA = cofC;
+                cofC = temp;
+                temp = cofB - q * cofD;
+                cofB = cofD;
+                cofD = temp;
+                temp = uHat - q * vHat;
+                uHat = vHat;
+                vHat = temp;
+            }
+            if (cofB == 0L) {
+                BigInteger temp = u.mod(v);
+                u = v;
+                v = temp;
+            } else {
+                BigInteger nextU = u.multiply(BigInteger.valueOf(cofA))
+                        .add(v.multiply(BigInteger.valueOf(cofB)));
+                v = u.multiply(BigInteger.valueOf(cofC))
+                        .add(v.multiply(BigInteger.valueOf(cofD)));
+                u = nextU;
+            }
+        }
+        if (v.signum() == 0) {
+            return u;
+        }
+        long w = u.mod(v).longValue();
+        return BigInteger.valueOf(binaryGCD(v.longValue(), w));
+    }
+    
+    /**
+     * Tells which algorithm {@link #gcd(long, long)} and {@link 
+     * #gcd(BigInteger, BigInteger)} currently use.
+     * @return The algorithm. Initially {@link GCDAlgorithm#LEHMER}.
+     */
+    public static GCDAlgorithm getGCDAlgorithm() {
+        return gcdAlgorithm;
+    }
+    
+    /**
+     * Chooses the algorithm {@link #gcd(long, long)} and {@link 
+     * #gcd(BigInteger, BigInteger)} use. This affects every class in this 
+     * library that reduces fractions, and is meant for benchmarking and 
+     * tuning, not to be switched back and forth during a calculation.
+     * @param algorithm The algorithm to use. For example, {@link 
+     * GCDAlgorithm#BINARY}.
+     * @throws NullPointerException If <code>algorithm</code> is null.
+     */
+    public static void setGCDAlgorithm(GCDAlgorithm algorithm) {
+        if (algorithm == null) {
+            String excMsg = "GCD algorithm should not be null";
+            throw new NullPointerException(excMsg);
+        }
+        gcdAlgorithm = algorithm;
+    }
+    
+    /**
+     * Calculates the greatest common divisor (GCD) of two integers with the 
+     * currently selected algorithm.
+     * @param a The first number. For example, &minus;42.
+     * @param b The second number. For example, &minus;49.
+     * @return The GCD. For example, 7. The special cases are the same as for 
+     * {@link #euclideanGCD(long, long)}.
+     */
+    public static long gcd(long a, long b) {
+        return switch (gcdAlgorithm) {
+            case EUCLIDEAN -> euclideanGCD(a, b);
+            case BINARY, LEHMER -> binaryGCD(a, b);
+        };
+    }
+    
+    /**
+     * Calculates the greatest common divisor (GCD) of two integers with the 
+     * currently selected algorithm. With {@link GCDAlgorithm#LEHMER}, operands 
+     * that fit in a <code>long</code> go to {@link #binaryGCD(long, long)}, and 
+     * operands too small for Lehmer's algorithm to pay off go to the 
+     * <code>BigInteger</code> class's own <code>gcd()</code>.
+     * @param a The first number. For example, &minus;42.
+     * @param b The second number. For example, &minus;49.
+     * @return The GCD. For example, 7. Never negative.
+     */
+    public static BigInteger gcd(BigInteger a, BigInteger b) {
+        return switch (gcdAlgorithm) {
+            case EUCLIDEAN -> euclideanGCD(a, b);
+            case BINARY -> a.gcd(b);
+            case LEHMER -> {
+                int bitLength = Math.max(a.bitLength(), b.bitLength());
+                if (bitLength < Long.SIZE) {
+                    long g = binaryGCD(a.longValue(), b.longValue());
+                    yield BigInteger.valueOf(g);
+                }
+                yield bitLength < LEHMER_CROSSOVER_BITS ? a.gcd(b) 
+                        : lehmerGCD(a, b);
+            }
+        };
+    }
+    
+    /**
+     * Gives the high 64 bits of the 128-bit product of two numbers, treating 
+     * the first as unsigned and the second as nonnegative.
+     */
+    private static long unsignedMultiplyHigh(long a, long b) {
+        long high = Math.multiplyHigh(a, b);
+        return a < 0L ? high + b : high;
+    }
+    
+    /**
+     * Gives the inverse of an odd number modulo 2<sup>64</sup>, by Newton's 
+     * iteration. Each step doubles the number of correct low bits, and an odd 
+     * number is its own inverse modulo 8, so five steps are enough.
+     * @param n The number to invert. Must be odd.
+     * @return The inverse, so that <code>n * montgomeryInverse(n)</code> is 
+     * 1.
+     */
+    static long montgomeryInverse(long n) {
+        long inverse = n;
+        for (int i = 0; i < 5; i++) {
+            inverse *= 2L - n * inverse;
+        }
+        return inverse;
+    }
+    
+    /**
+     * Reduces a 128-bit number in Montgomery form, with <i>R</i> = 
+     * 2<sup>64</sup>. Since the low word of <i>m</i> &times; <i>n</i> is the 
+     * same as the low word of the number, only the high words need to be 
+     * subtracted.
+     * @param high The high word of the number, which must be less than 
+     * <code>n</code>.
+     * @param low The low word of the number.
+     * @param n The modulus. Must be odd and positive.
+     * @param nInverse The inverse of <code>n</code> modulo 2<sup>64</sup>.
+     * @return The number times <i>R</i><sup>&minus;1</sup> modulo 
+     * <code>n</code>, from 0 to <code>n</code> &minus; 1.
+     */
+    private static long montgomeryReduce(long high, long low, long n, 
+            long nInverse) {
+        long m = low * nInverse;
+        long result = high - unsignedMultiplyHigh(m, n);
+        return result < 0L ? result + n : result;
+    }
+    
+    /**
+     * Multiplies two numbers in Montgomery form, with <i>R</i> = 
+     * 2<sup>64</sup>.
+     * @param a The first number. Must be from 0 to <code>n</code> &minus; 1.
+     * @param b The second number. Must be from 0 to <code>n</code> &minus; 1.
+     * @param n The modulus. Must be odd and positive.
+     * @param nInverse The inverse of <code>n</code> modulo 2<sup>64</sup>, as 
+     * given by {@link #montgomeryInverse(long)}.
+     * @return <code>a</code> times <code>b</code> times 
+     * <i>R</i><sup>&minus;1</sup> modulo <code>n</code>.
+     */
+    static long montgomeryMultiply(long a, long b, long n, long nInverse) {
+        return montgomeryReduce(Math.multiplyHigh(a, b), a * b, n, nInverse);
+    }
+    
+    /**
+     * Runs one round of the Miller&ndash;Rabin test, entirely in Montgomery 
+     * form.
+     * @param base The base, in Montgomery form. Must not be 0.
+     * @param oddPart The odd part of <code>n</code> &minus; 1.
+     * @param twos How many times 2 divides <code>n</code> &minus; 1.
+     * @param one 1 in Montgomery form, that is, <i>R</i> modulo 
+     * <code>n</code>.
+     * @return True if <code>n</code> is a strong probable prime to the base, 
+     * false if the base is a witness to <code>n</code> being composite.
+     */
+    private static boolean isStrongProbablePrime(long base, long oddPart, 
+            int twos, long n, long nInverse, long one) {
+        long minusOne = n - one;
+        long power = one;
+        long square = base;
+        for (long e = oddPart; e != 0L; e >>>= 1) {
+            if ((e & 1L) != 0L) {
+                power = montgomeryMultiply(power, square, n, nInverse);
+            }
+            square = montgomeryMultiply(square, square, n, nInverse);
+        }
+        if (power == one || power == minusOne) {
+            return true;
+        }
+        for (int i = 1; i < twos; i++) {
+            power = montgomeryMultiply(power, power, n, nInverse);
+            if (power == minusOne) {
+                return true;
+            }
+            if (power == one) {
+                return false;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Determines whether a number is prime. After trial division by the primes 
+     * less than 53, this runs the deterministic Miller&ndash;Rabin test with 
+     * seven bases that are enough for all 64-bit numbers. The modular 
+     * multiplications are done by Montgomery multiplication on top of {@link 
+     * Math#multiplyHigh(long, long)}, so this never has to fall back on 
+     * <code>BigInteger</code>.
+     * @param n The number to check. For example, 9223372036854775783.
+     * @return True if <code>n</code> is prime, false otherwise. For example, 
+     * true. Negative numbers, 0 and 1 are not prime.
+     */
+    public static boolean isPrime(long n) {
+        if (n < 2L) {
+            return false;
+        }
+        for (int p : TRIAL_DIVISORS) {
+            if (n % p == 0L) {
+                return n == p;
+            }
+        }
+        if (n < TRIAL_DIVISION_LIMIT) {
+            return true;
+        }
+        long nInverse = montgomeryInverse(n);
+        long one = Long.remainderUnsigned(-n, n);
+        long rSquared = one;
+        for (int i = 0; i < Long.SIZE; i++) {
+            rSquared <<= 1;
+            if (rSquared < 0L || rSquared >= n) {
+                rSquared -= n;
+            }
+        }
+        long oddPart = n - 1L;
+        int twos = Long.numberOfTrailingZeros(oddPart);
+        oddPart >>= twos;
+        for (long base : MILLER_RABIN_BASES) {
+            long reduced = base % n;
+            if (reduced == 0L) {
+                continue;
+            }
+            long montBase = montgomeryMultiply(reduced, rSquared, n, 
+                    nInverse);
+            if (!isStrongProbablePrime(montBase, oddPart, twos, n, nInverse, 
+                    one)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Chooses a random prime of a given bit length. Odd numbers of that bit 
+     * length are drawn until one passes {@link #isPrime(long)}, which takes 
+     * about a third as many draws as the bit length.
+     * @param bitLength How many bits the prime should have, counting the 
+     * leading 1 bit. For example, 61. Must be at least 2 and at most 63.
+     * @return A prime from 2<sup><code>bitLength</code> &minus; 1</sup> up 
+     * to but not including 2<sup><code>bitLength</code></sup>. For example, 
+     * 1793548128315612109.
+     * @throws IllegalArgumentException If <code>bitLength</code> is less than 
+     * 2 or more than 63.
+     */
+    public static long randomPrimeOfBitLength(int bitLength) {
+        if (bitLength < 2 || bitLength >= Long.SIZE) {
+            String excMsg = "Bit length " + bitLength 
+                    + " should be from 2 to 63";
+            throw new IllegalArgumentException(excMsg);
+        }
+        Random random = ThreadLocalRandom.current();
+        if (bitLength == 2) {
+            return random.nextBoolean() ? 2L : 3L;
+        }
+        long top = 1L << (bitLength - 1);
+        long p;
+        do {
+            p = top | (random.nextLong() & (top - 1L)) | 1L;
+        } while (!isPrime(p));
+        return p;
+    }
+    
     /**
      * Gives a pseudorandomly chosen power of two.
      * @return A pseudorandomly chosen power of two. For example, 16384.
      */
     public static int randomPowerOfTwo() {
-        int shift = RANDOM.nextInt(31);
+        int shift = ThreadLocalRandom.current().nextInt(31);
         return 1 << shift;
     }
     
-    // TODO: Write tests for this
+    /**
+     * Gives a pseudorandomly chosen number congruent to a given number modulo 
+     * a given modulus. Every <code>int</code> in the congruence class is 
+     * equally likely.
+     * @param n The number to be congruent to. For example, 3.
+     * @param m The modulus. For example, 10. May be negative, in which case 
+     * its absolute value is used.
+     * @return A number congruent to <code>n</code> modulo <code>m</code>. For 
+     * example, &minus;1999999997.
+     * @throws ArithmeticException If <code>m</code> is 0.
+     */
     public static int randomMod(int n, int m) {
         if (m == 0) {
             String excMsg = "Numbers " + n + " modulo "  + m + " are undefined";
             throw new ArithmeticException(excMsg);
         }
-        return 0;
+        long modulus = Math.abs((long) m);
+        long first = Integer.MIN_VALUE 
+                + Math.floorMod(n - (long) Integer.MIN_VALUE, modulus);
+        long count = (Integer.MAX_VALUE - first) / modulus + 1;
+        long index = ThreadLocalRandom.current().nextLong(count);
+        return (int) (first + index * modulus);
     }
     
 }
@@ -16,76 +16,1157 @@
  */
 package math.integer;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
 import java.util.Random;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongConsumer;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 /**
- * Gathers prime numbers using the Eratosthenes sieve.
+ * Gathers prime numbers using the Eratosthenes sieve. The sieve is segmented 
+ * and only covers odd numbers, one bit per odd number, in segments of 
+ * {@value #SEGMENT_BITS} bits, which is 32 kibibytes. So each segment fits in 
+ * the level 1 data cache of most processors, and the memory needed besides the 
+ * primes themselves doesn't grow with the threshold. Each segment starts out 
+ * with the multiples of 3, 5 and 7 already crossed off, from a precomputed 
+ * wheel pattern. Since the segments are independent of each other, they can 
+ * also be sieved in parallel on a fork/join pool.
  * @author Alonso del Arte
  */
 public class EratosthenesSieve {
     
-    private static final Random RANDOM = new Random();
+    /**
+     * How many odd numbers a segment of the sieve covers. Must be a multiple 
+     * of 64.
+     */
+    static final int SEGMENT_BITS = 1 << 18;
     
-    // TODO: Write tests for this
-    public static List<Integer> listPrimes(int threshold) {
-        if (threshold < 2) {
-            return new ArrayList<>();
+    /**
+     * The threshold from which Dusart's bound on the prime counting function 
+     * holds.
+     */
+    private static final int DUSART_THRESHOLD = 355991;
+    
+    /**
+     * The largest threshold the sieve accepts for <code>long</code> 
+     * thresholds, 2<sup>60</sup>. The square root of this is well within the 
+     * range of <code>int</code>, which the base primes are kept in.
+     */
+    static final long MAX_LONG_THRESHOLD = 1L << 60;
+    
+    /**
+     * The period, in odd numbers, of the pattern of odd multiples of 3, 5 and 
+     * 7. Together with leaving out the even numbers, this makes a 2 &times; 3 
+     * &times; 5 &times; 7 wheel.
+     */
+    private static final int WHEEL_PERIOD = 3 * 5 * 7;
+    
+    /**
+     * The odd multiples of 3, 5 and 7, one bit per odd number, in the same 
+     * layout as the segments of the sieve. Since 64 &times; {@value 
+     * #WHEEL_PERIOD} is a multiple of {@value #WHEEL_PERIOD}, the pattern 
+     * repeats every {@value #WHEEL_PERIOD} words, and a segment starting on a 
+     * word boundary is pre-sieved by copying words of the pattern, instead of 
+     * crossing off the multiples of 3, 5 and 7 one by one.
+     */
+    private static final long[] WHEEL_PATTERN = makeWheelPattern();
+    
+    /**
+     * The largest number the shared prime table is grown to cover, 
+     * 2<sup>26</sup>. At this size, the bitmap takes up 4 mebibytes, the 
+     * running counts of primes 2 mebibytes and the primes themselves about 16 
+     * mebibytes.
+     */
+    static final int TABLE_CAP = 1 << 26;
+    
+    /**
+     * The largest number {@link #primeCount(long)} takes, 10<sup>13</sup>. 
+     * The time Lehmer's formula takes grows about sevenfold for each factor 
+     * of 10 past this, mostly on the counts for quotients beyond the shared 
+     * prime table, which are worked out recursively.
+     */
+    static final long MAX_COUNT_THRESHOLD = 10_000_000_000_000L;
+    
+    /**
+     * How many of the first primes the partial sieve function &phi; is 
+     * tabulated for. For <i>a</i> up to this, &phi;(<i>x</i>, <i>a</i>) is 
+     * periodic in <i>x</i> with the product of the first <i>a</i> primes as 
+     * the period, and is looked up in {@link #PHI_TABLES} instead of 
+     * computed by recursion.
+     */
+    private static final int PHI_TABLE_PRIMES = 6;
+    
+    /**
+     * The products of the first <i>a</i> primes, for <i>a</i> from 0 to 
+     * {@link #PHI_TABLE_PRIMES}: 1, 2, 6, 30, 210, 2310 and 30030.
+     */
+    private static final int[] PRIMORIALS = {1, 2, 6, 30, 210, 2310, 30030};
+    
+    /**
+     * The values of &phi;(<i>x</i>, <i>a</i>) for <i>x</i> from 0 up to but 
+     * not including the primorial of <i>a</i>, for each <i>a</i> up to {@link 
+     * #PHI_TABLE_PRIMES}.
+     */
+    private static final int[][] PHI_TABLES = makePhiTables();
+    
+    /**
+     * The bound below which {@link #randomOddPrime()} chooses primes, and how 
+     * many odd primes there are below it.
+     */
+    private static final int ODD_PRIME_BOUND = 1 << 16, ODD_PRIME_COUNT = 6541;
+    
+    /**
+     * The prime table shared by {@link #isPrime(int)}, {@link 
+     * #randomPrime(int)} and {@link #randomOddPrime()}. It starts out small 
+     * and is replaced by a larger one as needed.
+     */
+    private static volatile PrimeTable table = new PrimeTable(1 << 10);
+    
+    /**
+     * How many odd numbers the first segment of a {@link #primeIterator(int)} 
+     * covers.
+     */
+    private static final int FIRST_ITERATOR_SEGMENT_BITS = 1 << 12;
+    
+    /**
+     * How many positive odd numbers there are in the range of 
+     * <code>int</code>, 2<sup>30</sup>.
+     */
+    private static final long TOTAL_INT_BITS = 1L << 30;
+    
+    /**
+     * The square root of <code>Integer.MAX_VALUE</code>, rounded down.
+     */
+    private static final int MAX_INT_ROOT = 46340;
+    
+    /**
+     * How many segments a parallel sieving task handles itself rather than 
+     * splitting up further.
+     */
+    private static final int SEGMENTS_PER_TASK = 4;
+    
+    /**
+     * A segment buffer for each thread doing parallel sieving, so that the 
+     * segments can be sieved without allocating.
+     */
+    private static final ThreadLocal<long[]> SEGMENT_BUFFER 
+            = ThreadLocal.withInitial(() -> new long[SEGMENT_BITS / Long.SIZE]);
+    
+    /**
+     * A list view of an array of primes. The primes are boxed one at a time, 
+     * as they're asked for, so the list takes up no more memory than the 
+     * array.
+     */
+    private static final class PrimeList extends AbstractList<Integer> 
+            implements RandomAccess {
+        
+        private final int[] primes;
+        
+        @Override
+        public Integer get(int index) {
+            return this.primes[index];
         }
-        List<Integer> list = List.of(2, 3, 5, 7);
-        return list;
+        
+        @Override
+        public int size() {
+            return this.primes.length;
+        }
+        
+        PrimeList(int[] primes) {
+            this.primes = primes;
+        }
+        
     }
     
-    private static boolean checkPrime(int p) {
-        switch (p) {
-            case 0, 1 -> {
+    /**
+     * Goes through the primes from a given starting point on, sieving one 
+     * segment at a time as the previous one runs out. The first segment is 
+     * small, so that asking for just a few primes stays cheap, and each 
+     * segment after that is twice as large as the one before, up to {@link 
+     * #SEGMENT_BITS} bits. The base primes are sieved anew whenever they no 
+     * longer reach the square root of the end of the segment.
+     */
+    private static final class PrimeIterator 
+            implements PrimitiveIterator.OfInt {
+        
+        private final long[] segment = new long[SEGMENT_BITS / Long.SIZE];
+        
+        private int[] basePrimes = new int[0];
+        
+        private int baseBound = 0;
+        
+        /**
+         * Whether 2 still has to be given, since the segments only cover odd 
+         * numbers.
+         */
+        private boolean pendingTwo;
+        
+        /**
+         * The index of the first odd number of the current segment, how many 
+         * odd numbers the current segment covers, which word of the segment 
+         * is being gone through and the primes left in that word.
+         */
+        private long firstIndex;
+        
+        private int bitCount, wordIndex;
+        
+        private long candidates;
+        
+        /**
+         * Sieves the segment after the current one, and points to its first 
+         * word.
+         * @return False if there are no more odd numbers in the range of 
+         * <code>int</code>, true otherwise.
+         */
+        private boolean advanceSegment(int nextBitCount) {
+            this.firstIndex += this.bitCount;
+            long remaining = TOTAL_INT_BITS - this.firstIndex;
+            if (remaining <= 0L) {
                 return false;
             }
-            case 2 -> {
+            this.bitCount = (int) Math.min(nextBitCount, remaining);
+            long lastNumber = 2 * (this.firstIndex + this.bitCount) - 1;
+            int needed = squareRoot(lastNumber);
+            if (needed > this.baseBound) {
+                this.baseBound = (int) Math.min(MAX_INT_ROOT, 
+                        Math.max(needed, 2L * this.baseBound));
+                this.basePrimes = smallOddPrimes(this.baseBound);
+            }
+            sieveSegment(this.segment, this.firstIndex, this.bitCount, 
+                    this.basePrimes);
+            this.wordIndex = 0;
+            this.candidates = this.wordCandidates();
+            return true;
+        }
+        
+        private long wordCandidates() {
+            long word = ~this.segment[this.wordIndex];
+            int bitsLeft = this.bitCount - this.wordIndex * Long.SIZE;
+            if (bitsLeft < Long.SIZE) {
+                word &= (1L << bitsLeft) - 1;
+            }
+            return word;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            if (this.pendingTwo || this.candidates != 0L) {
                 return true;
             }
-            default -> {
-                if (p % 2 == 0) {
+            while (this.bitCount > 0) {
+                int wordCount = (this.bitCount + Long.SIZE - 1) / Long.SIZE;
+                while (++this.wordIndex < wordCount) {
+                    this.candidates = this.wordCandidates();
+                    if (this.candidates != 0L) {
+                        return true;
+                    }
+                }
+                if (!this.advanceSegment(Math.min(2 * this.bitCount, 
+                        SEGMENT_BITS))) {
+                    this.bitCount = 0;
                     return false;
                 }
-                double root = Math.sqrt(p);
-                int divisor = 3;
-                while (divisor <= root) {
-                    if (p % divisor == 0) {
-                        return false;
-                    }
-                    divisor += 2;
+                if (this.candidates != 0L) {
+                    return true;
                 }
-                return true;
             }
+            return false;
         }
+        
+        @Override
+        public int nextInt() {
+            if (!this.hasNext()) {
+                String excMsg = "No more primes in the range of int";
+                throw new NoSuchElementException(excMsg);
+            }
+            if (this.pendingTwo) {
+                this.pendingTwo = false;
+                return 2;
+            }
+            int bit = Long.numberOfTrailingZeros(this.candidates);
+            this.candidates &= this.candidates - 1;
+            return (int) (2 * (this.firstIndex + this.wordIndex * Long.SIZE 
+                    + bit) + 1);
+        }
+        
+        PrimeIterator(int start) {
+            this.pendingTwo = start <= 2;
+            long startIndex = Math.max(start, 3) / 2;
+            this.firstIndex = startIndex - startIndex % Long.SIZE;
+            this.bitCount = 0;
+            this.advanceSegment(FIRST_ITERATOR_SEGMENT_BITS);
+            this.candidates &= -1L << (startIndex - this.firstIndex);
+        }
+        
+    }
+    
+    /**
+     * Does some work on a range of segments in parallel, by splitting the 
+     * range in half until it's small enough, and adds up the results.
+     */
+    private static final class SegmentTask extends RecursiveTask<Long> {
+        
+        private static final long serialVersionUID = 4557312068923550474L;
+        
+        private final long fromSegment, toSegment;
+        
+        private final LongUnaryOperator work;
+        
+        @Override
+        protected Long compute() {
+            long count = this.toSegment - this.fromSegment;
+            if (count <= SEGMENTS_PER_TASK) {
+                long sum = 0L;
+                for (long s = this.fromSegment; s < this.toSegment; s++) {
+                    sum += this.work.applyAsLong(s);
+                }
+                return sum;
+            }
+            long middle = this.fromSegment + count / 2;
+            SegmentTask lower = new SegmentTask(this.fromSegment, middle, 
+                    this.work);
+            lower.fork();
+            long upperSum = new SegmentTask(middle, this.toSegment, this.work)
+                    .compute();
+            return lower.join() + upperSum;
+        }
+        
+        SegmentTask(long from, long to, LongUnaryOperator work) {
+            this.fromSegment = from;
+            this.toSegment = to;
+            this.work = work;
+        }
+        
+    }
+    
+    /**
+     * A table of the primes up to some limit, both as a bitmap of odd numbers 
+     * and as an array. Never changed once made.
+     */
+    private static final class PrimeTable {
+        
+        /**
+         * The limit of this table. The table covers all numbers from 0 up to 
+         * and including this.
+         */
+        final int limit;
+        
+        /**
+         * The bitmap of odd composites, in the same layout as the segments of 
+         * the sieve: bit <i>i</i> is 0 if 2<i>i</i> + 1 is prime.
+         */
+        final long[] composites;
+        
+        /**
+         * The primes up to the limit, in ascending order.
+         */
+        final int[] primes;
+        
+        /**
+         * How many primes there are before each word of the bitmap, counting 
+         * 2, so that the primes up to any number of the table can be counted 
+         * with one lookup and one bit count.
+         */
+        final int[] wordCounts;
+        
+        /**
+         * Counts the primes up to a number of the table.
+         * @param n The number. Must be at most the limit of the table.
+         * @return How many primes there are from 2 up to <code>n</code>.
+         */
+        int count(long n) {
+            if (n < 3L) {
+                return n < 2L ? 0 : 1;
+            }
+            int index = (int) ((n - 1) / 2);
+            int word = index >>> 6;
+            long mask = -1L >>> (Long.SIZE - 1 - (index & 63));
+            return this.wordCounts[word] 
+                    + Long.bitCount(~this.composites[word] & mask);
+        }
+        
+        PrimeTable(int limit) {
+            this.limit = limit;
+            int bitCount = (limit + 1) / 2;
+            this.composites = new long[(bitCount + Long.SIZE - 1) / Long.SIZE];
+            int[] basePrimes = smallOddPrimes(squareRoot(limit));
+            long[] segment = new long[SEGMENT_BITS / Long.SIZE];
+            int count = 1;
+            for (int firstIndex = 0; firstIndex < bitCount; 
+                    firstIndex += SEGMENT_BITS) {
+                int segmentBits = Math.min(SEGMENT_BITS, 
+                        bitCount - firstIndex);
+                sieveSegment(segment, firstIndex, segmentBits, basePrimes);
+                count += countSegment(segment, segmentBits);
+                System.arraycopy(segment, 0, this.composites, 
+                        firstIndex / Long.SIZE, 
+                        (segmentBits + Long.SIZE - 1) / Long.SIZE);
+            }
+            this.primes = new int[count];
+            this.primes[0] = 2;
+            collectSegment(this.composites, 0, bitCount, this.primes, 1);
+            this.wordCounts = new int[this.composites.length];
+            int before = 1;
+            for (int w = 0; w < this.composites.length; w++) {
+                this.wordCounts[w] = before;
+                before += Long.bitCount(~this.composites[w]);
+            }
+        }
+        
+    }
+    
+    private static int[][] makePhiTables() {
+        int[] smallPrimes = {2, 3, 5, 7, 11, 13};
+        int[][] tables = new int[PHI_TABLE_PRIMES + 1][];
+        for (int a = 0; a <= PHI_TABLE_PRIMES; a++) {
+            int period = PRIMORIALS[a];
+            int[] table = new int[period];
+            int count = 0;
+            for (int x = 1; x < period; x++) {
+                boolean coprime = true;
+                for (int i = 0; i < a && coprime; i++) {
+                    coprime = x % smallPrimes[i] != 0;
+                }
+                if (coprime) {
+                    count++;
+                }
+                table[x] = count;
+            }
+            tables[a] = table;
+        }
+        return tables;
+    }
+    
+    private static long[] makeWheelPattern() {
+        long[] pattern = new long[WHEEL_PERIOD];
+        for (int i = 0; i < WHEEL_PERIOD * Long.SIZE; i++) {
+            int n = 2 * i + 1;
+            if (n % 3 == 0 || n % 5 == 0 || n % 7 == 0) {
+                pattern[i >>> 6] |= 1L << i;
+            }
+        }
+        return pattern;
+    }
+    
+    /**
+     * Gives an upper bound for the number of primes up to a given number, 
+     * using Rosser and Schoenfeld's bound for small numbers and Dusart's 
+     * tighter bound for larger numbers.
+     */
+    static int maxPrimeCount(int threshold) {
+        double x = threshold;
+        double log = Math.log(x);
+        double bound = (threshold < DUSART_THRESHOLD) ? 1.25506 * x / log 
+                : x / log * (1.0 + 1.0 / log + 2.51 / (log * log));
+        return (int) bound + 1;
     }
     
     /**
-     * Chooses a random prime between 2 and the least prime not greater than a 
-     * specified bound.
-     * @param bound The maximum number to go up to. For example, 100. This 
-     * number need not be prime.
-     * @return A prime number between 2 and <code>bound</code>. For example, 19.
+     * Sieves one segment of odd numbers. Afterwards, the bits of the segment 
+     * that are still 0 stand for primes. The multiples of 3, 5 and 7 are 
+     * crossed off by copying the wheel pattern.
+     * @param segment The bits of the segment, one bit per odd number. Bit 
+     * <i>i</i> stands for 2(<code>firstIndex</code> + <i>i</i>) + 1. Bits 
+     * past <code>bitCount</code> in the last word may be set or not, and bits 
+     * in words past that are left as they are.
+     * @param firstIndex The index of the first odd number of the segment, 
+     * that is, that number minus 1, divided by 2. Must be a multiple of 64.
+     * @param bitCount How many odd numbers to sieve. Should be no more than 
+     * 64 times the length of <code>segment</code>.
+     * @param basePrimes The primes to sieve with, in ascending order, 
+     * including at least all the primes from 11 up to the square root of the 
+     * last number of the segment. The primes 2, 3, 5 and 7, if present, are 
+     * skipped.
+     */
+    static void sieveSegment(long[] segment, long firstIndex, int bitCount, 
+            int[] basePrimes) {
+        assert firstIndex % Long.SIZE == 0 
+                : "Segment should start on a word boundary";
+        int wordCount = (bitCount + Long.SIZE - 1) / Long.SIZE;
+        int patternIndex = (int) ((firstIndex / Long.SIZE) % WHEEL_PERIOD);
+        for (int w = 0; w < wordCount; w++) {
+            segment[w] = WHEEL_PATTERN[patternIndex];
+            if (++patternIndex == WHEEL_PERIOD) {
+                patternIndex = 0;
+            }
+        }
+        long firstNumber = 2 * firstIndex + 1;
+        long endIndex = firstIndex + bitCount;
+        if (firstIndex == 0L) {
+            segment[0] = (segment[0] & ~0b1110L) | 1L;
+        }
+        for (int p : basePrimes) {
+            if (p <= 7) {
+                continue;
+            }
+            long square = (long) p * p;
+            long startIndex = (square - 1) / 2;
+            if (startIndex >= endIndex) {
+                break;
+            }
+            if (square < firstNumber) {
+                long multiplier = (firstNumber + p - 1) / p;
+                multiplier |= 1L;
+                startIndex = (multiplier * p - 1) / 2;
+            }
+            if (startIndex - firstIndex >= bitCount) {
+                continue;
+            }
+            for (int i = (int) (startIndex - firstIndex); i < bitCount; 
+                    i += p) {
+                segment[i >>> 6] |= 1L << i;
+            }
+        }
+    }
+    
+    /**
+     * Gives the primes of a sieved segment.
+     * @param segment The segment, as sieved by {@link #sieveSegment(long[], 
+     * long, int, int[])}.
+     * @param firstIndex The index of the first odd number of the segment.
+     * @param bitCount How many odd numbers were sieved.
+     * @param primes The array to put the primes in.
+     * @param offset Where in <code>primes</code> to put the first prime.
+     * @return How many primes were put in <code>primes</code>.
+     */
+    private static int collectSegment(long[] segment, long firstIndex, 
+            int bitCount, int[] primes, int offset) {
+        int index = offset;
+        int wordCount = (bitCount + Long.SIZE - 1) / Long.SIZE;
+        for (int w = 0; w < wordCount; w++) {
+            long candidates = ~segment[w];
+            if (w == wordCount - 1 && bitCount % Long.SIZE != 0) {
+                candidates &= (1L << bitCount) - 1;
+            }
+            while (candidates != 0L) {
+                int bit = Long.numberOfTrailingZeros(candidates);
+                primes[index++] = (int) (2 * (firstIndex + w * Long.SIZE 
+                        + bit) + 1);
+                candidates &= candidates - 1;
+            }
+        }
+        return index - offset;
+    }
+    
+    /**
+     * Gives the primes of a sieved segment in an array of their own.
+     * @param segment The segment, as sieved by {@link #sieveSegment(long[], 
+     * long, int, int[])}.
+     * @param firstIndex The index of the first odd number of the segment.
+     * @param bitCount How many odd numbers were sieved.
+     * @return The primes of the segment, in ascending order.
+     */
+    private static long[] segmentPrimes(long[] segment, long firstIndex, 
+            int bitCount) {
+        long[] primes = new long[countSegment(segment, bitCount)];
+        int index = 0;
+        int wordCount = (bitCount + Long.SIZE - 1) / Long.SIZE;
+        for (int w = 0; w < wordCount; w++) {
+            long candidates = ~segment[w];
+            if (w == wordCount - 1 && bitCount % Long.SIZE != 0) {
+                candidates &= (1L << bitCount) - 1;
+            }
+            while (candidates != 0L) {
+                int bit = Long.numberOfTrailingZeros(candidates);
+                primes[index++] = 2 * (firstIndex + w * Long.SIZE + bit) + 1;
+                candidates &= candidates - 1;
+            }
+        }
+        return primes;
+    }
+    
+    /**
+     * Counts the primes of a sieved segment.
+     * @param segment The segment, as sieved by {@link #sieveSegment(long[], 
+     * long, int, int[])}.
+     * @param bitCount How many odd numbers were sieved.
+     * @return How many primes there are in the segment.
+     */
+    private static int countSegment(long[] segment, int bitCount) {
+        int count = 0;
+        int fullWords = bitCount / Long.SIZE;
+        for (int w = 0; w < fullWords; w++) {
+            count += Long.bitCount(~segment[w]);
+        }
+        if (bitCount % Long.SIZE != 0) {
+            count += Long.bitCount(~segment[fullWords] 
+                    & ((1L << bitCount) - 1));
+        }
+        return count;
+    }
+    
+    private static long cubeRoot(long n) {
+        long root = (long) Math.cbrt(n);
+        while (root * root * root > n) {
+            root--;
+        }
+        while ((root + 1) * (root + 1) * (root + 1) <= n) {
+            root++;
+        }
+        return root;
+    }
+    
+    private static int squareRoot(long n) {
+        long root = (long) Math.sqrt(n);
+        while (root * root > n) {
+            root--;
+        }
+        while ((root + 1) * (root + 1) <= n) {
+            root++;
+        }
+        return (int) root;
+    }
+    
+    /**
+     * Lists the odd primes up to a small bound with a plain odd-only sieve, 
+     * for use as base primes of the segmented sieve.
+     */
+    private static int[] smallOddPrimes(int bound) {
+        if (bound < 3) {
+            return new int[0];
+        }
+        int bitCount = (bound - 1) / 2;
+        long[] bits = new long[(bitCount + Long.SIZE) / Long.SIZE];
+        int count = 0;
+        int[] primes = new int[maxPrimeCount(bound)];
+        for (int i = 1; i <= bitCount; i++) {
+            if ((bits[i >>> 6] & (1L << i)) == 0L) {
+                int p = 2 * i + 1;
+                primes[count++] = p;
+                for (long j = ((long) p * p - 1) / 2; j <= bitCount; j += p) {
+                    bits[(int) (j >>> 6)] |= 1L << j;
+                }
+            }
+        }
+        return Arrays.copyOf(primes, count);
+    }
+    
+    /**
+     * Gives all the primes up to a given threshold, in ascending order, as a 
+     * primitive array. This takes much less memory than a list of boxed 
+     * <code>Integer</code> objects: all the primes up to 
+     * <code>Integer.MAX_VALUE</code> take up about 420 megabytes this way.
+     * @param threshold The number to go up to. For example, 20. This number 
+     * need not be prime, but if it is, it's included.
+     * @return The primes from 2 up to <code>threshold</code>. For example, 
+     * {2, 3, 5, 7, 11, 13, 17, 19}. If <code>threshold</code> is less than 
+     * 2, an empty array.
+     */
+    public static int[] primesUpTo(int threshold) {
+        if (threshold < 2) {
+            return new int[0];
+        }
+        int[] basePrimes = smallOddPrimes(squareRoot(threshold));
+        int[] primes = new int[maxPrimeCount(threshold)];
+        primes[0] = 2;
+        int count = 1;
+        long[] segment = new long[SEGMENT_BITS / Long.SIZE];
+        long totalBits = ((long) threshold + 1) / 2;
+        for (long firstIndex = 0; firstIndex < totalBits; 
+                firstIndex += SEGMENT_BITS) {
+            int bitCount = (int) Math.min(SEGMENT_BITS, 
+                    totalBits - firstIndex);
+            sieveSegment(segment, firstIndex, bitCount, basePrimes);
+            count += collectSegment(segment, firstIndex, bitCount, primes, 
+                    count);
+        }
+        return count == primes.length ? primes : Arrays.copyOf(primes, count);
+    }
+    
+    /**
+     * Lists all the primes up to a given threshold, in ascending order. The 
+     * list is an unmodifiable view of the array given by {@link 
+     * #primesUpTo(int)}, and the primes are boxed only as they're read.
+     * @param threshold The number to go up to. For example, 20. This number 
+     * need not be prime, but if it is, it's included.
+     * @return The primes from 2 up to <code>threshold</code>. For example, 
+     * [2, 3, 5, 7, 11, 13, 17, 19]. If <code>threshold</code> is less than 
+     * 2, an empty list.
+     */
+    public static List<Integer> listPrimes(int threshold) {
+        return new PrimeList(primesUpTo(threshold));
+    }
+    
+    /**
+     * Gives an iterator over all the primes in the range of <code>int</code>, 
+     * in ascending order. The primes are sieved a segment at a time as they're 
+     * asked for, so the memory used stays the same however far the iteration 
+     * goes, and stopping early costs nothing for the primes not reached.
+     * @return An iterator that starts at 2 and ends at 2147483647.
+     */
+    public static PrimitiveIterator.OfInt primeIterator() {
+        return primeIterator(2);
+    }
+    
+    /**
+     * Gives an iterator over the primes from a given starting point on, in 
+     * ascending order, like {@link #primeIterator()}.
+     * @param start The number to start at. For example, 1000000. This number 
+     * need not be prime, but if it is, it's included. It may also be 
+     * negative, in which case the iterator starts at 2.
+     * @return An iterator over the primes from <code>start</code> on. For 
+     * example, one starting with 1000003, 1000033, 1000037.
+     */
+    public static PrimitiveIterator.OfInt primeIterator(int start) {
+        return new PrimeIterator(start);
+    }
+    
+    /**
+     * Gives a stream of all the primes in the range of <code>int</code>, in 
+     * ascending order. The stream is lazy, backed by {@link 
+     * #primeIterator()}, and so is meant to be cut short with 
+     * <code>limit()</code>, <code>takeWhile()</code> or a short-circuiting 
+     * terminal operation.
+     * @return A sequential stream that starts at 2 and ends at 2147483647.
+     */
+    public static IntStream primes() {
+        return primes(2);
+    }
+    
+    /**
+     * Gives a stream of the primes from a given starting point on, in 
+     * ascending order, like {@link #primes()}. For example, 
+     * <code>primes(x).limit(n)</code> gives the first <code>n</code> primes 
+     * from <code>x</code> on.
+     * @param start The number to start at. For example, 1000000. This number 
+     * need not be prime, but if it is, it's included. It may also be 
+     * negative, in which case the stream starts at 2.
+     * @return A sequential stream of the primes from <code>start</code> on. 
+     * For example, 1000003, 1000033, 1000037, &hellip;
+     */
+    public static IntStream primes(int start) {
+        Spliterator.OfInt spliterator = Spliterators.spliteratorUnknownSize(
+                primeIterator(start), Spliterator.ORDERED | Spliterator.DISTINCT 
+                        | Spliterator.SORTED | Spliterator.NONNULL 
+                        | Spliterator.IMMUTABLE);
+        return StreamSupport.intStream(spliterator, false);
+    }
+    
+    /**
+     * Computes the partial sieve function &phi;(<i>x</i>, <i>a</i>), the 
+     * number of positive integers up to <i>x</i> not divisible by any of the 
+     * first <i>a</i> primes. For small <i>a</i>, this is looked up in the 
+     * cached tables. Once the square of the next prime is more than 
+     * <i>x</i>, the numbers left are 1 and the primes after the first 
+     * <i>a</i>, which are counted with the prime table. Otherwise, this 
+     * recurses on &phi;(<i>x</i>, <i>a</i>) = &phi;(<i>x</i>, 
+     * <i>a</i> &minus; 1) &minus; &phi;(<i>x</i>/<i>p<sub>a</sub></i>, 
+     * <i>a</i> &minus; 1), unrolled down to the tabulated <i>a</i>.
+     */
+    private static long phi(long x, int a, PrimeTable table) {
+        if (a <= PHI_TABLE_PRIMES) {
+            int period = PRIMORIALS[a];
+            int[] phiTable = PHI_TABLES[a];
+            return (x / period) * phiTable[period - 1] 
+                    + phiTable[(int) (x % period)];
+        }
+        int[] primes = table.primes;
+        if (x <= table.limit && (long) primes[a] * primes[a] > x) {
+            return Math.max(table.count(x) - a + 1, x > 0L ? 1 : 0);
+        }
+        long result = phi(x, PHI_TABLE_PRIMES, table);
+        for (int i = PHI_TABLE_PRIMES; i < a; i++) {
+            result -= phi(x / primes[i], i, table);
+        }
+        return result;
+    }
+    
+    /**
+     * Counts the primes up to a number by Lehmer's formula, &pi;(<i>x</i>) = 
+     * &phi;(<i>x</i>, <i>a</i>) + (<i>b</i> + <i>a</i> &minus; 2)(<i>b</i> 
+     * &minus; <i>a</i> + 1)/2 &minus; &Sigma; 
+     * &pi;(<i>x</i>/<i>p<sub>i</sub></i>) &minus; &Sigma; &Sigma; 
+     * (&pi;(<i>x</i>/<i>p<sub>i</sub>p<sub>j</sub></i>) &minus; (<i>j</i> 
+     * &minus; 1)), with <i>a</i> = 
+     * &pi;(<i>x</i><sup>1/4</sup>), <i>b</i> = &pi;(<i>x</i><sup>1/2</sup>) 
+     * and the double sum over <i>i</i> up to &pi;(<i>x</i><sup>1/3</sup>). 
+     * The counts for numbers within the prime table are looked up, and the 
+     * counts for larger numbers are worked out the same way.
+     */
+    private static long lehmerCount(long x, PrimeTable table) {
+        if (x <= table.limit) {
+            return table.count(x);
+        }
+        int[] primes = table.primes;
+        long squareRoot = squareRoot(x);
+        int a = table.count(squareRoot(squareRoot));
+        int b = table.count(squareRoot);
+        int c = table.count(cubeRoot(x));
+        long sum = phi(x, a, table) + (long) (b + a - 2) * (b - a + 1) / 2;
+        for (int i = a; i < b; i++) {
+            long quotient = x / primes[i];
+            sum -= lehmerCount(quotient, table);
+            if (i < c) {
+                int limit = table.count(squareRoot(quotient));
+                for (int j = i; j < limit; j++) {
+                    sum -= lehmerCount(quotient / primes[j], table) - j;
+                }
+            }
+        }
+        return sum;
+    }
+    
+    /**
+     * Counts the primes up to a given threshold without sieving all the way 
+     * up to it, by the Meissel&ndash;Lehmer method. The shared prime table is 
+     * grown to cover about the two-thirds power of the threshold, up to 
+     * {@link #TABLE_CAP}, so that most of the counts the method needs are 
+     * lookups. On one core, &pi;(10<sup>12</sup>) takes about half a second 
+     * and &pi;(10<sup>13</sup>) about three seconds, where sieving with 
+     * {@link #parallelPrimeCount(long)} would take minutes. Thresholds are 
+     * capped at 10<sup>13</sup>, since the time keeps growing about sevenfold 
+     * for each factor of 10.
+     * @param threshold The number to go up to. For example, 
+     * 10<sup>12</sup>. This number need not be prime, but if it is, it's 
+     * counted.
+     * @return How many primes there are from 2 up to <code>threshold</code>. 
+     * For example, 37607912018. If <code>threshold</code> is less than 2, 0.
+     * @throws IllegalArgumentException If <code>threshold</code> is more than 
+     * 10<sup>13</sup>.
+     */
+    public static long primeCount(long threshold) {
+        if (threshold > MAX_COUNT_THRESHOLD) {
+            String excMsg = "Threshold " + threshold 
+                    + " is too large, should be at most " 
+                    + MAX_COUNT_THRESHOLD;
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (threshold < 2L) {
+            return 0L;
+        }
+        long cubeRoot = cubeRoot(threshold);
+        long target = Math.max(cubeRoot * cubeRoot, squareRoot(threshold));
+        PrimeTable table = tableCovering((int) Math.min(Math.min(target, 
+                threshold), TABLE_CAP));
+        return lehmerCount(threshold, table);
+    }
+    
+    /**
+     * Gives all the primes up to a given threshold, like {@link 
+     * #primesUpTo(int)}, but sieving the segments in parallel on the common 
+     * fork/join pool.
+     * @param threshold The number to go up to. For example, 20. This number 
+     * need not be prime, but if it is, it's included.
+     * @return The primes from 2 up to <code>threshold</code>. For example, 
+     * {2, 3, 5, 7, 11, 13, 17, 19}. If <code>threshold</code> is less than 
+     * 2, an empty array.
+     */
+    public static int[] parallelPrimesUpTo(int threshold) {
+        return parallelPrimesUpTo(threshold, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Gives all the primes up to a given threshold, like {@link 
+     * #primesUpTo(int)}, but sieving the segments in parallel on a given 
+     * fork/join pool. This is done in two passes. The first pass counts the 
+     * primes of each segment. Then the counts are added up in order, giving 
+     * each segment its place in the array of primes, and the second pass 
+     * sieves the segments again and puts their primes in their places. So the 
+     * primes come out in order, and the array is allocated once, at its exact 
+     * size. For primes beyond the range of <code>int</code>, use {@link 
+     * #parallelPrimes(long, ForkJoinPool, LongConsumer)}, which doesn't keep 
+     * them all in memory at once.
+     * @param threshold The number to go up to. For example, 20. This number 
+     * need not be prime, but if it is, it's included.
+     * @param pool The pool to sieve on. For example, a pool with parallelism 
+     * 8.
+     * @return The primes from 2 up to <code>threshold</code>. For example, 
+     * {2, 3, 5, 7, 11, 13, 17, 19}. If <code>threshold</code> is less than 
+     * 2, an empty array.
+     */
+    public static int[] parallelPrimesUpTo(int threshold, ForkJoinPool pool) {
+        if (threshold < 2) {
+            return new int[0];
+        }
+        int[] basePrimes = smallOddPrimes(squareRoot(threshold));
+        long totalBits = ((long) threshold + 1) / 2;
+        int segmentCount = (int) ((totalBits + SEGMENT_BITS - 1) 
+                / SEGMENT_BITS);
+        int[] offsets = new int[segmentCount + 1];
+        pool.invoke(new SegmentTask(0, segmentCount, s -> {
+            long firstIndex = s * SEGMENT_BITS;
+            int bitCount = (int) Math.min(SEGMENT_BITS, totalBits - firstIndex);
+            long[] segment = SEGMENT_BUFFER.get();
+            sieveSegment(segment, firstIndex, bitCount, basePrimes);
+            offsets[(int) s + 1] = countSegment(segment, bitCount);
+            return 0L;
+        }));
+        offsets[0] = 1;
+        for (int s = 1; s <= segmentCount; s++) {
+            offsets[s] += offsets[s - 1];
+        }
+        int[] primes = new int[offsets[segmentCount]];
+        primes[0] = 2;
+        pool.invoke(new SegmentTask(0, segmentCount, s -> {
+            long firstIndex = s * SEGMENT_BITS;
+            int bitCount = (int) Math.min(SEGMENT_BITS, totalBits - firstIndex);
+            long[] segment = SEGMENT_BUFFER.get();
+            sieveSegment(segment, firstIndex, bitCount, basePrimes);
+            return collectSegment(segment, firstIndex, bitCount, primes, 
+                    offsets[(int) s]);
+        }));
+        return primes;
+    }
+    
+    /**
+     * Goes through all the primes up to a given threshold, in ascending order, 
+     * sieving the segments in parallel on the common fork/join pool.
+     * @param threshold The number to go up to. For example, 
+     * 10<sup>10</sup>. This number need not be prime, but if it is, it's 
+     * included.
+     * @param action What to do with each prime. For example, a consumer that 
+     * writes the primes to a file.
+     * @throws IllegalArgumentException If <code>threshold</code> is more than 
+     * 2<sup>60</sup>.
+     */
+    public static void parallelPrimes(long threshold, LongConsumer action) {
+        parallelPrimes(threshold, ForkJoinPool.commonPool(), action);
+    }
+    
+    /**
+     * Goes through all the primes up to a given threshold, in ascending order, 
+     * sieving the segments in parallel on a given fork/join pool. This works 
+     * for thresholds far beyond the range of <code>int</code>. The segments 
+     * are sieved a batch at a time, each segment's primes going into an array 
+     * of their own, and then the primes of the batch are handed to 
+     * <code>action</code> one segment after another, on the calling thread. 
+     * So <code>action</code> needn't be safe for use by multiple threads, and 
+     * the memory used depends on the parallelism of the pool rather than on 
+     * the threshold.
+     * @param threshold The number to go up to. For example, 
+     * 10<sup>10</sup>. This number need not be prime, but if it is, it's 
+     * included.
+     * @param pool The pool to sieve on. For example, a pool with parallelism 
+     * 8.
+     * @param action What to do with each prime. For example, a consumer that 
+     * writes the primes to a file. Gets 2, 3, 5, 7, &hellip; up to the 
+     * largest prime not more than <code>threshold</code>. If 
+     * <code>threshold</code> is less than 2, it gets nothing.
+     * @throws IllegalArgumentException If <code>threshold</code> is more than 
+     * 2<sup>60</sup>.
+     */
+    public static void parallelPrimes(long threshold, ForkJoinPool pool, 
+            LongConsumer action) {
+        if (threshold > MAX_LONG_THRESHOLD) {
+            String excMsg = "Threshold " + threshold 
+                    + " is too large, should be at most " + MAX_LONG_THRESHOLD;
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (threshold < 2) {
+            return;
+        }
+        action.accept(2L);
+        int[] basePrimes = smallOddPrimes(squareRoot(threshold));
+        long totalBits = (threshold + 1) / 2;
+        long segmentCount = (totalBits + SEGMENT_BITS - 1) / SEGMENT_BITS;
+        int batchSize = 4 * SEGMENTS_PER_TASK * pool.getParallelism();
+        long[][] batch = new long[batchSize][];
+        for (long from = 0; from < segmentCount; from += batchSize) {
+            long batchStart = from;
+            long batchEnd = Math.min(from + batchSize, segmentCount);
+            pool.invoke(new SegmentTask(batchStart, batchEnd, s -> {
+                long firstIndex = s * SEGMENT_BITS;
+                int bitCount = (int) Math.min(SEGMENT_BITS, 
+                        totalBits - firstIndex);
+                long[] segment = SEGMENT_BUFFER.get();
+                sieveSegment(segment, firstIndex, bitCount, basePrimes);
+                long[] primes = segmentPrimes(segment, firstIndex, bitCount);
+                batch[(int) (s - batchStart)] = primes;
+                return primes.length;
+            }));
+            for (int i = 0; i < batchEnd - batchStart; i++) {
+                for (long p : batch[i]) {
+                    action.accept(p);
+                }
+                batch[i] = null;
+            }
+        }
+    }
+    
+    /**
+     * Counts the primes up to a given threshold by sieving the segments in 
+     * parallel on the common fork/join pool. Only the counts are kept, so 
+     * this works for thresholds far beyond the range of <code>int</code>.
+     * @param threshold The number to go up to. For example, 10<sup>10</sup>. 
+     * This number need not be prime, but if it is, it's counted.
+     * @return How many primes there are from 2 up to <code>threshold</code>. 
+     * For example, 455052511. If <code>threshold</code> is less than 2, 0.
+     * @throws IllegalArgumentException If <code>threshold</code> is more than 
+     * 2<sup>60</sup>.
+     */
+    public static long parallelPrimeCount(long threshold) {
+        return parallelPrimeCount(threshold, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Counts the primes up to a given threshold by sieving the segments in 
+     * parallel on a given fork/join pool. Only the counts are kept, so this 
+     * works for thresholds far beyond the range of <code>int</code>.
+     * @param threshold The number to go up to. For example, 10<sup>10</sup>. 
+     * This number need not be prime, but if it is, it's counted.
+     * @param pool The pool to sieve on. For example, a pool with parallelism 
+     * 8.
+     * @return How many primes there are from 2 up to <code>threshold</code>. 
+     * For example, 455052511. If <code>threshold</code> is less than 2, 0.
+     * @throws IllegalArgumentException If <code>threshold</code> is more than 
+     * 2<sup>60</sup>.
+     */
+    public static long parallelPrimeCount(long threshold, ForkJoinPool pool) {
+        if (threshold > MAX_LONG_THRESHOLD) {
+            String excMsg = "Threshold " + threshold 
+                    + " is too large, should be at most " + MAX_LONG_THRESHOLD;
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (threshold < 2) {
+            return 0L;
+        }
+        int[] basePrimes = smallOddPrimes(squareRoot(threshold));
+        long totalBits = (threshold + 1) / 2;
+        long segmentCount = (totalBits + SEGMENT_BITS - 1) / SEGMENT_BITS;
+        long oddPrimeCount = pool.invoke(new SegmentTask(0, segmentCount, 
+                s -> {
+                    long firstIndex = s * SEGMENT_BITS;
+                    int bitCount = (int) Math.min(SEGMENT_BITS, 
+                            totalBits - firstIndex);
+                    long[] segment = SEGMENT_BUFFER.get();
+                    sieveSegment(segment, firstIndex, bitCount, basePrimes);
+                    return countSegment(segment, bitCount);
+                }));
+        return oddPrimeCount + 1;
+    }
+    
+    /**
+     * Gives the shared prime table, grown first if need be so that it covers 
+     * a given number, up to {@link #TABLE_CAP}. Tables are never changed once 
+     * published, so readers need no locking; only growing the table is 
+     * synchronized.
+     * @param n The number the table should cover.
+     * @return The current table, which covers <code>n</code> or goes up to 
+     * the cap.
+     */
+    private static PrimeTable tableCovering(int n) {
+        PrimeTable current = table;
+        int target = Math.min(n, TABLE_CAP);
+        if (current.limit >= target) {
+            return current;
+        }
+        synchronized (PrimeTable.class) {
+            current = table;
+            if (current.limit < target) {
+                int limit = (int) Math.min(TABLE_CAP, 
+                        Math.max(target, 2L * current.limit));
+                current = new PrimeTable(limit);
+                table = current;
+            }
+        }
+        return current;
+    }
+    
+    /**
+     * Gives the limit of the shared prime table as it is now. Only for tests.
+     * @return The largest number the table covers. For example, 1024.
+     */
+    static int tableLimit() {
+        return table.limit;
+    }
+    
+    /**
+     * Determines whether a number is prime. Numbers up to {@link #TABLE_CAP} 
+     * are looked up in a bitmap of primes shared by all threads, which is 
+     * sieved the first time it's needed and grown by at least doubling as 
+     * larger numbers come up. Larger numbers are checked by trial division by 
+     * the primes up to the square root, which is at most 46340, so for them 
+     * the table only needs to cover the square root and is not grown to the 
+     * cap.
+     * @param n The number to check. For example, 43.
+     * @return True if <code>n</code> is prime, false otherwise. For example, 
+     * true. Negative numbers, 0 and 1 are not prime.
+     */
+    public static boolean isPrime(int n) {
+        if (n < 3) {
+            return n == 2;
+        }
+        if ((n & 1) == 0) {
+            return false;
+        }
+        if (n <= TABLE_CAP) {
+            PrimeTable current = tableCovering(n);
+            int index = n >>> 1;
+            return (current.composites[index >>> 6] & (1L << index)) == 0L;
+        }
+        int root = squareRoot(n);
+        int[] primes = tableCovering(root).primes;
+        for (int i = 1; i < primes.length; i++) {
+            int p = primes[i];
+            if (p > root) {
+                break;
+            }
+            if (n % p == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Chooses a random prime less than a specified bound, with each such prime 
+     * equally likely. Up to {@link #TABLE_CAP}, the prime is drawn directly 
+     * from the shared table of primes. Above that, random numbers below the 
+     * bound are drawn until one is prime, which takes about as many draws as 
+     * the natural logarithm of the bound.
+     * @param bound The number to stay below. For example, 100. This number 
+     * need not be prime.
+     * @return A prime number from 2 up to but not including 
+     * <code>bound</code>. For example, 19. If <code>bound</code> is 1 or 2, 
+     * the result is 2 regardless.
+     * @throws IllegalArgumentException If <code>bound</code> is 0 or 
+     * negative.
      */
     public static int randomPrime(int bound) {
-        int p = RANDOM.nextInt(bound);
-        if (p < 2) {
+        if (bound < 1) {
+            String excMsg = "Bound " + bound + " should be positive";
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (bound <= 3) {
             return 2;
         }
-        while (!checkPrime(p)) {
-            p--;
+        if (bound <= TABLE_CAP) {
+            int[] primes = tableCovering(bound).primes;
+            int count = Arrays.binarySearch(primes, bound);
+            if (count < 0) {
+                count = -count - 1;
+            }
+            return primes[ThreadLocalRandom.current().nextInt(count)];
         }
+        Random random = ThreadLocalRandom.current();
+        int p;
+        do {
+            p = random.nextInt(bound);
+        } while (!isPrime(p));
         return p;
     }
     
+    /**
+     * Chooses a random odd prime less than 2<sup>16</sup>, with each such 
+     * prime equally likely. The prime is drawn directly from the shared table 
+     * of primes.
+     * @return An odd prime. For example, 39119.
+     */
     public static int randomOddPrime() {
-        int p = 2 * RANDOM.nextInt(Short.MAX_VALUE) + 1;
-        while (!checkPrime(p)) {
-            p -= 2;
-        }
-        return p;
+        int[] primes = tableCovering(ODD_PRIME_BOUND).primes;
+        int index = ThreadLocalRandom.current().nextInt(ODD_PRIME_COUNT) + 1;
+        return primes[index];
     }
     
 }
@@ -0,0 +1,277 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.integer;
+
+import java.util.Arrays;
+
+/**
+ * Factorizes integers with a table of smallest prime factors. The table is 
+ * made with a linear sieve, which crosses off each composite number exactly 
+ * once, by its smallest prime factor. Numbers covered by the table are then 
+ * factorized by looking up one prime factor after another, which takes as 
+ * many steps as the number has prime factors, no more than the base 2 
+ * logarithm of the number. Larger numbers are split up by Pollard's rho 
+ * algorithm, with Brent's improvements, until the pieces are prime or small 
+ * enough for the table. A factorizer never changes once made, so it can be 
+ * shared between threads.
+ * @author Alonso del Arte
+ */
+public class Factorizer {
+    
+    /**
+     * How many steps of Pollard's rho algorithm to take between 
+     * <code>gcd()</code> calls. The differences of those steps are multiplied 
+     * together and only the product is checked against the number.
+     */
+    private static final int RHO_BATCH_SIZE = 128;
+    
+    /**
+     * The smallest prime factor of each number from 0 up to the limit, with 0 
+     * for 0 and 1.
+     */
+    private final int[] smallestPrimeFactors;
+    
+    private final int limit;
+    
+    /**
+     * Tells how far the table of smallest prime factors goes.
+     * @return The largest number in the table. For example, 1000000.
+     */
+    public int getLimit() {
+        return this.limit;
+    }
+    
+    /**
+     * Gives the smallest prime factor of a number.
+     * @param n The number. For example, 91. May be negative, in which case 
+     * its absolute value is used.
+     * @return The smallest prime factor. For example, 7. If <code>n</code> is 
+     * prime, <code>n</code> itself.
+     * @throws ArithmeticException If <code>n</code> is &minus;1, 0 or 1, 
+     * which have no prime factors.
+     */
+    public int smallestPrimeFactor(int n) {
+        long a = Math.abs((long) n);
+        checkFactorizable(a);
+        if (a <= this.limit) {
+            return this.smallestPrimeFactors[(int) a];
+        }
+        return (int) this.factorize(a)[0];
+    }
+    
+    private static void checkFactorizable(long a) {
+        if (a < 2L) {
+            String excMsg = "Numbers " + a + " and \u2212" + a 
+                    + " have no prime factors";
+            throw new ArithmeticException(excMsg);
+        }
+    }
+    
+    /**
+     * Gives the prime factors of a number, with repetition, in ascending 
+     * order.
+     * @param n The number to factorize. For example, 360. May be negative, in 
+     * which case its absolute value is factorized.
+     * @return The prime factors. For example, {2, 2, 2, 3, 3, 5}. If 
+     * <code>n</code> is &minus;1 or 1, an empty array.
+     * @throws ArithmeticException If <code>n</code> is 0.
+     */
+    public int[] factorize(int n) {
+        if (n == 0) {
+            String excMsg = "0 can't be factorized";
+            throw new ArithmeticException(excMsg);
+        }
+        long a = Math.abs((long) n);
+        if (a > this.limit) {
+            return Arrays.stream(this.factorize(a)).mapToInt(p -> (int) p) 
+                    .toArray();
+        }
+        int[] factors = new int[Integer.SIZE];
+        int count = 0;
+        int m = (int) a;
+        while (m > 1) {
+            int p = this.smallestPrimeFactors[m];
+            factors[count++] = p;
+            m /= p;
+        }
+        return Arrays.copyOf(factors, count);
+    }
+    
+    /**
+     * Gives the prime factors of a number, with repetition, in ascending 
+     * order. Prime factors larger than the limit of the table are found by 
+     * Pollard's rho algorithm, with {@link Calculator#isPrime(long)} telling 
+     * when to stop.
+     * @param n The number to factorize. For example, 9223372036854775807. May 
+     * be negative, in which case its absolute value is factorized.
+     * @return The prime factors. For example, {7, 7, 73, 127, 337, 92737, 
+     * 649657}. If <code>n</code> is &minus;1 or 1, an empty array.
+     * @throws ArithmeticException If <code>n</code> is 0.
+     */
+    public long[] factorize(long n) {
+        if (n == 0L) {
+            String excMsg = "0 can't be factorized";
+            throw new ArithmeticException(excMsg);
+        }
+        long[] factors = new long[Long.SIZE];
+        int twos = Long.numberOfTrailingZeros(n);
+        Arrays.fill(factors, 0, twos, 2L);
+        int count = this.collectFactors(Math.abs(n >> twos), factors, twos);
+        Arrays.sort(factors, 0, count);
+        return Arrays.copyOf(factors, count);
+    }
+    
+    /**
+     * Puts the prime factors of an odd number in an array, in no particular 
+     * order.
+     * @return The new count of factors in the array.
+     */
+    private int collectFactors(long m, long[] factors, int count) {
+        if (m <= this.limit) {
+            int k = (int) m;
+            while (k > 1) {
+                int p = this.smallestPrimeFactors[k];
+                factors[count++] = p;
+                k /= p;
+            }
+            return count;
+        }
+        if (Calculator.isPrime(m)) {
+            factors[count++] = m;
+            return count;
+        }
+        long d = pollardRho(m);
+        count = this.collectFactors(d, factors, count);
+        return this.collectFactors(m / d, factors, count);
+    }
+    
+    /**
+     * Finds a nontrivial divisor of an odd composite number by Pollard's rho 
+     * algorithm, following Brent's variant. The iteration <i>x</i> &rarr; 
+     * <i>x</i><sup>2</sup> + <i>c</i> is done in Montgomery form, which is 
+     * still a quadratic map modulo every factor of the number, and the 
+     * differences are multiplied together in batches so that most steps need 
+     * no <code>gcd()</code>. If a batch overshoots, its steps are retraced 
+     * one by one, and if the cycle closes modulo the whole number, the search 
+     * starts over with the next <i>c</i>.
+     * @param n The number. Must be odd, composite and positive.
+     * @return A divisor of <code>n</code> other than 1 and <code>n</code>.
+     */
+    private static long pollardRho(long n) {
+        long nInverse = Calculator.montgomeryInverse(n);
+        for (long c = 1L; ; c++) {
+            long x = 0L, y = 2L % n, saved = y, product = 1L, divisor = 1L;
+            for (int runLength = 1; divisor == 1L; runLength <<= 1) {
+                x = y;
+                for (int i = 0; i < runLength; i++) {
+                    y = rhoStep(y, c, n, nInverse);
+                }
+                for (int k = 0; k < runLength && divisor == 1L; 
+                        k += RHO_BATCH_SIZE) {
+                    saved = y;
+                    int steps = Math.min(RHO_BATCH_SIZE, runLength - k);
+                    for (int i = 0; i < steps; i++) {
+                        y = rhoStep(y, c, n, nInverse);
+                        product = Calculator.montgomeryMultiply(product, 
+                                Math.abs(x - y), n, nInverse);
+                    }
+                    divisor = Calculator.binaryGCD(product, n);
+                }
+            }
+            if (divisor == n) {
+                do {
+                    saved = rhoStep(saved, c, n, nInverse);
+                    divisor = Calculator.binaryGCD(Math.abs(x - saved), n);
+                } while (divisor == 1L);
+            }
+            if (divisor != n) {
+                return divisor;
+            }
+        }
+    }
+    
+    private static long rhoStep(long y, long c, long n, long nInverse) {
+        long next = Calculator.montgomeryMultiply(y, y, n, nInverse) + c;
+        return next < 0L || next >= n ? next - n : next;
+    }
+    
+    /**
+     * Counts the positive divisors of a number, from the exponents of its 
+     * prime factorization.
+     * @param n The number. For example, 360. May be negative, in which case 
+     * the divisors of its absolute value are counted.
+     * @return How many positive divisors <code>n</code> has. For example, 24, 
+     * since 360 = 2<sup>3</sup> &times; 3<sup>2</sup> &times; 5 and 4 
+     * &times; 3 &times; 2 = 24.
+     * @throws ArithmeticException If <code>n</code> is 0, which has 
+     * infinitely many divisors.
+     */
+    public long divisorCount(long n) {
+        if (n == 0L) {
+            String excMsg = "0 has infinitely many divisors";
+            throw new ArithmeticException(excMsg);
+        }
+        long[] factors = this.factorize(n);
+        long count = 1L;
+        int exponent = 1;
+        for (int i = 0; i < factors.length; i++) {
+            if (i + 1 < factors.length && factors[i + 1] == factors[i]) {
+                exponent++;
+            } else {
+                count *= exponent + 1;
+                exponent = 1;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Sole constructor. Makes the table of smallest prime factors with a 
+     * linear sieve: for each number <i>i</i>, the multiples <i>pi</i> are 
+     * crossed off for each prime <i>p</i> up to the smallest prime factor of 
+     * <i>i</i>, which makes <i>p</i> the smallest prime factor of 
+     * <i>pi</i>.
+     * @param limit How far the table should go. For example, 1000000. The 
+     * table takes up four bytes per number.
+     * @throws IllegalArgumentException If <code>limit</code> is less than 2 or 
+     * too large for an array.
+     */
+    public Factorizer(int limit) {
+        if (limit < 2 || limit >= Integer.MAX_VALUE - 8) {
+            String excMsg = "Limit " + limit + " should be at least 2 and less " 
+                    + "than " + (Integer.MAX_VALUE - 8);
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.limit = limit;
+        this.smallestPrimeFactors = new int[limit + 1];
+        int[] primes = new int[EratosthenesSieve.maxPrimeCount(limit)];
+        int primeCount = 0;
+        for (int i = 2; i <= limit; i++) {
+            int spf = this.smallestPrimeFactors[i];
+            if (spf == 0) {
+                spf = i;
+                this.smallestPrimeFactors[i] = i;
+                primes[primeCount++] = i;
+            }
+            int maxPrime = Math.min(spf, limit / i);
+            for (int j = 0; j < primeCount && primes[j] <= maxPrime; j++) {
+                this.smallestPrimeFactors[i * primes[j]] = primes[j];
+            }
+        }
+    }
+    
+}
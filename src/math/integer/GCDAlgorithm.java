@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.integer;
+
+/**
+ * Enumerates the greatest common divisor (GCD) algorithms {@link 
+ * Calculator#gcd(long, long)} and {@link Calculator#gcd(java.math.BigInteger, 
+ * java.math.BigInteger)} can dispatch to.
+ * @author Alonso del Arte
+ */
+public enum GCDAlgorithm {
+    
+    /**
+     * The Euclidean algorithm, with one division per step, for both 
+     * <code>long</code> and <code>BigInteger</code>.
+     */
+    EUCLIDEAN,
+    
+    /**
+     * The binary GCD algorithm for <code>long</code>, and the 
+     * <code>BigInteger</code> class's own <code>gcd()</code>, which is a hybrid 
+     * of the Euclidean and binary algorithms, for <code>BigInteger</code>.
+     */
+    BINARY,
+    
+    /**
+     * The binary GCD algorithm for <code>long</code>, since a single word 
+     * gains nothing from Lehmer's algorithm, and Lehmer's algorithm for 
+     * <code>BigInteger</code>, except that small <code>BigInteger</code> 
+     * operands go to the binary GCD algorithm or to the <code>BigInteger</code> 
+     * class's own <code>gcd()</code>, whichever is faster for their size.
+     */
+    LEHMER
+    
+}
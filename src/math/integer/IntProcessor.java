@@ -16,13 +16,58 @@
  */
 package math.integer;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
 /**
- *
+ * Static class to process 32-bit integers arrays and arrays of bytes. 
  * @author Alonso del Arte
  */
 public class IntProcessor {
     
-    // TODO: Write tests for this
+    /**
+     * Views of byte arrays as arrays of 32-bit integers, in big endian 
+     * and little endian byte order. The offsets into the byte arrays need not 
+     * be aligned.
+     */
+    private static final VarHandle BIG_ENDIAN_VIEW 
+            = MethodHandles.byteArrayViewVarHandle(int[].class, 
+                    ByteOrder.BIG_ENDIAN);
+    
+    private static final VarHandle LITTLE_ENDIAN_VIEW 
+            = MethodHandles.byteArrayViewVarHandle(int[].class, 
+                    ByteOrder.LITTLE_ENDIAN);
+    
+    private static VarHandle view(ByteOrder order) {
+        if (order == null) {
+            String excMsg = "Byte order should not be null";
+            throw new NullPointerException(excMsg);
+        }
+        return order == ByteOrder.LITTLE_ENDIAN ? LITTLE_ENDIAN_VIEW 
+                : BIG_ENDIAN_VIEW;
+    }
+    
+    /**
+     * Converts an array of bytes to a signed 32-bit integer.
+     * @param source The bytes to convert, with the most significant byte first 
+     * and the least significant byte last. If the array has four bytes, the 
+     * first byte's first bit is understood to be the sign bit. For example, 
+     * {1, 3, 5, 7}, which corresponds to the hexadecimal representation 
+     * 1030507. The array may have less than four bytes, in which case the last 
+     * byte is the least significant byte and the number is positive, even in 
+     * the case of negative bytes, or if the array is empty the number is 0. 
+     * For a negative number, the array must have four bytes with the first 
+     * byte being at least &minus;128 and at most &minus;1. For example, 
+     * {&minus;128, 126, 124, 122}, corresponding to the hexadecimal 
+     * representation 807E7C7A.
+     * @return The converted 32-bit integer. For example, 16975111, 
+     * corresponding to the 1030507 example. Or, for example, if the array only 
+     * has one byte, say &minus;1, that becomes 255. With the 807E7C7A example, 
+     * the result would be &minus;2139194246.
+     * @throws IllegalArgumentException If {@code source} has 5 or more bytes.
+     */
     public static int fromBytes(byte[] source) {
         int len = source.length;
         if (len > Integer.BYTES) {
@@ -31,13 +76,129 @@ public class IntProcessor {
                     + " too many";
             throw new IllegalArgumentException(excMsg);
         }
-        return 0;
+        if (len == Integer.BYTES) {
+            return (int) BIG_ENDIAN_VIEW.get(source, 0);
+        }
+        int intermediate = 0;
+        for (byte b : source) {
+            intermediate <<= 8;
+            intermediate += (b & 255);
+        }
+        return intermediate;
     }
     
-    // TODO: Write tests for this
+    /**
+     * Converts a 32-bit integer to an array of four bytes.
+     * @param source The 32-bit integer to convert from. Two examples: 
+     * 16975111, &minus;2139194246.
+     * @return An array of four bytes, the first byte is the most significant 
+     * byte of {@code source}, the last byte is the least significant. In the 
+     * examples, 16975111 becomes {1, 3, 5, 7} and &minus;2139194246 becomes 
+     * {&minus;128, 126, 124, 122}.
+     */
     public static byte[] toBytes(int source) {
-        byte[] bytes = {};
+        byte[] bytes = new byte[Integer.BYTES];
+        BIG_ENDIAN_VIEW.set(bytes, 0, source);
         return bytes;
     }
     
+    /**
+     * Reads a 32-bit integer from four bytes of an array.
+     * @param source The array to read from. For example, an array that has 
+     * {1, 3, 5, 7} starting at index 4.
+     * @param offset The index of the first byte to read. For example, 4.
+     * @param order The byte order of the bytes. For example, 
+     * <code>ByteOrder.BIG_ENDIAN</code>.
+     * @return The 32-bit integer. For example, 16975111.
+     * @throws IndexOutOfBoundsException If there are fewer than four 
+     * bytes in <code>source</code> from <code>offset</code> on.
+     * @throws NullPointerException If <code>order</code> is null.
+     */
+    public static int fromBytes(byte[] source, int offset, ByteOrder order) {
+        VarHandle handle = view(order);
+        Objects.checkFromIndexSize(offset, Integer.BYTES, source.length);
+        return (int) handle.get(source, offset);
+    }
+    
+    /**
+     * Writes a 32-bit integer into four bytes of an array.
+     * @param source The 32-bit integer to write. For example, 
+     * 16975111.
+     * @param destination The array to write to.
+     * @param offset The index of the first byte to write. For example, 4.
+     * @param order The byte order to write in. For example, 
+     * <code>ByteOrder.LITTLE_ENDIAN</code>. With the previous examples, 
+     * <code>destination</code> then has {7, 5, 3, 1} starting at index 4.
+     * @throws IndexOutOfBoundsException If there are fewer than four 
+     * bytes in <code>destination</code> from <code>offset</code> on.
+     * @throws NullPointerException If <code>order</code> is null.
+     */
+    public static void toBytes(int source, byte[] destination, int offset, 
+            ByteOrder order) {
+        VarHandle handle = view(order);
+        Objects.checkFromIndexSize(offset, Integer.BYTES, destination.length);
+        handle.set(destination, offset, source);
+    }
+    
+    /**
+     * Reads 32-bit integers in bulk from an array of bytes.
+     * @param source The array to read from.
+     * @param sourceOffset The index of the first byte to read. For example, 
+     * 0.
+     * @param destination The array to put the 32-bit integers in.
+     * @param destinationOffset The index of the first 32-bit integer to 
+     * put in <code>destination</code>. For example, 0.
+     * @param length How many 32-bit integers to read. For example, 
+     * 100.
+     * @param order The byte order of the bytes. For example, 
+     * <code>ByteOrder.BIG_ENDIAN</code>.
+     * @throws IndexOutOfBoundsException If either array is too short for the 
+     * given offset and length.
+     * @throws NullPointerException If <code>order</code> is null.
+     */
+    public static void decode(byte[] source, int sourceOffset, 
+            int[] destination, int destinationOffset, int length, 
+            ByteOrder order) {
+        VarHandle handle = view(order);
+        Objects.checkFromIndexSize(destinationOffset, length, 
+                destination.length);
+        Objects.checkFromIndexSize(sourceOffset, (long) length * Integer.BYTES, 
+                source.length);
+        int position = sourceOffset;
+        for (int i = destinationOffset; i < destinationOffset + length; i++) {
+            destination[i] = (int) handle.get(source, position);
+            position += Integer.BYTES;
+        }
+    }
+    
+    /**
+     * Writes 32-bit integers in bulk into an array of bytes.
+     * @param source The array of 32-bit integers to write.
+     * @param sourceOffset The index of the first 32-bit integer to write. 
+     * For example, 0.
+     * @param destination The array to write to.
+     * @param destinationOffset The index of the first byte to write. For 
+     * example, 0.
+     * @param length How many 32-bit integers to write. For example, 
+     * 100.
+     * @param order The byte order to write in. For example, 
+     * <code>ByteOrder.BIG_ENDIAN</code>.
+     * @throws IndexOutOfBoundsException If either array is too short for the 
+     * given offset and length.
+     * @throws NullPointerException If <code>order</code> is null.
+     */
+    public static void encode(int[] source, int sourceOffset, 
+            byte[] destination, int destinationOffset, int length, 
+            ByteOrder order) {
+        VarHandle handle = view(order);
+        Objects.checkFromIndexSize(sourceOffset, length, source.length);
+        Objects.checkFromIndexSize(destinationOffset, 
+                (long) length * Integer.BYTES, destination.length);
+        int position = destinationOffset;
+        for (int i = sourceOffset; i < sourceOffset + length; i++) {
+            handle.set(destination, position, source[i]);
+            position += Integer.BYTES;
+        }
+    }
+    
 }
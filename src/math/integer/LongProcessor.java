@@ -16,12 +16,39 @@
  */
 package math.integer;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
 /**
  * Static class to process 64-bit integers arrays and arrays of bytes. 
  * @author Alonso del Arte
  */
 public class LongProcessor {
     
+    /**
+     * Views of byte arrays as arrays of 64-bit integers, in big endian 
+     * and little endian byte order. The offsets into the byte arrays need not 
+     * be aligned.
+     */
+    private static final VarHandle BIG_ENDIAN_VIEW 
+            = MethodHandles.byteArrayViewVarHandle(long[].class, 
+                    ByteOrder.BIG_ENDIAN);
+    
+    private static final VarHandle LITTLE_ENDIAN_VIEW 
+            = MethodHandles.byteArrayViewVarHandle(long[].class, 
+                    ByteOrder.LITTLE_ENDIAN);
+    
+    private static VarHandle view(ByteOrder order) {
+        if (order == null) {
+            String excMsg = "Byte order should not be null";
+            throw new NullPointerException(excMsg);
+        }
+        return order == ByteOrder.LITTLE_ENDIAN ? LITTLE_ENDIAN_VIEW 
+                : BIG_ENDIAN_VIEW;
+    }
+    
     /**
      * Converts an array of bytes to a signed 64-bit integer.
      * @param source The bytes to convert, with the most significant byte first 
@@ -50,6 +77,9 @@ public class LongProcessor {
                     + " too many";
             throw new IllegalArgumentException(excMsg);
         }
+        if (len == Long.BYTES) {
+            return (long) BIG_ENDIAN_VIEW.get(source, 0);
+        }
         long intermediate = 0L;
         for (byte b : source) {
             intermediate <<= 8;
@@ -58,10 +88,226 @@ public class LongProcessor {
         return intermediate;
     }
     
-    // TODO: Write tests for this
+    /**
+     * Converts a 64-bit integer to an array of eight bytes.
+     * @param source The 64-bit integer to convert from. Two examples: 
+     * 72907546742689039, &minus;9187769324340349838.
+     * @return An array of eight bytes, the first byte is the most significant 
+     * byte of {@code source}, the last byte is the least significant. In the 
+     * examples, 72907546742689039 becomes {1, 3, 5, 7, 9, 11, 13, 15} and 
+     * &minus;9187769324340349838 becomes {&minus;128, 126, 124, 122, 120, 118, 
+     * 116, 114}.
+     */
     public static byte[] toBytes(long source) {
-        byte[] bytes = {};
+        byte[] bytes = new byte[Long.BYTES];
+        BIG_ENDIAN_VIEW.set(bytes, 0, source);
         return bytes;
     }
     
+    /**
+     * Reads a 64-bit integer from eight bytes of an array.
+     * @param source The array to read from. For example, an array that has 
+     * {1, 3, 5, 7, 9, 11, 13, 15} starting at index 4.
+     * @param offset The index of the first byte to read. For example, 4.
+     * @param order The byte order of the bytes. For example, 
+     * <code>ByteOrder.BIG_ENDIAN</code>.
+     * @return The 64-bit integer. For example, 72907546742689039.
+     * @throws IndexOutOfBoundsException If there are fewer than eight 
+     * bytes in <code>source</code> from <code>offset</code> on.
+     * @throws NullPointerException If <code>order</code> is null.
+     */
+    public static long fromBytes(byte[] source, int offset, ByteOrder order) {
+        VarHandle handle = view(order);
+        Objects.checkFromIndexSize(offset, Long.BYTES, source.length);
+        return (long) handle.get(source, offset);
+    }
+    
+    /**
+     * Writes a 64-bit integer into eight bytes of an array.
+     * @param source The 64-bit integer to write. For example, 
+     * 72907546742689039.
+     * @param destination The array to write to.
+     * @param offset The index of the first byte to write. For example, 4.
+     * @param order The byte order to write in. For example, 
+     * <code>ByteOrder.LITTLE_ENDIAN</code>. With the previous examples, 
+     * <code>destination</code> then has {15, 13, 11, 9, 7, 5, 3, 1} starting 
+     * at index 4.
+     * @throws IndexOutOfBoundsException If there are fewer than eight 
+     * bytes in <code>destination</code> from <code>offset</code> on.
+     * @throws NullPointerException If <code>order</code> is null.
+     */
+    public static void toBytes(long source, byte[] destination, int offset, 
+            ByteOrder order) {
+        VarHandle handle = view(order);
+        Objects.checkFromIndexSize(offset, Long.BYTES, destination.length);
+        handle.set(destination, offset, source);
+    }
+    
+    /**
+     * Reads 64-bit integers in bulk from an array of bytes.
+     * @param source The array to read from.
+     * @param sourceOffset The index of the first byte to read. For example, 
+     * 0.
+     * @param destination The array to put the 64-bit integers in.
+     * @param destinationOffset The index of the first 64-bit integer to 
+     * put in <code>destination</code>. For example, 0.
+     * @param length How many 64-bit integers to read. For example, 
+     * 100.
+     * @param order The byte order of the bytes. For example, 
+     * <code>ByteOrder.BIG_ENDIAN</code>.
+     * @throws IndexOutOfBoundsException If either array is too short for the 
+     * given offset and length.
+     * @throws NullPointerException If <code>order</code> is null.
+     */
+    public static void decode(byte[] source, int sourceOffset, 
+            long[] destination, int destinationOffset, int length, 
+            ByteOrder order) {
+        VarHandle handle = view(order);
+        Objects.checkFromIndexSize(destinationOffset, length, 
+                destination.length);
+        Objects.checkFromIndexSize(sourceOffset, (long) length * Long.BYTES, 
+                source.length);
+        int position = sourceOffset;
+        for (int i = destinationOffset; i < destinationOffset + length; i++) {
+            destination[i] = (long) handle.get(source, position);
+            position += Long.BYTES;
+        }
+    }
+    
+    /**
+     * Writes 64-bit integers in bulk into an array of bytes.
+     * @param source The array of 64-bit integers to write.
+     * @param sourceOffset The index of the first 64-bit integer to write. 
+     * For example, 0.
+     * @param destination The array to write to.
+     * @param destinationOffset The index of the first byte to write. For 
+     * example, 0.
+     * @param length How many 64-bit integers to write. For example, 
+     * 100.
+     * @param order The byte order to write in. For example, 
+     * <code>ByteOrder.BIG_ENDIAN</code>.
+     * @throws IndexOutOfBoundsException If either array is too short for the 
+     * given offset and length.
+     * @throws NullPointerException If <code>order</code> is null.
+     */
+    public static void encode(long[] source, int sourceOffset, 
+            byte[] destination, int destinationOffset, int length, 
+            ByteOrder order) {
+        VarHandle handle = view(order);
+        Objects.checkFromIndexSize(sourceOffset, length, source.length);
+        Objects.checkFromIndexSize(destinationOffset, 
+                (long) length * Long.BYTES, destination.length);
+        int position = destinationOffset;
+        for (int i = sourceOffset; i < sourceOffset + length; i++) {
+            handle.set(destination, position, source[i]);
+            position += Long.BYTES;
+        }
+    }
+    
+    private static void checkLimbCount(int length, int limbCount) {
+        if (limbCount < 1 || length % limbCount != 0) {
+            String excMsg = "Length " + length 
+                    + " is not a multiple of limb count " + limbCount;
+            throw new IllegalArgumentException(excMsg);
+        }
+    }
+    
+    /**
+     * Reads multi-limb numbers in bulk from an array of bytes, such as 
+     * 128-bit numbers (two limbs) or 256-bit numbers (four limbs). Each number 
+     * takes up <code>limbCount</code> consecutive 64-bit limbs in 
+     * <code>destination</code>, the most significant limb first, which is the 
+     * layout <code>QuadruplePrecisionNumber</code> uses for its high and low 
+     * halves. In big endian byte order, the bytes of each number are read most 
+     * significant byte first. In little endian byte order, they are read least 
+     * significant byte first, so the limbs of each number come in reverse 
+     * order, each limb in little endian order.
+     * @param source The array to read from. For example, an array with the 16 
+     * bytes {&minus;1, 0, 0, 0, 0, 0, 0, 0, 1, 2, 3, 4, 5, 6, 7, 8}.
+     * @param sourceOffset The index of the first byte to read. For example, 
+     * 0.
+     * @param destination The array to put the limbs in.
+     * @param destinationOffset The index of the first limb to put in 
+     * <code>destination</code>. For example, 0.
+     * @param length How many limbs to read, in total. For example, 2.
+     * @param limbCount How many limbs each number has. For example, 2.
+     * @param order The byte order of the bytes. For example, 
+     * <code>ByteOrder.LITTLE_ENDIAN</code>. With the previous examples, 
+     * <code>destination</code> then starts with 578437695752307201 
+     * (hexadecimal 807060504030201) and 255.
+     * @throws IllegalArgumentException If <code>limbCount</code> is less than 
+     * 1 or <code>length</code> is not a multiple of <code>limbCount</code>.
+     * @throws IndexOutOfBoundsException If either array is too short for the 
+     * given offset and length.
+     * @throws NullPointerException If <code>order</code> is null.
+     */
+    public static void decodeLimbs(byte[] source, int sourceOffset, 
+            long[] destination, int destinationOffset, int length, 
+            int limbCount, ByteOrder order) {
+        checkLimbCount(length, limbCount);
+        if (order != ByteOrder.LITTLE_ENDIAN || limbCount == 1) {
+            decode(source, sourceOffset, destination, destinationOffset, 
+                    length, order);
+            return;
+        }
+        Objects.checkFromIndexSize(destinationOffset, length, 
+                destination.length);
+        Objects.checkFromIndexSize(sourceOffset, (long) length * Long.BYTES, 
+                source.length);
+        int position = sourceOffset;
+        for (int i = destinationOffset; i < destinationOffset + length; 
+                i += limbCount) {
+            for (int j = i + limbCount - 1; j >= i; j--) {
+                destination[j] = (long) LITTLE_ENDIAN_VIEW.get(source, 
+                        position);
+                position += Long.BYTES;
+            }
+        }
+    }
+    
+    /**
+     * Writes multi-limb numbers in bulk into an array of bytes. This is the 
+     * inverse of {@link #decodeLimbs(byte[], int, long[], int, int, int, 
+     * ByteOrder)}, with the same layout of limbs.
+     * @param source The array of limbs to write, the most significant limb 
+     * of each number first. For example, an array starting with 
+     * 578437695752307201 and 255.
+     * @param sourceOffset The index of the first limb to write. For example, 
+     * 0.
+     * @param destination The array to write to.
+     * @param destinationOffset The index of the first byte to write. For 
+     * example, 0.
+     * @param length How many limbs to write, in total. For example, 2.
+     * @param limbCount How many limbs each number has. For example, 2.
+     * @param order The byte order to write in. For example, 
+     * <code>ByteOrder.LITTLE_ENDIAN</code>. With the previous examples, 
+     * <code>destination</code> then starts with {&minus;1, 0, 0, 0, 0, 0, 0, 
+     * 0, 1, 2, 3, 4, 5, 6, 7, 8}.
+     * @throws IllegalArgumentException If <code>limbCount</code> is less than 
+     * 1 or <code>length</code> is not a multiple of <code>limbCount</code>.
+     * @throws IndexOutOfBoundsException If either array is too short for the 
+     * given offset and length.
+     * @throws NullPointerException If <code>order</code> is null.
+     */
+    public static void encodeLimbs(long[] source, int sourceOffset, 
+            byte[] destination, int destinationOffset, int length, 
+            int limbCount, ByteOrder order) {
+        checkLimbCount(length, limbCount);
+        if (order != ByteOrder.LITTLE_ENDIAN || limbCount == 1) {
+            encode(source, sourceOffset, destination, destinationOffset, 
+                    length, order);
+            return;
+        }
+        Objects.checkFromIndexSize(sourceOffset, length, source.length);
+        Objects.checkFromIndexSize(destinationOffset, 
+                (long) length * Long.BYTES, destination.length);
+        int position = destinationOffset;
+        for (int i = sourceOffset; i < sourceOffset + length; i += limbCount) {
+            for (int j = i + limbCount - 1; j >= i; j--) {
+                LITTLE_ENDIAN_VIEW.set(destination, position, source[j]);
+                position += Long.BYTES;
+            }
+        }
+    }
+    
 }
@@ -16,12 +16,39 @@
  */
 package math.integer;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
 /**
  * Static class to process 16-bit integers arrays and arrays of bytes. 
  * @author Alonso del Arte
  */
 public class ShortProcessor {
     
+    /**
+     * Views of byte arrays as arrays of 16-bit integers, in big endian 
+     * and little endian byte order. The offsets into the byte arrays need not 
+     * be aligned.
+     */
+    private static final VarHandle BIG_ENDIAN_VIEW 
+            = MethodHandles.byteArrayViewVarHandle(short[].class, 
+                    ByteOrder.BIG_ENDIAN);
+    
+    private static final VarHandle LITTLE_ENDIAN_VIEW 
+            = MethodHandles.byteArrayViewVarHandle(short[].class, 
+                    ByteOrder.LITTLE_ENDIAN);
+    
+    private static VarHandle view(ByteOrder order) {
+        if (order == null) {
+            String excMsg = "Byte order should not be null";
+            throw new NullPointerException(excMsg);
+        }
+        return order == ByteOrder.LITTLE_ENDIAN ? LITTLE_ENDIAN_VIEW 
+                : BIG_ENDIAN_VIEW;
+    }
+    
     /**
      * Converts an array of bytes to a signed 16-bit integer.
      * @param source The bytes to convert, with the most significant byte first 
@@ -49,12 +76,10 @@ public class ShortProcessor {
                     + " too many";
             throw new IllegalArgumentException(excMsg);
         }
-        int intermediate = source[0] & 255;
-        if (len == 2) {
-            intermediate <<= 8;
-            intermediate += (source[1] & 255);
+        if (len == Short.BYTES) {
+            return (short) BIG_ENDIAN_VIEW.get(source, 0);
         }
-        return (short) intermediate;
+        return (short) (source[0] & 255);
     }
     
     /**
@@ -67,9 +92,108 @@ public class ShortProcessor {
      * &minus;32510 becomes {&minus;127, 2}.
      */
     public static byte[] toBytes(short source) {
-        byte mostSignificant = (byte) (source >> 8);
-        byte leastSignificant = (byte) source;
-        return new byte[]{mostSignificant, leastSignificant};
+        byte[] bytes = new byte[Short.BYTES];
+        BIG_ENDIAN_VIEW.set(bytes, 0, source);
+        return bytes;
+    }
+    
+    /**
+     * Reads a 16-bit integer from two bytes of an array.
+     * @param source The array to read from. For example, an array that has 
+     * {&minus;127, 2} starting at index 4.
+     * @param offset The index of the first byte to read. For example, 4.
+     * @param order The byte order of the bytes. For example, 
+     * <code>ByteOrder.BIG_ENDIAN</code>.
+     * @return The 16-bit integer. For example, &minus;32510.
+     * @throws IndexOutOfBoundsException If there are fewer than two 
+     * bytes in <code>source</code> from <code>offset</code> on.
+     * @throws NullPointerException If <code>order</code> is null.
+     */
+    public static short fromBytes(byte[] source, int offset, ByteOrder order) {
+        VarHandle handle = view(order);
+        Objects.checkFromIndexSize(offset, Short.BYTES, source.length);
+        return (short) handle.get(source, offset);
+    }
+    
+    /**
+     * Writes a 16-bit integer into two bytes of an array.
+     * @param source The 16-bit integer to write. For example, 
+     * &minus;32510.
+     * @param destination The array to write to.
+     * @param offset The index of the first byte to write. For example, 4.
+     * @param order The byte order to write in. For example, 
+     * <code>ByteOrder.LITTLE_ENDIAN</code>. With the previous examples, 
+     * <code>destination</code> then has {2, &minus;127} starting at index 4.
+     * @throws IndexOutOfBoundsException If there are fewer than two 
+     * bytes in <code>destination</code> from <code>offset</code> on.
+     * @throws NullPointerException If <code>order</code> is null.
+     */
+    public static void toBytes(short source, byte[] destination, int offset, 
+            ByteOrder order) {
+        VarHandle handle = view(order);
+        Objects.checkFromIndexSize(offset, Short.BYTES, destination.length);
+        handle.set(destination, offset, source);
+    }
+    
+    /**
+     * Reads 16-bit integers in bulk from an array of bytes.
+     * @param source The array to read from.
+     * @param sourceOffset The index of the first byte to read. For example, 
+     * 0.
+     * @param destination The array to put the 16-bit integers in.
+     * @param destinationOffset The index of the first 16-bit integer to 
+     * put in <code>destination</code>. For example, 0.
+     * @param length How many 16-bit integers to read. For example, 
+     * 100.
+     * @param order The byte order of the bytes. For example, 
+     * <code>ByteOrder.BIG_ENDIAN</code>.
+     * @throws IndexOutOfBoundsException If either array is too short for the 
+     * given offset and length.
+     * @throws NullPointerException If <code>order</code> is null.
+     */
+    public static void decode(byte[] source, int sourceOffset, 
+            short[] destination, int destinationOffset, int length, 
+            ByteOrder order) {
+        VarHandle handle = view(order);
+        Objects.checkFromIndexSize(destinationOffset, length, 
+                destination.length);
+        Objects.checkFromIndexSize(sourceOffset, (long) length * Short.BYTES, 
+                source.length);
+        int position = sourceOffset;
+        for (int i = destinationOffset; i < destinationOffset + length; i++) {
+            destination[i] = (short) handle.get(source, position);
+            position += Short.BYTES;
+        }
+    }
+    
+    /**
+     * Writes 16-bit integers in bulk into an array of bytes.
+     * @param source The array of 16-bit integers to write.
+     * @param sourceOffset The index of the first 16-bit integer to write. 
+     * For example, 0.
+     * @param destination The array to write to.
+     * @param destinationOffset The index of the first byte to write. For 
+     * example, 0.
+     * @param length How many 16-bit integers to write. For example, 
+     * 100.
+     * @param order The byte order to write in. For example, 
+     * <code>ByteOrder.BIG_ENDIAN</code>.
+     * @throws IndexOutOfBoundsException If either array is too short for the 
+     * given offset and length.
+     * @throws NullPointerException If <code>order</code> is null.
+     */
+    public static void encode(short[] source, int sourceOffset, 
+            byte[] destination, int destinationOffset, int length, 
+            ByteOrder order) {
+        VarHandle handle = view(order);
+        Objects.checkFromIndexSize(sourceOffset, length, source.length);
+        Objects.checkFromIndexSize(destinationOffset, 
+                (long) length * Short.BYTES, destination.length);
+        int position = destinationOffset;
+        for (int i = sourceOffset; i < sourceOffset + length; i++) {
+            handle.set(destination, position, source[i]);
+            position += Short.BYTES;
+        }
     }
     
 }
@@ -0,0 +1,394 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fp;
+
+import static math.fp.FloatingPointNumberNGTest.RANDOM;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the DoubleDouble class. Results are checked against quadruple 
+ * precision, which has seven more significant bits than double-double.
+ * @author Alonso del Arte
+ */
+public class DoubleDoubleNGTest {
+    
+    /**
+     * How far off a result may be relative to the exact result. The 
+     * operations are accurate to within a few units in the 106th bit.
+     */
+    private static final double RELATIVE_TOLERANCE = 0x1p-102;
+    
+    private static QuadruplePrecisionNumber chooseQuadruple() {
+        double scale = Math.pow(2.0, RANDOM.nextInt(200) - 100);
+        QuadruplePrecisionNumber numerator = QuadruplePrecisionNumber 
+                .fromPrimitive(RANDOM.nextDouble() * scale);
+        QuadruplePrecisionNumber denominator = QuadruplePrecisionNumber 
+                .fromPrimitive(RANDOM.nextInt(1000) + 0.5);
+        QuadruplePrecisionNumber quotient 
+                = numerator.divides(denominator);
+        return RANDOM.nextBoolean() ? quotient : quotient.negate();
+    }
+    
+    private static void assertClose(DoubleDouble actual, 
+            QuadruplePrecisionNumber expected, String message) {
+        double difference = actual.toQuadruplePrecision().minus(expected) 
+                .to64BitPrimitive();
+        double tolerance = Math.abs(expected.to64BitPrimitive()) 
+                * RELATIVE_TOLERANCE;
+        String msg = message + " gave " + actual + ", expected " + expected;
+        assert Math.abs(difference) <= tolerance : msg;
+    }
+    
+    /**
+     * Test of getHigh and getLow methods, of class DoubleDouble.
+     */
+    @Test
+    public void testGetHighGetLow() {
+        System.out.println("getHigh, getLow");
+        double low = 0x1p-60;
+        DoubleDouble instance = new DoubleDouble(1.0, low);
+        assertEquals(instance.getHigh(), 1.0);
+        assertEquals(instance.getLow(), low);
+    }
+    
+    @Test
+    public void testConstructorNormalizes() {
+        DoubleDouble instance = new DoubleDouble(0x1p-60, 1.0);
+        assertEquals(instance.getHigh(), 1.0);
+        assertEquals(instance.getLow(), 0x1p-60);
+        DoubleDouble overlapping = new DoubleDouble(1.0, 0.75);
+        assertEquals(overlapping.getHigh(), 1.75);
+        assertEquals(overlapping.getLow(), 0.0);
+        DoubleDouble negativeZero = new DoubleDouble(-0.0, 0.0);
+        assertEquals(negativeZero.getHigh(), -0.0);
+    }
+    
+    /**
+     * Test of isFinite, isInfinite and isNaN methods, of class DoubleDouble.
+     */
+    @Test
+    public void testClassification() {
+        System.out.println("isFinite, isInfinite, isNaN");
+        DoubleDouble finite = DoubleDouble.fromPrimitive(1.0);
+        assert finite.isFinite() : "1.0 should be finite";
+        assert !finite.isInfinite() : "1.0 should not be infinite";
+        assert !finite.isNaN() : "1.0 should not be NaN";
+        DoubleDouble infinity 
+                = DoubleDouble.fromPrimitive(Double.NEGATIVE_INFINITY);
+        assert !infinity.isFinite() : "Infinity should not be finite";
+        assert infinity.isInfinite() : "Infinity should be infinite";
+        DoubleDouble nan = DoubleDouble.fromPrimitive(Double.NaN);
+        assert nan.isNaN() : "NaN should be NaN";
+        assert !nan.isFinite() : "NaN should not be finite";
+    }
+    
+    /**
+     * Test of plus method, of class DoubleDouble.
+     */
+    @Test
+    public void testPlus() {
+        System.out.println("plus");
+        for (int n = 0; n < 1000; n++) {
+            QuadruplePrecisionNumber a = chooseQuadruple();
+            QuadruplePrecisionNumber b = chooseQuadruple();
+            DoubleDouble augend = DoubleDouble.fromQuadruplePrecision(a);
+            DoubleDouble addend = DoubleDouble.fromQuadruplePrecision(b);
+            QuadruplePrecisionNumber expected = augend.toQuadruplePrecision() 
+                    .plus(addend.toQuadruplePrecision());
+            DoubleDouble actual = augend.plus(addend);
+            assertClose(actual, expected, "Adding " + a + " and " + b);
+        }
+    }
+    
+    @Test
+    public void testPlusKeepsTinyAddend() {
+        DoubleDouble one = DoubleDouble.ONE;
+        DoubleDouble tiny = DoubleDouble.fromPrimitive(0x1p-100);
+        DoubleDouble actual = one.plus(tiny);
+        assertEquals(actual.getHigh(), 1.0);
+        assertEquals(actual.getLow(), 0x1p-100);
+        assertEquals(actual.minus(one), tiny);
+    }
+    
+    @Test
+    public void testPlusOverflow() {
+        DoubleDouble max = DoubleDouble.fromPrimitive(Double.MAX_VALUE);
+        DoubleDouble actual = max.plus(max);
+        assert actual.isInfinite() : "MAX_VALUE + MAX_VALUE should overflow";
+    }
+    
+    /**
+     * Test of negate method, of class DoubleDouble.
+     */
+    @Test
+    public void testNegate() {
+        System.out.println("negate");
+        DoubleDouble instance = new DoubleDouble(1.0, 0x1p-70);
+        DoubleDouble expected = new DoubleDouble(-1.0, -0x1p-70);
+        assertEquals(instance.negate(), expected);
+        assertEquals(instance.negate().negate(), instance);
+    }
+    
+    /**
+     * Test of minus method, of class DoubleDouble.
+     */
+    @Test
+    public void testMinus() {
+        System.out.println("minus");
+        for (int n = 0; n < 1000; n++) {
+            QuadruplePrecisionNumber a = chooseQuadruple();
+            QuadruplePrecisionNumber b = chooseQuadruple();
+            DoubleDouble minuend = DoubleDouble.fromQuadruplePrecision(a);
+            DoubleDouble subtrahend = DoubleDouble.fromQuadruplePrecision(b);
+            QuadruplePrecisionNumber expected = minuend.toQuadruplePrecision() 
+                    .minus(subtrahend.toQuadruplePrecision());
+            DoubleDouble actual = minuend.minus(subtrahend);
+            assertClose(actual, expected, "Subtracting " + b + " from " + a);
+        }
+    }
+    
+    @Test
+    public void testMinusItselfIsZero() {
+        DoubleDouble instance 
+                = DoubleDouble.fromQuadruplePrecision(chooseQuadruple());
+        DoubleDouble actual = instance.minus(instance);
+        assertEquals(actual.getHigh(), 0.0);
+        assertEquals(actual.getLow(), 0.0);
+    }
+    
+    /**
+     * Test of times method, of class DoubleDouble.
+     */
+    @Test
+    public void testTimes() {
+        System.out.println("times");
+        for (int n = 0; n < 1000; n++) {
+            QuadruplePrecisionNumber a = chooseQuadruple();
+            QuadruplePrecisionNumber b = chooseQuadruple();
+            DoubleDouble multiplier = DoubleDouble.fromQuadruplePrecision(a);
+            DoubleDouble multiplicand = DoubleDouble.fromQuadruplePrecision(b);
+            QuadruplePrecisionNumber expected = multiplier 
+                    .toQuadruplePrecision() 
+                    .times(multiplicand.toQuadruplePrecision());
+            DoubleDouble actual = multiplier.times(multiplicand);
+            assertClose(actual, expected, "Multiplying " + a + " by " + b);
+        }
+    }
+    
+    @Test
+    public void testTimesExactProductOfDoubles() {
+        for (int n = 0; n < 1000; n++) {
+            double a = RANDOM.nextDouble();
+            double b = RANDOM.nextDouble();
+            DoubleDouble actual = DoubleDouble.fromPrimitive(a) 
+                    .times(DoubleDouble.fromPrimitive(b));
+            QuadruplePrecisionNumber expected = QuadruplePrecisionNumber 
+                    .fromPrimitive(a).times(QuadruplePrecisionNumber 
+                            .fromPrimitive(b));
+            assertEquals(actual.toQuadruplePrecision(), expected);
+        }
+    }
+    
+    /**
+     * Test of divides method, of class DoubleDouble.
+     */
+    @Test
+    public void testDivides() {
+        System.out.println("divides");
+        for (int n = 0; n < 1000; n++) {
+            QuadruplePrecisionNumber a = chooseQuadruple();
+            QuadruplePrecisionNumber b = chooseQuadruple();
+            DoubleDouble dividend = DoubleDouble.fromQuadruplePrecision(a);
+            DoubleDouble divisor = DoubleDouble.fromQuadruplePrecision(b);
+            QuadruplePrecisionNumber expected = dividend.toQuadruplePrecision() 
+                    .divides(divisor.toQuadruplePrecision());
+            DoubleDouble actual = dividend.divides(divisor);
+            assertClose(actual, expected, "Dividing " + a + " by " + b);
+        }
+    }
+    
+    @Test
+    public void testDividesByZero() {
+        DoubleDouble actual = DoubleDouble.ONE.divides(DoubleDouble.ZERO);
+        assertEquals(actual.getHigh(), Double.POSITIVE_INFINITY);
+        DoubleDouble nan = DoubleDouble.ZERO.divides(DoubleDouble.ZERO);
+        assert nan.isNaN() : "0/0 should be NaN";
+    }
+    
+    /**
+     * Test of reciprocal method, of class DoubleDouble.
+     */
+    @Test
+    public void testReciprocal() {
+        System.out.println("reciprocal");
+        DoubleDouble three = DoubleDouble.fromPrimitive(3.0);
+        DoubleDouble actual = three.reciprocal();
+        assertEquals(actual.getHigh(), 1.0 / 3.0);
+        assertEquals(actual.getLow(), 1.850371707708594E-17);
+        DoubleDouble quarter = DoubleDouble.fromPrimitive(4.0).reciprocal();
+        assertEquals(quarter, DoubleDouble.fromPrimitive(0.25));
+    }
+    
+    /**
+     * Test of sqrt method, of class DoubleDouble.
+     */
+    @Test
+    public void testSqrt() {
+        System.out.println("sqrt");
+        for (int n = 0; n < 1000; n++) {
+            QuadruplePrecisionNumber a = chooseQuadruple();
+            if (a.to64BitPrimitive() < 0.0) {
+                a = a.negate();
+            }
+            DoubleDouble instance = DoubleDouble.fromQuadruplePrecision(a);
+            QuadruplePrecisionNumber expected 
+                    = QuadrupleMath.sqrt(instance.toQuadruplePrecision());
+            DoubleDouble actual = instance.sqrt();
+            assertClose(actual, expected, "Square root of " + a);
+        }
+    }
+    
+    @Test
+    public void testSqrtSpecialCases() {
+        assertEquals(DoubleDouble.fromPrimitive(4.0).sqrt(), 
+                DoubleDouble.fromPrimitive(2.0));
+        assert DoubleDouble.fromPrimitive(-1.0).sqrt().isNaN() 
+                : "Square root of -1 should be NaN";
+        DoubleDouble negativeZero = DoubleDouble.fromPrimitive(-0.0);
+        assertEquals(negativeZero.sqrt(), negativeZero);
+        DoubleDouble infinity 
+                = DoubleDouble.fromPrimitive(Double.POSITIVE_INFINITY);
+        assertEquals(infinity.sqrt(), infinity);
+    }
+    
+    /**
+     * Test of to64BitPrimitive method, of class DoubleDouble.
+     */
+    @Test
+    public void testTo64BitPrimitive() {
+        System.out.println("to64BitPrimitive");
+        QuadruplePrecisionNumber number = chooseQuadruple();
+        DoubleDouble instance = DoubleDouble.fromQuadruplePrecision(number);
+        assertEquals(instance.to64BitPrimitive(), number.to64BitPrimitive());
+    }
+    
+    /**
+     * Test of toQuadruplePrecision method, of class DoubleDouble.
+     */
+    @Test
+    public void testToQuadruplePrecision() {
+        System.out.println("toQuadruplePrecision");
+        DoubleDouble instance = new DoubleDouble(1.0, 0x1p-100);
+        QuadruplePrecisionNumber expected = QuadruplePrecisionNumber 
+                .fromPrimitive(1.0).plus(QuadruplePrecisionNumber 
+                        .fromPrimitive(0x1p-100));
+        assertEquals(instance.toQuadruplePrecision(), expected);
+    }
+    
+    /**
+     * Test of fromPrimitive method, of class DoubleDouble.
+     */
+    @Test
+    public void testFromPrimitive() {
+        System.out.println("fromPrimitive");
+        double d = RANDOM.nextDouble();
+        DoubleDouble instance = DoubleDouble.fromPrimitive(d);
+        assertEquals(instance.getHigh(), d);
+        assertEquals(instance.getLow(), 0.0);
+    }
+    
+    /**
+     * Test of fromQuadruplePrecision method, of class DoubleDouble.
+     */
+    @Test
+    public void testFromQuadruplePrecision() {
+        System.out.println("fromQuadruplePrecision");
+        for (int n = 0; n < 1000; n++) {
+            QuadruplePrecisionNumber number = chooseQuadruple();
+            DoubleDouble instance = DoubleDouble.fromQuadruplePrecision(number);
+            assertEquals(instance.getHigh(), number.to64BitPrimitive());
+            assertClose(instance, number, "Converting " + number);
+            DoubleDouble roundTrip = DoubleDouble 
+                    .fromQuadruplePrecision(instance.toQuadruplePrecision());
+            assertEquals(roundTrip, instance);
+        }
+    }
+    
+    @Test
+    public void testFromQuadruplePrecisionOutOfRange() {
+        QuadruplePrecisionNumber huge 
+                = new QuadruplePrecisionNumber(0x7FFE000000000000L, 0L);
+        DoubleDouble actual = DoubleDouble.fromQuadruplePrecision(huge);
+        assertEquals(actual.getHigh(), Double.POSITIVE_INFINITY);
+        assertEquals(actual.getLow(), 0.0);
+    }
+    
+    /**
+     * Test of compareTo method, of class DoubleDouble.
+     */
+    @Test
+    public void testCompareTo() {
+        System.out.println("compareTo");
+        DoubleDouble one = DoubleDouble.ONE;
+        DoubleDouble slightlyMore = new DoubleDouble(1.0, 0x1p-80);
+        DoubleDouble slightlyLess = new DoubleDouble(1.0, -0x1p-80);
+        assert one.compareTo(slightlyMore) < 0 : "1 < 1 + 2^-80";
+        assert one.compareTo(slightlyLess) > 0 : "1 > 1 - 2^-80";
+        assertEquals(one.compareTo(DoubleDouble.fromPrimitive(1.0)), 0);
+        assert slightlyMore.compareTo(DoubleDouble.fromPrimitive(2.0)) < 0 
+                : "1 + 2^-80 < 2";
+    }
+    
+    /**
+     * Test of equals method, of class DoubleDouble.
+     */
+    @Test
+    public void testEquals() {
+        System.out.println("equals");
+        DoubleDouble someNumber = new DoubleDouble(1.0, 0x1p-80);
+        DoubleDouble sameNumber = new DoubleDouble(1.0, 0x1p-80);
+        assertEquals(sameNumber, someNumber);
+        DoubleDouble differentNumber = new DoubleDouble(1.0, -0x1p-80);
+        assertNotEquals(differentNumber, someNumber);
+    }
+    
+    /**
+     * Test of hashCode method, of class DoubleDouble.
+     */
+    @Test
+    public void testHashCode() {
+        System.out.println("hashCode");
+        DoubleDouble someNumber = new DoubleDouble(1.0, 0x1p-80);
+        DoubleDouble sameNumber = new DoubleDouble(1.0, 0x1p-80);
+        assertEquals(sameNumber.hashCode(), someNumber.hashCode());
+    }
+    
+    /**
+     * Test of toString method, of class DoubleDouble.
+     */
+    @Test
+    public void testToString() {
+        System.out.println("toString");
+        DoubleDouble instance = DoubleDouble.ONE 
+                .divides(DoubleDouble.fromPrimitive(3.0));
+        String expected = "0.3333333333333333333333333333333323";
+        assertEquals(instance.toString(), expected);
+    }
+    
+}
@@ -0,0 +1,731 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fp;
+
+import static math.fp.FloatingPointNumberNGTest.RANDOM;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the DoublePrecisionNumber class.
+ * @author Alonso del Arte
+ */
+public class DoublePrecisionNumberNGTest {
+    
+    private static final long SIGNALING_NAN_BITS = 0x7FF0000000000001L;
+    
+    private static final long QUIET_NAN_BITS = 0x7FF8000000000000L;
+    
+    @Test
+    public void testToStringNegativeInfinity() {
+        long bits = 0xFFF0000000000000L;
+        FloatingPointNumber infinity = new DoublePrecisionNumber(bits);
+        String expected = "\u2212Infinity";
+        String actual = infinity.toString();
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testToStringPositiveInfinity() {
+        long bits = 0x7FF0000000000000L;
+        FloatingPointNumber infinity = new DoublePrecisionNumber(bits);
+        String expected = "Infinity";
+        String actual = infinity.toString();
+        assertEquals(actual, expected);
+    }
+    
+    /**
+     * Gives a pseudorandom <code>float</code> that is not NaN. It may be 
+     * subnormal or infinite.
+     * @return A pseudorandom number, such as 4.9E-324 or 1.7976931348623157E308.
+     */
+    private static double chooseNonNaN() {
+        double d;
+        do {
+            d = Double.longBitsToDouble(RANDOM.nextLong());
+        } while (Double.isNaN(d));
+        return d;
+    }
+    
+    /**
+     * Test of getUnbiasedExponent method, of class DoublePrecisionNumber.
+     */
+    @Test
+    public void testGetUnbiasedExponent() {
+        System.out.println("getUnbiasedExponent");
+        for (int n = 0; n < 1000; n++) {
+            long i = RANDOM.nextLong();
+            DoublePrecisionNumber instance = new DoublePrecisionNumber(i);
+            int expected = (int) ((i >>> 52) & 2047);
+            int actual = instance.getUnbiasedExponent();
+            assertEquals(actual, expected);
+        }
+    }
+    
+    /**
+     * Test of getBiasedExponent method, of class DoublePrecisionNumber.
+     */
+    @Test
+    public void testGetBiasedExponent() {
+        System.out.println("getBiasedExponent");
+        for (int n = 0; n < 1000; n++) {
+            double d = chooseNonNaN();
+            DoublePrecisionNumber instance 
+                    = DoublePrecisionNumber.fromPrimitive(d);
+            int expected = Math.max(Math.getExponent(d), -1022);
+            int actual = instance.getBiasedExponent();
+            String message = "Reckoning biased exponent of " + d;
+            assertEquals(actual, expected, message);
+        }
+    }
+    
+    /**
+     * Test of isNormal method, of class DoublePrecisionNumber.
+     */
+    @Test
+    public void testIsNormal() {
+        System.out.println("isNormal");
+        for (int n = 0; n < 1000; n++) {
+            double d = Double.longBitsToDouble(RANDOM.nextLong());
+            DoublePrecisionNumber instance 
+                    = DoublePrecisionNumber.fromPrimitive(d);
+            double abs = Math.abs(d);
+            boolean expected = abs >= Double.MIN_NORMAL && Double.isFinite(d);
+            boolean actual = instance.isNormal();
+            String message = d + " should" + (expected ? "" : " not") 
+                    + " be considered normal";
+            assertEquals(actual, expected, message);
+        }
+    }
+    
+    /**
+     * Test of isSubnormal method, of class DoublePrecisionNumber.
+     */
+    @Test
+    public void testIsSubnormal() {
+        System.out.println("isSubnormal");
+        for (long i = 0L; i < 4503599627370496L; i += 1099511627791L) {
+            DoublePrecisionNumber number = new DoublePrecisionNumber(i);
+            String msg = number.toString() + " should be subnormal";
+            assert number.isSubnormal() : msg;
+            assert number.negate().isSubnormal() : msg;
+        }
+        DoublePrecisionNumber normal 
+                = DoublePrecisionNumber.fromPrimitive(Double.MIN_NORMAL);
+        String msg = normal.toString() + " should not be subnormal";
+        assert !normal.isSubnormal() : msg;
+    }
+    
+    /**
+     * Test of isInteger method, of class DoublePrecisionNumber.
+     */
+    @Test
+    public void testIsInteger() {
+        System.out.println("isInteger");
+        double[] integers = {-0.0, 0.0, 1.0, -7.0, 9007199254740992.0, 
+            Double.MAX_VALUE};
+        for (double d : integers) {
+            DoublePrecisionNumber number 
+                    = DoublePrecisionNumber.fromPrimitive(d);
+            String msg = number.toString() + " should be an integer";
+            assert number.isInteger() : msg;
+        }
+        double[] nonIntegers = {0.5, -7.5, Double.MIN_VALUE, 
+            Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NaN};
+        for (double d : nonIntegers) {
+            DoublePrecisionNumber number 
+                    = DoublePrecisionNumber.fromPrimitive(d);
+            String msg = number.toString() + " should not be an integer";
+            assert !number.isInteger() : msg;
+        }
+    }
+    
+    /**
+     * Test of isFinite method, of class DoublePrecisionNumber.
+     */
+    @Test
+    public void testIsFinite() {
+        System.out.println("isFinite");
+        for (int n = 0; n < 1000; n++) {
+            long i = RANDOM.nextLong();
+            DoublePrecisionNumber instance = new DoublePrecisionNumber(i);
+            boolean expected = Double.isFinite(Double.longBitsToDouble(i));
+            boolean actual = instance.isFinite();
+            assertEquals(actual, expected);
+        }
+    }
+    
+    /**
+     * Test of isInfinite method, of class DoublePrecisionNumber.
+     */
+    @Test
+    public void testIsInfinite() {
+        System.out.println("isInfinite");
+        for (int n = 0; n < 1000; n++) {
+            long i = RANDOM.nextLong();
+            DoublePrecisionNumber instance = new DoublePrecisionNumber(i);
+            boolean expected = Double.isInfinite(Double.longBitsToDouble(i));
+            boolean actual = instance.isInfinite();
+            assertEquals(actual, expected);
+        }
+        DoublePrecisionNumber infinity 
+                = DoublePrecisionNumber.fromPrimitive(Double.NEGATIVE_INFINITY);
+        assert infinity.isInfinite() : "Negative infinity should be infinite";
+    }
+    
+    /**
+     * Test of isNaN method, of class DoublePrecisionNumber.
+     */
+    @Test
+    public void testIsNaN() {
+        System.out.println("isNaN");
+        for (int n = 0; n < 1000; n++) {
+            long i = RANDOM.nextLong() | 0x7FF0000000000000L;
+            DoublePrecisionNumber instance = new DoublePrecisionNumber(i);
+            boolean expected = Double.isNaN(Double.longBitsToDouble(i));
+            boolean actual = instance.isNaN();
+            assertEquals(actual, expected);
+        }
+    }
+    
+    /**
+     * Test of isQuietNaN method, of class DoublePrecisionNumber.
+     */
+    @Test
+    public void testIsQuietNaN() {
+        System.out.println("isQuietNaN");
+        long[] quiet = {QUIET_NAN_BITS, Long.MAX_VALUE, 
+            0xFFF8000000000001L, -1L};
+        for (long i : quiet) {
+            DoublePrecisionNumber number = new DoublePrecisionNumber(i);
+            String msg = number.bitPatternHexadecimal() 
+                    + " should be quiet NaN";
+            assert number.isQuietNaN() : msg;
+        }
+        long[] notQuiet = {SIGNALING_NAN_BITS, 0x7FF7FFFFFFFFFFFFL, 
+            0x7FF0000000000000L, 0xFFF0000000000000L, 0x3FF8000000000000L};
+        for (long i : notQuiet) {
+            DoublePrecisionNumber number = new DoublePrecisionNumber(i);
+            String msg = number.bitPatternHexadecimal() 
+                    + " should not be quiet NaN";
+            assert !number.isQuietNaN() : msg;
+        }
+    }
+    
+    /**
+     * Test of isSignalingNaN method, of class DoublePrecisionNumber.
+     */
+    @Test
+    public void testIsSignalingNaN() {
+        System.out.println("isSignalingNaN");
+        long[] signaling = {SIGNALING_NAN_BITS, 0x7FF7FFFFFFFFFFFFL, 
+            0xFFF0000000000001L, 0xFFF4000000000000L};
+        for (long i : signaling) {
+            DoublePrecisionNumber number = new DoublePrecisionNumber(i);
+            String msg = number.bitPatternHexadecimal() 
+                    + " should be signaling NaN";
+            assert number.isSignalingNaN() : msg;
+        }
+        long[] notSignaling = {QUIET_NAN_BITS, -1L, 
+            0x7FF0000000000000L, 0xFFF0000000000000L, 0x3FF8000000000000L};
+        for (long i : notSignaling) {
+            DoublePrecisionNumber number = new DoublePrecisionNumber(i);
+            String msg = number.bitPatternHexadecimal() 
+                    + " should not be signaling NaN";
+            assert !number.isSignalingNaN() : msg;
+        }
+    }
+    
+    /**
+     * Test of to32BitPrimitive method, of class DoublePrecisionNumber.
+     */
+    @Test
+    public void testTo32BitPrimitive() {
+        System.out.println("to32BitPrimitive");
+        for (int n = 0; n < 1000; n++) {
+            double d = chooseNonNaN();
+            DoublePrecisionNumber instance 
+                    = DoublePrecisionNumber.fromPrimitive(d);
+            float expected = (float) d;
+            float actual = instance.to32BitPrimitive();
+            assertEquals(actual, expected, 0.0f);
+        }
+    }
+    
+    /**
+     * Test of to64BitPrimitive method, of class DoublePrecisionNumber.
+     */
+    @Test
+    public void testTo64BitPrimitive() {
+        System.out.println("to64BitPrimitive");
+        for (int n = 0; n < 1000; n++) {
+            double expected = chooseNonNaN();
+            DoublePrecisionNumber instance 
+                    = DoublePrecisionNumber.fromPrimitive(expected);
+            double actual = instance.to64BitPrimitive();
+            assertEquals(Double.doubleToRawLongBits(actual), 
+                    Double.doubleToRawLongBits(expected));
+        }
+    }
+    
+    /**
+     * Test of toQuarterPrecision method, of class DoublePrecisionNumber. 
+     * Every quarter precision number that is not NaN should make the round 
+     * trip to double precision and back unchanged.
+     */
+    @Test
+    public void testToQuarterPrecision() {
+        System.out.println("toQuarterPrecision");
+        for (int i = Byte.MIN_VALUE; i <= Byte.MAX_VALUE; i++) {
+            QuarterPrecisionNumber expected 
+                    = new QuarterPrecisionNumber((byte) i);
+            if (!expected.isNaN()) {
+                DoublePrecisionNumber number = expected.toDoublePrecision();
+                QuarterPrecisionNumber actual = number.toQuarterPrecision();
+                assertEquals(actual, expected);
+            }
+        }
+    }
+    
+    @Test
+    public void testToQuarterPrecisionRoundsTiesToEven() {
+        double[] numbers = {1.0625, 1.1875, -1.0625, 248.0, 247.99, 1.0E300};
+        byte[] expecteds = {0x38, 0x3A, (byte) 0xB8, 0x78, 0x77, 0x78};
+        for (int index = 0; index < numbers.length; index++) {
+            DoublePrecisionNumber number 
+                    = DoublePrecisionNumber.fromPrimitive(numbers[index]);
+            QuarterPrecisionNumber expected 
+                    = new QuarterPrecisionNumber(expecteds[index]);
+            QuarterPrecisionNumber actual = number.toQuarterPrecision();
+            String message = "Rounding " + number.toString() 
+                    + " to quarter precision";
+            assertEquals(actual, expected, message);
+        }
+    }
+    
+    @Test
+    public void testToQuarterPrecisionKeepsSignalingNaN() {
+        DoublePrecisionNumber number 
+                = new DoublePrecisionNumber(SIGNALING_NAN_BITS);
+        QuarterPrecisionNumber result = number.toQuarterPrecision();
+        String msg = "Narrowing " + number.bitPatternHexadecimal() 
+                + " gave " + result.bitPatternHexadecimal() 
+                + ", should be signaling NaN";
+        assert result.isSignalingNaN() : msg;
+    }
+    
+    /**
+     * Test of toHalfPrecision method, of class DoublePrecisionNumber. Every 
+     * half precision number that is not NaN should make the round trip to 
+     * double precision and back unchanged.
+     */
+    @Test
+    public void testToHalfPrecision() {
+        System.out.println("toHalfPrecision");
+        for (int i = Short.MIN_VALUE; i <= Short.MAX_VALUE; i++) {
+            HalfPrecisionNumber expected = new HalfPrecisionNumber((short) i);
+            if (!expected.isNaN()) {
+                DoublePrecisionNumber number = expected.toDoublePrecision();
+                HalfPrecisionNumber actual = number.toHalfPrecision();
+                assertEquals(actual, expected);
+            }
+        }
+    }
+    
+    @Test
+    public void testToHalfPrecisionRoundsTiesToEven() {
+        double[] numbers = {1.00048828125, 1.00146484375, 65519.0, 65520.0, 
+            Double.MIN_VALUE, 0x1.0p-25, 0x1.0000000000001p-25};
+        short[] expecteds = {0x3C00, 0x3C02, 0x7BFF, 0x7C00, 0, 0, 1};
+        for (int index = 0; index < numbers.length; index++) {
+            DoublePrecisionNumber number 
+                    = DoublePrecisionNumber.fromPrimitive(numbers[index]);
+            HalfPrecisionNumber expected 
+                    = new HalfPrecisionNumber(expecteds[index]);
+            HalfPrecisionNumber actual = number.toHalfPrecision();
+            String message = "Rounding " + number.toString() 
+                    + " to half precision";
+            assertEquals(actual, expected, message);
+        }
+    }
+    
+    /**
+     * Test of toSinglePrecision method, of class DoublePrecisionNumber.
+     */
+    @Test
+    public void testToSinglePrecision() {
+        System.out.println("toSinglePrecision");
+        for (int n = 0; n < 1000; n++) {
+            double d = chooseNonNaN();
+            DoublePrecisionNumber instance 
+                    = DoublePrecisionNumber.fromPrimitive(d);
+            SinglePrecisionNumber expected 
+                    = SinglePrecisionNumber.fromPrimitive((float) d);
+            SinglePrecisionNumber actual = instance.toSinglePrecision();
+            assertEquals(actual, expected);
+        }
+    }
+    
+    @Test
+    public void testToSinglePrecisionKeepsSignalingNaN() {
+        long[] patterns = {SIGNALING_NAN_BITS, 0xFFF0000000000001L, 
+            0x7FF5A5A5A5A5A5A5L};
+        for (long i : patterns) {
+            DoublePrecisionNumber number = new DoublePrecisionNumber(i);
+            SinglePrecisionNumber result = number.toSinglePrecision();
+            String msg = "Narrowing " + number.bitPatternHexadecimal() 
+                    + " gave " + result.bitPatternHexadecimal() 
+                    + ", should be signaling NaN";
+            assert result.isSignalingNaN() : msg;
+        }
+        DoublePrecisionNumber quiet = new DoublePrecisionNumber(QUIET_NAN_BITS);
+        SinglePrecisionNumber result = quiet.toSinglePrecision();
+        assert result.isQuietNaN() : "Quiet NaN should stay quiet";
+    }
+    
+    /**
+     * Test of toDoublePrecision method, of class DoublePrecisionNumber.
+     */
+    @Test
+    public void testToDoublePrecision() {
+        System.out.println("toDoublePrecision");
+        DoublePrecisionNumber expected 
+                = new DoublePrecisionNumber(RANDOM.nextLong());
+        DoublePrecisionNumber actual = expected.toDoublePrecision();
+        assertEquals(actual, expected);
+    }
+    
+    /**
+     * Test of toQuadruplePrecision method, of class DoublePrecisionNumber.
+     */
+    @Test
+    public void testToQuadruplePrecision() {
+        System.out.println("toQuadruplePrecision");
+        for (int n = 0; n < 1000; n++) {
+            long bits = RANDOM.nextLong();
+            DoublePrecisionNumber number = new DoublePrecisionNumber(bits);
+            QuadruplePrecisionNumber expected 
+                    = QuadruplePrecisionNumberNGTest.fromDoubleBits(bits);
+            QuadruplePrecisionNumber actual = number.toQuadruplePrecision();
+            assertEquals(actual, expected);
+        }
+    }
+    
+    @Test
+    public void testToQuadruplePrecisionKeepsNaNPayload() {
+        DoublePrecisionNumber signaling 
+                = new DoublePrecisionNumber(0xFFF0000000000001L);
+        QuadruplePrecisionNumber widened = signaling.toQuadruplePrecision();
+        assert widened.isSignalingNaN() : "Signaling NaN should still signal";
+        assertEquals(widened.toDoublePrecision(), signaling);
+    }
+    
+    /**
+     * Test of toOctuplePrecision method, of class DoublePrecisionNumber.
+     */
+    @Test
+    public void testToOctuplePrecision() {
+        System.out.println("toOctuplePrecision");
+        for (int n = 0; n < 1000; n++) {
+            DoublePrecisionNumber number 
+                    = new DoublePrecisionNumber(RANDOM.nextLong());
+            byte[] expected 
+                    = number.toQuadruplePrecision().toOctuplePrecision()
+                            .getBytes();
+            byte[] actual = number.toOctuplePrecision().getBytes();
+            assertEquals(actual, expected);
+        }
+    }
+    
+    /**
+     * Test of plus method, of class DoublePrecisionNumber.
+     */
+    @Test
+    public void testPlus() {
+        System.out.println("plus");
+        for (int n = 0; n < 1000; n++) {
+            double a = chooseNonNaN();
+            double b = chooseNonNaN();
+            DoublePrecisionNumber augend 
+                    = DoublePrecisionNumber.fromPrimitive(a);
+            DoublePrecisionNumber addend 
+                    = DoublePrecisionNumber.fromPrimitive(b);
+            DoublePrecisionNumber expected 
+                    = DoublePrecisionNumber.fromPrimitive(a + b);
+            DoublePrecisionNumber actual = augend.plus(addend);
+            String message = "Adding " + a + " and " + b;
+            assertEquals(actual, expected, message);
+        }
+    }
+    
+    @Test
+    public void testPlusConvertsAddendOfOtherFormat() {
+        DoublePrecisionNumber augend = DoublePrecisionNumber.fromPrimitive(1.5);
+        HalfPrecisionNumber addend = new HalfPrecisionNumber((short) 0x3E00);
+        DoublePrecisionNumber expected 
+                = DoublePrecisionNumber.fromPrimitive(3.0);
+        DoublePrecisionNumber actual = augend.plus(addend);
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testPlusKeepsSignalingNaN() {
+        DoublePrecisionNumber signaling 
+                = new DoublePrecisionNumber(SIGNALING_NAN_BITS | 0x1234L);
+        DoublePrecisionNumber other = DoublePrecisionNumber.fromPrimitive(1.5);
+        assertEquals(signaling.plus(other), signaling);
+        assertEquals(other.plus(signaling), signaling);
+        DoublePrecisionNumber quiet = new DoublePrecisionNumber(QUIET_NAN_BITS);
+        assertEquals(quiet.plus(signaling), signaling);
+        DoublePrecisionNumber otherSignaling 
+                = new DoublePrecisionNumber(SIGNALING_NAN_BITS);
+        assertEquals(signaling.plus(otherSignaling), signaling);
+    }
+    
+    @Test
+    public void testPlusQuietNaNGivesNaN() {
+        DoublePrecisionNumber quiet = new DoublePrecisionNumber(QUIET_NAN_BITS);
+        DoublePrecisionNumber other = DoublePrecisionNumber.fromPrimitive(1.5);
+        DoublePrecisionNumber result = other.plus(quiet);
+        String msg = "1.5 + NaN should be NaN, not " + result.toString();
+        assert result.isNaN() : msg;
+    }
+    
+    /**
+     * Test of negate method, of class DoublePrecisionNumber.
+     */
+    @Test
+    public void testNegate() {
+        System.out.println("negate");
+        for (int n = 0; n < 1000; n++) {
+            long i = RANDOM.nextLong();
+            DoublePrecisionNumber instance = new DoublePrecisionNumber(i);
+            DoublePrecisionNumber expected 
+                    = new DoublePrecisionNumber(i ^ Long.MIN_VALUE);
+            DoublePrecisionNumber actual = instance.negate();
+            assertEquals(actual, expected);
+        }
+    }
+    
+    /**
+     * Test of minus method, of class DoublePrecisionNumber.
+     */
+    @Test
+    public void testMinus() {
+        System.out.println("minus");
+        for (int n = 0; n < 1000; n++) {
+            double a = chooseNonNaN();
+            double b = chooseNonNaN();
+            DoublePrecisionNumber minuend 
+                    = DoublePrecisionNumber.fromPrimitive(a);
+            DoublePrecisionNumber subtrahend 
+                    = DoublePrecisionNumber.fromPrimitive(b);
+            DoublePrecisionNumber expected 
+                    = DoublePrecisionNumber.fromPrimitive(a - b);
+            DoublePrecisionNumber actual = minuend.minus(subtrahend);
+            String message = "Subtracting " + b + " from " + a;
+            assertEquals(actual, expected, message);
+        }
+    }
+    
+    @Test
+    public void testMinusKeepsSignalingNaN() {
+        DoublePrecisionNumber signaling 
+                = new DoublePrecisionNumber(SIGNALING_NAN_BITS);
+        DoublePrecisionNumber other = DoublePrecisionNumber.fromPrimitive(1.5);
+        assertEquals(signaling.minus(other), signaling);
+        assertEquals(other.minus(signaling), signaling);
+    }
+    
+    /**
+     * Test of times method, of class DoublePrecisionNumber.
+     */
+    @Test
+    public void testTimes() {
+        System.out.println("times");
+        for (int n = 0; n < 1000; n++) {
+            double a = chooseNonNaN();
+            double b = chooseNonNaN();
+            DoublePrecisionNumber multiplier 
+                    = DoublePrecisionNumber.fromPrimitive(a);
+            DoublePrecisionNumber multiplicand 
+                    = DoublePrecisionNumber.fromPrimitive(b);
+            DoublePrecisionNumber expected 
+                    = DoublePrecisionNumber.fromPrimitive(a * b);
+            DoublePrecisionNumber actual = multiplier.times(multiplicand);
+            String message = "Multiplying " + a + " by " + b;
+            assertEquals(actual, expected, message);
+        }
+    }
+    
+    @Test
+    public void testTimesKeepsSignalingNaN() {
+        DoublePrecisionNumber signaling 
+                = new DoublePrecisionNumber(SIGNALING_NAN_BITS);
+        DoublePrecisionNumber other = DoublePrecisionNumber.fromPrimitive(0.0);
+        assertEquals(signaling.times(other), signaling);
+        assertEquals(other.times(signaling), signaling);
+    }
+    
+    /**
+     * Test of reciprocal method, of class DoublePrecisionNumber.
+     */
+    @Test
+    public void testReciprocal() {
+        System.out.println("reciprocal");
+        for (int n = 0; n < 1000; n++) {
+            double d = chooseNonNaN();
+            DoublePrecisionNumber instance 
+                    = DoublePrecisionNumber.fromPrimitive(d);
+            DoublePrecisionNumber expected 
+                    = DoublePrecisionNumber.fromPrimitive(1.0 / d);
+            DoublePrecisionNumber actual = instance.reciprocal();
+            String message = "Reciprocal of " + d;
+            assertEquals(actual, expected, message);
+        }
+        DoublePrecisionNumber signaling 
+                = new DoublePrecisionNumber(SIGNALING_NAN_BITS);
+        assertEquals(signaling.reciprocal(), signaling);
+    }
+    
+    /**
+     * Test of divides method, of class DoublePrecisionNumber.
+     */
+    @Test
+    public void testDivides() {
+        System.out.println("divides");
+        for (int n = 0; n < 1000; n++) {
+            double a = chooseNonNaN();
+            double b = chooseNonNaN();
+            DoublePrecisionNumber dividend 
+                    = DoublePrecisionNumber.fromPrimitive(a);
+            DoublePrecisionNumber divisor 
+                    = DoublePrecisionNumber.fromPrimitive(b);
+            DoublePrecisionNumber expected 
+                    = DoublePrecisionNumber.fromPrimitive(a / b);
+            DoublePrecisionNumber actual = dividend.divides(divisor);
+            String message = "Dividing " + a + " by " + b;
+            assertEquals(actual, expected, message);
+        }
+    }
+    
+    @Test
+    public void testDividesKeepsSignalingNaN() {
+        DoublePrecisionNumber signaling 
+                = new DoublePrecisionNumber(SIGNALING_NAN_BITS);
+        DoublePrecisionNumber other = DoublePrecisionNumber.fromPrimitive(0.0);
+        assertEquals(signaling.divides(other), signaling);
+        assertEquals(other.divides(signaling), signaling);
+    }
+    
+    /**
+     * Test of arithmeticallyEqual method, of class DoublePrecisionNumber.
+     */
+    @Test
+    public void testArithmeticallyEqual() {
+        System.out.println("arithmeticallyEqual");
+        DoublePrecisionNumber positiveZero 
+                = DoublePrecisionNumber.fromPrimitive(0.0);
+        DoublePrecisionNumber negativeZero 
+                = DoublePrecisionNumber.fromPrimitive(-0.0);
+        assert positiveZero.arithmeticallyEqual(negativeZero) 
+                : "0.0 should be arithmetically equal to -0.0";
+        DoublePrecisionNumber oneAndAHalf 
+                = DoublePrecisionNumber.fromPrimitive(1.5);
+        HalfPrecisionNumber halfOneAndAHalf 
+                = new HalfPrecisionNumber((short) 0x3E00);
+        assert oneAndAHalf.arithmeticallyEqual(halfOneAndAHalf) 
+                : "1.5 should be arithmetically equal to 1.5 from half";
+        SinglePrecisionNumber singleOneTenth 
+                = SinglePrecisionNumber.fromPrimitive(0.1f);
+        DoublePrecisionNumber oneTenth 
+                = DoublePrecisionNumber.fromPrimitive(0.1);
+        assert !oneTenth.arithmeticallyEqual(singleOneTenth) 
+                : "0.1 should not be arithmetically equal to 0.1f";
+        DoublePrecisionNumber widenedOneTenth 
+                = DoublePrecisionNumber.fromPrimitive(0.1f);
+        assert widenedOneTenth.arithmeticallyEqual(singleOneTenth) 
+                : "Widened 0.1f should be arithmetically equal to 0.1f";
+        DoublePrecisionNumber nan = new DoublePrecisionNumber(QUIET_NAN_BITS);
+        assert !nan.arithmeticallyEqual(nan) 
+                : "NaN should not be arithmetically equal to itself";
+    }
+    
+    /**
+     * Test of bitPatternHexadecimal method, of class DoublePrecisionNumber.
+     */
+    @Test
+    public void testBitPatternHexadecimal() {
+        System.out.println("bitPatternHexadecimal");
+        for (int n = 0; n < 1000; n++) {
+            long i = RANDOM.nextLong();
+            DoublePrecisionNumber instance = new DoublePrecisionNumber(i);
+            String expected = String.format("%016x", i);
+            String actual = instance.bitPatternHexadecimal();
+            assertEquals(actual, expected);
+        }
+    }
+    
+    /**
+     * Test of fromPrimitive method, of class DoublePrecisionNumber.
+     */
+    @Test
+    public void testFromPrimitive() {
+        System.out.println("fromPrimitive");
+        for (int n = 0; n < 1000; n++) {
+            double d = chooseNonNaN();
+            long i = Double.doubleToRawLongBits(d);
+            DoublePrecisionNumber expected = new DoublePrecisionNumber(i);
+            DoublePrecisionNumber actual 
+                    = DoublePrecisionNumber.fromPrimitive(d);
+            assertEquals(actual, expected);
+        }
+    }
+    
+    @Test
+    public void testConstructorsAgreeOnBytes() {
+        for (int n = 0; n < 1000; n++) {
+            long i = RANDOM.nextLong();
+            DoublePrecisionNumber expected = new DoublePrecisionNumber(i);
+            FloatingPointNumber actual 
+                    = FloatingPointNumber.apply(expected.getBytes());
+            assertEquals(actual, expected);
+            assertEquals(actual.hashCode(), expected.hashCode());
+        }
+    }
+    
+    @Test
+    public void testToString() {
+        for (int n = 0; n < 1000; n++) {
+            double d = Math.abs(chooseNonNaN());
+            DoublePrecisionNumber positive 
+                    = DoublePrecisionNumber.fromPrimitive(d);
+            String expected = Double.toString(d);
+            assertEquals(positive.toString(), expected);
+            assertEquals(positive.negate().toString(), "\u2212" + expected);
+        }
+    }
+    
+    @Test
+    public void testToStringNaN() {
+        DoublePrecisionNumber nan 
+                = new DoublePrecisionNumber(0xFFF8000000000000L);
+        assertEquals(nan.toString(), "NaN");
+    }
+    
+}
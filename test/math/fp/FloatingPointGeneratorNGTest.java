@@ -0,0 +1,415 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fp;
+
+import static math.fp.FloatingPointNumberNGTest.RANDOM;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.testframe.api.Asserters.assertThrows;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the FloatingPointGenerator class.
+ * @author Alonso del Arte
+ */
+public class FloatingPointGeneratorNGTest {
+    
+    private static final int SAMPLE_SIZE = 4000;
+    
+    private static boolean isNegative(FloatingPointNumber number) {
+        return number.getBytes()[0] < 0;
+    }
+    
+    /**
+     * Classifies a number by its bit pattern alone, so as not to depend on 
+     * the classification functions of each format.
+     * @return "zero", "subnormal", "normal", "infinity", "quiet NaN" or 
+     * "signaling NaN".
+     */
+    private static String classify(FloatingPointNumber number) {
+        Precision precision = number.getPrecision();
+        BigInteger bits = new BigInteger(1, number.getBytes());
+        int mantissaBitCount = precision.getMantissaBitCount();
+        BigInteger mantissa = bits.subtract(bits.shiftRight(mantissaBitCount) 
+                .shiftLeft(mantissaBitCount));
+        int exponentMask = (1 << precision.getExponentBitCount()) - 1;
+        int exponent = bits.shiftRight(mantissaBitCount).intValue() 
+                & exponentMask;
+        if (exponent == 0) {
+            return mantissa.signum() == 0 ? "zero" : "subnormal";
+        }
+        if (exponent < exponentMask) {
+            return "normal";
+        }
+        if (mantissa.signum() == 0) {
+            return "infinity";
+        }
+        return mantissa.testBit(mantissaBitCount - 1) ? "quiet NaN" 
+                : "signaling NaN";
+    }
+    
+    @Test
+    public void testGetPrecision() {
+        System.out.println("getPrecision");
+        for (Precision expected : Precision.values()) {
+            FloatingPointGenerator generator = new FloatingPointGenerator( 
+                    expected, SampleDistribution.FINITE);
+            assertEquals(generator.getPrecision(), expected);
+        }
+    }
+    
+    @Test
+    public void testGetDistribution() {
+        System.out.println("getDistribution");
+        for (SampleDistribution expected : SampleDistribution.values()) {
+            FloatingPointGenerator generator = new FloatingPointGenerator( 
+                    Precision.HALF, expected);
+            assertEquals(generator.getDistribution(), expected);
+        }
+    }
+    
+    @Test
+    public void testNext() {
+        System.out.println("next");
+        for (Precision precision : Precision.values()) {
+            for (SampleDistribution distribution 
+                    : SampleDistribution.values()) {
+                FloatingPointGenerator generator 
+                        = new FloatingPointGenerator(precision, distribution);
+                for (int i = 0; i < 100; i++) {
+                    FloatingPointNumber number = generator.next();
+                    String msg = "Number from " + precision + " " 
+                            + distribution + " generator";
+                    assertEquals(number.getPrecision(), precision, msg);
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void testBitPatternsCoverQuarterPrecision() {
+        FloatingPointGenerator generator = new FloatingPointGenerator( 
+                Precision.QUARTER, SampleDistribution.BIT_PATTERNS);
+        byte[] bitPatterns = new byte[SAMPLE_SIZE];
+        generator.nextBytes(bitPatterns, 0, SAMPLE_SIZE);
+        Set<Byte> distinct = new HashSet<>();
+        for (byte b : bitPatterns) {
+            distinct.add(b);
+        }
+        assertEquals(distinct.size(), 256, "All quarter precision patterns");
+    }
+    
+    @Test
+    public void testFinite() {
+        for (Precision precision : Precision.values()) {
+            FloatingPointGenerator generator = new FloatingPointGenerator( 
+                    precision, SampleDistribution.FINITE);
+            int negativeCount = 0;
+            for (int i = 0; i < SAMPLE_SIZE / 4; i++) {
+                FloatingPointNumber number = generator.next();
+                String kind = classify(number);
+                String msg = number.bitPatternHexadecimal() + " from " 
+                        + precision + " generator should be finite";
+                assert !kind.equals("infinity") && !kind.endsWith("NaN") 
+                        : msg;
+                if (isNegative(number)) {
+                    negativeCount++;
+                }
+            }
+            String msg = negativeCount + " negative numbers out of " 
+                    + SAMPLE_SIZE / 4 + " for " + precision;
+            assert Math.abs(negativeCount - SAMPLE_SIZE / 8) < SAMPLE_SIZE / 20 
+                    : msg;
+        }
+    }
+    
+    @Test
+    public void testUnitIntervalDouble() {
+        FloatingPointGenerator generator = new FloatingPointGenerator( 
+                Precision.DOUBLE, SampleDistribution.UNIT_INTERVAL);
+        long[] bitPatterns = new long[SAMPLE_SIZE];
+        generator.nextLongs(bitPatterns, 0, SAMPLE_SIZE);
+        double sum = 0.0;
+        int lowerHalfCount = 0;
+        for (long bits : bitPatterns) {
+            double d = Double.longBitsToDouble(bits);
+            String msg = d + " should be at least 0 and less than 1";
+            assert d >= 0.0 && d < 1.0 : msg;
+            sum += d;
+            if (d < 0.25) {
+                lowerHalfCount++;
+            }
+        }
+        double mean = sum / SAMPLE_SIZE;
+        String msg = "Mean " + mean + " should be about 0.5";
+        assert Math.abs(mean - 0.5) < 0.05 : msg;
+        msg = lowerHalfCount + " numbers below 0.25 out of " + SAMPLE_SIZE;
+        assert Math.abs(lowerHalfCount - SAMPLE_SIZE / 4) < SAMPLE_SIZE / 20 
+                : msg;
+    }
+    
+    @Test
+    public void testUnitIntervalQuarterReachesSubnormals() {
+        FloatingPointGenerator generator = new FloatingPointGenerator( 
+                Precision.QUARTER, SampleDistribution.UNIT_INTERVAL);
+        int subnormalCount = 0;
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            FloatingPointNumber number = generator.next();
+            double d = number.to64BitPrimitive();
+            String msg = d + " should be at least 0 and less than 1";
+            assert d >= 0.0 && d < 1.0 : msg;
+            String kind = classify(number);
+            if (kind.equals("subnormal") || kind.equals("zero")) {
+                subnormalCount++;
+            }
+        }
+        int expected = SAMPLE_SIZE / 64;
+        String msg = subnormalCount + " numbers below 2^-6, expected about " 
+                + expected;
+        assert subnormalCount > expected / 3 && subnormalCount < 3 * expected 
+                : msg;
+    }
+    
+    @Test
+    public void testUnitIntervalWideFormats() {
+        for (Precision precision : List.of(Precision.QUADRUPLE, 
+                Precision.OCTUPLE)) {
+            FloatingPointGenerator generator = new FloatingPointGenerator( 
+                    precision, SampleDistribution.UNIT_INTERVAL);
+            BigInteger one = BigInteger.valueOf(precision.getExponentBias()) 
+                    .shiftLeft(precision.getMantissaBitCount());
+            for (int i = 0; i < SAMPLE_SIZE / 4; i++) {
+                FloatingPointNumber number = generator.next();
+                BigInteger bits = new BigInteger(1, number.getBytes());
+                String msg = number.bitPatternHexadecimal() + " from " 
+                        + precision + " should be at least 0 and less than 1";
+                assert bits.compareTo(one) < 0 : msg;
+            }
+        }
+    }
+    
+    @Test
+    public void testSpecialBiased() {
+        for (Precision precision : Precision.values()) {
+            FloatingPointGenerator generator = new FloatingPointGenerator( 
+                    precision, SampleDistribution.SPECIAL_BIASED);
+            int zeroCount = 0, subnormalCount = 0, infinityCount = 0;
+            int quietCount = 0, signalingCount = 0;
+            for (int i = 0; i < SAMPLE_SIZE; i++) {
+                switch (classify(generator.next())) {
+                    case "zero" -> zeroCount++;
+                    case "subnormal" -> subnormalCount++;
+                    case "infinity" -> infinityCount++;
+                    case "quiet NaN" -> quietCount++;
+                    case "signaling NaN" -> signalingCount++;
+                    default -> {
+                    }
+                }
+            }
+            int expected = SAMPLE_SIZE / 18;
+            int[] counts = {zeroCount, subnormalCount / 2, infinityCount, 
+                quietCount, signalingCount};
+            String msg = "Expected about " + expected 
+                    + " of each special value for " + precision + ", got " 
+                    + Arrays.toString(counts);
+            for (int count : counts) {
+                assert count > expected / 2 && count < 2 * expected : msg;
+            }
+        }
+    }
+    
+    @Test
+    public void testSameSeedSameNumbers() {
+        long seed = RANDOM.nextLong();
+        for (SampleDistribution distribution : SampleDistribution.values()) {
+            FloatingPointGenerator generatorA = new FloatingPointGenerator( 
+                    Precision.SINGLE, distribution, seed);
+            FloatingPointGenerator generatorB = new FloatingPointGenerator( 
+                    Precision.SINGLE, distribution, seed);
+            int[] expected = new int[100];
+            int[] actual = new int[100];
+            generatorA.nextInts(expected, 0, 100);
+            generatorB.nextInts(actual, 0, 100);
+            assertEquals(actual, expected);
+        }
+    }
+    
+    @Test
+    public void testNextLongsMatchesNext() {
+        System.out.println("nextLongs");
+        long seed = RANDOM.nextLong();
+        for (Precision precision : List.of(Precision.DOUBLE, 
+                Precision.QUADRUPLE, Precision.OCTUPLE)) {
+            FloatingPointGenerator generatorA = new FloatingPointGenerator( 
+                    precision, SampleDistribution.SPECIAL_BIASED, seed);
+            FloatingPointGenerator generatorB = new FloatingPointGenerator( 
+                    precision, SampleDistribution.SPECIAL_BIASED, seed);
+            int limbs = precision.getByteCount() / Long.BYTES;
+            long[] bitPatterns = new long[20 * limbs + 2];
+            generatorB.nextLongs(bitPatterns, 1, 20 * limbs);
+            for (int i = 0; i < 20; i++) {
+                byte[] expected = generatorA.next().getBytes();
+                byte[] actual = new byte[precision.getByteCount()];
+                for (int j = 0; j < actual.length; j++) {
+                    actual[j] = (byte) (bitPatterns[1 + i * limbs 
+                            + j / Long.BYTES] >>> (Byte.SIZE 
+                            * (Long.BYTES - 1 - j % Long.BYTES)));
+                }
+                String msg = "Number " + i + " of " + precision;
+                assertEquals(actual, expected, msg);
+            }
+        }
+    }
+    
+    @Test
+    public void testNextShortsMatchesNext() {
+        System.out.println("nextShorts");
+        long seed = RANDOM.nextLong();
+        FloatingPointGenerator generatorA = new FloatingPointGenerator( 
+                Precision.HALF, SampleDistribution.FINITE, seed);
+        FloatingPointGenerator generatorB = new FloatingPointGenerator( 
+                Precision.HALF, SampleDistribution.FINITE, seed);
+        short[] bitPatterns = new short[100];
+        generatorB.nextShorts(bitPatterns, 0, 100);
+        for (short bits : bitPatterns) {
+            FloatingPointNumber expected = generatorA.next();
+            FloatingPointNumber actual = new HalfPrecisionNumber( 
+                    new byte[] {(byte) (bits >> 8), (byte) bits});
+            assertEquals(actual, expected);
+        }
+    }
+    
+    @Test
+    public void testNextBytesRejectsOtherPrecision() {
+        System.out.println("nextBytes");
+        FloatingPointGenerator generator = new FloatingPointGenerator( 
+                Precision.HALF, SampleDistribution.FINITE);
+        Throwable t = assertThrows(() -> {
+            generator.nextBytes(new byte[10], 0, 10);
+        }, IllegalStateException.class, 
+                "Half precision generator should not fill bytes");
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    @Test
+    public void testNextIntsRejectsBadRange() {
+        System.out.println("nextInts");
+        FloatingPointGenerator generator = new FloatingPointGenerator( 
+                Precision.SINGLE, SampleDistribution.FINITE);
+        Throwable t = assertThrows(() -> {
+            generator.nextInts(new int[10], 5, 6);
+        }, IndexOutOfBoundsException.class, 
+                "Range past end of array should be rejected");
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    @Test
+    public void testNextLongsRejectsPartialNumber() {
+        FloatingPointGenerator generator = new FloatingPointGenerator( 
+                Precision.QUADRUPLE, SampleDistribution.FINITE);
+        Throwable t = assertThrows(() -> {
+            generator.nextLongs(new long[10], 0, 7);
+        }, IllegalArgumentException.class, 
+                "Odd number of longs should be rejected for quadruple");
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    @Test
+    public void testSplit() {
+        System.out.println("split");
+        long seed = RANDOM.nextLong();
+        FloatingPointGenerator generator = new FloatingPointGenerator( 
+                Precision.DOUBLE, SampleDistribution.BIT_PATTERNS, seed);
+        FloatingPointGenerator splitOff = generator.split();
+        assertEquals(splitOff.getPrecision(), Precision.DOUBLE);
+        assertEquals(splitOff.getDistribution(), 
+                SampleDistribution.BIT_PATTERNS);
+        long[] fromParent = new long[100];
+        long[] fromSplitOff = new long[100];
+        generator.nextLongs(fromParent, 0, 100);
+        splitOff.nextLongs(fromSplitOff, 0, 100);
+        assert !Arrays.equals(fromParent, fromSplitOff) 
+                : "Split off generator should give different numbers";
+    }
+    
+    @Test
+    public void testStream() {
+        System.out.println("stream");
+        long size = RANDOM.nextInt(SAMPLE_SIZE) + 1;
+        FloatingPointGenerator generator = new FloatingPointGenerator( 
+                Precision.SINGLE, SampleDistribution.FINITE);
+        assertEquals(generator.stream(size).count(), size);
+    }
+    
+    @Test
+    public void testParallelStream() {
+        long size = SAMPLE_SIZE;
+        FloatingPointGenerator generator = new FloatingPointGenerator( 
+                Precision.HALF, SampleDistribution.BIT_PATTERNS);
+        Set<FloatingPointNumber> numbers = generator.stream(size).parallel() 
+                .collect(Collectors.toSet());
+        String msg = "Expected many distinct numbers, got " + numbers.size();
+        assert numbers.size() > size * 9 / 10 : msg;
+    }
+    
+    @Test
+    public void testStreamRejectsNegativeSize() {
+        long size = -RANDOM.nextInt(Short.MAX_VALUE) - 1;
+        FloatingPointGenerator generator = new FloatingPointGenerator( 
+                Precision.SINGLE, SampleDistribution.FINITE);
+        Throwable t = assertThrows(() -> {
+            generator.stream(size);
+        }, IllegalArgumentException.class, 
+                "Negative size " + size + " should be rejected");
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    @Test
+    public void testConstructorRejectsNull() {
+        Throwable t = assertThrows(() -> {
+            FloatingPointGenerator generator = new FloatingPointGenerator( 
+                    null, SampleDistribution.FINITE);
+            System.out.println("Made generator for " 
+                    + generator.getPrecision());
+        }, NullPointerException.class, "Null precision should be rejected");
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+}
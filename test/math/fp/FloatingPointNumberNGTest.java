@@ -16,12 +16,20 @@
  */
 package math.fp;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Random;
 import java.util.Set;
 
+import math.fractions.BigFraction;
+import math.fractions.Fraction;
+import math.fractions.RationalAccumulator;
+
 import static org.testframe.api.Asserters.assertThrows;
 
 import static org.testng.Assert.*;
@@ -286,15 +294,91 @@ public class FloatingPointNumberNGTest {
         }
     }
     
-    // TODO: Write test for apply half precision
+    @Test
+    public void testApplyHalfPrecision() {
+        short sh = (short) RANDOM.nextInt();
+        byte[] bytes = {(byte) (sh >> 8), (byte) sh};
+        FloatingPointNumber expected = new HalfPrecisionNumber(sh);
+        FloatingPointNumber actual = FloatingPointNumber.apply(bytes);
+        assertEquals(actual, expected);
+    }
     
-    // TODO: Write test for apply single precision
+    @Test
+    public void testApplyDoesNotLeakArrayRef() {
+        byte[] bytes = {0x42, 0x48};
+        FloatingPointNumber expected = FloatingPointNumber.apply(bytes);
+        FloatingPointNumber actual = FloatingPointNumber.apply(bytes);
+        bytes[1] = 0;
+        assertEquals(actual, expected);
+    }
     
-    // TODO: Write test for apply double precision
+    @Test
+    public void testApplySinglePrecision() {
+        byte[] bytes = new byte[4];
+        RANDOM.nextBytes(bytes);
+        FloatingPointNumber actual = FloatingPointNumber.apply(bytes);
+        assert actual instanceof SinglePrecisionNumber 
+                : "Four bytes should give single precision number";
+        assertEquals(actual.getBytes(), bytes);
+    }
     
-    // TODO: Write test for apply quadruple precision
+    @Test
+    public void testApplyDoublePrecision() {
+        byte[] bytes = new byte[8];
+        RANDOM.nextBytes(bytes);
+        FloatingPointNumber actual = FloatingPointNumber.apply(bytes);
+        assert actual instanceof DoublePrecisionNumber 
+                : "Eight bytes should give double precision number";
+        assertEquals(actual.getBytes(), bytes);
+    }
     
-    // TODO: Write test for apply octuple precision
+    @Test
+    public void testApplyQuadruplePrecision() {
+        byte[] bytes = new byte[16];
+        RANDOM.nextBytes(bytes);
+        FloatingPointNumber actual = FloatingPointNumber.apply(bytes);
+        assert actual instanceof QuadruplePrecisionNumber 
+                : "Sixteen bytes should give quadruple precision number";
+        assertEquals(actual.getBytes(), bytes);
+    }
+    
+    @Test
+    public void testApplyOctuplePrecision() {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        FloatingPointNumber actual = FloatingPointNumber.apply(bytes);
+        assert actual instanceof OctuplePrecisionNumber 
+                : "Thirty-two bytes should give octuple precision number";
+        assertEquals(actual.getBytes(), bytes);
+    }
+    
+    @Test
+    public void testApplyRejectsUnsupportedEvenLength() {
+        int[] badLens = {6, 10, 12, 14, 18, 20, 24, 64};
+        for (int badLen : badLens) {
+            byte[] bytes = new byte[badLen];
+            String msg = "apply() should reject byte array of length " + badLen;
+            Throwable t = assertThrows(() -> {
+                FloatingPointNumber badResult = FloatingPointNumber.apply(bytes);
+                System.out.println(msg + ", not given result " 
+                        + badResult.toString());
+            }, IllegalArgumentException.class, msg);
+            String numStr = Integer.toString(badLen);
+            String containsMsg = "Exception message should contain \"" 
+                    + numStr + "\"";
+            assert t.getMessage().contains(numStr) : containsMsg;
+        }
+    }
+    
+    @Test
+    public void testGetPrecision() {
+        System.out.println("getPrecision");
+        for (Precision expected : Precision.values()) {
+            byte[] bytes = new byte[expected.getByteCount()];
+            Precision actual = FloatingPointNumber.apply(bytes).getPrecision();
+            assertEquals(actual, expected);
+        }
+    }
     
     @Test
     public void testMinus() {
@@ -311,6 +395,273 @@ public class FloatingPointNumberNGTest {
         assertEquals(actual, expected, message);
     }
     
+    private static FloatingPointNumber fromDouble(double d) {
+        byte[] bytes = ByteBuffer.allocate(Double.BYTES).putDouble(d).array();
+        return FloatingPointNumber.apply(bytes);
+    }
+    
+    @Test
+    public void testToBigFraction() {
+        System.out.println("toBigFraction");
+        for (int i = 0; i < 1000; i++) {
+            double d = Double.longBitsToDouble(RANDOM.nextLong());
+            if (Double.isFinite(d)) {
+                BigDecimal decimal = new BigDecimal(d);
+                BigInteger unscaled = decimal.unscaledValue();
+                int scale = decimal.scale();
+                BigFraction expected = scale < 0 
+                        ? new BigFraction(unscaled 
+                                .multiply(BigInteger.TEN.pow(-scale))) 
+                        : new BigFraction(unscaled, 
+                                BigInteger.TEN.pow(scale));
+                BigFraction actual = fromDouble(d).toBigFraction();
+                String message = "Exact value of " + d;
+                assertEquals(actual, expected, message);
+            }
+        }
+    }
+    
+    @Test
+    public void testToBigFractionQuarterPrecision() {
+        for (int pattern = 0; pattern < 256; pattern++) {
+            FloatingPointNumber number 
+                    = new QuarterPrecisionNumber((byte) pattern);
+            if (number.isFinite()) {
+                double expected = number.to64BitPrimitive();
+                double actual = number.toBigFraction().numericApproximation();
+                String message = "Exact value of " + number.toString();
+                assertEquals(actual, expected + 0.0, message);
+            }
+        }
+    }
+    
+    @Test
+    public void testToBigFractionRejectsInfinity() {
+        FloatingPointNumber infinity = fromDouble(Double.NEGATIVE_INFINITY);
+        String msg = "Rational value of " + infinity.toString() 
+                + " should cause exception";
+        Throwable t = assertThrows(() -> {
+            BigFraction badResult = infinity.toBigFraction();
+            System.out.println(msg + ", not given result " + badResult);
+        }, ArithmeticException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    @Test
+    public void testFromBigFraction() {
+        System.out.println("fromBigFraction");
+        for (int i = 0; i < 1000; i++) {
+            long numer = RANDOM.nextLong() >> RANDOM.nextInt(64);
+            long denom = (RANDOM.nextLong() >>> RANDOM.nextInt(64)) | 1L;
+            BigFraction fraction = new BigFraction(numer, denom);
+            double expected = fraction.numericApproximation();
+            double actual = FloatingPointNumber.fromBigFraction(fraction, 
+                    Precision.DOUBLE).to64BitPrimitive();
+            String message = "Nearest double to " + fraction.toString();
+            assertEquals(actual, expected, message);
+        }
+    }
+    
+    @Test
+    public void testFromBigFractionHalfPrecision() {
+        byte[][] expected = {{0x35, 0x55}, {0x3C, 0x00}, {0x3C, 0x02}, 
+            {0x7B, (byte) 0xFF}, {0x7C, 0x00}, {(byte) 0x80, 0x01}};
+        BigFraction[] fractions = {new BigFraction(1, 3), 
+            new BigFraction(2049, 2048), new BigFraction(2051, 2048), 
+            new BigFraction(65519, 1), new BigFraction(65520, 1), 
+            new BigFraction(-3, 1L << 26)};
+        for (int i = 0; i < fractions.length; i++) {
+            byte[] actual = FloatingPointNumber.fromBigFraction(fractions[i], 
+                    Precision.HALF).getBytes();
+            String message = "Nearest half precision number to " 
+                    + fractions[i].toString();
+            assertEquals(actual, expected[i], message);
+        }
+    }
+    
+    @Test
+    public void testBigFractionRoundTrip() {
+        for (Precision precision : Precision.values()) {
+            for (int i = 0; i < 100; i++) {
+                byte[] bytes = new byte[precision.getByteCount()];
+                RANDOM.nextBytes(bytes);
+                FloatingPointNumber expected = FloatingPointNumber.apply(bytes);
+                if (expected.isFinite() && !expected.isZero()) {
+                    FloatingPointNumber actual = FloatingPointNumber 
+                            .fromBigFraction(expected.toBigFraction(), 
+                                    precision);
+                    String message = "Round trip of " 
+                            + expected.bitPatternHexadecimal();
+                    assertEquals(actual, expected, message);
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void testToFraction() {
+        System.out.println("toFraction");
+        for (Precision precision : Precision.values()) {
+            for (int i = 0; i < 100; i++) {
+                byte[] bytes = new byte[precision.getByteCount()];
+                RANDOM.nextBytes(bytes);
+                FloatingPointNumber number = FloatingPointNumber.apply(bytes);
+                if (number.isFinite()) {
+                    BigFraction expected = number.toBigFraction();
+                    BigFraction actual = number.toFraction().toBigFraction();
+                    String message = "Exact value of " 
+                            + number.bitPatternHexadecimal();
+                    assertEquals(actual, expected, message);
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void testToFractionQuarterPrecision() {
+        for (int pattern = 0; pattern < 256; pattern++) {
+            FloatingPointNumber number 
+                    = new QuarterPrecisionNumber((byte) pattern);
+            if (number.isFinite()) {
+                double expected = number.to64BitPrimitive();
+                Fraction fraction = number.toFraction();
+                double actual = fraction.numericApproximation();
+                String message = "Exact value of " + number.toString();
+                assertEquals(actual, expected + 0.0, message);
+                assert !fraction.isPromoted() : fraction 
+                        + " should not be promoted";
+            }
+        }
+    }
+    
+    @Test
+    public void testBestApproximation() {
+        System.out.println("bestApproximation");
+        FloatingPointNumber number = new HalfPrecisionNumber((short) 0x3555);
+        Fraction expected = new Fraction(1, 3);
+        Fraction actual = number.bestApproximation(10L);
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testBestApproximationQuarterPrecision() {
+        for (int pattern = 0; pattern < 256; pattern++) {
+            FloatingPointNumber number 
+                    = new QuarterPrecisionNumber((byte) pattern);
+            if (number.isFinite()) {
+                long maxDenominator = RANDOM.nextInt(12) + 1;
+                Fraction expected = Fraction.bestApproximation(number 
+                        .to64BitPrimitive(), maxDenominator);
+                Fraction actual = number.bestApproximation(maxDenominator);
+                String message = "Best approximation of " + number 
+                        + " with denominator at most " + maxDenominator;
+                assertEquals(actual, expected, message);
+            }
+        }
+    }
+    
+    @Test
+    public void testAddTo() {
+        System.out.println("addTo");
+        for (Precision precision : Precision.values()) {
+            RationalAccumulator accumulator = new RationalAccumulator();
+            BigFraction expected = new BigFraction(BigInteger.ZERO);
+            for (int i = 0; i < 100; i++) {
+                byte[] bytes = new byte[precision.getByteCount()];
+                RANDOM.nextBytes(bytes);
+                FloatingPointNumber number = FloatingPointNumber.apply(bytes);
+                if (number.isFinite()) {
+                    number.addTo(accumulator);
+                    expected = expected.plus(number.toBigFraction());
+                }
+            }
+            BigFraction actual = accumulator.toBigFraction();
+            String message = "Sum of random " + precision + " numbers";
+            assertEquals(actual, expected, message);
+        }
+    }
+    
+    @Test
+    public void testAddToRejectsNaN() {
+        RationalAccumulator accumulator = new RationalAccumulator().add(1L);
+        FloatingPointNumber nan = new DoublePrecisionNumber(0x7FF8000000000000L);
+        Throwable t = assertThrows(() -> {
+            nan.addTo(accumulator);
+        }, ArithmeticException.class, "Adding NaN should cause exception");
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+        assertEquals(accumulator.toFraction(), new Fraction(1L), 
+                "Running total should be unchanged");
+    }
+    
+    @Test
+    public void testFromFraction() {
+        System.out.println("fromFraction");
+        Fraction third = new Fraction(1, 3);
+        byte[][] expected = {{0x35, 0x55}, {0x35, 0x56}, {0x35, 0x55}, 
+            {0x35, 0x56}, {0x35, 0x55}, {0x35, 0x55}, {0x35, 0x55}};
+        RoundingMode[] modes = {RoundingMode.FLOOR, RoundingMode.CEILING, 
+            RoundingMode.DOWN, RoundingMode.UP, RoundingMode.HALF_UP, 
+            RoundingMode.HALF_DOWN, RoundingMode.HALF_EVEN};
+        for (int i = 0; i < modes.length; i++) {
+            byte[] actual = FloatingPointNumber.fromFraction(third, 
+                    Precision.HALF, modes[i]).getBytes();
+            String message = "Rounding " + third + " " + modes[i];
+            assertEquals(actual, expected[i], message);
+        }
+    }
+    
+    @Test
+    public void testFromBigFractionDirected() {
+        for (int i = 0; i < 1000; i++) {
+            long numer = RANDOM.nextLong() >> RANDOM.nextInt(64);
+            long denom = (RANDOM.nextLong() >>> RANDOM.nextInt(64)) | 1L;
+            BigFraction fraction = new BigFraction(numer, denom);
+            FloatingPointNumber floor = FloatingPointNumber 
+                    .fromBigFraction(fraction, Precision.DOUBLE, 
+                            RoundingMode.FLOOR);
+            FloatingPointNumber ceiling = FloatingPointNumber 
+                    .fromBigFraction(fraction, Precision.DOUBLE, 
+                            RoundingMode.CEILING);
+            String message = "Rounding " + fraction.toString() 
+                    + " down and up";
+            assert floor.toBigFraction().compareTo(fraction) <= 0 : message;
+            assert ceiling.toBigFraction().compareTo(fraction) >= 0 : message;
+            double down = floor.to64BitPrimitive();
+            double up = ceiling.to64BitPrimitive();
+            if (down != up) {
+                assertEquals(Math.nextUp(down), up, message);
+            }
+        }
+    }
+    
+    @Test
+    public void testFromBigFractionUnnecessary() {
+        BigFraction exact = new BigFraction(-3, 1L << 40);
+        FloatingPointNumber number = FloatingPointNumber 
+                .fromBigFraction(exact, Precision.SINGLE, 
+                        RoundingMode.UNNECESSARY);
+        assertEquals(number.toBigFraction(), exact);
+        BigFraction inexact = new BigFraction(1, 3);
+        String msg = "Representing " + inexact.toString() 
+                + " without rounding should cause exception";
+        Throwable t = assertThrows(() -> {
+            FloatingPointNumber badResult = FloatingPointNumber 
+                    .fromBigFraction(inexact, Precision.SINGLE, 
+                            RoundingMode.UNNECESSARY);
+            System.out.println(msg + ", not given result " + badResult);
+        }, ArithmeticException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
     @Test
     public void testConstructorRejectsEmptyArray() {
         byte[] bytes = {};
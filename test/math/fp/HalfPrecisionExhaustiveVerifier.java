@@ -0,0 +1,338 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BinaryOperator;
+import java.util.function.DoubleBinaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Checks every half precision operand pair for addition, subtraction, 
+ * multiplication and division, and every half precision value for conversions, 
+ * against a reference oracle. This takes too long to be part of the regular 
+ * test suite. Run it with the <code>verify-half-exhaustive</code> Ant target or 
+ * directly from the command line.
+ * <p>The oracle converts the operands to <code>double</code>, which can 
+ * represent every half precision value exactly, performs the operation in 
+ * hardware and rounds the result to half precision, ties to even. Since 
+ * <code>double</code> has more than twice as many mantissa bits as half 
+ * precision plus two, the double rounding can't change the result of any of 
+ * the four basic operations. The oracle deliberately doesn't use any of the 
+ * half precision functions under test.</p>
+ * <p>Results are compared bit for bit, except that when the oracle gives NaN, 
+ * any NaN is accepted, since IEEE-754 doesn't require any particular NaN 
+ * payload.</p>
+ * <p>Command line arguments: any of "plus", "minus", "times", "divides" and 
+ * "conversions" to check just those, all of them if none are given; and 
+ * "--stride" followed by a number <i>n</i> to only check first operands that 
+ * are multiples of <i>n</i>, for a quicker sample run.</p>
+ * @author Alonso del Arte
+ */
+public class HalfPrecisionExhaustiveVerifier {
+    
+    private static final int PATTERN_COUNT = 1 << 16;
+    
+    private static final int MAX_REPORTED_MISMATCHES = 8;
+    
+    private static final HalfPrecisionNumber[] NUMBERS 
+            = new HalfPrecisionNumber[PATTERN_COUNT];
+    
+    private static final double[] VALUES = new double[PATTERN_COUNT];
+    
+    static {
+        for (int i = 0; i < PATTERN_COUNT; i++) {
+            NUMBERS[i] = new HalfPrecisionNumber((short) i);
+            VALUES[i] = halfToDouble((short) i);
+        }
+    }
+    
+    /**
+     * Converts a half precision bit pattern to the exactly equal 
+     * <code>double</code>.
+     * @param bits The bit pattern. For example, 0x3E00.
+     * @return The <code>double</code>. For example, 1.5.
+     */
+    static double halfToDouble(short bits) {
+        int exponent = (bits >> 10) & 31;
+        int mantissa = bits & 1023;
+        double magnitude;
+        if (exponent == 31) {
+            magnitude = (mantissa == 0) ? Double.POSITIVE_INFINITY 
+                    : Double.NaN;
+        } else if (exponent == 0) {
+            magnitude = Math.scalb((double) mantissa, -24);
+        } else {
+            magnitude = Math.scalb((double) (1024 + mantissa), exponent - 25);
+        }
+        return (bits < 0) ? -magnitude : magnitude;
+    }
+    
+    /**
+     * Rounds a <code>double</code> to the nearest value of a narrower format, 
+     * ties to even.
+     * @param value The number to round. For example, 1.4.
+     * @param exponentBits How many exponent bits the narrower format has. For 
+     * example, 5 for half precision.
+     * @param mantissaBits How many explicit mantissa bits the narrower format 
+     * has. For example, 10 for half precision.
+     * @return The bit pattern of the rounded number, in the lower bits. For 
+     * example, 0x3D9A. NaN is rounded to the quiet NaN with no other 
+     * mantissa bits set.
+     */
+    static int roundToFormat(double value, int exponentBits, 
+            int mantissaBits) {
+        int infinity = ((1 << exponentBits) - 1) << mantissaBits;
+        int signBit = 1 << (exponentBits + mantissaBits);
+        if (Double.isNaN(value)) {
+            return infinity | (1 << (mantissaBits - 1));
+        }
+        int sign = (Math.copySign(1.0, value) < 0.0) ? signBit : 0;
+        double magnitude = Math.abs(value);
+        int bias = (1 << (exponentBits - 1)) - 1;
+        int minExponent = 1 - bias;
+        if (Double.isInfinite(magnitude)) {
+            return sign | infinity;
+        }
+        if (magnitude < Math.scalb(1.0, minExponent)) {
+            double scaled = Math.rint(Math.scalb(magnitude, 
+                    mantissaBits - minExponent));
+            return sign | (int) scaled;
+        }
+        int exponent = Math.getExponent(magnitude);
+        double scaled = Math.rint(Math.scalb(magnitude, 
+                mantissaBits - exponent));
+        int significand = (int) scaled;
+        if (significand == (2 << mantissaBits)) {
+            significand >>= 1;
+            exponent++;
+        }
+        if (exponent > bias) {
+            return sign | infinity;
+        }
+        int exponentField = (exponent + bias) << mantissaBits;
+        return sign | exponentField | (significand - (1 << mantissaBits));
+    }
+    
+    static short doubleToHalf(double value) {
+        return (short) roundToFormat(value, 5, 10);
+    }
+    
+    static byte doubleToQuarter(double value) {
+        return (byte) roundToFormat(value, 4, 3);
+    }
+    
+    /**
+     * Tallies the mismatches for one operation or conversion.
+     */
+    private static class Tally {
+
+        private final String name;
+
+        private final LongAdder checked = new LongAdder();
+
+        private final LongAdder mismatched = new LongAdder();
+
+        private final AtomicInteger reported = new AtomicInteger();
+
+        private final Queue<String> examples = new ConcurrentLinkedQueue<>();
+
+        void record(boolean matched, String description) {
+            this.checked.increment();
+            if (!matched) {
+                this.mismatched.increment();
+                if (this.reported.getAndIncrement() 
+                        < MAX_REPORTED_MISMATCHES) {
+                    this.examples.add(description);
+                }
+            }
+        }
+
+        long mismatchCount() {
+            return this.mismatched.sum();
+        }
+
+        void report() {
+            System.out.println(this.name + ": " + this.checked.sum() 
+                    + " checked, " + this.mismatched.sum() + " mismatched");
+            for (String example : this.examples) {
+                System.out.println("    " + example);
+            }
+        }
+
+        Tally(String name) {
+            this.name = name;
+        }
+
+    }
+    
+    private static String hex(int bits) {
+        return String.format("%04X", bits & 0xFFFF);
+    }
+    
+    private static boolean matches(FloatingPointNumber actual, short expected) {
+        if (!(actual instanceof HalfPrecisionNumber)) {
+            return false;
+        }
+        if ((expected & Short.MAX_VALUE) > 31744) {
+            return actual.isNaN();
+        }
+        return actual.equals(NUMBERS[expected & 0xFFFF]);
+    }
+    
+    private static void verifyOperation(String name, 
+            BinaryOperator<FloatingPointNumber> operation, 
+            DoubleBinaryOperator oracle, int stride, Tally tally) {
+        AtomicInteger rowsDone = new AtomicInteger();
+        int rowCount = (PATTERN_COUNT + stride - 1) / stride;
+        IntStream.range(0, rowCount).parallel().forEach(row -> {
+            int a = row * stride;
+            HalfPrecisionNumber first = NUMBERS[a];
+            double firstValue = VALUES[a];
+            for (int b = 0; b < PATTERN_COUNT; b++) {
+                short expected = doubleToHalf(oracle 
+                        .applyAsDouble(firstValue, VALUES[b]));
+                FloatingPointNumber actual;
+                boolean matched;
+                String description;
+                try {
+                    actual = operation.apply(first, NUMBERS[b]);
+                    matched = matches(actual, expected);
+                    description = matched ? "" : name + "(" + hex(a) + ", " 
+                            + hex(b) + ") gave " 
+                            + actual.bitPatternHexadecimal() + ", expected " 
+                            + hex(expected);
+                } catch (RuntimeException re) {
+                    matched = false;
+                    description = name + "(" + hex(a) + ", " + hex(b) 
+                            + ") threw " + re;
+                }
+                tally.record(matched, description);
+            }
+            int done = rowsDone.incrementAndGet();
+            if (done % 4096 == 0) {
+                System.out.println(name + ": " + done + " of " + rowCount 
+                        + " first operands done");
+            }
+        });
+    }
+    
+    private static void verifyConversions(Tally tally) {
+        IntStream.range(0, PATTERN_COUNT).parallel().forEach(i -> {
+            HalfPrecisionNumber number = NUMBERS[i];
+            double expected = VALUES[i];
+            boolean nan = Double.isNaN(expected);
+            String prefix = "Conversion of " + hex(i);
+            double asDouble = number.to64BitPrimitive();
+            boolean matched = nan ? Double.isNaN(asDouble) 
+                    : Double.doubleToLongBits(asDouble) 
+                    == Double.doubleToLongBits(expected);
+            tally.record(matched, prefix + " to double gave " + asDouble);
+            float asFloat = number.to32BitPrimitive();
+            matched = nan ? Float.isNaN(asFloat) 
+                    : Float.floatToIntBits(asFloat) 
+                    == Float.floatToIntBits((float) expected);
+            tally.record(matched, prefix + " to float gave " + asFloat);
+            byte expectedQuarter = doubleToQuarter(expected);
+            QuarterPrecisionNumber quarter = number.toQuarterPrecision();
+            matched = nan ? quarter.isNaN() : quarter
+                    .equals(new QuarterPrecisionNumber(expectedQuarter));
+            tally.record(matched, prefix + " to quarter gave " 
+                    + quarter.bitPatternHexadecimal() + ", expected " 
+                    + String.format("%02X", expectedQuarter & 0xFF));
+            FloatingPointNumber single = number.toSinglePrecision();
+            byte[] singleBytes = single.getBytes();
+            int expectedBits = Float.floatToRawIntBits((float) expected);
+            matched = nan ? single.isNaN() : singleBytes.length == 4 
+                    && bigEndianInt(singleBytes) == expectedBits;
+            tally.record(matched, prefix + " to single gave " 
+                    + single.bitPatternHexadecimal());
+        });
+    }
+    
+    private static int bigEndianInt(byte[] bytes) {
+        int result = 0;
+        for (byte b : bytes) {
+            result = (result << 8) | (b & 255);
+        }
+        return result;
+    }
+    
+    /**
+     * Runs the verification.
+     * @param args The command line arguments, as described in the class 
+     * documentation. For example, "times", "--stride", "64".
+     */
+    public static void main(String[] args) {
+        List<String> requested = new ArrayList<>();
+        int stride = 1;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--stride") && i + 1 < args.length) {
+                stride = Integer.parseInt(args[++i]);
+            } else if (!args[i].isBlank()) {
+                requested.add(args[i]);
+            }
+        }
+        if (requested.isEmpty()) {
+            requested = List.of("plus", "minus", "times", "divides", 
+                    "conversions");
+        }
+        System.out.println("Verifying " + requested + " on " 
+                + Runtime.getRuntime().availableProcessors() + " processors");
+        long start = System.nanoTime();
+        List<Tally> tallies = new ArrayList<>();
+        for (String name : requested) {
+            Tally tally = new Tally(name);
+            tallies.add(tally);
+            switch (name) {
+                case "plus" -> verifyOperation(name, FloatingPointNumber::plus, 
+                        (x, y) -> x + y, stride, tally);
+                case "minus" -> verifyOperation(name, 
+                        FloatingPointNumber::minus, (x, y) -> x - y, stride, 
+                        tally);
+                case "times" -> verifyOperation(name, 
+                        FloatingPointNumber::times, (x, y) -> x * y, stride, 
+                        tally);
+                case "divides" -> verifyOperation(name, 
+                        FloatingPointNumber::divides, (x, y) -> x / y, stride, 
+                        tally);
+                case "conversions" -> verifyConversions(tally);
+                default -> {
+                    String excMsg = "Unrecognized operation \"" + name + "\"";
+                    throw new IllegalArgumentException(excMsg);
+                }
+            }
+        }
+        long mismatches = 0L;
+        for (Tally tally : tallies) {
+            tally.report();
+            mismatches += tally.mismatchCount();
+        }
+        long seconds = (System.nanoTime() - start) / 1_000_000_000L;
+        System.out.println("Finished in " + seconds + " seconds with " 
+                + mismatches + " mismatches");
+        if (mismatches > 0L) {
+            System.exit(1);
+        }
+    }
+    
+}
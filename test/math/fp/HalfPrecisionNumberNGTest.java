@@ -2035,31 +2035,51 @@ public class HalfPrecisionNumberNGTest {
     }
 
     /**
-     * Test of to32BitPrimitive method, of class HalfPrecisionNumber.
+     * Test of the to32BitPrimitive function, of the HalfPrecisionNumber class. 
+     * Every half precision number that is not NaN can be represented exactly 
+     * as a <code>float</code>.
      */
-//    @Test
+    @Test
     public void testTo32BitPrimitive() {
         System.out.println("to32BitPrimitive");
-        HalfPrecisionNumber instance = null;
-        float expResult = 0.0F;
-        float result = instance.to32BitPrimitive();
-        assertEquals(result, expResult, 0.0);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        for (int i = Short.MIN_VALUE; i <= Short.MAX_VALUE; i++) {
+            HalfPrecisionNumber number = new HalfPrecisionNumber((short) i);
+            float actual = number.to32BitPrimitive();
+            if (number.isNaN()) {
+                String msg = "Bit pattern " + Integer.toHexString(i & 65535) 
+                        + " should convert to NaN";
+                assert Float.isNaN(actual) : msg;
+            } else {
+                float expected = Float.parseFloat(number.toString()
+                        .replace(MINUS_SIGN, '-'));
+                assertEquals(Float.floatToIntBits(actual), 
+                        Float.floatToIntBits(expected));
+            }
+        }
     }
 
     /**
-     * Test of to64BitPrimitive method, of class HalfPrecisionNumber.
+     * Test of the to64BitPrimitive function, of the HalfPrecisionNumber class. 
+     * Every half precision number that is not NaN can be represented exactly 
+     * as a <code>double</code>.
      */
-//    @Test
+    @Test
     public void testTo64BitPrimitive() {
         System.out.println("to64BitPrimitive");
-        HalfPrecisionNumber instance = null;
-        double expResult = 0.0;
-        double result = instance.to64BitPrimitive();
-        assertEquals(result, expResult, 0.0);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        for (int i = Short.MIN_VALUE; i <= Short.MAX_VALUE; i++) {
+            HalfPrecisionNumber number = new HalfPrecisionNumber((short) i);
+            double actual = number.to64BitPrimitive();
+            if (number.isNaN()) {
+                String msg = "Bit pattern " + Integer.toHexString(i & 65535) 
+                        + " should convert to NaN";
+                assert Double.isNaN(actual) : msg;
+            } else {
+                double expected = Double.parseDouble(number.toString()
+                        .replace(MINUS_SIGN, '-'));
+                assertEquals(Double.doubleToLongBits(actual), 
+                        Double.doubleToLongBits(expected));
+            }
+        }
     }
 
     /**
@@ -2104,59 +2124,85 @@ public class HalfPrecisionNumberNGTest {
     }
 
     /**
-     * Test of toSinglePrecision method, of class HalfPrecisionNumber.
+     * Test of the toSinglePrecision function, of the HalfPrecisionNumber class.
      */
-//    @Test
+    @Test
     public void testToSinglePrecision() {
         System.out.println("toSinglePrecision");
-        HalfPrecisionNumber instance = null;
-        SinglePrecisionNumber expResult = null;
-        SinglePrecisionNumber result = instance.toSinglePrecision();
-        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        for (int i = Short.MIN_VALUE; i <= Short.MAX_VALUE; i++) {
+            HalfPrecisionNumber number = new HalfPrecisionNumber((short) i);
+            SinglePrecisionNumber actual = number.toSinglePrecision();
+            if (number.isNaN()) {
+                int expected = (i & 1023) << 13;
+                int bits = Integer.parseUnsignedInt(actual
+                        .bitPatternHexadecimal(), 16);
+                assertEquals(bits & 0x007FFFFF, expected);
+                assertEquals(actual.isSignalingNaN(), (i & 512) == 0);
+            } else {
+                SinglePrecisionNumber expected = SinglePrecisionNumber
+                        .fromPrimitive(number.to32BitPrimitive());
+                assertEquals(actual, expected);
+            }
+        }
     }
 
     /**
-     * Test of toDoublePrecision method, of class HalfPrecisionNumber.
+     * Test of the toDoublePrecision function, of the HalfPrecisionNumber class.
      */
-//    @Test
+    @Test
     public void testToDoublePrecision() {
         System.out.println("toDoublePrecision");
-        HalfPrecisionNumber instance = null;
-        DoublePrecisionNumber expResult = null;
-        DoublePrecisionNumber result = instance.toDoublePrecision();
-        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        for (int i = Short.MIN_VALUE; i <= Short.MAX_VALUE; i++) {
+            HalfPrecisionNumber number = new HalfPrecisionNumber((short) i);
+            DoublePrecisionNumber actual = number.toDoublePrecision();
+            if (number.isNaN()) {
+                String msg = "Widened NaN should keep signaling bit";
+                assert actual.isSignalingNaN() == ((i & 512) == 0) : msg;
+                assertEquals(actual.toHalfPrecision(), number);
+            } else {
+                DoublePrecisionNumber expected = DoublePrecisionNumber
+                        .fromPrimitive(number.to64BitPrimitive());
+                assertEquals(actual, expected);
+            }
+        }
     }
 
     /**
      * Test of toQuadruplePrecision method, of class HalfPrecisionNumber.
      */
-//    @Test
+    @Test
     public void testToQuadruplePrecision() {
         System.out.println("toQuadruplePrecision");
-        HalfPrecisionNumber instance = null;
-        QuadruplePrecisionNumber expResult = null;
-        QuadruplePrecisionNumber result = instance.toQuadruplePrecision();
-        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        for (int i = Short.MIN_VALUE; i <= Short.MAX_VALUE; i++) {
+            HalfPrecisionNumber number = new HalfPrecisionNumber((short) i);
+            QuadruplePrecisionNumber actual = number.toQuadruplePrecision();
+            if (number.isNaN()) {
+                String msg = "Widened NaN should keep signaling bit";
+                assert actual.isSignalingNaN() == ((i & 512) == 0) : msg;
+                assertEquals(actual.toHalfPrecision(), number);
+            } else {
+                long bits = Double.doubleToLongBits(number.to64BitPrimitive());
+                QuadruplePrecisionNumber expected 
+                        = QuadruplePrecisionNumberNGTest.fromDoubleBits(bits);
+                assertEquals(actual, expected);
+            }
+        }
     }
 
     /**
      * Test of toOctuplePrecision method, of class HalfPrecisionNumber.
      */
-//    @Test
+    @Test
     public void testToOctuplePrecision() {
         System.out.println("toOctuplePrecision");
-        HalfPrecisionNumber instance = null;
-        OctuplePrecisionNumber expResult = null;
-        OctuplePrecisionNumber result = instance.toOctuplePrecision();
-        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        for (int i = Short.MIN_VALUE; i <= Short.MAX_VALUE; i++) {
+            HalfPrecisionNumber number = new HalfPrecisionNumber((short) i);
+            byte[] expected 
+                    = number.toQuadruplePrecision().toOctuplePrecision()
+                            .getBytes();
+            byte[] actual = number.toOctuplePrecision().getBytes();
+            assertEquals(actual, expected);
+        }
     }
 
     /**
@@ -0,0 +1,588 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fp;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+
+import static math.fp.FloatingPointNumberNGTest.RANDOM;
+
+import static org.testframe.api.Asserters.assertThrows;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the Interval class.
+ * @author Alonso del Arte
+ */
+public class IntervalNGTest {
+    
+    private static final double[] FINITE_QUARTERS = finiteQuarters();
+    
+    private static double[] finiteQuarters() {
+        double[] values = new double[256];
+        int count = 0;
+        for (int i = Byte.MIN_VALUE; i < 128; i++) {
+            double d = new QuarterPrecisionNumber((byte) i).to64BitPrimitive();
+            if (Double.isFinite(d) && !(d == 0.0 && i < 0)) {
+                values[count++] = d;
+            }
+        }
+        values = Arrays.copyOf(values, count);
+        Arrays.sort(values);
+        return values;
+    }
+    
+    private static QuarterPrecisionNumber quarter(int i) {
+        return new QuarterPrecisionNumber((byte) i);
+    }
+    
+    private static Interval point(double d) {
+        return new Interval(DoublePrecisionNumber.fromPrimitive(d));
+    }
+    
+    private static Interval interval(double lower, double upper) {
+        return new Interval(DoublePrecisionNumber.fromPrimitive(lower), 
+                DoublePrecisionNumber.fromPrimitive(upper));
+    }
+    
+    /**
+     * Asserts that an interval with quarter precision endpoints is the 
+     * tightest such interval containing a given number. If the number is 
+     * beyond the largest finite quarter precision number, the interval 
+     * should reach out to infinity. The sign of zero endpoints doesn't 
+     * matter.
+     */
+    private static void assertTightQuarterBounds(Interval interval, 
+            double exact, String message) {
+        int index = Arrays.binarySearch(FINITE_QUARTERS, exact + 0.0);
+        double expectedLower;
+        double expectedUpper;
+        if (index >= 0) {
+            expectedLower = FINITE_QUARTERS[index];
+            expectedUpper = FINITE_QUARTERS[index];
+        } else {
+            int insertion = -index - 1;
+            expectedLower = (insertion == 0) ? Double.NEGATIVE_INFINITY 
+                    : FINITE_QUARTERS[insertion - 1];
+            expectedUpper = (insertion == FINITE_QUARTERS.length) 
+                    ? Double.POSITIVE_INFINITY : FINITE_QUARTERS[insertion];
+        }
+        double lower = interval.getLowerBound().to64BitPrimitive() + 0.0;
+        double upper = interval.getUpperBound().to64BitPrimitive() + 0.0;
+        assertEquals(lower, expectedLower, message);
+        assertEquals(upper, expectedUpper, message);
+    }
+    
+    /**
+     * Asserts that an interval with double precision endpoints is the 
+     * tightest such interval containing a given exact number.
+     */
+    private static void assertTightDoubleBounds(Interval interval, 
+            BigDecimal exact, String message) {
+        double lower = interval.getLowerBound().to64BitPrimitive();
+        double upper = interval.getUpperBound().to64BitPrimitive();
+        assert new BigDecimal(lower).compareTo(exact) <= 0 
+                : message + " lower bound " + lower + " too high";
+        assert new BigDecimal(upper).compareTo(exact) >= 0 
+                : message + " upper bound " + upper + " too low";
+        assert new BigDecimal(Math.nextUp(lower)).compareTo(exact) > 0 
+                : message + " lower bound " + lower + " not tight";
+        assert new BigDecimal(Math.nextDown(upper)).compareTo(exact) < 0 
+                : message + " upper bound " + upper + " not tight";
+        if (lower == upper) {
+            assertEquals(new BigDecimal(lower).compareTo(exact), 0, message);
+        }
+    }
+    
+    private static double chooseDouble() {
+        return (RANDOM.nextDouble() - 0.5) 
+                * Math.pow(2.0, RANDOM.nextInt(400) - 200);
+    }
+    
+    /**
+     * Test of getLowerBound, getUpperBound and getPrecision methods, of 
+     * class Interval.
+     */
+    @Test
+    public void testGetters() {
+        System.out.println("getLowerBound, getUpperBound, getPrecision");
+        HalfPrecisionNumber lower 
+                = new HalfPrecisionNumber((short) 0x3C00);
+        HalfPrecisionNumber upper 
+                = new HalfPrecisionNumber((short) 0x3E00);
+        Interval instance = new Interval(lower, upper);
+        assertEquals(instance.getLowerBound(), lower);
+        assertEquals(instance.getUpperBound(), upper);
+        assertEquals(instance.getPrecision(), Precision.HALF);
+    }
+    
+    @Test
+    public void testConstructorRejectsNaN() {
+        QuarterPrecisionNumber nan = quarter(0x79);
+        QuarterPrecisionNumber one = quarter(0x38);
+        String msg = "Should not have been able to use NaN as endpoint";
+        assertThrows(() -> {
+            Interval badInterval = new Interval(nan, one);
+            System.out.println(msg + ", created " + badInterval.toString());
+        }, IllegalArgumentException.class, msg);
+        assertThrows(() -> {
+            Interval badInterval = new Interval(nan);
+            System.out.println(msg + ", created " + badInterval.toString());
+        }, IllegalArgumentException.class, msg);
+    }
+    
+    @Test
+    public void testConstructorRejectsReversedEndpoints() {
+        String msg = "Lower endpoint should not be allowed above upper";
+        assertThrows(() -> {
+            Interval badInterval = interval(2.0, 1.0);
+            System.out.println(msg + ", created " + badInterval.toString());
+        }, IllegalArgumentException.class, msg);
+        assertThrows(() -> {
+            Interval badInterval = point(Double.POSITIVE_INFINITY);
+            System.out.println(msg + ", created " + badInterval.toString());
+        }, IllegalArgumentException.class, msg);
+    }
+    
+    @Test
+    public void testConstructorRejectsMixedFormats() {
+        FloatingPointNumber lower = SinglePrecisionNumber.fromPrimitive(1.0f);
+        FloatingPointNumber upper = DoublePrecisionNumber.fromPrimitive(2.0);
+        String msg = "Endpoints of different formats should be rejected";
+        assertThrows(() -> {
+            Interval badInterval = new Interval(lower, upper);
+            System.out.println(msg + ", created " + badInterval.toString());
+        }, IllegalArgumentException.class, msg);
+    }
+    
+    @Test
+    public void testNegativeZeroAndZeroMakeValidInterval() {
+        Interval instance = interval(0.0, -0.0);
+        assert instance.contains(DoublePrecisionNumber.fromPrimitive(0.0)) 
+                : instance + " should contain 0.0";
+    }
+    
+    /**
+     * Test of contains method, of class Interval.
+     */
+    @Test
+    public void testContains() {
+        System.out.println("contains");
+        Interval instance = interval(-1.0, 1.5);
+        assert instance.contains(DoublePrecisionNumber.fromPrimitive(-1.0)) 
+                : "Lower endpoint should be contained";
+        assert instance.contains(DoublePrecisionNumber.fromPrimitive(1.5)) 
+                : "Upper endpoint should be contained";
+        assert !instance.contains(DoublePrecisionNumber 
+                .fromPrimitive(Math.nextUp(1.5))) 
+                : "Number beyond upper endpoint should not be contained";
+        assert !instance.contains(DoublePrecisionNumber 
+                .fromPrimitive(Double.NaN)) : "NaN should not be contained";
+        assert instance.contains(interval(0.0, 1.0)) 
+                : "Subinterval should be contained";
+        assert !instance.contains(interval(0.0, 2.0)) 
+                : "Overlapping interval should not be contained";
+    }
+    
+    @Test
+    public void testContainsRejectsOtherFormat() {
+        Interval instance = interval(-1.0, 1.5);
+        FloatingPointNumber number = SinglePrecisionNumber.fromPrimitive(1.0f);
+        String msg = "Should not have compared " + number + " to " + instance;
+        assertThrows(() -> {
+            boolean result = instance.contains(number);
+            System.out.println(msg + ", got result " + result);
+        }, IllegalArgumentException.class, msg);
+    }
+    
+    /**
+     * Test of width method, of class Interval.
+     */
+    @Test
+    public void testWidth() {
+        System.out.println("width");
+        Interval instance = interval(1.0, 1.5);
+        assertEquals(instance.width(), DoublePrecisionNumber.fromPrimitive(0.5));
+        Interval wide = interval(-Math.ulp(1.0) / 4, 1.0);
+        double expected = Math.nextUp(1.0);
+        assertEquals(wide.width().to64BitPrimitive(), expected);
+    }
+    
+    /**
+     * Test of plus method, of class Interval. This checks every pair of 
+     * finite quarter precision numbers.
+     */
+    @Test
+    public void testPlus() {
+        System.out.println("plus");
+        for (int i = Byte.MIN_VALUE; i < 128; i++) {
+            QuarterPrecisionNumber a = quarter(i);
+            if (!a.isFinite()) {
+                continue;
+            }
+            Interval augend = new Interval(a);
+            for (int j = Byte.MIN_VALUE; j < 128; j++) {
+                QuarterPrecisionNumber b = quarter(j);
+                if (!b.isFinite()) {
+                    continue;
+                }
+                double exact = a.to64BitPrimitive() + b.to64BitPrimitive();
+                Interval actual = augend.plus(new Interval(b));
+                String message = "Adding " + a + " and " + b;
+                assertTightQuarterBounds(actual, exact, message);
+            }
+        }
+    }
+    
+    @Test
+    public void testPlusDoublePrecision() {
+        for (int n = 0; n < 1000; n++) {
+            double a = chooseDouble();
+            double b = chooseDouble();
+            BigDecimal exact = new BigDecimal(a).add(new BigDecimal(b));
+            Interval actual = point(a).plus(point(b));
+            String message = "Adding " + a + " and " + b;
+            assertTightDoubleBounds(actual, exact, message);
+        }
+    }
+    
+    @Test
+    public void testPlusOverflow() {
+        Interval max = point(Double.MAX_VALUE);
+        Interval expected = interval(Double.MAX_VALUE, 
+                Double.POSITIVE_INFINITY);
+        assertEquals(max.plus(max), expected);
+    }
+    
+    @Test
+    public void testPlusInfiniteEndpoints() {
+        Interval instance = interval(Double.NEGATIVE_INFINITY, 1.0);
+        Interval addend = interval(2.0, Double.POSITIVE_INFINITY);
+        Interval expected = interval(Double.NEGATIVE_INFINITY, 
+                Double.POSITIVE_INFINITY);
+        assertEquals(instance.plus(addend), expected);
+    }
+    
+    @Test
+    public void testPlusRejectsOtherFormat() {
+        Interval instance = interval(1.0, 2.0);
+        Interval addend 
+                = new Interval(SinglePrecisionNumber.fromPrimitive(1.0f));
+        String msg = "Should not have added " + addend + " to " + instance;
+        assertThrows(() -> {
+            Interval result = instance.plus(addend);
+            System.out.println(msg + ", got result " + result);
+        }, IllegalArgumentException.class, msg);
+    }
+    
+    /**
+     * Test of negate method, of class Interval.
+     */
+    @Test
+    public void testNegate() {
+        System.out.println("negate");
+        Interval instance = interval(-1.0, 1.5);
+        Interval expected = interval(-1.5, 1.0);
+        assertEquals(instance.negate(), expected);
+    }
+    
+    /**
+     * Test of minus method, of class Interval.
+     */
+    @Test
+    public void testMinus() {
+        System.out.println("minus");
+        Interval instance = interval(1.0, 1.5);
+        Interval subtrahend = interval(0.25, 0.5);
+        Interval expected = interval(0.5, 1.25);
+        assertEquals(instance.minus(subtrahend), expected);
+    }
+    
+    @Test
+    public void testMinusContainsZeroForSameInterval() {
+        for (int n = 0; n < 100; n++) {
+            double a = chooseDouble();
+            double b = chooseDouble();
+            Interval instance = interval(Math.min(a, b), Math.max(a, b));
+            Interval difference = instance.minus(instance);
+            assert difference.contains(DoublePrecisionNumber 
+                    .fromPrimitive(0.0)) : difference + " should contain 0";
+        }
+    }
+    
+    /**
+     * Test of times method, of class Interval. This checks every pair of 
+     * finite quarter precision numbers.
+     */
+    @Test
+    public void testTimes() {
+        System.out.println("times");
+        for (int i = Byte.MIN_VALUE; i < 128; i++) {
+            QuarterPrecisionNumber a = quarter(i);
+            if (!a.isFinite()) {
+                continue;
+            }
+            Interval multiplier = new Interval(a);
+            for (int j = Byte.MIN_VALUE; j < 128; j++) {
+                QuarterPrecisionNumber b = quarter(j);
+                if (!b.isFinite()) {
+                    continue;
+                }
+                double exact = a.to64BitPrimitive() * b.to64BitPrimitive();
+                Interval actual = multiplier.times(new Interval(b));
+                String message = "Multiplying " + a + " by " + b;
+                assertTightQuarterBounds(actual, exact, message);
+            }
+        }
+    }
+    
+    @Test
+    public void testTimesDoublePrecision() {
+        for (int n = 0; n < 1000; n++) {
+            double a = chooseDouble();
+            double b = chooseDouble();
+            BigDecimal exact = new BigDecimal(a).multiply(new BigDecimal(b));
+            Interval actual = point(a).times(point(b));
+            String message = "Multiplying " + a + " by " + b;
+            assertTightDoubleBounds(actual, exact, message);
+        }
+    }
+    
+    @Test
+    public void testTimesSinglePrecision() {
+        for (int n = 0; n < 1000; n++) {
+            float a = (float) ((RANDOM.nextDouble() - 0.5) 
+                    * Math.pow(2.0, RANDOM.nextInt(200) - 100));
+            float b = RANDOM.nextFloat() - 0.5f;
+            double product = (double) a * b;
+            Interval actual 
+                    = new Interval(SinglePrecisionNumber.fromPrimitive(a)) 
+                            .times(new Interval(SinglePrecisionNumber 
+                                    .fromPrimitive(b)));
+            float lower = actual.getLowerBound().to32BitPrimitive();
+            float upper = actual.getUpperBound().to32BitPrimitive();
+            String message = "Multiplying " + a + " by " + b;
+            assert lower <= product && Math.nextUp(lower) > product : message;
+            assert upper >= product && Math.nextDown(upper) < product 
+                    || upper == product : message;
+        }
+    }
+    
+    @Test
+    public void testTimesSubnormalResult() {
+        Interval instance = point(Double.MIN_VALUE);
+        Interval multiplicand = interval(0.5, 0.75);
+        Interval expected = interval(0.0, Double.MIN_VALUE);
+        assertEquals(instance.times(multiplicand), expected);
+    }
+    
+    @Test
+    public void testTimesMixedSigns() {
+        Interval instance = interval(1.0, 1.5);
+        Interval multiplicand = interval(-2.0, 0.5);
+        Interval expected = interval(-3.0, 0.75);
+        assertEquals(instance.times(multiplicand), expected);
+    }
+    
+    @Test
+    public void testZeroTimesInfiniteEndpointIsZero() {
+        Interval instance = point(0.0);
+        Interval multiplicand = interval(1.0, Double.POSITIVE_INFINITY);
+        Interval actual = instance.times(multiplicand);
+        assert actual.getLowerBound().isZero() : actual + " should be zero";
+        assert actual.getUpperBound().isZero() : actual + " should be zero";
+    }
+    
+    /**
+     * Test of reciprocal method, of class Interval.
+     */
+    @Test
+    public void testReciprocal() {
+        System.out.println("reciprocal");
+        Interval instance = interval(2.0, 4.0);
+        Interval expected = interval(0.25, 0.5);
+        assertEquals(instance.reciprocal(), expected);
+        Interval third = point(3.0).reciprocal();
+        assertTightDoubleBounds(third, BigDecimal.ONE.divide(BigDecimal 
+                .valueOf(3), MathContext.DECIMAL128), "Reciprocal of 3");
+    }
+    
+    @Test
+    public void testReciprocalOfIntervalContainingZero() {
+        Interval instance = interval(-1.0, 1.0);
+        Interval expected = interval(Double.NEGATIVE_INFINITY, 
+                Double.POSITIVE_INFINITY);
+        assertEquals(instance.reciprocal(), expected);
+    }
+    
+    /**
+     * Test of divides method, of class Interval. This checks every pair of 
+     * finite quarter precision numbers with nonzero divisor.
+     */
+    @Test
+    public void testDivides() {
+        System.out.println("divides");
+        for (int i = Byte.MIN_VALUE; i < 128; i++) {
+            QuarterPrecisionNumber a = quarter(i);
+            if (!a.isFinite()) {
+                continue;
+            }
+            Interval dividend = new Interval(a);
+            for (int j = Byte.MIN_VALUE; j < 128; j++) {
+                QuarterPrecisionNumber b = quarter(j);
+                if (!b.isFinite() || b.isZero()) {
+                    continue;
+                }
+                double exact = a.to64BitPrimitive() / b.to64BitPrimitive();
+                Interval actual = dividend.divides(new Interval(b));
+                String message = "Dividing " + a + " by " + b;
+                double lower = actual.getLowerBound().to64BitPrimitive();
+                double upper = actual.getUpperBound().to64BitPrimitive();
+                assert lower * b.to64BitPrimitive() <= a.to64BitPrimitive() 
+                        || b.to64BitPrimitive() < 0.0 : message;
+                if (exact * b.to64BitPrimitive() == a.to64BitPrimitive()) {
+                    assertTightQuarterBounds(actual, exact, message);
+                } else {
+                    assert lower < upper : message;
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void testDividesDoublePrecision() {
+        for (int n = 0; n < 1000; n++) {
+            double a = chooseDouble();
+            double b = chooseDouble();
+            Interval actual = point(a).divides(point(b));
+            BigDecimal dividend = new BigDecimal(a);
+            BigDecimal divisor = new BigDecimal(b);
+            BigDecimal lowerProduct = new BigDecimal(actual.getLowerBound() 
+                    .to64BitPrimitive()).multiply(divisor);
+            BigDecimal upperProduct = new BigDecimal(actual.getUpperBound() 
+                    .to64BitPrimitive()).multiply(divisor);
+            String message = "Dividing " + a + " by " + b + " gave " 
+                    + actual;
+            if (b > 0.0) {
+                assert lowerProduct.compareTo(dividend) <= 0 : message;
+                assert upperProduct.compareTo(dividend) >= 0 : message;
+            } else {
+                assert lowerProduct.compareTo(dividend) >= 0 : message;
+                assert upperProduct.compareTo(dividend) <= 0 : message;
+            }
+            double lower = actual.getLowerBound().to64BitPrimitive();
+            double upper = actual.getUpperBound().to64BitPrimitive();
+            assert upper == lower || upper == Math.nextUp(lower) : message;
+        }
+    }
+    
+    @Test
+    public void testDividesUnbounded() {
+        Interval instance = interval(1.0, Double.POSITIVE_INFINITY);
+        Interval expected = interval(0.0, Double.POSITIVE_INFINITY);
+        assertEquals(instance.divides(instance), expected);
+    }
+    
+    /**
+     * Test of plus, times and divides methods, of class Interval, for 
+     * quadruple precision endpoints.
+     */
+    @Test
+    public void testQuadruplePrecisionOperations() {
+        QuadruplePrecisionNumber one 
+                = QuadruplePrecisionNumber.fromPrimitive(1.0);
+        QuadruplePrecisionNumber three 
+                = QuadruplePrecisionNumber.fromPrimitive(3.0);
+        Interval third = new Interval(one).divides(new Interval(three));
+        QuadruplePrecisionNumber nearest = one.divides(three);
+        assert third.contains(nearest) : third + " should contain " + nearest;
+        assert !third.getLowerBound().equals(third.getUpperBound()) 
+                : "Bounds of 1/3 should differ";
+        Interval product = third.times(new Interval(three));
+        assert product.contains(one) : product + " should contain 1";
+        Interval sum = third.plus(third).plus(third);
+        assert sum.contains(one) : sum + " should contain 1";
+        Interval tiny = new Interval(new QuadruplePrecisionNumber(0L, 1L));
+        Interval almostOne = new Interval(one).minus(tiny);
+        assertEquals(almostOne.getUpperBound(), one);
+        assertEquals(almostOne.getLowerBound(), 
+                new QuadruplePrecisionNumber(0x3FFEFFFFFFFFFFFFL, -1L));
+    }
+    
+    /**
+     * Test of plus method, of class Interval, for octuple precision 
+     * endpoints.
+     */
+    @Test
+    public void testOctuplePrecisionPlus() {
+        byte[] oneBytes = new byte[32];
+        oneBytes[0] = 0x3F;
+        oneBytes[1] = (byte) 0xFF;
+        oneBytes[2] = (byte) 0xF0;
+        FloatingPointNumber one = FloatingPointNumber.apply(oneBytes);
+        byte[] tinyBytes = new byte[32];
+        tinyBytes[31] = 1;
+        FloatingPointNumber tiny = FloatingPointNumber.apply(tinyBytes);
+        Interval actual = new Interval(one).plus(new Interval(tiny));
+        assertEquals(actual.getLowerBound(), one);
+        byte[] expected = oneBytes.clone();
+        expected[31] = 1;
+        assertEquals(actual.getUpperBound().getBytes(), expected);
+    }
+    
+    /**
+     * Test of equals method, of class Interval.
+     */
+    @Test
+    public void testEquals() {
+        System.out.println("equals");
+        Interval someInterval = interval(1.0, 1.5);
+        Interval sameInterval = interval(1.0, 1.5);
+        assertEquals(sameInterval, someInterval);
+        Interval otherInterval = interval(1.0, 2.0);
+        assertNotEquals(otherInterval, someInterval);
+        Interval signedZero = interval(-0.0, 1.0);
+        assertNotEquals(signedZero, interval(0.0, 1.0));
+    }
+    
+    /**
+     * Test of hashCode method, of class Interval.
+     */
+    @Test
+    public void testHashCode() {
+        System.out.println("hashCode");
+        Interval someInterval = interval(1.0, 1.5);
+        Interval sameInterval = interval(1.0, 1.5);
+        assertEquals(sameInterval.hashCode(), someInterval.hashCode());
+    }
+    
+    /**
+     * Test of toString method, of class Interval.
+     */
+    @Test
+    public void testToString() {
+        System.out.println("toString");
+        Interval instance = interval(1.0, 1.5);
+        String expected = "[1.0, 1.5]";
+        String actual = instance.toString();
+        assertEquals(actual, expected);
+    }
+    
+}
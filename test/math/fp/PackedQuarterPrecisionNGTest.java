@@ -0,0 +1,271 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fp;
+
+import java.util.function.LongUnaryOperator;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+import static math.fp.FloatingPointNumberNGTest.RANDOM;
+
+import static org.testframe.api.Asserters.assertThrows;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the PackedQuarterPrecision class. The masks are checked lane by 
+ * lane against the predicates of QuarterPrecisionNumber, on words made up of 
+ * random bit patterns and on words covering all 256 bit patterns.
+ * @author Alonso del Arte
+ */
+public class PackedQuarterPrecisionNGTest {
+    
+    private static final long EXAMPLE = 0x807F78433C080100L;
+    
+    /**
+     * Words that between them have every bit pattern in every lane, followed 
+     * by random words.
+     */
+    private static long[] makeWords() {
+        long[] words = new long[256 + 1000];
+        for (int i = 0; i < 256; i++) {
+            long word = 0L;
+            for (int lane = 0; lane < 8; lane++) {
+                word |= (long) ((i + 37 * lane) & 0xFF) << (8 * lane);
+            }
+            words[i] = word;
+        }
+        for (int j = 256; j < words.length; j++) {
+            words[j] = RANDOM.nextLong();
+        }
+        return words;
+    }
+    
+    private static QuarterPrecisionNumber lane(long word, int lane) {
+        return new QuarterPrecisionNumber((byte) (word >> (8 * lane)));
+    }
+    
+    private static void assertMask(LongUnaryOperator function, 
+            Predicate<QuarterPrecisionNumber> predicate, String name) {
+        for (long word : makeWords()) {
+            long mask = function.applyAsLong(word);
+            for (int lane = 0; lane < 8; lane++) {
+                QuarterPrecisionNumber number = lane(word, lane);
+                int expected = predicate.test(number) ? 0xFF : 0;
+                int actual = (int) (mask >>> (8 * lane)) & 0xFF;
+                String msg = name + " of " + number + " (bit pattern " 
+                        + number.bitPatternHexadecimal() + ") in lane " 
+                        + lane + " of " + Long.toHexString(word);
+                assertEquals(actual, expected, msg);
+            }
+        }
+    }
+    
+    private static void assertCount(ToIntFunction<Long> function, 
+            Predicate<QuarterPrecisionNumber> predicate, String name) {
+        for (long word : makeWords()) {
+            int expected = 0;
+            for (int lane = 0; lane < 8; lane++) {
+                if (predicate.test(lane(word, lane))) {
+                    expected++;
+                }
+            }
+            int actual = function.applyAsInt(word);
+            String msg = name + " of " + Long.toHexString(word);
+            assertEquals(actual, expected, msg);
+        }
+    }
+    
+    /**
+     * Test of the negate function, of the PackedQuarterPrecision class.
+     */
+    @Test
+    public void testNegate() {
+        System.out.println("negate");
+        assertEquals(PackedQuarterPrecision.negate(EXAMPLE), 
+                0x00FFF8C3BC888180L);
+        for (long word : makeWords()) {
+            long negated = PackedQuarterPrecision.negate(word);
+            for (int lane = 0; lane < 8; lane++) {
+                QuarterPrecisionNumber expected = lane(word, lane).negate();
+                QuarterPrecisionNumber actual = lane(negated, lane);
+                String msg = "Negating lane " + lane + " of " 
+                        + Long.toHexString(word);
+                assertEquals(actual, expected, msg);
+            }
+        }
+    }
+    
+    /**
+     * Test of the abs function, of the PackedQuarterPrecision class. NaNs 
+     * should keep their payloads.
+     */
+    @Test
+    public void testAbs() {
+        System.out.println("abs");
+        long expected = 0x007F78433C080100L;
+        long actual = PackedQuarterPrecision.abs(0x00FFF8C3BC888180L);
+        assertEquals(actual, expected);
+        for (long word : makeWords()) {
+            long absolute = PackedQuarterPrecision.abs(word);
+            for (int lane = 0; lane < 8; lane++) {
+                QuarterPrecisionNumber number = lane(word, lane);
+                QuarterPrecisionNumber absLane = lane(absolute, lane);
+                String msg = "Absolute value of " + number + " (bit pattern " 
+                        + number.bitPatternHexadecimal() + ")";
+                if (number.isNaN()) {
+                    assert absLane.isNaN() : msg + " should be NaN";
+                    assertEquals(absLane.componentBytes[0] & 7, 
+                            number.componentBytes[0] & 7, msg);
+                } else {
+                    double expLane = Math.abs(number.to64BitPrimitive());
+                    assertEquals(Double.doubleToLongBits(absLane 
+                            .to64BitPrimitive()), 
+                            Double.doubleToLongBits(expLane), msg);
+                }
+                assertEquals(absolute & 0x8080808080808080L, 0L, msg);
+            }
+        }
+    }
+    
+    /**
+     * Test of the isNaN function, of the PackedQuarterPrecision class.
+     */
+    @Test
+    public void testIsNaN() {
+        System.out.println("isNaN");
+        assertEquals(PackedQuarterPrecision.isNaN(EXAMPLE), 
+                0x00FF000000000000L);
+        assertMask(PackedQuarterPrecision::isNaN, 
+                QuarterPrecisionNumber::isNaN, "isNaN");
+    }
+    
+    /**
+     * Test of the isInfinite function, of the PackedQuarterPrecision class.
+     */
+    @Test
+    public void testIsInfinite() {
+        System.out.println("isInfinite");
+        assertEquals(PackedQuarterPrecision.isInfinite(EXAMPLE), 
+                0x0000FF0000000000L);
+        assertMask(PackedQuarterPrecision::isInfinite, 
+                QuarterPrecisionNumber::isInfinite, "isInfinite");
+    }
+    
+    /**
+     * Test of the isZero function, of the PackedQuarterPrecision class.
+     */
+    @Test
+    public void testIsZero() {
+        System.out.println("isZero");
+        assertEquals(PackedQuarterPrecision.isZero(EXAMPLE), 
+                0xFF000000000000FFL);
+        assertMask(PackedQuarterPrecision::isZero, 
+                QuarterPrecisionNumber::isZero, "isZero");
+    }
+    
+    /**
+     * Test of the isSubnormal function, of the PackedQuarterPrecision class.
+     */
+    @Test
+    public void testIsSubnormal() {
+        System.out.println("isSubnormal");
+        assertEquals(PackedQuarterPrecision.isSubnormal(EXAMPLE), 
+                0xFF0000000000FFFFL);
+        assertMask(PackedQuarterPrecision::isSubnormal, 
+                QuarterPrecisionNumber::isSubnormal, "isSubnormal");
+    }
+    
+    /**
+     * Test of the countNaNs function, of the PackedQuarterPrecision class.
+     */
+    @Test
+    public void testCountNaNs() {
+        System.out.println("countNaNs");
+        assertEquals(PackedQuarterPrecision.countNaNs(EXAMPLE), 1);
+        assertCount(PackedQuarterPrecision::countNaNs, 
+                QuarterPrecisionNumber::isNaN, "countNaNs");
+    }
+    
+    /**
+     * Test of the countNegatives function, of the PackedQuarterPrecision 
+     * class.
+     */
+    @Test
+    public void testCountNegatives() {
+        System.out.println("countNegatives");
+        assertEquals(PackedQuarterPrecision.countNegatives(EXAMPLE), 1);
+        assertCount(PackedQuarterPrecision::countNegatives, 
+                number -> number.componentBytes[0] < 0, "countNegatives");
+    }
+    
+    private static byte[] makeBitPatterns(int length) {
+        byte[] bitPatterns = new byte[length];
+        RANDOM.nextBytes(bitPatterns);
+        return bitPatterns;
+    }
+    
+    @Test
+    public void testCountNaNsInArray() {
+        byte[] bitPatterns = makeBitPatterns(RANDOM.nextInt(1000) + 100);
+        int offset = RANDOM.nextInt(8);
+        int length = bitPatterns.length - offset - RANDOM.nextInt(8);
+        long expected = 0L;
+        for (int i = offset; i < offset + length; i++) {
+            if (new QuarterPrecisionNumber(bitPatterns[i]).isNaN()) {
+                expected++;
+            }
+        }
+        long actual = PackedQuarterPrecision.countNaNs(bitPatterns, offset, 
+                length);
+        String msg = "Counting NaNs in " + length + " bit patterns from " 
+                + offset;
+        assertEquals(actual, expected, msg);
+    }
+    
+    @Test
+    public void testCountNegativesInArray() {
+        byte[] bitPatterns = {0, -127, 8, -68, 67, -8, -1, -128, -3, 5, -20};
+        assertEquals(PackedQuarterPrecision.countNegatives(bitPatterns, 0, 8), 
+                5L);
+        assertEquals(PackedQuarterPrecision.countNegatives(bitPatterns, 0, 
+                bitPatterns.length), 7L);
+        assertEquals(PackedQuarterPrecision.countNegatives(bitPatterns, 3, 
+                8), 6L);
+        assertEquals(PackedQuarterPrecision.countNegatives(bitPatterns, 5, 
+                0), 0L);
+    }
+    
+    @Test
+    public void testCountNaNsRejectsBadRange() {
+        byte[] bitPatterns = new byte[16];
+        int offset = RANDOM.nextInt(8) + 1;
+        String msg = "Offset " + offset + " and length 16 should have caused " 
+                + "an exception";
+        Throwable t = assertThrows(() -> {
+            long badCount = PackedQuarterPrecision.countNaNs(bitPatterns, 
+                    offset, 16);
+            System.out.println(msg + ", not given result " + badCount);
+        }, IndexOutOfBoundsException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fp;
+
+import static math.fp.FloatingPointNumberNGTest.RANDOM;
+
+import static org.testframe.api.Asserters.assertThrows;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the Precision enumerated type.
+ * @author Alonso del Arte
+ */
+public class PrecisionNGTest {
+    
+    @Test
+    public void testGetByteCount() {
+        System.out.println("getByteCount");
+        int expected = 1;
+        for (Precision precision : Precision.values()) {
+            int actual = precision.getByteCount();
+            String message = "Reckoning byte count for " + precision;
+            assertEquals(actual, expected, message);
+            expected <<= 1;
+        }
+    }
+    
+    @Test
+    public void testGetBitCount() {
+        System.out.println("getBitCount");
+        for (Precision precision : Precision.values()) {
+            int expected = 8 * precision.getByteCount();
+            int actual = precision.getBitCount();
+            String message = "Reckoning bit count for " + precision;
+            assertEquals(actual, expected, message);
+        }
+    }
+    
+    @Test
+    public void testGetExponentBitCount() {
+        System.out.println("getExponentBitCount");
+        int[] expecteds = {4, 5, 8, 11, 15, 19};
+        Precision[] precisions = Precision.values();
+        for (int i = 0; i < expecteds.length; i++) {
+            int actual = precisions[i].getExponentBitCount();
+            String message = "Reckoning exponent bit count for " 
+                    + precisions[i];
+            assertEquals(actual, expecteds[i], message);
+        }
+    }
+    
+    @Test
+    public void testBitCountsAddUp() {
+        for (Precision precision : Precision.values()) {
+            int expected = precision.getBitCount();
+            int actual = 1 + precision.getExponentBitCount() 
+                    + precision.getMantissaBitCount();
+            String message = "Sign, exponent and mantissa bits of " + precision 
+                    + " should add up to " + expected;
+            assertEquals(actual, expected, message);
+        }
+    }
+    
+    @Test
+    public void testGetExponentBias() {
+        System.out.println("getExponentBias");
+        assertEquals(Precision.QUARTER.getExponentBias(), 7);
+        assertEquals(Precision.HALF.getExponentBias(), 15);
+        assertEquals(Precision.SINGLE.getExponentBias(), 127);
+        assertEquals(Precision.DOUBLE.getExponentBias(), 1023);
+        assertEquals(Precision.QUADRUPLE.getExponentBias(), 16383);
+        assertEquals(Precision.OCTUPLE.getExponentBias(), 262143);
+    }
+    
+    /**
+     * Test of the roundFromDoubleBits function, of the Precision enum. For 
+     * single precision, the result should match the processor's conversion 
+     * from <code>double</code> to <code>float</code>.
+     */
+    @Test
+    public void testRoundFromDoubleBits() {
+        System.out.println("roundFromDoubleBits");
+        for (int n = 0; n < 10000; n++) {
+            long bits = RANDOM.nextLong();
+            double d = Double.longBitsToDouble(bits);
+            if (!Double.isNaN(d)) {
+                int expected = Float.floatToIntBits((float) d);
+                int actual = (int) Precision.SINGLE.roundFromDoubleBits(bits);
+                String message = "Rounding " + d + " to single precision";
+                assertEquals(actual, expected, message);
+            }
+        }
+    }
+    
+    @Test
+    public void testRoundFromDoubleBitsHalfPrecision() {
+        double[] numbers = {1.0, -2.0, 1.00048828125, 1.00146484375, 65504.0, 
+            65519.99, 65520.0, 0x1.0p-24, 0x1.8p-25, 0x1.0p-25, 0.0, 
+            Double.NEGATIVE_INFINITY};
+        long[] expecteds = {0x3C00, 0xC000, 0x3C00, 0x3C02, 0x7BFF, 0x7BFF, 
+            0x7C00, 0x0001, 0x0001, 0x0000, 0x0000, 0xFC00};
+        for (int i = 0; i < numbers.length; i++) {
+            long bits = Double.doubleToLongBits(numbers[i]);
+            long actual = Precision.HALF.roundFromDoubleBits(bits);
+            String message = "Rounding " + numbers[i] + " to half precision";
+            assertEquals(actual, expecteds[i], message);
+        }
+    }
+    
+    @Test
+    public void testRoundFromDoubleBitsKeepsNaNKind() {
+        long signaling = 0x7FF0000000000001L;
+        long quiet = 0xFFF8000000000000L;
+        for (Precision precision : Precision.values()) {
+            if (precision.getByteCount() <= Double.BYTES) {
+                int m = precision.getMantissaBitCount();
+                long quietBit = 1L << (m - 1);
+                long signalingResult = precision.roundFromDoubleBits(signaling);
+                long quietResult = precision.roundFromDoubleBits(quiet);
+                String msg = "Signaling NaN should stay signaling for " 
+                        + precision;
+                assert (signalingResult & quietBit) == 0L : msg;
+                assert (signalingResult & (quietBit - 1)) != 0L : msg;
+                msg = "Quiet NaN should stay quiet for " + precision;
+                assert (quietResult & quietBit) != 0L : msg;
+                long signBit = 1L << (precision.getBitCount() - 1);
+                assertEquals(quietResult & signBit, signBit);
+            }
+        }
+    }
+    
+    @Test
+    public void testForByteCount() {
+        System.out.println("forByteCount");
+        for (Precision expected : Precision.values()) {
+            Precision actual 
+                    = Precision.forByteCount(expected.getByteCount());
+            assertEquals(actual, expected);
+        }
+    }
+    
+    @Test
+    public void testForByteCountRejectsUnsupportedCount() {
+        int badCount = 2 * RANDOM.nextInt(1, 8) + 1;
+        String msg = "Byte count " + badCount + " should cause exception";
+        Throwable t = assertThrows(() -> {
+            Precision badPrecision = Precision.forByteCount(badCount);
+            System.out.println(msg + ", not given result " + badPrecision);
+        }, IllegalArgumentException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Message should not be null";
+        String numStr = Integer.toString(badCount);
+        String containsMsg = "Exception message should contain \"" + numStr 
+                + "\"";
+        assert excMsg.contains(numStr) : containsMsg;
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+}
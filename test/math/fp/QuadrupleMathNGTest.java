@@ -0,0 +1,409 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fp;
+
+import java.math.BigDecimal;
+
+import static math.fp.FloatingPointNumberNGTest.RANDOM;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the QuadrupleMath class. The expected values of the known 
+ * constants are given to 40 significant digits, which is more than enough to 
+ * pin down the correctly rounded quadruple precision number.
+ * @author Alonso del Arte
+ */
+public class QuadrupleMathNGTest {
+    
+    private static final QuadruplePrecisionNumber ONE 
+            = QuadruplePrecisionNumber.fromPrimitive(1.0);
+    
+    private static final QuadruplePrecisionNumber POSITIVE_ZERO 
+            = QuadruplePrecisionNumber.fromPrimitive(0.0);
+    
+    private static final QuadruplePrecisionNumber NEGATIVE_ZERO 
+            = QuadruplePrecisionNumber.fromPrimitive(-0.0);
+    
+    private static final QuadruplePrecisionNumber POSITIVE_INFINITY 
+            = QuadruplePrecisionNumber.fromPrimitive(Double.POSITIVE_INFINITY);
+    
+    private static final QuadruplePrecisionNumber NEGATIVE_INFINITY 
+            = QuadruplePrecisionNumber.fromPrimitive(Double.NEGATIVE_INFINITY);
+    
+    private static final QuadruplePrecisionNumber SIGNALING_NAN 
+            = new QuadruplePrecisionNumber(0x7FFF000000000000L, 7L);
+    
+    private static QuadruplePrecisionNumber parse(String s) {
+        return QuadruplePrecisionNumber.fromBigDecimal(new BigDecimal(s));
+    }
+    
+    /**
+     * Asserts that a quadruple precision result agrees with the result of a 
+     * function of <code>java.lang.Math</code> to within a given number of 
+     * units in the last place of double precision. Most functions of 
+     * <code>java.lang.Math</code> are only guaranteed to be within one unit 
+     * in the last place, the hyperbolic functions within two and a half.
+     */
+    private static void assertCloseToDouble(QuadruplePrecisionNumber actual, 
+            double expected, double ulps, String message) {
+        double result = actual.to64BitPrimitive();
+        double tolerance = ulps * Math.ulp(expected);
+        assertEquals(result, expected, tolerance, message);
+    }
+    
+    private static void assertCloseToDouble(QuadruplePrecisionNumber actual, 
+            double expected, String message) {
+        assertCloseToDouble(actual, expected, 1.0, message);
+    }
+    
+    /**
+     * Test of sqrt method, of class QuadrupleMath.
+     */
+    @Test
+    public void testSqrt() {
+        System.out.println("sqrt");
+        QuadruplePrecisionNumber two 
+                = QuadruplePrecisionNumber.fromPrimitive(2.0);
+        QuadruplePrecisionNumber expected 
+                = parse("1.414213562373095048801688724209698078570");
+        assertEquals(QuadrupleMath.sqrt(two), expected);
+    }
+    
+    @Test
+    public void testSqrtOfSquareIsExact() {
+        for (int n = 0; n < 200; n++) {
+            QuadruplePrecisionNumber root = QuadruplePrecisionNumber 
+                    .fromPrimitive(RANDOM.nextDouble() * 1000.0);
+            QuadruplePrecisionNumber square = root.times(root);
+            String message = "Square root of " + square;
+            assertEquals(QuadrupleMath.sqrt(square), root, message);
+        }
+    }
+    
+    @Test
+    public void testSqrtSpecialCases() {
+        assertEquals(QuadrupleMath.sqrt(NEGATIVE_ZERO), NEGATIVE_ZERO);
+        assertEquals(QuadrupleMath.sqrt(POSITIVE_INFINITY), POSITIVE_INFINITY);
+        assert QuadrupleMath.sqrt(ONE.negate()).isQuietNaN() 
+                : "Square root of -1 should be NaN";
+        assertEquals(QuadrupleMath.sqrt(SIGNALING_NAN), SIGNALING_NAN);
+    }
+    
+    /**
+     * Test of exp method, of class QuadrupleMath.
+     */
+    @Test
+    public void testExp() {
+        System.out.println("exp");
+        QuadruplePrecisionNumber expected 
+                = parse("2.718281828459045235360287471352662497757");
+        assertEquals(QuadrupleMath.exp(ONE), expected);
+        assertEquals(QuadrupleMath.exp(POSITIVE_ZERO), ONE);
+    }
+    
+    @Test
+    public void testExpAgreesWithMath() {
+        for (int n = 0; n < 200; n++) {
+            double x = (RANDOM.nextDouble() - 0.5) * 1400.0;
+            QuadruplePrecisionNumber actual = QuadrupleMath 
+                    .exp(QuadruplePrecisionNumber.fromPrimitive(x));
+            assertCloseToDouble(actual, Math.exp(x), "exp(" + x + ")");
+        }
+    }
+    
+    @Test
+    public void testExpSpecialCases() {
+        assertEquals(QuadrupleMath.exp(POSITIVE_INFINITY), POSITIVE_INFINITY);
+        assertEquals(QuadrupleMath.exp(NEGATIVE_INFINITY), POSITIVE_ZERO);
+        QuadruplePrecisionNumber large 
+                = QuadruplePrecisionNumber.fromPrimitive(12000.0);
+        assertEquals(QuadrupleMath.exp(large), POSITIVE_INFINITY);
+        assertEquals(QuadrupleMath.exp(large.negate()), POSITIVE_ZERO);
+        assertEquals(QuadrupleMath.exp(SIGNALING_NAN), SIGNALING_NAN);
+    }
+    
+    /**
+     * Test of log method, of class QuadrupleMath.
+     */
+    @Test
+    public void testLog() {
+        System.out.println("log");
+        QuadruplePrecisionNumber ten 
+                = QuadruplePrecisionNumber.fromPrimitive(10.0);
+        QuadruplePrecisionNumber expected 
+                = parse("2.302585092994045684017991454684364207601");
+        assertEquals(QuadrupleMath.log(ten), expected);
+        assertEquals(QuadrupleMath.log(ONE), POSITIVE_ZERO);
+    }
+    
+    @Test
+    public void testLogAgreesWithMath() {
+        for (int n = 0; n < 200; n++) {
+            double x = Math.scalb(RANDOM.nextDouble() + 0.001, 
+                    RANDOM.nextInt(2000) - 1000);
+            QuadruplePrecisionNumber actual = QuadrupleMath 
+                    .log(QuadruplePrecisionNumber.fromPrimitive(x));
+            assertCloseToDouble(actual, Math.log(x), "log(" + x + ")");
+        }
+    }
+    
+    @Test
+    public void testLogInvertsExp() {
+        for (int n = 0; n < 100; n++) {
+            QuadruplePrecisionNumber x = QuadruplePrecisionNumber 
+                    .fromPrimitive((RANDOM.nextDouble() - 0.5) * 100.0);
+            QuadruplePrecisionNumber roundTrip 
+                    = QuadrupleMath.log(QuadrupleMath.exp(x));
+            double difference 
+                    = roundTrip.minus(x).to64BitPrimitive();
+            String message = "log(exp(" + x + ")) should be close to " + x;
+            assert Math.abs(difference) <= Math.scalb(Math.abs(x 
+                    .to64BitPrimitive()) + 1.0, -110) : message;
+        }
+    }
+    
+    @Test
+    public void testLogSpecialCases() {
+        assertEquals(QuadrupleMath.log(POSITIVE_ZERO), NEGATIVE_INFINITY);
+        assertEquals(QuadrupleMath.log(NEGATIVE_ZERO), NEGATIVE_INFINITY);
+        assertEquals(QuadrupleMath.log(POSITIVE_INFINITY), POSITIVE_INFINITY);
+        assert QuadrupleMath.log(ONE.negate()).isQuietNaN() 
+                : "Logarithm of -1 should be NaN";
+        assertEquals(QuadrupleMath.log(SIGNALING_NAN), SIGNALING_NAN);
+    }
+    
+    /**
+     * Test of pow method, of class QuadrupleMath.
+     */
+    @Test
+    public void testPow() {
+        System.out.println("pow");
+        QuadruplePrecisionNumber two 
+                = QuadruplePrecisionNumber.fromPrimitive(2.0);
+        QuadruplePrecisionNumber half 
+                = QuadruplePrecisionNumber.fromPrimitive(0.5);
+        assertEquals(QuadrupleMath.pow(two, half), QuadrupleMath.sqrt(two));
+        QuadruplePrecisionNumber three 
+                = QuadruplePrecisionNumber.fromPrimitive(3.0);
+        QuadruplePrecisionNumber forty 
+                = QuadruplePrecisionNumber.fromPrimitive(40.0);
+        QuadruplePrecisionNumber expected = parse("12157665459056928801");
+        assertEquals(QuadrupleMath.pow(three, forty), expected);
+    }
+    
+    @Test
+    public void testPowAgreesWithMath() {
+        for (int n = 0; n < 200; n++) {
+            double x = RANDOM.nextDouble() * 100.0;
+            double y = (RANDOM.nextDouble() - 0.5) * 60.0;
+            QuadruplePrecisionNumber actual = QuadrupleMath 
+                    .pow(QuadruplePrecisionNumber.fromPrimitive(x), 
+                            QuadruplePrecisionNumber.fromPrimitive(y));
+            String message = x + " to the power " + y;
+            assertCloseToDouble(actual, Math.pow(x, y), message);
+        }
+    }
+    
+    @Test
+    public void testPowSpecialCases() {
+        assertEquals(QuadrupleMath.pow(SIGNALING_NAN, NEGATIVE_ZERO), ONE);
+        QuadruplePrecisionNumber x = QuadruplePrecisionNumber 
+                .fromPrimitive(RANDOM.nextDouble());
+        assertEquals(QuadrupleMath.pow(x, ONE), x);
+        QuadruplePrecisionNumber half 
+                = QuadruplePrecisionNumber.fromPrimitive(0.5);
+        assert QuadrupleMath.pow(ONE.negate().minus(x), half).isQuietNaN() 
+                : "Negative base to power 1/2 should be NaN";
+        QuadruplePrecisionNumber minusTwo 
+                = QuadruplePrecisionNumber.fromPrimitive(-2.0);
+        QuadruplePrecisionNumber three 
+                = QuadruplePrecisionNumber.fromPrimitive(3.0);
+        assertEquals(QuadrupleMath.pow(minusTwo, three), 
+                QuadruplePrecisionNumber.fromPrimitive(-8.0));
+        assertEquals(QuadrupleMath.pow(NEGATIVE_ZERO, three.negate()), 
+                NEGATIVE_INFINITY);
+    }
+    
+    /**
+     * Test of sin method, of class QuadrupleMath.
+     */
+    @Test
+    public void testSin() {
+        System.out.println("sin");
+        QuadruplePrecisionNumber expected 
+                = parse("0.8414709848078965066525023216302989996226");
+        assertEquals(QuadrupleMath.sin(ONE), expected);
+    }
+    
+    @Test
+    public void testSinAgreesWithMath() {
+        for (int n = 0; n < 200; n++) {
+            double x = (RANDOM.nextDouble() - 0.5) * 200.0;
+            QuadruplePrecisionNumber actual = QuadrupleMath 
+                    .sin(QuadruplePrecisionNumber.fromPrimitive(x));
+            assertCloseToDouble(actual, Math.sin(x), "sin(" + x + ")");
+        }
+    }
+    
+    /**
+     * Test of sin method, of class QuadrupleMath. The sine of a huge number 
+     * should be worked out with the argument reduced exactly. The number 
+     * 10<sup>22</sup> can be represented exactly in double precision, and 
+     * its sine is known to be &minus;0.852200849767188801772...
+     */
+    @Test
+    public void testSinOfHugeArgument() {
+        QuadruplePrecisionNumber x 
+                = QuadruplePrecisionNumber.fromPrimitive(1.0E22);
+        QuadruplePrecisionNumber expected 
+                = parse("-0.8522008497671888017727058937530293682618");
+        assertEquals(QuadrupleMath.sin(x), expected);
+    }
+    
+    @Test
+    public void testSinSpecialCases() {
+        assertEquals(QuadrupleMath.sin(NEGATIVE_ZERO), NEGATIVE_ZERO);
+        assert QuadrupleMath.sin(POSITIVE_INFINITY).isQuietNaN() 
+                : "Sine of infinity should be NaN";
+        assertEquals(QuadrupleMath.sin(SIGNALING_NAN), SIGNALING_NAN);
+    }
+    
+    /**
+     * Test of cos method, of class QuadrupleMath.
+     */
+    @Test
+    public void testCos() {
+        System.out.println("cos");
+        QuadruplePrecisionNumber expected 
+                = parse("0.5403023058681397174009366074429766037323");
+        assertEquals(QuadrupleMath.cos(ONE), expected);
+        assertEquals(QuadrupleMath.cos(NEGATIVE_ZERO), ONE);
+    }
+    
+    @Test
+    public void testCosAgreesWithMath() {
+        for (int n = 0; n < 200; n++) {
+            double x = (RANDOM.nextDouble() - 0.5) * 200.0;
+            QuadruplePrecisionNumber actual = QuadrupleMath 
+                    .cos(QuadruplePrecisionNumber.fromPrimitive(x));
+            assertCloseToDouble(actual, Math.cos(x), "cos(" + x + ")");
+        }
+    }
+    
+    /**
+     * Test of atan method, of class QuadrupleMath.
+     */
+    @Test
+    public void testAtan() {
+        System.out.println("atan");
+        QuadruplePrecisionNumber expected 
+                = parse("0.7853981633974483096156608458198757210493");
+        assertEquals(QuadrupleMath.atan(ONE), expected);
+        QuadruplePrecisionNumber halfPi 
+                = parse("1.570796326794896619231321691639751442099");
+        assertEquals(QuadrupleMath.atan(POSITIVE_INFINITY), halfPi);
+        assertEquals(QuadrupleMath.atan(NEGATIVE_INFINITY), halfPi.negate());
+    }
+    
+    @Test
+    public void testAtanAgreesWithMath() {
+        for (int n = 0; n < 200; n++) {
+            double x = Math.scalb(RANDOM.nextDouble() - 0.5, 
+                    RANDOM.nextInt(40) - 20);
+            QuadruplePrecisionNumber actual = QuadrupleMath 
+                    .atan(QuadruplePrecisionNumber.fromPrimitive(x));
+            assertCloseToDouble(actual, Math.atan(x), "atan(" + x + ")");
+        }
+    }
+    
+    /**
+     * Test of sinh method, of class QuadrupleMath.
+     */
+    @Test
+    public void testSinh() {
+        System.out.println("sinh");
+        QuadruplePrecisionNumber expected 
+                = parse("1.175201193643801456882381850595600815156");
+        assertEquals(QuadrupleMath.sinh(ONE), expected);
+        assertEquals(QuadrupleMath.sinh(NEGATIVE_INFINITY), NEGATIVE_INFINITY);
+        assertEquals(QuadrupleMath.sinh(NEGATIVE_ZERO), NEGATIVE_ZERO);
+    }
+    
+    @Test
+    public void testSinhAgreesWithMath() {
+        for (int n = 0; n < 200; n++) {
+            double x = (RANDOM.nextDouble() - 0.5) * 100.0;
+            QuadruplePrecisionNumber actual = QuadrupleMath 
+                    .sinh(QuadruplePrecisionNumber.fromPrimitive(x));
+            assertCloseToDouble(actual, Math.sinh(x), 2.5, 
+                    "sinh(" + x + ")");
+        }
+    }
+    
+    /**
+     * Test of cosh method, of class QuadrupleMath.
+     */
+    @Test
+    public void testCosh() {
+        System.out.println("cosh");
+        QuadruplePrecisionNumber expected 
+                = parse("1.543080634815243778477905620757061682602");
+        assertEquals(QuadrupleMath.cosh(ONE), expected);
+        assertEquals(QuadrupleMath.cosh(NEGATIVE_INFINITY), POSITIVE_INFINITY);
+        assertEquals(QuadrupleMath.cosh(NEGATIVE_ZERO), ONE);
+    }
+    
+    @Test
+    public void testCoshAgreesWithMath() {
+        for (int n = 0; n < 200; n++) {
+            double x = (RANDOM.nextDouble() - 0.5) * 100.0;
+            QuadruplePrecisionNumber actual = QuadrupleMath 
+                    .cosh(QuadruplePrecisionNumber.fromPrimitive(x));
+            assertCloseToDouble(actual, Math.cosh(x), 2.5, 
+                    "cosh(" + x + ")");
+        }
+    }
+    
+    /**
+     * Test of tanh method, of class QuadrupleMath.
+     */
+    @Test
+    public void testTanh() {
+        System.out.println("tanh");
+        QuadruplePrecisionNumber expected 
+                = parse("0.7615941559557648881194582826047935904128");
+        assertEquals(QuadrupleMath.tanh(ONE), expected);
+        assertEquals(QuadrupleMath.tanh(NEGATIVE_INFINITY), ONE.negate());
+        QuadruplePrecisionNumber large 
+                = QuadruplePrecisionNumber.fromPrimitive(50.0);
+        assertEquals(QuadrupleMath.tanh(large), ONE);
+    }
+    
+    @Test
+    public void testTanhAgreesWithMath() {
+        for (int n = 0; n < 200; n++) {
+            double x = (RANDOM.nextDouble() - 0.5) * 20.0;
+            QuadruplePrecisionNumber actual = QuadrupleMath 
+                    .tanh(QuadruplePrecisionNumber.fromPrimitive(x));
+            assertCloseToDouble(actual, Math.tanh(x), 2.5, 
+                    "tanh(" + x + ")");
+        }
+    }
+    
+}
@@ -0,0 +1,780 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fp;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+import static math.fp.FloatingPointNumberNGTest.RANDOM;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the QuadruplePrecisionNumber class.
+ * @author Alonso del Arte
+ */
+public class QuadruplePrecisionNumberNGTest {
+    
+    private static final long SIGNALING_NAN_HIGH = 0x7FFF000000000000L;
+    
+    private static final long QUIET_NAN_HIGH = 0x7FFF800000000000L;
+    
+    private static final long POSITIVE_INFINITY_HIGH = 0x7FFF000000000000L;
+    
+    private static final long NEGATIVE_INFINITY_HIGH = 0xFFFF000000000000L;
+    
+    private static final MathContext WIDE_CONTEXT = new MathContext(80);
+    
+    /**
+     * Gives the quadruple precision bit pattern with the same value as the 
+     * bit pattern of a <code>double</code>. Subnormal doubles are normal in 
+     * quadruple precision, so their mantissas need to be normalized.
+     * @param bits The bit pattern of the <code>double</code>. For example, 
+     * 0x3FF8000000000000L, for 1.5.
+     * @return An array with the high and low 64 bits of the quadruple 
+     * precision bit pattern. For example, {0x3FFF800000000000L, 0L}.
+     */
+    static long[] quadrupleBitsFromDoubleBits(long bits) {
+        long sign = bits & Long.MIN_VALUE;
+        int exponent = (int) ((bits >>> 52) & 2047);
+        long mantissa = bits & 0xFFFFFFFFFFFFFL;
+        long quadExponent;
+        if (exponent == 2047) {
+            quadExponent = 32767;
+        } else if (exponent == 0) {
+            if (mantissa == 0L) {
+                return new long[]{sign, 0L};
+            }
+            int shift = Long.numberOfLeadingZeros(mantissa) - 11;
+            mantissa = (mantissa << shift) & 0xFFFFFFFFFFFFFL;
+            quadExponent = 1 - shift - 1023 + 16383;
+        } else {
+            quadExponent = exponent - 1023 + 16383;
+        }
+        long high = sign | (quadExponent << 48) | (mantissa >>> 4);
+        long low = mantissa << 60;
+        return new long[]{high, low};
+    }
+    
+    static QuadruplePrecisionNumber fromDoubleBits(long bits) {
+        long[] parts = quadrupleBitsFromDoubleBits(bits);
+        return new QuadruplePrecisionNumber(parts[0], parts[1]);
+    }
+    
+    private static QuadruplePrecisionNumber chooseFiniteNumber() {
+        long high;
+        do {
+            high = RANDOM.nextLong();
+        } while ((high & POSITIVE_INFINITY_HIGH) == POSITIVE_INFINITY_HIGH);
+        return new QuadruplePrecisionNumber(high, RANDOM.nextLong());
+    }
+    
+    private static double chooseModerateDouble() {
+        return (RANDOM.nextDouble() - 0.5) 
+                * Math.pow(2.0, RANDOM.nextInt(200) - 100);
+    }
+    
+    /**
+     * Gives the exact value of a finite quadruple precision number, worked 
+     * out from its bit pattern.
+     */
+    private static BigDecimal exactValue(QuadruplePrecisionNumber number) {
+        BigInteger bits = new BigInteger(number.bitPatternHexadecimal(), 16);
+        int exponent = bits.shiftRight(112).intValue() & 32767;
+        BigInteger mantissa = bits.subtract(bits.shiftRight(112) 
+                .shiftLeft(112));
+        if (exponent != 0) {
+            mantissa = mantissa.setBit(112);
+        }
+        int power = Math.max(exponent, 1) - 16383 - 112;
+        BigDecimal value = new BigDecimal(mantissa);
+        BigDecimal scale = new BigDecimal(BigInteger.TWO.pow(Math.abs(power)));
+        value = (power >= 0) ? value.multiply(scale) : value.divide(scale);
+        return bits.testBit(127) ? value.negate() : value;
+    }
+    
+    /**
+     * Test of getUnbiasedExponent method, of class QuadruplePrecisionNumber.
+     */
+    @Test
+    public void testGetUnbiasedExponent() {
+        System.out.println("getUnbiasedExponent");
+        for (int n = 0; n < 1000; n++) {
+            long high = RANDOM.nextLong();
+            QuadruplePrecisionNumber instance 
+                    = new QuadruplePrecisionNumber(high, RANDOM.nextLong());
+            int expected = (int) ((high >>> 48) & 32767);
+            int actual = instance.getUnbiasedExponent();
+            assertEquals(actual, expected);
+        }
+    }
+    
+    /**
+     * Test of getBiasedExponent method, of class QuadruplePrecisionNumber.
+     */
+    @Test
+    public void testGetBiasedExponent() {
+        System.out.println("getBiasedExponent");
+        for (int n = 0; n < 1000; n++) {
+            long high = RANDOM.nextLong();
+            QuadruplePrecisionNumber instance 
+                    = new QuadruplePrecisionNumber(high, RANDOM.nextLong());
+            int expected = Math.max((int) ((high >>> 48) & 32767), 1) - 16383;
+            int actual = instance.getBiasedExponent();
+            assertEquals(actual, expected);
+        }
+    }
+    
+    /**
+     * Test of isNormal and isSubnormal methods, of class 
+     * QuadruplePrecisionNumber.
+     */
+    @Test
+    public void testIsNormalIsSubnormal() {
+        System.out.println("isNormal, isSubnormal");
+        for (int n = 0; n < 1000; n++) {
+            long high = RANDOM.nextLong() >> RANDOM.nextInt(16);
+            QuadruplePrecisionNumber instance 
+                    = new QuadruplePrecisionNumber(high, RANDOM.nextLong());
+            int exponent = (int) ((high >>> 48) & 32767);
+            String message = "Classifying " + instance.bitPatternHexadecimal();
+            assertEquals(instance.isNormal(), 
+                    exponent != 0 && exponent != 32767, message);
+            assertEquals(instance.isSubnormal(), exponent == 0, message);
+        }
+    }
+    
+    /**
+     * Test of isZero method, of class QuadruplePrecisionNumber.
+     */
+    @Test
+    public void testIsZero() {
+        System.out.println("isZero");
+        assert new QuadruplePrecisionNumber(0L, 0L).isZero() 
+                : "0.0 should be zero";
+        assert new QuadruplePrecisionNumber(Long.MIN_VALUE, 0L).isZero() 
+                : "-0.0 should be zero";
+        assert !new QuadruplePrecisionNumber(0L, 1L).isZero() 
+                : "Smallest subnormal should not be zero";
+        assert !new QuadruplePrecisionNumber(1L, 0L).isZero() 
+                : "Subnormal should not be zero";
+    }
+    
+    /**
+     * Test of isInteger method, of class QuadruplePrecisionNumber.
+     */
+    @Test
+    public void testIsInteger() {
+        System.out.println("isInteger");
+        for (int n = 0; n < 1000; n++) {
+            double d = Math.rint(chooseModerateDouble() * 1000.0);
+            QuadruplePrecisionNumber instance 
+                    = QuadruplePrecisionNumber.fromPrimitive(d);
+            assert instance.isInteger() : d + " should be an integer";
+            QuadruplePrecisionNumber half = instance 
+                    .plus(QuadruplePrecisionNumber.fromPrimitive(0.5));
+            assert !half.isInteger() : half + " should not be an integer";
+        }
+        QuadruplePrecisionNumber largest 
+                = new QuadruplePrecisionNumber(0x7FFEFFFFFFFFFFFFL, -1L);
+        assert largest.isInteger() : "Largest finite should be an integer";
+        QuadruplePrecisionNumber infinity 
+                = new QuadruplePrecisionNumber(POSITIVE_INFINITY_HIGH, 0L);
+        assert !infinity.isInteger() : "Infinity should not be an integer";
+    }
+    
+    /**
+     * Test of isFinite, isInfinite and isNaN methods, of class 
+     * QuadruplePrecisionNumber.
+     */
+    @Test
+    public void testIsFiniteIsInfiniteIsNaN() {
+        System.out.println("isFinite, isInfinite, isNaN");
+        QuadruplePrecisionNumber finite = chooseFiniteNumber();
+        assert finite.isFinite() : finite + " should be finite";
+        assert !finite.isInfinite() : finite + " should not be infinite";
+        assert !finite.isNaN() : finite + " should not be NaN";
+        long[] highs = {POSITIVE_INFINITY_HIGH, NEGATIVE_INFINITY_HIGH};
+        for (long high : highs) {
+            QuadruplePrecisionNumber infinity 
+                    = new QuadruplePrecisionNumber(high, 0L);
+            assert !infinity.isFinite() : infinity + " should not be finite";
+            assert infinity.isInfinite() : infinity + " should be infinite";
+            assert !infinity.isNaN() : infinity + " should not be NaN";
+            QuadruplePrecisionNumber nan 
+                    = new QuadruplePrecisionNumber(high, 1L);
+            String msg = nan.bitPatternHexadecimal() + " should be NaN";
+            assert !nan.isFinite() : msg;
+            assert !nan.isInfinite() : msg;
+            assert nan.isNaN() : msg;
+        }
+    }
+    
+    /**
+     * Test of isQuietNaN and isSignalingNaN methods, of class 
+     * QuadruplePrecisionNumber.
+     */
+    @Test
+    public void testIsQuietNaNIsSignalingNaN() {
+        System.out.println("isQuietNaN, isSignalingNaN");
+        QuadruplePrecisionNumber quiet 
+                = new QuadruplePrecisionNumber(QUIET_NAN_HIGH, 0L);
+        assert quiet.isQuietNaN() : "Canonical NaN should be quiet";
+        assert !quiet.isSignalingNaN() : "Canonical NaN should not signal";
+        QuadruplePrecisionNumber signaling 
+                = new QuadruplePrecisionNumber(SIGNALING_NAN_HIGH, 1L);
+        assert !signaling.isQuietNaN() : "NaN without quiet bit isn't quiet";
+        assert signaling.isSignalingNaN() : "NaN without quiet bit signals";
+        QuadruplePrecisionNumber infinity 
+                = new QuadruplePrecisionNumber(POSITIVE_INFINITY_HIGH, 0L);
+        assert !infinity.isQuietNaN() : "Infinity is not quiet NaN";
+        assert !infinity.isSignalingNaN() : "Infinity is not signaling NaN";
+    }
+    
+    /**
+     * Test of to64BitPrimitive method, of class QuadruplePrecisionNumber.
+     */
+    @Test
+    public void testTo64BitPrimitive() {
+        System.out.println("to64BitPrimitive");
+        for (int n = 0; n < 1000; n++) {
+            double expected = Double.longBitsToDouble(RANDOM.nextLong());
+            if (Double.isNaN(expected)) {
+                continue;
+            }
+            double actual = QuadruplePrecisionNumber.fromPrimitive(expected) 
+                    .to64BitPrimitive();
+            assertEquals(actual, expected);
+        }
+    }
+    
+    /**
+     * Test of to64BitPrimitive method, of class QuadruplePrecisionNumber. 
+     * Numbers that are exactly halfway between two <code>double</code> 
+     * values should round to the one whose last mantissa bit is 0.
+     */
+    @Test
+    public void testTo64BitPrimitiveRoundsTiesToEven() {
+        QuadruplePrecisionNumber lowerTie 
+                = new QuadruplePrecisionNumber(0x3FFF000000000000L, 
+                        0x0800000000000000L);
+        assertEquals(lowerTie.to64BitPrimitive(), 1.0);
+        QuadruplePrecisionNumber upperTie 
+                = new QuadruplePrecisionNumber(0x3FFF000000000000L, 
+                        0x1800000000000000L);
+        assertEquals(upperTie.to64BitPrimitive(), 1.0 + 2 * Math.ulp(1.0));
+        QuadruplePrecisionNumber aboveTie 
+                = new QuadruplePrecisionNumber(0x3FFF000000000000L, 
+                        0x0800000000000001L);
+        assertEquals(aboveTie.to64BitPrimitive(), 1.0 + Math.ulp(1.0));
+    }
+    
+    /**
+     * Test of to32BitPrimitive method, of class QuadruplePrecisionNumber.
+     */
+    @Test
+    public void testTo32BitPrimitive() {
+        System.out.println("to32BitPrimitive");
+        for (int n = 0; n < 1000; n++) {
+            double d = Double.longBitsToDouble(RANDOM.nextLong());
+            if (Double.isNaN(d)) {
+                continue;
+            }
+            float expected = (float) d;
+            float actual = QuadruplePrecisionNumber.fromPrimitive(d) 
+                    .to32BitPrimitive();
+            String message = "Converting " + d + " to 32 bits";
+            assertEquals(actual, expected, message);
+        }
+    }
+    
+    /**
+     * Test of toQuarterPrecision method, of class QuadruplePrecisionNumber.
+     */
+    @Test
+    public void testToQuarterPrecision() {
+        System.out.println("toQuarterPrecision");
+        for (int n = 0; n < 1000; n++) {
+            double d = chooseModerateDouble() * 256.0;
+            DoublePrecisionNumber number 
+                    = DoublePrecisionNumber.fromPrimitive(d);
+            QuarterPrecisionNumber expected = number.toQuarterPrecision();
+            QuarterPrecisionNumber actual 
+                    = QuadruplePrecisionNumber.fromPrimitive(d) 
+                            .toQuarterPrecision();
+            String message = "Converting " + d + " to quarter precision";
+            assertEquals(actual, expected, message);
+        }
+    }
+    
+    /**
+     * Test of toHalfPrecision method, of class QuadruplePrecisionNumber.
+     */
+    @Test
+    public void testToHalfPrecision() {
+        System.out.println("toHalfPrecision");
+        for (int n = 0; n < 1000; n++) {
+            double d = chooseModerateDouble() * 65536.0;
+            DoublePrecisionNumber number 
+                    = DoublePrecisionNumber.fromPrimitive(d);
+            HalfPrecisionNumber expected = number.toHalfPrecision();
+            HalfPrecisionNumber actual 
+                    = QuadruplePrecisionNumber.fromPrimitive(d) 
+                            .toHalfPrecision();
+            String message = "Converting " + d + " to half precision";
+            assertEquals(actual, expected, message);
+        }
+    }
+    
+    /**
+     * Test of toSinglePrecision method, of class QuadruplePrecisionNumber.
+     */
+    @Test
+    public void testToSinglePrecision() {
+        System.out.println("toSinglePrecision");
+        for (int n = 0; n < 1000; n++) {
+            double d = Double.longBitsToDouble(RANDOM.nextLong());
+            if (Double.isNaN(d)) {
+                continue;
+            }
+            SinglePrecisionNumber expected 
+                    = SinglePrecisionNumber.fromPrimitive((float) d);
+            SinglePrecisionNumber actual 
+                    = QuadruplePrecisionNumber.fromPrimitive(d) 
+                            .toSinglePrecision();
+            assertEquals(actual, expected);
+        }
+    }
+    
+    /**
+     * Test of toDoublePrecision method, of class QuadruplePrecisionNumber. 
+     * Widening and then narrowing should give back the same bit pattern, 
+     * even for NaNs.
+     */
+    @Test
+    public void testToDoublePrecision() {
+        System.out.println("toDoublePrecision");
+        for (int n = 0; n < 1000; n++) {
+            DoublePrecisionNumber expected 
+                    = new DoublePrecisionNumber(RANDOM.nextLong());
+            DoublePrecisionNumber actual 
+                    = expected.toQuadruplePrecision().toDoublePrecision();
+            assertEquals(actual, expected);
+        }
+    }
+    
+    @Test
+    public void testToDoublePrecisionKeepsSignalingNaN() {
+        QuadruplePrecisionNumber signaling 
+                = new QuadruplePrecisionNumber(SIGNALING_NAN_HIGH, 1L);
+        DoublePrecisionNumber result = signaling.toDoublePrecision();
+        assert result.isSignalingNaN() 
+                : "Narrowing signaling NaN should give signaling NaN";
+    }
+    
+    /**
+     * Test of toQuadruplePrecision method, of class QuadruplePrecisionNumber.
+     */
+    @Test
+    public void testToQuadruplePrecision() {
+        System.out.println("toQuadruplePrecision");
+        QuadruplePrecisionNumber expected = chooseFiniteNumber();
+        assertSame(expected.toQuadruplePrecision(), expected);
+    }
+    
+    /**
+     * Test of toOctuplePrecision method, of class QuadruplePrecisionNumber.
+     */
+    @Test
+    public void testToOctuplePrecision() {
+        System.out.println("toOctuplePrecision");
+        QuadruplePrecisionNumber instance 
+                = new QuadruplePrecisionNumber(0xBFFF800000000000L, 1L);
+        byte[] expected = new byte[32];
+        expected[0] = (byte) 0xBF;
+        expected[1] = (byte) 0xFF;
+        expected[2] = (byte) 0xF8;
+        expected[16] = 0x10;
+        byte[] actual = instance.toOctuplePrecision().getBytes();
+        assertEquals(actual, expected);
+    }
+    
+    /**
+     * Test of plus method, of class QuadruplePrecisionNumber. The sum should 
+     * be the exact sum correctly rounded.
+     */
+    @Test
+    public void testPlus() {
+        System.out.println("plus");
+        for (int n = 0; n < 1000; n++) {
+            QuadruplePrecisionNumber a = QuadruplePrecisionNumber 
+                    .fromPrimitive(chooseModerateDouble());
+            QuadruplePrecisionNumber b = a.divides(QuadruplePrecisionNumber 
+                    .fromPrimitive(chooseModerateDouble()));
+            QuadruplePrecisionNumber expected = QuadruplePrecisionNumber 
+                    .fromBigDecimal(exactValue(a).add(exactValue(b)));
+            QuadruplePrecisionNumber actual = a.plus(b);
+            String message = "Adding " + a + " and " + b;
+            assertEquals(actual, expected, message);
+        }
+    }
+    
+    @Test
+    public void testPlusConvertsAddendOfOtherFormat() {
+        QuadruplePrecisionNumber instance 
+                = QuadruplePrecisionNumber.fromPrimitive(1.0);
+        FloatingPointNumber addend = SinglePrecisionNumber.fromPrimitive(0.5f);
+        QuadruplePrecisionNumber expected 
+                = QuadruplePrecisionNumber.fromPrimitive(1.5);
+        QuadruplePrecisionNumber actual = instance.plus(addend);
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testPlusTinyAddend() {
+        QuadruplePrecisionNumber one 
+                = QuadruplePrecisionNumber.fromPrimitive(1.0);
+        QuadruplePrecisionNumber tiny = new QuadruplePrecisionNumber(0L, 1L);
+        assertEquals(one.plus(tiny), one);
+        QuadruplePrecisionNumber expected 
+                = new QuadruplePrecisionNumber(0x3FFEFFFFFFFFFFFFL, -1L);
+        QuadruplePrecisionNumber almostHalfUlp 
+                = new QuadruplePrecisionNumber(0x3F8E000000000000L, 0L);
+        QuadruplePrecisionNumber actual 
+                = one.minus(almostHalfUlp).minus(tiny);
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testPlusKeepsSignalingNaN() {
+        QuadruplePrecisionNumber signaling 
+                = new QuadruplePrecisionNumber(SIGNALING_NAN_HIGH, 1L);
+        QuadruplePrecisionNumber quiet 
+                = new QuadruplePrecisionNumber(QUIET_NAN_HIGH, 0L);
+        assertEquals(quiet.plus(signaling), signaling);
+        assertEquals(signaling.plus(chooseFiniteNumber()), signaling);
+    }
+    
+    @Test
+    public void testPlusOppositeInfinitiesGivesNaN() {
+        QuadruplePrecisionNumber positive 
+                = new QuadruplePrecisionNumber(POSITIVE_INFINITY_HIGH, 0L);
+        QuadruplePrecisionNumber negative 
+                = new QuadruplePrecisionNumber(NEGATIVE_INFINITY_HIGH, 0L);
+        assert positive.plus(negative).isNaN() : "Infinities should cancel";
+        assertEquals(positive.plus(positive), positive);
+    }
+    
+    @Test
+    public void testPlusZeroes() {
+        QuadruplePrecisionNumber positive = new QuadruplePrecisionNumber(0L, 0L);
+        QuadruplePrecisionNumber negative 
+                = new QuadruplePrecisionNumber(Long.MIN_VALUE, 0L);
+        assertEquals(negative.plus(negative), negative);
+        assertEquals(negative.plus(positive), positive);
+        QuadruplePrecisionNumber number = chooseFiniteNumber();
+        assertEquals(number.minus(number), positive);
+    }
+    
+    /**
+     * Test of negate method, of class QuadruplePrecisionNumber.
+     */
+    @Test
+    public void testNegate() {
+        System.out.println("negate");
+        for (int n = 0; n < 1000; n++) {
+            long high = RANDOM.nextLong();
+            long low = RANDOM.nextLong();
+            QuadruplePrecisionNumber instance 
+                    = new QuadruplePrecisionNumber(high, low);
+            QuadruplePrecisionNumber expected 
+                    = new QuadruplePrecisionNumber(high ^ Long.MIN_VALUE, low);
+            assertEquals(instance.negate(), expected);
+        }
+    }
+    
+    /**
+     * Test of minus method, of class QuadruplePrecisionNumber.
+     */
+    @Test
+    public void testMinus() {
+        System.out.println("minus");
+        for (int n = 0; n < 1000; n++) {
+            QuadruplePrecisionNumber a = chooseFiniteNumber();
+            QuadruplePrecisionNumber b = chooseFiniteNumber();
+            assertEquals(a.minus(b), a.plus(b.negate()));
+        }
+    }
+    
+    /**
+     * Test of times method, of class QuadruplePrecisionNumber. The product 
+     * of two <code>double</code> values always fits in quadruple precision.
+     */
+    @Test
+    public void testTimes() {
+        System.out.println("times");
+        for (int n = 0; n < 1000; n++) {
+            double a = chooseModerateDouble();
+            double b = chooseModerateDouble();
+            BigDecimal product = new BigDecimal(a).multiply(new BigDecimal(b));
+            QuadruplePrecisionNumber expected 
+                    = QuadruplePrecisionNumber.fromBigDecimal(product);
+            QuadruplePrecisionNumber actual 
+                    = QuadruplePrecisionNumber.fromPrimitive(a) 
+                            .times(DoublePrecisionNumber.fromPrimitive(b));
+            String message = "Multiplying " + a + " by " + b;
+            assertEquals(actual, expected, message);
+            assert actual.arithmeticallyEqual(QuadruplePrecisionNumber 
+                    .fromPrimitive(b).times(DoublePrecisionNumber 
+                            .fromPrimitive(a))) : "Should commute";
+        }
+    }
+    
+    @Test
+    public void testTimesRoundsCorrectly() {
+        for (int n = 0; n < 1000; n++) {
+            QuadruplePrecisionNumber three 
+                    = QuadruplePrecisionNumber.fromPrimitive(3.0);
+            QuadruplePrecisionNumber seven 
+                    = QuadruplePrecisionNumber.fromPrimitive(7.0);
+            QuadruplePrecisionNumber a = QuadruplePrecisionNumber 
+                    .fromPrimitive(chooseModerateDouble()).divides(three);
+            QuadruplePrecisionNumber b = QuadruplePrecisionNumber 
+                    .fromPrimitive(chooseModerateDouble()).divides(seven);
+            QuadruplePrecisionNumber expected = QuadruplePrecisionNumber 
+                    .fromBigDecimal(exactValue(a).multiply(exactValue(b)));
+            assertEquals(a.times(b), expected);
+        }
+    }
+    
+    @Test
+    public void testTimesZeroByInfinityGivesNaN() {
+        QuadruplePrecisionNumber infinity 
+                = new QuadruplePrecisionNumber(POSITIVE_INFINITY_HIGH, 0L);
+        QuadruplePrecisionNumber zero 
+                = new QuadruplePrecisionNumber(Long.MIN_VALUE, 0L);
+        assert infinity.times(zero).isNaN() : "0 times infinity is NaN";
+    }
+    
+    /**
+     * Test of reciprocal method, of class QuadruplePrecisionNumber.
+     */
+    @Test
+    public void testReciprocal() {
+        System.out.println("reciprocal");
+        QuadruplePrecisionNumber instance 
+                = QuadruplePrecisionNumber.fromPrimitive(0.25);
+        assertEquals(instance.reciprocal(), 
+                QuadruplePrecisionNumber.fromPrimitive(4.0));
+        QuadruplePrecisionNumber negativeZero 
+                = new QuadruplePrecisionNumber(Long.MIN_VALUE, 0L);
+        assertEquals(negativeZero.reciprocal(), 
+                new QuadruplePrecisionNumber(NEGATIVE_INFINITY_HIGH, 0L));
+        QuadruplePrecisionNumber three 
+                = QuadruplePrecisionNumber.fromPrimitive(3.0);
+        QuadruplePrecisionNumber expected 
+                = new QuadruplePrecisionNumber(0x3FFD555555555555L, 
+                        0x5555555555555555L);
+        assertEquals(three.reciprocal(), expected);
+    }
+    
+    /**
+     * Test of divides method, of class QuadruplePrecisionNumber.
+     */
+    @Test
+    public void testDivides() {
+        System.out.println("divides");
+        for (int n = 0; n < 1000; n++) {
+            double a = chooseModerateDouble();
+            double b = chooseModerateDouble();
+            BigDecimal quotient = new BigDecimal(a).divide(new BigDecimal(b), 
+                    WIDE_CONTEXT);
+            QuadruplePrecisionNumber expected 
+                    = QuadruplePrecisionNumber.fromBigDecimal(quotient);
+            QuadruplePrecisionNumber actual 
+                    = QuadruplePrecisionNumber.fromPrimitive(a) 
+                            .divides(QuadruplePrecisionNumber.fromPrimitive(b));
+            String message = "Dividing " + a + " by " + b;
+            assertEquals(actual, expected, message);
+        }
+    }
+    
+    @Test
+    public void testDividesSpecialCases() {
+        QuadruplePrecisionNumber zero = new QuadruplePrecisionNumber(0L, 0L);
+        QuadruplePrecisionNumber one 
+                = QuadruplePrecisionNumber.fromPrimitive(1.0);
+        QuadruplePrecisionNumber infinity 
+                = new QuadruplePrecisionNumber(POSITIVE_INFINITY_HIGH, 0L);
+        assert zero.divides(zero).isNaN() : "0/0 is NaN";
+        assert infinity.divides(infinity).isNaN() : "Infinity/infinity NaN";
+        assertEquals(one.divides(zero), infinity);
+        assertEquals(one.negate().divides(infinity), zero.negate());
+    }
+    
+    @Test
+    public void testDividesUnderflowsToSubnormal() {
+        QuadruplePrecisionNumber smallestNormal 
+                = new QuadruplePrecisionNumber(0x0001000000000000L, 0L);
+        QuadruplePrecisionNumber four 
+                = QuadruplePrecisionNumber.fromPrimitive(4.0);
+        QuadruplePrecisionNumber expected 
+                = new QuadruplePrecisionNumber(0x0000400000000000L, 0L);
+        assertEquals(smallestNormal.divides(four), expected);
+    }
+    
+    /**
+     * Test of arithmeticallyEqual method, of class QuadruplePrecisionNumber.
+     */
+    @Test
+    public void testArithmeticallyEqual() {
+        System.out.println("arithmeticallyEqual");
+        double d = chooseModerateDouble();
+        QuadruplePrecisionNumber instance 
+                = QuadruplePrecisionNumber.fromPrimitive(d);
+        assert instance.arithmeticallyEqual(DoublePrecisionNumber 
+                .fromPrimitive(d)) : d + " should equal itself widened";
+        assert DoublePrecisionNumber.fromPrimitive(d) 
+                .arithmeticallyEqual(instance) : "Should be symmetric";
+        QuadruplePrecisionNumber zero = new QuadruplePrecisionNumber(0L, 0L);
+        assert zero.arithmeticallyEqual(zero.negate()) : "0.0 = -0.0";
+        QuadruplePrecisionNumber nan 
+                = new QuadruplePrecisionNumber(QUIET_NAN_HIGH, 0L);
+        assert !nan.arithmeticallyEqual(nan) : "NaN is not equal to itself";
+        QuadruplePrecisionNumber third = QuadruplePrecisionNumber 
+                .fromPrimitive(1.0).divides(QuadruplePrecisionNumber 
+                        .fromPrimitive(3.0));
+        assert !third.arithmeticallyEqual(third.toDoublePrecision()) 
+                : "Narrowed third should not equal quadruple third";
+    }
+    
+    /**
+     * Test of fromBigDecimal method, of class QuadruplePrecisionNumber.
+     */
+    @Test
+    public void testFromBigDecimal() {
+        System.out.println("fromBigDecimal");
+        QuadruplePrecisionNumber expected 
+                = new QuadruplePrecisionNumber(0x3FFB999999999999L, 
+                        0x999999999999999AL);
+        QuadruplePrecisionNumber actual 
+                = QuadruplePrecisionNumber.fromBigDecimal(new BigDecimal("0.1"));
+        assertEquals(actual, expected);
+        QuadruplePrecisionNumber infinity = QuadruplePrecisionNumber 
+                .fromBigDecimal(new BigDecimal("-1E100000"));
+        assertEquals(infinity, 
+                new QuadruplePrecisionNumber(NEGATIVE_INFINITY_HIGH, 0L));
+        QuadruplePrecisionNumber smallest = QuadruplePrecisionNumber 
+                .fromBigDecimal(new BigDecimal("6.5E-4966"));
+        assertEquals(smallest, new QuadruplePrecisionNumber(0L, 1L));
+    }
+    
+    /**
+     * Test of toString method, of class QuadruplePrecisionNumber.
+     */
+    @Test
+    public void testToString() {
+        System.out.println("toString");
+        assertEquals(QuadruplePrecisionNumber.fromBigDecimal(new BigDecimal( 
+                "0.1")).toString(), "0.1");
+        assertEquals(QuadruplePrecisionNumber.fromPrimitive(-1.5).toString(), 
+                "\u22121.5");
+        assertEquals(QuadruplePrecisionNumber.fromPrimitive(1.0E10) 
+                .toString(), "1.0E10");
+        assertEquals(QuadruplePrecisionNumber.fromPrimitive(100.0) 
+                .toString(), "100.0");
+        QuadruplePrecisionNumber third = QuadruplePrecisionNumber 
+                .fromPrimitive(1.0).divides(QuadruplePrecisionNumber 
+                        .fromPrimitive(3.0));
+        assertEquals(third.toString(), 
+                "0.3333333333333333333333333333333333");
+    }
+    
+    @Test
+    public void testToStringRoundTrips() {
+        for (int n = 0; n < 200; n++) {
+            QuadruplePrecisionNumber expected = chooseFiniteNumber();
+            String str = expected.toString().replace('\u2212', '-');
+            QuadruplePrecisionNumber actual = QuadruplePrecisionNumber 
+                    .fromBigDecimal(new BigDecimal(str));
+            String message = "Parsing " + str + " for " 
+                    + expected.bitPatternHexadecimal();
+            if (expected.isZero()) {
+                assert actual.isZero() : message;
+            } else {
+                assertEquals(actual, expected, message);
+            }
+        }
+    }
+    
+    @Test
+    public void testToStringSpecialValues() {
+        assertEquals(new QuadruplePrecisionNumber(NEGATIVE_INFINITY_HIGH, 0L) 
+                .toString(), "\u2212Infinity");
+        assertEquals(new QuadruplePrecisionNumber(POSITIVE_INFINITY_HIGH, 0L) 
+                .toString(), "Infinity");
+        assertEquals(new QuadruplePrecisionNumber(SIGNALING_NAN_HIGH, 5L) 
+                .toString(), "NaN");
+        assertEquals(new QuadruplePrecisionNumber(Long.MIN_VALUE, 0L) 
+                .toString(), "\u22120.0");
+    }
+    
+    /**
+     * Test of bitPatternHexadecimal method, of class QuadruplePrecisionNumber.
+     */
+    @Test
+    public void testBitPatternHexadecimal() {
+        System.out.println("bitPatternHexadecimal");
+        QuadruplePrecisionNumber instance 
+                = QuadruplePrecisionNumber.fromPrimitive(1.5);
+        String expected = "3fff8000000000000000000000000000";
+        assertEquals(instance.bitPatternHexadecimal(), expected);
+        QuadruplePrecisionNumber small = new QuadruplePrecisionNumber(0L, 10L);
+        assertEquals(small.bitPatternHexadecimal(), 
+                "0000000000000000000000000000000a");
+    }
+    
+    /**
+     * Test of fromPrimitive method, of class QuadruplePrecisionNumber.
+     */
+    @Test
+    public void testFromPrimitive() {
+        System.out.println("fromPrimitive");
+        for (int n = 0; n < 1000; n++) {
+            long bits = RANDOM.nextLong();
+            double d = Double.longBitsToDouble(bits);
+            if (Double.isNaN(d)) {
+                continue;
+            }
+            QuadruplePrecisionNumber expected = fromDoubleBits(bits);
+            QuadruplePrecisionNumber actual 
+                    = QuadruplePrecisionNumber.fromPrimitive(d);
+            assertEquals(actual, expected);
+        }
+    }
+    
+    @Test
+    public void testConstructorsAgreeOnBytes() {
+        QuadruplePrecisionNumber expected = chooseFiniteNumber();
+        FloatingPointNumber actual = FloatingPointNumber 
+                .apply(expected.getBytes());
+        assertEquals(actual, expected);
+    }
+    
+}
@@ -2403,6 +2403,85 @@ public class QuarterPrecisionNumberNGTest {
         }
     }
     
+    @Test
+    public void testToSinglePrecision() {
+        System.out.println("toSinglePrecision");
+        for (int i = Byte.MIN_VALUE; i < 128; i++) {
+            QuarterPrecisionNumber instance 
+                    = new QuarterPrecisionNumber((byte) i);
+            SinglePrecisionNumber actual = instance.toSinglePrecision();
+            if (instance.isNaN()) {
+                String msg = "Widening " + instance.bitPatternHexadecimal() 
+                        + " should keep the signaling bit";
+                assert actual.isSignalingNaN() == instance.isSignalingNaN() 
+                        : msg;
+                assertEquals(actual.toQuarterPrecision(), instance);
+            } else {
+                SinglePrecisionNumber expected = SinglePrecisionNumber
+                        .fromPrimitive(instance.to32BitPrimitive());
+                assertEquals(actual, expected);
+            }
+        }
+    }
+    
+    @Test
+    public void testToDoublePrecision() {
+        System.out.println("toDoublePrecision");
+        for (int i = Byte.MIN_VALUE; i < 128; i++) {
+            QuarterPrecisionNumber instance 
+                    = new QuarterPrecisionNumber((byte) i);
+            DoublePrecisionNumber actual = instance.toDoublePrecision();
+            if (instance.isNaN()) {
+                String msg = "Widening " + instance.bitPatternHexadecimal() 
+                        + " should keep the signaling bit";
+                assert actual.isSignalingNaN() == instance.isSignalingNaN() 
+                        : msg;
+                assertEquals(actual.toQuarterPrecision(), instance);
+            } else {
+                DoublePrecisionNumber expected = DoublePrecisionNumber
+                        .fromPrimitive(instance.to64BitPrimitive());
+                assertEquals(actual, expected);
+            }
+        }
+    }
+    
+    @Test
+    public void testToQuadruplePrecision() {
+        System.out.println("toQuadruplePrecision");
+        for (int i = Byte.MIN_VALUE; i < 128; i++) {
+            QuarterPrecisionNumber instance 
+                    = new QuarterPrecisionNumber((byte) i);
+            QuadruplePrecisionNumber actual = instance.toQuadruplePrecision();
+            if (instance.isNaN()) {
+                String msg = "Widening " + instance.bitPatternHexadecimal() 
+                        + " should keep the signaling bit";
+                assert actual.isSignalingNaN() == instance.isSignalingNaN() 
+                        : msg;
+                assertEquals(actual.toQuarterPrecision(), instance);
+            } else {
+                long bits 
+                        = Double.doubleToLongBits(instance.to64BitPrimitive());
+                QuadruplePrecisionNumber expected 
+                        = QuadruplePrecisionNumberNGTest.fromDoubleBits(bits);
+                assertEquals(actual, expected);
+            }
+        }
+    }
+    
+    @Test
+    public void testToOctuplePrecision() {
+        System.out.println("toOctuplePrecision");
+        for (int i = Byte.MIN_VALUE; i < 128; i++) {
+            QuarterPrecisionNumber instance 
+                    = new QuarterPrecisionNumber((byte) i);
+            byte[] expected 
+                    = instance.toQuadruplePrecision().toOctuplePrecision()
+                            .getBytes();
+            byte[] actual = instance.toOctuplePrecision().getBytes();
+            assertEquals(actual, expected);
+        }
+    }
+    
     @Test
     public void testNegativeZeroPlusSomeNumberIsSomeNumber() {
         QuarterPrecisionNumber zero 
@@ -16,6 +16,8 @@
  */
 package math.fp;
 
+import static math.fp.FloatingPointNumberNGTest.RANDOM;
+
 import static org.testng.Assert.*;
 import org.testng.annotations.Test;
 
@@ -25,6 +27,10 @@ import org.testng.annotations.Test;
  */
 public class SinglePrecisionNumberNGTest {
     
+    private static final int SIGNALING_NAN_BITS = 0x7F800001;
+    
+    private static final int QUIET_NAN_BITS = 0x7FC00000;
+    
     @Test
     public void testToStringNegativeInfinity() {
         int i = -8388608;
@@ -43,387 +49,672 @@ public class SinglePrecisionNumberNGTest {
         assertEquals(actual, expected);
     }
     
+    /**
+     * Gives a pseudorandom <code>float</code> that is not NaN. It may be 
+     * subnormal or infinite.
+     * @return A pseudorandom number, such as 1.4E-41 or 3.4028235E38.
+     */
+    private static float chooseNonNaN() {
+        float f;
+        do {
+            f = Float.intBitsToFloat(RANDOM.nextInt());
+        } while (Float.isNaN(f));
+        return f;
+    }
+    
     /**
      * Test of getUnbiasedExponent method, of class SinglePrecisionNumber.
      */
-    @Test(enabled = false)
+    @Test
     public void testGetUnbiasedExponent() {
         System.out.println("getUnbiasedExponent");
-        SinglePrecisionNumber instance = null;
-        int expResult = 0;
-        int result = instance.getUnbiasedExponent();
-        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        for (int n = 0; n < 1000; n++) {
+            int i = RANDOM.nextInt();
+            SinglePrecisionNumber instance = new SinglePrecisionNumber(i);
+            int expected = (i >>> 23) & 255;
+            int actual = instance.getUnbiasedExponent();
+            assertEquals(actual, expected);
+        }
     }
-
+    
     /**
      * Test of getBiasedExponent method, of class SinglePrecisionNumber.
      */
-    @Test(enabled = false)
+    @Test
     public void testGetBiasedExponent() {
-//        System.out.println("getBiasedExponent");
-//        SinglePrecisionNumber instance = null;
-//        int expResult = 0;
-//        int result = instance.getBiasedExponent();
-//        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        System.out.println("getBiasedExponent");
+        for (int n = 0; n < 1000; n++) {
+            float f = chooseNonNaN();
+            SinglePrecisionNumber instance 
+                    = SinglePrecisionNumber.fromPrimitive(f);
+            int expected = Math.max(Math.getExponent(f), -126);
+            int actual = instance.getBiasedExponent();
+            String message = "Reckoning biased exponent of " + f;
+            assertEquals(actual, expected, message);
+        }
     }
-
+    
     /**
      * Test of isNormal method, of class SinglePrecisionNumber.
      */
-    @Test(enabled = false)
+    @Test
     public void testIsNormal() {
         System.out.println("isNormal");
-//        SinglePrecisionNumber instance = null;
-//        boolean expResult = false;
-//        boolean result = instance.isNormal();
-//        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        for (int n = 0; n < 1000; n++) {
+            float f = Float.intBitsToFloat(RANDOM.nextInt());
+            SinglePrecisionNumber instance 
+                    = SinglePrecisionNumber.fromPrimitive(f);
+            float abs = Math.abs(f);
+            boolean expected = abs >= Float.MIN_NORMAL && Float.isFinite(f);
+            boolean actual = instance.isNormal();
+            String message = f + " should" + (expected ? "" : " not") 
+                    + " be considered normal";
+            assertEquals(actual, expected, message);
+        }
     }
-
+    
     /**
      * Test of isSubnormal method, of class SinglePrecisionNumber.
      */
-    @Test(enabled = false)
+    @Test
     public void testIsSubnormal() {
         System.out.println("isSubnormal");
-//        SinglePrecisionNumber instance = null;
-//        boolean expResult = false;
-//        boolean result = instance.isSubnormal();
-//        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        for (int i = 0; i < 8388608; i += 4099) {
+            SinglePrecisionNumber number = new SinglePrecisionNumber(i);
+            String msg = number.toString() + " should be subnormal";
+            assert number.isSubnormal() : msg;
+            assert number.negate().isSubnormal() : msg;
+        }
+        SinglePrecisionNumber normal 
+                = SinglePrecisionNumber.fromPrimitive(Float.MIN_NORMAL);
+        String msg = normal.toString() + " should not be subnormal";
+        assert !normal.isSubnormal() : msg;
     }
-
+    
     /**
      * Test of isInteger method, of class SinglePrecisionNumber.
      */
-    @Test(enabled = false)
+    @Test
     public void testIsInteger() {
         System.out.println("isInteger");
-//        SinglePrecisionNumber instance = null;
-//        boolean expResult = false;
-//        boolean result = instance.isInteger();
-//        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        float[] integers = {-0.0f, 0.0f, 1.0f, -7.0f, 16777216.0f, 
+            Float.MAX_VALUE};
+        for (float f : integers) {
+            SinglePrecisionNumber number 
+                    = SinglePrecisionNumber.fromPrimitive(f);
+            String msg = number.toString() + " should be an integer";
+            assert number.isInteger() : msg;
+        }
+        float[] nonIntegers = {0.5f, -7.5f, Float.MIN_VALUE, 
+            Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NaN};
+        for (float f : nonIntegers) {
+            SinglePrecisionNumber number 
+                    = SinglePrecisionNumber.fromPrimitive(f);
+            String msg = number.toString() + " should not be an integer";
+            assert !number.isInteger() : msg;
+        }
     }
-
+    
     /**
      * Test of isFinite method, of class SinglePrecisionNumber.
      */
-    @Test(enabled = false)
+    @Test
     public void testIsFinite() {
         System.out.println("isFinite");
-//        SinglePrecisionNumber instance = null;
-//        boolean expResult = false;
-//        boolean result = instance.isFinite();
-//        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        for (int n = 0; n < 1000; n++) {
+            int i = RANDOM.nextInt();
+            SinglePrecisionNumber instance = new SinglePrecisionNumber(i);
+            boolean expected = Float.isFinite(Float.intBitsToFloat(i));
+            boolean actual = instance.isFinite();
+            assertEquals(actual, expected);
+        }
     }
-
+    
     /**
      * Test of isInfinite method, of class SinglePrecisionNumber.
      */
-    @Test(enabled = false)
+    @Test
     public void testIsInfinite() {
         System.out.println("isInfinite");
-//        SinglePrecisionNumber instance = null;
-//        boolean expResult = false;
-//        boolean result = instance.isInfinite();
-//        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        for (int n = 0; n < 1000; n++) {
+            int i = RANDOM.nextInt();
+            SinglePrecisionNumber instance = new SinglePrecisionNumber(i);
+            boolean expected = Float.isInfinite(Float.intBitsToFloat(i));
+            boolean actual = instance.isInfinite();
+            assertEquals(actual, expected);
+        }
+        SinglePrecisionNumber infinity 
+                = SinglePrecisionNumber.fromPrimitive(Float.NEGATIVE_INFINITY);
+        assert infinity.isInfinite() : "Negative infinity should be infinite";
     }
-
+    
     /**
      * Test of isNaN method, of class SinglePrecisionNumber.
      */
-    @Test(enabled = false)
+    @Test
     public void testIsNaN() {
         System.out.println("isNaN");
-        SinglePrecisionNumber instance = null;
-        boolean expResult = false;
-        boolean result = instance.isNaN();
-        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        for (int n = 0; n < 1000; n++) {
+            int i = RANDOM.nextInt() | 0x7F800000;
+            SinglePrecisionNumber instance = new SinglePrecisionNumber(i);
+            boolean expected = Float.isNaN(Float.intBitsToFloat(i));
+            boolean actual = instance.isNaN();
+            assertEquals(actual, expected);
+        }
     }
-
+    
     /**
      * Test of isQuietNaN method, of class SinglePrecisionNumber.
      */
-    @Test(enabled = false)
+    @Test
     public void testIsQuietNaN() {
         System.out.println("isQuietNaN");
-        SinglePrecisionNumber instance = null;
-        boolean expResult = false;
-        boolean result = instance.isQuietNaN();
-        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        int[] quiet = {QUIET_NAN_BITS, 0x7FFFFFFF, 0xFFC00001, -1};
+        for (int i : quiet) {
+            SinglePrecisionNumber number = new SinglePrecisionNumber(i);
+            String msg = number.bitPatternHexadecimal() 
+                    + " should be quiet NaN";
+            assert number.isQuietNaN() : msg;
+        }
+        int[] notQuiet = {SIGNALING_NAN_BITS, 0x7FBFFFFF, 0x7F800000, 
+            0xFF800000, 0x3FC00000};
+        for (int i : notQuiet) {
+            SinglePrecisionNumber number = new SinglePrecisionNumber(i);
+            String msg = number.bitPatternHexadecimal() 
+                    + " should not be quiet NaN";
+            assert !number.isQuietNaN() : msg;
+        }
     }
-
+    
     /**
      * Test of isSignalingNaN method, of class SinglePrecisionNumber.
      */
-    @Test(enabled = false)
+    @Test
     public void testIsSignalingNaN() {
         System.out.println("isSignalingNaN");
-        SinglePrecisionNumber instance = null;
-        boolean expResult = false;
-        boolean result = instance.isSignalingNaN();
-        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        int[] signaling = {SIGNALING_NAN_BITS, 0x7FBFFFFF, 0xFF800001, 
+            0xFFA00000};
+        for (int i : signaling) {
+            SinglePrecisionNumber number = new SinglePrecisionNumber(i);
+            String msg = number.bitPatternHexadecimal() 
+                    + " should be signaling NaN";
+            assert number.isSignalingNaN() : msg;
+        }
+        int[] notSignaling = {QUIET_NAN_BITS, -1, 0x7F800000, 0xFF800000, 
+            0x3FC00000};
+        for (int i : notSignaling) {
+            SinglePrecisionNumber number = new SinglePrecisionNumber(i);
+            String msg = number.bitPatternHexadecimal() 
+                    + " should not be signaling NaN";
+            assert !number.isSignalingNaN() : msg;
+        }
     }
-
+    
     /**
      * Test of to32BitPrimitive method, of class SinglePrecisionNumber.
      */
-    @Test(enabled = false)
+    @Test
     public void testTo32BitPrimitive() {
         System.out.println("to32BitPrimitive");
-        SinglePrecisionNumber instance = null;
-        float expResult = 0.0F;
-        float result = instance.to32BitPrimitive();
-        assertEquals(result, expResult, 0.0);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        for (int n = 0; n < 1000; n++) {
+            float expected = chooseNonNaN();
+            SinglePrecisionNumber instance 
+                    = SinglePrecisionNumber.fromPrimitive(expected);
+            float actual = instance.to32BitPrimitive();
+            assertEquals(Float.floatToRawIntBits(actual), 
+                    Float.floatToRawIntBits(expected));
+        }
     }
-
+    
     /**
      * Test of to64BitPrimitive method, of class SinglePrecisionNumber.
      */
-    @Test(enabled = false)
+    @Test
     public void testTo64BitPrimitive() {
         System.out.println("to64BitPrimitive");
-        SinglePrecisionNumber instance = null;
-        double expResult = 0.0;
-        double result = instance.to64BitPrimitive();
-        assertEquals(result, expResult, 0.0);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        for (int n = 0; n < 1000; n++) {
+            float f = chooseNonNaN();
+            SinglePrecisionNumber instance 
+                    = SinglePrecisionNumber.fromPrimitive(f);
+            double expected = f;
+            double actual = instance.to64BitPrimitive();
+            assertEquals(actual, expected, 0.0);
+        }
     }
-
+    
     /**
-     * Test of toQuarterPrecision method, of class SinglePrecisionNumber.
+     * Test of toQuarterPrecision method, of class SinglePrecisionNumber. 
+     * Every quarter precision number that is not NaN should make the round 
+     * trip to single precision and back unchanged.
      */
-    @Test(enabled = false)
+    @Test
     public void testToQuarterPrecision() {
         System.out.println("toQuarterPrecision");
-        SinglePrecisionNumber instance = null;
-        QuarterPrecisionNumber expResult = null;
-        QuarterPrecisionNumber result = instance.toQuarterPrecision();
-        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        for (int i = Byte.MIN_VALUE; i <= Byte.MAX_VALUE; i++) {
+            QuarterPrecisionNumber expected 
+                    = new QuarterPrecisionNumber((byte) i);
+            if (!expected.isNaN()) {
+                SinglePrecisionNumber number = expected.toSinglePrecision();
+                QuarterPrecisionNumber actual = number.toQuarterPrecision();
+                assertEquals(actual, expected);
+            }
+        }
     }
-
+    
+    @Test
+    public void testToQuarterPrecisionRoundsTiesToEven() {
+        float[] numbers = {1.0625f, 1.1875f, -1.0625f, 248.0f, 247.99f};
+        byte[] expecteds = {0x38, 0x3A, (byte) 0xB8, 0x78, 0x77};
+        for (int index = 0; index < numbers.length; index++) {
+            SinglePrecisionNumber number 
+                    = SinglePrecisionNumber.fromPrimitive(numbers[index]);
+            QuarterPrecisionNumber expected 
+                    = new QuarterPrecisionNumber(expecteds[index]);
+            QuarterPrecisionNumber actual = number.toQuarterPrecision();
+            String message = "Rounding " + number.toString() 
+                    + " to quarter precision";
+            assertEquals(actual, expected, message);
+        }
+    }
+    
+    @Test
+    public void testToQuarterPrecisionKeepsSignalingNaN() {
+        SinglePrecisionNumber number 
+                = new SinglePrecisionNumber(SIGNALING_NAN_BITS);
+        QuarterPrecisionNumber result = number.toQuarterPrecision();
+        String msg = "Narrowing " + number.bitPatternHexadecimal() 
+                + " gave " + result.bitPatternHexadecimal() 
+                + ", should be signaling NaN";
+        assert result.isSignalingNaN() : msg;
+    }
+    
     /**
-     * Test of toHalfPrecision method, of class SinglePrecisionNumber.
+     * Test of toHalfPrecision method, of class SinglePrecisionNumber. Every 
+     * half precision number that is not NaN should make the round trip to 
+     * single precision and back unchanged.
      */
-    @Test(enabled = false)
+    @Test
     public void testToHalfPrecision() {
         System.out.println("toHalfPrecision");
-        SinglePrecisionNumber instance = null;
-        HalfPrecisionNumber expResult = null;
-        HalfPrecisionNumber result = instance.toHalfPrecision();
-        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        for (int i = Short.MIN_VALUE; i <= Short.MAX_VALUE; i++) {
+            HalfPrecisionNumber expected = new HalfPrecisionNumber((short) i);
+            if (!expected.isNaN()) {
+                SinglePrecisionNumber number = expected.toSinglePrecision();
+                HalfPrecisionNumber actual = number.toHalfPrecision();
+                assertEquals(actual, expected);
+            }
+        }
     }
-
+    
+    @Test
+    public void testToHalfPrecisionRoundsTiesToEven() {
+        float[] numbers = {1.00048828125f, 1.00146484375f, 65519.0f, 65520.0f, 
+            Float.MIN_VALUE, 2.9802322E-8f, 2.9802326E-8f};
+        short[] expecteds = {0x3C00, 0x3C02, 0x7BFF, 0x7C00, 0, 0, 1};
+        for (int index = 0; index < numbers.length; index++) {
+            SinglePrecisionNumber number 
+                    = SinglePrecisionNumber.fromPrimitive(numbers[index]);
+            HalfPrecisionNumber expected 
+                    = new HalfPrecisionNumber(expecteds[index]);
+            HalfPrecisionNumber actual = number.toHalfPrecision();
+            String message = "Rounding " + number.toString() 
+                    + " to half precision";
+            assertEquals(actual, expected, message);
+        }
+    }
+    
     /**
      * Test of toSinglePrecision method, of class SinglePrecisionNumber.
      */
-    @Test(enabled = false)
+    @Test
     public void testToSinglePrecision() {
         System.out.println("toSinglePrecision");
-        SinglePrecisionNumber instance = null;
-        SinglePrecisionNumber expResult = null;
-        SinglePrecisionNumber result = instance.toSinglePrecision();
-        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        SinglePrecisionNumber expected 
+                = new SinglePrecisionNumber(RANDOM.nextInt());
+        SinglePrecisionNumber actual = expected.toSinglePrecision();
+        assertEquals(actual, expected);
     }
-
+    
     /**
      * Test of toDoublePrecision method, of class SinglePrecisionNumber.
      */
-    @Test(enabled = false)
+    @Test
     public void testToDoublePrecision() {
         System.out.println("toDoublePrecision");
-        SinglePrecisionNumber instance = null;
-        DoublePrecisionNumber expResult = null;
-        DoublePrecisionNumber result = instance.toDoublePrecision();
-        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        for (int n = 0; n < 1000; n++) {
+            float f = chooseNonNaN();
+            SinglePrecisionNumber instance 
+                    = SinglePrecisionNumber.fromPrimitive(f);
+            DoublePrecisionNumber expected 
+                    = DoublePrecisionNumber.fromPrimitive(f);
+            DoublePrecisionNumber actual = instance.toDoublePrecision();
+            assertEquals(actual, expected);
+        }
     }
-
+    
+    @Test
+    public void testToDoublePrecisionKeepsNaNPayload() {
+        int[] patterns = {SIGNALING_NAN_BITS, 0xFFA5A5A5, QUIET_NAN_BITS, 
+            0x7FC12345};
+        for (int i : patterns) {
+            SinglePrecisionNumber number = new SinglePrecisionNumber(i);
+            DoublePrecisionNumber widened = number.toDoublePrecision();
+            assertEquals(widened.isSignalingNaN(), number.isSignalingNaN());
+            SinglePrecisionNumber actual = widened.toSinglePrecision();
+            assertEquals(actual, number);
+        }
+    }
+    
     /**
      * Test of toQuadruplePrecision method, of class SinglePrecisionNumber.
      */
-    @Test(enabled = false)
+    @Test
     public void testToQuadruplePrecision() {
         System.out.println("toQuadruplePrecision");
-        SinglePrecisionNumber instance = null;
-        QuadruplePrecisionNumber expResult = null;
-        QuadruplePrecisionNumber result = instance.toQuadruplePrecision();
-        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        for (int n = 0; n < 1000; n++) {
+            SinglePrecisionNumber number 
+                    = new SinglePrecisionNumber(RANDOM.nextInt());
+            QuadruplePrecisionNumber actual = number.toQuadruplePrecision();
+            if (number.isNaN()) {
+                String msg = "Widened NaN should keep signaling bit";
+                assertEquals(actual.isSignalingNaN(), number.isSignalingNaN(), 
+                        msg);
+                assertEquals(actual.toSinglePrecision(), number);
+            } else {
+                long bits = Double.doubleToLongBits(number.to64BitPrimitive());
+                QuadruplePrecisionNumber expected 
+                        = QuadruplePrecisionNumberNGTest.fromDoubleBits(bits);
+                assertEquals(actual, expected);
+            }
+        }
     }
-
+    
     /**
      * Test of toOctuplePrecision method, of class SinglePrecisionNumber.
      */
-    @Test(enabled = false)
+    @Test
     public void testToOctuplePrecision() {
         System.out.println("toOctuplePrecision");
-        SinglePrecisionNumber instance = null;
-        OctuplePrecisionNumber expResult = null;
-        OctuplePrecisionNumber result = instance.toOctuplePrecision();
-        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        for (int n = 0; n < 1000; n++) {
+            SinglePrecisionNumber number 
+                    = new SinglePrecisionNumber(RANDOM.nextInt());
+            byte[] expected 
+                    = number.toQuadruplePrecision().toOctuplePrecision()
+                            .getBytes();
+            byte[] actual = number.toOctuplePrecision().getBytes();
+            assertEquals(actual, expected);
+        }
     }
-
+    
     /**
      * Test of plus method, of class SinglePrecisionNumber.
      */
-    @Test(enabled = false)
+    @Test
     public void testPlus() {
         System.out.println("plus");
-        FloatingPointNumber addend = null;
-        SinglePrecisionNumber instance = null;
-        FloatingPointNumber expResult = null;
-        FloatingPointNumber result = instance.plus(addend);
-        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        for (int n = 0; n < 1000; n++) {
+            float a = chooseNonNaN();
+            float b = chooseNonNaN();
+            SinglePrecisionNumber augend 
+                    = SinglePrecisionNumber.fromPrimitive(a);
+            SinglePrecisionNumber addend 
+                    = SinglePrecisionNumber.fromPrimitive(b);
+            SinglePrecisionNumber expected 
+                    = SinglePrecisionNumber.fromPrimitive(a + b);
+            SinglePrecisionNumber actual = augend.plus(addend);
+            String message = "Adding " + a + " and " + b;
+            assertEquals(actual, expected, message);
+        }
     }
-
+    
+    @Test
+    public void testPlusConvertsAddendOfOtherFormat() {
+        SinglePrecisionNumber augend = SinglePrecisionNumber.fromPrimitive(1.5f);
+        HalfPrecisionNumber addend = new HalfPrecisionNumber((short) 0x3E00);
+        SinglePrecisionNumber expected 
+                = SinglePrecisionNumber.fromPrimitive(3.0f);
+        SinglePrecisionNumber actual = augend.plus(addend);
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testPlusKeepsSignalingNaN() {
+        SinglePrecisionNumber signaling 
+                = new SinglePrecisionNumber(SIGNALING_NAN_BITS | 0x1234);
+        SinglePrecisionNumber other = SinglePrecisionNumber.fromPrimitive(1.5f);
+        assertEquals(signaling.plus(other), signaling);
+        assertEquals(other.plus(signaling), signaling);
+        SinglePrecisionNumber quiet = new SinglePrecisionNumber(QUIET_NAN_BITS);
+        assertEquals(quiet.plus(signaling), signaling);
+        SinglePrecisionNumber otherSignaling 
+                = new SinglePrecisionNumber(SIGNALING_NAN_BITS);
+        assertEquals(signaling.plus(otherSignaling), signaling);
+    }
+    
+    @Test
+    public void testPlusQuietNaNGivesNaN() {
+        SinglePrecisionNumber quiet = new SinglePrecisionNumber(QUIET_NAN_BITS);
+        SinglePrecisionNumber other = SinglePrecisionNumber.fromPrimitive(1.5f);
+        SinglePrecisionNumber result = other.plus(quiet);
+        String msg = "1.5 + NaN should be NaN, not " + result.toString();
+        assert result.isNaN() : msg;
+    }
+    
     /**
      * Test of negate method, of class SinglePrecisionNumber.
      */
-    @Test(enabled = false)
+    @Test
     public void testNegate() {
         System.out.println("negate");
-        SinglePrecisionNumber instance = null;
-        FloatingPointNumber expResult = null;
-        FloatingPointNumber result = instance.negate();
-        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        for (int n = 0; n < 1000; n++) {
+            int i = RANDOM.nextInt();
+            SinglePrecisionNumber instance = new SinglePrecisionNumber(i);
+            SinglePrecisionNumber expected 
+                    = new SinglePrecisionNumber(i ^ Integer.MIN_VALUE);
+            SinglePrecisionNumber actual = instance.negate();
+            assertEquals(actual, expected);
+        }
     }
-
+    
     /**
      * Test of minus method, of class SinglePrecisionNumber.
      */
-    @Test(enabled = false)
+    @Test
     public void testMinus() {
         System.out.println("minus");
-        FloatingPointNumber subtrahend = null;
-        SinglePrecisionNumber instance = null;
-        FloatingPointNumber expResult = null;
-        FloatingPointNumber result = instance.minus(subtrahend);
-        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        for (int n = 0; n < 1000; n++) {
+            float a = chooseNonNaN();
+            float b = chooseNonNaN();
+            SinglePrecisionNumber minuend 
+                    = SinglePrecisionNumber.fromPrimitive(a);
+            SinglePrecisionNumber subtrahend 
+                    = SinglePrecisionNumber.fromPrimitive(b);
+            SinglePrecisionNumber expected 
+                    = SinglePrecisionNumber.fromPrimitive(a - b);
+            SinglePrecisionNumber actual = minuend.minus(subtrahend);
+            String message = "Subtracting " + b + " from " + a;
+            assertEquals(actual, expected, message);
+        }
     }
-
+    
+    @Test
+    public void testMinusKeepsSignalingNaN() {
+        SinglePrecisionNumber signaling 
+                = new SinglePrecisionNumber(SIGNALING_NAN_BITS);
+        SinglePrecisionNumber other = SinglePrecisionNumber.fromPrimitive(1.5f);
+        assertEquals(signaling.minus(other), signaling);
+        assertEquals(other.minus(signaling), signaling);
+    }
+    
     /**
      * Test of times method, of class SinglePrecisionNumber.
      */
-    @Test(enabled = false)
+    @Test
     public void testTimes() {
         System.out.println("times");
-        FloatingPointNumber multiplicand = null;
-        SinglePrecisionNumber instance = null;
-        FloatingPointNumber expResult = null;
-        FloatingPointNumber result = instance.times(multiplicand);
-        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        for (int n = 0; n < 1000; n++) {
+            float a = chooseNonNaN();
+            float b = chooseNonNaN();
+            SinglePrecisionNumber multiplier 
+                    = SinglePrecisionNumber.fromPrimitive(a);
+            SinglePrecisionNumber multiplicand 
+                    = SinglePrecisionNumber.fromPrimitive(b);
+            SinglePrecisionNumber expected 
+                    = SinglePrecisionNumber.fromPrimitive(a * b);
+            SinglePrecisionNumber actual = multiplier.times(multiplicand);
+            String message = "Multiplying " + a + " by " + b;
+            assertEquals(actual, expected, message);
+        }
     }
-
+    
+    @Test
+    public void testTimesKeepsSignalingNaN() {
+        SinglePrecisionNumber signaling 
+                = new SinglePrecisionNumber(SIGNALING_NAN_BITS);
+        SinglePrecisionNumber other = SinglePrecisionNumber.fromPrimitive(0.0f);
+        assertEquals(signaling.times(other), signaling);
+        assertEquals(other.times(signaling), signaling);
+    }
+    
     /**
      * Test of reciprocal method, of class SinglePrecisionNumber.
      */
-    @Test(enabled = false)
+    @Test
     public void testReciprocal() {
         System.out.println("reciprocal");
-        SinglePrecisionNumber instance = null;
-        FloatingPointNumber expResult = null;
-        FloatingPointNumber result = instance.reciprocal();
-        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        for (int n = 0; n < 1000; n++) {
+            float f = chooseNonNaN();
+            SinglePrecisionNumber instance 
+                    = SinglePrecisionNumber.fromPrimitive(f);
+            SinglePrecisionNumber expected 
+                    = SinglePrecisionNumber.fromPrimitive(1.0f / f);
+            SinglePrecisionNumber actual = instance.reciprocal();
+            String message = "Reciprocal of " + f;
+            assertEquals(actual, expected, message);
+        }
+        SinglePrecisionNumber signaling 
+                = new SinglePrecisionNumber(SIGNALING_NAN_BITS);
+        assertEquals(signaling.reciprocal(), signaling);
     }
-
+    
     /**
      * Test of divides method, of class SinglePrecisionNumber.
      */
-    @Test(enabled = false)
+    @Test
     public void testDivides() {
         System.out.println("divides");
-        FloatingPointNumber divisor = null;
-        SinglePrecisionNumber instance = null;
-        FloatingPointNumber expResult = null;
-        FloatingPointNumber result = instance.divides(divisor);
-        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        for (int n = 0; n < 1000; n++) {
+            float a = chooseNonNaN();
+            float b = chooseNonNaN();
+            SinglePrecisionNumber dividend 
+                    = SinglePrecisionNumber.fromPrimitive(a);
+            SinglePrecisionNumber divisor 
+                    = SinglePrecisionNumber.fromPrimitive(b);
+            SinglePrecisionNumber expected 
+                    = SinglePrecisionNumber.fromPrimitive(a / b);
+            SinglePrecisionNumber actual = dividend.divides(divisor);
+            String message = "Dividing " + a + " by " + b;
+            assertEquals(actual, expected, message);
+        }
     }
-
+    
+    @Test
+    public void testDividesKeepsSignalingNaN() {
+        SinglePrecisionNumber signaling 
+                = new SinglePrecisionNumber(SIGNALING_NAN_BITS);
+        SinglePrecisionNumber other = SinglePrecisionNumber.fromPrimitive(0.0f);
+        assertEquals(signaling.divides(other), signaling);
+        assertEquals(other.divides(signaling), signaling);
+    }
+    
     /**
      * Test of arithmeticallyEqual method, of class SinglePrecisionNumber.
      */
-    @Test(enabled = false)
+    @Test
     public void testArithmeticallyEqual() {
         System.out.println("arithmeticallyEqual");
-        FloatingPointNumber other = null;
-        SinglePrecisionNumber instance = null;
-        boolean expResult = false;
-        boolean result = instance.arithmeticallyEqual(other);
-        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        SinglePrecisionNumber positiveZero 
+                = SinglePrecisionNumber.fromPrimitive(0.0f);
+        SinglePrecisionNumber negativeZero 
+                = SinglePrecisionNumber.fromPrimitive(-0.0f);
+        assert positiveZero.arithmeticallyEqual(negativeZero) 
+                : "0.0 should be arithmetically equal to -0.0";
+        SinglePrecisionNumber oneAndAHalf 
+                = SinglePrecisionNumber.fromPrimitive(1.5f);
+        HalfPrecisionNumber halfOneAndAHalf 
+                = new HalfPrecisionNumber((short) 0x3E00);
+        assert oneAndAHalf.arithmeticallyEqual(halfOneAndAHalf) 
+                : "1.5 should be arithmetically equal to 1.5 from half";
+        SinglePrecisionNumber oneTenth 
+                = SinglePrecisionNumber.fromPrimitive(0.1f);
+        DoublePrecisionNumber doubleOneTenth 
+                = DoublePrecisionNumber.fromPrimitive(0.1);
+        assert !oneTenth.arithmeticallyEqual(doubleOneTenth) 
+                : "0.1f should not be arithmetically equal to 0.1";
+        SinglePrecisionNumber nan = new SinglePrecisionNumber(QUIET_NAN_BITS);
+        assert !nan.arithmeticallyEqual(nan) 
+                : "NaN should not be arithmetically equal to itself";
     }
-
+    
     /**
      * Test of bitPatternHexadecimal method, of class SinglePrecisionNumber.
      */
-    @Test(enabled = false)
+    @Test
     public void testBitPatternHexadecimal() {
         System.out.println("bitPatternHexadecimal");
-        SinglePrecisionNumber instance = null;
-        String expResult = "";
-        String result = instance.bitPatternHexadecimal();
-        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        for (int n = 0; n < 1000; n++) {
+            int i = RANDOM.nextInt();
+            SinglePrecisionNumber instance = new SinglePrecisionNumber(i);
+            String expected = String.format("%08x", i);
+            String actual = instance.bitPatternHexadecimal();
+            assertEquals(actual, expected);
+        }
     }
-
+    
     /**
      * Test of fromPrimitive method, of class SinglePrecisionNumber.
      */
-    @Test(enabled = false)
+    @Test
     public void testFromPrimitive() {
         System.out.println("fromPrimitive");
-        float number = 0.0F;
-        SinglePrecisionNumber expResult = null;
-        SinglePrecisionNumber result = SinglePrecisionNumber.fromPrimitive(number);
-        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        for (int n = 0; n < 1000; n++) {
+            float f = chooseNonNaN();
+            int i = Float.floatToRawIntBits(f);
+            SinglePrecisionNumber expected = new SinglePrecisionNumber(i);
+            SinglePrecisionNumber actual 
+                    = SinglePrecisionNumber.fromPrimitive(f);
+            assertEquals(actual, expected);
+        }
+    }
+    
+    @Test
+    public void testConstructorsAgreeOnBytes() {
+        for (int n = 0; n < 1000; n++) {
+            int i = RANDOM.nextInt();
+            SinglePrecisionNumber expected = new SinglePrecisionNumber(i);
+            FloatingPointNumber actual 
+                    = FloatingPointNumber.apply(expected.getBytes());
+            assertEquals(actual, expected);
+            assertEquals(actual.hashCode(), expected.hashCode());
+        }
+    }
+    
+    @Test
+    public void testToString() {
+        for (int n = 0; n < 1000; n++) {
+            float f = Math.abs(chooseNonNaN());
+            SinglePrecisionNumber positive 
+                    = SinglePrecisionNumber.fromPrimitive(f);
+            String expected = Float.toString(f);
+            assertEquals(positive.toString(), expected);
+            assertEquals(positive.negate().toString(), "\u2212" + expected);
+        }
+    }
+    
+    @Test
+    public void testToStringNaN() {
+        SinglePrecisionNumber nan = new SinglePrecisionNumber(0xFFC00000);
+        assertEquals(nan.toString(), "NaN");
     }
     
 }
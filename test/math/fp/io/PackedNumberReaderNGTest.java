@@ -0,0 +1,318 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fp.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import math.fp.FloatingPointNumber;
+import math.fp.HalfPrecisionNumber;
+import math.fp.Precision;
+import math.fp.QuarterPrecisionNumber;
+
+import static math.fp.io.PackedNumberWriterNGTest.RANDOM;
+import static math.fp.io.PackedNumberWriterNGTest.makeTempFile;
+
+import static org.testframe.api.Asserters.assertThrows;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the PackedNumberReader class.
+ * @author Alonso del Arte
+ */
+public class PackedNumberReaderNGTest {
+    
+    private static final ByteOrder[] ORDERS = {ByteOrder.BIG_ENDIAN, 
+        ByteOrder.LITTLE_ENDIAN};
+    
+    @Test
+    public void testReadBytes() throws IOException {
+        System.out.println("readBytes");
+        int chunkLength = RANDOM.nextInt(16, 64);
+        int count = RANDOM.nextInt(64, 256);
+        byte[] expected = new byte[count];
+        RANDOM.nextBytes(expected);
+        Path path = makeTempFile();
+        try (PackedNumberWriter writer = new PackedNumberWriter(path, 
+                Precision.QUARTER, ByteOrder.BIG_ENDIAN, chunkLength, true)) {
+            writer.writeBytes(expected, 0, count);
+        }
+        try (PackedNumberReader reader = new PackedNumberReader(path)) {
+            assertEquals(reader.size(), count);
+            byte[] actual = new byte[count];
+            int position = 0;
+            for (int i = 0; i < reader.getChunkCount(); i++) {
+                byte[] chunk = reader.readBytes(i);
+                assertEquals(chunk.length, reader.getChunkSize(i));
+                System.arraycopy(chunk, 0, actual, position, chunk.length);
+                position += chunk.length;
+            }
+            assertEquals(actual, expected);
+        }
+    }
+    
+    @Test
+    public void testReadShorts() throws IOException {
+        System.out.println("readShorts");
+        for (ByteOrder order : ORDERS) {
+            int count = RANDOM.nextInt(64, 256);
+            short[] expected = new short[count];
+            for (int i = 0; i < count; i++) {
+                expected[i] = (short) RANDOM.nextInt();
+            }
+            Path path = makeTempFile();
+            try (PackedNumberWriter writer = new PackedNumberWriter(path, 
+                    Precision.HALF, order, count, false)) {
+                writer.writeShorts(expected, 0, count);
+            }
+            try (PackedNumberReader reader = new PackedNumberReader(path)) {
+                assertEquals(reader.getByteOrder(), order);
+                assertEquals(reader.getChunkCount(), 1);
+                short[] actual = reader.readShorts(0);
+                assertEquals(actual, expected);
+            }
+        }
+    }
+    
+    @Test
+    public void testReadInts() throws IOException {
+        System.out.println("readInts");
+        for (ByteOrder order : ORDERS) {
+            int count = RANDOM.nextInt(64, 256);
+            int[] expected = RANDOM.ints(count).toArray();
+            Path path = makeTempFile();
+            try (PackedNumberWriter writer = new PackedNumberWriter(path, 
+                    Precision.SINGLE, order, count, true)) {
+                writer.writeInts(expected, 0, count);
+            }
+            try (PackedNumberReader reader = new PackedNumberReader(path)) {
+                int[] actual = reader.readInts(0);
+                assertEquals(actual, expected);
+            }
+        }
+    }
+    
+    @Test
+    public void testReadLongs() throws IOException {
+        System.out.println("readLongs");
+        Precision[] precisions = {Precision.DOUBLE, Precision.QUADRUPLE, 
+            Precision.OCTUPLE};
+        for (Precision precision : precisions) {
+            for (ByteOrder order : ORDERS) {
+                int limbs = precision.getByteCount() / Long.BYTES;
+                int count = RANDOM.nextInt(16, 64);
+                long[] expected = RANDOM.longs(count * limbs).toArray();
+                Path path = makeTempFile();
+                try (PackedNumberWriter writer = new PackedNumberWriter(path, 
+                        precision, order, count, true)) {
+                    writer.writeLongs(expected, 0, expected.length);
+                }
+                try (PackedNumberReader reader = new PackedNumberReader(path)) {
+                    long[] actual = reader.readLongs(0);
+                    String message = "Reading " + precision + " numbers in " 
+                            + order + " order";
+                    assertEquals(actual, expected, message);
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void testGet() throws IOException {
+        System.out.println("get");
+        for (ByteOrder order : ORDERS) {
+            int chunkLength = RANDOM.nextInt(4, 16);
+            Path path = makeTempFile();
+            FloatingPointNumber[] expected = new FloatingPointNumber[64];
+            try (PackedNumberWriter writer = new PackedNumberWriter(path, 
+                    Precision.HALF, order, chunkLength, true)) {
+                for (int i = 0; i < expected.length; i++) {
+                    expected[i] = new HalfPrecisionNumber((short) 
+                            RANDOM.nextInt());
+                    writer.write(expected[i]);
+                }
+            }
+            try (PackedNumberReader reader = new PackedNumberReader(path)) {
+                for (int i = 0; i < expected.length; i++) {
+                    FloatingPointNumber actual = reader.get(i);
+                    assertEquals(actual, expected[i]);
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void testGetWideNumbers() throws IOException {
+        for (ByteOrder order : ORDERS) {
+            Path path = makeTempFile();
+            FloatingPointNumber[] expected = new FloatingPointNumber[16];
+            try (PackedNumberWriter writer = new PackedNumberWriter(path, 
+                    Precision.QUADRUPLE, order, 5, true)) {
+                for (int i = 0; i < expected.length; i++) {
+                    byte[] bytes = new byte[16];
+                    RANDOM.nextBytes(bytes);
+                    expected[i] = FloatingPointNumber.apply(bytes);
+                    writer.write(expected[i]);
+                }
+            }
+            try (PackedNumberReader reader = new PackedNumberReader(path)) {
+                for (int i = 0; i < expected.length; i++) {
+                    FloatingPointNumber actual = reader.get(i);
+                    assertEquals(actual, expected[i]);
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void testMapChunkIsReadOnly() throws IOException {
+        System.out.println("mapChunk");
+        Path path = makeTempFile();
+        try (PackedNumberWriter writer = new PackedNumberWriter(path, 
+                Precision.QUARTER)) {
+            writer.writeBytes(new byte[10], 0, 10);
+        }
+        try (PackedNumberReader reader = new PackedNumberReader(path)) {
+            ByteBuffer buffer = reader.mapChunk(0);
+            assert buffer.isReadOnly() : "Mapped chunk should be read-only";
+            assertEquals(buffer.remaining(), 10);
+        }
+    }
+    
+    @Test
+    public void testChunkMinimumAndMaximum() throws IOException {
+        System.out.println("getChunkMinimum, getChunkMaximum");
+        byte[] bitPatterns = {60, -8, 127, -60, 0, Byte.MIN_VALUE, 119, -4, 
+            -60, 120, 8, -121};
+        Path path = makeTempFile();
+        try (PackedNumberWriter writer = new PackedNumberWriter(path, 
+                Precision.QUARTER, ByteOrder.BIG_ENDIAN, 6, true)) {
+            writer.writeBytes(bitPatterns, 0, bitPatterns.length);
+        }
+        try (PackedNumberReader reader = new PackedNumberReader(path)) {
+            assertEquals(reader.getChunkMinimum(0), 
+                    new QuarterPrecisionNumber((byte) -8));
+            assertEquals(reader.getChunkMaximum(0), 
+                    new QuarterPrecisionNumber((byte) 60));
+            assertEquals(reader.getChunkMinimum(1), 
+                    new QuarterPrecisionNumber((byte) -60));
+            assertEquals(reader.getChunkMaximum(1), 
+                    new QuarterPrecisionNumber((byte) 120));
+        }
+    }
+    
+    @Test
+    public void testWideChunkMinimumAndMaximum() throws IOException {
+        byte[] negative = new byte[16];
+        negative[0] = -64;
+        byte[] positive = new byte[16];
+        positive[0] = 64;
+        byte[] nan = new byte[16];
+        nan[0] = Byte.MAX_VALUE;
+        nan[1] = -1;
+        nan[15] = 1;
+        byte[] negativeZero = new byte[16];
+        negativeZero[0] = Byte.MIN_VALUE;
+        Path path = makeTempFile();
+        try (PackedNumberWriter writer = new PackedNumberWriter(path, 
+                Precision.QUADRUPLE, ByteOrder.LITTLE_ENDIAN, 4, true)) {
+            writer.write(FloatingPointNumber.apply(negativeZero));
+            writer.write(FloatingPointNumber.apply(nan));
+            writer.write(FloatingPointNumber.apply(positive));
+            writer.write(FloatingPointNumber.apply(negative));
+        }
+        try (PackedNumberReader reader = new PackedNumberReader(path)) {
+            assertEquals(reader.getChunkMinimum(0).getBytes(), negative);
+            assertEquals(reader.getChunkMaximum(0).getBytes(), positive);
+        }
+    }
+    
+    @Test
+    public void testNoStatisticsCausesException() throws IOException {
+        Path path = makeTempFile();
+        try (PackedNumberWriter writer = new PackedNumberWriter(path, 
+                Precision.QUARTER, ByteOrder.BIG_ENDIAN, 8, false)) {
+            writer.writeBytes(new byte[8], 0, 8);
+        }
+        try (PackedNumberReader reader = new PackedNumberReader(path)) {
+            assert !reader.hasChunkStatistics() 
+                    : "File should not have chunk statistics";
+            String msg = "Asking for minimum should cause exception";
+            assertThrows(() -> {
+                FloatingPointNumber badMin = reader.getChunkMinimum(0);
+                System.out.println(msg + ", not given result " + badMin);
+            }, IllegalStateException.class, msg);
+        }
+    }
+    
+    @Test
+    public void testReadRejectsOtherFormat() throws IOException {
+        Path path = makeTempFile();
+        try (PackedNumberWriter writer = new PackedNumberWriter(path, 
+                Precision.QUARTER)) {
+            writer.writeBytes(new byte[8], 0, 8);
+        }
+        try (PackedNumberReader reader = new PackedNumberReader(path)) {
+            String msg = "Reading shorts from quarter file should fail";
+            assertThrows(() -> {
+                short[] badShorts = reader.readShorts(0);
+                System.out.println(msg + ", not given " + badShorts.length);
+            }, IllegalStateException.class, msg);
+        }
+    }
+    
+    @Test
+    public void testConstructorRejectsBadMagic() throws IOException {
+        Path path = makeTempFile();
+        byte[] bytes = new byte[PackedNumberFileHeader.LENGTH];
+        RANDOM.nextBytes(bytes);
+        bytes[0] = 'X';
+        Files.write(path, bytes);
+        String msg = "File without magic should cause exception";
+        Throwable t = assertThrows(() -> {
+            PackedNumberReader badReader = new PackedNumberReader(path);
+            badReader.close();
+        }, IOException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Message should not be null";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    @Test
+    public void testConstructorRejectsTruncatedFile() throws IOException {
+        Path path = makeTempFile();
+        try (PackedNumberWriter writer = new PackedNumberWriter(path, 
+                Precision.HALF)) {
+            writer.writeShorts(new short[100], 0, 100);
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        byte[] truncated = new byte[bytes.length - 2];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+        Files.write(path, truncated);
+        String msg = "Truncated file should cause exception";
+        assertThrows(() -> {
+            PackedNumberReader badReader = new PackedNumberReader(path);
+            badReader.close();
+        }, IOException.class, msg);
+    }
+    
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fp.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import math.fp.HalfPrecisionNumber;
+import math.fp.Precision;
+import math.fp.QuarterPrecisionNumber;
+
+import static org.testframe.api.Asserters.assertThrows;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the PackedNumberWriter class.
+ * @author Alonso del Arte
+ */
+public class PackedNumberWriterNGTest {
+    
+    static final Random RANDOM = new Random();
+    
+    static Path makeTempFile() throws IOException {
+        Path path = Files.createTempFile("packed", ".fpna");
+        path.toFile().deleteOnExit();
+        return path;
+    }
+    
+    @Test
+    public void testHeader() throws IOException {
+        Path path = makeTempFile();
+        int chunkLength = RANDOM.nextInt(16, 64);
+        int count = RANDOM.nextInt(64, 256);
+        try (PackedNumberWriter writer = new PackedNumberWriter(path, 
+                Precision.HALF, ByteOrder.LITTLE_ENDIAN, chunkLength, true)) {
+            short[] bitPatterns = new short[count];
+            writer.writeShorts(bitPatterns, 0, count);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        assertEquals(buffer.get(), (byte) 'F');
+        assertEquals(buffer.get(), (byte) 'P');
+        assertEquals(buffer.get(), (byte) 'N');
+        assertEquals(buffer.get(), (byte) 'A');
+        assertEquals(buffer.get(), PackedNumberFileHeader.VERSION);
+        assertEquals(buffer.get(), (byte) 2);
+        assertEquals(buffer.get(), (byte) 1);
+        assertEquals(buffer.get(), (byte) 1);
+        assertEquals(buffer.getInt(), chunkLength);
+        assertEquals(buffer.getInt(), 0);
+        assertEquals(buffer.getLong(), count);
+    }
+    
+    @Test
+    public void testFileSize() throws IOException {
+        Path path = makeTempFile();
+        int chunkLength = RANDOM.nextInt(16, 64);
+        int count = RANDOM.nextInt(64, 256);
+        try (PackedNumberWriter writer = new PackedNumberWriter(path, 
+                Precision.QUARTER, ByteOrder.BIG_ENDIAN, chunkLength, true)) {
+            byte[] bitPatterns = new byte[count];
+            RANDOM.nextBytes(bitPatterns);
+            writer.writeBytes(bitPatterns, 0, count);
+        }
+        int chunkCount = (count + chunkLength - 1) / chunkLength;
+        long expected = PackedNumberFileHeader.LENGTH + count + 2 * chunkCount;
+        long actual = Files.size(path);
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testGetCount() throws IOException {
+        System.out.println("getCount");
+        Path path = makeTempFile();
+        try (PackedNumberWriter writer = new PackedNumberWriter(path, 
+                Precision.QUARTER)) {
+            int expected = RANDOM.nextInt(1, 100);
+            for (int i = 0; i < expected; i++) {
+                writer.write(new QuarterPrecisionNumber((byte) i));
+            }
+            assertEquals(writer.getCount(), expected);
+        }
+    }
+    
+    @Test
+    public void testGetPrecision() throws IOException {
+        System.out.println("getPrecision");
+        Path path = makeTempFile();
+        for (Precision expected : Precision.values()) {
+            try (PackedNumberWriter writer 
+                    = new PackedNumberWriter(path, expected)) {
+                assertEquals(writer.getPrecision(), expected);
+            }
+        }
+    }
+    
+    @Test
+    public void testWriteRejectsNumberOfOtherFormat() throws IOException {
+        Path path = makeTempFile();
+        try (PackedNumberWriter writer = new PackedNumberWriter(path, 
+                Precision.QUARTER)) {
+            HalfPrecisionNumber number 
+                    = new HalfPrecisionNumber((short) RANDOM.nextInt());
+            String msg = "Quarter precision writer should reject " 
+                    + number.toString();
+            Throwable t = assertThrows(() -> {
+                writer.write(number);
+            }, IllegalArgumentException.class, msg);
+            String excMsg = t.getMessage();
+            assert excMsg != null : "Message should not be null";
+            assert !excMsg.isBlank() : "Message should not be blank";
+            System.out.println("\"" + excMsg + "\"");
+        }
+    }
+    
+    @Test
+    public void testWriteShortsRejectsOtherFormat() throws IOException {
+        Path path = makeTempFile();
+        try (PackedNumberWriter writer = new PackedNumberWriter(path, 
+                Precision.SINGLE)) {
+            short[] bitPatterns = new short[8];
+            String msg = "Single precision writer should reject shorts";
+            assertThrows(() -> {
+                writer.writeShorts(bitPatterns, 0, bitPatterns.length);
+            }, IllegalStateException.class, msg);
+        }
+    }
+    
+    @Test
+    public void testWriteLongsRejectsPartialNumber() throws IOException {
+        Path path = makeTempFile();
+        try (PackedNumberWriter writer = new PackedNumberWriter(path, 
+                Precision.QUADRUPLE)) {
+            long[] bitPatterns = new long[5];
+            String msg = "Quadruple precision writer should reject 5 longs";
+            assertThrows(() -> {
+                writer.writeLongs(bitPatterns, 0, bitPatterns.length);
+            }, IllegalArgumentException.class, msg);
+        }
+    }
+    
+    @Test
+    public void testWriteAfterCloseCausesException() throws IOException {
+        Path path = makeTempFile();
+        PackedNumberWriter writer = new PackedNumberWriter(path, 
+                Precision.QUARTER);
+        writer.close();
+        String msg = "Writing after closing should cause exception";
+        assertThrows(() -> {
+            writer.write(new QuarterPrecisionNumber((byte) 60));
+        }, IOException.class, msg);
+    }
+    
+    @Test
+    public void testConstructorRejectsBadChunkLength() throws IOException {
+        Path path = makeTempFile();
+        int badLength = -RANDOM.nextInt(1024);
+        String msg = "Chunk length " + badLength + " should cause exception";
+        Throwable t = assertThrows(() -> {
+            PackedNumberWriter badWriter = new PackedNumberWriter(path, 
+                    Precision.HALF, ByteOrder.BIG_ENDIAN, badLength, false);
+            badWriter.close();
+        }, IllegalArgumentException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Message should not be null";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+}
@@ -16,6 +16,13 @@
  */
 package math.fractions;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Random;
+
+import static org.testframe.api.Asserters.assertThrows;
+
 import static org.testng.Assert.*;
 import org.testng.annotations.Test;
 
@@ -25,13 +32,373 @@ import org.testng.annotations.Test;
  */
 public class BigFractionNGTest {
     
-    public BigFractionNGTest() {
+    private static final Random RANDOM = new Random();
+    
+    private static BigInteger randomBigInteger(int bitLength) {
+        return new BigInteger(bitLength, RANDOM).setBit(bitLength - 1);
     }
-
+    
+    @Test
+    public void testConstructorPutsInLowestTerms() {
+        BigInteger expNumer = randomBigInteger(96);
+        BigInteger expDenom = expNumer.add(BigInteger.ONE);
+        BigInteger multiplier = randomBigInteger(80);
+        BigFraction fraction = new BigFraction(expNumer.multiply(multiplier), 
+                expDenom.multiply(multiplier));
+        assertEquals(fraction.getNumerator(), expNumer);
+        assertEquals(fraction.getDenominator(), expDenom);
+    }
+    
+    @Test
+    public void testConstructorTurnsNegativeDenominatorPositive() {
+        BigInteger numer = randomBigInteger(72);
+        BigInteger denom = numer.add(BigInteger.ONE).negate();
+        BigFraction fraction = new BigFraction(numer, denom);
+        assertEquals(fraction.getNumerator(), numer.negate());
+        assertEquals(fraction.getDenominator(), denom.negate());
+    }
+    
+    @Test
+    public void testConstructorRejectsDenomZero() {
+        BigInteger numer = randomBigInteger(72);
+        String msg = "Should not be able to make fraction " + numer + "/0";
+        Exception e = assertThrows(() -> {
+            BigFraction badFraction = new BigFraction(numer, BigInteger.ZERO);
+            System.out.println("Should not have been able to instantiate " 
+                    + badFraction.toString());
+        }, ArithmeticException.class, msg);
+        String excMsg = e.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    @Test
+    public void testToString() {
+        System.out.println("toString");
+        BigInteger numer = randomBigInteger(80).setBit(0);
+        BigInteger denom = numer.add(BigInteger.ONE);
+        BigFraction fraction = new BigFraction(numer.negate(), denom);
+        String expected = "\u2212" + numer + "/" + denom;
+        String actual = fraction.toString();
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testToStringInteger() {
+        BigInteger numer = randomBigInteger(80);
+        BigFraction fraction = new BigFraction(numer);
+        String expected = numer.toString();
+        String actual = fraction.toString();
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testIsInteger() {
+        System.out.println("isInteger");
+        BigInteger numer = randomBigInteger(80);
+        BigFraction integer = new BigFraction(numer);
+        assert integer.isInteger() : integer + " should be an integer";
+        BigFraction fraction = new BigFraction(numer.setBit(0), 
+                BigInteger.TWO);
+        assert !fraction.isInteger() : fraction + " should not be an integer";
+    }
+    
+    @Test
+    public void testFitsInLong() {
+        System.out.println("fitsInLong");
+        BigFraction fraction = new BigFraction(Long.MIN_VALUE, Long.MAX_VALUE);
+        assert fraction.fitsInLong() : fraction + " should fit in long";
+        BigFraction negated = fraction.negate();
+        assert !negated.fitsInLong() : negated + " should not fit in long";
+    }
+    
+    @Test
+    public void testEquals() {
+        System.out.println("equals");
+        BigInteger numer = randomBigInteger(80);
+        BigInteger denom = randomBigInteger(88);
+        BigFraction someFraction = new BigFraction(numer, denom);
+        BigFraction sameFraction = new BigFraction(numer.shiftLeft(3), 
+                denom.shiftLeft(3));
+        assertEquals(someFraction, sameFraction);
+        BigFraction diffFraction = someFraction.plus(1);
+        assertNotEquals(someFraction, diffFraction);
+    }
+    
+    @Test
+    public void testHashCode() {
+        System.out.println("hashCode");
+        long numer = RANDOM.nextLong();
+        long denom = RANDOM.nextLong() & Long.MAX_VALUE | 1L;
+        BigFraction fraction = new BigFraction(numer, denom);
+        Fraction sameValue = new Fraction(numer, denom);
+        int expected = sameValue.hashCode();
+        int actual = fraction.hashCode();
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testPlus() {
+        System.out.println("plus");
+        BigInteger numerA = randomBigInteger(90);
+        BigInteger denomA = randomBigInteger(100);
+        BigInteger numerB = randomBigInteger(70);
+        BigInteger denomB = randomBigInteger(110);
+        BigFraction addendA = new BigFraction(numerA, denomA);
+        BigFraction addendB = new BigFraction(numerB, denomB);
+        BigFraction expected = new BigFraction(numerA.multiply(denomB) 
+                .add(numerB.multiply(denomA)), denomA.multiply(denomB));
+        BigFraction actual = addendA.plus(addendB);
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testMinus() {
+        System.out.println("minus");
+        BigInteger numerA = randomBigInteger(90);
+        BigInteger denomA = randomBigInteger(100);
+        BigInteger numerB = randomBigInteger(70);
+        BigInteger denomB = randomBigInteger(110);
+        BigFraction minuend = new BigFraction(numerA, denomA);
+        BigFraction subtrahend = new BigFraction(numerB, denomB);
+        BigFraction expected = new BigFraction(numerA.multiply(denomB) 
+                .subtract(numerB.multiply(denomA)), denomA.multiply(denomB));
+        BigFraction actual = minuend.minus(subtrahend);
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testMinusLong() {
+        BigInteger numer = randomBigInteger(90);
+        BigInteger denom = randomBigInteger(60);
+        BigFraction fraction = new BigFraction(numer, denom);
+        long subtrahend = RANDOM.nextLong();
+        BigFraction expected = fraction 
+                .minus(new BigFraction(BigInteger.valueOf(subtrahend)));
+        BigFraction actual = fraction.minus(subtrahend);
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testTimes() {
+        System.out.println("times");
+        BigInteger numerA = randomBigInteger(90);
+        BigInteger denomA = randomBigInteger(100);
+        BigInteger numerB = randomBigInteger(70);
+        BigInteger denomB = randomBigInteger(110);
+        BigFraction multiplicandA = new BigFraction(numerA, denomA);
+        BigFraction multiplicandB = new BigFraction(numerB, denomB);
+        BigFraction expected = new BigFraction(numerA.multiply(numerB), 
+                denomA.multiply(denomB));
+        BigFraction actual = multiplicandA.times(multiplicandB);
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testDivides() {
+        System.out.println("divides");
+        BigInteger numerA = randomBigInteger(90);
+        BigInteger denomA = randomBigInteger(100);
+        BigInteger numerB = randomBigInteger(70);
+        BigInteger denomB = randomBigInteger(110);
+        BigFraction dividend = new BigFraction(numerA, denomA);
+        BigFraction divisor = new BigFraction(numerB, denomB);
+        BigFraction expected = new BigFraction(numerA.multiply(denomB), 
+                denomA.multiply(numerB));
+        BigFraction actual = dividend.divides(divisor);
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testNoReciprocalForZero() {
+        BigFraction zero = new BigFraction(BigInteger.ZERO);
+        String msg = "Trying to take reciprocal of " + zero.toString() 
+                + " should cause an exception";
+        Throwable t = assertThrows(() -> {
+            BigFraction badResult = zero.reciprocal();
+            System.out.println(msg + ", not given result " 
+                    + badResult.toString());
+        }, ArithmeticException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    @Test
+    public void testCompareTo() {
+        System.out.println("compareTo");
+        BigInteger numer = randomBigInteger(100);
+        BigInteger denom = randomBigInteger(120);
+        BigFraction lesser = new BigFraction(numer, denom.add(BigInteger.ONE));
+        BigFraction greater = new BigFraction(numer, denom);
+        String msg = lesser + " should be less than " + greater;
+        assert lesser.compareTo(greater) < 0 : msg;
+        assert greater.compareTo(lesser) > 0 : msg;
+        assertEquals(greater.compareTo(new BigFraction(numer, denom)), 0);
+    }
+    
+    @Test
+    public void testNumericApproximation() {
+        System.out.println("numericApproximation");
+        for (int i = 0; i < 1000; i++) {
+            long numer = RANDOM.nextLong() >> RANDOM.nextInt(64);
+            long denom = (RANDOM.nextLong() >>> RANDOM.nextInt(64)) | 1L;
+            BigFraction fraction = new BigFraction(numer, denom);
+            double expected = new BigDecimal(numer) 
+                    .divide(new BigDecimal(denom), new MathContext(60)) 
+                    .doubleValue();
+            double actual = fraction.numericApproximation();
+            String message = "Approximating " + fraction.toString();
+            assertEquals(actual, expected, message);
+        }
+    }
+    
+    @Test
+    public void testNumericApproximationHugeParts() {
+        BigInteger numer = BigInteger.ONE.shiftLeft(3000).add(BigInteger.ONE);
+        BigInteger denom = BigInteger.ONE.shiftLeft(2999);
+        BigFraction fraction = new BigFraction(numer, denom);
+        double expected = 2.0;
+        double actual = fraction.numericApproximation();
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testNumericApproximationSubnormal() {
+        BigInteger denom = BigInteger.ONE.shiftLeft(1075);
+        BigFraction fraction = new BigFraction(BigInteger.valueOf(3), denom);
+        double expected = Double.MIN_VALUE * 2;
+        double actual = fraction.numericApproximation();
+        assertEquals(actual, expected);
+        BigFraction tooSmall = new BigFraction(BigInteger.ONE, denom);
+        assertEquals(tooSmall.numericApproximation(), 0.0);
+        BigFraction justOverHalf = new BigFraction(BigInteger.valueOf(5), 
+                denom.shiftLeft(2));
+        assertEquals(justOverHalf.numericApproximation(), Double.MIN_VALUE);
+    }
+    
+    @Test
+    public void testNumericApproximationOverflow() {
+        BigInteger numer = BigInteger.ONE.shiftLeft(1024).negate();
+        BigFraction fraction = new BigFraction(numer);
+        double expected = Double.NEGATIVE_INFINITY;
+        double actual = fraction.numericApproximation();
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testValueOf() {
+        System.out.println("valueOf");
+        BigInteger odd = randomBigInteger(100).setBit(0);
+        int shift = RANDOM.nextInt(64) + 1;
+        int exponent = -RANDOM.nextInt(200) - 1;
+        BigFraction expected = new BigFraction(odd.shiftLeft(shift), 
+                BigInteger.ONE.shiftLeft(-exponent));
+        BigFraction actual = BigFraction.valueOf(odd.shiftLeft(shift), 
+                exponent);
+        assertEquals(actual, expected);
+        assertEquals(actual.getNumerator(), expected.getNumerator());
+        assertEquals(actual.getDenominator(), expected.getDenominator());
+        BigFraction integer = BigFraction.valueOf(odd, shift);
+        assertEquals(integer, new BigFraction(odd.shiftLeft(shift)));
+    }
+    
+    @Test
+    public void testUnreducedTermsEqualReducedTerms() {
+        BigInteger numer = randomBigInteger(90);
+        BigInteger denom = randomBigInteger(100);
+        BigInteger multiplier = randomBigInteger(70);
+        BigFraction reduced = new BigFraction(numer, denom);
+        BigFraction unreduced = new BigFraction(numer.multiply(multiplier), 
+                denom.multiply(multiplier));
+        assertEquals(unreduced, reduced);
+        assertEquals(unreduced.hashCode(), reduced.hashCode());
+        assertEquals(unreduced.compareTo(reduced), 0);
+        assertEquals(unreduced.toString(), reduced.toString());
+    }
+    
+    @Test
+    public void testLongFastPathsAgreeWithBigIntegerArithmetic() {
+        for (int i = 0; i < 1000; i++) {
+            long common = RANDOM.nextInt(1 << 20) + 1;
+            long numerA = RANDOM.nextLong() >> RANDOM.nextInt(64);
+            long denomA = common * (RANDOM.nextInt(Integer.MAX_VALUE) + 1L);
+            long numerB = RANDOM.nextLong() >> RANDOM.nextInt(64);
+            long denomB = common * (RANDOM.nextInt(Integer.MAX_VALUE) + 1L);
+            BigFraction fractionA = new BigFraction(numerA, denomA);
+            BigFraction fractionB = new BigFraction(numerB, denomB);
+            BigInteger bigNumerA = BigInteger.valueOf(numerA);
+            BigInteger bigDenomA = BigInteger.valueOf(denomA);
+            BigInteger bigNumerB = BigInteger.valueOf(numerB);
+            BigInteger bigDenomB = BigInteger.valueOf(denomB);
+            BigFraction expSum = new BigFraction(bigNumerA.multiply(bigDenomB)
+                    .add(bigNumerB.multiply(bigDenomA)), 
+                    bigDenomA.multiply(bigDenomB));
+            assertEquals(fractionA.plus(fractionB), expSum);
+            BigFraction expProduct = new BigFraction(bigNumerA
+                    .multiply(bigNumerB), bigDenomA.multiply(bigDenomB));
+            assertEquals(fractionA.times(fractionB), expProduct);
+        }
+    }
+    
+    @Test
+    public void testManyOperationsWithoutReduction() {
+        BigInteger base = randomBigInteger(80);
+        BigFraction step = new BigFraction(base, base.add(BigInteger.ONE));
+        BigFraction inverse = step.reciprocal();
+        BigFraction product = new BigFraction(BigInteger.ONE);
+        BigFraction sum = new BigFraction(BigInteger.ZERO);
+        int count = 40;
+        for (int i = 0; i < count; i++) {
+            product = product.times(step);
+            sum = sum.plus(step);
+        }
+        for (int i = 0; i < count; i++) {
+            product = product.times(inverse);
+            sum = sum.minus(step);
+        }
+        assertEquals(product, new BigFraction(BigInteger.ONE));
+        assertEquals(product.getDenominator(), BigInteger.ONE);
+        assertEquals(sum, new BigFraction(BigInteger.ZERO));
+        assert sum.isInteger() : sum + " should be an integer";
+    }
+    
+    @Test
+    public void testFitsInLongAfterReduction() {
+        BigInteger multiplier = randomBigInteger(100);
+        BigFraction fraction = new BigFraction(multiplier.multiply(BigInteger
+                .valueOf(22)), multiplier.multiply(BigInteger.valueOf(7)));
+        assert fraction.fitsInLong() : fraction + " should fit in long";
+        assertEquals(new Fraction(22, 7).toBigFraction(), fraction);
+    }
+    
+    @Test
+    public void testToFraction() {
+        System.out.println("toFraction");
+        BigInteger multiplier = randomBigInteger(100);
+        long numer = RANDOM.nextLong();
+        long denom = RANDOM.nextLong() & Long.MAX_VALUE | 1L;
+        BigFraction fraction = new BigFraction(multiplier
+                .multiply(BigInteger.valueOf(numer)), 
+                multiplier.multiply(BigInteger.valueOf(denom)));
+        Fraction expected = new Fraction(numer, denom);
+        Fraction actual = fraction.toFraction();
+        assertEquals(actual, expected);
+        assert !actual.isPromoted() : actual + " should not be promoted";
+        BigFraction big = new BigFraction(multiplier.setBit(0), 
+                BigInteger.TWO);
+        assertEquals(big.toFraction().toBigFraction(), big);
+    }
+    
     @Test
-    public void testSomeMethod() {
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+    public void testToBigDecimal() {
+        System.out.println("toBigDecimal");
+        BigFraction fraction = new BigFraction(355, 113);
+        BigDecimal expected = new BigDecimal("3.141592920353982");
+        BigDecimal actual = fraction.toBigDecimal(MathContext.DECIMAL64);
+        assertEquals(actual, expected);
     }
     
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fractions;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.testframe.api.Asserters.assertThrows;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the Convergents class.
+ * @author Alonso del Arte
+ */
+public class ConvergentsNGTest {
+    
+    private static final Random RANDOM = new Random();
+    
+    private static List<Fraction> collect(Convergents convergents) {
+        List<Fraction> list = new ArrayList<>();
+        while (convergents.hasNext()) {
+            list.add(convergents.next());
+        }
+        return list;
+    }
+    
+    @Test
+    public void testNext() {
+        System.out.println("next");
+        Convergents convergents = new Convergents(new Fraction(355, 113));
+        List<Fraction> expected = List.of(new Fraction(3), new Fraction(22, 7), 
+                new Fraction(355, 113));
+        List<Fraction> actual = collect(convergents);
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testNextNegative() {
+        Convergents convergents = new Convergents(new Fraction(-7, 3));
+        List<Fraction> expected = List.of(new Fraction(-3), new Fraction(-2), 
+                new Fraction(-7, 3));
+        List<Fraction> actual = collect(convergents);
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testNextInteger() {
+        Fraction integer = new Fraction(RANDOM.nextLong());
+        Convergents convergents = new Convergents(integer);
+        List<Fraction> expected = List.of(integer);
+        List<Fraction> actual = collect(convergents);
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testLastConvergentIsFraction() {
+        for (int i = 0; i < 100; i++) {
+            Fraction expected = new Fraction(RANDOM.nextLong(), 
+                    RANDOM.nextLong() | 1L);
+            List<Fraction> convergents = collect(expected.convergents());
+            Fraction actual = convergents.get(convergents.size() - 1);
+            assertEquals(actual, expected);
+        }
+    }
+    
+    @Test
+    public void testConvergentsAlternateAroundFraction() {
+        Fraction fraction = new Fraction(RANDOM.nextLong(), 
+                RANDOM.nextLong() | 1L);
+        List<Fraction> convergents = collect(fraction.convergents());
+        for (int i = 0; i < convergents.size() - 1; i++) {
+            int expected = (i % 2 == 0) ? -1 : 1;
+            int actual = Integer.signum(convergents.get(i) 
+                    .compareTo(fraction));
+            String message = "Convergent " + i + ", " + convergents.get(i) 
+                    + ", compared to " + fraction;
+            assertEquals(actual, expected, message);
+        }
+    }
+    
+    @Test
+    public void testNextPromoted() {
+        BigInteger power = BigInteger.ONE.shiftLeft(70);
+        Fraction fraction = new Fraction(new BigFraction(power 
+                .multiply(BigInteger.valueOf(7)).add(BigInteger.valueOf(3)), 
+                BigInteger.valueOf(7)));
+        Convergents convergents = new Convergents(fraction);
+        List<Fraction> expected = List.of(new Fraction(new BigFraction(power)), 
+                new Fraction(new BigFraction(power.add(BigInteger.ONE) 
+                        .multiply(BigInteger.TWO).subtract(BigInteger.ONE), 
+                        BigInteger.TWO)), fraction);
+        List<Fraction> actual = collect(convergents);
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testNextAfterLast() {
+        Convergents convergents = new Convergents(new Fraction(1, 2));
+        collect(convergents);
+        Throwable t = assertThrows(() -> {
+            Fraction badResult = convergents.next();
+            System.out.println("Should not have given " + badResult);
+        }, NoSuchElementException.class, 
+                "Going past the last convergent should cause exception");
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+}
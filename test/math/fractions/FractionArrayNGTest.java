@@ -0,0 +1,290 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fractions;
+
+import java.util.Random;
+
+import static org.testframe.api.Asserters.assertThrows;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the FractionArray class.
+ * @author Alonso del Arte
+ */
+public class FractionArrayNGTest {
+    
+    private static final Random RANDOM = new Random();
+    
+    private static Fraction[] randomFractions(int length, int bound) {
+        Fraction[] fractions = new Fraction[length];
+        for (int i = 0; i < length; i++) {
+            fractions[i] = new Fraction(RANDOM.nextInt(2 * bound + 1) - bound, 
+                    RANDOM.nextInt(bound) + 1);
+        }
+        return fractions;
+    }
+    
+    @Test
+    public void testLength() {
+        System.out.println("length");
+        int expected = RANDOM.nextInt(64) + 1;
+        FractionArray array = new FractionArray(expected);
+        assertEquals(array.length(), expected);
+    }
+    
+    @Test
+    public void testInitialValuesAreZero() {
+        FractionArray array = new FractionArray(8);
+        Fraction zero = new Fraction(0);
+        for (int i = 0; i < array.length(); i++) {
+            assertEquals(array.get(i), zero);
+        }
+    }
+    
+    @Test
+    public void testGet() {
+        System.out.println("get");
+        Fraction[] expected = randomFractions(20, 1000);
+        FractionArray array = new FractionArray(expected);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(array.get(i), expected[i]);
+        }
+    }
+    
+    @Test
+    public void testSet() {
+        System.out.println("set");
+        FractionArray array = new FractionArray(3);
+        array.set(1, 3, -6);
+        assertEquals(array.getNumerator(1), -3L);
+        assertEquals(array.getDenominator(1), 6L);
+        assertEquals(array.get(1), new Fraction(-1, 2));
+    }
+    
+    @Test
+    public void testSetRejectsZeroDenominator() {
+        FractionArray array = new FractionArray(3);
+        Throwable t = assertThrows(() -> {
+            array.set(0, 1, 0);
+        }, ArithmeticException.class, "Denominator 0 should cause exception");
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    @Test
+    public void testAdd() {
+        System.out.println("add");
+        Fraction[] augends = randomFractions(50, 1000);
+        Fraction[] addends = randomFractions(50, 1000);
+        FractionArray array = new FractionArray(augends);
+        array.add(new FractionArray(addends));
+        for (int i = 0; i < augends.length; i++) {
+            assertEquals(array.get(i), augends[i].plus(addends[i]));
+        }
+    }
+    
+    @Test
+    public void testAddReducesOnlyWhenNeeded() {
+        FractionArray array = new FractionArray(new Fraction(1, 4));
+        FractionArray addends = new FractionArray(new Fraction(1, 4));
+        array.add(addends);
+        assertEquals(array.getNumerator(0), 2L);
+        assertEquals(array.getDenominator(0), 4L);
+        long big = Long.MAX_VALUE / 4;
+        array.set(0, 2 * big, 4 * big);
+        addends.set(0, 1, 3);
+        array.add(addends);
+        assertEquals(array.get(0), new Fraction(5, 6));
+    }
+    
+    @Test
+    public void testAddOverflow() {
+        FractionArray array = new FractionArray(new Fraction(Long.MAX_VALUE));
+        FractionArray addends = new FractionArray(new Fraction(1));
+        Throwable t = assertThrows(() -> {
+            array.add(addends);
+        }, ArithmeticException.class, "Overflowing sum should cause exception");
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    @Test
+    public void testAddSumInRangeOnlyInLowestTerms() {
+        long twoTo62 = 1L << 62;
+        FractionArray array = new FractionArray(new Fraction(twoTo62 + 1, 6));
+        FractionArray addends 
+                = new FractionArray(new Fraction(twoTo62 + 7, 6));
+        array.add(addends);
+        Fraction expected = new Fraction(twoTo62 + 4, 3);
+        assertEquals(array.get(0), expected);
+        assertEquals(array.getNumerator(0), twoTo62 + 4);
+        assertEquals(array.getDenominator(0), 3L);
+    }
+    
+    @Test
+    public void testAddRejectsDifferentLength() {
+        FractionArray array = new FractionArray(3);
+        FractionArray addends = new FractionArray(4);
+        Throwable t = assertThrows(() -> {
+            array.add(addends);
+        }, IllegalArgumentException.class, 
+                "Arrays of different lengths should be rejected");
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    @Test
+    public void testMultiply() {
+        System.out.println("multiply");
+        Fraction[] multiplicands = randomFractions(50, 1000);
+        Fraction[] multipliers = randomFractions(50, 1000);
+        FractionArray array = new FractionArray(multiplicands);
+        array.multiply(new FractionArray(multipliers));
+        for (int i = 0; i < multiplicands.length; i++) {
+            assertEquals(array.get(i), multiplicands[i].times(multipliers[i]));
+        }
+    }
+    
+    @Test
+    public void testMultiplyCancelsWhenNeeded() {
+        long big = Long.MAX_VALUE / 3;
+        FractionArray array = new FractionArray(new Fraction(big, 7));
+        array.multiply(new FractionArray(new Fraction(7, big)));
+        assertEquals(array.get(0), new Fraction(1));
+    }
+    
+    @Test
+    public void testMultiplyUnreducedElement() {
+        FractionArray array 
+                = new FractionArray(new Fraction(1, Integer.MAX_VALUE));
+        array.add(new FractionArray(new Fraction(Integer.MAX_VALUE - 1, 
+                Integer.MAX_VALUE)));
+        assertEquals(array.getNumerator(0), (long) Integer.MAX_VALUE);
+        assertEquals(array.getDenominator(0), (long) Integer.MAX_VALUE);
+        long twoTo40 = 1L << 40;
+        array.multiply(new Fraction(twoTo40));
+        assertEquals(array.get(0), new Fraction(twoTo40));
+    }
+    
+    @Test
+    public void testMultiplyByFraction() {
+        Fraction[] multiplicands = randomFractions(50, 1000);
+        Fraction multiplier = new Fraction(RANDOM.nextInt(1000) + 1, 
+                RANDOM.nextInt(1000) + 1);
+        FractionArray array = new FractionArray(multiplicands);
+        array.multiply(multiplier);
+        for (int i = 0; i < multiplicands.length; i++) {
+            assertEquals(array.get(i), multiplicands[i].times(multiplier));
+        }
+    }
+    
+    @Test
+    public void testReduce() {
+        System.out.println("reduce");
+        FractionArray array = new FractionArray(3);
+        array.set(0, 2, 4);
+        array.set(1, -6, 9);
+        array.set(2, 0, 5);
+        array.reduce();
+        long[] expNumers = {1, -2, 0};
+        long[] expDenoms = {2, 3, 1};
+        for (int i = 0; i < array.length(); i++) {
+            assertEquals(array.getNumerator(i), expNumers[i]);
+            assertEquals(array.getDenominator(i), expDenoms[i]);
+        }
+    }
+    
+    @Test
+    public void testSort() {
+        System.out.println("sort");
+        FractionArray array = new FractionArray(new Fraction(22, 7), 
+                new Fraction(3), new Fraction(355, 113));
+        array.sort();
+        FractionArray expected = new FractionArray(new Fraction(3), 
+                new Fraction(355, 113), new Fraction(22, 7));
+        assertEquals(array, expected);
+    }
+    
+    @Test
+    public void testDot() {
+        System.out.println("dot");
+        Fraction[] as = randomFractions(40, 100);
+        Fraction[] bs = randomFractions(40, 100);
+        Fraction expected = new Fraction(0);
+        for (int i = 0; i < as.length; i++) {
+            expected = expected.plus(as[i].times(bs[i]));
+        }
+        Fraction actual = new FractionArray(as).dot(new FractionArray(bs));
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testDotUnreducedElement() {
+        long threeTo20 = 3486784401L;
+        long fiveTo20 = 95367431640625L;
+        FractionArray array = new FractionArray(1);
+        array.set(0, 7 * threeTo20, threeTo20);
+        FractionArray other = new FractionArray(new Fraction(fiveTo20));
+        Fraction expected = new Fraction(7 * fiveTo20);
+        Fraction actual = array.dot(other);
+        assertEquals(actual, expected);
+        assertEquals(array.getNumerator(0), 7 * threeTo20);
+        assertEquals(array.getDenominator(0), threeTo20);
+    }
+    
+    @Test
+    public void testCopy() {
+        System.out.println("copy");
+        FractionArray array = new FractionArray(randomFractions(10, 100));
+        FractionArray copy = array.copy();
+        assertEquals(copy, array);
+        copy.set(0, new Fraction(101));
+        assertNotEquals(copy, array);
+    }
+    
+    @Test
+    public void testEquals() {
+        System.out.println("equals");
+        FractionArray someArray = new FractionArray(2);
+        someArray.set(0, 1, 2);
+        someArray.set(1, 3, 1);
+        FractionArray sameArray = new FractionArray(2);
+        sameArray.set(0, 2, 4);
+        sameArray.set(1, 9, 3);
+        assertEquals(sameArray, someArray);
+        assertEquals(sameArray.hashCode(), someArray.hashCode());
+        assertNotEquals(new FractionArray(3), new FractionArray(2));
+    }
+    
+    @Test
+    public void testToString() {
+        System.out.println("toString");
+        FractionArray array = new FractionArray(new Fraction(2, 4), 
+                new Fraction(-3), new Fraction(5, 4));
+        String expected = "[1/2, \u22123, 5/4]";
+        assertEquals(array.toString(), expected);
+    }
+    
+}
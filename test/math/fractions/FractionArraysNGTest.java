@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fractions;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.testframe.api.Asserters.assertThrows;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the FractionArrays class.
+ * @author Alonso del Arte
+ */
+public class FractionArraysNGTest {
+    
+    private static final Random RANDOM = new Random();
+    
+    private static void fillRandom(long[] numerators, long[] denominators, 
+            int bound) {
+        for (int i = 0; i < numerators.length; i++) {
+            numerators[i] = RANDOM.nextInt(2 * bound + 1) - bound;
+            denominators[i] = RANDOM.nextInt(bound) + 1;
+        }
+    }
+    
+    private static Fraction[] toFractions(long[] numerators, 
+            long[] denominators, int length) {
+        Fraction[] fractions = new Fraction[length];
+        for (int i = 0; i < length; i++) {
+            fractions[i] = new Fraction(numerators[i], denominators[i]);
+        }
+        return fractions;
+    }
+    
+    @Test
+    public void testSort() {
+        System.out.println("sort");
+        int length = RANDOM.nextInt(1024) + 512;
+        long[] numerators = new long[length];
+        long[] denominators = new long[length];
+        fillRandom(numerators, denominators, 100);
+        Fraction[] expected = toFractions(numerators, denominators, length);
+        Arrays.sort(expected);
+        FractionArrays.sort(numerators, denominators);
+        Fraction[] actual = toFractions(numerators, denominators, length);
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testSortKeepsTermsTogether() {
+        long[] numerators = {22, 3, 355, 2, -7};
+        long[] denominators = {7, 1, 113, 4, 5};
+        FractionArrays.sort(numerators, denominators);
+        long[] expNumerators = {-7, 2, 3, 355, 22};
+        long[] expDenominators = {5, 4, 1, 113, 7};
+        assertEquals(numerators, expNumerators);
+        assertEquals(denominators, expDenominators);
+    }
+    
+    @Test
+    public void testSortExtremeValues() {
+        int length = 200;
+        long[] numerators = new long[length];
+        long[] denominators = new long[length];
+        for (int i = 0; i < length; i++) {
+            numerators[i] = RANDOM.nextBoolean() ? Long.MAX_VALUE - i 
+                    : Long.MIN_VALUE + i;
+            denominators[i] = Long.MAX_VALUE - RANDOM.nextInt(length);
+        }
+        Fraction[] expected = toFractions(numerators, denominators, length);
+        Arrays.sort(expected);
+        FractionArrays.sort(numerators, denominators);
+        Fraction[] actual = toFractions(numerators, denominators, length);
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testSortManyEqual() {
+        int length = 1000;
+        long[] numerators = new long[length];
+        long[] denominators = new long[length];
+        for (int i = 0; i < length; i++) {
+            long multiplier = RANDOM.nextInt(64) + 1;
+            int choice = RANDOM.nextInt(3);
+            numerators[i] = (choice - 1) * multiplier;
+            denominators[i] = 2 * multiplier;
+        }
+        FractionArrays.sort(numerators, denominators);
+        for (int i = 1; i < length; i++) {
+            String msg = numerators[i - 1] + "/" + denominators[i - 1] 
+                    + " should not be greater than " + numerators[i] + "/" 
+                    + denominators[i];
+            assert Fraction.compare(numerators[i - 1], denominators[i - 1], 
+                    numerators[i], denominators[i]) <= 0 : msg;
+        }
+    }
+    
+    @Test
+    public void testSortRange() {
+        long[] numerators = {5, 4, 3, 2, 1};
+        long[] denominators = {1, 1, 1, 1, 1};
+        FractionArrays.sort(numerators, denominators, 1, 4);
+        long[] expected = {5, 2, 3, 4, 1};
+        assertEquals(numerators, expected);
+    }
+    
+    @Test
+    public void testSortRejectsMismatchedArrays() {
+        long[] numerators = new long[10];
+        long[] denominators = new long[11];
+        Arrays.fill(denominators, 1L);
+        Throwable t = assertThrows(() -> {
+            FractionArrays.sort(numerators, denominators);
+        }, IllegalArgumentException.class, 
+                "Arrays of different lengths should be rejected");
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    @Test
+    public void testSortRejectsBadRange() {
+        long[] numerators = new long[10];
+        long[] denominators = new long[10];
+        Arrays.fill(denominators, 1L);
+        Throwable t = assertThrows(() -> {
+            FractionArrays.sort(numerators, denominators, 5, 11);
+        }, IndexOutOfBoundsException.class, 
+                "Range past end of arrays should be rejected");
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    @Test
+    public void testSortRejectsNonPositiveDenominator() {
+        long[] numerators = {1, 2, 3};
+        long[] denominators = {1, -RANDOM.nextInt(Short.MAX_VALUE), 3};
+        String msg = "Denominator " + denominators[1] 
+                + " should be rejected";
+        Throwable t = assertThrows(() -> {
+            FractionArrays.sort(numerators, denominators);
+        }, IllegalArgumentException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    @Test
+    public void testDeduplicate() {
+        System.out.println("deduplicate");
+        long[] numerators = {-1, 1, 2, 3, 3, 6};
+        long[] denominators = {3, 2, 4, 6, 1, 2};
+        int actual = FractionArrays.deduplicate(numerators, denominators);
+        assertEquals(actual, 3);
+        long[] expNumerators = {-1, 1, 3};
+        long[] expDenominators = {3, 2, 1};
+        assertEquals(Arrays.copyOf(numerators, actual), expNumerators);
+        assertEquals(Arrays.copyOf(denominators, actual), expDenominators);
+    }
+    
+    @Test
+    public void testDeduplicateAfterSort() {
+        int length = RANDOM.nextInt(512) + 256;
+        long[] numerators = new long[length];
+        long[] denominators = new long[length];
+        fillRandom(numerators, denominators, 10);
+        Fraction[] fractions = toFractions(numerators, denominators, length);
+        long expected = Arrays.stream(fractions).distinct().count();
+        FractionArrays.sort(numerators, denominators);
+        int actual = FractionArrays.deduplicate(numerators, denominators);
+        assertEquals(actual, expected);
+        for (int i = 1; i < actual; i++) {
+            assert Fraction.compare(numerators[i - 1], denominators[i - 1], 
+                    numerators[i], denominators[i]) < 0 
+                    : "Distinct fractions should be in ascending order";
+        }
+    }
+    
+    @Test
+    public void testDeduplicateEmpty() {
+        assertEquals(FractionArrays.deduplicate(new long[0], new long[0]), 0);
+    }
+    
+}
@@ -16,6 +16,7 @@
  */
 package math.fractions;
 
+import java.math.BigInteger;
 import java.util.HashSet;
 import java.util.Random;
 import java.util.Set;
@@ -177,12 +178,12 @@ public class FractionNGTest {
         int denom = RANDOM.nextInt() | 1;
         Fraction someFraction = new Fraction(numer, denom);
         Fraction diffClassFraction = new Fraction(numer, denom) {
-            
+
             @Override
             public String toString() {
                 return super.toString().replace("/", "\\");
             }
-            
+
         };
         String message = "Fraction " + someFraction.toString() + " of class " 
                 + someFraction.getClass().getName() + " should not equal " 
@@ -407,6 +408,69 @@ public class FractionNGTest {
         assertEquals(actual, expected, message);
     }
     
+    @Test
+    public void testPlusLargeCommonDenominatorFactor() {
+        long commonFactor = (1L << 40) + 2 * RANDOM.nextInt(Short.MAX_VALUE) 
+                + 1;
+        Fraction addendA = new Fraction(1, 3 * commonFactor);
+        Fraction addendB = new Fraction(1, 6 * commonFactor);
+        Fraction expected = new Fraction(1, 2 * commonFactor);
+        Fraction actual = addendA.plus(addendB);
+        String message = "Adding " + addendA.toString() + " and " 
+                + addendB.toString();
+        assertEquals(actual, expected, message);
+        assert !actual.isPromoted() : actual + " should not be promoted";
+    }
+    
+    @Test
+    public void testPlusAgreesWithBigFraction() {
+        for (int i = 0; i < 1000; i++) {
+            long common = RANDOM.nextInt(1 << 20) + 1;
+            long denomA = common * (RANDOM.nextInt(1 << 20) + 1);
+            long denomB = common * (RANDOM.nextInt(1 << 20) + 1);
+            Fraction addendA = new Fraction(RANDOM.nextInt(), denomA);
+            Fraction addendB = new Fraction(RANDOM.nextInt(), denomB);
+            BigFraction expected = addendA.toBigFraction()
+                    .plus(addendB.toBigFraction());
+            BigFraction actual = addendA.plus(addendB).toBigFraction();
+            String message = "Adding " + addendA.toString() + " and " 
+                    + addendB.toString();
+            assertEquals(actual, expected, message);
+        }
+    }
+    
+    @Test
+    public void testTimesCrossCancels() {
+        long numer = Long.MAX_VALUE - 2 * RANDOM.nextInt(Short.MAX_VALUE);
+        long denom = numer - 1;
+        Fraction multiplicandA = new Fraction(numer, denom);
+        Fraction multiplicandB = new Fraction(denom, numer);
+        Fraction expected = new Fraction(1);
+        Fraction actual = multiplicandA.times(multiplicandB);
+        String message = "Multiplying " + multiplicandA.toString() + " by " 
+                + multiplicandB.toString();
+        assertEquals(actual, expected, message);
+        assert !actual.isPromoted() : actual + " should not be promoted";
+    }
+    
+    @Test
+    public void testTimesAgreesWithBigFraction() {
+        for (int i = 0; i < 1000; i++) {
+            long common = RANDOM.nextInt(1 << 16) + 1;
+            Fraction multiplicandA = new Fraction(common * RANDOM.nextInt(), 
+                    RANDOM.nextInt(Integer.MAX_VALUE) + 1);
+            Fraction multiplicandB = new Fraction(RANDOM.nextInt(), 
+                    common * (RANDOM.nextInt(Integer.MAX_VALUE) + 1));
+            BigFraction expected = multiplicandA.toBigFraction()
+                    .times(multiplicandB.toBigFraction());
+            BigFraction actual = multiplicandA.times(multiplicandB)
+                    .toBigFraction();
+            String message = "Multiplying " + multiplicandA.toString() 
+                    + " by " + multiplicandB.toString();
+            assertEquals(actual, expected, message);
+        }
+    }
+    
     @Test
     public void testTimesInt() {
         int numer = RANDOM.nextInt(128) + 2;
@@ -485,6 +549,19 @@ public class FractionNGTest {
         assertEquals(actual, expected, message);
     }
     
+    @Test
+    public void testDividesIntCancelsNumerator() {
+        long numer = 1L << 62;
+        long denom = Long.MAX_VALUE - 2 * RANDOM.nextInt(Short.MAX_VALUE);
+        Fraction dividend = new Fraction(numer, denom);
+        int divisor = -(1 << (RANDOM.nextInt(30) + 1));
+        Fraction expected = new Fraction(numer / divisor, denom);
+        Fraction actual = dividend.divides(divisor);
+        String message = "Dividing " + dividend.toString() + " by " + divisor;
+        assertEquals(actual, expected, message);
+        assert !actual.isPromoted() : actual + " should not be promoted";
+    }
+    
     @Test
     public void testNoReciprocalForZero() {
         Fraction zero = new Fraction(0, 1);
@@ -527,6 +604,121 @@ public class FractionNGTest {
         assertEquals(actual, expected, message);
     }
     
+    @Test
+    public void testPlusPromotesOnOverflow() {
+        long denomA = Long.MAX_VALUE - 2 * RANDOM.nextInt(Short.MAX_VALUE);
+        Fraction addendA = new Fraction(1, denomA);
+        long denomB = denomA - 1;
+        Fraction addendB = new Fraction(1, denomB);
+        BigFraction expected = addendA.toBigFraction() 
+                .plus(addendB.toBigFraction());
+        Fraction sum = addendA.plus(addendB);
+        String msg = "Sum of " + addendA.toString() + " and " 
+                + addendB.toString() + " should be promoted";
+        assert sum.isPromoted() : msg;
+        BigFraction actual = sum.toBigFraction();
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testTimesPromotesOnOverflow() {
+        long numer = Long.MAX_VALUE - 2 * RANDOM.nextInt(Short.MAX_VALUE);
+        Fraction multiplicandA = new Fraction(numer, 3);
+        Fraction multiplicandB = new Fraction(numer, 5);
+        BigInteger bigNumer = BigInteger.valueOf(numer);
+        BigFraction expected = new BigFraction(bigNumer.multiply(bigNumer), 
+                BigInteger.valueOf(15));
+        Fraction product = multiplicandA.times(multiplicandB);
+        assert product.isPromoted() : "Product should be promoted";
+        BigFraction actual = product.toBigFraction();
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testPromotedResultDemotedWhenBackInRange() {
+        long denom = Long.MAX_VALUE - 2 * RANDOM.nextInt(Short.MAX_VALUE);
+        Fraction small = new Fraction(1, denom);
+        Fraction tiny = small.times(small);
+        assert tiny.isPromoted() : "Square of " + small + " should be promoted";
+        Fraction expected = new Fraction(denom);
+        Fraction actual = tiny.reciprocal().times(small);
+        assert !actual.isPromoted() : actual + " should not be promoted";
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testNegateLongMinimum() {
+        Fraction fraction = new Fraction(Long.MIN_VALUE);
+        BigFraction expected = new BigFraction(BigInteger.ONE.shiftLeft(63));
+        BigFraction actual = fraction.negate().toBigFraction();
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testGetNumeratorOfPromotedFraction() {
+        Fraction fraction = new Fraction(Long.MIN_VALUE).negate();
+        String msg = "Getting long numerator of " + fraction.toString() 
+                + " should cause exception";
+        Throwable t = assertThrows(() -> {
+            long badNumer = fraction.getNumerator();
+            System.out.println(msg + ", not given result " + badNumer);
+        }, ArithmeticException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    @Test
+    public void testToBigFraction() {
+        System.out.println("toBigFraction");
+        int numer = RANDOM.nextInt();
+        int denom = RANDOM.nextInt() | 1;
+        Fraction fraction = new Fraction(numer, denom);
+        BigFraction expected = new BigFraction(numer, denom);
+        BigFraction actual = fraction.toBigFraction();
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testValueOf() {
+        System.out.println("valueOf");
+        long odd = 2 * RANDOM.nextInt(Short.MAX_VALUE) + 1;
+        int shift = RANDOM.nextInt(16);
+        int exponent = -RANDOM.nextInt(32) - 1;
+        Fraction expected = new Fraction(odd << shift, 1L << -exponent);
+        Fraction actual = Fraction.valueOf(odd << shift, exponent);
+        assertEquals(actual, expected);
+        Fraction integer = Fraction.valueOf(-odd, shift);
+        assertEquals(integer, new Fraction(-odd << shift));
+        assertEquals(Fraction.valueOf(0L, exponent), new Fraction(0));
+    }
+    
+    @Test
+    public void testValueOfOutsideLongRange() {
+        long odd = 2 * RANDOM.nextInt(Short.MAX_VALUE) + 1;
+        int exponent = -RANDOM.nextInt(1000) - 64;
+        BigFraction expected = new BigFraction(BigInteger.valueOf(odd), 
+                BigInteger.ONE.shiftLeft(-exponent));
+        Fraction fraction = Fraction.valueOf(odd, exponent);
+        assert fraction.isPromoted() : fraction + " should be promoted";
+        assertEquals(fraction.toBigFraction(), expected);
+        Fraction large = Fraction.valueOf(-odd, -exponent);
+        assertEquals(large.toBigFraction(), expected.reciprocal()
+                .times(-odd * odd));
+    }
+    
+    @Test
+    public void testNumericApproximationLargeTerms() {
+        long numer = Long.MAX_VALUE - 2 * RANDOM.nextInt(Short.MAX_VALUE);
+        long denom = numer - 2;
+        Fraction fraction = new Fraction(numer, denom);
+        double expected = fraction.toBigFraction().numericApproximation();
+        double actual = fraction.numericApproximation();
+        assertEquals(actual, expected);
+        assertEquals(actual, 1.0);
+    }
+    
     @Test
     public void testConstructorRejectsDenomZero() {
         int numer = RANDOM.nextInt();
@@ -593,4 +785,272 @@ public class FractionNGTest {
         assertEquals(actual, expected);
     }
     
+    @Test
+    public void testCompareTo() {
+        System.out.println("compareTo");
+        Fraction lesser = new Fraction(22, 7);
+        Fraction greater = new Fraction(355, 113);
+        assert lesser.compareTo(greater) > 0 
+                : lesser + " should be greater than " + greater;
+        assert greater.compareTo(lesser) < 0 
+                : greater + " should be less than " + lesser;
+        Fraction same = new Fraction(44, 14);
+        assertEquals(lesser.compareTo(same), 0, lesser + " equals " + same);
+    }
+    
+    @Test
+    public void testCompareToRandom() {
+        for (int i = 0; i < 100; i++) {
+            int numerA = RANDOM.nextInt();
+            int denomA = RANDOM.nextInt(Integer.MAX_VALUE) + 1;
+            int numerB = RANDOM.nextInt();
+            int denomB = RANDOM.nextInt(Integer.MAX_VALUE) + 1;
+            Fraction a = new Fraction(numerA, denomA);
+            Fraction b = new Fraction(numerB, denomB);
+            int expected = BigInteger.valueOf(numerA)
+                    .multiply(BigInteger.valueOf(denomB))
+                    .compareTo(BigInteger.valueOf(numerB)
+                            .multiply(BigInteger.valueOf(denomA)));
+            int actual = Integer.signum(a.compareTo(b));
+            String message = "Comparing " + a + " to " + b;
+            assertEquals(actual, expected, message);
+        }
+    }
+    
+    @Test
+    public void testCompareToWithoutOverflow() {
+        Fraction a = new Fraction(Long.MAX_VALUE, Long.MAX_VALUE - 2);
+        Fraction b = new Fraction(Long.MAX_VALUE - 1, Long.MAX_VALUE - 3);
+        String msg = a + " should be less than " + b;
+        assert a.compareTo(b) < 0 : msg;
+        assert b.compareTo(a) > 0 : msg;
+        Fraction c = new Fraction(Long.MIN_VALUE + 1, Long.MAX_VALUE - 2);
+        Fraction d = new Fraction(Long.MIN_VALUE + 3, Long.MAX_VALUE);
+        String message = c + " should be less than " + d;
+        assert c.compareTo(d) < 0 : message;
+        assert d.compareTo(c) > 0 : message;
+    }
+    
+    @Test
+    public void testCompareToPromoted() {
+        Fraction promoted = new Fraction(Long.MIN_VALUE, -1L);
+        Fraction max = new Fraction(Long.MAX_VALUE);
+        String msg = promoted + " should be greater than " + max;
+        assert promoted.compareTo(max) > 0 : msg;
+        assert max.compareTo(promoted) < 0 : msg;
+        assertEquals(promoted.compareTo(max.plus(1)), 0);
+    }
+    
+    @Test
+    public void testCompare() {
+        System.out.println("compare");
+        assertEquals(Fraction.compare(1L, 2L, 2L, 4L), 0, "1/2 = 2/4");
+        assert Fraction.compare(-1L, 3L, -1L, 4L) < 0 
+                : "-1/3 should be less than -1/4";
+        assert Fraction.compare(Long.MAX_VALUE, 1L, Long.MAX_VALUE - 1L, 1L) 
+                > 0 : "MAX_VALUE should be greater than MAX_VALUE - 1";
+        assert Fraction.compare(Long.MIN_VALUE, Long.MAX_VALUE, -1L, 1L) < 0 
+                : "MIN_VALUE/MAX_VALUE should be less than -1";
+    }
+    
+    @Test
+    public void testValueOfDouble() {
+        assertEquals(Fraction.valueOf(0.375), new Fraction(3, 8));
+        assertEquals(Fraction.valueOf(-2.5), new Fraction(-5, 2));
+        assertEquals(Fraction.valueOf(-0.0), new Fraction(0));
+        Fraction expected = new Fraction(3602879701896397L, 
+                36028797018963968L);
+        assertEquals(Fraction.valueOf(0.1), expected);
+    }
+    
+    @Test
+    public void testValueOfDoubleRoundTrip() {
+        for (int i = 0; i < 1000; i++) {
+            double expected = Double.longBitsToDouble(RANDOM.nextLong());
+            if (Double.isFinite(expected)) {
+                double actual = Fraction.valueOf(expected) 
+                        .numericApproximation();
+                assertEquals(actual, expected + 0.0);
+            }
+        }
+    }
+    
+    @Test
+    public void testValueOfDoubleSubnormal() {
+        Fraction fraction = Fraction.valueOf(Double.MIN_VALUE);
+        assert fraction.isPromoted() : fraction + " should be promoted";
+        BigFraction expected = new BigFraction(BigInteger.ONE, 
+                BigInteger.ONE.shiftLeft(1074));
+        assertEquals(fraction.toBigFraction(), expected);
+    }
+    
+    @Test
+    public void testValueOfDoubleRejectsNaN() {
+        Throwable t = assertThrows(() -> {
+            Fraction badResult = Fraction.valueOf(Double.NaN);
+            System.out.println("NaN should not have given " + badResult);
+        }, ArithmeticException.class, "NaN should cause exception");
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    private static BigFraction distance(Fraction a, Fraction b) {
+        BigFraction difference = a.toBigFraction().minus(b.toBigFraction());
+        return difference.getNumerator().signum() < 0 ? difference.negate() 
+                : difference;
+    }
+    
+    private static BigFraction bruteForceDistance(Fraction value, 
+            long maxDenominator) {
+        BigFraction best = null;
+        for (long denom = 1L; denom <= maxDenominator; denom++) {
+            long numer = Math.floorDiv(value.getNumerator() * denom, 
+                    value.getDenominator());
+            for (long n = numer; n <= numer + 1; n++) {
+                BigFraction candidate = distance(value, new Fraction(n, denom));
+                if (best == null || candidate.compareTo(best) < 0) {
+                    best = candidate;
+                }
+            }
+        }
+        return best;
+    }
+    
+    @Test
+    public void testBestApproximation() {
+        System.out.println("bestApproximation");
+        Fraction fraction = new Fraction(3126535, 995207);
+        Fraction expected = new Fraction(355, 113);
+        Fraction actual = fraction.bestApproximation(1000L);
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testBestApproximationMatchesBruteForce() {
+        for (int i = 0; i < 200; i++) {
+            Fraction value = new Fraction(RANDOM.nextInt(2000000) - 1000000, 
+                    RANDOM.nextInt(100000) + 1);
+            long maxDenominator = RANDOM.nextInt(200) + 1;
+            Fraction approximation = value.bestApproximation(maxDenominator);
+            String message = "Best approximation of " + value 
+                    + " with denominator at most " + maxDenominator 
+                    + " should not be " + approximation;
+            assert approximation.getDenominator() <= maxDenominator : message;
+            BigFraction expected = bruteForceDistance(value, maxDenominator);
+            BigFraction actual = distance(value, approximation);
+            assertEquals(actual, expected, message);
+        }
+    }
+    
+    @Test
+    public void testBestApproximationWithinLimitIsSame() {
+        Fraction fraction = new Fraction(22, 7);
+        assertEquals(fraction.bestApproximation(7L), fraction);
+    }
+    
+    @Test
+    public void testBestApproximationPromoted() {
+        Fraction tiny = Fraction.valueOf(Double.MIN_VALUE);
+        assertEquals(tiny.bestApproximation(Long.MAX_VALUE), new Fraction(0));
+        BigInteger power = BigInteger.ONE.shiftLeft(80);
+        Fraction huge = new Fraction(new BigFraction(power.multiply(BigInteger 
+                .valueOf(3)).add(BigInteger.ONE), BigInteger.valueOf(3)));
+        Fraction expected = new Fraction(new BigFraction(power));
+        assertEquals(huge.bestApproximation(1L), expected);
+    }
+    
+    @Test
+    public void testBestApproximationDouble() {
+        Fraction expected = new Fraction(355, 113);
+        Fraction actual = Fraction.bestApproximation(Math.PI, 1000L);
+        assertEquals(actual, expected);
+        expected = new Fraction(-103993, 33102);
+        actual = Fraction.bestApproximation(-Math.PI, 33102L);
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testBestApproximationRejectsNonPositiveLimit() {
+        Fraction fraction = new Fraction(1, 3);
+        long maxDenominator = -RANDOM.nextInt(Short.MAX_VALUE);
+        String msg = "Maximum denominator " + maxDenominator 
+                + " should be rejected";
+        Throwable t = assertThrows(() -> {
+            Fraction badResult = fraction.bestApproximation(maxDenominator);
+            System.out.println(msg + ", not given result " + badResult);
+        }, IllegalArgumentException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    @Test
+    public void testOf() {
+        System.out.println("of");
+        for (int i = 0; i < 100; i++) {
+            long numer = RANDOM.nextLong() >> RANDOM.nextInt(64);
+            long denom = (RANDOM.nextLong() >> RANDOM.nextInt(64)) | 1L;
+            Fraction expected = new Fraction(numer, denom);
+            Fraction actual = Fraction.of(numer, denom);
+            assertEquals(actual, expected);
+        }
+    }
+    
+    @Test
+    public void testOfCachesSmallFractions() {
+        for (int numer = -40; numer <= 40; numer++) {
+            for (int denom = -40; denom <= 40; denom++) {
+                if (denom != 0) {
+                    Fraction expected = Fraction.of(numer, denom);
+                    Fraction actual = Fraction.of(2 * numer, 2 * denom);
+                    assertEquals(actual, expected);
+                    if (Math.abs(expected.getNumerator()) <= 32 
+                            && expected.getDenominator() <= 32) {
+                        String msg = "Fraction " + expected 
+                                + " should be cached";
+                        assert actual == expected : msg;
+                    }
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void testOfExtremeTerms() {
+        Fraction expected = new Fraction(Long.MIN_VALUE, -1L);
+        assertEquals(Fraction.of(Long.MIN_VALUE, -1L), expected);
+        assertEquals(Fraction.of(Long.MIN_VALUE, 2L), 
+                new Fraction(Long.MIN_VALUE / 2));
+        assertEquals(Fraction.of(1L, Long.MAX_VALUE), 
+                new Fraction(1L, Long.MAX_VALUE));
+    }
+    
+    @Test
+    public void testOfRejectsZeroDenominator() {
+        Throwable t = assertThrows(() -> {
+            Fraction badResult = Fraction.of(1L, 0L);
+            System.out.println("Should not have given " + badResult);
+        }, ArithmeticException.class, "Denominator 0 should cause exception");
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    @Test
+    public void testValueOfCachesDyadicFractions() {
+        for (int significand = -15; significand <= 15; significand++) {
+            for (int exponent = -12; exponent <= 12; exponent++) {
+                Fraction expected = Fraction.valueOf(significand, exponent);
+                Fraction actual = Fraction.valueOf(4L * significand, 
+                        exponent - 2);
+                String msg = "Fraction " + expected + " should be cached";
+                assert actual == expected : msg;
+            }
+        }
+    }
+    
 }
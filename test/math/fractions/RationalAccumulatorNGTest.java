@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.fractions;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.testframe.api.Asserters.assertThrows;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the RationalAccumulator class.
+ * @author Alonso del Arte
+ */
+public class RationalAccumulatorNGTest {
+    
+    private static final Random RANDOM = new Random();
+    
+    @Test
+    public void testInitialTotalIsZero() {
+        RationalAccumulator accumulator = new RationalAccumulator();
+        assertEquals(accumulator.toFraction(), new Fraction(0L));
+        assert !accumulator.isSpilled() : "Empty total should not be spilled";
+    }
+    
+    @Test
+    public void testAddLong() {
+        System.out.println("add");
+        RationalAccumulator accumulator = new RationalAccumulator();
+        long expected = 0L;
+        for (int i = 0; i < 100; i++) {
+            int addend = RANDOM.nextInt();
+            accumulator.add(addend);
+            expected += addend;
+        }
+        assertEquals(accumulator.toFraction(), new Fraction(expected));
+    }
+    
+    @Test
+    public void testAddFraction() {
+        RationalAccumulator accumulator = new RationalAccumulator();
+        Fraction expected = new Fraction(0L);
+        for (int i = 0; i < 100; i++) {
+            Fraction addend = new Fraction(RANDOM.nextInt(2048) - 1024, 
+                    RANDOM.nextInt(16) + 1);
+            accumulator.add(addend);
+            expected = expected.plus(addend);
+        }
+        assertEquals(accumulator.toFraction(), expected);
+        assert !accumulator.isSpilled() : "Total " + expected 
+                + " should not have spilled over";
+    }
+    
+    @Test
+    public void testAddTermsUnreduced() {
+        RationalAccumulator accumulator = new RationalAccumulator();
+        accumulator.add(2, 4).add(-3, -9).add(5, -10);
+        Fraction expected = new Fraction(1, 3);
+        assertEquals(accumulator.toFraction(), expected);
+    }
+    
+    @Test
+    public void testAddHarmonicSeriesSpillsOver() {
+        RationalAccumulator accumulator = new RationalAccumulator();
+        BigFraction expected = new BigFraction(BigInteger.ZERO);
+        for (int n = 1; n <= 100; n++) {
+            accumulator.add(1, n);
+            expected = expected.plus(new BigFraction(1, n));
+        }
+        assert accumulator.isSpilled() : "Harmonic number H_100 = " 
+                + expected + " should have spilled over";
+        assertEquals(accumulator.toBigFraction(), expected);
+        assertEquals(accumulator.toFraction(), new Fraction(expected));
+    }
+    
+    @Test
+    public void testTotalReturnsToLong() {
+        RationalAccumulator accumulator = new RationalAccumulator();
+        accumulator.add(Long.MAX_VALUE).add(Long.MAX_VALUE);
+        assert accumulator.isSpilled() : "Total should have spilled over";
+        for (int i = 0; i < 32; i++) {
+            accumulator.add(-Long.MAX_VALUE / 16);
+        }
+        assert !accumulator.isSpilled() 
+                : "Total should be back in long range";
+        Fraction expected = new Fraction(2 * (Long.MAX_VALUE % 16));
+        assertEquals(accumulator.toFraction(), expected);
+    }
+    
+    @Test
+    public void testAddBigFraction() {
+        BigInteger big = BigInteger.ONE.shiftLeft(100);
+        BigFraction addend = new BigFraction(BigInteger.ONE, big);
+        RationalAccumulator accumulator = new RationalAccumulator();
+        accumulator.add(1, 3).add(addend);
+        BigFraction expected = new BigFraction(1, 3).plus(addend);
+        assertEquals(accumulator.toBigFraction(), expected);
+    }
+    
+    @Test
+    public void testAddPromotedFraction() {
+        Fraction promoted = new Fraction(Long.MIN_VALUE, -1L);
+        RationalAccumulator accumulator = new RationalAccumulator();
+        accumulator.add(promoted).add(-1L);
+        assertEquals(accumulator.toFraction(), new Fraction(Long.MAX_VALUE));
+    }
+    
+    @Test
+    public void testAddExtremeTerms() {
+        RationalAccumulator accumulator = new RationalAccumulator();
+        accumulator.add(Long.MIN_VALUE, -1L) 
+                .add(Long.MIN_VALUE, Long.MIN_VALUE);
+        BigFraction expected = new BigFraction(BigInteger.ONE.shiftLeft(63) 
+                .add(BigInteger.ONE));
+        assertEquals(accumulator.toBigFraction(), expected);
+    }
+    
+    @Test
+    public void testAddZeroDenominator() {
+        RationalAccumulator accumulator = new RationalAccumulator();
+        Throwable t = assertThrows(() -> {
+            accumulator.add(1, 0);
+        }, ArithmeticException.class, "Denominator 0 should cause exception");
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    @Test
+    public void testAddDyadic() {
+        System.out.println("addDyadic");
+        RationalAccumulator accumulator = new RationalAccumulator();
+        BigFraction expected = new BigFraction(BigInteger.ZERO);
+        for (int i = 0; i < 200; i++) {
+            long significand = RANDOM.nextLong() >> RANDOM.nextInt(64);
+            int exponent = RANDOM.nextInt(160) - 80;
+            accumulator.addDyadic(significand, exponent);
+            expected = expected.plus(BigFraction.valueOf(BigInteger 
+                    .valueOf(significand), exponent));
+        }
+        assertEquals(accumulator.toBigFraction(), expected);
+    }
+    
+    @Test
+    public void testAddAccumulator() {
+        RationalAccumulator a = new RationalAccumulator().add(1, 2);
+        RationalAccumulator b = new RationalAccumulator().add(1, 3);
+        a.add(b);
+        assertEquals(a.toFraction(), new Fraction(5, 6));
+        assertEquals(b.toFraction(), new Fraction(1, 3));
+    }
+    
+    @Test
+    public void testReset() {
+        System.out.println("reset");
+        RationalAccumulator accumulator = new RationalAccumulator();
+        accumulator.add(Long.MAX_VALUE).add(Long.MAX_VALUE).add(1, 7);
+        accumulator.reset();
+        assert !accumulator.isSpilled() : "Reset total should not be spilled";
+        accumulator.add(1, 7);
+        assertEquals(accumulator.toFraction(), new Fraction(1, 7));
+    }
+    
+    @Test
+    public void testToString() {
+        System.out.println("toString");
+        RationalAccumulator accumulator = new RationalAccumulator();
+        accumulator.add(1, 2).add(1, 3);
+        assertEquals(accumulator.toString(), "5/6");
+    }
+    
+}
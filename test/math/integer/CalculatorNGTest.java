@@ -16,6 +16,7 @@
  */
 package math.integer;
 
+import java.math.BigInteger;
 import java.util.HashSet;
 import java.util.Random;
 import java.util.Set;
@@ -133,6 +134,272 @@ public class CalculatorNGTest {
         }, msg);
     }
     
+    @Test
+    public void testBinaryGCD() {
+        System.out.println("binaryGCD");
+        for (int i = 0; i < 1000; i++) {
+            long a = RANDOM.nextLong() >> RANDOM.nextInt(64);
+            long b = RANDOM.nextLong() >> RANDOM.nextInt(64);
+            long multiplier = RANDOM.nextInt(1 << 12) + 1;
+            a = (a >> 12) * multiplier;
+            b = (b >> 12) * multiplier;
+            long expected = Calculator.euclideanGCD(a, b);
+            long actual = Calculator.binaryGCD(a, b);
+            String message = "gcd(" + a + ", " + b + ") expected to be " 
+                    + expected;
+            assertEquals(actual, expected, message);
+        }
+    }
+    
+    @Test
+    public void testBinaryGCDSpecialCases() {
+        long[] numbers = {0L, 1L, -1L, 2L, 1L << 62, Long.MAX_VALUE, 
+            Long.MIN_VALUE};
+        for (long a : numbers) {
+            for (long b : numbers) {
+                if (a != 0L || b != 0L) {
+                    long expected = Calculator.euclideanGCD(a, b);
+                    long actual = Calculator.binaryGCD(a, b);
+                    String message = "gcd(" + a + ", " + b 
+                            + ") expected to be " + expected;
+                    assertEquals(actual, expected, message);
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void testEuclideanGCDBigInteger() {
+        BigInteger expected = new BigInteger(100, RANDOM).setBit(0);
+        BigInteger a = expected.multiply(new BigInteger(200, RANDOM))
+                .negate();
+        BigInteger b = expected.multiply(new BigInteger(150, RANDOM));
+        BigInteger actual = Calculator.euclideanGCD(a, b)
+                .divide(expected);
+        BigInteger cofactorGCD = a.divide(expected).gcd(b.divide(expected));
+        String message = "gcd(" + a + ", " + b + ") should be a multiple of " 
+                + expected;
+        assertEquals(actual, cofactorGCD, message);
+    }
+    
+    @Test
+    public void testLehmerGCD() {
+        System.out.println("lehmerGCD");
+        for (int i = 0; i < 200; i++) {
+            BigInteger common = new BigInteger(RANDOM.nextInt(400) + 1, 
+                    RANDOM);
+            BigInteger a = common.multiply(new BigInteger(RANDOM.nextInt(3000) 
+                    + 1, RANDOM));
+            BigInteger b = common.multiply(new BigInteger(RANDOM.nextInt(3000) 
+                    + 1, RANDOM));
+            if (RANDOM.nextBoolean()) {
+                a = a.negate();
+            }
+            BigInteger expected = a.gcd(b);
+            BigInteger actual = Calculator.lehmerGCD(a, b);
+            String message = "gcd(" + a + ", " + b + ") expected to be " 
+                    + expected;
+            assertEquals(actual, expected, message);
+        }
+    }
+    
+    @Test
+    public void testLehmerGCDConsecutiveFibonacciNumbers() {
+        BigInteger previous = BigInteger.ONE;
+        BigInteger current = BigInteger.ONE;
+        for (int i = 0; i < 2000; i++) {
+            BigInteger next = previous.add(current);
+            previous = current;
+            current = next;
+        }
+        BigInteger expected = BigInteger.ONE;
+        BigInteger actual = Calculator.lehmerGCD(current, previous);
+        assertEquals(actual, expected);
+        BigInteger a = current.shiftLeft(5);
+        BigInteger b = previous.shiftLeft(3);
+        assertEquals(Calculator.lehmerGCD(a, b), a.gcd(b));
+    }
+    
+    @Test
+    public void testLehmerGCDZero() {
+        BigInteger expected = new BigInteger(300, RANDOM);
+        BigInteger actual = Calculator.lehmerGCD(BigInteger.ZERO, 
+                expected.negate());
+        assertEquals(actual, expected);
+        assertEquals(Calculator.lehmerGCD(BigInteger.ZERO, BigInteger.ZERO), 
+                BigInteger.ZERO);
+    }
+    
+    @Test
+    public void testGCDDispatch() {
+        System.out.println("gcd");
+        GCDAlgorithm original = Calculator.getGCDAlgorithm();
+        try {
+            for (GCDAlgorithm algorithm : GCDAlgorithm.values()) {
+                Calculator.setGCDAlgorithm(algorithm);
+                assertEquals(Calculator.getGCDAlgorithm(), algorithm);
+                long a = -42L * RANDOM.nextInt(1 << 20);
+                long b = 49L * RANDOM.nextInt(1 << 20);
+                long expected = Calculator.euclideanGCD(a, b);
+                long actual = Calculator.gcd(a, b);
+                String message = "gcd(" + a + ", " + b + ") with " 
+                        + algorithm + " expected to be " + expected;
+                assertEquals(actual, expected, message);
+                for (int bits : new int[] {40, 200, 1000}) {
+                    BigInteger bigA = new BigInteger(bits, RANDOM)
+                            .multiply(BigInteger.valueOf(a));
+                    BigInteger bigB = new BigInteger(bits, RANDOM)
+                            .multiply(BigInteger.valueOf(b));
+                    BigInteger bigExpected = bigA.gcd(bigB);
+                    BigInteger bigActual = Calculator.gcd(bigA, bigB);
+                    message = "gcd(" + bigA + ", " + bigB + ") with " 
+                            + algorithm + " expected to be " + bigExpected;
+                    assertEquals(bigActual, bigExpected, message);
+                }
+            }
+        } finally {
+            Calculator.setGCDAlgorithm(original);
+        }
+    }
+    
+    @Test
+    public void testSetGCDAlgorithmRejectsNull() {
+        String msg = "Setting null GCD algorithm should cause exception";
+        Throwable t = assertThrows(() -> {
+            Calculator.setGCDAlgorithm(null);
+        }, NullPointerException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    @Test
+    public void testIsPrime() {
+        System.out.println("isPrime");
+        for (long n = -100L; n < 10000L; n++) {
+            boolean expected = n > 1L && BigInteger.valueOf(n) 
+                    .isProbablePrime(50);
+            boolean actual = Calculator.isPrime(n);
+            String msg = n + (expected ? " is" : " is not") + " prime";
+            assertEquals(actual, expected, msg);
+        }
+    }
+    
+    @Test
+    public void testIsPrimeRandomLongs() {
+        for (int i = 0; i < 10000; i++) {
+            long n = RANDOM.nextLong() >>> RANDOM.nextInt(Long.SIZE);
+            boolean expected = n > 1L && BigInteger.valueOf(n) 
+                    .isProbablePrime(50);
+            boolean actual = Calculator.isPrime(n);
+            String msg = n + (expected ? " is" : " is not") + " prime";
+            assertEquals(actual, expected, msg);
+        }
+    }
+    
+    @Test
+    public void testIsPrimeStrongPseudoprimes() {
+        long[] pseudoprimes = {2047L, 1373653L, 25326001L, 3215031751L, 
+            2152302898747L, 3474749660383L, 341550071728321L, 
+            3825123056546413051L, 318665857834031151L};
+        for (long n : pseudoprimes) {
+            String msg = n + " is composite";
+            assert !Calculator.isPrime(n) : msg;
+        }
+        long[] carmichaelNumbers = {561L, 1105L, 1729L, 2465L, 2821L, 6601L, 
+            8911L, 9746347772161L};
+        for (long n : carmichaelNumbers) {
+            String msg = "Carmichael number " + n + " is composite";
+            assert !Calculator.isPrime(n) : msg;
+        }
+    }
+    
+    @Test
+    public void testIsPrimeExtremes() {
+        long largestPrime = 9223372036854775783L;
+        assert Calculator.isPrime(largestPrime) 
+                : largestPrime + " is prime";
+        assert !Calculator.isPrime(Long.MAX_VALUE) 
+                : Long.MAX_VALUE + " is composite";
+        assert !Calculator.isPrime(Long.MIN_VALUE) 
+                : Long.MIN_VALUE + " is not prime";
+        long square = 3037000493L * 3037000493L;
+        assert !Calculator.isPrime(square) : square + " is composite";
+        long semiprime = 4294967291L * 2147483647L;
+        assert !Calculator.isPrime(semiprime) : semiprime + " is composite";
+    }
+    
+    @Test
+    public void testRandomPrimeOfBitLength() {
+        System.out.println("randomPrimeOfBitLength");
+        for (int bitLength = 2; bitLength < Long.SIZE; bitLength++) {
+            long p = Calculator.randomPrimeOfBitLength(bitLength);
+            BigInteger n = BigInteger.valueOf(p);
+            String msg = p + " should be a prime of bit length " + bitLength;
+            assertEquals(n.bitLength(), bitLength, msg);
+            assert n.isProbablePrime(50) : msg;
+        }
+    }
+    
+    @Test
+    public void testRandomPrimeOfBitLengthRejectsBadLength() {
+        int bitLength = RANDOM.nextBoolean() ? 1 
+                : Long.SIZE + RANDOM.nextInt(Byte.MAX_VALUE);
+        Throwable t = assertThrows(() -> {
+            Calculator.randomPrimeOfBitLength(bitLength);
+        }, IllegalArgumentException.class, 
+                "Bit length " + bitLength + " should be rejected");
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    @Test
+    public void testRandomMod() {
+        System.out.println("randomMod");
+        for (int i = 0; i < 1000; i++) {
+            int n = RANDOM.nextInt();
+            int m = RANDOM.nextInt(Short.MAX_VALUE) + 1;
+            if (RANDOM.nextBoolean()) {
+                m = -m;
+            }
+            int actual = Calculator.randomMod(n, m);
+            String msg = actual + " should be congruent to " + n + " modulo " 
+                    + m;
+            assertEquals(Math.floorMod(actual, m), Math.floorMod(n, m), msg);
+        }
+    }
+    
+    @Test
+    public void testRandomModSpreadsOut() {
+        int n = RANDOM.nextInt(10);
+        Set<Integer> results = new HashSet<>();
+        int callCount = 100;
+        for (int i = 0; i < callCount; i++) {
+            results.add(Calculator.randomMod(n, 10));
+        }
+        String msg = "Expected nearly " + callCount 
+                + " distinct results, got " + results.size();
+        assert results.size() > callCount - 5 : msg;
+    }
+    
+    @Test
+    public void testRandomModExtremeModuli() {
+        int n = RANDOM.nextInt();
+        assertEquals(Calculator.randomMod(n, 1) % 1, 0);
+        int actual = Calculator.randomMod(n, Integer.MIN_VALUE);
+        String msg = actual + " should be congruent to " + n 
+                + " modulo 2^31";
+        assertEquals((long) actual - n & 0x7FFFFFFFL, 0L, msg);
+        actual = Calculator.randomMod(n, Integer.MAX_VALUE);
+        msg = actual + " should be congruent to " + n + " modulo " 
+                + Integer.MAX_VALUE;
+        assertEquals(Math.floorMod(actual, Integer.MAX_VALUE), 
+                Math.floorMod(n, Integer.MAX_VALUE), msg);
+    }
+    
     @Test
     public void testRandomModZeroCausesException() {
         int n = RANDOM.nextInt();
@@ -24,12 +24,15 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.PrimitiveIterator;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 import static org.testframe.api.Asserters.assertContainsSame;
 import static org.testframe.api.Asserters.assertDoesNotThrow;
+import static org.testframe.api.Asserters.assertThrows;
 
 import static org.testng.Assert.*;
 import org.testng.annotations.Test;
@@ -90,17 +93,482 @@ public class EratosthenesSieveNGTest {
     /**
      * Test of listPrimes method, of class EratosthenesSieve.
      */
-//    @Test
+    @Test
     public void testListPrimes() {
         System.out.println("listPrimes");
-        int threshold = 0;
-        List expResult = null;
-        List result = EratosthenesSieve.listPrimes(threshold);
-        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        List<Integer> expected = Arrays.stream(SMALL_PRIMES).boxed()
+                .collect(Collectors.toList());
+        List<Integer> actual = EratosthenesSieve.listPrimes(100);
+        assertEquals(actual, expected);
     }
-
+    
+    @Test
+    public void testListPrimesIsUnmodifiable() {
+        List<Integer> primes = EratosthenesSieve.listPrimes(100);
+        try {
+            primes.set(0, 4);
+            fail("Should not have been able to change " + primes);
+        } catch (UnsupportedOperationException uoe) {
+            System.out.println("Trying to change list of primes caused " 
+                    + uoe.getClass().getName());
+        }
+    }
+    
+    @Test
+    public void testPrimesUpTo() {
+        System.out.println("primesUpTo");
+        int threshold = SMALL_PRIMES[RANDOM.nextInt(SMALL_PRIMES.length)];
+        int index = Arrays.binarySearch(SMALL_PRIMES, threshold);
+        int[] expected = Arrays.copyOf(SMALL_PRIMES, index + 1);
+        int[] actual = EratosthenesSieve.primesUpTo(threshold);
+        String message = "Primes up to " + threshold + " inclusive";
+        assertEquals(actual, expected, message);
+    }
+    
+    @Test
+    public void testPrimesUpToEmpty() {
+        for (int threshold = -1; threshold < 2; threshold++) {
+            int[] actual = EratosthenesSieve.primesUpTo(threshold);
+            String msg = "Expecting no primes for threshold " + threshold;
+            assertEquals(actual.length, 0, msg);
+        }
+    }
+    
+    @Test
+    public void testPrimesUpToCount() {
+        int[] thresholds = {1000, 1000000, 10000000};
+        int[] expected = {168, 78498, 664579};
+        for (int i = 0; i < thresholds.length; i++) {
+            int actual = EratosthenesSieve.primesUpTo(thresholds[i]).length;
+            String message = "Number of primes up to " + thresholds[i];
+            assertEquals(actual, expected[i], message);
+        }
+    }
+    
+    @Test
+    public void testPrimesUpToAcrossSegments() {
+        int segmentNumbers = 2 * EratosthenesSieve.SEGMENT_BITS;
+        int threshold = 3 * segmentNumbers + RANDOM.nextInt(segmentNumbers);
+        int[] primes = EratosthenesSieve.primesUpTo(threshold);
+        int previous = 1;
+        for (int p : primes) {
+            for (int n = previous + 1; n < p; n++) {
+                String msg = n + " should be composite";
+                assert checkPrime(n).isPresent() : msg;
+            }
+            String msg = p + " should be prime";
+            assert checkPrime(p).isEmpty() : msg;
+            previous = p;
+        }
+        for (int n = previous + 1; n <= threshold; n++) {
+            String msg = n + " should be composite";
+            assert checkPrime(n).isPresent() : msg;
+        }
+    }
+    
+    @Test
+    public void testParallelPrimesUpTo() {
+        System.out.println("parallelPrimesUpTo");
+        int threshold = 10 * EratosthenesSieve.SEGMENT_BITS 
+                + RANDOM.nextInt(Short.MAX_VALUE);
+        int[] expected = EratosthenesSieve.primesUpTo(threshold);
+        int[] actual = EratosthenesSieve.parallelPrimesUpTo(threshold);
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testParallelPrimesUpToGivenPool() {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (int threshold = -1; threshold < 100; threshold++) {
+                int[] expected = EratosthenesSieve.primesUpTo(threshold);
+                int[] actual = EratosthenesSieve.parallelPrimesUpTo(threshold, 
+                        pool);
+                String message = "Primes up to " + threshold;
+                assertEquals(actual, expected, message);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void testParallelPrimeCount() {
+        System.out.println("parallelPrimeCount");
+        long[] thresholds = {1L, 2L, 10L, 100L, 1000000L, 100000000L};
+        long[] expected = {0L, 1L, 4L, 25L, 78498L, 5761455L};
+        for (int i = 0; i < thresholds.length; i++) {
+            long actual = EratosthenesSieve.parallelPrimeCount(thresholds[i]);
+            String message = "Number of primes up to " + thresholds[i];
+            assertEquals(actual, expected[i], message);
+        }
+    }
+    
+    @Test
+    public void testParallelPrimeCountBeyondIntRange() {
+        long threshold = Integer.MAX_VALUE + 1000000L;
+        long expected = 105097565L + 46612L;
+        long actual = EratosthenesSieve.parallelPrimeCount(threshold);
+        String message = "Number of primes up to " + threshold;
+        assertEquals(actual, expected, message);
+    }
+    
+    /**
+     * Test of the parallelPrimes function, of the EratosthenesSieve class.
+     */
+    @Test
+    public void testParallelPrimes() {
+        System.out.println("parallelPrimes");
+        int threshold = 10 * EratosthenesSieve.SEGMENT_BITS 
+                + RANDOM.nextInt(Short.MAX_VALUE);
+        int[] expected = EratosthenesSieve.primesUpTo(threshold);
+        List<Long> primes = new ArrayList<>();
+        EratosthenesSieve.parallelPrimes(threshold, primes::add);
+        long[] actual = primes.stream().mapToLong(Long::longValue).toArray();
+        assertEquals(actual, Arrays.stream(expected).asLongStream().toArray());
+    }
+    
+    @Test
+    public void testParallelPrimesGivenPool() {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (int threshold = -1; threshold < 100; threshold++) {
+                long[] expected = Arrays.stream(EratosthenesSieve 
+                        .primesUpTo(threshold)).asLongStream().toArray();
+                List<Long> primes = new ArrayList<>();
+                EratosthenesSieve.parallelPrimes(threshold, pool, primes::add);
+                long[] actual = primes.stream().mapToLong(Long::longValue) 
+                        .toArray();
+                String message = "Primes up to " + threshold;
+                assertEquals(actual, expected, message);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void testParallelPrimesBeyondIntRange() {
+        long threshold = Integer.MAX_VALUE + 1000000L;
+        long[] count = new long[1];
+        List<Long> beyond = new ArrayList<>();
+        long[] previous = {0L};
+        EratosthenesSieve.parallelPrimes(threshold, p -> {
+            assert p > previous[0] : p + " should come after " + previous[0];
+            previous[0] = p;
+            count[0]++;
+            if (p > Integer.MAX_VALUE) {
+                beyond.add(p);
+            }
+        });
+        assertEquals(count[0], 105097565L + 46612L);
+        assertEquals(beyond.size(), 46612);
+        for (long p : beyond) {
+            String msg = p + " should be prime";
+            assert Calculator.isPrime(p) : msg;
+        }
+    }
+    
+    @Test
+    public void testParallelPrimeCountRejectsExcessiveThreshold() {
+        long threshold = EratosthenesSieve.MAX_LONG_THRESHOLD + 1;
+        String msg = "Threshold " + threshold + " should be rejected";
+        Throwable t = assertThrows(() -> {
+            long badResult = EratosthenesSieve.parallelPrimeCount(threshold);
+            System.out.println(msg + ", not given result " + badResult);
+        }, IllegalArgumentException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    /**
+     * Test of the primeCount function, of the EratosthenesSieve class.
+     */
+    @Test
+    public void testPrimeCount() {
+        System.out.println("primeCount");
+        int[] primes = EratosthenesSieve.primesUpTo(1 << 24);
+        for (int i = 0; i < 100; i++) {
+            int threshold = RANDOM.nextInt(1 << 24);
+            int expected = Arrays.binarySearch(primes, threshold);
+            expected = expected < 0 ? -expected - 1 : expected + 1;
+            long actual = EratosthenesSieve.primeCount(threshold);
+            String msg = "Counting primes up to " + threshold;
+            assertEquals(actual, expected, msg);
+        }
+    }
+    
+    @Test
+    public void testPrimeCountPowersOfTen() {
+        long[] expected = {0L, 4L, 25L, 168L, 1229L, 9592L, 78498L, 664579L, 
+            5761455L, 50847534L, 455052511L, 4118054813L, 37607912018L};
+        long threshold = 1L;
+        for (int k = 0; k < expected.length; k++) {
+            long actual = EratosthenesSieve.primeCount(threshold);
+            String msg = "Counting primes up to 10^" + k;
+            assertEquals(actual, expected[k], msg);
+            threshold *= 10L;
+        }
+    }
+    
+    @Test
+    public void testPrimeCountMatchesParallelPrimeCount() {
+        long threshold = (1L << 31) + RANDOM.nextInt(1 << 24);
+        long expected = EratosthenesSieve.parallelPrimeCount(threshold);
+        long actual = EratosthenesSieve.primeCount(threshold);
+        String msg = "Counting primes up to " + threshold;
+        assertEquals(actual, expected, msg);
+    }
+    
+    @Test
+    public void testPrimeCountBelowTwo() {
+        long threshold = -RANDOM.nextInt(Short.MAX_VALUE);
+        assertEquals(EratosthenesSieve.primeCount(threshold), 0L);
+        assertEquals(EratosthenesSieve.primeCount(1L), 0L);
+        assertEquals(EratosthenesSieve.primeCount(2L), 1L);
+    }
+    
+    @Test
+    public void testPrimeCountMaxThreshold() {
+        long threshold = EratosthenesSieve.MAX_COUNT_THRESHOLD;
+        long expected = 346065536839L;
+        long actual = EratosthenesSieve.primeCount(threshold);
+        String msg = "Counting primes up to " + threshold;
+        assertEquals(actual, expected, msg);
+    }
+    
+    @Test
+    public void testPrimeCountRejectsExcessiveThreshold() {
+        long threshold = EratosthenesSieve.MAX_COUNT_THRESHOLD + 1L;
+        Throwable t = assertThrows(() -> {
+            EratosthenesSieve.primeCount(threshold);
+        }, IllegalArgumentException.class, 
+                "Threshold " + threshold + " should be rejected");
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    /**
+     * Test of the primeIterator function, of the EratosthenesSieve class.
+     */
+    @Test
+    public void testPrimeIterator() {
+        System.out.println("primeIterator");
+        int threshold = (1 << 21) + RANDOM.nextInt(1 << 20);
+        int[] expected = EratosthenesSieve.primesUpTo(threshold);
+        PrimitiveIterator.OfInt iterator = EratosthenesSieve.primeIterator();
+        for (int i = 0; i < expected.length; i++) {
+            assert iterator.hasNext() : "Iterator should have more primes";
+            int actual = iterator.nextInt();
+            String msg = "Prime number " + (i + 1);
+            assertEquals(actual, expected[i], msg);
+        }
+    }
+    
+    @Test
+    public void testPrimeIteratorFromStart() {
+        int start = RANDOM.nextInt(1 << 24);
+        int threshold = start + (1 << 20);
+        int[] expected = Arrays.stream(EratosthenesSieve 
+                .primesUpTo(threshold)).filter(p -> p >= start).toArray();
+        PrimitiveIterator.OfInt iterator = EratosthenesSieve
+                .primeIterator(start);
+        int[] actual = new int[expected.length];
+        for (int i = 0; i < actual.length; i++) {
+            actual[i] = iterator.nextInt();
+        }
+        String msg = "Primes from " + start + " to " + threshold;
+        assertEquals(actual, expected, msg);
+    }
+    
+    @Test
+    public void testPrimeIteratorIncludesPrimeStart() {
+        for (int start : new int[] {Integer.MIN_VALUE, -1, 0, 1, 2, 3, 5, 7, 
+            11, 127, 1000003}) {
+            int expected = Math.max(start, 2);
+            int actual = EratosthenesSieve.primeIterator(start).nextInt();
+            String msg = "Iterator from " + start + " should start at " 
+                    + expected;
+            assertEquals(actual, expected, msg);
+        }
+    }
+    
+    @Test
+    public void testPrimeIteratorEndsAtIntRange() {
+        PrimitiveIterator.OfInt iterator = EratosthenesSieve
+                .primeIterator(Integer.MAX_VALUE - 100);
+        assertEquals(iterator.nextInt(), 2147483549);
+        assertEquals(iterator.nextInt(), 2147483563);
+        assertEquals(iterator.nextInt(), 2147483579);
+        assertEquals(iterator.nextInt(), 2147483587);
+        assertEquals(iterator.nextInt(), 2147483629);
+        assertEquals(iterator.nextInt(), Integer.MAX_VALUE);
+        assert !iterator.hasNext() : "No primes after Integer.MAX_VALUE";
+        Throwable t = assertThrows(() -> {
+            iterator.nextInt();
+        }, NoSuchElementException.class, 
+                "Going past Integer.MAX_VALUE should cause exception");
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    /**
+     * Test of the primes function, of the EratosthenesSieve class.
+     */
+    @Test
+    public void testPrimes() {
+        System.out.println("primes");
+        int[] expected = SMALL_PRIMES;
+        int[] actual = EratosthenesSieve.primes().limit(expected.length)
+                .toArray();
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testPrimesFromStart() {
+        int[] expected = {1000003, 1000033, 1000037, 1000039, 1000081};
+        int[] actual = EratosthenesSieve.primes(1000000).limit(5).toArray();
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testPrimesTakeWhile() {
+        int threshold = RANDOM.nextInt(1 << 20) + 2;
+        long expected = EratosthenesSieve.primesUpTo(threshold).length;
+        long actual = EratosthenesSieve.primes() 
+                .takeWhile(p -> p <= threshold).count();
+        String msg = "Counting primes up to " + threshold;
+        assertEquals(actual, expected, msg);
+    }
+    
+    /**
+     * Test of the isPrime function, of the EratosthenesSieve class.
+     */
+    @Test
+    public void testIsPrime() {
+        System.out.println("isPrime");
+        for (int n = -100; n < 10000; n++) {
+            boolean expected = checkPrime(n).isEmpty() && n > 1;
+            boolean actual = EratosthenesSieve.isPrime(n);
+            String msg = n + (expected ? " is" : " is not") + " prime";
+            assertEquals(actual, expected, msg);
+        }
+    }
+    
+    @Test
+    public void testIsPrimeLargerNumbers() {
+        for (int i = 0; i < 1000; i++) {
+            int n = RANDOM.nextInt(EratosthenesSieve.TABLE_CAP) + 1;
+            boolean expected = checkPrime(n).isEmpty() && n > 1;
+            boolean actual = EratosthenesSieve.isPrime(n);
+            String msg = n + (expected ? " is" : " is not") + " prime";
+            assertEquals(actual, expected, msg);
+        }
+    }
+    
+    @Test
+    public void testIsPrimeBeyondTable() {
+        int before = EratosthenesSieve.tableLimit();
+        int bound = Math.max(before, 2 * 46340);
+        int[] primes = {Integer.MAX_VALUE, 2147483629, 1073741789, 
+            EratosthenesSieve.TABLE_CAP + 15};
+        for (int p : primes) {
+            String msg = p + " is prime";
+            assert EratosthenesSieve.isPrime(p) : msg;
+        }
+        int[] composites = {Integer.MAX_VALUE - 2, 46349 * 46349, 
+            65521 * 32749, EratosthenesSieve.TABLE_CAP + 1};
+        for (int n : composites) {
+            String msg = n + " is not prime";
+            assert !EratosthenesSieve.isPrime(n) : msg;
+        }
+        int after = EratosthenesSieve.tableLimit();
+        String msg = "Checking numbers beyond the cap should not grow table " 
+                + "from " + before + " past " + bound + ", grew to " + after;
+        assert after <= bound : msg;
+    }
+    
+    @Test
+    public void testIsPrimeFromSeveralThreads() throws InterruptedException {
+        int threadCount = 4;
+        int range = 1 << 20;
+        int[] expected = new int[threadCount];
+        int[] actual = new int[threadCount];
+        int[] reference = EratosthenesSieve.primesUpTo(threadCount * range);
+        Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            int start = (threadCount - t - 1) * range;
+            int index = t;
+            threads[t] = new Thread(() -> {
+                for (int n = start + range; n > start; n--) {
+                    if (EratosthenesSieve.isPrime(n)) {
+                        actual[index]++;
+                    }
+                }
+            });
+        }
+        for (int p : reference) {
+            expected[threadCount - 1 - (p - 1) / range]++;
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testRandomPrimeIsUniform() {
+        int bound = 30;
+        int[] counts = new int[bound];
+        int drawCount = 10000;
+        for (int i = 0; i < drawCount; i++) {
+            counts[EratosthenesSieve.randomPrime(bound)]++;
+        }
+        int expected = drawCount / 10;
+        for (int p = 0; p < bound; p++) {
+            if (checkPrime(p).isEmpty() && p > 1) {
+                String msg = "Prime " + p + " drawn " + counts[p] 
+                        + " times, expected about " + expected;
+                assert Math.abs(counts[p] - expected) < expected / 4 : msg;
+            } else {
+                String msg = "Nonprime " + p + " should not have been drawn";
+                assertEquals(counts[p], 0, msg);
+            }
+        }
+    }
+    
+    @Test
+    public void testRandomPrimeBeyondTable() {
+        int bound = Integer.MAX_VALUE;
+        for (int i = 0; i < 20; i++) {
+            int p = EratosthenesSieve.randomPrime(bound);
+            String msg = "Number " + p + " should be prime";
+            assert checkPrime(p).isEmpty() && p > 1 : msg;
+        }
+    }
+    
+    @Test
+    public void testRandomPrimeRejectsNonPositiveBound() {
+        int bound = -RANDOM.nextInt(Short.MAX_VALUE);
+        Throwable t = assertThrows(() -> {
+            EratosthenesSieve.randomPrime(bound);
+        }, IllegalArgumentException.class, 
+                "Bound " + bound + " should be rejected");
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
     /**
      * Test of the randomPrime function, of the EratosthenesSieve class.
      */
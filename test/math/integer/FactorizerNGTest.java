@@ -0,0 +1,247 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.integer;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.testframe.api.Asserters.assertThrows;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the Factorizer class.
+ * @author Alonso del Arte
+ */
+public class FactorizerNGTest {
+    
+    private static final Random RANDOM = new Random();
+    
+    private static final int LIMIT = 1 << 20;
+    
+    private static final Factorizer FACTORIZER = new Factorizer(LIMIT);
+    
+    private static int[] trialDivision(long n) {
+        long a = Math.abs(n);
+        int[] factors = new int[Long.SIZE];
+        int count = 0;
+        for (int d = 2; (long) d * d <= a; d++) {
+            while (a % d == 0) {
+                factors[count++] = d;
+                a /= d;
+            }
+        }
+        if (a > 1) {
+            factors[count++] = (int) a;
+        }
+        return Arrays.copyOf(factors, count);
+    }
+    
+    private static void assertFactorization(long n, long[] factors) {
+        BigInteger product = BigInteger.ONE;
+        for (int i = 0; i < factors.length; i++) {
+            String msg = "Factor " + factors[i] + " of " + n 
+                    + " should be prime";
+            assert Calculator.isPrime(factors[i]) : msg;
+            assert i == 0 || factors[i - 1] <= factors[i] 
+                    : "Factors of " + n + " should be in ascending order";
+            product = product.multiply(BigInteger.valueOf(factors[i]));
+        }
+        String msg = "Product of factors " + Arrays.toString(factors) 
+                + " should be " + n;
+        assertEquals(product, BigInteger.valueOf(n).abs(), msg);
+    }
+    
+    @Test
+    public void testGetLimit() {
+        System.out.println("getLimit");
+        assertEquals(FACTORIZER.getLimit(), LIMIT);
+    }
+    
+    @Test
+    public void testSmallestPrimeFactor() {
+        System.out.println("smallestPrimeFactor");
+        for (int n = 2; n < 100000; n++) {
+            int expected = trialDivision(n)[0];
+            int actual = FACTORIZER.smallestPrimeFactor(n);
+            String msg = "Smallest prime factor of " + n;
+            assertEquals(actual, expected, msg);
+        }
+    }
+    
+    @Test
+    public void testSmallestPrimeFactorBeyondTable() {
+        int[] numbers = {Integer.MAX_VALUE, Integer.MIN_VALUE + 1, 
+            46337 * 46327, 65521 * 32749, -(LIMIT + 1)};
+        for (int n : numbers) {
+            int expected = trialDivision(n)[0];
+            int actual = FACTORIZER.smallestPrimeFactor(n);
+            String msg = "Smallest prime factor of " + n;
+            assertEquals(actual, expected, msg);
+        }
+    }
+    
+    @Test
+    public void testSmallestPrimeFactorOfUnit() {
+        int n = RANDOM.nextBoolean() ? 1 : -1;
+        Throwable t = assertThrows(() -> {
+            FACTORIZER.smallestPrimeFactor(n);
+        }, ArithmeticException.class, n + " has no prime factors");
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    @Test
+    public void testFactorize() {
+        System.out.println("factorize");
+        for (int i = 0; i < 1000; i++) {
+            int n = RANDOM.nextInt(LIMIT) + 1;
+            if (RANDOM.nextBoolean()) {
+                n = -n;
+            }
+            int[] expected = trialDivision(n);
+            int[] actual = FACTORIZER.factorize(n);
+            String msg = "Factorization of " + n;
+            assertEquals(actual, expected, msg);
+        }
+    }
+    
+    @Test
+    public void testFactorizeIntBeyondTable() {
+        for (int i = 0; i < 200; i++) {
+            int n = RANDOM.nextInt(Integer.MAX_VALUE - LIMIT) + LIMIT + 1;
+            int[] expected = trialDivision(n);
+            int[] actual = FACTORIZER.factorize(n);
+            String msg = "Factorization of " + n;
+            assertEquals(actual, expected, msg);
+        }
+        int[] expected = new int[31];
+        Arrays.fill(expected, 2);
+        assertEquals(FACTORIZER.factorize(Integer.MIN_VALUE), expected);
+    }
+    
+    @Test
+    public void testFactorizeUnit() {
+        assertEquals(FACTORIZER.factorize(1), new int[0]);
+        assertEquals(FACTORIZER.factorize(-1), new int[0]);
+        assertEquals(FACTORIZER.factorize(1L), new long[0]);
+    }
+    
+    @Test
+    public void testFactorizeZero() {
+        Throwable t = assertThrows(() -> {
+            FACTORIZER.factorize(0);
+        }, ArithmeticException.class, "0 should not be factorizable");
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    @Test
+    public void testFactorizeLong() {
+        long[] expected = {7L, 7L, 73L, 127L, 337L, 92737L, 649657L};
+        long[] actual = FACTORIZER.factorize(Long.MAX_VALUE);
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testFactorizeRandomLongs() {
+        for (int i = 0; i < 200; i++) {
+            long n = RANDOM.nextLong() >> RANDOM.nextInt(Long.SIZE);
+            if (n != 0L) {
+                assertFactorization(n, FACTORIZER.factorize(n));
+            }
+        }
+    }
+    
+    @Test
+    public void testFactorizeSemiprimes() {
+        for (int bitLength = 21; bitLength < 32; bitLength++) {
+            long p = Calculator.randomPrimeOfBitLength(bitLength);
+            long q = Calculator.randomPrimeOfBitLength(bitLength);
+            long n = p * q;
+            long[] expected = {Math.min(p, q), Math.max(p, q)};
+            long[] actual = FACTORIZER.factorize(n);
+            String msg = "Factorization of " + n;
+            assertEquals(actual, expected, msg);
+        }
+    }
+    
+    @Test
+    public void testFactorizePrimeSquare() {
+        long p = 3037000493L;
+        long[] expected = {p, p};
+        assertEquals(FACTORIZER.factorize(p * p), expected);
+    }
+    
+    @Test
+    public void testFactorizeLongMinValue() {
+        long[] expected = new long[63];
+        Arrays.fill(expected, 2L);
+        assertEquals(FACTORIZER.factorize(Long.MIN_VALUE), expected);
+    }
+    
+    @Test
+    public void testDivisorCount() {
+        System.out.println("divisorCount");
+        for (int n = 1; n < 2000; n++) {
+            long expected = 0L;
+            for (int d = 1; d <= n; d++) {
+                if (n % d == 0) {
+                    expected++;
+                }
+            }
+            long actual = FACTORIZER.divisorCount(RANDOM.nextBoolean() ? n 
+                    : -n);
+            String msg = "Number of divisors of " + n;
+            assertEquals(actual, expected, msg);
+        }
+        assertEquals(FACTORIZER.divisorCount(Long.MAX_VALUE), 96L);
+    }
+    
+    @Test
+    public void testDivisorCountOfZero() {
+        Throwable t = assertThrows(() -> {
+            FACTORIZER.divisorCount(0L);
+        }, ArithmeticException.class, "0 has infinitely many divisors");
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    @Test
+    public void testConstructorRejectsSmallLimit() {
+        int limit = -RANDOM.nextInt(Short.MAX_VALUE);
+        Throwable t = assertThrows(() -> {
+            Factorizer badFactorizer = new Factorizer(limit);
+            System.out.println("Made factorizer with limit " 
+                    + badFactorizer.getLimit());
+        }, IllegalArgumentException.class, 
+                "Limit " + limit + " should be rejected");
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package math.integer;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.function.BinaryOperator;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Times the greatest common divisor (GCD) algorithms of {@link Calculator} 
+ * against each other for operands of increasing size, to find the crossover 
+ * points between them. This is a plain timing harness, with a warm-up pass 
+ * before each measured pass, not a replacement for a proper benchmarking 
+ * framework; expect a few percent of noise between runs. Run it with the 
+ * <code>benchmark-gcd</code> Ant target or directly from the command line.
+ * <p>The operands are pseudorandom with a fixed seed, so that every algorithm 
+ * sees the same operands. The results are added up into a checksum, both to 
+ * check that the algorithms agree and to keep the JIT compiler from 
+ * discarding the calculations.</p>
+ * @author Alonso del Arte
+ */
+public class GCDBenchmark {
+    
+    private static final int OPERAND_COUNT = 1 << 12;
+    
+    private static final int WARM_UP_ROUNDS = 3;
+    
+    private static final int MEASURED_ROUNDS = 5;
+    
+    private static final int[] LONG_BIT_LENGTHS = {8, 16, 24, 32, 40, 48, 56, 
+        63};
+    
+    private static final int[] BIG_BIT_LENGTHS = {64, 128, 256, 512, 1024, 
+        2048, 4096, 8192};
+    
+    private static long checksum;
+    
+    private static double time(long[] as, long[] bs, LongBinaryOperator op) {
+        long best = Long.MAX_VALUE;
+        int rounds = WARM_UP_ROUNDS + MEASURED_ROUNDS;
+        for (int round = 0; round < rounds; round++) {
+            long sum = 0L;
+            long start = System.nanoTime();
+            for (int i = 0; i < as.length; i++) {
+                sum += op.applyAsLong(as[i], bs[i]);
+            }
+            long elapsed = System.nanoTime() - start;
+            if (round >= WARM_UP_ROUNDS) {
+                best = Math.min(best, elapsed);
+            }
+            checksum = sum;
+        }
+        return (double) best / as.length;
+    }
+    
+    private static double time(BigInteger[] as, BigInteger[] bs, 
+            BinaryOperator<BigInteger> op) {
+        long best = Long.MAX_VALUE;
+        int rounds = WARM_UP_ROUNDS + MEASURED_ROUNDS;
+        for (int round = 0; round < rounds; round++) {
+            long sum = 0L;
+            long start = System.nanoTime();
+            for (int i = 0; i < as.length; i++) {
+                sum += op.apply(as[i], bs[i]).longValue();
+            }
+            long elapsed = System.nanoTime() - start;
+            if (round >= WARM_UP_ROUNDS) {
+                best = Math.min(best, elapsed);
+            }
+            checksum = sum;
+        }
+        return (double) best / as.length;
+    }
+    
+    private static void benchmarkLongs(Random random) {
+        System.out.println("long operands, nanoseconds per call");
+        System.out.printf("%5s %12s %12s %8s%n", "bits", "euclidean", 
+                "binary", "ratio");
+        for (int bits : LONG_BIT_LENGTHS) {
+            long[] as = new long[OPERAND_COUNT];
+            long[] bs = new long[OPERAND_COUNT];
+            for (int i = 0; i < OPERAND_COUNT; i++) {
+                as[i] = random.nextLong() >>> (Long.SIZE - bits);
+                bs[i] = random.nextLong() >>> (Long.SIZE - bits);
+            }
+            double euclidean = time(as, bs, Calculator::euclideanGCD);
+            long euclideanSum = checksum;
+            double binary = time(as, bs, Calculator::binaryGCD);
+            if (checksum != euclideanSum) {
+                throw new AssertionError("Algorithms disagree at " + bits 
+                        + " bits");
+            }
+            System.out.printf("%5d %12.1f %12.1f %8.2f%n", bits, euclidean, 
+                    binary, euclidean / binary);
+        }
+    }
+    
+    private static void benchmarkBigIntegers(Random random) {
+        System.out.println("BigInteger operands, nanoseconds per call");
+        System.out.printf("%5s %12s %12s %12s%n", "bits", "euclidean", 
+                "library", "lehmer");
+        for (int bits : BIG_BIT_LENGTHS) {
+            BigInteger[] as = new BigInteger[OPERAND_COUNT];
+            BigInteger[] bs = new BigInteger[OPERAND_COUNT];
+            for (int i = 0; i < OPERAND_COUNT; i++) {
+                as[i] = new BigInteger(bits, random);
+                bs[i] = new BigInteger(bits, random);
+            }
+            double euclidean = time(as, bs, Calculator::euclideanGCD);
+            long euclideanSum = checksum;
+            double library = time(as, bs, BigInteger::gcd);
+            long librarySum = checksum;
+            double lehmer = time(as, bs, Calculator::lehmerGCD);
+            if (checksum != euclideanSum || checksum != librarySum) {
+                throw new AssertionError("Algorithms disagree at " + bits 
+                        + " bits");
+            }
+            System.out.printf("%5d %12.1f %12.1f %12.1f%n", bits, euclidean, 
+                    library, lehmer);
+        }
+    }
+    
+    public static void main(String[] args) {
+        Random random = new Random(0x6CD);
+        benchmarkLongs(random);
+        benchmarkBigIntegers(random);
+    }
+    
+}
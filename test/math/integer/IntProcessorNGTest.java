@@ -16,6 +16,9 @@
  */
 package math.integer;
 
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
 import static math.integer.CalculatorNGTest.RANDOM;
 
 import static org.testframe.api.Asserters.assertThrows;
@@ -45,32 +48,208 @@ public class IntProcessorNGTest {
         System.out.println("\"" + excMsg + "\"");
     }
 
+    @Test
+    public void testFromBytesEmptyArrayGivesZero() {
+        byte[] source = {};
+        int expected = 0;
+        int actual = IntProcessor.fromBytes(source);
+        assertEquals(actual, expected);
+    }
+    
     /**
-     * Test of fromBytes method, of class IntProcessor.
+     * Test of the fromBytes function, of the IntProcessor class.
      */
-    @Test(enabled = false)
+    @Test
     public void testFromBytes() {
         System.out.println("fromBytes");
-        byte[] source = null;
-        int expResult = 0;
-        int result = IntProcessor.fromBytes(source);
-        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        byte[] source = {1, 3, 5, 7};
+        int expected = 0x01030507;
+        int actual = IntProcessor.fromBytes(source);
+        assertEquals(actual, expected);
     }
 
     /**
-     * Test of toBytes method, of class IntProcessor.
+     * Another test of the fromBytes function, of the IntProcessor class. For 
+     * this test we ensure the target 32-bit integer is negative.
      */
-    @Test(enabled = false)
+    @Test
+    public void testFromBytesNegative() {
+        byte[] source = new byte[Integer.BYTES];
+        RANDOM.nextBytes(source);
+        source[0] = (byte) (source[0] | Byte.MIN_VALUE);
+        int expected = 0;
+        for (byte b : source) {
+            expected *= 256;
+            expected += Byte.toUnsignedInt(b);
+        }
+        int actual = IntProcessor.fromBytes(source);
+        String message = "Reading " + expected + " from bytes";
+        assertEquals(actual, expected, message);
+    }
+    
+    @Test
+    public void testFromBytesArraySizes1To3() {
+        for (int size = 1; size < Integer.BYTES; size++) {
+            byte[] source = new byte[size];
+            RANDOM.nextBytes(source);
+            int expected = 0;
+            for (byte b : source) {
+                expected *= 256;
+                expected += Byte.toUnsignedInt(b);
+            }
+            int actual = IntProcessor.fromBytes(source);
+            assertEquals(actual, expected);
+        }
+    }
+
+    /**
+     * Test of the toBytes function, of the IntProcessor class.
+     */
+    @Test
     public void testToBytes() {
         System.out.println("toBytes");
-        int source = 0;
-        byte[] expResult = null;
-        byte[] result = IntProcessor.toBytes(source);
-        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        int source = -2139194246;
+        byte[] expected = {-128, 126, 124, 122};
+        byte[] actual = IntProcessor.toBytes(source);
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testToBytesRoundTrip() {
+        for (int n = 0; n < 1000; n++) {
+            int expected = RANDOM.nextInt();
+            byte[] bytes = IntProcessor.toBytes(expected);
+            assertEquals(bytes.length, Integer.BYTES);
+            int actual = IntProcessor.fromBytes(bytes);
+            assertEquals(actual, expected);
+        }
+    }
+    
+    @Test
+    public void testFromBytesAtOffset() {
+        byte[] source = new byte[Integer.BYTES + 8];
+        RANDOM.nextBytes(source);
+        byte[] expected = {1, 3, 5, 7};
+        System.arraycopy(expected, 0, source, 4, Integer.BYTES);
+        int actual = IntProcessor.fromBytes(source, 4, ByteOrder.BIG_ENDIAN);
+        assertEquals(actual, 16975111);
+    }
+    
+    @Test
+    public void testFromBytesLittleEndian() {
+        byte[] source = {7, 5, 3, 1};
+        int actual = IntProcessor.fromBytes(source, 0, ByteOrder.LITTLE_ENDIAN);
+        assertEquals(actual, 16975111);
+    }
+    
+    @Test
+    public void testToBytesAtOffset() {
+        byte[] destination = new byte[Integer.BYTES + 8];
+        IntProcessor.toBytes(16975111, destination, 4, ByteOrder.LITTLE_ENDIAN);
+        byte[] expected = {7, 5, 3, 1};
+        byte[] actual = Arrays.copyOfRange(destination, 4, 4 + Integer.BYTES);
+        assertEquals(actual, expected);
+        assertEquals(destination[3], (byte) 0);
+        assertEquals(destination[4 + Integer.BYTES], (byte) 0);
+    }
+    
+    @Test
+    public void testToBytesFromBytesRoundTripBothOrders() {
+        byte[] bytes = new byte[Integer.BYTES + 3];
+        ByteOrder[] orders = {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN};
+        for (int n = 0; n < 1000; n++) {
+            int expected = RANDOM.nextInt();
+            ByteOrder order = orders[n % 2];
+            int offset = RANDOM.nextInt(4);
+            IntProcessor.toBytes(expected, bytes, offset, order);
+            int actual = IntProcessor.fromBytes(bytes, offset, order);
+            assertEquals(actual, expected);
+        }
+    }
+    
+    @Test
+    public void testFromBytesRejectsBadOffset() {
+        byte[] source = new byte[Integer.BYTES + 1];
+        int offset = 2;
+        String msg = "Offset " + offset + " into array of " + source.length 
+                + " bytes should have caused an exception";
+        Throwable t = assertThrows(() -> {
+            int badValue = IntProcessor.fromBytes(source, offset, 
+                    ByteOrder.BIG_ENDIAN);
+            System.out.println(msg + ", not given result " + badValue);
+        }, IndexOutOfBoundsException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    @Test
+    public void testToBytesRejectsNullOrder() {
+        byte[] destination = new byte[Integer.BYTES];
+        String msg = "Null byte order should have caused an exception";
+        Throwable t = assertThrows(() -> {
+            IntProcessor.toBytes(16975111, destination, 0, null);
+        }, NullPointerException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    /**
+     * Test of the decode function, of the IntProcessor class.
+     */
+    @Test
+    public void testDecode() {
+        System.out.println("decode");
+        int length = RANDOM.nextInt(64) + 16;
+        int[] expected = new int[length];
+        byte[] source = new byte[length * Integer.BYTES + 1];
+        for (int i = 0; i < length; i++) {
+            expected[i] = RANDOM.nextInt();
+            IntProcessor.toBytes(expected[i], source, i * Integer.BYTES + 1, 
+                    ByteOrder.LITTLE_ENDIAN);
+        }
+        int[] actual = new int[length + 2];
+        IntProcessor.decode(source, 1, actual, 2, length, 
+                ByteOrder.LITTLE_ENDIAN);
+        assertEquals(Arrays.copyOfRange(actual, 2, length + 2), expected);
+    }
+    
+    /**
+     * Test of the encode function, of the IntProcessor class.
+     */
+    @Test
+    public void testEncode() {
+        System.out.println("encode");
+        int length = RANDOM.nextInt(64) + 16;
+        int[] source = new int[length];
+        byte[] expected = new byte[length * Integer.BYTES];
+        for (int i = 0; i < length; i++) {
+            source[i] = RANDOM.nextInt();
+            System.arraycopy(IntProcessor.toBytes(source[i]), 0, expected, 
+                    i * Integer.BYTES, Integer.BYTES);
+        }
+        byte[] actual = new byte[length * Integer.BYTES];
+        IntProcessor.encode(source, 0, actual, 0, length, ByteOrder.BIG_ENDIAN);
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testEncodeRejectsShortDestination() {
+        int[] source = new int[10];
+        byte[] destination = new byte[10 * Integer.BYTES - 1];
+        String msg = "Destination of " + destination.length 
+                + " bytes should have caused an exception";
+        Throwable t = assertThrows(() -> {
+            IntProcessor.encode(source, 0, destination, 0, source.length, 
+                    ByteOrder.BIG_ENDIAN);
+        }, IndexOutOfBoundsException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
     }
     
 }
@@ -16,6 +16,9 @@
  */
 package math.integer;
 
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
 import static math.integer.CalculatorNGTest.RANDOM;
 
 import static org.testframe.api.Asserters.assertThrows;
@@ -127,17 +130,242 @@ public class LongProcessorNGTest {
     }
 
     /**
-     * Test of toBytes method, of class LongProcessor.
+     * Test of the toBytes function, of the LongProcessor class.
      */
-//    @Test
+    @Test
     public void testToBytes() {
         System.out.println("toBytes");
-        long source = 0L;
-        byte[] expResult = null;
-        byte[] result = LongProcessor.toBytes(source);
-        assertEquals(result, expResult);
-        // TODO review the generated test code and remove the default call to fail.
-        fail("The test case is a prototype.");
+        long source = -9187769324340349838L;
+        byte[] expected = {-128, 126, 124, 122, 120, 118, 116, 114};
+        byte[] actual = LongProcessor.toBytes(source);
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testToBytesRoundTrip() {
+        for (int n = 0; n < 1000; n++) {
+            long expected = RANDOM.nextLong();
+            byte[] bytes = LongProcessor.toBytes(expected);
+            assertEquals(bytes.length, Long.BYTES);
+            long actual = LongProcessor.fromBytes(bytes);
+            assertEquals(actual, expected);
+        }
+    }
+    
+    @Test
+    public void testFromBytesAtOffset() {
+        byte[] source = new byte[Long.BYTES + 8];
+        RANDOM.nextBytes(source);
+        byte[] expected = {1, 3, 5, 7, 9, 11, 13, 15};
+        System.arraycopy(expected, 0, source, 4, Long.BYTES);
+        long actual = LongProcessor.fromBytes(source, 4, ByteOrder.BIG_ENDIAN);
+        assertEquals(actual, 72907546742689039L);
+    }
+    
+    @Test
+    public void testFromBytesLittleEndian() {
+        byte[] source = {15, 13, 11, 9, 7, 5, 3, 1};
+        long actual = LongProcessor.fromBytes(source, 0, 
+                ByteOrder.LITTLE_ENDIAN);
+        assertEquals(actual, 72907546742689039L);
+    }
+    
+    @Test
+    public void testToBytesAtOffset() {
+        byte[] destination = new byte[Long.BYTES + 8];
+        LongProcessor.toBytes(72907546742689039L, destination, 4, 
+                ByteOrder.LITTLE_ENDIAN);
+        byte[] expected = {15, 13, 11, 9, 7, 5, 3, 1};
+        byte[] actual = Arrays.copyOfRange(destination, 4, 4 + Long.BYTES);
+        assertEquals(actual, expected);
+        assertEquals(destination[3], (byte) 0);
+        assertEquals(destination[4 + Long.BYTES], (byte) 0);
+    }
+    
+    @Test
+    public void testToBytesFromBytesRoundTripBothOrders() {
+        byte[] bytes = new byte[Long.BYTES + 3];
+        ByteOrder[] orders = {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN};
+        for (int n = 0; n < 1000; n++) {
+            long expected = RANDOM.nextLong();
+            ByteOrder order = orders[n % 2];
+            int offset = RANDOM.nextInt(4);
+            LongProcessor.toBytes(expected, bytes, offset, order);
+            long actual = LongProcessor.fromBytes(bytes, offset, order);
+            assertEquals(actual, expected);
+        }
+    }
+    
+    @Test
+    public void testFromBytesRejectsBadOffset() {
+        byte[] source = new byte[Long.BYTES + 1];
+        int offset = 2;
+        String msg = "Offset " + offset + " into array of " + source.length 
+                + " bytes should have caused an exception";
+        Throwable t = assertThrows(() -> {
+            long badValue = LongProcessor.fromBytes(source, offset, 
+                    ByteOrder.BIG_ENDIAN);
+            System.out.println(msg + ", not given result " + badValue);
+        }, IndexOutOfBoundsException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    @Test
+    public void testToBytesRejectsNullOrder() {
+        byte[] destination = new byte[Long.BYTES];
+        String msg = "Null byte order should have caused an exception";
+        Throwable t = assertThrows(() -> {
+            LongProcessor.toBytes(72907546742689039L, destination, 0, null);
+        }, NullPointerException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    /**
+     * Test of the decode function, of the LongProcessor class.
+     */
+    @Test
+    public void testDecode() {
+        System.out.println("decode");
+        int length = RANDOM.nextInt(64) + 16;
+        long[] expected = new long[length];
+        byte[] source = new byte[length * Long.BYTES + 1];
+        for (int i = 0; i < length; i++) {
+            expected[i] = RANDOM.nextLong();
+            LongProcessor.toBytes(expected[i], source, i * Long.BYTES + 1, 
+                    ByteOrder.LITTLE_ENDIAN);
+        }
+        long[] actual = new long[length + 2];
+        LongProcessor.decode(source, 1, actual, 2, length, 
+                ByteOrder.LITTLE_ENDIAN);
+        assertEquals(Arrays.copyOfRange(actual, 2, length + 2), expected);
+    }
+    
+    /**
+     * Test of the encode function, of the LongProcessor class.
+     */
+    @Test
+    public void testEncode() {
+        System.out.println("encode");
+        int length = RANDOM.nextInt(64) + 16;
+        long[] source = new long[length];
+        byte[] expected = new byte[length * Long.BYTES];
+        for (int i = 0; i < length; i++) {
+            source[i] = RANDOM.nextLong();
+            System.arraycopy(LongProcessor.toBytes(source[i]), 0, expected, 
+                    i * Long.BYTES, Long.BYTES);
+        }
+        byte[] actual = new byte[length * Long.BYTES];
+        LongProcessor.encode(source, 0, actual, 0, length, ByteOrder.BIG_ENDIAN);
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testEncodeRejectsShortDestination() {
+        long[] source = new long[10];
+        byte[] destination = new byte[10 * Long.BYTES - 1];
+        String msg = "Destination of " + destination.length 
+                + " bytes should have caused an exception";
+        Throwable t = assertThrows(() -> {
+            LongProcessor.encode(source, 0, destination, 0, source.length, 
+                    ByteOrder.BIG_ENDIAN);
+        }, IndexOutOfBoundsException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    /**
+     * Test of the decodeLimbs function, of the LongProcessor class.
+     */
+    @Test
+    public void testDecodeLimbs() {
+        System.out.println("decodeLimbs");
+        byte[] source = {-1, 0, 0, 0, 0, 0, 0, 0, 1, 2, 3, 4, 5, 6, 7, 8};
+        long[] expected = {0x0807060504030201L, 255L};
+        long[] actual = new long[2];
+        LongProcessor.decodeLimbs(source, 0, actual, 0, 2, 2, 
+                ByteOrder.LITTLE_ENDIAN);
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testDecodeLimbsBigEndian() {
+        byte[] source = {-1, 0, 0, 0, 0, 0, 0, 0, 1, 2, 3, 4, 5, 6, 7, 8};
+        long[] expected = {0xFF00000000000000L, 0x0102030405060708L};
+        long[] actual = new long[2];
+        LongProcessor.decodeLimbs(source, 0, actual, 0, 2, 2, 
+                ByteOrder.BIG_ENDIAN);
+        assertEquals(actual, expected);
+    }
+    
+    /**
+     * Test of the encodeLimbs function, of the LongProcessor class. A 256-bit 
+     * number written in little endian byte order should come out as the 
+     * reverse of the same number written in big endian byte order.
+     */
+    @Test
+    public void testEncodeLimbs() {
+        System.out.println("encodeLimbs");
+        int limbCount = 4;
+        int length = limbCount * (RANDOM.nextInt(8) + 1);
+        long[] source = new long[length];
+        for (int i = 0; i < length; i++) {
+            source[i] = RANDOM.nextLong();
+        }
+        byte[] bigEndian = new byte[length * Long.BYTES];
+        byte[] littleEndian = new byte[length * Long.BYTES];
+        LongProcessor.encodeLimbs(source, 0, bigEndian, 0, length, limbCount, 
+                ByteOrder.BIG_ENDIAN);
+        LongProcessor.encodeLimbs(source, 0, littleEndian, 0, length, 
+                limbCount, ByteOrder.LITTLE_ENDIAN);
+        int numberBytes = limbCount * Long.BYTES;
+        for (int i = 0; i < bigEndian.length; i++) {
+            int start = i - i % numberBytes;
+            int mirror = start + numberBytes - 1 - i % numberBytes;
+            String msg = "Byte " + i + " should match byte " + mirror;
+            assertEquals(littleEndian[mirror], bigEndian[i], msg);
+        }
+    }
+    
+    @Test
+    public void testEncodeLimbsDecodeLimbsRoundTrip() {
+        int limbCount = 2;
+        int length = 2 * limbCount * (RANDOM.nextInt(16) + 1);
+        long[] expected = new long[length];
+        for (int i = 0; i < length; i++) {
+            expected[i] = RANDOM.nextLong();
+        }
+        byte[] bytes = new byte[length * Long.BYTES + 5];
+        LongProcessor.encodeLimbs(expected, 0, bytes, 5, length, limbCount, 
+                ByteOrder.LITTLE_ENDIAN);
+        long[] actual = new long[length];
+        LongProcessor.decodeLimbs(bytes, 5, actual, 0, length, limbCount, 
+                ByteOrder.LITTLE_ENDIAN);
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testDecodeLimbsRejectsPartialNumber() {
+        byte[] source = new byte[3 * Long.BYTES];
+        long[] destination = new long[3];
+        int limbCount = 2;
+        String msg = "Length 3 with limb count " + limbCount 
+                + " should have caused an exception";
+        Throwable t = assertThrows(() -> {
+            LongProcessor.decodeLimbs(source, 0, destination, 0, 3, limbCount, 
+                    ByteOrder.LITTLE_ENDIAN);
+        }, IllegalArgumentException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
     }
     
 }
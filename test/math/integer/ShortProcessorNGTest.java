@@ -16,6 +16,9 @@
  */
 package math.integer;
 
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
 import static math.integer.CalculatorNGTest.RANDOM;
 
 import static org.testframe.api.Asserters.assertThrows;
@@ -100,4 +103,134 @@ public class ShortProcessorNGTest {
         assertEquals(actual, expected, message);
     }
     
+    @Test
+    public void testFromBytesAtOffset() {
+        byte[] source = new byte[Short.BYTES + 8];
+        RANDOM.nextBytes(source);
+        byte[] expected = {-127, 2};
+        System.arraycopy(expected, 0, source, 4, Short.BYTES);
+        short actual = ShortProcessor.fromBytes(source, 4, ByteOrder.BIG_ENDIAN);
+        assertEquals(actual, (short) -32510);
+    }
+    
+    @Test
+    public void testFromBytesLittleEndian() {
+        byte[] source = {2, -127};
+        short actual = ShortProcessor.fromBytes(source, 0, 
+                ByteOrder.LITTLE_ENDIAN);
+        assertEquals(actual, (short) -32510);
+    }
+    
+    @Test
+    public void testToBytesAtOffset() {
+        byte[] destination = new byte[Short.BYTES + 8];
+        ShortProcessor.toBytes((short) -32510, destination, 4, 
+                ByteOrder.LITTLE_ENDIAN);
+        byte[] expected = {2, -127};
+        byte[] actual = Arrays.copyOfRange(destination, 4, 4 + Short.BYTES);
+        assertEquals(actual, expected);
+        assertEquals(destination[3], (byte) 0);
+        assertEquals(destination[4 + Short.BYTES], (byte) 0);
+    }
+    
+    @Test
+    public void testToBytesFromBytesRoundTripBothOrders() {
+        byte[] bytes = new byte[Short.BYTES + 3];
+        ByteOrder[] orders = {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN};
+        for (int n = 0; n < 1000; n++) {
+            short expected = (short) RANDOM.nextInt();
+            ByteOrder order = orders[n % 2];
+            int offset = RANDOM.nextInt(4);
+            ShortProcessor.toBytes(expected, bytes, offset, order);
+            short actual = ShortProcessor.fromBytes(bytes, offset, order);
+            assertEquals(actual, expected);
+        }
+    }
+    
+    @Test
+    public void testFromBytesRejectsBadOffset() {
+        byte[] source = new byte[Short.BYTES + 1];
+        int offset = 2;
+        String msg = "Offset " + offset + " into array of " + source.length 
+                + " bytes should have caused an exception";
+        Throwable t = assertThrows(() -> {
+            short badValue = ShortProcessor.fromBytes(source, offset, 
+                    ByteOrder.BIG_ENDIAN);
+            System.out.println(msg + ", not given result " + badValue);
+        }, IndexOutOfBoundsException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    @Test
+    public void testToBytesRejectsNullOrder() {
+        byte[] destination = new byte[Short.BYTES];
+        String msg = "Null byte order should have caused an exception";
+        Throwable t = assertThrows(() -> {
+            ShortProcessor.toBytes((short) -32510, destination, 0, null);
+        }, NullPointerException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
+    /**
+     * Test of the decode function, of the ShortProcessor class.
+     */
+    @Test
+    public void testDecode() {
+        System.out.println("decode");
+        int length = RANDOM.nextInt(64) + 16;
+        short[] expected = new short[length];
+        byte[] source = new byte[length * Short.BYTES + 1];
+        for (int i = 0; i < length; i++) {
+            expected[i] = (short) RANDOM.nextInt();
+            ShortProcessor.toBytes(expected[i], source, i * Short.BYTES + 1, 
+                    ByteOrder.LITTLE_ENDIAN);
+        }
+        short[] actual = new short[length + 2];
+        ShortProcessor.decode(source, 1, actual, 2, length, 
+                ByteOrder.LITTLE_ENDIAN);
+        assertEquals(Arrays.copyOfRange(actual, 2, length + 2), expected);
+    }
+    
+    /**
+     * Test of the encode function, of the ShortProcessor class.
+     */
+    @Test
+    public void testEncode() {
+        System.out.println("encode");
+        int length = RANDOM.nextInt(64) + 16;
+        short[] source = new short[length];
+        byte[] expected = new byte[length * Short.BYTES];
+        for (int i = 0; i < length; i++) {
+            source[i] = (short) RANDOM.nextInt();
+            System.arraycopy(ShortProcessor.toBytes(source[i]), 0, expected, 
+                    i * Short.BYTES, Short.BYTES);
+        }
+        byte[] actual = new byte[length * Short.BYTES];
+        ShortProcessor.encode(source, 0, actual, 0, length, 
+                ByteOrder.BIG_ENDIAN);
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testEncodeRejectsShortDestination() {
+        short[] source = new short[10];
+        byte[] destination = new byte[10 * Short.BYTES - 1];
+        String msg = "Destination of " + destination.length 
+                + " bytes should have caused an exception";
+        Throwable t = assertThrows(() -> {
+            ShortProcessor.encode(source, 0, destination, 0, source.length, 
+                    ByteOrder.BIG_ENDIAN);
+        }, IndexOutOfBoundsException.class, msg);
+        String excMsg = t.getMessage();
+        assert excMsg != null : "Exception message should not be null";
+        assert !excMsg.isBlank() : "Exception message should not be blank";
+        System.out.println("\"" + excMsg + "\"");
+    }
+    
 }